@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.benchmark.specimen.ExampleAdvice;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+
+/**
+ * <p>
+ * A benchmark for the cost of inlining an {@link Advice} into the methods of an existing class. The advice is created
+ * once such that only the cost of the inlining is measured. As a baseline, the class is redefined without applying
+ * an advice.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdviceInliningBenchmark {
+
+    /**
+     * The Byte Buddy instance to use.
+     */
+    private ByteBuddy byteBuddy;
+
+    /**
+     * The class file locator for the specimen class.
+     */
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * A description of the specimen class.
+     */
+    private TypeDescription typeDescription;
+
+    /**
+     * An advice that is decoded on demand for each method.
+     */
+    private Advice advice;
+
+    /**
+     * An advice whose code is decoded once.
+     */
+    private Advice preDecodedAdvice;
+
+    /**
+     * Sets up this benchmark.
+     */
+    @Setup
+    public void setUp() {
+        byteBuddy = new ByteBuddy().with(TypeValidation.DISABLED);
+        classFileLocator = ClassFileLocator.ForClassLoader.of(ExampleClass.class.getClassLoader());
+        typeDescription = TypePool.Default.of(classFileLocator).describe(ExampleClass.class.getName()).resolve();
+        advice = Advice.to(ExampleAdvice.class);
+        preDecodedAdvice = Advice.withCustomMapping().with(Advice.Decoding.PRE_DECODED).to(ExampleAdvice.class);
+    }
+
+    /**
+     * Performs a benchmark for redefining a class without applying an advice.
+     *
+     * @return The created class file, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public byte[] baseline() {
+        return byteBuddy.redefine(typeDescription, classFileLocator)
+                .make()
+                .getBytes();
+    }
+
+    /**
+     * Performs a benchmark for inlining an advice into all methods of a class.
+     *
+     * @return The created class file, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public byte[] benchmarkAdvice() {
+        return byteBuddy.redefine(typeDescription, classFileLocator)
+                .visit(advice.on(isMethod()))
+                .make()
+                .getBytes();
+    }
+
+    /**
+     * Performs a benchmark for inlining a pre-decoded advice into all methods of a class.
+     *
+     * @return The created class file, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public byte[] benchmarkPreDecodedAdvice() {
+        return byteBuddy.redefine(typeDescription, classFileLocator)
+                .visit(preDecodedAdvice.on(isMethod()))
+                .make()
+                .getBytes();
+    }
+}
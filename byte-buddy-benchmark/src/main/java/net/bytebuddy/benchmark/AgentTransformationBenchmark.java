@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.benchmark.specimen.ExampleAdvice;
+import net.bytebuddy.benchmark.specimen.SpecimenArchive;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.StringTrieMatcher;
+import net.bytebuddy.utility.JavaModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A benchmark for the cost of an agent's class file transformer per class that is loaded. The class files of a specimen
+ * archive are submitted to a class file transformer one after another, as if each class was loaded by the JVM. By default,
+ * Byte Buddy's own class files are used as a specimen. Another jar file or folder can be specified as the {@code specimen}
+ * parameter.
+ * </p>
+ * <p>
+ * The benchmark measures the cost of a class that is not matched by a transformer, as this is the case for the vast majority
+ * of classes that are loaded by an instrumented application, both with a conventional matcher and with a compiled matcher
+ * that rejects types by their name only. It also measures the cost of inlining an advice into all methods of a class. Each
+ * scenario is measured for a single thread and for several threads that load classes concurrently.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AgentTransformationBenchmark {
+
+    /**
+     * The location of the specimen archive or an empty string to use Byte Buddy's own classes.
+     */
+    @Param("")
+    public String specimen;
+
+    /**
+     * The internal names of the specimen types.
+     */
+    private String[] internalNames;
+
+    /**
+     * The class files of the specimen types.
+     */
+    private byte[][] binaryRepresentations;
+
+    /**
+     * The class loader that represents the specimen archive.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * A class file transformer that does not match any specimen type.
+     */
+    private ClassFileTransformer ignoringTransformer;
+
+    /**
+     * A class file transformer that does not match any specimen type and that uses a compiled name matcher.
+     */
+    private ClassFileTransformer compiledIgnoringTransformer;
+
+    /**
+     * A class file transformer that inlines an advice into all methods of any specimen type.
+     */
+    private ClassFileTransformer advisingTransformer;
+
+    /**
+     * Sets up this benchmark.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        File location = SpecimenArchive.locate(specimen);
+        Map<String, byte[]> classFiles = SpecimenArchive.read(location);
+        internalNames = new String[classFiles.size()];
+        binaryRepresentations = new byte[classFiles.size()][];
+        int index = 0;
+        for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+            internalNames[index] = entry.getKey().replace('.', '/');
+            binaryRepresentations[index++] = entry.getValue();
+        }
+        classLoader = new URLClassLoader(new URL[]{location.toURI().toURL()}, AgentTransformationBenchmark.class.getClassLoader());
+        ignoringTransformer = new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .ignore(nameStartsWith("java.").or(nameStartsWith("javax.")).or(nameStartsWith("sun.")).or(nameStartsWith("com.sun.")).or(isSynthetic()))
+                .type(nameStartsWith("com.example.").or(nameStartsWith("org.example.")).or(named("example.Sample")))
+                .transform(NonTransforming.INSTANCE)
+                .makeRaw();
+        compiledIgnoringTransformer = new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .with(AgentBuilder.DescriptionStrategy.Default.HYBRID.withLazyResolution())
+                .ignore(StringTrieMatcher.compile(nameStartsWith("java.").or(nameStartsWith("javax.")).or(nameStartsWith("sun.")).or(nameStartsWith("com.sun."))).or(isSynthetic()))
+                .type(StringTrieMatcher.compile(nameStartsWith("com.example.").or(nameStartsWith("org.example.")).or(named("example.Sample"))))
+                .transform(NonTransforming.INSTANCE)
+                .makeRaw();
+        advisingTransformer = new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .ignore(isSynthetic().or(isInterface()).or(isAnnotation()))
+                .type(any())
+                .transform(new AdvisingTransformer(Advice.to(ExampleAdvice.class)))
+                .makeRaw();
+    }
+
+    /**
+     * Transforms the next specimen type of a cursor.
+     *
+     * @param classFileTransformer The class file transformer to apply.
+     * @param cursor               The cursor that determines the next specimen type.
+     * @return The transformed class file or {@code null} if the type was not transformed.
+     * @throws IllegalClassFormatException If the class file transformer fails.
+     */
+    private byte[] transform(ClassFileTransformer classFileTransformer, Cursor cursor) throws IllegalClassFormatException {
+        int index = cursor.next(internalNames.length);
+        return classFileTransformer.transform(classLoader, internalNames[index], null, null, binaryRepresentations[index]);
+    }
+
+    /**
+     * Benchmarks the transformation of a type that is not matched.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    public byte[] benchmarkIgnored(Cursor cursor) throws Exception {
+        return transform(ignoringTransformer, cursor);
+    }
+
+    /**
+     * Benchmarks the transformation of a type that is not matched by a compiled name matcher.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    public byte[] benchmarkIgnoredCompiled(Cursor cursor) throws Exception {
+        return transform(compiledIgnoringTransformer, cursor);
+    }
+
+    /**
+     * Benchmarks the transformation of a type where an advice is inlined into all of its methods.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    public byte[] benchmarkAdvised(Cursor cursor) throws Exception {
+        return transform(advisingTransformer, cursor);
+    }
+
+    /**
+     * Benchmarks the transformation of a type that is not matched when several threads load classes concurrently.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    @Threads(4)
+    public byte[] benchmarkIgnoredConcurrently(Cursor cursor) throws Exception {
+        return transform(ignoringTransformer, cursor);
+    }
+
+    /**
+     * Benchmarks the transformation of a type that is not matched by a compiled name matcher when several threads load classes concurrently.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    @Threads(4)
+    public byte[] benchmarkIgnoredCompiledConcurrently(Cursor cursor) throws Exception {
+        return transform(compiledIgnoringTransformer, cursor);
+    }
+
+    /**
+     * Benchmarks the transformation of a type where an advice is inlined into all of its methods when several threads load classes concurrently.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The transformed class file, in order to avoid JIT removal.
+     * @throws Exception If the transformation fails.
+     */
+    @Benchmark
+    @Threads(4)
+    public byte[] benchmarkAdvisedConcurrently(Cursor cursor) throws Exception {
+        return transform(advisingTransformer, cursor);
+    }
+
+    /**
+     * A cursor that iterates over all specimen types, separately for each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /**
+         * The index of the last specimen type.
+         */
+        private int index = -1;
+
+        /**
+         * Returns the index of the next specimen type.
+         *
+         * @param length The number of specimen types.
+         * @return The index of the next specimen type.
+         */
+        protected int next(int length) {
+            index = (index + 1) % length;
+            return index;
+        }
+    }
+
+    /**
+     * A transformer that does not alter a type.
+     */
+    protected enum NonTransforming implements AgentBuilder.Transformer {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder,
+                                                TypeDescription typeDescription,
+                                                ClassLoader classLoader,
+                                                JavaModule module) {
+            return builder;
+        }
+    }
+
+    /**
+     * A transformer that applies an advice to any non-abstract and non-native method.
+     */
+    protected static class AdvisingTransformer implements AgentBuilder.Transformer {
+
+        /**
+         * The advice to apply.
+         */
+        private final Advice advice;
+
+        /**
+         * Creates a new advising transformer.
+         *
+         * @param advice The advice to apply.
+         */
+        protected AdvisingTransformer(Advice advice) {
+            this.advice = advice;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder,
+                                                TypeDescription typeDescription,
+                                                ClassLoader classLoader,
+                                                JavaModule module) {
+            return builder.visit(advice.on(isMethod().and(not(isAbstract().or(isNative())))));
+        }
+    }
+}
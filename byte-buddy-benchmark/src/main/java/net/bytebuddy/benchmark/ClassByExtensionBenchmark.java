@@ -19,6 +19,7 @@ import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.ProxyFactory;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.benchmark.specimen.ExampleClass;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
@@ -62,6 +63,12 @@ public class ClassByExtensionBenchmark {
      */
     public static final Class<? extends ExampleClass> BASE_CLASS = ExampleClass.class;
 
+    /**
+     * The name of the interceptor that is invoked with a method handle for the super method. As this module is restricted
+     * to the Java 5 API, this interceptor is precompiled for Java 7.
+     */
+    public static final String HANDLE_INTERCEPTOR = "net.bytebuddy.benchmark.precompiled.ByteBuddyHandleInterceptor";
+
     /**
      * The base class to be subclassed in all benchmarks.
      */
@@ -72,6 +79,24 @@ public class ClassByExtensionBenchmark {
      */
     private int urlLength = 0;
 
+    /**
+     * The interceptor that is invoked with a method handle for the super method.
+     */
+    private Class<?> handleInterceptor = handleInterceptor();
+
+    /**
+     * Resolves the precompiled interceptor that is invoked with a method handle for the super method.
+     *
+     * @return The precompiled interceptor type.
+     */
+    private static Class<?> handleInterceptor() {
+        try {
+            return Class.forName(HANDLE_INTERCEPTOR);
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("Cannot resolve precompiled interceptor " + HANDLE_INTERCEPTOR, exception);
+        }
+    }
+
     /**
      * Creates a new class loader. By using a fresh class loader for each creation, we avoid name space issues.
      * A class loader's creation is part of the benchmark but since any test creates a class loader exactly once,
@@ -268,6 +293,28 @@ public class ClassByExtensionBenchmark {
                 .newInstance();
     }
 
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark also uses the annotation-based approach
+     * but supplies the super method as a method handle constant which does not require the creation of additional classes.
+     * Method handle constants require a class file version of at least Java 7.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws Exception If the invocation causes an exception.
+     */
+    @Benchmark
+    public ExampleClass benchmarkByteBuddyWithHandle() throws Exception {
+        return new ByteBuddy(ClassFileVersion.ofThisVm(ClassFileVersion.JAVA_V7))
+                .with(TypeValidation.DISABLED)
+                .ignore(none())
+                .subclass(baseClass)
+                .method(isDeclaredBy(baseClass)).intercept(MethodDelegation.to(handleInterceptor))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
     /**
      * Performs a benchmark of a class extension using Byte Buddy. This benchmark also uses the annotation-based approach
      * but creates delegation methods which do not require the creation of additional classes. This benchmark reuses a
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.PackageDefinitionStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark for injecting a batch of auxiliary types into a class loader using reflection, either by defining each type
+ * separately or by defining all types in bulk. Every injection is applied to a new class loader. Every other type of a batch
+ * extends its predecessor such that some types depend on other types of the same batch. Injection is measured both for a
+ * parallel capable class loader, where each type is defined under its own class loading lock, and for a class loader that is
+ * not parallel capable, where the class loader itself serves as the lock for all types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassInjectionBenchmark {
+
+    /**
+     * The package of the injected types.
+     */
+    private static final String PACKAGE = "net.bytebuddy.benchmark.generated";
+
+    /**
+     * The number of types to inject.
+     */
+    @Param({"10", "100", "500"})
+    public int types;
+
+    /**
+     * The binary representations of the injected types by their names in dependency order.
+     */
+    private Map<String, byte[]> binaryRepresentations;
+
+    /**
+     * Sets up this benchmark.
+     */
+    @Setup
+    public void setUp() {
+        binaryRepresentations = new LinkedHashMap<String, byte[]>();
+        TypeDescription superClass = TypeDescription.OBJECT;
+        for (int index = 0; index < types; index++) {
+            DynamicType.Unloaded<?> dynamicType = new ByteBuddy()
+                    .subclass(superClass, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .name(PACKAGE + ".Auxiliary" + index)
+                    .defineField("value", int.class, Visibility.PUBLIC)
+                    .make();
+            binaryRepresentations.put(dynamicType.getTypeDescription().getName(), dynamicType.getBytes());
+            superClass = index % 2 == 0
+                    ? dynamicType.getTypeDescription()
+                    : TypeDescription.OBJECT;
+        }
+    }
+
+    /**
+     * Benchmarks the injection of all types by defining each type separately.
+     *
+     * @return The number of injected types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkPerType() {
+        return new ClassInjector.UsingReflection(new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER),
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                false).injectRaw(binaryRepresentations).size();
+    }
+
+    /**
+     * Benchmarks the injection of all types by defining them in bulk.
+     *
+     * @return The number of injected types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkBulk() {
+        return new ClassInjector.UsingReflection(new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER),
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(binaryRepresentations).size();
+    }
+
+    /**
+     * Benchmarks the injection of all types into a class loader that is not parallel capable by defining each type separately.
+     *
+     * @return The number of injected types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkPerTypeNotParallelCapable() {
+        return new ClassInjector.UsingReflection(new NonParallelClassLoader(),
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                false).injectRaw(binaryRepresentations).size();
+    }
+
+    /**
+     * Benchmarks the injection of all types into a class loader that is not parallel capable by defining them in bulk.
+     *
+     * @return The number of injected types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkBulkNotParallelCapable() {
+        return new ClassInjector.UsingReflection(new NonParallelClassLoader(),
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(binaryRepresentations).size();
+    }
+
+    /**
+     * A class loader that does not register itself as parallel capable such that it is used as its own class loading lock.
+     */
+    protected static class NonParallelClassLoader extends ClassLoader {
+
+        /**
+         * Creates a new class loader that is not parallel capable and that delegates to the bootstrap class loader.
+         */
+        protected NonParallelClassLoader() {
+            super(ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.benchmark.specimen.ExampleAdvice;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.instrument.Instrumentation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A benchmark for installing an agent that retransforms already loaded classes and for resetting the agent afterwards. A number of
+ * specimen classes is loaded before the benchmark. Upon installation, all loaded classes are discovered and matched such that the
+ * specimen classes are retransformed in batches of the configured size while an advice is inlined into their methods. The types of
+ * the discovered classes are either resolved sequentially or in parallel.
+ * </p>
+ * <p>
+ * <b>Note</b>: This benchmark requires the Byte Buddy agent to be installable which might require the {@code jdk.attach.allowAttachSelf}
+ * property to be set on recent VMs.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Djdk.attach.allowAttachSelf=true")
+public class RetransformationBenchmark {
+
+    /**
+     * The prefix of the names of the specimen classes.
+     */
+    private static final String PREFIX = "net.bytebuddy.benchmark.generated.Specimen";
+
+    /**
+     * The number of specimen classes to load.
+     */
+    @Param("500")
+    public int types;
+
+    /**
+     * The number of classes that are retransformed in a single batch or {@code 0} for a single batch.
+     */
+    @Param({"0", "50"})
+    public int batchSize;
+
+    /**
+     * {@code true} if types should be resolved in parallel.
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /**
+     * The instrumentation instance to use.
+     */
+    private Instrumentation instrumentation;
+
+    /**
+     * The executor service to use for resolving types in parallel.
+     */
+    private ExecutorService executorService;
+
+    /**
+     * The loaded specimen classes, to retain them until the benchmark is completed.
+     */
+    private Class<?>[] specimens;
+
+    /**
+     * The agent builder to install.
+     */
+    private AgentBuilder agentBuilder;
+
+    /**
+     * Sets up this benchmark.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        instrumentation = ByteBuddyAgent.install();
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>();
+        for (int index = 0; index < types; index++) {
+            typeDefinitions.put(PREFIX + index, new ByteBuddy()
+                    .redefine(ExampleClass.class)
+                    .name(PREFIX + index)
+                    .make()
+                    .getBytes());
+        }
+        ClassLoader classLoader = new ByteArrayClassLoader(RetransformationBenchmark.class.getClassLoader(), typeDefinitions);
+        specimens = new Class<?>[types];
+        for (int index = 0; index < types; index++) {
+            specimens[index] = Class.forName(PREFIX + index, false, classLoader);
+        }
+        agentBuilder = new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .with(batchSize == 0
+                        ? AgentBuilder.RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE
+                        : AgentBuilder.RedefinitionStrategy.BatchAllocator.ForFixedSize.ofSize(batchSize))
+                .with(parallel
+                        ? new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(executorService)
+                        : AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE)
+                .type(nameStartsWith(PREFIX))
+                .transform(new AgentTransformationBenchmark.AdvisingTransformer(Advice.to(ExampleAdvice.class)));
+    }
+
+    /**
+     * Tears down this benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Benchmarks the installation of an agent that retransforms the specimen classes and its reset.
+     *
+     * @return The number of retransformed specimen classes, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkRetransformation() {
+        ResettableClassFileTransformer classFileTransformer = agentBuilder.installOn(instrumentation);
+        if (!classFileTransformer.reset(instrumentation, AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)) {
+            throw new IllegalStateException("Could not reset " + classFileTransformer);
+        }
+        return specimens.length;
+    }
+}
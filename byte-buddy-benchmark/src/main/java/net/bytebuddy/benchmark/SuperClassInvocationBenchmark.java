@@ -99,6 +99,12 @@ public class SuperClassInvocationBenchmark {
      */
     private ExampleClass byteBuddyWithAccessorInstance;
 
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by supplying
+     * super invocations as method handle constants.
+     */
+    private ExampleClass byteBuddyWithHandleInstance;
+
     /**
      * An instance created by Byte Buddy for performing benchmarks on. This instance is created by a delegation
      * followed by a hard-coded super method call.
@@ -133,6 +139,7 @@ public class SuperClassInvocationBenchmark {
         baselineInstance = classByExtensionBenchmark.baseline();
         byteBuddyWithProxyInstance = classByExtensionBenchmark.benchmarkByteBuddyWithProxy();
         byteBuddyWithAccessorInstance = classByExtensionBenchmark.benchmarkByteBuddyWithAccessor();
+        byteBuddyWithHandleInstance = classByExtensionBenchmark.benchmarkByteBuddyWithHandle();
         byteBuddyWithPrefixInstance = classByExtensionBenchmark.benchmarkByteBuddyWithPrefix();
         byteBuddySpecializedInstance = classByExtensionBenchmark.benchmarkByteBuddySpecialized();
         cglibInstance = classByExtensionBenchmark.benchmarkCglib();
@@ -231,6 +238,37 @@ public class SuperClassInvocationBenchmark {
         blackHole.consume(byteBuddyWithAccessorInstance.method(stringValue, stringValue, stringValue));
     }
 
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark also uses the annotation-based approach
+     * but supplies method handle constants which do not require the creation of additional classes.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithHandle(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithHandleInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(intValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(charValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(intValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(longValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithHandleInstance.method(stringValue, stringValue, stringValue));
+    }
+
     /**
      * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark also uses the annotation-based approach
      * but hard-codes the super method call subsequently to the method.
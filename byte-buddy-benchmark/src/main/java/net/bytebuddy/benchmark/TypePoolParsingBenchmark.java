@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.benchmark.specimen.SpecimenArchive;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark for the throughput of parsing class files with a {@link TypePool.Default}. The class files of a specimen archive
+ * are held in memory such that no I/O is measured. Each type is parsed by a type pool without a cache and its members are
+ * resolved as a typical matcher would do. By default, Byte Buddy's own class files are used as a specimen. Another jar file
+ * or folder can be specified as the {@code specimen} parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypePoolParsingBenchmark {
+
+    /**
+     * The location of the specimen archive or an empty string to use Byte Buddy's own classes.
+     */
+    @Param("")
+    public String specimen;
+
+    /**
+     * The reader mode to apply when parsing a class file.
+     */
+    @Param({"FAST", "EXTENDED"})
+    public TypePool.Default.ReaderMode readerMode;
+
+    /**
+     * The binary names of the specimen types.
+     */
+    private String[] names;
+
+    /**
+     * A class file locator for the specimen types.
+     */
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * Sets up this benchmark.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, byte[]> classFiles = SpecimenArchive.read(SpecimenArchive.locate(specimen));
+        names = classFiles.keySet().toArray(new String[0]);
+        classFileLocator = new ClassFileLocator.Simple(classFiles);
+    }
+
+    /**
+     * Benchmarks the parsing of a single type's class file.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The number of the type's declared members, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public int benchmarkParse(Cursor cursor) {
+        TypeDescription typeDescription = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                classFileLocator,
+                readerMode).describe(names[cursor.next(names.length)]).resolve();
+        return typeDescription.getDeclaredMethods().size()
+                + typeDescription.getDeclaredFields().size()
+                + typeDescription.getDeclaredAnnotations().size()
+                + typeDescription.getInterfaces().size();
+    }
+
+    /**
+     * Benchmarks the parsing of a single type's class file when several threads parse class files concurrently.
+     *
+     * @param cursor The cursor that determines the next specimen type.
+     * @return The number of the type's declared members, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @Threads(4)
+    public int benchmarkParseConcurrently(Cursor cursor) {
+        return benchmarkParse(cursor);
+    }
+
+    /**
+     * A cursor that iterates over all specimen types, separately for each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /**
+         * The index of the last specimen type.
+         */
+        private int index = -1;
+
+        /**
+         * Returns the index of the next specimen type.
+         *
+         * @param length The number of specimen types.
+         * @return The index of the next specimen type.
+         */
+        protected int next(int length) {
+            index = (index + 1) % length;
+            return index;
+        }
+    }
+}
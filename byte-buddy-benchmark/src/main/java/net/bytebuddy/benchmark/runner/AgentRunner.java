@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark.runner;
+
+import net.bytebuddy.benchmark.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A runner for the benchmarks that measure the hot paths of a Java agent: transforming classes upon their loading,
+ * inlining advice, parsing class files and retransforming loaded classes. The benchmarks are run in a single fork
+ * with the garbage collection profiler enabled such that allocation rates are reported for each benchmark.
+ */
+public class AgentRunner {
+
+    /**
+     * A wildcard for the identification of a benchmark by JMH.
+     */
+    private static final String WILDCARD = ".*";
+
+    /**
+     * This class is not supposed to be constructed.
+     */
+    private AgentRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Executes the benchmark.
+     *
+     * @param args Unused arguments.
+     * @throws RunnerException If the benchmark causes an exception.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WILDCARD + AgentTransformationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AdviceInliningBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypePoolParsingBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + RetransformationBenchmark.class.getSimpleName() + WILDCARD)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build()).run();
+    }
+}
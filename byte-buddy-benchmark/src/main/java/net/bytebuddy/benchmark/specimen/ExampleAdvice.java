@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark.specimen;
+
+import net.bytebuddy.asm.Advice;
+
+/**
+ * An example advice class that is inlined into specimen methods in benchmarks. The advice resembles a typical
+ * tracing advice that measures a method's execution time and that reports its origin.
+ */
+public class ExampleAdvice {
+
+    /**
+     * This class is not supposed to be constructed.
+     */
+    private ExampleAdvice() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Invoked upon entering a method.
+     *
+     * @return The time stamp of entering the method.
+     */
+    @Advice.OnMethodEnter
+    public static long enter() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Invoked upon exiting a method.
+     *
+     * @param started   The time stamp of entering the method.
+     * @param origin    A description of the instrumented method.
+     * @param throwable The exception that was thrown by the method or {@code null} if the method returned normally.
+     */
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void exit(@Advice.Enter long started, @Advice.Origin String origin, @Advice.Thrown Throwable throwable) {
+        if (System.nanoTime() - started < 0L) {
+            System.out.println(origin + ": " + throwable);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark.specimen;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.utility.StreamDrainer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * A utility for reading the class files of a jar file or a folder of class files which serve as a realistic specimen
+ * for benchmarks that process a large number of differing classes.
+ */
+public class SpecimenArchive {
+
+    /**
+     * The file extension of a class file.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * This class is not supposed to be constructed.
+     */
+    private SpecimenArchive() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Resolves the location of the specimen archive. If no location is specified, the jar file or folder that contains
+     * Byte Buddy's own classes is used.
+     *
+     * @param location The location of the specimen archive or an empty string to use Byte Buddy's own classes.
+     * @return The location of the specimen archive.
+     */
+    public static File locate(String location) {
+        if (location.length() > 0) {
+            return new File(location);
+        }
+        try {
+            return new File(ByteBuddy.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException exception) {
+            throw new IllegalStateException("Cannot resolve location of Byte Buddy", exception);
+        }
+    }
+
+    /**
+     * Reads all class files of a jar file or folder with the exception of module and package descriptors.
+     *
+     * @param location The jar file or folder to read.
+     * @return A map of binary type names to their class files in the order of their discovery.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public static Map<String, byte[]> read(File location) throws IOException {
+        Map<String, byte[]> classFiles = new LinkedHashMap<String, byte[]>();
+        if (location.isDirectory()) {
+            read(location, "", classFiles);
+        } else {
+            JarFile jarFile = new JarFile(location);
+            try {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+                    if (isClassFile(entry.getName())) {
+                        InputStream inputStream = jarFile.getInputStream(entry);
+                        try {
+                            classFiles.put(toTypeName(entry.getName()), StreamDrainer.DEFAULT.drain(inputStream));
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+                }
+            } finally {
+                jarFile.close();
+            }
+        }
+        if (classFiles.isEmpty()) {
+            throw new IllegalStateException("No class files found in " + location);
+        }
+        return classFiles;
+    }
+
+    /**
+     * Reads all class files of a folder recursively.
+     *
+     * @param folder     The folder to read.
+     * @param prefix     The relative path of the folder within the specimen archive.
+     * @param classFiles The map to add any class files to.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static void read(File folder, String prefix, Map<String, byte[]> classFiles) throws IOException {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list files of " + folder);
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                read(file, prefix + file.getName() + "/", classFiles);
+            } else if (isClassFile(file.getName())) {
+                InputStream inputStream = new FileInputStream(file);
+                try {
+                    classFiles.put(toTypeName(prefix + file.getName()), StreamDrainer.DEFAULT.drain(inputStream));
+                } finally {
+                    inputStream.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a file name represents a class file of a type.
+     *
+     * @param name The name of the file.
+     * @return {@code true} if the file represents a class file of a type.
+     */
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_FILE_EXTENSION)
+                && !name.endsWith("module-info" + CLASS_FILE_EXTENSION)
+                && !name.endsWith("package-info" + CLASS_FILE_EXTENSION)
+                && !name.startsWith("META-INF/");
+    }
+
+    /**
+     * Converts a class file's path into a binary type name.
+     *
+     * @param path The path of the class file.
+     * @return The binary name of the represented type.
+     */
+    private static String toTypeName(String path) {
+        return path.substring(0, path.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.');
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark.precompiled;
+
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCallHandle;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Instead of using an auxiliary proxy class, the original code is invoked by a method handle for the super method that is
+ * loaded from the instrumented type's constant pool. This interceptor requires the Java 7 API and is therefore precompiled.
+ */
+public class ByteBuddyHandleInterceptor {
+
+    /**
+     * The interceptor's constructor is not supposed to be invoked.
+     */
+    private ByteBuddyHandleInterceptor() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calls the super method.
+     *
+     * @param target    The target instance.
+     * @param arguments The arguments to the method.
+     * @param handle    A method handle for invoking the original code.
+     * @return The return value of the method.
+     * @throws Throwable If the super method call yields an exception.
+     */
+    @RuntimeType
+    public static Object intercept(@This Object target, @AllArguments Object[] arguments, @SuperCallHandle MethodHandle handle) throws Throwable {
+        return handle.bindTo(target).invokeWithArguments(arguments);
+    }
+}
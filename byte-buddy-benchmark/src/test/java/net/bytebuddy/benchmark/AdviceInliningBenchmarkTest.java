@@ -0,0 +1,29 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdviceInliningBenchmarkTest {
+
+    private AdviceInliningBenchmark adviceInliningBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        adviceInliningBenchmark = new AdviceInliningBenchmark();
+        adviceInliningBenchmark.setUp();
+    }
+
+    @Test
+    public void testAdviceIsInlined() throws Exception {
+        byte[] baseline = adviceInliningBenchmark.baseline();
+        assertThat(adviceInliningBenchmark.benchmarkAdvice().length > baseline.length, is(true));
+    }
+
+    @Test
+    public void testPreDecodedAdviceIsEquivalent() throws Exception {
+        assertThat(adviceInliningBenchmark.benchmarkPreDecodedAdvice(), is(adviceInliningBenchmark.benchmarkAdvice()));
+    }
+}
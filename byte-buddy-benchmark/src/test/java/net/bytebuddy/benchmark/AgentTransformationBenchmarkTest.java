@@ -0,0 +1,43 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentTransformationBenchmarkTest {
+
+    private AgentTransformationBenchmark agentTransformationBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        agentTransformationBenchmark = new AgentTransformationBenchmark();
+        agentTransformationBenchmark.specimen = "";
+        agentTransformationBenchmark.setUp();
+    }
+
+    @Test
+    public void testIgnored() throws Exception {
+        AgentTransformationBenchmark.Cursor cursor = new AgentTransformationBenchmark.Cursor();
+        for (int index = 0; index < 10; index++) {
+            assertThat(agentTransformationBenchmark.benchmarkIgnored(cursor), nullValue(byte[].class));
+        }
+    }
+
+    @Test
+    public void testIgnoredCompiled() throws Exception {
+        AgentTransformationBenchmark.Cursor cursor = new AgentTransformationBenchmark.Cursor();
+        for (int index = 0; index < 10; index++) {
+            assertThat(agentTransformationBenchmark.benchmarkIgnoredCompiled(cursor), nullValue(byte[].class));
+        }
+    }
+
+    @Test
+    public void testAdvised() throws Exception {
+        AgentTransformationBenchmark.Cursor cursor = new AgentTransformationBenchmark.Cursor();
+        for (int index = 0; index < 10; index++) {
+            agentTransformationBenchmark.benchmarkAdvised(cursor);
+        }
+    }
+}
@@ -32,4 +32,16 @@ public class ClassByExtensionBenchmarkByteBuddyInterceptorTest {
             throw (UnsupportedOperationException) exception.getCause();
         }
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testHandleInterceptor() throws Exception {
+        Constructor<?> constructor = Class.forName(ClassByExtensionBenchmark.HANDLE_INTERCEPTOR).getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException exception) {
+            throw (UnsupportedOperationException) exception.getCause();
+        }
+    }
 }
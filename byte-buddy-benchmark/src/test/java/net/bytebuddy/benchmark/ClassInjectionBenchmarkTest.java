@@ -0,0 +1,39 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassInjectionBenchmarkTest {
+
+    private ClassInjectionBenchmark classInjectionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        classInjectionBenchmark = new ClassInjectionBenchmark();
+        classInjectionBenchmark.types = 10;
+        classInjectionBenchmark.setUp();
+    }
+
+    @Test
+    public void testPerType() throws Exception {
+        assertThat(classInjectionBenchmark.benchmarkPerType(), is(10));
+    }
+
+    @Test
+    public void testBulk() throws Exception {
+        assertThat(classInjectionBenchmark.benchmarkBulk(), is(10));
+    }
+
+    @Test
+    public void testPerTypeNotParallelCapable() throws Exception {
+        assertThat(classInjectionBenchmark.benchmarkPerTypeNotParallelCapable(), is(10));
+    }
+
+    @Test
+    public void testBulkNotParallelCapable() throws Exception {
+        assertThat(classInjectionBenchmark.benchmarkBulkNotParallelCapable(), is(10));
+    }
+}
@@ -28,6 +28,11 @@ public class SuperClassInvocationBenchmarkTest extends AbstractBlackHoleTest {
         superClassInvocationBenchmark.benchmarkByteBuddyWithAccessor(blackHole);
     }
 
+    @Test
+    public void testByteBuddyWithHandlesBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithHandle(blackHole);
+    }
+
     @Test
     public void testByteBuddyWithPrefixBenchmark() throws Exception {
         superClassInvocationBenchmark.benchmarkByteBuddyWithPrefix(blackHole);
@@ -0,0 +1,31 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.pool.TypePool;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolParsingBenchmarkTest {
+
+    private TypePoolParsingBenchmark typePoolParsingBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typePoolParsingBenchmark = new TypePoolParsingBenchmark();
+        typePoolParsingBenchmark.specimen = "";
+        typePoolParsingBenchmark.readerMode = TypePool.Default.ReaderMode.FAST;
+        typePoolParsingBenchmark.setUp();
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        TypePoolParsingBenchmark.Cursor cursor = new TypePoolParsingBenchmark.Cursor();
+        int members = 0;
+        for (int index = 0; index < 10; index++) {
+            members += typePoolParsingBenchmark.benchmarkParse(cursor);
+        }
+        assertThat(members > 0, is(true));
+    }
+}
@@ -27,6 +27,9 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>
@@ -381,6 +384,294 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
         }
     }
 
+    /**
+     * An implementation of a {@link TypeCache} that deduplicates the concurrent creation of types for the same class loader and key.
+     * If several threads request a type that is not yet cached, only one thread creates the type while all other threads wait for
+     * the outcome of this creation. The creation of types for different class loaders or keys is never serialized such that a
+     * monitor is never required, any monitor that is supplied to {@link TypeCache#findOrInsert(ClassLoader, Object, Callable, Object)}
+     * is ignored. The creation of a type for the same class loader and key from within its own creation is not deduplicated. Similarly,
+     * if waiting for another thread's creation would close a cycle of threads that wait for each other's creations, for example if two
+     * types are created recursively from within each other's creation, the type is created without waiting to avoid a deadlock.
+     *
+     * @param <S> The type of the key that is used for identifying stored classes per class loader. Such keys must not strongly reference any
+     *            types or class loaders without potentially corrupting the garbage eligibility of stored classes. As the storage is segmented
+     *            by class loader, it is normally sufficient to store types by their name.
+     * @see TypeCache
+     */
+    public static class WithSingleFlight<S> extends TypeCache<S> {
+
+        /**
+         * The currently ongoing creations of types.
+         */
+        protected final ConcurrentMap<InFlightKey, Creation> creations;
+
+        /**
+         * A mapping of threads to the creations they are currently waiting for.
+         */
+        protected final ConcurrentMap<Thread, Creation> waiting;
+
+        /**
+         * The number of lookups that were resolved from the cache.
+         */
+        private final AtomicLong hits;
+
+        /**
+         * The number of lookups that resulted in the creation of a type.
+         */
+        private final AtomicLong misses;
+
+        /**
+         * The number of lookups that waited for another thread's creation of a type.
+         */
+        private final AtomicLong waits;
+
+        /**
+         * Creates a new type cache with deduplicated type creation.
+         *
+         * @param sort The reference type to use for stored types.
+         */
+        public WithSingleFlight(Sort sort) {
+            super(sort);
+            creations = new ConcurrentHashMap<InFlightKey, Creation>();
+            waiting = new ConcurrentHashMap<Thread, Creation>();
+            hits = new AtomicLong();
+            misses = new AtomicLong();
+            waits = new AtomicLong();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> findOrInsert(ClassLoader classLoader, S key, Callable<Class<?>> lazy) {
+            Class<?> type = find(classLoader, key);
+            if (type != null) {
+                hits.incrementAndGet();
+                return type;
+            }
+            InFlightKey inFlightKey = new InFlightKey(classLoader, key);
+            Creation creation = new Creation(classLoader, key, lazy), previous = creations.putIfAbsent(inFlightKey, creation);
+            if (previous == null) {
+                try {
+                    creation.run();
+                } finally {
+                    creations.remove(inFlightKey, creation);
+                }
+                return creation.resolve();
+            }
+            Thread thread = Thread.currentThread();
+            if (previous.thread != thread) {
+                waiting.put(thread, previous);
+                try {
+                    if (!isCyclic(thread, previous)) {
+                        waits.incrementAndGet();
+                        return previous.resolve();
+                    }
+                } finally {
+                    waiting.remove(thread);
+                }
+            }
+            misses.incrementAndGet();
+            try {
+                return insert(classLoader, key, lazy.call());
+            } catch (Throwable throwable) {
+                throw new IllegalArgumentException("Could not create type", throwable);
+            }
+        }
+
+        /**
+         * Determines if waiting for a creation would cause a deadlock, i.e. if the creating thread is already waiting,
+         * directly or transitively, for a creation of the supplied thread.
+         *
+         * @param thread   The thread that is about to wait.
+         * @param creation The creation that the supplied thread is about to wait for.
+         * @return {@code true} if waiting for the supplied creation would cause a deadlock.
+         */
+        private boolean isCyclic(Thread thread, Creation creation) {
+            Set<Thread> visited = new HashSet<Thread>();
+            while (creation != null) {
+                if (creation.thread == thread) {
+                    return true;
+                } else if (!visited.add(creation.thread)) {
+                    return false;
+                }
+                creation = waiting.get(creation.thread);
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> findOrInsert(ClassLoader classLoader, S key, Callable<Class<?>> lazy, Object monitor) {
+            return findOrInsert(classLoader, key, lazy);
+        }
+
+        /**
+         * Returns the number of lookups that were resolved from the cache.
+         *
+         * @return The number of lookups that were resolved from the cache.
+         */
+        public long getHits() {
+            return hits.get();
+        }
+
+        /**
+         * Returns the number of lookups that resulted in the creation of a type.
+         *
+         * @return The number of lookups that resulted in the creation of a type.
+         */
+        public long getMisses() {
+            return misses.get();
+        }
+
+        /**
+         * Returns the number of lookups that waited for the creation of a type by another thread.
+         *
+         * @return The number of lookups that waited for the creation of a type by another thread.
+         */
+        public long getWaits() {
+            return waits.get();
+        }
+
+        /**
+         * A key for identifying an ongoing creation of a type. As a creation is only registered for its duration,
+         * the class loader is referenced strongly.
+         */
+        protected static class InFlightKey {
+
+            /**
+             * The class loader for which the type is created.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * The key of the created type.
+             */
+            private final Object key;
+
+            /**
+             * Creates a new key for an ongoing creation.
+             *
+             * @param classLoader The class loader for which the type is created.
+             * @param key         The key of the created type.
+             */
+            protected InFlightKey(ClassLoader classLoader, Object key) {
+                this.classLoader = classLoader;
+                this.key = key;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * System.identityHashCode(classLoader) + key.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) {
+                    return true;
+                } else if (!(other instanceof InFlightKey)) {
+                    return false;
+                }
+                InFlightKey inFlightKey = (InFlightKey) other;
+                return classLoader == inFlightKey.classLoader && key.equals(inFlightKey.key);
+            }
+        }
+
+        /**
+         * An ongoing creation of a type.
+         */
+        protected class Creation extends FutureTask<Class<?>> {
+
+            /**
+             * The thread that creates the type.
+             */
+            private final Thread thread;
+
+            /**
+             * Creates a new creation for the current thread.
+             *
+             * @param classLoader The class loader for which the type is created.
+             * @param key         The key of the created type.
+             * @param lazy        A lazy creator for the type.
+             */
+            protected Creation(ClassLoader classLoader, S key, Callable<Class<?>> lazy) {
+                super(new Insertion(classLoader, key, lazy));
+                thread = Thread.currentThread();
+            }
+
+            /**
+             * Resolves the created type, waiting uninterruptibly for its creation if required.
+             *
+             * @return The created type.
+             */
+            protected Class<?> resolve() {
+                boolean interrupted = false;
+                try {
+                    while (true) {
+                        try {
+                            return get();
+                        } catch (InterruptedException ignored) {
+                            interrupted = true;
+                        } catch (ExecutionException exception) {
+                            throw new IllegalArgumentException("Could not create type", exception.getCause());
+                        }
+                    }
+                } finally {
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        /**
+         * An insertion of a lazily created type that is only created if the type was not inserted concurrently.
+         */
+        protected class Insertion implements Callable<Class<?>> {
+
+            /**
+             * The class loader for which the type is created.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * The key of the created type.
+             */
+            private final S key;
+
+            /**
+             * A lazy creator for the type.
+             */
+            private final Callable<Class<?>> lazy;
+
+            /**
+             * Creates a new insertion.
+             *
+             * @param classLoader The class loader for which the type is created.
+             * @param key         The key of the created type.
+             * @param lazy        A lazy creator for the type.
+             */
+            protected Insertion(ClassLoader classLoader, S key, Callable<Class<?>> lazy) {
+                this.classLoader = classLoader;
+                this.key = key;
+                this.lazy = lazy;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Class<?> call() throws Exception {
+                Class<?> type = find(classLoader, key);
+                if (type != null) {
+                    hits.incrementAndGet();
+                    return type;
+                }
+                misses.incrementAndGet();
+                return insert(classLoader, key, lazy.call());
+            }
+        }
+    }
+
     /**
      * A simple key based on a collection of types where no type is strongly referenced.
      */
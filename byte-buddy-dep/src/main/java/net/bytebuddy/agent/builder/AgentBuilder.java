@@ -20,6 +20,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.build.CachedReturnPlugin;
 import net.bytebuddy.build.EntryPoint;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.build.Plugin;
@@ -67,11 +68,15 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import javax.management.*;
 import java.io.*;
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -84,6 +89,8 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -243,6 +250,27 @@ public interface AgentBuilder {
      */
     AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy);
 
+    /**
+     * Specifies a pre-screening strategy that is applied to the internal name and the class loader of any type that is
+     * passed to the created class file transformer. If a type is ignored by this strategy, the class file transformer
+     * returns immediately without resolving a {@link TypeDescription}, without querying any matcher and without notifying
+     * the registered {@link Listener}. Ignoring a type by a pre-screening strategy is therefore cheaper than ignoring it by
+     * one of the {@code ignore} methods but it also implies that no listener is informed about the type's discovery.
+     *
+     * @param preScreeningStrategy The pre-screening strategy to use.
+     * @return A new agent builder that applies the supplied pre-screening strategy.
+     */
+    AgentBuilder with(PreScreeningStrategy preScreeningStrategy);
+
+    /**
+     * Registers a phase timer that is notified about the time the created class file transformer spends in each phase
+     * of a transformation. Phase timers are cumulative, a phase timer is added to any previously registered phase timer.
+     *
+     * @param phaseTimer The phase timer to register.
+     * @return A new agent builder that notifies the supplied phase timer.
+     */
+    AgentBuilder withPhaseTimer(PhaseTimer phaseTimer);
+
     /**
      * Adds an installation listener that is notified during installation events. Installation listeners are only invoked if
      * a class file transformer is installed using this agent builder's installation methods and uninstalled via the created
@@ -863,6 +891,22 @@ public interface AgentBuilder {
          */
         RedefinitionListenable with(RedefinitionStrategy.Listener redefinitionListener);
 
+        /**
+         * <p>
+         * A resolution strategy determines how loaded types are resolved and matched before they are redefined. Using a
+         * {@link RedefinitionStrategy.ResolutionStrategy.Parallel} strategy, type descriptions of loaded types can be
+         * resolved concurrently within a bounded window ahead of their consumption. Any listener is still notified from the
+         * thread that installs the agent.
+         * </p>
+         * <p>
+         * Setting a resolution strategy replaces any previously registered resolution strategy.
+         * </p>
+         *
+         * @param redefinitionResolutionStrategy The resolution strategy to use.
+         * @return A new instance of this agent builder which makes use of the specified resolution strategy.
+         */
+        RedefinitionListenable with(RedefinitionStrategy.ResolutionStrategy redefinitionResolutionStrategy);
+
         /**
          * Enables resubmission of failed transformations by applying a retransformation of the loaded type. This can be meaningful if
          * class files cannot be located from the class loader as a resource where the loaded type becomes available.
@@ -2752,6 +2796,14 @@ public interface AgentBuilder {
          * <p>
          * All types that are returned by the locator's type pool are resolved lazily.
          * </p>
+         * <p>
+         * To avoid parsing the same class files on every start of a JVM, a {@link TypePool.CacheProvider.Persistent} cache provider
+         * can be returned for class loaders with stable class files such as the boot loader or the system class loader. For the boot
+         * loader, such a cache provider should be created by {@link TypePool.CacheProvider.Persistent#ofBootLoader(File)} such that the
+         * types of the current VM's runtime image are persisted. For other class loaders, it should be created for the class loader's class
+         * path of jar files and folders, optionally preceded by the types of the boot loader. A persistent cache provider should be closed
+         * once it is no longer used.
+         * </p>
          */
         @HashCodeAndEqualsPlugin.Enhance
         abstract class WithTypePoolCache implements PoolStrategy {
@@ -2850,6 +2902,317 @@ public interface AgentBuilder {
                     return ClassLoader.getSystemClassLoader();
                 }
             }
+
+            /**
+             * <p>
+             * A type locator that caches resolutions per class loader where class loaders are only referenced weakly and where the
+             * resolutions of each class loader are retained by a {@link TypePool.CacheProvider.Bounded} cache provider. If the maximum
+             * number of resolutions for a class loader is exceeded, its least recently used resolution is discarded. Caches of class loaders
+             * that were garbage collected are removed upon any subsequent lookup.
+             * </p>
+             * <p>
+             * The number of cache hits, misses and evictions is summed up for all class loaders, including class loaders that were
+             * already garbage collected.
+             * </p>
+             * <p>
+             * As cached resolutions retain the type pool that created them, the type pools of this strategy never reference a class loader
+             * strongly. The supplied class file locator is only referenced weakly and is only queried as long as it is otherwise reachable.
+             * Thereafter, lazily resolved type information is located by querying the weakly referenced class loader directly.
+             * </p>
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Bounded extends WithTypePoolCache {
+
+                /**
+                 * The maximum number of resolutions to retain per class loader.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The cache providers by their weakly referenced class loaders.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ConcurrentMap<StorageKey, TypePool.CacheProvider.Bounded> cacheProviders;
+
+                /**
+                 * The reference queue that is notified upon the garbage collection of a class loader.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ReferenceQueue<ClassLoader> referenceQueue;
+
+                /**
+                 * The number of cache hits of cache providers of class loaders that were garbage collected.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final AtomicLong expiredHits;
+
+                /**
+                 * The number of cache misses of cache providers of class loaders that were garbage collected.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final AtomicLong expiredMisses;
+
+                /**
+                 * The number of cache evictions of cache providers of class loaders that were garbage collected.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final AtomicLong expiredEvictions;
+
+                /**
+                 * Creates a new bounded type locator that uses a fast reader mode.
+                 *
+                 * @param maximumSize The maximum number of resolutions to retain per class loader.
+                 */
+                public Bounded(int maximumSize) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumSize);
+                }
+
+                /**
+                 * Creates a new bounded type locator.
+                 *
+                 * @param readerMode  The reader mode to use for parsing a class file.
+                 * @param maximumSize The maximum number of resolutions to retain per class loader.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode, int maximumSize) {
+                    super(readerMode);
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                    }
+                    this.maximumSize = maximumSize;
+                    cacheProviders = new ConcurrentHashMap<StorageKey, TypePool.CacheProvider.Bounded>();
+                    referenceQueue = new ReferenceQueue<ClassLoader>();
+                    expiredHits = new AtomicLong();
+                    expiredMisses = new AtomicLong();
+                    expiredEvictions = new AtomicLong();
+                }
+
+                @Override
+                public TypePool typePool(ClassFileLocator classFileLocator, ClassLoader classLoader) {
+                    return new TypePool.Default.WithLazyResolution(locate(classLoader), new ClassFileLocator.Compound(new WeaklyReferencingClassFileLocator(classFileLocator),
+                            ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader)), readerMode);
+                }
+
+                @Override
+                protected TypePool.CacheProvider locate(ClassLoader classLoader) {
+                    expungeStaleEntries();
+                    TypePool.CacheProvider.Bounded cacheProvider = cacheProviders.get(new LookupKey(classLoader));
+                    if (cacheProvider == null) {
+                        cacheProvider = TypePool.CacheProvider.Bounded.withObjectType(maximumSize);
+                        TypePool.CacheProvider.Bounded previous = cacheProviders.putIfAbsent(new StorageKey(classLoader, referenceQueue), cacheProvider);
+                        if (previous != null) {
+                            cacheProvider = previous;
+                        }
+                    }
+                    return cacheProvider;
+                }
+
+                /**
+                 * Removes the cache providers of all class loaders that were garbage collected.
+                 */
+                public void expungeStaleEntries() {
+                    Reference<?> reference;
+                    while ((reference = referenceQueue.poll()) != null) {
+                        TypePool.CacheProvider.Bounded cacheProvider = cacheProviders.remove(reference);
+                        if (cacheProvider != null) {
+                            expiredHits.addAndGet(cacheProvider.getHits());
+                            expiredMisses.addAndGet(cacheProvider.getMisses());
+                            expiredEvictions.addAndGet(cacheProvider.getEvictions());
+                        }
+                    }
+                }
+
+                /**
+                 * Clears the caches of all class loaders.
+                 */
+                public void clear() {
+                    for (TypePool.CacheProvider cacheProvider : cacheProviders.values()) {
+                        cacheProvider.clear();
+                    }
+                }
+
+                /**
+                 * Returns the number of class loaders for which a cache is currently retained.
+                 *
+                 * @return The number of class loaders for which a cache is currently retained.
+                 */
+                public int getClassLoaderCount() {
+                    return cacheProviders.size();
+                }
+
+                /**
+                 * Returns the number of resolutions that are currently cached for all class loaders.
+                 *
+                 * @return The number of resolutions that are currently cached for all class loaders.
+                 */
+                public long getSize() {
+                    long size = 0;
+                    for (TypePool.CacheProvider.Bounded cacheProvider : cacheProviders.values()) {
+                        size += cacheProvider.getSize();
+                    }
+                    return size;
+                }
+
+                /**
+                 * Returns the number of lookups that found a cached resolution.
+                 *
+                 * @return The number of lookups that found a cached resolution.
+                 */
+                public long getHits() {
+                    long hits = expiredHits.get();
+                    for (TypePool.CacheProvider.Bounded cacheProvider : cacheProviders.values()) {
+                        hits += cacheProvider.getHits();
+                    }
+                    return hits;
+                }
+
+                /**
+                 * Returns the number of lookups that did not find a cached resolution.
+                 *
+                 * @return The number of lookups that did not find a cached resolution.
+                 */
+                public long getMisses() {
+                    long misses = expiredMisses.get();
+                    for (TypePool.CacheProvider.Bounded cacheProvider : cacheProviders.values()) {
+                        misses += cacheProvider.getMisses();
+                    }
+                    return misses;
+                }
+
+                /**
+                 * Returns the number of resolutions that were discarded for exceeding the maximum size of a class loader's cache.
+                 *
+                 * @return The number of resolutions that were discarded for exceeding the maximum size of a class loader's cache.
+                 */
+                public long getEvictions() {
+                    long evictions = expiredEvictions.get();
+                    for (TypePool.CacheProvider.Bounded cacheProvider : cacheProviders.values()) {
+                        evictions += cacheProvider.getEvictions();
+                    }
+                    return evictions;
+                }
+
+                /**
+                 * A class file locator that only weakly references its delegate such that a cached type pool does not retain the class
+                 * loader of a class file locator that was supplied for a single transformation.
+                 */
+                protected static class WeaklyReferencingClassFileLocator extends WeakReference<ClassFileLocator> implements ClassFileLocator {
+
+                    /**
+                     * Creates a new weakly referencing class file locator.
+                     *
+                     * @param classFileLocator The class file locator to reference weakly.
+                     */
+                    protected WeaklyReferencingClassFileLocator(ClassFileLocator classFileLocator) {
+                        super(classFileLocator);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Resolution locate(String name) throws IOException {
+                        ClassFileLocator classFileLocator = get();
+                        return classFileLocator == null
+                                ? new Resolution.Illegal(name)
+                                : classFileLocator.locate(name);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() {
+                        /* do nothing */
+                    }
+                }
+
+                /**
+                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The represented class loader.
+                     */
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param classLoader The represented class loader.
+                     */
+                    protected LookupKey(ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return classLoader == ((LookupKey) other).classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && classLoader == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader that only weakly references the class loader.
+                 */
+                protected static class StorageKey extends WeakReference<ClassLoader> {
+
+                    /**
+                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param classLoader    The represented class loader or {@code null} for the bootstrap class loader.
+                     * @param referenceQueue The reference queue to notify upon the class loader's garbage collection.
+                     */
+                    protected StorageKey(ClassLoader classLoader, ReferenceQueue<? super ClassLoader> referenceQueue) {
+                        super(classLoader, referenceQueue);
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && get() == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+            }
         }
     }
 
@@ -3596,6 +3959,17 @@ public interface AgentBuilder {
             public DescriptionStrategy withSuperTypeLoading(ExecutorService executorService) {
                 return new SuperTypeLoading.Asynchronous(this, executorService);
             }
+
+            /**
+             * Creates a description strategy that uses this strategy but only resolves a type description once a property other than
+             * the type's name is queried.
+             *
+             * @return This description strategy where type descriptions are resolved lazily.
+             * @see Lazy
+             */
+            public DescriptionStrategy withLazyResolution() {
+                return new Lazy(this);
+            }
         }
 
         /**
@@ -3882,39 +4256,171 @@ public interface AgentBuilder {
                 }
             }
         }
-    }
-
-    /**
-     * A strategy for creating a {@link ClassFileLocator} when instrumenting a type.
-     */
-    interface LocationStrategy {
 
         /**
-         * Creates a class file locator for a given class loader and module combination.
+         * <p>
+         * A description strategy that defers the resolution of a type description to another description strategy until any
+         * property other than the type's name is queried. This way, any matcher that only considers a type's name, such as a
+         * {@link net.bytebuddy.matcher.StringTrieMatcher} that was compiled from a disjunction of name matchers, can reject a type
+         * without locating or parsing its class file.
+         * </p>
+         * <p>
+         * <b>Note</b>: If the type description cannot be resolved, the resulting error is only raised when the description is
+         * first queried. If a type is rejected by its name only, such a type is ignored rather than reported as an error.
+         * </p>
          *
-         * @param classLoader The class loader that is loading an instrumented type. Might be {@code null} to represent the bootstrap class loader.
-         * @param module      The type's module or {@code null} if Java modules are not supported on the current VM.
-         * @return The class file locator to use.
+         * @see net.bytebuddy.matcher.StringTrieMatcher#compile(ElementMatcher)
          */
-        ClassFileLocator classFileLocator(ClassLoader classLoader, JavaModule module);
+        @HashCodeAndEqualsPlugin.Enhance
+        class Lazy implements DescriptionStrategy {
 
-        /**
-         * A location strategy that never locates any byte code.
-         */
-        enum NoOp implements LocationStrategy {
+            /**
+             * The delegate description strategy.
+             */
+            private final DescriptionStrategy delegate;
 
             /**
-             * The singleton instance.
+             * Creates a new lazy description strategy.
+             *
+             * @param delegate The delegate description strategy.
              */
-            INSTANCE;
+            public Lazy(DescriptionStrategy delegate) {
+                this.delegate = delegate;
+            }
 
             /**
              * {@inheritDoc}
              */
-            public ClassFileLocator classFileLocator(ClassLoader classLoader, JavaModule module) {
-                return ClassFileLocator.NoOp.INSTANCE;
+            public boolean isLoadedFirst() {
+                return delegate.isLoadedFirst();
             }
-        }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypeDescription apply(String typeName,
+                                         Class<?> type,
+                                         TypePool typePool,
+                                         CircularityLock circularityLock,
+                                         ClassLoader classLoader,
+                                         JavaModule module) {
+                return new LazyTypeDescription(delegate, typeName, type, typePool, circularityLock, classLoader, module);
+            }
+
+            /**
+             * A type description that resolves its delegate only when a property other than its name is queried.
+             */
+            protected static class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+
+                /**
+                 * The description strategy to resolve the delegate with.
+                 */
+                private final DescriptionStrategy descriptionStrategy;
+
+                /**
+                 * The binary name of the described type.
+                 */
+                private final String typeName;
+
+                /**
+                 * The type that is being redefined or {@code null} if no redefined type is available.
+                 */
+                private final Class<?> type;
+
+                /**
+                 * The type pool to use for locating a type if required.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * The currently used circularity lock.
+                 */
+                private final CircularityLock circularityLock;
+
+                /**
+                 * The type's class loader where {@code null} represents the bootstrap class loader.
+                 */
+                private final ClassLoader classLoader;
+
+                /**
+                 * The type's module or {@code null} if the current VM does not support modules.
+                 */
+                private final JavaModule module;
+
+                /**
+                 * Creates a new lazy type description.
+                 *
+                 * @param descriptionStrategy The description strategy to resolve the delegate with.
+                 * @param typeName            The binary name of the described type.
+                 * @param type                The type that is being redefined or {@code null} if no redefined type is available.
+                 * @param typePool            The type pool to use for locating a type if required.
+                 * @param circularityLock     The currently used circularity lock.
+                 * @param classLoader         The type's class loader where {@code null} represents the bootstrap class loader.
+                 * @param module              The type's module or {@code null} if the current VM does not support modules.
+                 */
+                protected LazyTypeDescription(DescriptionStrategy descriptionStrategy,
+                                              String typeName,
+                                              Class<?> type,
+                                              TypePool typePool,
+                                              CircularityLock circularityLock,
+                                              ClassLoader classLoader,
+                                              JavaModule module) {
+                    this.descriptionStrategy = descriptionStrategy;
+                    this.typeName = typeName;
+                    this.type = type;
+                    this.typePool = typePool;
+                    this.circularityLock = circularityLock;
+                    this.classLoader = classLoader;
+                    this.module = module;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String getName() {
+                    return typeName;
+                }
+
+                @Override
+                @CachedReturnPlugin.Enhance("delegate")
+                protected TypeDescription delegate() {
+                    return descriptionStrategy.apply(typeName, type, typePool, circularityLock, classLoader, module);
+                }
+            }
+        }
+    }
+
+    /**
+     * A strategy for creating a {@link ClassFileLocator} when instrumenting a type.
+     */
+    interface LocationStrategy {
+
+        /**
+         * Creates a class file locator for a given class loader and module combination.
+         *
+         * @param classLoader The class loader that is loading an instrumented type. Might be {@code null} to represent the bootstrap class loader.
+         * @param module      The type's module or {@code null} if Java modules are not supported on the current VM.
+         * @return The class file locator to use.
+         */
+        ClassFileLocator classFileLocator(ClassLoader classLoader, JavaModule module);
+
+        /**
+         * A location strategy that never locates any byte code.
+         */
+        enum NoOp implements LocationStrategy {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public ClassFileLocator classFileLocator(ClassLoader classLoader, JavaModule module) {
+                return ClassFileLocator.NoOp.INSTANCE;
+            }
+        }
 
         /**
          * A location strategy that locates class files by querying an instrumented type's {@link ClassLoader}.
@@ -4179,55 +4685,27 @@ public interface AgentBuilder {
     }
 
     /**
-     * A listener that is notified during the installation and the resetting of a class file transformer.
+     * A pre-screening strategy is applied by a class file transformer before any other work is done for a type. A pre-screening
+     * strategy is only given access to a type's internal name, i.e. the binary name where {@code .} is replaced by {@code /}, and
+     * to its class loader. This allows to discard the vast majority of types that are loaded by a VM without allocating any objects,
+     * without resolving a {@link TypeDescription} and without notifying the agent's {@link Listener}. A pre-screening strategy is
+     * invoked outside of the agent's {@link CircularityLock} and must therefore never cause any class loading.
      */
-    interface InstallationListener {
-
-        /**
-         * Indicates that an exception is handled.
-         */
-        Throwable SUPPRESS_ERROR = null;
+    interface PreScreeningStrategy {
 
         /**
-         * Invoked prior to the installation of a class file transformer.
-         *
-         * @param instrumentation      The instrumentation on which the class file transformer is installed.
-         * @param classFileTransformer The class file transformer that is being installed.
-         */
-        void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
-
-        /**
-         * Invoked upon the successful installation of a class file transformer. This method is only invoked if no error occurred during the
-         * installation or if such an error was handled by {@link InstallationListener#onError(Instrumentation, ResettableClassFileTransformer, Throwable)}.
-         *
-         * @param instrumentation      The instrumentation on which the class file transformer is installed.
-         * @param classFileTransformer The class file transformer that is being installed.
-         */
-        void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
-
-        /**
-         * Invoked if an installation causes an error. The listener has an opportunity to handle the error. This method is invoked prior to
-         * {@link InstallationListener#onInstall(Instrumentation, ResettableClassFileTransformer)}.
-         *
-         * @param instrumentation      The instrumentation on which the class file transformer is installed.
-         * @param classFileTransformer The class file transformer that is being installed.
-         * @param throwable            The throwable that causes the error.
-         * @return The error to propagate or {@code null} if the error is handled. Any subsequent listeners are not called if the exception is handled.
-         */
-        Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable);
-
-        /**
-         * Invoked if an installation is reset.
+         * Determines if a type should be ignored without any further consideration.
          *
-         * @param instrumentation      The instrumentation on which the class file transformer is installed.
-         * @param classFileTransformer The class file transformer that is being installed.
+         * @param internalTypeName The internal name of the type in question.
+         * @param classLoader      The type's class loader or {@code null} if the type is loaded by the bootstrap loader.
+         * @return {@code true} if the type should be ignored.
          */
-        void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
+        boolean isIgnored(String internalTypeName, ClassLoader classLoader);
 
         /**
-         * A non-operational listener that does not do anything.
+         * A disabled pre-screening strategy that never ignores a type.
          */
-        enum NoOp implements InstallationListener {
+        enum Disabled implements PreScreeningStrategy {
 
             /**
              * The singleton instance.
@@ -4237,1995 +4715,1767 @@ public interface AgentBuilder {
             /**
              * {@inheritDoc}
              */
-            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                return false;
             }
+        }
 
-            /**
-             * {@inheritDoc}
-             */
-            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
-            }
+        /**
+         * A pre-screening strategy that ignores any type that is loaded by the bootstrap class loader.
+         */
+        enum ForBootstrapClassLoader implements PreScreeningStrategy {
 
             /**
-             * {@inheritDoc}
+             * The singleton instance.
              */
-            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
-                return throwable;
-            }
+            INSTANCE;
 
             /**
              * {@inheritDoc}
              */
-            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                return classLoader == null;
             }
         }
 
         /**
-         * A listener that suppresses any installation error.
+         * A pre-screening strategy that ignores any type with an internal name that starts with any of the given prefixes.
          */
-        enum ErrorSuppressing implements InstallationListener {
-
-            /**
-             * The singleton instance.
-             */
-            INSTANCE;
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForNamePrefix implements PreScreeningStrategy {
 
             /**
-             * {@inheritDoc}
+             * The internal name prefixes of ignored types.
              */
-            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
-            }
+            private final String[] prefixes;
 
             /**
-             * {@inheritDoc}
+             * Creates a new pre-screening strategy for name prefixes.
+             *
+             * @param prefix The name prefixes of ignored types. Prefixes can be supplied either in their binary or in their internal form.
              */
-            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
+            public ForNamePrefix(String... prefix) {
+                this(Arrays.asList(prefix));
             }
 
             /**
-             * {@inheritDoc}
+             * Creates a new pre-screening strategy for name prefixes.
+             *
+             * @param prefixes The name prefixes of ignored types. Prefixes can be supplied either in their binary or in their internal form.
              */
-            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
-                return SUPPRESS_ERROR;
+            public ForNamePrefix(List<String> prefixes) {
+                this.prefixes = new String[prefixes.size()];
+                int index = 0;
+                for (String prefix : prefixes) {
+                    this.prefixes[index++] = prefix.replace('.', '/');
+                }
             }
 
             /**
              * {@inheritDoc}
              */
-            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                for (String prefix : prefixes) {
+                    if (internalTypeName.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+                return false;
             }
         }
 
         /**
-         * An adapter implementation for an installation listener that serves as a convenience.
+         * A pre-screening strategy that ignores any type that is loaded by a class loader that matches the supplied matcher.
          */
-        abstract class Adapter implements InstallationListener {
-
-            /**
-             * {@inheritDoc}
-             */
-            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
-            }
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForClassLoader implements PreScreeningStrategy {
 
             /**
-             * {@inheritDoc}
+             * The matcher to apply to a type's class loader.
              */
-            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
-            }
+            private final ElementMatcher<? super ClassLoader> matcher;
 
             /**
-             * {@inheritDoc}
+             * Creates a new pre-screening strategy for a class loader.
+             *
+             * @param matcher The matcher to apply to a type's class loader. The matcher must not cause class loading.
              */
-            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
-                return throwable;
+            public ForClassLoader(ElementMatcher<? super ClassLoader> matcher) {
+                this.matcher = matcher;
             }
 
             /**
              * {@inheritDoc}
              */
-            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                /* do nothing */
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                return matcher.matches(classLoader);
             }
         }
 
         /**
-         * This installation listener prints the status of any installation to a {@link PrintStream}.
+         * A pre-screening strategy that counts the types that are ignored by a delegate strategy. This allows to verify the
+         * effectiveness of a pre-screening strategy at runtime.
          */
         @HashCodeAndEqualsPlugin.Enhance
-        class StreamWriting implements InstallationListener {
+        class Counting implements PreScreeningStrategy {
 
             /**
-             * The prefix prepended to any message written.
+             * The delegate pre-screening strategy.
              */
-            protected static final String PREFIX = "[Byte Buddy]";
+            private final PreScreeningStrategy delegate;
 
             /**
-             * The print stream to write to.
+             * A counter for the types that were ignored by the delegate strategy.
              */
-            private final PrintStream printStream;
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final AtomicLong count;
 
             /**
-             * Creates a new stream writing installation listener.
+             * Creates a new counting pre-screening strategy.
              *
-             * @param printStream The print stream to write to.
+             * @param delegate The delegate pre-screening strategy.
              */
-            public StreamWriting(PrintStream printStream) {
-                this.printStream = printStream;
+            public Counting(PreScreeningStrategy delegate) {
+                this.delegate = delegate;
+                count = new AtomicLong();
             }
 
             /**
-             * Creates a stream writing installation listener that prints to {@link System#out}.
-             *
-             * @return An installation listener that prints to {@link System#out}.
+             * {@inheritDoc}
              */
-            public static InstallationListener toSystemOut() {
-                return new StreamWriting(System.out);
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                if (delegate.isIgnored(internalTypeName, classLoader)) {
+                    count.incrementAndGet();
+                    return true;
+                } else {
+                    return false;
+                }
             }
 
             /**
-             * Creates a stream writing installation listener that prints to {@link System#err}.
+             * Returns the number of types that were ignored by this pre-screening strategy.
              *
-             * @return An installation listener that prints to {@link System#err}.
+             * @return The number of types that were ignored by this pre-screening strategy.
              */
-            public static InstallationListener toSystemError() {
-                return new StreamWriting(System.err);
+            public long getCount() {
+                return count.get();
             }
+        }
+
+        /**
+         * A compound pre-screening strategy that ignores a type if any of its represented strategies ignores the type.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements PreScreeningStrategy {
 
             /**
-             * {@inheritDoc}
+             * The pre-screening strategies that are represented by this compound strategy in their application order.
              */
-            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                printStream.printf(PREFIX + " BEFORE_INSTALL %s on %s%n", classFileTransformer, instrumentation);
-            }
+            private final PreScreeningStrategy[] preScreeningStrategies;
 
             /**
-             * {@inheritDoc}
+             * Creates a new compound pre-screening strategy.
+             *
+             * @param preScreeningStrategy The pre-screening strategies to apply in their application order.
              */
-            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                printStream.printf(PREFIX + " INSTALL %s on %s%n", classFileTransformer, instrumentation);
+            public Compound(PreScreeningStrategy... preScreeningStrategy) {
+                this(Arrays.asList(preScreeningStrategy));
             }
 
             /**
-             * {@inheritDoc}
-             */
-            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
-                synchronized (printStream) {
-                    printStream.printf(PREFIX + " ERROR %s on %s%n", classFileTransformer, instrumentation);
-                    throwable.printStackTrace(printStream);
+             * Creates a new compound pre-screening strategy.
+             *
+             * @param preScreeningStrategies The pre-screening strategies to apply in their application order.
+             */
+            public Compound(List<? extends PreScreeningStrategy> preScreeningStrategies) {
+                List<PreScreeningStrategy> strategies = new ArrayList<PreScreeningStrategy>();
+                for (PreScreeningStrategy preScreeningStrategy : preScreeningStrategies) {
+                    if (preScreeningStrategy instanceof Compound) {
+                        strategies.addAll(Arrays.asList(((Compound) preScreeningStrategy).preScreeningStrategies));
+                    } else if (!(preScreeningStrategy instanceof Disabled)) {
+                        strategies.add(preScreeningStrategy);
+                    }
                 }
-                return throwable;
+                this.preScreeningStrategies = strategies.toArray(new PreScreeningStrategy[0]);
             }
 
             /**
              * {@inheritDoc}
              */
-            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                printStream.printf(PREFIX + " RESET %s on %s%n", classFileTransformer, instrumentation);
+            public boolean isIgnored(String internalTypeName, ClassLoader classLoader) {
+                for (PreScreeningStrategy preScreeningStrategy : preScreeningStrategies) {
+                    if (preScreeningStrategy.isIgnored(internalTypeName, classLoader)) {
+                        return true;
+                    }
+                }
+                return false;
             }
         }
+    }
+
+    /**
+     * A phase timer is notified about the time that a class file transformer spends in the different phases of a transformation.
+     * Phase timers are only notified for types that are not already ignored by the agent's {@link PreScreeningStrategy}. A phase
+     * timer is invoked from within a class file transformer such that it must not cause any class loading and should not block.
+     */
+    interface PhaseTimer {
 
         /**
-         * A compound installation listener.
+         * Invoked after a phase of a transformation was completed.
+         *
+         * @param phase       The phase that was completed.
+         * @param classLoader The class loader of the type being transformed or {@code null} if the type is loaded by the bootstrap loader.
+         * @param nanos       The duration of the phase in nanoseconds.
          */
-        @HashCodeAndEqualsPlugin.Enhance
-        class Compound implements InstallationListener {
+        void onPhase(Phase phase, ClassLoader classLoader, long nanos);
+
+        /**
+         * The phases of a transformation.
+         */
+        enum Phase {
 
             /**
-             * The installation listeners to notify.
+             * The discovery of a type which includes the notification of the agent's {@link Listener} and the creation of a
+             * {@link ClassFileLocator} and {@link TypePool}.
              */
-            private final List<InstallationListener> installationListeners;
+            DISCOVERY,
 
             /**
-             * Creates a new compound listener.
-             *
-             * @param installationListener The installation listeners to notify.
+             * The resolution of a type description by the agent's {@link DescriptionStrategy}.
              */
-            public Compound(InstallationListener... installationListener) {
-                this(Arrays.asList(installationListener));
-            }
+            DESCRIPTION,
 
             /**
-             * Creates a new compound listener.
-             *
-             * @param installationListeners The installation listeners to notify.
+             * The evaluation of the agent's ignore matcher and of the matchers of all registered transformations.
              */
-            public Compound(List<? extends InstallationListener> installationListeners) {
-                this.installationListeners = new ArrayList<InstallationListener>();
-                for (InstallationListener installationListener : installationListeners) {
-                    if (installationListener instanceof Compound) {
-                        this.installationListeners.addAll(((Compound) installationListener).installationListeners);
-                    } else if (!(installationListener instanceof NoOp)) {
-                        this.installationListeners.add(installationListener);
-                    }
-                }
-            }
+            MATCHING,
 
             /**
-             * {@inheritDoc}
+             * The application of all transformers and the emission of the transformed class file.
              */
-            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                for (InstallationListener installationListener : installationListeners) {
-                    installationListener.onBeforeInstall(instrumentation, classFileTransformer);
-                }
-            }
+            EMISSION,
+
+            /**
+             * The registration of the transformed type by the agent's {@link InitializationStrategy}.
+             */
+            REGISTRATION
+        }
+
+        /**
+         * A non-operational phase timer.
+         */
+        enum NoOp implements PhaseTimer {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
 
             /**
              * {@inheritDoc}
              */
-            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                for (InstallationListener installationListener : installationListeners) {
-                    installationListener.onInstall(instrumentation, classFileTransformer);
-                }
+            public void onPhase(Phase phase, ClassLoader classLoader, long nanos) {
+                /* do nothing */
             }
+        }
+
+        /**
+         * A compound phase timer.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements PhaseTimer {
 
             /**
-             * {@inheritDoc}
+             * The phase timers that are represented by this compound phase timer in their application order.
              */
-            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
-                for (InstallationListener installationListener : installationListeners) {
-                    if (throwable == SUPPRESS_ERROR) {
-                        return SUPPRESS_ERROR;
+            private final List<PhaseTimer> phaseTimers;
+
+            /**
+             * Creates a new compound phase timer.
+             *
+             * @param phaseTimer The phase timers to apply in their application order.
+             */
+            public Compound(PhaseTimer... phaseTimer) {
+                this(Arrays.asList(phaseTimer));
+            }
+
+            /**
+             * Creates a new compound phase timer.
+             *
+             * @param phaseTimers The phase timers to apply in their application order.
+             */
+            public Compound(List<? extends PhaseTimer> phaseTimers) {
+                this.phaseTimers = new ArrayList<PhaseTimer>();
+                for (PhaseTimer phaseTimer : phaseTimers) {
+                    if (phaseTimer instanceof Compound) {
+                        this.phaseTimers.addAll(((Compound) phaseTimer).phaseTimers);
+                    } else if (!(phaseTimer instanceof NoOp)) {
+                        this.phaseTimers.add(phaseTimer);
                     }
-                    throwable = installationListener.onError(instrumentation, classFileTransformer, throwable);
                 }
-                return throwable;
             }
 
             /**
              * {@inheritDoc}
              */
-            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                for (InstallationListener installationListener : installationListeners) {
-                    installationListener.onReset(instrumentation, classFileTransformer);
+            public void onPhase(Phase phase, ClassLoader classLoader, long nanos) {
+                for (PhaseTimer phaseTimer : phaseTimers) {
+                    phaseTimer.onPhase(phase, classLoader, nanos);
                 }
             }
         }
-    }
-
-    /**
-     * This strategy determines how the provided class file buffer is used.
-     */
-    interface ClassFileBufferStrategy {
 
         /**
-         * Resolves a class file locator for the class file buffer that is provided to the class file transformer.
-         *
-         * @param name                 The instrumented type's binary name.
-         * @param binaryRepresentation The instrumented type's binary representation.
-         * @param classLoader          The instrumented type's class loader or {@code null} if the type is loaded by the bootstrap class loader.
-         * @param module               The instrumented type's module or {@code null} if the current VM does not support modules.
-         * @param protectionDomain     The instrumented type's protection domain.
-         * @return An appropriate class file locator.
+         * A phase timer that records the duration of each phase in lock-free histograms per class loader. The histograms of
+         * a class loader do not prevent its garbage collection. Metrics are also an {@link InstallationListener} that publishes
+         * the recorded histograms to a {@link Sink} once a class file transformer is installed and that withdraws them when the
+         * class file transformer is reset. As a result, a metrics instance is normally registered twice with an agent builder:
+         * <pre>{@code
+         * builder.withPhaseTimer(metrics).with(metrics)
+         * }</pre>
          */
-        ClassFileLocator resolve(String name, byte[] binaryRepresentation, ClassLoader classLoader, JavaModule module, ProtectionDomain protectionDomain);
-
-        /**
-         * An implementation of default class file buffer strategy.
-         */
-        enum Default implements ClassFileBufferStrategy {
+        class Metrics extends InstallationListener.Adapter implements PhaseTimer {
 
             /**
-             * A class file buffer strategy that retains the original class file buffer.
+             * The name that represents the bootstrap class loader.
              */
-            RETAINING {
-                /** {@inheritDoc} */
-                public ClassFileLocator resolve(String name,
-                                                byte[] binaryRepresentation,
-                                                ClassLoader classLoader,
-                                                JavaModule module,
-                                                ProtectionDomain protectionDomain) {
-                    return ClassFileLocator.Simple.of(name, binaryRepresentation);
-                }
-            },
+            private static final String BOOTSTRAP_LOADER = "bootstrap";
 
             /**
-             * <p>
-             * A class file buffer strategy that discards the original class file buffer.
-             * </p>
-             * <p>
-             * <b>Warning</b>: This strategy discards any changes that were applied by previous Java agents.
-             * </p>
+             * The number of phases of a transformation.
              */
-            DISCARDING {
-                /** {@inheritDoc} */
-                public ClassFileLocator resolve(String name,
-                                                byte[] binaryRepresentation,
-                                                ClassLoader classLoader,
-                                                JavaModule module,
-                                                ProtectionDomain protectionDomain) {
-                    return ClassFileLocator.NoOp.INSTANCE;
-                }
-            }
-        }
+            private static final int PHASES = Phase.values().length;
 
-    }
+            /**
+             * The sink to which the recorded histograms are published.
+             */
+            private final Sink sink;
 
-    /**
-     * A decorator that allows to change the class file transformer that is registered.
-     */
-    interface TransformerDecorator {
+            /**
+             * The histograms of all class loaders with one histogram per phase.
+             */
+            private final ConcurrentMap<Object, Histogram[]> histograms;
 
-        /**
-         * Decorates the applied class file transformer.
-         *
-         * @param classFileTransformer The original transformer created by the agent builder.
-         * @return The class file transformer that is actually being registered.
-         */
-        ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer);
+            /**
+             * A reference queue for expunging the histograms of collected class loaders.
+             */
+            private final ReferenceQueue<ClassLoader> referenceQueue;
 
-        /**
-         * A transformer decorator that retains the original transformer.
-         */
-        enum NoOp implements TransformerDecorator {
+            /**
+             * A per-thread cache of the histograms of the class loader that was recorded last. A class file transformer reports
+             * all phases of a transformation from the same thread and for the same class loader such that only the first phase
+             * requires a lookup.
+             */
+            private final ThreadLocal<Cache> cache;
 
             /**
-             * The singleton instance.
+             * The generation of the recorded histograms which is incremented on each reset to invalidate all cached histograms.
              */
-            INSTANCE;
+            private final AtomicInteger generation;
 
             /**
-             * {@inheritDoc}
+             * Creates new metrics that are published as a JMX MBean with a default name.
              */
-            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
-                return classFileTransformer;
+            public Metrics() {
+                this(new Sink.ForJmx());
             }
-        }
 
-        /**
-         * A compound transformer decorator.
-         */
-        @HashCodeAndEqualsPlugin.Enhance
-        class Compound implements TransformerDecorator {
+            /**
+             * Creates new metrics.
+             *
+             * @param sink The sink to which the recorded histograms are published.
+             */
+            public Metrics(Sink sink) {
+                this.sink = sink;
+                histograms = new ConcurrentHashMap<Object, Histogram[]>();
+                referenceQueue = new ReferenceQueue<ClassLoader>();
+                generation = new AtomicInteger();
+                cache = new ThreadLocal<Cache>() {
+                    @Override
+                    protected Cache initialValue() {
+                        return new Cache();
+                    }
+                };
+            }
 
             /**
-             * The listeners to invoke.
+             * {@inheritDoc}
              */
-            private final List<TransformerDecorator> transformerDecorators;
+            public void onPhase(Phase phase, ClassLoader classLoader, long nanos) {
+                Cache cache = this.cache.get();
+                int generation = this.generation.get();
+                Histogram[] histograms = cache.resolve(classLoader, generation);
+                if (histograms == null) {
+                    Object key = classLoader == null
+                            ? BOOTSTRAP_LOADER
+                            : new LookupKey(classLoader);
+                    histograms = this.histograms.get(key);
+                    if (histograms == null) {
+                        expungeStaleEntries();
+                        histograms = new Histogram[PHASES];
+                        for (int index = 0; index < histograms.length; index++) {
+                            histograms[index] = new Histogram();
+                        }
+                        key = classLoader == null
+                                ? BOOTSTRAP_LOADER
+                                : new StorageKey(classLoader, referenceQueue);
+                        Histogram[] previous = this.histograms.putIfAbsent(key, histograms);
+                        if (previous != null) {
+                            histograms = previous;
+                        }
+                    }
+                    cache.update(classLoader, histograms, generation);
+                }
+                histograms[phase.ordinal()].record(nanos);
+            }
 
             /**
-             * Creates a new compound transformer decorator.
+             * Returns the histogram of a phase for a given class loader.
              *
-             * @param transformerDecorator The transformer decorators to add.
+             * @param classLoader The class loader or {@code null} for the bootstrap loader.
+             * @param phase       The phase for which to return the histogram.
+             * @return The recorded histogram or {@code null} if no type was recorded for this class loader.
              */
-            public Compound(TransformerDecorator... transformerDecorator) {
-                this(Arrays.asList(transformerDecorator));
+            public Histogram getHistogram(ClassLoader classLoader, Phase phase) {
+                Histogram[] histograms = this.histograms.get(classLoader == null
+                        ? BOOTSTRAP_LOADER
+                        : new LookupKey(classLoader));
+                return histograms == null
+                        ? null
+                        : histograms[phase.ordinal()];
             }
 
             /**
-             * Creates a new compound listener.
+             * Returns a histogram of a phase that aggregates the histograms of all class loaders.
              *
-             * @param transformerDecorators The transformerDecorators to invoke.
+             * @param phase The phase for which to return the histogram.
+             * @return A histogram that aggregates the histograms of all class loaders at the time of the invocation.
              */
-            public Compound(List<? extends TransformerDecorator> transformerDecorators) {
-                this.transformerDecorators = new ArrayList<TransformerDecorator>();
-                for (TransformerDecorator transformerDecorator : transformerDecorators) {
-                    if (transformerDecorator instanceof Compound) {
-                        this.transformerDecorators.addAll(((Compound) transformerDecorator).transformerDecorators);
-                    } else if (!(transformerDecorator instanceof NoOp)) {
-                        this.transformerDecorators.add(transformerDecorator);
-                    }
+            public Histogram getHistogram(Phase phase) {
+                Histogram histogram = new Histogram();
+                for (Histogram[] histograms : this.histograms.values()) {
+                    histogram.add(histograms[phase.ordinal()]);
                 }
+                return histogram;
             }
 
             /**
-             * {@inheritDoc}
-             */
-            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
-                for (TransformerDecorator transformerDecorator : transformerDecorators) {
-                    classFileTransformer = transformerDecorator.decorate(classFileTransformer);
+             * Returns a histogram of a phase for all class loaders by the class loaders' names.
+             *
+             * @param phase The phase for which to return the histograms.
+             * @return A mapping of class loader names to their histogram of the supplied phase.
+             */
+            public Map<String, Histogram> getHistograms(Phase phase) {
+                Map<String, Histogram> histograms = new LinkedHashMap<String, Histogram>();
+                for (Map.Entry<Object, Histogram[]> entry : this.histograms.entrySet()) {
+                    String name;
+                    if (entry.getKey() == BOOTSTRAP_LOADER) {
+                        name = BOOTSTRAP_LOADER;
+                    } else {
+                        ClassLoader classLoader = ((StorageKey) entry.getKey()).get();
+                        if (classLoader == null) {
+                            continue;
+                        }
+                        name = classLoader.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(classLoader));
+                    }
+                    histograms.put(name, entry.getValue()[phase.ordinal()]);
                 }
-                return classFileTransformer;
+                return histograms;
             }
-        }
-    }
 
-    /**
-     * <p>
-     * A redefinition strategy regulates how already loaded classes are modified by a built agent.
-     * </p>
-     * <p>
-     * <b>Important</b>: Most JVMs do not support changes of a class's structure after a class was already
-     * loaded. Therefore, it is typically required that this class file transformer was built while enabling
-     * {@link AgentBuilder#disableClassFormatChanges()}.
-     * </p>
-     */
-    enum RedefinitionStrategy {
+            /**
+             * Discards all recorded histograms.
+             */
+            public void reset() {
+                generation.incrementAndGet();
+                histograms.clear();
+            }
 
-        /**
-         * Disables redefinition such that already loaded classes are not affected by the agent.
-         */
-        DISABLED(false, false) {
-            @Override
-            public void apply(Instrumentation instrumentation,
-                              AgentBuilder.Listener listener,
-                              CircularityLock circularityLock,
-                              PoolStrategy poolStrategy,
-                              LocationStrategy locationStrategy,
-                              DiscoveryStrategy discoveryStrategy,
-                              BatchAllocator redefinitionBatchAllocator,
-                              Listener redefinitionListener,
-                              LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
-                              DescriptionStrategy descriptionStrategy,
-                              FallbackStrategy fallbackStrategy,
-                              RawMatcher matcher) {
-                /* do nothing */
+            /**
+             * Removes the histograms of any class loader that was garbage collected.
+             */
+            public void expungeStaleEntries() {
+                Reference<?> reference;
+                while ((reference = referenceQueue.poll()) != null) {
+                    histograms.remove(reference);
+                }
             }
 
             @Override
-            protected void check(Instrumentation instrumentation) {
-                throw new IllegalStateException("Cannot apply redefinition on disabled strategy");
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                sink.register(this);
             }
 
             @Override
-            protected Collector make() {
-                throw new IllegalStateException("A disabled redefinition strategy cannot create a collector");
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                sink.unregister(this);
             }
-        },
 
-        /**
-         * <p>
-         * Applies a <b>redefinition</b> to all classes that are already loaded and that would have been transformed if
-         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is <b>not</b>
-         * registered for applying retransformations.
-         * </p>
-         * <p>
-         * Using this strategy, a redefinition is applied as a single transformation request. This means that a single illegal
-         * redefinition of a class causes the entire redefinition attempt to fail.
-         * </p>
-         * <p>
-         * <b>Note</b>: When applying a redefinition, it is normally required to use a {@link TypeStrategy} that applies
-         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
-         * the constrains given by this type strategy.
-         * </p>
-         */
-        REDEFINITION(true, false) {
-            @Override
-            protected void check(Instrumentation instrumentation) {
-                if (!instrumentation.isRedefineClassesSupported()) {
-                    throw new IllegalStateException("Cannot apply redefinition on " + instrumentation);
-                }
-            }
-
-            @Override
-            protected Collector make() {
-                return new Collector.ForRedefinition();
-            }
-        },
-
-        /**
-         * <p>
-         * Applies a <b>retransformation</b> to all classes that are already loaded and that would have been transformed if
-         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is registered
-         * for applying retransformations.
-         * </p>
-         * <p>
-         * Using this strategy, a retransformation is applied as a single transformation request. This means that a single illegal
-         * retransformation of a class causes the entire retransformation attempt to fail.
-         * </p>
-         * <p>
-         * <b>Note</b>: When applying a retransformation, it is normally required to use a {@link TypeStrategy} that applies
-         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
-         * the constrains given by this type strategy.
-         * </p>
-         */
-        RETRANSFORMATION(true, true) {
-            @Override
-            protected void check(Instrumentation instrumentation) {
-                if (!DISPATCHER.isRetransformClassesSupported(instrumentation)) {
-                    throw new IllegalStateException("Cannot apply retransformation on " + instrumentation);
-                }
-            }
-
-            @Override
-            protected Collector make() {
-                return new Collector.ForRetransformation();
-            }
-        };
-
-        /**
-         * A dispatcher to use for interacting with the instrumentation API.
-         */
-        protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
-
-        /**
-         * Indicates that this redefinition strategy is enabled.
-         */
-        private final boolean enabled;
-
-        /**
-         * {@code true} if this strategy applies retransformation.
-         */
-        private final boolean retransforming;
-
-        /**
-         * Creates a new redefinition strategy.
-         *
-         * @param enabled        {@code true} if this strategy is enabled.
-         * @param retransforming {@code true} if this strategy applies retransformation.
-         */
-        RedefinitionStrategy(boolean enabled, boolean retransforming) {
-            this.enabled = enabled;
-            this.retransforming = retransforming;
-        }
-
-        /**
-         * Indicates if this strategy requires a class file transformer to be registered with a hint to apply the
-         * transformer for retransformation.
-         *
-         * @return {@code true} if a class file transformer must be registered with a hint for retransformation.
-         */
-        protected boolean isRetransforming() {
-            return retransforming;
-        }
-
-        /**
-         * Checks if this strategy can be applied to the supplied instrumentation instance.
-         *
-         * @param instrumentation The instrumentation instance to validate.
-         */
-        protected abstract void check(Instrumentation instrumentation);
-
-        /**
-         * Indicates that this redefinition strategy applies a modification of already loaded classes.
-         *
-         * @return {@code true} if this redefinition strategy applies a modification of already loaded classes.
-         */
-        protected boolean isEnabled() {
-            return enabled;
-        }
-
-        /**
-         * Creates a collector instance that is responsible for collecting loaded classes for potential retransformation.
-         *
-         * @return A new collector for collecting already loaded classes for transformation.
-         */
-        protected abstract Collector make();
-
-        /**
-         * Applies this redefinition strategy by submitting all loaded types to redefinition. If this redefinition strategy is disabled,
-         * this method is non-operational.
-         *
-         * @param instrumentation               The instrumentation instance to use.
-         * @param listener                      The listener to notify on transformations.
-         * @param circularityLock               The circularity lock to use.
-         * @param poolStrategy                  The type locator to use.
-         * @param locationStrategy              The location strategy to use.
-         * @param redefinitionDiscoveryStrategy The discovery strategy for loaded types to be redefined.
-         * @param redefinitionBatchAllocator    The batch allocator for the redefinition strategy to apply.
-         * @param redefinitionListener          The redefinition listener for the redefinition strategy to apply.
-         * @param lambdaInstrumentationStrategy A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
-         *                                      instrumentation of classes that represent lambda expressions.
-         * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
-         * @param fallbackStrategy              The fallback strategy to apply.
-         * @param matcher                       The matcher to identify what types to redefine.
-         */
-        protected void apply(Instrumentation instrumentation,
-                             AgentBuilder.Listener listener,
-                             CircularityLock circularityLock,
-                             PoolStrategy poolStrategy,
-                             LocationStrategy locationStrategy,
-                             DiscoveryStrategy redefinitionDiscoveryStrategy,
-                             BatchAllocator redefinitionBatchAllocator,
-                             Listener redefinitionListener,
-                             LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
-                             DescriptionStrategy descriptionStrategy,
-                             FallbackStrategy fallbackStrategy,
-                             RawMatcher matcher) {
-            check(instrumentation);
-            int batch = RedefinitionStrategy.BatchAllocator.FIRST_BATCH;
-            for (Iterable<Class<?>> types : redefinitionDiscoveryStrategy.resolve(instrumentation)) {
-                RedefinitionStrategy.Collector collector = make();
-                for (Class<?> type : types) {
-                    if (type == null || type.isArray() || !lambdaInstrumentationStrategy.isInstrumented(type)) {
-                        continue;
-                    }
-                    JavaModule module = JavaModule.ofType(type);
-                    try {
-                        TypePool typePool = poolStrategy.typePool(locationStrategy.classFileLocator(type.getClassLoader(), module), type.getClassLoader());
-                        try {
-                            collector.consider(matcher,
-                                    listener,
-                                    descriptionStrategy.apply(TypeDescription.ForLoadedType.getName(type), type, typePool, circularityLock, type.getClassLoader(), module),
-                                    type,
-                                    type,
-                                    module,
-                                    !DISPATCHER.isModifiableClass(instrumentation, type));
-                        } catch (Throwable throwable) {
-                            if (descriptionStrategy.isLoadedFirst() && fallbackStrategy.isFallback(type, throwable)) {
-                                collector.consider(matcher,
-                                        listener,
-                                        typePool.describe(TypeDescription.ForLoadedType.getName(type)).resolve(),
-                                        type,
-                                        module);
-                            } else {
-                                throw throwable;
-                            }
-                        }
-                    } catch (Throwable throwable) {
-                        try {
-                            try {
-                                listener.onDiscovery(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED);
-                            } finally {
-                                try {
-                                    listener.onError(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED, throwable);
-                                } finally {
-                                    listener.onComplete(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED);
-                                }
-                            }
-                        } catch (Throwable ignored) {
-                            // Ignore exceptions that are thrown by listeners to mimic the behavior of a transformation.
-                        }
-                    }
-                }
-                batch = collector.apply(instrumentation, circularityLock, locationStrategy, listener, redefinitionBatchAllocator, redefinitionListener, batch);
-            }
-        }
-
-        /**
-         * A batch allocator which is responsible for applying a redefinition in a batches. A class redefinition or
-         * retransformation can be a time-consuming operation rendering a JVM non-responsive. In combination with a
-         * a {@link RedefinitionStrategy.Listener}, it is also possible to apply pauses between batches to distribute
-         * the load of a retransformation over time.
-         */
-        public interface BatchAllocator {
-
-            /**
-             * The index of the first batch.
-             */
-            int FIRST_BATCH = 0;
+            /* does not implement hashCode and equals in order to identify metrics by their identity */
 
             /**
-             * Splits a list of types to be retransformed into separate batches.
-             *
-             * @param types A list of types which should be retransformed.
-             * @return An iterable of retransformations within a batch.
+             * A lock-free histogram of durations with buckets of exponentially growing size where bucket {@code n} counts
+             * any duration of at least {@code 2^n} and less than {@code 2^(n+1)} nanoseconds. Bucket {@code 0} also counts
+             * durations of zero nanoseconds.
              */
-            Iterable<? extends List<Class<?>>> batch(List<Class<?>> types);
+            public static class Histogram {
 
-            /**
-             * A batch allocator that includes all types in a single batch.
-             */
-            enum ForTotal implements BatchAllocator {
+                /**
+                 * The number of buckets of a histogram.
+                 */
+                public static final int BUCKETS = 64;
 
                 /**
-                 * The singleton instance.
+                 * The number of recorded durations per bucket.
                  */
-                INSTANCE;
+                private final AtomicLongArray buckets;
 
                 /**
-                 * {@inheritDoc}
+                 * The number of recorded durations.
                  */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    return types.isEmpty()
-                            ? Collections.<List<Class<?>>>emptySet()
-                            : Collections.singleton(types);
-                }
-            }
+                private final AtomicLong count;
 
-            /**
-             * A batch allocator that creates chunks with a fixed size as batch jobs.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForFixedSize implements BatchAllocator {
+                /**
+                 * The sum of all recorded durations in nanoseconds.
+                 */
+                private final AtomicLong total;
 
                 /**
-                 * The size of each chunk.
+                 * The maximum recorded duration in nanoseconds.
                  */
-                private final int size;
+                private final AtomicLong maximum;
 
                 /**
-                 * Creates a new batch allocator that creates fixed-sized chunks.
-                 *
-                 * @param size The size of each chunk.
+                 * Creates a new empty histogram.
                  */
-                protected ForFixedSize(int size) {
-                    this.size = size;
+                public Histogram() {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    count = new AtomicLong();
+                    total = new AtomicLong();
+                    maximum = new AtomicLong();
                 }
 
                 /**
-                 * Creates a new batch allocator that creates chunks of a fixed size.
+                 * Records a duration.
                  *
-                 * @param size The size of each chunk or {@code 0} if the batch should be included in a single chunk.
-                 * @return An appropriate batch allocator.
+                 * @param nanos The duration to record in nanoseconds.
                  */
-                public static BatchAllocator ofSize(int size) {
-                    if (size > 0) {
-                        return new ForFixedSize(size);
-                    } else if (size == 0) {
-                        return ForTotal.INSTANCE;
-                    } else {
-                        throw new IllegalArgumentException("Cannot define a batch with a negative size: " + size);
+                public void record(long nanos) {
+                    if (nanos < 0) {
+                        nanos = 0;
                     }
+                    buckets.incrementAndGet(nanos == 0
+                            ? 0
+                            : 63 - Long.numberOfLeadingZeros(nanos));
+                    count.incrementAndGet();
+                    total.addAndGet(nanos);
+                    long maximum;
+                    do {
+                        maximum = this.maximum.get();
+                    } while (nanos > maximum && !this.maximum.compareAndSet(maximum, nanos));
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Adds all durations of another histogram to this histogram.
+                 *
+                 * @param histogram The histogram to add.
                  */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
-                    for (int index = 0; index < types.size(); index += size) {
-                        batches.add(new ArrayList<Class<?>>(types.subList(index, Math.min(types.size(), index + size))));
+                protected void add(Histogram histogram) {
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets.addAndGet(index, histogram.buckets.get(index));
                     }
-                    return batches;
+                    count.addAndGet(histogram.count.get());
+                    total.addAndGet(histogram.total.get());
+                    long maximum, other = histogram.maximum.get();
+                    do {
+                        maximum = this.maximum.get();
+                    } while (other > maximum && !this.maximum.compareAndSet(maximum, other));
                 }
-            }
-
-            /**
-             * A batch allocator that groups all batches by discriminating types using a type matcher.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForMatchedGrouping implements BatchAllocator {
 
                 /**
-                 * The type matchers to apply.
+                 * Returns the number of recorded durations.
+                 *
+                 * @return The number of recorded durations.
                  */
-                private final Collection<? extends ElementMatcher<? super TypeDescription>> matchers;
+                public long getCount() {
+                    return count.get();
+                }
 
                 /**
-                 * Creates a new batch allocator that groups all batches by discriminating types using a type matcher. All batches
-                 * are applied in their application order with any unmatched type being included in the last batch.
+                 * Returns the sum of all recorded durations in nanoseconds.
                  *
-                 * @param matcher The type matchers to apply in their application order.
+                 * @return The sum of all recorded durations in nanoseconds.
                  */
-                @SuppressWarnings("unchecked") // In absence of @SafeVarargs
-                public ForMatchedGrouping(ElementMatcher<? super TypeDescription>... matcher) {
-                    this(new LinkedHashSet<ElementMatcher<? super TypeDescription>>(Arrays.asList(matcher)));
+                public long getTotalNanos() {
+                    return total.get();
                 }
 
                 /**
-                 * Creates a new batch allocator that groups all batches by discriminating types using a type matcher. All batches
-                 * are applied in their application order with any unmatched type being included in the last batch.
+                 * Returns the maximum recorded duration in nanoseconds.
                  *
-                 * @param matchers The type matchers to apply in their application order.
+                 * @return The maximum recorded duration in nanoseconds.
                  */
-                public ForMatchedGrouping(Collection<? extends ElementMatcher<? super TypeDescription>> matchers) {
-                    this.matchers = matchers;
+                public long getMaximumNanos() {
+                    return maximum.get();
                 }
 
                 /**
-                 * Assures that any group is at least of a given size. If a group is smaller than a given size, it is merged with its types
-                 * are merged with its subsequent group(s) as long as such groups exist.
-                 *
-                 * @param threshold The minimum threshold for any batch.
-                 * @return An appropriate batch allocator.
-                 */
-                public BatchAllocator withMinimum(int threshold) {
-                    return Slicing.withMinimum(threshold, this);
-                }
-
-                /**
-                 * Assures that any group is at least of a given size. If a group is bigger than a given size, it is split into two several
-                 * batches.
-                 *
-                 * @param threshold The maximum threshold for any batch.
-                 * @return An appropriate batch allocator.
-                 */
-                public BatchAllocator withMaximum(int threshold) {
-                    return Slicing.withMaximum(threshold, this);
-                }
-
-                /**
-                 * Assures that any group is within a size range described by the supplied minimum and maximum. Groups are split and merged
-                 * according to the supplied thresholds. The last group contains might be smaller than the supplied minimum.
+                 * Returns a copy of the number of recorded durations per bucket.
                  *
-                 * @param minimum The minimum threshold for any batch.
-                 * @param maximum The maximum threshold for any batch.
-                 * @return An appropriate batch allocator.
-                 */
-                public BatchAllocator withinRange(int minimum, int maximum) {
-                    return Slicing.withinRange(minimum, maximum, this);
-                }
-
-                /**
-                 * {@inheritDoc}
+                 * @return A copy of the number of recorded durations per bucket.
                  */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    Map<ElementMatcher<? super TypeDescription>, List<Class<?>>> matched = new LinkedHashMap<ElementMatcher<? super TypeDescription>, List<Class<?>>>();
-                    List<Class<?>> unmatched = new ArrayList<Class<?>>();
-                    for (ElementMatcher<? super TypeDescription> matcher : matchers) {
-                        matched.put(matcher, new ArrayList<Class<?>>());
-                    }
-                    typeLoop:
-                    for (Class<?> type : types) {
-                        for (ElementMatcher<? super TypeDescription> matcher : matchers) {
-                            if (matcher.matches(TypeDescription.ForLoadedType.of(type))) {
-                                matched.get(matcher).add(type);
-                                continue typeLoop;
-                            }
-                        }
-                        unmatched.add(type);
+                public long[] getBuckets() {
+                    long[] buckets = new long[BUCKETS];
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets[index] = this.buckets.get(index);
                     }
-                    List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>(matchers.size() + 1);
-                    for (List<Class<?>> batch : matched.values()) {
-                        if (!batch.isEmpty()) {
-                            batches.add(batch);
-                        }
-                    }
-                    if (!unmatched.isEmpty()) {
-                        batches.add(unmatched);
-                    }
-                    return batches;
+                    return buckets;
                 }
             }
 
             /**
-             * A slicing batch allocator that assures that any batch is within a certain size range.
+             * A management interface for exposing metrics as a JMX MBean. Phases are referenced by the names of their
+             * {@link Phase} constants.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Slicing implements BatchAllocator {
-
-                /**
-                 * The minimum size of each slice.
-                 */
-                private final int minimum;
+            public interface Management {
 
                 /**
-                 * The maximum size of each slice.
+                 * Returns the names of all class loaders for which histograms were recorded.
+                 *
+                 * @return The names of all class loaders for which histograms were recorded.
                  */
-                private final int maximum;
+                String[] getClassLoaders();
 
                 /**
-                 * The delegate batch allocator.
+                 * Returns the number of recorded durations of a phase for all class loaders.
+                 *
+                 * @param phase The name of the phase.
+                 * @return The number of recorded durations.
                  */
-                private final BatchAllocator batchAllocator;
+                long getCount(String phase);
 
                 /**
-                 * Creates a new slicing batch allocator.
+                 * Returns the sum of all recorded durations of a phase for all class loaders in nanoseconds.
                  *
-                 * @param minimum        The minimum size of each slice.
-                 * @param maximum        The maximum size of each slice.
-                 * @param batchAllocator The delegate batch allocator.
+                 * @param phase The name of the phase.
+                 * @return The sum of all recorded durations in nanoseconds.
                  */
-                protected Slicing(int minimum, int maximum, BatchAllocator batchAllocator) {
-                    this.minimum = minimum;
-                    this.maximum = maximum;
-                    this.batchAllocator = batchAllocator;
-                }
+                long getTotalNanos(String phase);
 
                 /**
-                 * Creates a new slicing batch allocator.
+                 * Returns the maximum recorded duration of a phase for all class loaders in nanoseconds.
                  *
-                 * @param minimum        The minimum size of each slice.
-                 * @param batchAllocator The delegate batch allocator.
-                 * @return An appropriate slicing batch allocator.
+                 * @param phase The name of the phase.
+                 * @return The maximum recorded duration in nanoseconds.
                  */
-                public static BatchAllocator withMinimum(int minimum, BatchAllocator batchAllocator) {
-                    return withinRange(minimum, Integer.MAX_VALUE, batchAllocator);
-                }
+                long getMaximumNanos(String phase);
 
                 /**
-                 * Creates a new slicing batch allocator.
+                 * Returns the number of recorded durations of a phase per bucket for all class loaders.
                  *
-                 * @param maximum        The maximum size of each slice.
-                 * @param batchAllocator The delegate batch allocator.
-                 * @return An appropriate slicing batch allocator.
+                 * @param phase The name of the phase.
+                 * @return The number of recorded durations per bucket.
                  */
-                public static BatchAllocator withMaximum(int maximum, BatchAllocator batchAllocator) {
-                    return withinRange(1, maximum, batchAllocator);
-                }
+                long[] getBuckets(String phase);
 
                 /**
-                 * Creates a new slicing batch allocator.
+                 * Returns the number of recorded durations of a phase per bucket for a given class loader.
                  *
-                 * @param minimum        The minimum size of each slice.
-                 * @param maximum        The maximum size of each slice.
-                 * @param batchAllocator The delegate batch allocator.
-                 * @return An appropriate slicing batch allocator.
+                 * @param classLoader The name of the class loader as returned by {@link Management#getClassLoaders()}.
+                 * @param phase       The name of the phase.
+                 * @return The number of recorded durations per bucket or an empty array if no durations were recorded.
                  */
-                public static BatchAllocator withinRange(int minimum, int maximum, BatchAllocator batchAllocator) {
-                    if (minimum <= 0) {
-                        throw new IllegalArgumentException("Minimum must be a positive number: " + minimum);
-                    } else if (minimum > maximum) {
-                        throw new IllegalArgumentException("Minimum must not be bigger than maximum: " + minimum + " >" + maximum);
-                    }
-                    return new Slicing(minimum, maximum, batchAllocator);
-                }
+                long[] getBuckets(String classLoader, String phase);
 
                 /**
-                 * {@inheritDoc}
+                 * Discards all recorded histograms.
                  */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    return new SlicingIterable(minimum, maximum, batchAllocator.batch(types));
-                }
+                void reset();
 
                 /**
-                 * An iterable that slices batches into parts of a minimum and maximum size.
+                 * A management view of metrics.
                  */
-                protected static class SlicingIterable implements Iterable<List<Class<?>>> {
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForMetrics implements Management {
 
                     /**
-                     * The minimum size of any slice.
+                     * The represented metrics.
                      */
-                    private final int minimum;
+                    private final Metrics metrics;
 
                     /**
-                     * The maximum size of any slice.
+                     * Creates a new management view of metrics.
+                     *
+                     * @param metrics The represented metrics.
                      */
-                    private final int maximum;
+                    public ForMetrics(Metrics metrics) {
+                        this.metrics = metrics;
+                    }
 
                     /**
-                     * The delegate iterable.
+                     * {@inheritDoc}
                      */
-                    private final Iterable<? extends List<Class<?>>> iterable;
+                    public String[] getClassLoaders() {
+                        return metrics.getHistograms(Phase.DISCOVERY).keySet().toArray(new String[0]);
+                    }
 
                     /**
-                     * Creates a new slicing iterable.
-                     *
-                     * @param minimum  The minimum size of any slice.
-                     * @param maximum  The maximum size of any slice.
-                     * @param iterable The delegate iterable.
+                     * {@inheritDoc}
                      */
-                    protected SlicingIterable(int minimum, int maximum, Iterable<? extends List<Class<?>>> iterable) {
-                        this.minimum = minimum;
-                        this.maximum = maximum;
-                        this.iterable = iterable;
+                    public long getCount(String phase) {
+                        return metrics.getHistogram(Phase.valueOf(phase)).getCount();
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public Iterator<List<Class<?>>> iterator() {
-                        return new SlicingIterator(minimum, maximum, iterable.iterator());
+                    public long getTotalNanos(String phase) {
+                        return metrics.getHistogram(Phase.valueOf(phase)).getTotalNanos();
                     }
 
                     /**
-                     * An iterator that slices batches into parts of a minimum and maximum size.
+                     * {@inheritDoc}
                      */
-                    protected static class SlicingIterator implements Iterator<List<Class<?>>> {
-
-                        /**
-                         * The minimum size of any slice.
-                         */
-                        private final int minimum;
-
-                        /**
-                         * The maximum size of any slice.
-                         */
-                        private final int maximum;
-
-                        /**
-                         * The delegate iterator.
-                         */
-                        private final Iterator<? extends List<Class<?>>> iterator;
-
-                        /**
-                         * A buffer containing all types that surpassed the maximum.
-                         */
-                        private List<Class<?>> buffer;
-
-                        /**
-                         * Creates a new slicing iterator.
-                         *
-                         * @param minimum  The minimum size of any slice.
-                         * @param maximum  The maximum size of any slice.
-                         * @param iterator The delegate iterator.
-                         */
-                        protected SlicingIterator(int minimum, int maximum, Iterator<? extends List<Class<?>>> iterator) {
-                            this.minimum = minimum;
-                            this.maximum = maximum;
-                            this.iterator = iterator;
-                            buffer = new ArrayList<Class<?>>();
-                        }
+                    public long getMaximumNanos(String phase) {
+                        return metrics.getHistogram(Phase.valueOf(phase)).getMaximumNanos();
+                    }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean hasNext() {
-                            return !buffer.isEmpty() || iterator.hasNext();
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public long[] getBuckets(String phase) {
+                        return metrics.getHistogram(Phase.valueOf(phase)).getBuckets();
+                    }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public List<Class<?>> next() {
-                            if (buffer.isEmpty()) {
-                                buffer = iterator.next();
-                            }
-                            while (buffer.size() < minimum && iterator.hasNext()) {
-                                buffer.addAll(iterator.next());
-                            }
-                            if (buffer.size() > maximum) {
-                                try {
-                                    return buffer.subList(0, maximum);
-                                } finally {
-                                    buffer = new ArrayList<Class<?>>(buffer.subList(maximum, buffer.size()));
-                                }
-                            } else {
-                                try {
-                                    return buffer;
-                                } finally {
-                                    buffer = new ArrayList<Class<?>>();
-                                }
-                            }
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public long[] getBuckets(String classLoader, String phase) {
+                        Histogram histogram = metrics.getHistograms(Phase.valueOf(phase)).get(classLoader);
+                        return histogram == null
+                                ? new long[0]
+                                : histogram.getBuckets();
+                    }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void reset() {
+                        metrics.reset();
                     }
                 }
             }
 
             /**
-             * A partitioning batch allocator that splits types for redefinition into a fixed amount of parts.
+             * A sink to which metrics are published.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Partitioning implements BatchAllocator {
+            public interface Sink {
 
                 /**
-                 * The amount of batches to generate.
+                 * Publishes the supplied metrics.
+                 *
+                 * @param metrics The metrics to publish.
                  */
-                private final int parts;
+                void register(Metrics metrics);
 
                 /**
-                 * Creates a new batch allocator that splits types for redefinition into a fixed amount of parts.
+                 * Withdraws the supplied metrics.
                  *
-                 * @param parts The amount of parts to create.
+                 * @param metrics The metrics to withdraw.
                  */
-                protected Partitioning(int parts) {
-                    this.parts = parts;
-                }
+                void unregister(Metrics metrics);
 
                 /**
-                 * Creates a part-splitting batch allocator.
-                 *
-                 * @param parts The amount of parts to create.
-                 * @return A batch allocator that splits the redefined types into a fixed amount of batches.
+                 * A non-operational sink that does not publish metrics.
                  */
-                public static BatchAllocator of(int parts) {
-                    if (parts < 1) {
-                        throw new IllegalArgumentException("A batch size must be positive: " + parts);
+                enum NoOp implements Sink {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void register(Metrics metrics) {
+                        /* do nothing */
                     }
-                    return new Partitioning(parts);
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    if (types.isEmpty()) {
-                        return Collections.emptyList();
-                    } else {
-                        List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
-                        int size = types.size() / parts, reminder = types.size() % parts;
-                        for (int index = reminder; index < types.size(); index += size) {
-                            batches.add(new ArrayList<Class<?>>(types.subList(index, index + size)));
-                        }
-                        if (batches.isEmpty()) {
-                            return Collections.singletonList(types);
-                        } else {
-                            batches.get(0).addAll(0, types.subList(0, reminder));
-                            return batches;
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void unregister(Metrics metrics) {
+                        /* do nothing */
                     }
                 }
-            }
-        }
-
-        /**
-         * A listener to be applied during a redefinition.
-         */
-        public interface Listener {
 
-            /**
-             * Invoked before applying a batch.
-             *
-             * @param index A running index of the batch starting at {@code 0}.
-             * @param batch The types included in this batch.
-             * @param types All types included in the redefinition.
-             */
-            void onBatch(int index, List<Class<?>> batch, List<Class<?>> types);
+                /**
+                 * A sink that publishes metrics as a {@link Management} MBean on the platform MBean server.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForJmx implements Sink {
 
-            /**
-             * Invoked upon an error during a batch. This method is not invoked if the failure handler handled this error.
-             *
-             * @param index     A running index of the batch starting at {@code 0}.
-             * @param batch     The types included in this batch.
-             * @param throwable The throwable that caused this invocation.
-             * @param types     All types included in the redefinition.
-             * @return A set of classes which should be attempted to be redefined. Typically, this should be a subset of the classes
-             * contained in {@code batch} but not all classes.
-             */
-            Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types);
+                    /**
+                     * The default domain and type of the published MBean.
+                     */
+                    private static final String DEFAULT_NAME = "net.bytebuddy:type=AgentBuilder.Metrics";
 
-            /**
-             * Invoked upon completion of all batches.
-             *
-             * @param amount   The total amount of batches that were executed.
-             * @param types    All types included in the redefinition.
-             * @param failures A mapping of batch types to their unhandled failures.
-             */
-            void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures);
+                    /**
+                     * The object name of the published MBean or {@code null} if the name should be derived from the published metrics.
+                     */
+                    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+                    private final String name;
 
-            /**
-             * A non-operational listener.
-             */
-            enum NoOp implements Listener {
+                    /**
+                     * Creates a new sink for JMX where the name of the MBean is derived from the identity of the published metrics.
+                     */
+                    public ForJmx() {
+                        this(null);
+                    }
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+                    /**
+                     * Creates a new sink for JMX.
+                     *
+                     * @param name The object name of the published MBean or {@code null} if the name should be derived from the published metrics.
+                     */
+                    public ForJmx(String name) {
+                        this.name = name;
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void register(Metrics metrics) {
+                        try {
+                            ObjectName objectName = toObjectName(metrics);
+                            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                            if (!server.isRegistered(objectName)) {
+                                server.registerMBean(new StandardMBean(new Management.ForMetrics(metrics), Management.class), objectName);
+                            }
+                        } catch (JMException exception) {
+                            throw new IllegalStateException("Cannot register metrics for " + metrics, exception);
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void unregister(Metrics metrics) {
+                        try {
+                            ObjectName objectName = toObjectName(metrics);
+                            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                            if (server.isRegistered(objectName)) {
+                                server.unregisterMBean(objectName);
+                            }
+                        } catch (JMException exception) {
+                            throw new IllegalStateException("Cannot unregister metrics for " + metrics, exception);
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
+                    /**
+                     * Resolves the object name of the MBean that represents the supplied metrics.
+                     *
+                     * @param metrics The metrics being published.
+                     * @return The object name of the MBean that represents the supplied metrics.
+                     * @throws MalformedObjectNameException If the object name is malformed.
+                     */
+                    protected ObjectName toObjectName(Metrics metrics) throws MalformedObjectNameException {
+                        return new ObjectName(name == null
+                                ? DEFAULT_NAME + ",id=" + Integer.toHexString(System.identityHashCode(metrics))
+                                : name);
+                    }
                 }
             }
 
             /**
-             * A listener that invokes {@link Thread#yield()} prior to every batch but the first batch.
+             * A cache of the histograms of the class loader that was recorded last by a thread. The cache does not strongly
+             * reference the class loader.
              */
-            enum Yielding implements Listener {
+            protected static class Cache {
 
                 /**
-                 * The singleton instance.
+                 * A weak reference to the cached class loader or {@code null} if no class loader is cached.
                  */
-                INSTANCE;
+                private WeakReference<ClassLoader> classLoader;
 
                 /**
-                 * {@inheritDoc}
+                 * The cached histograms or {@code null} if no histograms are cached.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    if (index > 0) {
-                        Thread.yield();
-                    }
-                }
+                private Histogram[] histograms;
 
                 /**
-                 * {@inheritDoc}
+                 * The generation of the cached histograms.
                  */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
+                private int generation;
+
+                /**
+                 * Resolves the cached histograms for a class loader.
+                 *
+                 * @param classLoader The class loader or {@code null} for the bootstrap loader.
+                 * @param generation  The current generation of the recorded histograms.
+                 * @return The cached histograms or {@code null} if the class loader's histograms are not cached.
+                 */
+                protected Histogram[] resolve(ClassLoader classLoader, int generation) {
+                    if (histograms == null || this.generation != generation) {
+                        return null;
+                    } else if (classLoader == null) {
+                        return this.classLoader == null
+                                ? histograms
+                                : null;
+                    } else {
+                        return this.classLoader != null && this.classLoader.get() == classLoader
+                                ? histograms
+                                : null;
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Updates the cached histograms.
+                 *
+                 * @param classLoader The class loader or {@code null} for the bootstrap loader.
+                 * @param histograms  The histograms of the class loader.
+                 * @param generation  The generation of the histograms.
                  */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
+                protected void update(ClassLoader classLoader, Histogram[] histograms, int generation) {
+                    this.classLoader = classLoader == null
+                            ? null
+                            : new WeakReference<ClassLoader>(classLoader);
+                    this.histograms = histograms;
+                    this.generation = generation;
                 }
             }
 
             /**
-             * A listener that halts a retransformation process upon an exception.
+             * A key for looking up the histograms of a class loader.
              */
-            enum ErrorEscalating implements Listener {
-
-                /**
-                 * A listener that fails the retransformation upon the first failed retransformation of a batch.
-                 */
-                FAIL_FAST {
-                    /** {@inheritDoc} */
-                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                        throw new IllegalStateException("Could not transform any of " + batch, throwable);
-                    }
-
-                    /** {@inheritDoc} */
-                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                        /* do nothing */
-                    }
-                },
+            protected static class LookupKey {
 
                 /**
-                 * A listener that fails the retransformation after all batches were executed if any error occurred.
+                 * The represented class loader.
                  */
-                FAIL_LAST {
-                    /** {@inheritDoc} */
-                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                        return Collections.emptyList();
-                    }
-
-                    /** {@inheritDoc} */
-                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                        if (!failures.isEmpty()) {
-                            throw new IllegalStateException("Could not transform any of " + failures);
-                        }
-                    }
-                };
+                private final ClassLoader classLoader;
 
                 /**
-                 * {@inheritDoc}
+                 * The class loader's identity hash code.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
-                }
-            }
-
-            /**
-             * A listener adapter that offers non-operational implementations of all listener methods.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            abstract class Adapter implements Listener {
+                private final int hashCode;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new lookup key.
+                 *
+                 * @param classLoader The represented class loader.
                  */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    /* do nothing */
+                protected LookupKey(ClassLoader classLoader) {
+                    this.classLoader = classLoader;
+                    hashCode = System.identityHashCode(classLoader);
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return Collections.emptyList();
+                @Override
+                public int hashCode() {
+                    return hashCode;
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    /* do nothing */
+                @Override
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                public boolean equals(Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        return classLoader == ((LookupKey) other).classLoader;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        return hashCode == storageKey.hashCode && classLoader == storageKey.get();
+                    } else {
+                        return false;
+                    }
                 }
             }
 
             /**
-             * <p>
-             * A batch reallocator allows to split up a failed retransformation into additional batches which are reenqueed to the
-             * current retransformation process. To do so, any batch with at least to classes is rerouted through a {@link BatchAllocator}
-             * which is responsible for regrouping the classes that failed to be retransformed into new batches.
-             * </p>
-             * <p>
-             * <b>Important</b>: To avoid endless looping over classes that cannot be successfully retransformed, the supplied batch
-             * allocator must not resubmit batches that previously failed as an identical outcome is likely.
-             * </p>
+             * A key for storing the histograms of a class loader without strongly referencing the class loader.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class BatchReallocator extends Adapter {
+            protected static class StorageKey extends WeakReference<ClassLoader> {
 
                 /**
-                 * The batch allocator to use for reallocating failed batches.
+                 * The class loader's identity hash code.
                  */
-                private final BatchAllocator batchAllocator;
+                private final int hashCode;
 
                 /**
-                 * Creates a new batch reallocator.
+                 * Creates a new storage key.
                  *
-                 * @param batchAllocator The batch allocator to use for reallocating failed batches.
+                 * @param classLoader    The represented class loader.
+                 * @param referenceQueue The reference queue to notify upon the class loader's collection.
                  */
-                public BatchReallocator(BatchAllocator batchAllocator) {
-                    this.batchAllocator = batchAllocator;
+                protected StorageKey(ClassLoader classLoader, ReferenceQueue<? super ClassLoader> referenceQueue) {
+                    super(classLoader, referenceQueue);
+                    hashCode = System.identityHashCode(classLoader);
                 }
 
-                /**
-                 * Creates a batch allocator that splits any batch into two parts and resubmits these parts as two batches.
-                 *
-                 * @return A batch reallocating batch listener that splits failed batches into two parts for resubmission.
-                 */
-                public static Listener splitting() {
-                    return new BatchReallocator(new BatchAllocator.Partitioning(2));
+                @Override
+                public int hashCode() {
+                    return hashCode;
                 }
 
                 @Override
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    return batch.size() < 2
-                            ? Collections.<List<Class<?>>>emptyList()
-                            : batchAllocator.batch(batch);
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                public boolean equals(Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        LookupKey lookupKey = (LookupKey) other;
+                        return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        return hashCode == storageKey.hashCode && get() == storageKey.get();
+                    } else {
+                        return false;
+                    }
                 }
             }
+        }
+    }
 
-            /**
-             * A listener that invokes {@link Thread#sleep(long)} prior to every batch but the first batch.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Pausing extends Adapter {
+    /**
+     * A listener that is notified during the installation and the resetting of a class file transformer.
+     */
+    interface InstallationListener {
 
-                /**
-                 * The time to sleep in milliseconds between every two batches.
-                 */
-                private final long value;
+        /**
+         * Indicates that an exception is handled.
+         */
+        Throwable SUPPRESS_ERROR = null;
 
-                /**
-                 * Creates a new pausing listener.
-                 *
-                 * @param value The time to sleep in milliseconds between every two batches.
-                 */
-                protected Pausing(long value) {
-                    this.value = value;
-                }
+        /**
+         * Invoked prior to the installation of a class file transformer.
+         *
+         * @param instrumentation      The instrumentation on which the class file transformer is installed.
+         * @param classFileTransformer The class file transformer that is being installed.
+         */
+        void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
 
-                /**
-                 * Creates a listener that pauses for the specified amount of time. If the specified value is {@code 0}, a
-                 * non-operational listener is returned.
-                 *
-                 * @param value    The amount of time to pause between redefinition batches.
-                 * @param timeUnit The time unit of {@code value}.
-                 * @return An appropriate listener.
-                 */
-                public static Listener of(long value, TimeUnit timeUnit) {
-                    if (value > 0L) {
-                        return new Pausing(timeUnit.toMillis(value));
-                    } else if (value == 0L) {
-                        return NoOp.INSTANCE;
-                    } else {
-                        throw new IllegalArgumentException("Cannot sleep for a non-positive amount of time: " + value);
-                    }
-                }
+        /**
+         * Invoked upon the successful installation of a class file transformer. This method is only invoked if no error occurred during the
+         * installation or if such an error was handled by {@link InstallationListener#onError(Instrumentation, ResettableClassFileTransformer, Throwable)}.
+         *
+         * @param instrumentation      The instrumentation on which the class file transformer is installed.
+         * @param classFileTransformer The class file transformer that is being installed.
+         */
+        void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
 
-                @Override
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    if (index > 0) {
-                        try {
-                            Thread.sleep(value);
-                        } catch (InterruptedException exception) {
-                            Thread.currentThread().interrupt();
-                            throw new IllegalStateException(exception);
-                        }
-                    }
-                }
-            }
+        /**
+         * Invoked if an installation causes an error. The listener has an opportunity to handle the error. This method is invoked prior to
+         * {@link InstallationListener#onInstall(Instrumentation, ResettableClassFileTransformer)}.
+         *
+         * @param instrumentation      The instrumentation on which the class file transformer is installed.
+         * @param classFileTransformer The class file transformer that is being installed.
+         * @param throwable            The throwable that causes the error.
+         * @return The error to propagate or {@code null} if the error is handled. Any subsequent listeners are not called if the exception is handled.
+         */
+        Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable);
+
+        /**
+         * Invoked if an installation is reset.
+         *
+         * @param instrumentation      The instrumentation on which the class file transformer is installed.
+         * @param classFileTransformer The class file transformer that is being installed.
+         */
+        void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer);
+
+        /**
+         * A non-operational listener that does not do anything.
+         */
+        enum NoOp implements InstallationListener {
 
             /**
-             * A listener that writes events to a {@link PrintStream}.
+             * The singleton instance.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class StreamWriting implements Listener {
+            INSTANCE;
 
-                /**
-                 * The print stream to write any events to.
-                 */
-                private final PrintStream printStream;
+            /**
+             * {@inheritDoc}
+             */
+            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
 
-                /**
-                 * Creates a new stream writing listener.
-                 *
-                 * @param printStream The print stream to write any events to.
-                 */
-                public StreamWriting(PrintStream printStream) {
-                    this.printStream = printStream;
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
 
-                /**
-                 * Writes the stream result to {@link System#out}.
-                 *
-                 * @return An appropriate listener.
-                 */
-                public static Listener toSystemOut() {
-                    return new StreamWriting(System.out);
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
+                return throwable;
+            }
 
-                /**
-                 * Writes the stream result to {@link System#err}.
-                 *
-                 * @return An appropriate listener.
-                 */
-                public static Listener toSystemError() {
-                    return new StreamWriting(System.err);
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
+        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE BATCH #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
-                }
+        /**
+         * A listener that suppresses any installation error.
+         */
+        enum ErrorSuppressing implements InstallationListener {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    synchronized (printStream) {
-                        printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE ERROR #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
-                        throwable.printStackTrace(printStream);
-                    }
-                    return Collections.emptyList();
-                }
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE COMPLETE %d batch(es) containing %d types [%d failed batch(es)]%n", amount, types.size(), failures.size());
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
             }
 
             /**
-             * A compound listener that delegates events to several listeners.
+             * {@inheritDoc}
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Compound implements Listener {
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
 
-                /**
-                 * The listeners to invoke.
-                 */
-                private final List<Listener> listeners;
+            /**
+             * {@inheritDoc}
+             */
+            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
+                return SUPPRESS_ERROR;
+            }
 
-                /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listener The listeners to invoke.
-                 */
-                public Compound(Listener... listener) {
-                    this(Arrays.asList(listener));
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
+        }
 
-                /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listeners The listeners to invoke.
-                 */
-                public Compound(List<? extends Listener> listeners) {
-                    this.listeners = new ArrayList<Listener>();
-                    for (Listener listener : listeners) {
-                        if (listener instanceof Compound) {
-                            this.listeners.addAll(((Compound) listener).listeners);
-                        } else if (!(listener instanceof NoOp)) {
-                            this.listeners.add(listener);
-                        }
-                    }
-                }
+        /**
+         * An adapter implementation for an installation listener that serves as a convenience.
+         */
+        abstract class Adapter implements InstallationListener {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
-                    for (Listener listener : listeners) {
-                        listener.onBatch(index, batch, types);
-                    }
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
-                    List<Iterable<? extends List<Class<?>>>> reattempts = new ArrayList<Iterable<? extends List<Class<?>>>>();
-                    for (Listener listener : listeners) {
-                        reattempts.add(listener.onError(index, batch, throwable, types));
-                    }
-                    return new CompoundIterable(reattempts);
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
-                    for (Listener listener : listeners) {
-                        listener.onComplete(amount, types, failures);
-                    }
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
+                return throwable;
+            }
 
-                /**
-                 * A compound iterable.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class CompoundIterable implements Iterable<List<Class<?>>> {
-
-                    /**
-                     * The iterables to consider.
-                     */
-                    private final List<Iterable<? extends List<Class<?>>>> iterables;
-
-                    /**
-                     * Creates a compound iterable.
-                     *
-                     * @param iterables The iterables to consider.
-                     */
-                    protected CompoundIterable(List<Iterable<? extends List<Class<?>>>> iterables) {
-                        this.iterables = iterables;
-                    }
+            /**
+             * {@inheritDoc}
+             */
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                /* do nothing */
+            }
+        }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterator<List<Class<?>>> iterator() {
-                        return new CompoundIterator(new ArrayList<Iterable<? extends List<Class<?>>>>(iterables));
-                    }
+        /**
+         * This installation listener prints the status of any installation to a {@link PrintStream}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class StreamWriting implements InstallationListener {
 
-                    /**
-                     * A compound iterator that combines several iterables.
-                     */
-                    protected static class CompoundIterator implements Iterator<List<Class<?>>> {
+            /**
+             * The prefix prepended to any message written.
+             */
+            protected static final String PREFIX = "[Byte Buddy]";
 
-                        /**
-                         * The current iterator or {@code null} if no such iterator is defined.
-                         */
-                        private Iterator<? extends List<Class<?>>> current;
+            /**
+             * The print stream to write to.
+             */
+            private final PrintStream printStream;
 
-                        /**
-                         * A backlog of iterables to still consider.
-                         */
-                        private final List<Iterable<? extends List<Class<?>>>> backlog;
+            /**
+             * Creates a new stream writing installation listener.
+             *
+             * @param printStream The print stream to write to.
+             */
+            public StreamWriting(PrintStream printStream) {
+                this.printStream = printStream;
+            }
 
-                        /**
-                         * Creates a compound iterator.
-                         *
-                         * @param iterables The iterables to consider.
-                         */
-                        protected CompoundIterator(List<Iterable<? extends List<Class<?>>>> iterables) {
-                            backlog = iterables;
-                            forward();
-                        }
+            /**
+             * Creates a stream writing installation listener that prints to {@link System#out}.
+             *
+             * @return An installation listener that prints to {@link System#out}.
+             */
+            public static InstallationListener toSystemOut() {
+                return new StreamWriting(System.out);
+            }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean hasNext() {
-                            return current != null && current.hasNext();
-                        }
+            /**
+             * Creates a stream writing installation listener that prints to {@link System#err}.
+             *
+             * @return An installation listener that prints to {@link System#err}.
+             */
+            public static InstallationListener toSystemError() {
+                return new StreamWriting(System.err);
+            }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public List<Class<?>> next() {
-                            try {
-                                if (current != null) {
-                                    return current.next();
-                                } else {
-                                    throw new NoSuchElementException();
-                                }
-                            } finally {
-                                forward();
-                            }
-                        }
+            /**
+             * {@inheritDoc}
+             */
+            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                printStream.printf(PREFIX + " BEFORE_INSTALL %s on %s%n", classFileTransformer, instrumentation);
+            }
 
-                        /**
-                         * Forwards the iterator to the next relevant iterable.
-                         */
-                        private void forward() {
-                            while ((current == null || !current.hasNext()) && !backlog.isEmpty()) {
-                                current = backlog.remove(0).iterator();
-                            }
-                        }
+            /**
+             * {@inheritDoc}
+             */
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                printStream.printf(PREFIX + " INSTALL %s on %s%n", classFileTransformer, instrumentation);
+            }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
-                        }
-                    }
+            /**
+             * {@inheritDoc}
+             */
+            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
+                synchronized (printStream) {
+                    printStream.printf(PREFIX + " ERROR %s on %s%n", classFileTransformer, instrumentation);
+                    throwable.printStackTrace(printStream);
                 }
+                return throwable;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                printStream.printf(PREFIX + " RESET %s on %s%n", classFileTransformer, instrumentation);
             }
         }
 
         /**
-         * A strategy for discovering types to redefine.
+         * A compound installation listener.
          */
-        public interface DiscoveryStrategy {
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements InstallationListener {
 
             /**
-             * Resolves an iterable of types to retransform. Types might be loaded during a previous retransformation which might require
-             * multiple passes for a retransformation.
-             *
-             * @param instrumentation The instrumentation instance used for the redefinition.
-             * @return An iterable of types to consider for retransformation.
+             * The installation listeners to notify.
              */
-            Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation);
+            private final List<InstallationListener> installationListeners;
 
             /**
-             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}.
+             * Creates a new compound listener.
+             *
+             * @param installationListener The installation listeners to notify.
              */
-            enum SinglePass implements DiscoveryStrategy {
-
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+            public Compound(InstallationListener... installationListener) {
+                this(Arrays.asList(installationListener));
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return Collections.<Iterable<Class<?>>>singleton(Arrays.<Class<?>>asList(instrumentation.getAllLoadedClasses()));
+            /**
+             * Creates a new compound listener.
+             *
+             * @param installationListeners The installation listeners to notify.
+             */
+            public Compound(List<? extends InstallationListener> installationListeners) {
+                this.installationListeners = new ArrayList<InstallationListener>();
+                for (InstallationListener installationListener : installationListeners) {
+                    if (installationListener instanceof Compound) {
+                        this.installationListeners.addAll(((Compound) installationListener).installationListeners);
+                    } else if (!(installationListener instanceof NoOp)) {
+                        this.installationListeners.add(installationListener);
+                    }
                 }
             }
 
             /**
-             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}. For each reiteration,
-             * this strategy checks if additional types were loaded after the previously supplied types. Doing so, types that were loaded during
-             * instrumentations can be retransformed as such types are not passed to any class file transformer.
+             * {@inheritDoc}
              */
-            enum Reiterating implements DiscoveryStrategy {
+            public void onBeforeInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                for (InstallationListener installationListener : installationListeners) {
+                    installationListener.onBeforeInstall(instrumentation, classFileTransformer);
+                }
+            }
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+            /**
+             * {@inheritDoc}
+             */
+            public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                for (InstallationListener installationListener : installationListeners) {
+                    installationListener.onInstall(instrumentation, classFileTransformer);
+                }
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return new ReiteratingIterable(instrumentation);
+            /**
+             * {@inheritDoc}
+             */
+            public Throwable onError(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer, Throwable throwable) {
+                for (InstallationListener installationListener : installationListeners) {
+                    if (throwable == SUPPRESS_ERROR) {
+                        return SUPPRESS_ERROR;
+                    }
+                    throwable = installationListener.onError(instrumentation, classFileTransformer, throwable);
                 }
+                return throwable;
+            }
 
-                /**
-                 * An iterable that returns any loaded types and checks if any additional types were loaded during the last instrumentation.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class ReiteratingIterable implements Iterable<Iterable<Class<?>>> {
+            /**
+             * {@inheritDoc}
+             */
+            public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                for (InstallationListener installationListener : installationListeners) {
+                    installationListener.onReset(instrumentation, classFileTransformer);
+                }
+            }
+        }
+    }
 
-                    /**
-                     * The instrumentation instance to use.
-                     */
-                    private final Instrumentation instrumentation;
+    /**
+     * This strategy determines how the provided class file buffer is used.
+     */
+    interface ClassFileBufferStrategy {
 
-                    /**
-                     * Creates a new reiterating iterable.
-                     *
-                     * @param instrumentation The instrumentation instance to use.
-                     */
-                    protected ReiteratingIterable(Instrumentation instrumentation) {
-                        this.instrumentation = instrumentation;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterator<Iterable<Class<?>>> iterator() {
-                        return new ReiteratingIterator(instrumentation);
-                    }
-                }
-
-                /**
-                 * A reiterating iterator that considers types that were loaded during an instrumentation.
-                 */
-                protected static class ReiteratingIterator implements Iterator<Iterable<Class<?>>> {
+        /**
+         * Resolves a class file locator for the class file buffer that is provided to the class file transformer.
+         *
+         * @param name                 The instrumented type's binary name.
+         * @param binaryRepresentation The instrumented type's binary representation.
+         * @param classLoader          The instrumented type's class loader or {@code null} if the type is loaded by the bootstrap class loader.
+         * @param module               The instrumented type's module or {@code null} if the current VM does not support modules.
+         * @param protectionDomain     The instrumented type's protection domain.
+         * @return An appropriate class file locator.
+         */
+        ClassFileLocator resolve(String name, byte[] binaryRepresentation, ClassLoader classLoader, JavaModule module, ProtectionDomain protectionDomain);
 
-                    /**
-                     * The instrumentation instance to use.
-                     */
-                    private final Instrumentation instrumentation;
+        /**
+         * An implementation of default class file buffer strategy.
+         */
+        enum Default implements ClassFileBufferStrategy {
 
-                    /**
-                     * A set containing all previously discovered types.
-                     */
-                    private final Set<Class<?>> processed;
+            /**
+             * A class file buffer strategy that retains the original class file buffer.
+             */
+            RETAINING {
+                /** {@inheritDoc} */
+                public ClassFileLocator resolve(String name,
+                                                byte[] binaryRepresentation,
+                                                ClassLoader classLoader,
+                                                JavaModule module,
+                                                ProtectionDomain protectionDomain) {
+                    return ClassFileLocator.Simple.of(name, binaryRepresentation);
+                }
+            },
 
-                    /**
-                     * The current list of types or {@code null} if the current list of types is not prepared.
-                     */
-                    private List<Class<?>> types;
+            /**
+             * <p>
+             * A class file buffer strategy that discards the original class file buffer.
+             * </p>
+             * <p>
+             * <b>Warning</b>: This strategy discards any changes that were applied by previous Java agents.
+             * </p>
+             */
+            DISCARDING {
+                /** {@inheritDoc} */
+                public ClassFileLocator resolve(String name,
+                                                byte[] binaryRepresentation,
+                                                ClassLoader classLoader,
+                                                JavaModule module,
+                                                ProtectionDomain protectionDomain) {
+                    return ClassFileLocator.NoOp.INSTANCE;
+                }
+            }
+        }
 
-                    /**
-                     * Creates a new reiterating iterator.
-                     *
-                     * @param instrumentation The instrumentation instance to use.
-                     */
-                    protected ReiteratingIterator(Instrumentation instrumentation) {
-                        this.instrumentation = instrumentation;
-                        processed = new HashSet<Class<?>>();
-                    }
+    }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public boolean hasNext() {
-                        if (types == null) {
-                            types = new ArrayList<Class<?>>();
-                            for (Class<?> type : instrumentation.getAllLoadedClasses()) {
-                                if (type != null && processed.add(type)) {
-                                    types.add(type);
-                                }
-                            }
-                        }
-                        return !types.isEmpty();
-                    }
+    /**
+     * A decorator that allows to change the class file transformer that is registered.
+     */
+    interface TransformerDecorator {
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterable<Class<?>> next() {
-                        if (hasNext()) {
-                            try {
-                                return types;
-                            } finally {
-                                types = null;
-                            }
-                        } else {
-                            throw new NoSuchElementException();
-                        }
-                    }
+        /**
+         * Decorates the applied class file transformer.
+         *
+         * @param classFileTransformer The original transformer created by the agent builder.
+         * @return The class file transformer that is actually being registered.
+         */
+        ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer);
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
-                    }
-                }
-            }
+        /**
+         * A transformer decorator that retains the original transformer.
+         */
+        enum NoOp implements TransformerDecorator {
 
             /**
-             * An explicit discovery strategy that only attempts the redefinition of specific types.
+             * The singleton instance.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Explicit implements DiscoveryStrategy {
-
-                /**
-                 * The types to redefine.
-                 */
-                private final Set<Class<?>> types;
-
-                /**
-                 * Creates a new explicit discovery strategy.
-                 *
-                 * @param type The types to redefine.
-                 */
-                public Explicit(Class<?>... type) {
-                    this(new LinkedHashSet<Class<?>>(Arrays.asList(type)));
-                }
-
-                /**
-                 * Creates a new explicit discovery strategy.
-                 *
-                 * @param types The types to redefine.
-                 */
-                public Explicit(Set<Class<?>> types) {
-                    this.types = types;
-                }
+            INSTANCE;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
-                    return Collections.<Iterable<Class<?>>>singleton(types);
-                }
+            /**
+             * {@inheritDoc}
+             */
+            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
+                return classFileTransformer;
             }
         }
 
         /**
-         * A resubmission scheduler is responsible for scheduling a job that is resubmitting unloaded types that failed during retransformation.
+         * A compound transformer decorator.
          */
-        public interface ResubmissionScheduler {
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements TransformerDecorator {
 
             /**
-             * Checks if this scheduler is currently available.
-             *
-             * @return {@code true} if this scheduler is alive.
+             * The listeners to invoke.
              */
-            boolean isAlive();
+            private final List<TransformerDecorator> transformerDecorators;
 
             /**
-             * Schedules a resubmission job for regular application.
+             * Creates a new compound transformer decorator.
              *
-             * @param job The job to schedule.
-             * @return A cancelable that is canceled upon resetting the corresponding class file transformer.
+             * @param transformerDecorator The transformer decorators to add.
              */
-            Cancelable schedule(Runnable job);
+            public Compound(TransformerDecorator... transformerDecorator) {
+                this(Arrays.asList(transformerDecorator));
+            }
 
             /**
-             * A cancelable allows to discontinue a resubmission job.
+             * Creates a new compound listener.
+             *
+             * @param transformerDecorators The transformerDecorators to invoke.
              */
-            interface Cancelable {
-
-                /**
-                 * Cancels this resubmission job.
-                 */
-                void cancel();
-
-                /**
-                 * A non-operational cancelable.
-                 */
-                enum NoOp implements Cancelable {
-
-                    /**
-                     * The singleton instance.
-                     */
-                    INSTANCE;
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void cancel() {
-                        /* do nothing */
+            public Compound(List<? extends TransformerDecorator> transformerDecorators) {
+                this.transformerDecorators = new ArrayList<TransformerDecorator>();
+                for (TransformerDecorator transformerDecorator : transformerDecorators) {
+                    if (transformerDecorator instanceof Compound) {
+                        this.transformerDecorators.addAll(((Compound) transformerDecorator).transformerDecorators);
+                    } else if (!(transformerDecorator instanceof NoOp)) {
+                        this.transformerDecorators.add(transformerDecorator);
                     }
                 }
+            }
 
-                /**
-                 * A cancelable for a {@link Future}.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForFuture implements Cancelable {
-
-                    /**
-                     * The future to cancel upon cancellation of this instance.
-                     */
-                    private final Future<?> future;
+            /**
+             * {@inheritDoc}
+             */
+            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
+                for (TransformerDecorator transformerDecorator : transformerDecorators) {
+                    classFileTransformer = transformerDecorator.decorate(classFileTransformer);
+                }
+                return classFileTransformer;
+            }
+        }
+    }
 
-                    /**
-                     * Creates a cancelable for a future.
-                     *
-                     * @param future The future to cancel upon cancellation of this instance.
-                     */
-                    public ForFuture(Future<?> future) {
-                        this.future = future;
-                    }
+    /**
+     * <p>
+     * A redefinition strategy regulates how already loaded classes are modified by a built agent.
+     * </p>
+     * <p>
+     * <b>Important</b>: Most JVMs do not support changes of a class's structure after a class was already
+     * loaded. Therefore, it is typically required that this class file transformer was built while enabling
+     * {@link AgentBuilder#disableClassFormatChanges()}.
+     * </p>
+     */
+    enum RedefinitionStrategy {
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void cancel() {
-                        future.cancel(true);
-                    }
-                }
+        /**
+         * Disables redefinition such that already loaded classes are not affected by the agent.
+         */
+        DISABLED(false, false) {
+            @Override
+            public void apply(Instrumentation instrumentation,
+                              AgentBuilder.Listener listener,
+                              CircularityLock circularityLock,
+                              PoolStrategy poolStrategy,
+                              LocationStrategy locationStrategy,
+                              DiscoveryStrategy discoveryStrategy,
+                              BatchAllocator redefinitionBatchAllocator,
+                              Listener redefinitionListener,
+                              ResolutionStrategy redefinitionResolutionStrategy,
+                              LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
+                              DescriptionStrategy descriptionStrategy,
+                              FallbackStrategy fallbackStrategy,
+                              RawMatcher matcher) {
+                /* do nothing */
             }
 
-            /**
-             * A resubmission scheduler that does not apply any scheduling.
-             */
-            enum NoOp implements ResubmissionScheduler {
-
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isAlive() {
-                    return false;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Cancelable schedule(Runnable job) {
-                    return Cancelable.NoOp.INSTANCE;
-                }
+            @Override
+            protected void check(Instrumentation instrumentation) {
+                throw new IllegalStateException("Cannot apply redefinition on disabled strategy");
             }
 
-            /**
-             * A resubmission scheduler that schedules jobs at a fixed rate.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class AtFixedRate implements ResubmissionScheduler {
-
-                /**
-                 * The executor service to schedule to.
-                 */
-                private final ScheduledExecutorService scheduledExecutorService;
-
-                /**
-                 * The time interval between schedulings.
-                 */
-                private final long time;
-
-                /**
-                 * The time's time unit.
-                 */
-                private final TimeUnit timeUnit;
+            @Override
+            protected Collector make() {
+                throw new IllegalStateException("A disabled redefinition strategy cannot create a collector");
+            }
+        },
 
-                /**
-                 * Creates a new resubmission scheduler which schedules executions at a fixed rate.
-                 *
-                 * @param scheduledExecutorService The executor service to schedule to.
-                 * @param time                     The time interval between schedulings.
-                 * @param timeUnit                 The time's time unit.
-                 */
-                public AtFixedRate(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
-                    this.scheduledExecutorService = scheduledExecutorService;
-                    this.time = time;
-                    this.timeUnit = timeUnit;
+        /**
+         * <p>
+         * Applies a <b>redefinition</b> to all classes that are already loaded and that would have been transformed if
+         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is <b>not</b>
+         * registered for applying retransformations.
+         * </p>
+         * <p>
+         * Using this strategy, a redefinition is applied as a single transformation request. This means that a single illegal
+         * redefinition of a class causes the entire redefinition attempt to fail.
+         * </p>
+         * <p>
+         * <b>Note</b>: When applying a redefinition, it is normally required to use a {@link TypeStrategy} that applies
+         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
+         * the constrains given by this type strategy.
+         * </p>
+         */
+        REDEFINITION(true, false) {
+            @Override
+            protected void check(Instrumentation instrumentation) {
+                if (!instrumentation.isRedefineClassesSupported()) {
+                    throw new IllegalStateException("Cannot apply redefinition on " + instrumentation);
                 }
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isAlive() {
-                    return !scheduledExecutorService.isShutdown();
-                }
+            @Override
+            protected Collector make() {
+                return new Collector.ForRedefinition();
+            }
+        },
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Cancelable schedule(Runnable job) {
-                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleAtFixedRate(job, time, time, timeUnit));
+        /**
+         * <p>
+         * Applies a <b>retransformation</b> to all classes that are already loaded and that would have been transformed if
+         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is registered
+         * for applying retransformations.
+         * </p>
+         * <p>
+         * Using this strategy, a retransformation is applied as a single transformation request. This means that a single illegal
+         * retransformation of a class causes the entire retransformation attempt to fail.
+         * </p>
+         * <p>
+         * <b>Note</b>: When applying a retransformation, it is normally required to use a {@link TypeStrategy} that applies
+         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
+         * the constrains given by this type strategy.
+         * </p>
+         */
+        RETRANSFORMATION(true, true) {
+            @Override
+            protected void check(Instrumentation instrumentation) {
+                if (!DISPATCHER.isRetransformClassesSupported(instrumentation)) {
+                    throw new IllegalStateException("Cannot apply retransformation on " + instrumentation);
                 }
             }
 
-            /**
-             * A resubmission scheduler that schedules jobs with a fixed delay.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithFixedDelay implements ResubmissionScheduler {
-
-                /**
-                 * The executor service to schedule to.
-                 */
-                private final ScheduledExecutorService scheduledExecutorService;
+            @Override
+            protected Collector make() {
+                return new Collector.ForRetransformation();
+            }
+        };
 
-                /**
-                 * The time interval to pause between completed jobs.
-                 */
-                private final long time;
+        /**
+         * A dispatcher to use for interacting with the instrumentation API.
+         */
+        protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
 
-                /**
-                 * The time's time unit.
-                 */
-                private final TimeUnit timeUnit;
+        /**
+         * Indicates that this redefinition strategy is enabled.
+         */
+        private final boolean enabled;
 
-                /**
-                 * Creates a new resubmission scheduler with a fixed delay between job executions.
-                 *
-                 * @param scheduledExecutorService The executor service to schedule to.
-                 * @param time                     The time interval to pause between completed jobs.
-                 * @param timeUnit                 The time's time unit.
-                 */
-                public WithFixedDelay(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
-                    this.scheduledExecutorService = scheduledExecutorService;
-                    this.time = time;
-                    this.timeUnit = timeUnit;
-                }
+        /**
+         * {@code true} if this strategy applies retransformation.
+         */
+        private final boolean retransforming;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isAlive() {
-                    return !scheduledExecutorService.isShutdown();
-                }
+        /**
+         * Creates a new redefinition strategy.
+         *
+         * @param enabled        {@code true} if this strategy is enabled.
+         * @param retransforming {@code true} if this strategy applies retransformation.
+         */
+        RedefinitionStrategy(boolean enabled, boolean retransforming) {
+            this.enabled = enabled;
+            this.retransforming = retransforming;
+        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Cancelable schedule(Runnable job) {
-                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleWithFixedDelay(job, time, time, timeUnit));
-                }
-            }
+        /**
+         * Indicates if this strategy requires a class file transformer to be registered with a hint to apply the
+         * transformer for retransformation.
+         *
+         * @return {@code true} if a class file transformer must be registered with a hint for retransformation.
+         */
+        protected boolean isRetransforming() {
+            return retransforming;
         }
 
         /**
-         * A resubmission strategy is responsible for enabling resubmission of types that failed to resubmit.
+         * Checks if this strategy can be applied to the supplied instrumentation instance.
+         *
+         * @param instrumentation The instrumentation instance to validate.
          */
-        protected interface ResubmissionStrategy {
+        protected abstract void check(Instrumentation instrumentation);
 
-            /**
-             * Invoked upon installation of an agent builder.
-             *
-             * @param instrumentation            The instrumentation instance to use.
-             * @param locationStrategy           The location strategy to use.
-             * @param listener                   The listener to use.
-             * @param installationListener       The installation listener to use.
-             * @param circularityLock            The circularity lock to use.
-             * @param matcher                    The matcher to apply for analyzing if a type is to be resubmitted.
-             * @param redefinitionStrategy       The redefinition strategy to use.
-             * @param redefinitionBatchAllocator The batch allocator to use.
-             * @param redefinitionBatchListener  The batch listener to notify.
-             * @return A potentially modified listener to apply.
+        /**
+         * Indicates that this redefinition strategy applies a modification of already loaded classes.
+         *
+         * @return {@code true} if this redefinition strategy applies a modification of already loaded classes.
+         */
+        protected boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Creates a collector instance that is responsible for collecting loaded classes for potential retransformation.
+         *
+         * @return A new collector for collecting already loaded classes for transformation.
+         */
+        protected abstract Collector make();
+
+        /**
+         * Applies this redefinition strategy by submitting all loaded types to redefinition. If this redefinition strategy is disabled,
+         * this method is non-operational.
+         *
+         * @param instrumentation               The instrumentation instance to use.
+         * @param listener                      The listener to notify on transformations.
+         * @param circularityLock               The circularity lock to use.
+         * @param poolStrategy                  The type locator to use.
+         * @param locationStrategy              The location strategy to use.
+         * @param redefinitionDiscoveryStrategy The discovery strategy for loaded types to be redefined.
+         * @param redefinitionBatchAllocator    The batch allocator for the redefinition strategy to apply.
+         * @param redefinitionListener          The redefinition listener for the redefinition strategy to apply.
+         * @param lambdaInstrumentationStrategy A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
+         *                                      instrumentation of classes that represent lambda expressions.
+         * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
+         * @param fallbackStrategy              The fallback strategy to apply.
+         * @param matcher                       The matcher to identify what types to redefine.
+         */
+        protected void apply(Instrumentation instrumentation,
+                             AgentBuilder.Listener listener,
+                             CircularityLock circularityLock,
+                             PoolStrategy poolStrategy,
+                             LocationStrategy locationStrategy,
+                             DiscoveryStrategy redefinitionDiscoveryStrategy,
+                             BatchAllocator redefinitionBatchAllocator,
+                             Listener redefinitionListener,
+                             LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
+                             DescriptionStrategy descriptionStrategy,
+                             FallbackStrategy fallbackStrategy,
+                             RawMatcher matcher) {
+            apply(instrumentation,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    locationStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    ResolutionStrategy.Sequential.INSTANCE,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    matcher);
+        }
+
+        /**
+         * Applies this redefinition strategy by submitting all loaded types to redefinition. If this redefinition strategy is disabled,
+         * this method is non-operational.
+         *
+         * @param instrumentation                The instrumentation instance to use.
+         * @param listener                       The listener to notify on transformations.
+         * @param circularityLock                The circularity lock to use.
+         * @param poolStrategy                   The type locator to use.
+         * @param locationStrategy               The location strategy to use.
+         * @param redefinitionDiscoveryStrategy  The discovery strategy for loaded types to be redefined.
+         * @param redefinitionBatchAllocator     The batch allocator for the redefinition strategy to apply.
+         * @param redefinitionListener           The redefinition listener for the redefinition strategy to apply.
+         * @param redefinitionResolutionStrategy The resolution strategy for resolving and matching loaded types prior to a redefinition.
+         * @param lambdaInstrumentationStrategy  A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
+         *                                       instrumentation of classes that represent lambda expressions.
+         * @param descriptionStrategy            The description strategy for resolving type descriptions for types.
+         * @param fallbackStrategy               The fallback strategy to apply.
+         * @param matcher                        The matcher to identify what types to redefine.
+         */
+        protected void apply(Instrumentation instrumentation,
+                             AgentBuilder.Listener listener,
+                             CircularityLock circularityLock,
+                             PoolStrategy poolStrategy,
+                             LocationStrategy locationStrategy,
+                             DiscoveryStrategy redefinitionDiscoveryStrategy,
+                             BatchAllocator redefinitionBatchAllocator,
+                             Listener redefinitionListener,
+                             ResolutionStrategy redefinitionResolutionStrategy,
+                             LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
+                             DescriptionStrategy descriptionStrategy,
+                             FallbackStrategy fallbackStrategy,
+                             RawMatcher matcher) {
+            check(instrumentation);
+            int batch = RedefinitionStrategy.BatchAllocator.FIRST_BATCH;
+            for (Iterable<Class<?>> types : redefinitionDiscoveryStrategy.resolve(instrumentation)) {
+                RedefinitionStrategy.Collector collector = make();
+                List<Resolver> resolvers = new ArrayList<Resolver>();
+                for (Class<?> type : types) {
+                    if (type == null || type.isArray() || !lambdaInstrumentationStrategy.isInstrumented(type)) {
+                        continue;
+                    }
+                    resolvers.add(new Resolver(type,
+                            instrumentation,
+                            circularityLock,
+                            poolStrategy,
+                            locationStrategy,
+                            descriptionStrategy,
+                            fallbackStrategy,
+                            matcher));
+                }
+                for (Resolver.Candidate candidate : redefinitionResolutionStrategy.resolve(resolvers)) {
+                    candidate.apply(collector, listener);
+                }
+                batch = collector.apply(instrumentation, circularityLock, locationStrategy, listener, redefinitionBatchAllocator, redefinitionListener, batch);
+            }
+        }
+
+        /**
+         * A batch allocator which is responsible for applying a redefinition in a batches. A class redefinition or
+         * retransformation can be a time-consuming operation rendering a JVM non-responsive. In combination with a
+         * a {@link RedefinitionStrategy.Listener}, it is also possible to apply pauses between batches to distribute
+         * the load of a retransformation over time.
+         */
+        public interface BatchAllocator {
+
+            /**
+             * The index of the first batch.
              */
-            Installation apply(Instrumentation instrumentation,
-                               LocationStrategy locationStrategy,
-                               AgentBuilder.Listener listener,
-                               InstallationListener installationListener,
-                               CircularityLock circularityLock,
-                               RawMatcher matcher,
-                               RedefinitionStrategy redefinitionStrategy,
-                               RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
-                               RedefinitionStrategy.Listener redefinitionBatchListener);
+            int FIRST_BATCH = 0;
 
             /**
-             * A disabled resubmission strategy.
+             * Splits a list of types to be retransformed into separate batches.
+             *
+             * @param types A list of types which should be retransformed.
+             * @return An iterable of retransformations within a batch.
              */
-            enum Disabled implements ResubmissionStrategy {
+            Iterable<? extends List<Class<?>>> batch(List<Class<?>> types);
+
+            /**
+             * A batch allocator that includes all types in a single batch.
+             */
+            enum ForTotal implements BatchAllocator {
 
                 /**
                  * The singleton instance.
@@ -6235,685 +6485,2547 @@ public interface AgentBuilder {
                 /**
                  * {@inheritDoc}
                  */
-                public Installation apply(Instrumentation instrumentation,
-                                          LocationStrategy locationStrategy,
-                                          AgentBuilder.Listener listener,
-                                          InstallationListener installationListener,
-                                          CircularityLock circularityLock,
-                                          RawMatcher matcher,
-                                          RedefinitionStrategy redefinitionStrategy,
-                                          BatchAllocator redefinitionBatchAllocator,
-                                          Listener redefinitionBatchListener) {
-                    return new Installation(listener, installationListener);
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    return types.isEmpty()
+                            ? Collections.<List<Class<?>>>emptySet()
+                            : Collections.singleton(types);
                 }
             }
 
             /**
-             * An enabled resubmission strategy.
+             * A batch allocator that creates chunks with a fixed size as batch jobs.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class Enabled implements ResubmissionStrategy {
-
-                /**
-                 * A scheduler that is responsible for resubmission of types.
-                 */
-                private final ResubmissionScheduler resubmissionScheduler;
+            class ForFixedSize implements BatchAllocator {
 
                 /**
-                 * The matcher for filtering error causes.
+                 * The size of each chunk.
                  */
-                private final ElementMatcher<? super Throwable> matcher;
+                private final int size;
 
                 /**
-                 * A filter to suppress class loaders, for example after they become inactive.
+                 * Creates a new batch allocator that creates fixed-sized chunks.
+                 *
+                 * @param size The size of each chunk.
                  */
-                private final ElementMatcher<? super ClassLoader> classLoaderFilter;
+                protected ForFixedSize(int size) {
+                    this.size = size;
+                }
 
                 /**
-                 * Creates a new enabled resubmission strategy.
+                 * Creates a new batch allocator that creates chunks of a fixed size.
                  *
-                 * @param resubmissionScheduler A scheduler that is responsible for resubmission of types.
-                 * @param matcher               The matcher for filtering error causes.
-                 * @param classLoaderFilter     A filter to suppress class loaders, for example after they become inactive.
+                 * @param size The size of each chunk or {@code 0} if the batch should be included in a single chunk.
+                 * @return An appropriate batch allocator.
                  */
-                protected Enabled(ResubmissionScheduler resubmissionScheduler,
-                                  ElementMatcher<? super Throwable> matcher,
-                                  ElementMatcher<? super ClassLoader> classLoaderFilter) {
-                    this.resubmissionScheduler = resubmissionScheduler;
-                    this.matcher = matcher;
-                    this.classLoaderFilter = classLoaderFilter;
+                public static BatchAllocator ofSize(int size) {
+                    if (size > 0) {
+                        return new ForFixedSize(size);
+                    } else if (size == 0) {
+                        return ForTotal.INSTANCE;
+                    } else {
+                        throw new IllegalArgumentException("Cannot define a batch with a negative size: " + size);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Installation apply(Instrumentation instrumentation,
-                                          LocationStrategy locationStrategy,
-                                          AgentBuilder.Listener listener,
-                                          InstallationListener installationListener,
-                                          CircularityLock circularityLock,
-                                          RawMatcher matcher,
-                                          RedefinitionStrategy redefinitionStrategy,
-                                          RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
-                                          RedefinitionStrategy.Listener redefinitionBatchListener) {
-                    if (redefinitionStrategy.isEnabled() && resubmissionScheduler.isAlive()) {
-                        ConcurrentMap<StorageKey, Set<String>> types = new ConcurrentHashMap<StorageKey, Set<String>>();
-                        return new Installation(new AgentBuilder.Listener.Compound(new ResubmissionListener(this.matcher, types), listener),
-                                new InstallationListener.Compound(new ResubmissionInstallationListener(resubmissionScheduler,
-                                        instrumentation,
-                                        locationStrategy,
-                                        listener,
-                                        circularityLock,
-                                        matcher,
-                                        classLoaderFilter,
-                                        redefinitionStrategy,
-                                        redefinitionBatchAllocator,
-                                        redefinitionBatchListener,
-                                        types), installationListener));
-                    } else {
-                        return new Installation(listener, installationListener);
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
+                    for (int index = 0; index < types.size(); index += size) {
+                        batches.add(new ArrayList<Class<?>>(types.subList(index, Math.min(types.size(), index + size))));
                     }
+                    return batches;
                 }
+            }
+
+            /**
+             * A batch allocator that groups all batches by discriminating types using a type matcher.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForMatchedGrouping implements BatchAllocator {
 
                 /**
-                 * A listener that registers types for resubmission that failed during transformations.
+                 * The type matchers to apply.
                  */
-                protected static class ResubmissionListener extends AgentBuilder.Listener.Adapter {
+                private final Collection<? extends ElementMatcher<? super TypeDescription>> matchers;
 
-                    /**
-                     * The matcher for filtering error causes.
-                     */
-                    private final ElementMatcher<? super Throwable> matcher;
+                /**
+                 * Creates a new batch allocator that groups all batches by discriminating types using a type matcher. All batches
+                 * are applied in their application order with any unmatched type being included in the last batch.
+                 *
+                 * @param matcher The type matchers to apply in their application order.
+                 */
+                @SuppressWarnings("unchecked") // In absence of @SafeVarargs
+                public ForMatchedGrouping(ElementMatcher<? super TypeDescription>... matcher) {
+                    this(new LinkedHashSet<ElementMatcher<? super TypeDescription>>(Arrays.asList(matcher)));
+                }
 
-                    /**
-                     * A map of class loaders to their types to resubmit.
-                     */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                /**
+                 * Creates a new batch allocator that groups all batches by discriminating types using a type matcher. All batches
+                 * are applied in their application order with any unmatched type being included in the last batch.
+                 *
+                 * @param matchers The type matchers to apply in their application order.
+                 */
+                public ForMatchedGrouping(Collection<? extends ElementMatcher<? super TypeDescription>> matchers) {
+                    this.matchers = matchers;
+                }
 
-                    /**
-                     * @param matcher The matcher for filtering error causes.
-                     * @param types   A map of class loaders to their types to resubmit.
-                     */
-                    protected ResubmissionListener(ElementMatcher<? super Throwable> matcher, ConcurrentMap<StorageKey, Set<String>> types) {
-                        this.matcher = matcher;
-                        this.types = types;
-                    }
+                /**
+                 * Assures that any group is at least of a given size. If a group is smaller than a given size, it is merged with its types
+                 * are merged with its subsequent group(s) as long as such groups exist.
+                 *
+                 * @param threshold The minimum threshold for any batch.
+                 * @return An appropriate batch allocator.
+                 */
+                public BatchAllocator withMinimum(int threshold) {
+                    return Slicing.withMinimum(threshold, this);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
-                    public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
-                        if (!loaded && matcher.matches(throwable)) {
-                            Set<String> types = this.types.get(new LookupKey(classLoader));
-                            if (types == null) {
-                                types = new ConcurrentHashSet<String>();
-                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
-                                if (previous != null) {
-                                    types = previous;
-                                }
+                /**
+                 * Assures that any group is at least of a given size. If a group is bigger than a given size, it is split into two several
+                 * batches.
+                 *
+                 * @param threshold The maximum threshold for any batch.
+                 * @return An appropriate batch allocator.
+                 */
+                public BatchAllocator withMaximum(int threshold) {
+                    return Slicing.withMaximum(threshold, this);
+                }
+
+                /**
+                 * Assures that any group is within a size range described by the supplied minimum and maximum. Groups are split and merged
+                 * according to the supplied thresholds. The last group contains might be smaller than the supplied minimum.
+                 *
+                 * @param minimum The minimum threshold for any batch.
+                 * @param maximum The maximum threshold for any batch.
+                 * @return An appropriate batch allocator.
+                 */
+                public BatchAllocator withinRange(int minimum, int maximum) {
+                    return Slicing.withinRange(minimum, maximum, this);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    Map<ElementMatcher<? super TypeDescription>, List<Class<?>>> matched = new LinkedHashMap<ElementMatcher<? super TypeDescription>, List<Class<?>>>();
+                    List<Class<?>> unmatched = new ArrayList<Class<?>>();
+                    for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+                        matched.put(matcher, new ArrayList<Class<?>>());
+                    }
+                    typeLoop:
+                    for (Class<?> type : types) {
+                        for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+                            if (matcher.matches(TypeDescription.ForLoadedType.of(type))) {
+                                matched.get(matcher).add(type);
+                                continue typeLoop;
                             }
-                            types.add(typeName);
                         }
+                        unmatched.add(type);
+                    }
+                    List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>(matchers.size() + 1);
+                    for (List<Class<?>> batch : matched.values()) {
+                        if (!batch.isEmpty()) {
+                            batches.add(batch);
+                        }
+                    }
+                    if (!unmatched.isEmpty()) {
+                        batches.add(unmatched);
                     }
+                    return batches;
+                }
+            }
 
-                    /**
-                     * A set projection for a {@link ConcurrentHashMap}.
-                     *
-                     * @param <T> The element type of the set projection.
-                     */
-                    protected static class ConcurrentHashSet<T> extends AbstractSet<T> {
+            /**
+             * A slicing batch allocator that assures that any batch is within a certain size range.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Slicing implements BatchAllocator {
 
-                        /**
-                         * The delegate map.
-                         */
-                        private final ConcurrentMap<T, Boolean> delegate;
+                /**
+                 * The minimum size of each slice.
+                 */
+                private final int minimum;
 
-                        /**
-                         * Creates a concurrent hash set.
-                         */
-                        protected ConcurrentHashSet() {
-                            delegate = new ConcurrentHashMap<T, Boolean>();
-                        }
+                /**
+                 * The maximum size of each slice.
+                 */
+                private final int maximum;
 
-                        @Override
-                        public boolean add(T value) {
-                            return delegate.put(value, Boolean.TRUE) == null;
-                        }
+                /**
+                 * The delegate batch allocator.
+                 */
+                private final BatchAllocator batchAllocator;
 
-                        @Override
-                        public boolean remove(Object value) {
-                            return delegate.remove(value) != null;
-                        }
+                /**
+                 * Creates a new slicing batch allocator.
+                 *
+                 * @param minimum        The minimum size of each slice.
+                 * @param maximum        The maximum size of each slice.
+                 * @param batchAllocator The delegate batch allocator.
+                 */
+                protected Slicing(int minimum, int maximum, BatchAllocator batchAllocator) {
+                    this.minimum = minimum;
+                    this.maximum = maximum;
+                    this.batchAllocator = batchAllocator;
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Iterator<T> iterator() {
-                            return delegate.keySet().iterator();
-                        }
+                /**
+                 * Creates a new slicing batch allocator.
+                 *
+                 * @param minimum        The minimum size of each slice.
+                 * @param batchAllocator The delegate batch allocator.
+                 * @return An appropriate slicing batch allocator.
+                 */
+                public static BatchAllocator withMinimum(int minimum, BatchAllocator batchAllocator) {
+                    return withinRange(minimum, Integer.MAX_VALUE, batchAllocator);
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public int size() {
-                            return delegate.size();
-                        }
+                /**
+                 * Creates a new slicing batch allocator.
+                 *
+                 * @param maximum        The maximum size of each slice.
+                 * @param batchAllocator The delegate batch allocator.
+                 * @return An appropriate slicing batch allocator.
+                 */
+                public static BatchAllocator withMaximum(int maximum, BatchAllocator batchAllocator) {
+                    return withinRange(1, maximum, batchAllocator);
+                }
+
+                /**
+                 * Creates a new slicing batch allocator.
+                 *
+                 * @param minimum        The minimum size of each slice.
+                 * @param maximum        The maximum size of each slice.
+                 * @param batchAllocator The delegate batch allocator.
+                 * @return An appropriate slicing batch allocator.
+                 */
+                public static BatchAllocator withinRange(int minimum, int maximum, BatchAllocator batchAllocator) {
+                    if (minimum <= 0) {
+                        throw new IllegalArgumentException("Minimum must be a positive number: " + minimum);
+                    } else if (minimum > maximum) {
+                        throw new IllegalArgumentException("Minimum must not be bigger than maximum: " + minimum + " >" + maximum);
                     }
+                    return new Slicing(minimum, maximum, batchAllocator);
                 }
 
                 /**
-                 * A job that resubmits any matched type that previously failed during transformation.
+                 * {@inheritDoc}
                  */
-                protected static class ResubmissionInstallationListener extends AgentBuilder.InstallationListener.Adapter implements Runnable {
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    return new SlicingIterable(minimum, maximum, batchAllocator.batch(types));
+                }
 
-                    /**
-                     * The resubmission scheduler to use.
-                     */
-                    private final ResubmissionScheduler resubmissionScheduler;
+                /**
+                 * An iterable that slices batches into parts of a minimum and maximum size.
+                 */
+                protected static class SlicingIterable implements Iterable<List<Class<?>>> {
 
                     /**
-                     * The instrumentation instance to use.
+                     * The minimum size of any slice.
                      */
-                    private final Instrumentation instrumentation;
+                    private final int minimum;
 
                     /**
-                     * The location strategy to use.
+                     * The maximum size of any slice.
                      */
-                    private final LocationStrategy locationStrategy;
+                    private final int maximum;
 
                     /**
-                     * The listener to use.
+                     * The delegate iterable.
                      */
-                    private final AgentBuilder.Listener listener;
+                    private final Iterable<? extends List<Class<?>>> iterable;
 
                     /**
-                     * The circularity lock to use.
+                     * Creates a new slicing iterable.
+                     *
+                     * @param minimum  The minimum size of any slice.
+                     * @param maximum  The maximum size of any slice.
+                     * @param iterable The delegate iterable.
                      */
-                    private final CircularityLock circularityLock;
+                    protected SlicingIterable(int minimum, int maximum, Iterable<? extends List<Class<?>>> iterable) {
+                        this.minimum = minimum;
+                        this.maximum = maximum;
+                        this.iterable = iterable;
+                    }
 
                     /**
-                     * The matcher to apply for analyzing if a type is to be resubmitted.
+                     * {@inheritDoc}
                      */
-                    private final RawMatcher matcher;
+                    public Iterator<List<Class<?>>> iterator() {
+                        return new SlicingIterator(minimum, maximum, iterable.iterator());
+                    }
 
                     /**
-                     * A filter to suppress class loaders, for example after they become inactive.
+                     * An iterator that slices batches into parts of a minimum and maximum size.
                      */
-                    private final ElementMatcher<? super ClassLoader> classLoaderFilter;
+                    protected static class SlicingIterator implements Iterator<List<Class<?>>> {
 
-                    /**
-                     * The redefinition strategy to use.
-                     */
-                    private final RedefinitionStrategy redefinitionStrategy;
+                        /**
+                         * The minimum size of any slice.
+                         */
+                        private final int minimum;
 
-                    /**
-                     * The batch allocator to use.
-                     */
-                    private final BatchAllocator redefinitionBatchAllocator;
+                        /**
+                         * The maximum size of any slice.
+                         */
+                        private final int maximum;
 
-                    /**
-                     * The batch listener to notify.
-                     */
-                    private final Listener redefinitionBatchListener;
+                        /**
+                         * The delegate iterator.
+                         */
+                        private final Iterator<? extends List<Class<?>>> iterator;
 
-                    /**
-                     * A map of class loaders to their types to resubmit.
-                     */
+                        /**
+                         * A buffer containing all types that surpassed the maximum.
+                         */
+                        private List<Class<?>> buffer;
+
+                        /**
+                         * Creates a new slicing iterator.
+                         *
+                         * @param minimum  The minimum size of any slice.
+                         * @param maximum  The maximum size of any slice.
+                         * @param iterator The delegate iterator.
+                         */
+                        protected SlicingIterator(int minimum, int maximum, Iterator<? extends List<Class<?>>> iterator) {
+                            this.minimum = minimum;
+                            this.maximum = maximum;
+                            this.iterator = iterator;
+                            buffer = new ArrayList<Class<?>>();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return !buffer.isEmpty() || iterator.hasNext();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public List<Class<?>> next() {
+                            if (buffer.isEmpty()) {
+                                buffer = iterator.next();
+                            }
+                            while (buffer.size() < minimum && iterator.hasNext()) {
+                                buffer.addAll(iterator.next());
+                            }
+                            if (buffer.size() > maximum) {
+                                try {
+                                    return buffer.subList(0, maximum);
+                                } finally {
+                                    buffer = new ArrayList<Class<?>>(buffer.subList(maximum, buffer.size()));
+                                }
+                            } else {
+                                try {
+                                    return buffer;
+                                } finally {
+                                    buffer = new ArrayList<Class<?>>();
+                                }
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A partitioning batch allocator that splits types for redefinition into a fixed amount of parts.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Partitioning implements BatchAllocator {
+
+                /**
+                 * The amount of batches to generate.
+                 */
+                private final int parts;
+
+                /**
+                 * Creates a new batch allocator that splits types for redefinition into a fixed amount of parts.
+                 *
+                 * @param parts The amount of parts to create.
+                 */
+                protected Partitioning(int parts) {
+                    this.parts = parts;
+                }
+
+                /**
+                 * Creates a part-splitting batch allocator.
+                 *
+                 * @param parts The amount of parts to create.
+                 * @return A batch allocator that splits the redefined types into a fixed amount of batches.
+                 */
+                public static BatchAllocator of(int parts) {
+                    if (parts < 1) {
+                        throw new IllegalArgumentException("A batch size must be positive: " + parts);
+                    }
+                    return new Partitioning(parts);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    if (types.isEmpty()) {
+                        return Collections.emptyList();
+                    } else {
+                        List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
+                        int size = types.size() / parts, reminder = types.size() % parts;
+                        for (int index = reminder; index < types.size(); index += size) {
+                            batches.add(new ArrayList<Class<?>>(types.subList(index, index + size)));
+                        }
+                        if (batches.isEmpty()) {
+                            return Collections.singletonList(types);
+                        } else {
+                            batches.get(0).addAll(0, types.subList(0, reminder));
+                            return batches;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * A listener to be applied during a redefinition.
+         */
+        public interface Listener {
+
+            /**
+             * Invoked before applying a batch.
+             *
+             * @param index A running index of the batch starting at {@code 0}.
+             * @param batch The types included in this batch.
+             * @param types All types included in the redefinition.
+             */
+            void onBatch(int index, List<Class<?>> batch, List<Class<?>> types);
+
+            /**
+             * Invoked upon an error during a batch. This method is not invoked if the failure handler handled this error.
+             *
+             * @param index     A running index of the batch starting at {@code 0}.
+             * @param batch     The types included in this batch.
+             * @param throwable The throwable that caused this invocation.
+             * @param types     All types included in the redefinition.
+             * @return A set of classes which should be attempted to be redefined. Typically, this should be a subset of the classes
+             * contained in {@code batch} but not all classes.
+             */
+            Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types);
+
+            /**
+             * Invoked upon completion of all batches.
+             *
+             * @param amount   The total amount of batches that were executed.
+             * @param types    All types included in the redefinition.
+             * @param failures A mapping of batch types to their unhandled failures.
+             */
+            void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures);
+
+            /**
+             * A non-operational listener.
+             */
+            enum NoOp implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener that invokes {@link Thread#yield()} prior to every batch but the first batch.
+             */
+            enum Yielding implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    if (index > 0) {
+                        Thread.yield();
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener that halts a retransformation process upon an exception.
+             */
+            enum ErrorEscalating implements Listener {
+
+                /**
+                 * A listener that fails the retransformation upon the first failed retransformation of a batch.
+                 */
+                FAIL_FAST {
+                    /** {@inheritDoc} */
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        throw new IllegalStateException("Could not transform any of " + batch, throwable);
+                    }
+
+                    /** {@inheritDoc} */
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        /* do nothing */
+                    }
+                },
+
+                /**
+                 * A listener that fails the retransformation after all batches were executed if any error occurred.
+                 */
+                FAIL_LAST {
+                    /** {@inheritDoc} */
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        return Collections.emptyList();
+                    }
+
+                    /** {@inheritDoc} */
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        if (!failures.isEmpty()) {
+                            throw new IllegalStateException("Could not transform any of " + failures);
+                        }
+                    }
+                };
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener adapter that offers non-operational implementations of all listener methods.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            abstract class Adapter implements Listener {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * <p>
+             * A batch reallocator allows to split up a failed retransformation into additional batches which are reenqueed to the
+             * current retransformation process. To do so, any batch with at least to classes is rerouted through a {@link BatchAllocator}
+             * which is responsible for regrouping the classes that failed to be retransformed into new batches.
+             * </p>
+             * <p>
+             * <b>Important</b>: To avoid endless looping over classes that cannot be successfully retransformed, the supplied batch
+             * allocator must not resubmit batches that previously failed as an identical outcome is likely.
+             * </p>
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class BatchReallocator extends Adapter {
+
+                /**
+                 * The batch allocator to use for reallocating failed batches.
+                 */
+                private final BatchAllocator batchAllocator;
+
+                /**
+                 * Creates a new batch reallocator.
+                 *
+                 * @param batchAllocator The batch allocator to use for reallocating failed batches.
+                 */
+                public BatchReallocator(BatchAllocator batchAllocator) {
+                    this.batchAllocator = batchAllocator;
+                }
+
+                /**
+                 * Creates a batch allocator that splits any batch into two parts and resubmits these parts as two batches.
+                 *
+                 * @return A batch reallocating batch listener that splits failed batches into two parts for resubmission.
+                 */
+                public static Listener splitting() {
+                    return new BatchReallocator(new BatchAllocator.Partitioning(2));
+                }
+
+                @Override
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    return batch.size() < 2
+                            ? Collections.<List<Class<?>>>emptyList()
+                            : batchAllocator.batch(batch);
+                }
+            }
+
+            /**
+             * A listener that invokes {@link Thread#sleep(long)} prior to every batch but the first batch.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Pausing extends Adapter {
+
+                /**
+                 * The time to sleep in milliseconds between every two batches.
+                 */
+                private final long value;
+
+                /**
+                 * Creates a new pausing listener.
+                 *
+                 * @param value The time to sleep in milliseconds between every two batches.
+                 */
+                protected Pausing(long value) {
+                    this.value = value;
+                }
+
+                /**
+                 * Creates a listener that pauses for the specified amount of time. If the specified value is {@code 0}, a
+                 * non-operational listener is returned.
+                 *
+                 * @param value    The amount of time to pause between redefinition batches.
+                 * @param timeUnit The time unit of {@code value}.
+                 * @return An appropriate listener.
+                 */
+                public static Listener of(long value, TimeUnit timeUnit) {
+                    if (value > 0L) {
+                        return new Pausing(timeUnit.toMillis(value));
+                    } else if (value == 0L) {
+                        return NoOp.INSTANCE;
+                    } else {
+                        throw new IllegalArgumentException("Cannot sleep for a non-positive amount of time: " + value);
+                    }
+                }
+
+                @Override
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    if (index > 0) {
+                        try {
+                            Thread.sleep(value);
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException(exception);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A listener that writes events to a {@link PrintStream}.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class StreamWriting implements Listener {
+
+                /**
+                 * The print stream to write any events to.
+                 */
+                private final PrintStream printStream;
+
+                /**
+                 * Creates a new stream writing listener.
+                 *
+                 * @param printStream The print stream to write any events to.
+                 */
+                public StreamWriting(PrintStream printStream) {
+                    this.printStream = printStream;
+                }
+
+                /**
+                 * Writes the stream result to {@link System#out}.
+                 *
+                 * @return An appropriate listener.
+                 */
+                public static Listener toSystemOut() {
+                    return new StreamWriting(System.out);
+                }
+
+                /**
+                 * Writes the stream result to {@link System#err}.
+                 *
+                 * @return An appropriate listener.
+                 */
+                public static Listener toSystemError() {
+                    return new StreamWriting(System.err);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE BATCH #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    synchronized (printStream) {
+                        printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE ERROR #%d [%d of %d type(s)]%n", index, batch.size(), types.size());
+                        throwable.printStackTrace(printStream);
+                    }
+                    return Collections.emptyList();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " REDEFINE COMPLETE %d batch(es) containing %d types [%d failed batch(es)]%n", amount, types.size(), failures.size());
+                }
+            }
+
+            /**
+             * A compound listener that delegates events to several listeners.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Compound implements Listener {
+
+                /**
+                 * The listeners to invoke.
+                 */
+                private final List<Listener> listeners;
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listener The listeners to invoke.
+                 */
+                public Compound(Listener... listener) {
+                    this(Arrays.asList(listener));
+                }
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listeners The listeners to invoke.
+                 */
+                public Compound(List<? extends Listener> listeners) {
+                    this.listeners = new ArrayList<Listener>();
+                    for (Listener listener : listeners) {
+                        if (listener instanceof Compound) {
+                            this.listeners.addAll(((Compound) listener).listeners);
+                        } else if (!(listener instanceof NoOp)) {
+                            this.listeners.add(listener);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                    for (Listener listener : listeners) {
+                        listener.onBatch(index, batch, types);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                    List<Iterable<? extends List<Class<?>>>> reattempts = new ArrayList<Iterable<? extends List<Class<?>>>>();
+                    for (Listener listener : listeners) {
+                        reattempts.add(listener.onError(index, batch, throwable, types));
+                    }
+                    return new CompoundIterable(reattempts);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                    for (Listener listener : listeners) {
+                        listener.onComplete(amount, types, failures);
+                    }
+                }
+
+                /**
+                 * A compound iterable.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class CompoundIterable implements Iterable<List<Class<?>>> {
+
+                    /**
+                     * The iterables to consider.
+                     */
+                    private final List<Iterable<? extends List<Class<?>>>> iterables;
+
+                    /**
+                     * Creates a compound iterable.
+                     *
+                     * @param iterables The iterables to consider.
+                     */
+                    protected CompoundIterable(List<Iterable<? extends List<Class<?>>>> iterables) {
+                        this.iterables = iterables;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<List<Class<?>>> iterator() {
+                        return new CompoundIterator(new ArrayList<Iterable<? extends List<Class<?>>>>(iterables));
+                    }
+
+                    /**
+                     * A compound iterator that combines several iterables.
+                     */
+                    protected static class CompoundIterator implements Iterator<List<Class<?>>> {
+
+                        /**
+                         * The current iterator or {@code null} if no such iterator is defined.
+                         */
+                        private Iterator<? extends List<Class<?>>> current;
+
+                        /**
+                         * A backlog of iterables to still consider.
+                         */
+                        private final List<Iterable<? extends List<Class<?>>>> backlog;
+
+                        /**
+                         * Creates a compound iterator.
+                         *
+                         * @param iterables The iterables to consider.
+                         */
+                        protected CompoundIterator(List<Iterable<? extends List<Class<?>>>> iterables) {
+                            backlog = iterables;
+                            forward();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return current != null && current.hasNext();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public List<Class<?>> next() {
+                            try {
+                                if (current != null) {
+                                    return current.next();
+                                } else {
+                                    throw new NoSuchElementException();
+                                }
+                            } finally {
+                                forward();
+                            }
+                        }
+
+                        /**
+                         * Forwards the iterator to the next relevant iterable.
+                         */
+                        private void forward() {
+                            while ((current == null || !current.hasNext()) && !backlog.isEmpty()) {
+                                current = backlog.remove(0).iterator();
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * A strategy for discovering types to redefine.
+         */
+        public interface DiscoveryStrategy {
+
+            /**
+             * Resolves an iterable of types to retransform. Types might be loaded during a previous retransformation which might require
+             * multiple passes for a retransformation.
+             *
+             * @param instrumentation The instrumentation instance used for the redefinition.
+             * @return An iterable of types to consider for retransformation.
+             */
+            Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation);
+
+            /**
+             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}.
+             */
+            enum SinglePass implements DiscoveryStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return Collections.<Iterable<Class<?>>>singleton(Arrays.<Class<?>>asList(instrumentation.getAllLoadedClasses()));
+                }
+            }
+
+            /**
+             * A discovery strategy that considers all loaded types supplied by {@link Instrumentation#getAllLoadedClasses()}. For each reiteration,
+             * this strategy checks if additional types were loaded after the previously supplied types. Doing so, types that were loaded during
+             * instrumentations can be retransformed as such types are not passed to any class file transformer.
+             */
+            enum Reiterating implements DiscoveryStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return new ReiteratingIterable(instrumentation);
+                }
+
+                /**
+                 * An iterable that returns any loaded types and checks if any additional types were loaded during the last instrumentation.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class ReiteratingIterable implements Iterable<Iterable<Class<?>>> {
+
+                    /**
+                     * The instrumentation instance to use.
+                     */
+                    private final Instrumentation instrumentation;
+
+                    /**
+                     * Creates a new reiterating iterable.
+                     *
+                     * @param instrumentation The instrumentation instance to use.
+                     */
+                    protected ReiteratingIterable(Instrumentation instrumentation) {
+                        this.instrumentation = instrumentation;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Iterable<Class<?>>> iterator() {
+                        return new ReiteratingIterator(instrumentation);
+                    }
+                }
+
+                /**
+                 * A reiterating iterator that considers types that were loaded during an instrumentation.
+                 */
+                protected static class ReiteratingIterator implements Iterator<Iterable<Class<?>>> {
+
+                    /**
+                     * The instrumentation instance to use.
+                     */
+                    private final Instrumentation instrumentation;
+
+                    /**
+                     * A set containing all previously discovered types.
+                     */
+                    private final Set<Class<?>> processed;
+
+                    /**
+                     * The current list of types or {@code null} if the current list of types is not prepared.
+                     */
+                    private List<Class<?>> types;
+
+                    /**
+                     * Creates a new reiterating iterator.
+                     *
+                     * @param instrumentation The instrumentation instance to use.
+                     */
+                    protected ReiteratingIterator(Instrumentation instrumentation) {
+                        this.instrumentation = instrumentation;
+                        processed = new HashSet<Class<?>>();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        if (types == null) {
+                            types = new ArrayList<Class<?>>();
+                            for (Class<?> type : instrumentation.getAllLoadedClasses()) {
+                                if (type != null && processed.add(type)) {
+                                    types.add(type);
+                                }
+                            }
+                        }
+                        return !types.isEmpty();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterable<Class<?>> next() {
+                        if (hasNext()) {
+                            try {
+                                return types;
+                            } finally {
+                                types = null;
+                            }
+                        } else {
+                            throw new NoSuchElementException();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                }
+            }
+
+            /**
+             * An explicit discovery strategy that only attempts the redefinition of specific types.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Explicit implements DiscoveryStrategy {
+
+                /**
+                 * The types to redefine.
+                 */
+                private final Set<Class<?>> types;
+
+                /**
+                 * Creates a new explicit discovery strategy.
+                 *
+                 * @param type The types to redefine.
+                 */
+                public Explicit(Class<?>... type) {
+                    this(new LinkedHashSet<Class<?>>(Arrays.asList(type)));
+                }
+
+                /**
+                 * Creates a new explicit discovery strategy.
+                 *
+                 * @param types The types to redefine.
+                 */
+                public Explicit(Set<Class<?>> types) {
+                    this.types = types;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<Iterable<Class<?>>> resolve(Instrumentation instrumentation) {
+                    return Collections.<Iterable<Class<?>>>singleton(types);
+                }
+            }
+        }
+
+        /**
+         * A resubmission scheduler is responsible for scheduling a job that is resubmitting unloaded types that failed during retransformation.
+         */
+        public interface ResubmissionScheduler {
+
+            /**
+             * Checks if this scheduler is currently available.
+             *
+             * @return {@code true} if this scheduler is alive.
+             */
+            boolean isAlive();
+
+            /**
+             * Schedules a resubmission job for regular application.
+             *
+             * @param job The job to schedule.
+             * @return A cancelable that is canceled upon resetting the corresponding class file transformer.
+             */
+            Cancelable schedule(Runnable job);
+
+            /**
+             * A cancelable allows to discontinue a resubmission job.
+             */
+            interface Cancelable {
+
+                /**
+                 * Cancels this resubmission job.
+                 */
+                void cancel();
+
+                /**
+                 * A non-operational cancelable.
+                 */
+                enum NoOp implements Cancelable {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void cancel() {
+                        /* do nothing */
+                    }
+                }
+
+                /**
+                 * A cancelable for a {@link Future}.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForFuture implements Cancelable {
+
+                    /**
+                     * The future to cancel upon cancellation of this instance.
+                     */
+                    private final Future<?> future;
+
+                    /**
+                     * Creates a cancelable for a future.
+                     *
+                     * @param future The future to cancel upon cancellation of this instance.
+                     */
+                    public ForFuture(Future<?> future) {
+                        this.future = future;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void cancel() {
+                        future.cancel(true);
+                    }
+                }
+            }
+
+            /**
+             * A resubmission scheduler that does not apply any scheduling.
+             */
+            enum NoOp implements ResubmissionScheduler {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return false;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Cancelable schedule(Runnable job) {
+                    return Cancelable.NoOp.INSTANCE;
+                }
+            }
+
+            /**
+             * A resubmission scheduler that schedules jobs at a fixed rate.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class AtFixedRate implements ResubmissionScheduler {
+
+                /**
+                 * The executor service to schedule to.
+                 */
+                private final ScheduledExecutorService scheduledExecutorService;
+
+                /**
+                 * The time interval between schedulings.
+                 */
+                private final long time;
+
+                /**
+                 * The time's time unit.
+                 */
+                private final TimeUnit timeUnit;
+
+                /**
+                 * Creates a new resubmission scheduler which schedules executions at a fixed rate.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param time                     The time interval between schedulings.
+                 * @param timeUnit                 The time's time unit.
+                 */
+                public AtFixedRate(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.time = time;
+                    this.timeUnit = timeUnit;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Cancelable schedule(Runnable job) {
+                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleAtFixedRate(job, time, time, timeUnit));
+                }
+            }
+
+            /**
+             * A resubmission scheduler that schedules jobs with a fixed delay.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithFixedDelay implements ResubmissionScheduler {
+
+                /**
+                 * The executor service to schedule to.
+                 */
+                private final ScheduledExecutorService scheduledExecutorService;
+
+                /**
+                 * The time interval to pause between completed jobs.
+                 */
+                private final long time;
+
+                /**
+                 * The time's time unit.
+                 */
+                private final TimeUnit timeUnit;
+
+                /**
+                 * Creates a new resubmission scheduler with a fixed delay between job executions.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param time                     The time interval to pause between completed jobs.
+                 * @param timeUnit                 The time's time unit.
+                 */
+                public WithFixedDelay(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.time = time;
+                    this.timeUnit = timeUnit;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Cancelable schedule(Runnable job) {
+                    return new Cancelable.ForFuture(scheduledExecutorService.scheduleWithFixedDelay(job, time, time, timeUnit));
+                }
+            }
+        }
+
+        /**
+         * A resubmission strategy is responsible for enabling resubmission of types that failed to resubmit.
+         */
+        protected interface ResubmissionStrategy {
+
+            /**
+             * Invoked upon installation of an agent builder.
+             *
+             * @param instrumentation            The instrumentation instance to use.
+             * @param locationStrategy           The location strategy to use.
+             * @param listener                   The listener to use.
+             * @param installationListener       The installation listener to use.
+             * @param circularityLock            The circularity lock to use.
+             * @param matcher                    The matcher to apply for analyzing if a type is to be resubmitted.
+             * @param redefinitionStrategy       The redefinition strategy to use.
+             * @param redefinitionBatchAllocator The batch allocator to use.
+             * @param redefinitionBatchListener  The batch listener to notify.
+             * @return A potentially modified listener to apply.
+             */
+            Installation apply(Instrumentation instrumentation,
+                               LocationStrategy locationStrategy,
+                               AgentBuilder.Listener listener,
+                               InstallationListener installationListener,
+                               CircularityLock circularityLock,
+                               RawMatcher matcher,
+                               RedefinitionStrategy redefinitionStrategy,
+                               RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
+                               RedefinitionStrategy.Listener redefinitionBatchListener);
+
+            /**
+             * A disabled resubmission strategy.
+             */
+            enum Disabled implements ResubmissionStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Installation apply(Instrumentation instrumentation,
+                                          LocationStrategy locationStrategy,
+                                          AgentBuilder.Listener listener,
+                                          InstallationListener installationListener,
+                                          CircularityLock circularityLock,
+                                          RawMatcher matcher,
+                                          RedefinitionStrategy redefinitionStrategy,
+                                          BatchAllocator redefinitionBatchAllocator,
+                                          Listener redefinitionBatchListener) {
+                    return new Installation(listener, installationListener);
+                }
+            }
+
+            /**
+             * An enabled resubmission strategy.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Enabled implements ResubmissionStrategy {
+
+                /**
+                 * A scheduler that is responsible for resubmission of types.
+                 */
+                private final ResubmissionScheduler resubmissionScheduler;
+
+                /**
+                 * The matcher for filtering error causes.
+                 */
+                private final ElementMatcher<? super Throwable> matcher;
+
+                /**
+                 * A filter to suppress class loaders, for example after they become inactive.
+                 */
+                private final ElementMatcher<? super ClassLoader> classLoaderFilter;
+
+                /**
+                 * Creates a new enabled resubmission strategy.
+                 *
+                 * @param resubmissionScheduler A scheduler that is responsible for resubmission of types.
+                 * @param matcher               The matcher for filtering error causes.
+                 * @param classLoaderFilter     A filter to suppress class loaders, for example after they become inactive.
+                 */
+                protected Enabled(ResubmissionScheduler resubmissionScheduler,
+                                  ElementMatcher<? super Throwable> matcher,
+                                  ElementMatcher<? super ClassLoader> classLoaderFilter) {
+                    this.resubmissionScheduler = resubmissionScheduler;
+                    this.matcher = matcher;
+                    this.classLoaderFilter = classLoaderFilter;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Installation apply(Instrumentation instrumentation,
+                                          LocationStrategy locationStrategy,
+                                          AgentBuilder.Listener listener,
+                                          InstallationListener installationListener,
+                                          CircularityLock circularityLock,
+                                          RawMatcher matcher,
+                                          RedefinitionStrategy redefinitionStrategy,
+                                          RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
+                                          RedefinitionStrategy.Listener redefinitionBatchListener) {
+                    if (redefinitionStrategy.isEnabled() && resubmissionScheduler.isAlive()) {
+                        ConcurrentMap<StorageKey, Set<String>> types = new ConcurrentHashMap<StorageKey, Set<String>>();
+                        return new Installation(new AgentBuilder.Listener.Compound(new ResubmissionListener(this.matcher, types), listener),
+                                new InstallationListener.Compound(new ResubmissionInstallationListener(resubmissionScheduler,
+                                        instrumentation,
+                                        locationStrategy,
+                                        listener,
+                                        circularityLock,
+                                        matcher,
+                                        classLoaderFilter,
+                                        redefinitionStrategy,
+                                        redefinitionBatchAllocator,
+                                        redefinitionBatchListener,
+                                        types), installationListener));
+                    } else {
+                        return new Installation(listener, installationListener);
+                    }
+                }
+
+                /**
+                 * A listener that registers types for resubmission that failed during transformations.
+                 */
+                protected static class ResubmissionListener extends AgentBuilder.Listener.Adapter {
+
+                    /**
+                     * The matcher for filtering error causes.
+                     */
+                    private final ElementMatcher<? super Throwable> matcher;
+
+                    /**
+                     * A map of class loaders to their types to resubmit.
+                     */
+                    private final ConcurrentMap<StorageKey, Set<String>> types;
+
+                    /**
+                     * @param matcher The matcher for filtering error causes.
+                     * @param types   A map of class loaders to their types to resubmit.
+                     */
+                    protected ResubmissionListener(ElementMatcher<? super Throwable> matcher, ConcurrentMap<StorageKey, Set<String>> types) {
+                        this.matcher = matcher;
+                        this.types = types;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
+                    public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                        if (!loaded && matcher.matches(throwable)) {
+                            Set<String> types = this.types.get(new LookupKey(classLoader));
+                            if (types == null) {
+                                types = new ConcurrentHashSet<String>();
+                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
+                                if (previous != null) {
+                                    types = previous;
+                                }
+                            }
+                            types.add(typeName);
+                        }
+                    }
+
+                    /**
+                     * A set projection for a {@link ConcurrentHashMap}.
+                     *
+                     * @param <T> The element type of the set projection.
+                     */
+                    protected static class ConcurrentHashSet<T> extends AbstractSet<T> {
+
+                        /**
+                         * The delegate map.
+                         */
+                        private final ConcurrentMap<T, Boolean> delegate;
+
+                        /**
+                         * Creates a concurrent hash set.
+                         */
+                        protected ConcurrentHashSet() {
+                            delegate = new ConcurrentHashMap<T, Boolean>();
+                        }
+
+                        @Override
+                        public boolean add(T value) {
+                            return delegate.put(value, Boolean.TRUE) == null;
+                        }
+
+                        @Override
+                        public boolean remove(Object value) {
+                            return delegate.remove(value) != null;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Iterator<T> iterator() {
+                            return delegate.keySet().iterator();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public int size() {
+                            return delegate.size();
+                        }
+                    }
+                }
+
+                /**
+                 * A job that resubmits any matched type that previously failed during transformation.
+                 */
+                protected static class ResubmissionInstallationListener extends AgentBuilder.InstallationListener.Adapter implements Runnable {
+
+                    /**
+                     * The resubmission scheduler to use.
+                     */
+                    private final ResubmissionScheduler resubmissionScheduler;
+
+                    /**
+                     * The instrumentation instance to use.
+                     */
+                    private final Instrumentation instrumentation;
+
+                    /**
+                     * The location strategy to use.
+                     */
+                    private final LocationStrategy locationStrategy;
+
+                    /**
+                     * The listener to use.
+                     */
+                    private final AgentBuilder.Listener listener;
+
+                    /**
+                     * The circularity lock to use.
+                     */
+                    private final CircularityLock circularityLock;
+
+                    /**
+                     * The matcher to apply for analyzing if a type is to be resubmitted.
+                     */
+                    private final RawMatcher matcher;
+
+                    /**
+                     * A filter to suppress class loaders, for example after they become inactive.
+                     */
+                    private final ElementMatcher<? super ClassLoader> classLoaderFilter;
+
+                    /**
+                     * The redefinition strategy to use.
+                     */
+                    private final RedefinitionStrategy redefinitionStrategy;
+
+                    /**
+                     * The batch allocator to use.
+                     */
+                    private final BatchAllocator redefinitionBatchAllocator;
+
+                    /**
+                     * The batch listener to notify.
+                     */
+                    private final Listener redefinitionBatchListener;
+
+                    /**
+                     * A map of class loaders to their types to resubmit.
+                     */
                     private final ConcurrentMap<StorageKey, Set<String>> types;
 
-                    /**
-                     * This scheduler's cancelable or {@code null} if no cancelable was registered.
-                     */
-                    private volatile ResubmissionScheduler.Cancelable cancelable;
+                    /**
+                     * This scheduler's cancelable or {@code null} if no cancelable was registered.
+                     */
+                    private volatile ResubmissionScheduler.Cancelable cancelable;
+
+                    /**
+                     * Creates a new resubmission job.
+                     *
+                     * @param resubmissionScheduler      The resubmission scheduler to use.
+                     * @param instrumentation            The instrumentation instance to use.
+                     * @param locationStrategy           The location strategy to use.
+                     * @param listener                   The listener to use.
+                     * @param circularityLock            The circularity lock to use.
+                     * @param matcher                    The matcher to apply for analyzing if a type is to be resubmitted.
+                     * @param classLoaderFilter          A filter to suppress class loaders, for example after they become inactive.
+                     * @param redefinitionStrategy       The redefinition strategy to use.
+                     * @param redefinitionBatchAllocator The batch allocator to use.
+                     * @param redefinitionBatchListener  The batch listener to notify.
+                     * @param types                      A map of class loaders to their types to resubmit.
+                     */
+                    protected ResubmissionInstallationListener(ResubmissionScheduler resubmissionScheduler,
+                                                               Instrumentation instrumentation,
+                                                               LocationStrategy locationStrategy,
+                                                               AgentBuilder.Listener listener,
+                                                               CircularityLock circularityLock,
+                                                               RawMatcher matcher,
+                                                               ElementMatcher<? super ClassLoader> classLoaderFilter,
+                                                               RedefinitionStrategy redefinitionStrategy,
+                                                               BatchAllocator redefinitionBatchAllocator,
+                                                               Listener redefinitionBatchListener,
+                                                               ConcurrentMap<StorageKey, Set<String>> types) {
+                        this.resubmissionScheduler = resubmissionScheduler;
+                        this.instrumentation = instrumentation;
+                        this.locationStrategy = locationStrategy;
+                        this.listener = listener;
+                        this.circularityLock = circularityLock;
+                        this.matcher = matcher;
+                        this.redefinitionStrategy = redefinitionStrategy;
+                        this.redefinitionBatchAllocator = redefinitionBatchAllocator;
+                        this.redefinitionBatchListener = redefinitionBatchListener;
+                        this.classLoaderFilter = classLoaderFilter;
+                        this.types = types;
+                    }
+
+
+                    @Override
+                    public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                        cancelable = resubmissionScheduler.schedule(this);
+                    }
+
+                    @Override
+                    public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
+                        ResubmissionScheduler.Cancelable cancelable = this.cancelable;
+                        if (cancelable != null) {
+                            cancelable.cancel();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void run() {
+                        boolean release = circularityLock.acquire();
+                        try {
+                            Iterator<Map.Entry<StorageKey, Set<String>>> entries = types.entrySet().iterator();
+                            List<Class<?>> types = new ArrayList<Class<?>>();
+                            while (entries.hasNext()) {
+                                if (Thread.interrupted()) {
+                                    return;
+                                }
+                                Map.Entry<StorageKey, Set<String>> entry = entries.next();
+                                ClassLoader classLoader = entry.getKey().get();
+                                if (classLoader != null || entry.getKey().isBootstrapLoader()) {
+                                    try {
+                                        if (classLoaderFilter.matches(classLoader)) {
+                                            entries.remove();
+                                            continue;
+                                        }
+                                    } catch (Throwable ignored) {
+                                        /* do nothing */
+                                    }
+                                    Iterator<String> iterator = entry.getValue().iterator();
+                                    while (iterator.hasNext()) {
+                                        if (Thread.interrupted()) {
+                                            return;
+                                        }
+                                        try {
+                                            Class<?> type = Class.forName(iterator.next(), false, classLoader);
+                                            try {
+                                                if (DISPATCHER.isModifiableClass(instrumentation, type) && matcher.matches(TypeDescription.ForLoadedType.of(type),
+                                                        type.getClassLoader(),
+                                                        JavaModule.ofType(type),
+                                                        type,
+                                                        type.getProtectionDomain())) {
+                                                    types.add(type);
+                                                }
+                                            } catch (Throwable throwable) {
+                                                try {
+                                                    listener.onDiscovery(TypeDescription.ForLoadedType.getName(type),
+                                                            type.getClassLoader(),
+                                                            JavaModule.ofType(type),
+                                                            AgentBuilder.Listener.LOADED);
+                                                } finally {
+                                                    try {
+                                                        listener.onError(TypeDescription.ForLoadedType.getName(type),
+                                                                type.getClassLoader(),
+                                                                JavaModule.ofType(type),
+                                                                AgentBuilder.Listener.LOADED,
+                                                                throwable);
+                                                    } finally {
+                                                        listener.onComplete(TypeDescription.ForLoadedType.getName(type),
+                                                                type.getClassLoader(),
+                                                                JavaModule.ofType(type),
+                                                                AgentBuilder.Listener.LOADED);
+                                                    }
+                                                }
+                                            }
+                                        } catch (Throwable ignored) {
+                                            /* do nothing */
+                                        } finally {
+                                            iterator.remove();
+                                        }
+                                    }
+                                } else {
+                                    entries.remove();
+                                }
+                            }
+                            if (!types.isEmpty()) {
+                                RedefinitionStrategy.Collector collector = redefinitionStrategy.make();
+                                collector.include(types);
+                                collector.apply(instrumentation,
+                                        circularityLock,
+                                        locationStrategy,
+                                        listener,
+                                        redefinitionBatchAllocator,
+                                        redefinitionBatchListener,
+                                        BatchAllocator.FIRST_BATCH);
+                            }
+                        } finally {
+                            if (release) {
+                                circularityLock.release();
+                            }
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The represented class loader.
+                     */
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param classLoader The represented class loader.
+                     */
+                    protected LookupKey(ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return classLoader == ((LookupKey) other).classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && classLoader == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader that only weakly references the class loader.
+                 */
+                protected static class StorageKey extends WeakReference<ClassLoader> {
+
+                    /**
+                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param classLoader The represented class loader or {@code null} for the bootstrap class loader.
+                     */
+                    protected StorageKey(ClassLoader classLoader) {
+                        super(classLoader);
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    /**
+                     * Checks if this reference represents the bootstrap class loader.
+                     *
+                     * @return {@code true} if this entry represents the bootstrap class loader.
+                     */
+                    protected boolean isBootstrapLoader() {
+                        return hashCode == 0;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && get() == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Represents an installation of a resubmission strategy.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Installation {
+
+                /**
+                 * The listener to apply.
+                 */
+                private final AgentBuilder.Listener listener;
+
+                /**
+                 * The installation listener to apply.
+                 */
+                private final InstallationListener installationListener;
+
+                /**
+                 * Creates a new installation.
+                 *
+                 * @param listener             The listener to apply.
+                 * @param installationListener The installation listener to apply.
+                 */
+                protected Installation(AgentBuilder.Listener listener, InstallationListener installationListener) {
+                    this.listener = listener;
+                    this.installationListener = installationListener;
+                }
+
+                /**
+                 * Returns the listener to apply.
+                 *
+                 * @return The listener to apply.
+                 */
+                protected AgentBuilder.Listener getListener() {
+                    return listener;
+                }
+
+                /**
+                 * Returns the installation listener to apply.
+                 *
+                 * @return The installation listener to apply.
+                 */
+                protected InstallationListener getInstallationListener() {
+                    return installationListener;
+                }
+            }
+        }
+
+        /**
+         * A dispatcher for interacting with the instrumentation API.
+         */
+        protected interface Dispatcher {
+
+            /**
+             * Checks if the supplied type is modifiable.
+             *
+             * @param instrumentation The instrumentation instance available.
+             * @param type            The type to check for modifiability.
+             * @return {@code true} if the supplied type is modifiable.
+             */
+            boolean isModifiableClass(Instrumentation instrumentation, Class<?> type);
+
+            /**
+             * Checks if retransformation is supported for the supplied instrumentation instance.
+             *
+             * @param instrumentation The instrumentation instance available.
+             * @return {@code true} if the supplied instance supports retransformation.
+             */
+            boolean isRetransformClassesSupported(Instrumentation instrumentation);
+
+            /**
+             * Retransforms the supplied classes.
+             *
+             * @param instrumentation The instrumentation instance to use for retransformation.
+             * @param type            The types to retransform.
+             * @throws UnmodifiableClassException If the supplied classes cannot be retransformed.
+             */
+            void retransformClasses(Instrumentation instrumentation, Class<?>[] type) throws UnmodifiableClassException;
+
+            /**
+             * An action for creating a dispatcher.
+             */
+            enum CreationAction implements PrivilegedAction<Dispatcher> {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Dispatcher run() {
+                    try {
+                        return new ForJava6CapableVm(Instrumentation.class.getMethod("isModifiableClass", Class.class),
+                                Instrumentation.class.getMethod("isRetransformClassesSupported"),
+                                Instrumentation.class.getMethod("retransformClasses", Class[].class));
+                    } catch (NoSuchMethodException ignored) {
+                        return ForLegacyVm.INSTANCE;
+                    }
+                }
+            }
+
+            /**
+             * A dispatcher for a legacy VM.
+             */
+            enum ForLegacyVm implements Dispatcher {
 
-                    /**
-                     * Creates a new resubmission job.
-                     *
-                     * @param resubmissionScheduler      The resubmission scheduler to use.
-                     * @param instrumentation            The instrumentation instance to use.
-                     * @param locationStrategy           The location strategy to use.
-                     * @param listener                   The listener to use.
-                     * @param circularityLock            The circularity lock to use.
-                     * @param matcher                    The matcher to apply for analyzing if a type is to be resubmitted.
-                     * @param classLoaderFilter          A filter to suppress class loaders, for example after they become inactive.
-                     * @param redefinitionStrategy       The redefinition strategy to use.
-                     * @param redefinitionBatchAllocator The batch allocator to use.
-                     * @param redefinitionBatchListener  The batch listener to notify.
-                     * @param types                      A map of class loaders to their types to resubmit.
-                     */
-                    protected ResubmissionInstallationListener(ResubmissionScheduler resubmissionScheduler,
-                                                               Instrumentation instrumentation,
-                                                               LocationStrategy locationStrategy,
-                                                               AgentBuilder.Listener listener,
-                                                               CircularityLock circularityLock,
-                                                               RawMatcher matcher,
-                                                               ElementMatcher<? super ClassLoader> classLoaderFilter,
-                                                               RedefinitionStrategy redefinitionStrategy,
-                                                               BatchAllocator redefinitionBatchAllocator,
-                                                               Listener redefinitionBatchListener,
-                                                               ConcurrentMap<StorageKey, Set<String>> types) {
-                        this.resubmissionScheduler = resubmissionScheduler;
-                        this.instrumentation = instrumentation;
-                        this.locationStrategy = locationStrategy;
-                        this.listener = listener;
-                        this.circularityLock = circularityLock;
-                        this.matcher = matcher;
-                        this.redefinitionStrategy = redefinitionStrategy;
-                        this.redefinitionBatchAllocator = redefinitionBatchAllocator;
-                        this.redefinitionBatchListener = redefinitionBatchListener;
-                        this.classLoaderFilter = classLoaderFilter;
-                        this.types = types;
-                    }
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
 
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isModifiableClass(Instrumentation instrumentation, Class<?> type) {
+                    return !type.isArray() && !type.isPrimitive();
+                }
 
-                    @Override
-                    public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                        cancelable = resubmissionScheduler.schedule(this);
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isRetransformClassesSupported(Instrumentation instrumentation) {
+                    return false;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retransformClasses(Instrumentation instrumentation, Class<?>[] type) {
+                    throw new UnsupportedOperationException("The current VM does not support retransformation");
+                }
+            }
+
+            /**
+             * A dispatcher for a Java 6 capable VM.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJava6CapableVm implements Dispatcher {
+
+                /**
+                 * The {@code Instrumentation#isModifiableClass} method.
+                 */
+                private final Method isModifiableClass;
+
+                /**
+                 * The {@code Instrumentation#isRetransformClassesSupported} method.
+                 */
+                private final Method isRetransformClassesSupported;
+
+                /**
+                 * The {@code Instrumentation#retransformClasses} method.
+                 */
+                private final Method retransformClasses;
+
+                /**
+                 * Creates a new Java 6 capable dispatcher.
+                 *
+                 * @param isModifiableClass             The {@code Instrumentation#isModifiableClass} method.
+                 * @param isRetransformClassesSupported The {@code Instrumentation#isRetransformClassesSupported} method.
+                 * @param retransformClasses            The {@code Instrumentation#retransformClasses} method.
+                 */
+                protected ForJava6CapableVm(Method isModifiableClass, Method isRetransformClassesSupported, Method retransformClasses) {
+                    this.isModifiableClass = isModifiableClass;
+                    this.isRetransformClassesSupported = isRetransformClassesSupported;
+                    this.retransformClasses = retransformClasses;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isModifiableClass(Instrumentation instrumentation, Class<?> type) {
+                    try {
+                        return (Boolean) isModifiableClass.invoke(instrumentation, type);
+                    } catch (IllegalAccessException exception) {
+                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#isModifiableClass", exception);
+                    } catch (InvocationTargetException exception) {
+                        throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#isModifiableClass", exception.getCause());
                     }
+                }
 
-                    @Override
-                    public void onReset(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                        ResubmissionScheduler.Cancelable cancelable = this.cancelable;
-                        if (cancelable != null) {
-                            cancelable.cancel();
-                        }
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isRetransformClassesSupported(Instrumentation instrumentation) {
+                    try {
+                        return (Boolean) isRetransformClassesSupported.invoke(instrumentation);
+                    } catch (IllegalAccessException exception) {
+                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#isRetransformClassesSupported", exception);
+                    } catch (InvocationTargetException exception) {
+                        throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#isRetransformClassesSupported", exception.getCause());
                     }
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void run() {
-                        boolean release = circularityLock.acquire();
-                        try {
-                            Iterator<Map.Entry<StorageKey, Set<String>>> entries = types.entrySet().iterator();
-                            List<Class<?>> types = new ArrayList<Class<?>>();
-                            while (entries.hasNext()) {
-                                if (Thread.interrupted()) {
-                                    return;
-                                }
-                                Map.Entry<StorageKey, Set<String>> entry = entries.next();
-                                ClassLoader classLoader = entry.getKey().get();
-                                if (classLoader != null || entry.getKey().isBootstrapLoader()) {
-                                    try {
-                                        if (classLoaderFilter.matches(classLoader)) {
-                                            entries.remove();
-                                            continue;
-                                        }
-                                    } catch (Throwable ignored) {
-                                        /* do nothing */
-                                    }
-                                    Iterator<String> iterator = entry.getValue().iterator();
-                                    while (iterator.hasNext()) {
-                                        if (Thread.interrupted()) {
-                                            return;
-                                        }
-                                        try {
-                                            Class<?> type = Class.forName(iterator.next(), false, classLoader);
-                                            try {
-                                                if (DISPATCHER.isModifiableClass(instrumentation, type) && matcher.matches(TypeDescription.ForLoadedType.of(type),
-                                                        type.getClassLoader(),
-                                                        JavaModule.ofType(type),
-                                                        type,
-                                                        type.getProtectionDomain())) {
-                                                    types.add(type);
-                                                }
-                                            } catch (Throwable throwable) {
-                                                try {
-                                                    listener.onDiscovery(TypeDescription.ForLoadedType.getName(type),
-                                                            type.getClassLoader(),
-                                                            JavaModule.ofType(type),
-                                                            AgentBuilder.Listener.LOADED);
-                                                } finally {
-                                                    try {
-                                                        listener.onError(TypeDescription.ForLoadedType.getName(type),
-                                                                type.getClassLoader(),
-                                                                JavaModule.ofType(type),
-                                                                AgentBuilder.Listener.LOADED,
-                                                                throwable);
-                                                    } finally {
-                                                        listener.onComplete(TypeDescription.ForLoadedType.getName(type),
-                                                                type.getClassLoader(),
-                                                                JavaModule.ofType(type),
-                                                                AgentBuilder.Listener.LOADED);
-                                                    }
-                                                }
-                                            }
-                                        } catch (Throwable ignored) {
-                                            /* do nothing */
-                                        } finally {
-                                            iterator.remove();
-                                        }
-                                    }
-                                } else {
-                                    entries.remove();
-                                }
-                            }
-                            if (!types.isEmpty()) {
-                                RedefinitionStrategy.Collector collector = redefinitionStrategy.make();
-                                collector.include(types);
-                                collector.apply(instrumentation,
-                                        circularityLock,
-                                        locationStrategy,
-                                        listener,
-                                        redefinitionBatchAllocator,
-                                        redefinitionBatchListener,
-                                        BatchAllocator.FIRST_BATCH);
-                            }
-                        } finally {
-                            if (release) {
-                                circularityLock.release();
-                            }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retransformClasses(Instrumentation instrumentation, Class<?>[] type) throws UnmodifiableClassException {
+                    try {
+                        retransformClasses.invoke(instrumentation, (Object) type);
+                    } catch (IllegalAccessException exception) {
+                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#retransformClasses", exception);
+                    } catch (InvocationTargetException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof UnmodifiableClassException) {
+                            throw (UnmodifiableClassException) cause;
+                        } else {
+                            throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#retransformClasses", cause);
                         }
                     }
                 }
+            }
+        }
+
+        /**
+         * <p>
+         * A resolution strategy determines when and on what thread the type descriptions of the loaded types of a batch are
+         * resolved and matched prior to their redefinition or retransformation. The resolved types are consumed on the thread
+         * that applies the redefinition and in the order in which they were discovered, where any listener is notified upon
+         * consumption.
+         * </p>
+         * <p>
+         * <b>Important</b>: If a resolution is applied on another thread, the {@link CircularityLock} is acquired on this thread
+         * for the duration of the resolution. If a {@link CircularityLock.Global} lock is used, this lock cannot be acquired by
+         * another thread such that classes that are loaded during a resolution are not transformed, similarly to classes that
+         * are loaded during a resolution on the thread that applies the redefinition.
+         * </p>
+         */
+        public interface ResolutionStrategy {
+
+            /**
+             * Applies the supplied resolutions. A resolution strategy might apply a resolution only when its result is requested
+             * from the returned iterable.
+             *
+             * @param resolutions The resolutions to apply.
+             * @param <T>         The type of the resolutions' results.
+             * @return The results of the resolutions in the order of the supplied resolutions.
+             */
+            <T> Iterable<T> resolve(List<? extends Callable<T>> resolutions);
+
+            /**
+             * A resolution strategy that applies each resolution on the current thread once its result is requested. This way,
+             * each type is resolved right before it is consumed and only a single resolved type is retained at a time.
+             */
+            enum Sequential implements ResolutionStrategy {
 
                 /**
-                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 * The singleton instance.
                  */
-                protected static class LookupKey {
+                INSTANCE;
 
-                    /**
-                     * The represented class loader.
-                     */
-                    private final ClassLoader classLoader;
+                /**
+                 * {@inheritDoc}
+                 */
+                public <T> Iterable<T> resolve(List<? extends Callable<T>> resolutions) {
+                    return new Resolving<T>(resolutions);
+                }
+
+                /**
+                 * An iterable that applies a resolution when the resolution's result is requested.
+                 *
+                 * @param <T> The type of the resolutions' results.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Resolving<T> implements Iterable<T> {
 
                     /**
-                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     * The resolutions to apply.
                      */
-                    private final int hashCode;
+                    private final List<? extends Callable<T>> resolutions;
 
                     /**
-                     * Creates a new lookup key.
+                     * Creates a new resolving iterable.
                      *
-                     * @param classLoader The represented class loader.
+                     * @param resolutions The resolutions to apply.
                      */
-                    protected LookupKey(ClassLoader classLoader) {
-                        this.classLoader = classLoader;
-                        hashCode = System.identityHashCode(classLoader);
+                    protected Resolving(List<? extends Callable<T>> resolutions) {
+                        this.resolutions = resolutions;
                     }
 
-                    @Override
-                    public int hashCode() {
-                        return hashCode;
-                    }
-
-                    @Override
-                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
-                    public boolean equals(Object other) {
-                        if (this == other) {
-                            return true;
-                        } else if (other instanceof LookupKey) {
-                            return classLoader == ((LookupKey) other).classLoader;
-                        } else if (other instanceof StorageKey) {
-                            StorageKey storageKey = (StorageKey) other;
-                            return hashCode == storageKey.hashCode && classLoader == storageKey.get();
-                        } else {
-                            return false;
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<T> iterator() {
+                        return new ResolvingIterator<T>(resolutions.iterator());
                     }
                 }
 
                 /**
-                 * A key for a class loader that only weakly references the class loader.
+                 * An iterator that applies a resolution when the resolution's result is requested.
+                 *
+                 * @param <T> The type of the resolutions' results.
                  */
-                protected static class StorageKey extends WeakReference<ClassLoader> {
+                protected static class ResolvingIterator<T> implements Iterator<T> {
 
                     /**
-                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     * An iterator over the resolutions to apply.
                      */
-                    private final int hashCode;
+                    private final Iterator<? extends Callable<T>> iterator;
 
                     /**
-                     * Creates a new storage key.
+                     * Creates a new resolving iterator.
                      *
-                     * @param classLoader The represented class loader or {@code null} for the bootstrap class loader.
+                     * @param iterator An iterator over the resolutions to apply.
                      */
-                    protected StorageKey(ClassLoader classLoader) {
-                        super(classLoader);
-                        hashCode = System.identityHashCode(classLoader);
+                    protected ResolvingIterator(Iterator<? extends Callable<T>> iterator) {
+                        this.iterator = iterator;
                     }
 
                     /**
-                     * Checks if this reference represents the bootstrap class loader.
-                     *
-                     * @return {@code true} if this entry represents the bootstrap class loader.
+                     * {@inheritDoc}
                      */
-                    protected boolean isBootstrapLoader() {
-                        return hashCode == 0;
+                    public boolean hasNext() {
+                        return iterator.hasNext();
                     }
 
-                    @Override
-                    public int hashCode() {
-                        return hashCode;
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public T next() {
+                        try {
+                            return iterator.next().call();
+                        } catch (Exception exception) {
+                            throw new IllegalStateException("Could not resolve type for redefinition", exception);
+                        }
                     }
 
-                    @Override
-                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
-                    public boolean equals(Object other) {
-                        if (this == other) {
-                            return true;
-                        } else if (other instanceof LookupKey) {
-                            LookupKey lookupKey = (LookupKey) other;
-                            return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
-                        } else if (other instanceof StorageKey) {
-                            StorageKey storageKey = (StorageKey) other;
-                            return hashCode == storageKey.hashCode && get() == storageKey.get();
-                        } else {
-                            return false;
-                        }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
                     }
                 }
             }
 
             /**
-             * Represents an installation of a resubmission strategy.
+             * A resolution strategy that applies resolutions in parallel by submitting them to an {@link Executor}. If the
+             * executor rejects a resolution, it is applied on the current thread. Resolutions are submitted ahead of their
+             * consumption within a sliding window such that at most the window's size of resolved types are retained at the
+             * same time, independently of the amount of discovered types and of the applied {@link BatchAllocator}.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class Installation {
+            class Parallel implements ResolutionStrategy {
 
                 /**
-                 * The listener to apply.
+                 * The default amount of resolutions that are applied ahead of their consumption.
                  */
-                private final AgentBuilder.Listener listener;
+                public static final int DEFAULT_WINDOW = 1024;
 
                 /**
-                 * The installation listener to apply.
+                 * The executor to submit resolutions to.
                  */
-                private final InstallationListener installationListener;
+                private final Executor executor;
 
                 /**
-                 * Creates a new installation.
+                 * The maximum amount of resolutions that are applied ahead of their consumption.
+                 */
+                private final int window;
+
+                /**
+                 * Creates a new parallel resolution strategy with a default window.
                  *
-                 * @param listener             The listener to apply.
-                 * @param installationListener The installation listener to apply.
+                 * @param executor The executor to submit resolutions to.
                  */
-                protected Installation(AgentBuilder.Listener listener, InstallationListener installationListener) {
-                    this.listener = listener;
-                    this.installationListener = installationListener;
+                public Parallel(Executor executor) {
+                    this(executor, DEFAULT_WINDOW);
                 }
 
                 /**
-                 * Returns the listener to apply.
+                 * Creates a new parallel resolution strategy.
                  *
-                 * @return The listener to apply.
+                 * @param executor The executor to submit resolutions to.
+                 * @param window   The maximum amount of resolutions that are applied ahead of their consumption.
                  */
-                protected AgentBuilder.Listener getListener() {
-                    return listener;
+                public Parallel(Executor executor, int window) {
+                    if (window < 1) {
+                        throw new IllegalArgumentException("Cannot define a window smaller than one: " + window);
+                    }
+                    this.executor = executor;
+                    this.window = window;
                 }
 
                 /**
-                 * Returns the installation listener to apply.
+                 * {@inheritDoc}
+                 */
+                public <T> Iterable<T> resolve(List<? extends Callable<T>> resolutions) {
+                    return new Resolving<T>(executor, window, resolutions);
+                }
+
+                /**
+                 * An iterable that submits resolutions within a sliding window ahead of their consumption.
                  *
-                 * @return The installation listener to apply.
+                 * @param <T> The type of the resolutions' results.
                  */
-                protected InstallationListener getInstallationListener() {
-                    return installationListener;
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Resolving<T> implements Iterable<T> {
+
+                    /**
+                     * The executor to submit resolutions to.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * The maximum amount of resolutions that are applied ahead of their consumption.
+                     */
+                    private final int window;
+
+                    /**
+                     * The resolutions to apply.
+                     */
+                    private final List<? extends Callable<T>> resolutions;
+
+                    /**
+                     * Creates a new resolving iterable.
+                     *
+                     * @param executor    The executor to submit resolutions to.
+                     * @param window      The maximum amount of resolutions that are applied ahead of their consumption.
+                     * @param resolutions The resolutions to apply.
+                     */
+                    protected Resolving(Executor executor, int window, List<? extends Callable<T>> resolutions) {
+                        this.executor = executor;
+                        this.window = window;
+                        this.resolutions = resolutions;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<T> iterator() {
+                        return new ResolvingIterator<T>(executor, window, resolutions.iterator());
+                    }
+                }
+
+                /**
+                 * An iterator that submits resolutions within a sliding window ahead of their consumption.
+                 *
+                 * @param <T> The type of the resolutions' results.
+                 */
+                protected static class ResolvingIterator<T> implements Iterator<T> {
+
+                    /**
+                     * The executor to submit resolutions to.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * The maximum amount of resolutions that are applied ahead of their consumption.
+                     */
+                    private final int window;
+
+                    /**
+                     * An iterator over the resolutions that are not yet submitted.
+                     */
+                    private final Iterator<? extends Callable<T>> iterator;
+
+                    /**
+                     * The submitted resolutions in the order of their consumption.
+                     */
+                    private final Queue<FutureTask<T>> futureTasks;
+
+                    /**
+                     * Creates a new resolving iterator.
+                     *
+                     * @param executor The executor to submit resolutions to.
+                     * @param window   The maximum amount of resolutions that are applied ahead of their consumption.
+                     * @param iterator An iterator over the resolutions to apply.
+                     */
+                    protected ResolvingIterator(Executor executor, int window, Iterator<? extends Callable<T>> iterator) {
+                        this.executor = executor;
+                        this.window = window;
+                        this.iterator = iterator;
+                        futureTasks = new LinkedList<FutureTask<T>>();
+                    }
+
+                    /**
+                     * Submits resolutions until the window is filled or no more resolutions are available.
+                     */
+                    private void submit() {
+                        while (futureTasks.size() < window && iterator.hasNext()) {
+                            FutureTask<T> futureTask = new FutureTask<T>(iterator.next());
+                            try {
+                                executor.execute(futureTask);
+                            } catch (RejectedExecutionException ignored) {
+                                futureTask.run();
+                            }
+                            futureTasks.add(futureTask);
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        return !futureTasks.isEmpty() || iterator.hasNext();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public T next() {
+                        submit();
+                        FutureTask<T> futureTask = futureTasks.remove();
+                        try {
+                            return futureTask.get();
+                        } catch (InterruptedException exception) {
+                            futureTask.cancel(false);
+                            for (FutureTask<T> pending : futureTasks) {
+                                pending.cancel(false);
+                            }
+                            futureTasks.clear();
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Interrupted while resolving types for redefinition", exception);
+                        } catch (ExecutionException exception) {
+                            throw new IllegalStateException("Could not resolve type for redefinition", exception.getCause());
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
                 }
             }
         }
 
         /**
-         * A dispatcher for interacting with the instrumentation API.
+         * A resolver for a loaded type that resolves the type's description and applies the matcher that determines if the type
+         * should be redefined. A resolver never throws an exception but records any error within its result.
          */
-        protected interface Dispatcher {
+        protected static class Resolver implements Callable<Resolver.Candidate> {
 
             /**
-             * Checks if the supplied type is modifiable.
-             *
-             * @param instrumentation The instrumentation instance available.
-             * @param type            The type to check for modifiability.
-             * @return {@code true} if the supplied type is modifiable.
+             * A representation for a non-available loaded type.
              */
-            boolean isModifiableClass(Instrumentation instrumentation, Class<?> type);
+            private static final Class<?> NO_LOADED_TYPE = null;
 
             /**
-             * Checks if retransformation is supported for the supplied instrumentation instance.
-             *
-             * @param instrumentation The instrumentation instance available.
-             * @return {@code true} if the supplied instance supports retransformation.
+             * The loaded type to resolve.
              */
-            boolean isRetransformClassesSupported(Instrumentation instrumentation);
+            private final Class<?> type;
 
             /**
-             * Retransforms the supplied classes.
-             *
-             * @param instrumentation The instrumentation instance to use for retransformation.
-             * @param type            The types to retransform.
-             * @throws UnmodifiableClassException If the supplied classes cannot be retransformed.
+             * The instrumentation instance to use.
              */
-            void retransformClasses(Instrumentation instrumentation, Class<?>[] type) throws UnmodifiableClassException;
+            private final Instrumentation instrumentation;
 
             /**
-             * An action for creating a dispatcher.
+             * The circularity lock to use.
              */
-            enum CreationAction implements PrivilegedAction<Dispatcher> {
+            private final CircularityLock circularityLock;
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+            /**
+             * The pool strategy to use.
+             */
+            private final PoolStrategy poolStrategy;
+
+            /**
+             * The location strategy to use.
+             */
+            private final LocationStrategy locationStrategy;
+
+            /**
+             * The description strategy for resolving type descriptions for types.
+             */
+            private final DescriptionStrategy descriptionStrategy;
+
+            /**
+             * The fallback strategy to apply.
+             */
+            private final FallbackStrategy fallbackStrategy;
+
+            /**
+             * The matcher to identify what types to redefine.
+             */
+            private final RawMatcher matcher;
+
+            /**
+             * Creates a new resolver.
+             *
+             * @param type                The loaded type to resolve.
+             * @param instrumentation     The instrumentation instance to use.
+             * @param circularityLock     The circularity lock to use.
+             * @param poolStrategy        The pool strategy to use.
+             * @param locationStrategy    The location strategy to use.
+             * @param descriptionStrategy The description strategy for resolving type descriptions for types.
+             * @param fallbackStrategy    The fallback strategy to apply.
+             * @param matcher             The matcher to identify what types to redefine.
+             */
+            protected Resolver(Class<?> type,
+                               Instrumentation instrumentation,
+                               CircularityLock circularityLock,
+                               PoolStrategy poolStrategy,
+                               LocationStrategy locationStrategy,
+                               DescriptionStrategy descriptionStrategy,
+                               FallbackStrategy fallbackStrategy,
+                               RawMatcher matcher) {
+                this.type = type;
+                this.instrumentation = instrumentation;
+                this.circularityLock = circularityLock;
+                this.poolStrategy = poolStrategy;
+                this.locationStrategy = locationStrategy;
+                this.descriptionStrategy = descriptionStrategy;
+                this.fallbackStrategy = fallbackStrategy;
+                this.matcher = matcher;
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Dispatcher run() {
+            /**
+             * {@inheritDoc}
+             */
+            public Candidate call() {
+                JavaModule module = JavaModule.ofType(type);
+                boolean release = circularityLock.acquire();
+                try {
+                    TypePool typePool = poolStrategy.typePool(locationStrategy.classFileLocator(type.getClassLoader(), module), type.getClassLoader());
                     try {
-                        return new ForJava6CapableVm(Instrumentation.class.getMethod("isModifiableClass", Class.class),
-                                Instrumentation.class.getMethod("isRetransformClassesSupported"),
-                                Instrumentation.class.getMethod("retransformClasses", Class[].class));
-                    } catch (NoSuchMethodException ignored) {
-                        return ForLegacyVm.INSTANCE;
+                        TypeDescription typeDescription = descriptionStrategy.apply(TypeDescription.ForLoadedType.getName(type),
+                                type,
+                                typePool,
+                                circularityLock,
+                                type.getClassLoader(),
+                                module);
+                        return new Candidate(type, module, typeDescription, type, DISPATCHER.isModifiableClass(instrumentation, type)
+                                && matcher.matches(typeDescription, type.getClassLoader(), module, type, type.getProtectionDomain()));
+                    } catch (Throwable throwable) {
+                        if (descriptionStrategy.isLoadedFirst() && fallbackStrategy.isFallback(type, throwable)) {
+                            TypeDescription typeDescription = typePool.describe(TypeDescription.ForLoadedType.getName(type)).resolve();
+                            return new Candidate(type, module, typeDescription, NO_LOADED_TYPE, matcher.matches(typeDescription,
+                                    type.getClassLoader(),
+                                    module,
+                                    NO_LOADED_TYPE,
+                                    type.getProtectionDomain()));
+                        } else {
+                            throw throwable;
+                        }
+                    }
+                } catch (Throwable throwable) {
+                    return new Candidate(type, module, throwable);
+                } finally {
+                    if (release) {
+                        circularityLock.release();
                     }
                 }
             }
 
             /**
-             * A dispatcher for a legacy VM.
+             * The result of a resolution of a loaded type.
              */
-            enum ForLegacyVm implements Dispatcher {
-
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+            protected static class Candidate {
 
                 /**
-                 * {@inheritDoc}
+                 * The resolved loaded type.
                  */
-                public boolean isModifiableClass(Instrumentation instrumentation, Class<?> type) {
-                    return !type.isArray() && !type.isPrimitive();
-                }
+                private final Class<?> type;
 
                 /**
-                 * {@inheritDoc}
+                 * The type's Java module or {@code null} if the current VM does not support modules.
                  */
-                public boolean isRetransformClassesSupported(Instrumentation instrumentation) {
-                    return false;
-                }
+                private final JavaModule module;
 
                 /**
-                 * {@inheritDoc}
+                 * The type's description or {@code null} if the resolution failed.
                  */
-                public void retransformClasses(Instrumentation instrumentation, Class<?>[] type) {
-                    throw new UnsupportedOperationException("The current VM does not support retransformation");
-                }
-            }
-
-            /**
-             * A dispatcher for a Java 6 capable VM.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForJava6CapableVm implements Dispatcher {
+                private final TypeDescription typeDescription;
 
                 /**
-                 * The {@code Instrumentation#isModifiableClass} method.
+                 * The loaded type being considered or {@code null} if it should be considered non-available.
                  */
-                private final Method isModifiableClass;
+                private final Class<?> classBeingRedefined;
 
                 /**
-                 * The {@code Instrumentation#isRetransformClassesSupported} method.
+                 * {@code true} if the type should be redefined.
                  */
-                private final Method isRetransformClassesSupported;
+                private final boolean matched;
 
                 /**
-                 * The {@code Instrumentation#retransformClasses} method.
+                 * The error that occurred during the resolution or {@code null} if the resolution was successful.
                  */
-                private final Method retransformClasses;
+                private final Throwable throwable;
 
                 /**
-                 * Creates a new Java 6 capable dispatcher.
+                 * Creates a candidate for a successful resolution.
                  *
-                 * @param isModifiableClass             The {@code Instrumentation#isModifiableClass} method.
-                 * @param isRetransformClassesSupported The {@code Instrumentation#isRetransformClassesSupported} method.
-                 * @param retransformClasses            The {@code Instrumentation#retransformClasses} method.
-                 */
-                protected ForJava6CapableVm(Method isModifiableClass, Method isRetransformClassesSupported, Method retransformClasses) {
-                    this.isModifiableClass = isModifiableClass;
-                    this.isRetransformClassesSupported = isRetransformClassesSupported;
-                    this.retransformClasses = retransformClasses;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isModifiableClass(Instrumentation instrumentation, Class<?> type) {
-                    try {
-                        return (Boolean) isModifiableClass.invoke(instrumentation, type);
-                    } catch (IllegalAccessException exception) {
-                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#isModifiableClass", exception);
-                    } catch (InvocationTargetException exception) {
-                        throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#isModifiableClass", exception.getCause());
-                    }
+                 * @param type                The resolved loaded type.
+                 * @param module              The type's Java module or {@code null} if the current VM does not support modules.
+                 * @param typeDescription     The type's description.
+                 * @param classBeingRedefined The loaded type being considered or {@code null} if it should be considered non-available.
+                 * @param matched             {@code true} if the type should be redefined.
+                 */
+                protected Candidate(Class<?> type, JavaModule module, TypeDescription typeDescription, Class<?> classBeingRedefined, boolean matched) {
+                    this.type = type;
+                    this.module = module;
+                    this.typeDescription = typeDescription;
+                    this.classBeingRedefined = classBeingRedefined;
+                    this.matched = matched;
+                    throwable = null;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a candidate for a failed resolution.
+                 *
+                 * @param type      The resolved loaded type.
+                 * @param module    The type's Java module or {@code null} if the current VM does not support modules.
+                 * @param throwable The error that occurred during the resolution.
                  */
-                public boolean isRetransformClassesSupported(Instrumentation instrumentation) {
-                    try {
-                        return (Boolean) isRetransformClassesSupported.invoke(instrumentation);
-                    } catch (IllegalAccessException exception) {
-                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#isRetransformClassesSupported", exception);
-                    } catch (InvocationTargetException exception) {
-                        throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#isRetransformClassesSupported", exception.getCause());
-                    }
+                protected Candidate(Class<?> type, JavaModule module, Throwable throwable) {
+                    this.type = type;
+                    this.module = module;
+                    this.throwable = throwable;
+                    typeDescription = null;
+                    classBeingRedefined = null;
+                    matched = false;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Applies this candidate to a collector or notifies the listener of an error.
+                 *
+                 * @param collector The collector to apply this candidate to.
+                 * @param listener  The listener to notify.
                  */
-                public void retransformClasses(Instrumentation instrumentation, Class<?>[] type) throws UnmodifiableClassException {
-                    try {
-                        retransformClasses.invoke(instrumentation, (Object) type);
-                    } catch (IllegalAccessException exception) {
-                        throw new IllegalStateException("Cannot access java.lang.instrument.Instrumentation#retransformClasses", exception);
-                    } catch (InvocationTargetException exception) {
-                        Throwable cause = exception.getCause();
-                        if (cause instanceof UnmodifiableClassException) {
-                            throw (UnmodifiableClassException) cause;
-                        } else {
-                            throw new IllegalStateException("Error invoking java.lang.instrument.Instrumentation#retransformClasses", cause);
+                protected void apply(Collector collector, AgentBuilder.Listener listener) {
+                    if (throwable == null) {
+                        collector.consider(listener, typeDescription, type, classBeingRedefined, module, matched);
+                    } else {
+                        try {
+                            try {
+                                listener.onDiscovery(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED);
+                            } finally {
+                                try {
+                                    listener.onError(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED, throwable);
+                                } finally {
+                                    listener.onComplete(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, AgentBuilder.Listener.LOADED);
+                                }
+                            }
+                        } catch (Throwable ignored) {
+                            // Ignore exceptions that are thrown by listeners to mimic the behavior of a transformation.
                         }
                     }
                 }
@@ -6977,7 +9089,31 @@ public interface AgentBuilder {
                                     Class<?> classBeingRedefined,
                                     JavaModule module,
                                     boolean unmodifiable) {
-                if (unmodifiable || !matcher.matches(typeDescription, type.getClassLoader(), module, classBeingRedefined, type.getProtectionDomain())) {
+                consider(listener,
+                        typeDescription,
+                        type,
+                        classBeingRedefined,
+                        module,
+                        !unmodifiable && matcher.matches(typeDescription, type.getClassLoader(), module, classBeingRedefined, type.getProtectionDomain()));
+            }
+
+            /**
+             * Does consider the retransformation or redefinition of a loaded type for which it was already determined if it should be modified.
+             *
+             * @param listener            The listener to apply during the consideration.
+             * @param typeDescription     The type description of the type being considered.
+             * @param type                The loaded type being considered.
+             * @param classBeingRedefined The loaded type being considered or {@code null} if it should be considered non-available.
+             * @param module              The type's Java module or {@code null} if the current VM does not support modules.
+             * @param matched             {@code true} if the type should be modified.
+             */
+            protected void consider(AgentBuilder.Listener listener,
+                                    TypeDescription typeDescription,
+                                    Class<?> type,
+                                    Class<?> classBeingRedefined,
+                                    JavaModule module,
+                                    boolean matched) {
+                if (!matched) {
                     try {
                         try {
                             listener.onDiscovery(TypeDescription.ForLoadedType.getName(type), type.getClassLoader(), module, classBeingRedefined != null);
@@ -8519,6 +10655,11 @@ public interface AgentBuilder {
          */
         protected final RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy;
 
+        /**
+         * The resolution strategy for resolving and matching loaded types prior to a redefinition.
+         */
+        protected final RedefinitionStrategy.ResolutionStrategy redefinitionResolutionStrategy;
+
         /**
          * The injection strategy for injecting classes into a class loader.
          */
@@ -8550,6 +10691,16 @@ public interface AgentBuilder {
          */
         protected final InstallationListener installationListener;
 
+        /**
+         * The pre-screening strategy to apply prior to resolving a type description.
+         */
+        protected final PreScreeningStrategy preScreeningStrategy;
+
+        /**
+         * The phase timer to notify about the duration of transformation phases.
+         */
+        protected final PhaseTimer phaseTimer;
+
         /**
          * Identifies types that should not be instrumented.
          */
@@ -8590,12 +10741,15 @@ public interface AgentBuilder {
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE,
                     InjectionStrategy.UsingReflection.INSTANCE,
                     LambdaInstrumentationStrategy.DISABLED,
                     DescriptionStrategy.Default.HYBRID,
                     FallbackStrategy.ByThrowableType.ofOptionalTypes(),
                     ClassFileBufferStrategy.Default.RETAINING,
                     InstallationListener.NoOp.INSTANCE,
+                    PreScreeningStrategy.Disabled.INSTANCE,
+                    PhaseTimer.NoOp.INSTANCE,
                     new RawMatcher.Disjunction(
                             new RawMatcher.ForElementMatchers(any(), isBootstrapClassLoader().or(isExtensionClassLoader())),
                             new RawMatcher.ForElementMatchers(nameStartsWith("net.bytebuddy.").or(nameStartsWith("sun.reflect.")).<TypeDescription>or(isSynthetic()))),
@@ -8619,6 +10773,7 @@ public interface AgentBuilder {
          * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
          * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
          * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
+         * @param redefinitionResolutionStrategy   The resolution strategy for resolving and matching loaded types prior to a redefinition.
          * @param injectionStrategy                The injection strategy for injecting classes into a class loader.
          * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
          *                                         instrumentation of classes that represent lambda expressions.
@@ -8626,6 +10781,8 @@ public interface AgentBuilder {
          * @param fallbackStrategy                 The fallback strategy to apply.
          * @param classFileBufferStrategy          The class file buffer strategy to use.
          * @param installationListener             The installation listener to notify.
+         * @param preScreeningStrategy             The pre-screening strategy to apply prior to resolving a type description.
+         * @param phaseTimer                       The phase timer to notify about the duration of transformation phases.
          * @param ignoreMatcher                    Identifies types that should not be instrumented.
          * @param transformations                  The transformations to apply for any non-ignored type.
          */
@@ -8643,12 +10800,15 @@ public interface AgentBuilder {
                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                           RedefinitionStrategy.Listener redefinitionListener,
                           RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
+                          RedefinitionStrategy.ResolutionStrategy redefinitionResolutionStrategy,
                           InjectionStrategy injectionStrategy,
                           LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                           DescriptionStrategy descriptionStrategy,
                           FallbackStrategy fallbackStrategy,
                           ClassFileBufferStrategy classFileBufferStrategy,
                           InstallationListener installationListener,
+                          PreScreeningStrategy preScreeningStrategy,
+                          PhaseTimer phaseTimer,
                           RawMatcher ignoreMatcher,
                           List<Transformation> transformations) {
             this.byteBuddy = byteBuddy;
@@ -8665,12 +10825,15 @@ public interface AgentBuilder {
             this.redefinitionBatchAllocator = redefinitionBatchAllocator;
             this.redefinitionListener = redefinitionListener;
             this.redefinitionResubmissionStrategy = redefinitionResubmissionStrategy;
+            this.redefinitionResolutionStrategy = redefinitionResolutionStrategy;
             this.injectionStrategy = injectionStrategy;
             this.lambdaInstrumentationStrategy = lambdaInstrumentationStrategy;
             this.descriptionStrategy = descriptionStrategy;
             this.fallbackStrategy = fallbackStrategy;
             this.classFileBufferStrategy = classFileBufferStrategy;
             this.installationListener = installationListener;
+            this.preScreeningStrategy = preScreeningStrategy;
+            this.phaseTimer = phaseTimer;
             this.ignoreMatcher = ignoreMatcher;
             this.transformations = transformations;
         }
@@ -8785,12 +10948,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8813,12 +10979,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8841,12 +11010,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8869,12 +11041,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8897,12 +11072,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8925,12 +11103,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8953,12 +11134,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -8981,12 +11165,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9009,12 +11196,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9037,12 +11227,15 @@ public interface AgentBuilder {
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9065,12 +11258,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9093,12 +11289,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9121,12 +11320,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9149,12 +11351,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9177,12 +11382,77 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
+                    ignoreMatcher,
+                    transformations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(PreScreeningStrategy preScreeningStrategy) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
+                    ignoreMatcher,
+                    transformations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder withPhaseTimer(PhaseTimer phaseTimer) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    new PhaseTimer.Compound(this.phaseTimer, phaseTimer),
                     ignoreMatcher,
                     transformations);
         }
@@ -9205,12 +11475,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     new InstallationListener.Compound(this.installationListener, installationListener),
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9233,12 +11506,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9263,12 +11539,15 @@ public interface AgentBuilder {
                     redefinitionBatchAllocator,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
+                    redefinitionResolutionStrategy,
                     injectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations);
         }
@@ -9407,6 +11686,8 @@ public interface AgentBuilder {
                     fallbackStrategy,
                     classFileBufferStrategy,
                     installationListener,
+                    preScreeningStrategy,
+                    phaseTimer,
                     ignoreMatcher,
                     transformations,
                     circularityLock);
@@ -9507,6 +11788,7 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionResolutionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
@@ -10137,6 +12419,16 @@ public interface AgentBuilder {
              */
             private final InstallationListener installationListener;
 
+            /**
+             * The pre-screening strategy to apply prior to resolving a type description.
+             */
+            private final PreScreeningStrategy preScreeningStrategy;
+
+            /**
+             * The phase timer to notify about the duration of transformation phases.
+             */
+            private final PhaseTimer phaseTimer;
+
             /**
              * Identifies types that should not be instrumented.
              */
@@ -10173,6 +12465,8 @@ public interface AgentBuilder {
              * @param fallbackStrategy              The fallback strategy to use.
              * @param installationListener          The installation listener to notify.
              * @param classFileBufferStrategy       The class file buffer strategy to use.
+             * @param preScreeningStrategy          The pre-screening strategy to apply prior to resolving a type description.
+             * @param phaseTimer                    The phase timer to notify about the duration of transformation phases.
              * @param ignoreMatcher                 Identifies types that should not be instrumented.
              * @param transformations               The transformations to apply on non-ignored types.
              * @param circularityLock               The circularity lock to use.
@@ -10190,6 +12484,8 @@ public interface AgentBuilder {
                                         FallbackStrategy fallbackStrategy,
                                         ClassFileBufferStrategy classFileBufferStrategy,
                                         InstallationListener installationListener,
+                                        PreScreeningStrategy preScreeningStrategy,
+                                        PhaseTimer phaseTimer,
                                         RawMatcher ignoreMatcher,
                                         List<Transformation> transformations,
                                         CircularityLock circularityLock) {
@@ -10206,6 +12502,8 @@ public interface AgentBuilder {
                 this.fallbackStrategy = fallbackStrategy;
                 this.classFileBufferStrategy = classFileBufferStrategy;
                 this.installationListener = installationListener;
+                this.preScreeningStrategy = preScreeningStrategy;
+                this.phaseTimer = phaseTimer;
                 this.ignoreMatcher = ignoreMatcher;
                 this.transformations = transformations;
                 this.circularityLock = circularityLock;
@@ -10220,7 +12518,9 @@ public interface AgentBuilder {
                                     Class<?> classBeingRedefined,
                                     ProtectionDomain protectionDomain,
                                     byte[] binaryRepresentation) {
-                if (circularityLock.acquire()) {
+                if (internalTypeName != null && preScreeningStrategy.isIgnored(internalTypeName, classLoader)) {
+                    return NO_TRANSFORMATION;
+                } else if (circularityLock.acquire()) {
                     try {
                         return AccessController.doPrivileged(new LegacyVmDispatcher(classLoader,
                                 internalTypeName,
@@ -10253,7 +12553,9 @@ public interface AgentBuilder {
                                        Class<?> classBeingRedefined,
                                        ProtectionDomain protectionDomain,
                                        byte[] binaryRepresentation) {
-                if (circularityLock.acquire()) {
+                if (internalTypeName != null && preScreeningStrategy.isIgnored(internalTypeName, classLoader)) {
+                    return NO_TRANSFORMATION;
+                } else if (circularityLock.acquire()) {
                     try {
                         return AccessController.doPrivileged(new Java9CapableVmDispatcher(rawModule,
                                 classLoader,
@@ -10289,6 +12591,7 @@ public interface AgentBuilder {
                 if (internalTypeName == null || !lambdaInstrumentationStrategy.isInstrumented(classBeingRedefined)) {
                     return NO_TRANSFORMATION;
                 }
+                long timestamp = timestamp();
                 String typeName = internalTypeName.replace('/', '.');
                 try {
                     listener.onDiscovery(typeName, classLoader, module, classBeingRedefined != null);
@@ -10298,6 +12601,7 @@ public interface AgentBuilder {
                             module,
                             protectionDomain), locationStrategy.classFileLocator(classLoader, module));
                     TypePool typePool = poolStrategy.typePool(classFileLocator, classLoader);
+                    onPhase(PhaseTimer.Phase.DISCOVERY, classLoader, timestamp);
                     try {
                         return doTransform(module, classLoader, typeName, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator);
                     } catch (Throwable throwable) {
@@ -10336,7 +12640,9 @@ public interface AgentBuilder {
                                        ProtectionDomain protectionDomain,
                                        TypePool typePool,
                                        ClassFileLocator classFileLocator) {
+                long timestamp = timestamp();
                 TypeDescription typeDescription = descriptionStrategy.apply(typeName, classBeingRedefined, typePool, circularityLock, classLoader, module);
+                timestamp = onPhase(PhaseTimer.Phase.DESCRIPTION, classLoader, timestamp);
                 List<Transformer> transformers = new ArrayList<Transformer>();
                 if (!ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
                     for (Transformation transformation : transformations) {
@@ -10348,6 +12654,7 @@ public interface AgentBuilder {
                         }
                     }
                 }
+                timestamp = onPhase(PhaseTimer.Phase.MATCHING, classLoader, timestamp);
                 if (transformers.isEmpty()) {
                     listener.onIgnored(typeDescription, classLoader, module, loaded);
                     return Transformation.NONE;
@@ -10364,11 +12671,41 @@ public interface AgentBuilder {
                     builder = transformer.transform(builder, typeDescription, classLoader, module);
                 }
                 DynamicType.Unloaded<?> dynamicType = dispatcher.apply(builder).make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
+                timestamp = onPhase(PhaseTimer.Phase.EMISSION, classLoader, timestamp);
                 dispatcher.register(dynamicType, classLoader, protectionDomain, injectionStrategy);
+                onPhase(PhaseTimer.Phase.REGISTRATION, classLoader, timestamp);
                 listener.onTransformation(typeDescription, classLoader, module, loaded, dynamicType);
                 return dynamicType.getBytes();
             }
 
+            /**
+             * Returns a timestamp for the beginning of a phase.
+             *
+             * @return The value of {@link System#nanoTime()} or {@code 0} if no phase timer is registered.
+             */
+            private long timestamp() {
+                return phaseTimer == PhaseTimer.NoOp.INSTANCE
+                        ? 0L
+                        : System.nanoTime();
+            }
+
+            /**
+             * Notifies the phase timer about the completion of a phase.
+             *
+             * @param phase       The completed phase.
+             * @param classLoader The class loader of the type being transformed.
+             * @param timestamp   The value of {@link System#nanoTime()} at the beginning of the phase.
+             * @return The value of {@link System#nanoTime()} at the end of the phase or {@code 0} if no phase timer is registered.
+             */
+            private long onPhase(PhaseTimer.Phase phase, ClassLoader classLoader, long timestamp) {
+                if (phaseTimer == PhaseTimer.NoOp.INSTANCE) {
+                    return 0L;
+                }
+                long current = System.nanoTime();
+                phaseTimer.onPhase(phase, classLoader, current - timestamp);
+                return current;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -10434,6 +12771,8 @@ public interface AgentBuilder {
                  * @param fallbackStrategy              The fallback strategy to use.
                  * @param classFileBufferStrategy       The class file buffer strategy to use.
                  * @param installationListener          The installation listener to notify.
+                 * @param preScreeningStrategy          The pre-screening strategy to apply prior to resolving a type description.
+                 * @param phaseTimer                    The phase timer to notify about the duration of transformation phases.
                  * @param ignoreMatcher                 Identifies types that should not be instrumented.
                  * @param transformations               The transformations to apply on non-ignored types.
                  * @param circularityLock               The circularity lock to use.
@@ -10452,6 +12791,8 @@ public interface AgentBuilder {
                                                     FallbackStrategy fallbackStrategy,
                                                     ClassFileBufferStrategy classFileBufferStrategy,
                                                     InstallationListener installationListener,
+                                                    PreScreeningStrategy preScreeningStrategy,
+                                                    PhaseTimer phaseTimer,
                                                     RawMatcher ignoreMatcher,
                                                     List<Transformation> transformations,
                                                     CircularityLock circularityLock);
@@ -10501,6 +12842,8 @@ public interface AgentBuilder {
                                             FallbackStrategy.class,
                                             ClassFileBufferStrategy.class,
                                             InstallationListener.class,
+                                            PreScreeningStrategy.class,
+                                            PhaseTimer.class,
                                             RawMatcher.class,
                                             List.class,
                                             CircularityLock.class));
@@ -10549,6 +12892,8 @@ public interface AgentBuilder {
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
                                                                InstallationListener installationListener,
+                                                               PreScreeningStrategy preScreeningStrategy,
+                                                               PhaseTimer phaseTimer,
                                                                RawMatcher ignoreMatcher,
                                                                List<Transformation> transformations,
                                                                CircularityLock circularityLock) {
@@ -10566,6 +12911,8 @@ public interface AgentBuilder {
                                     fallbackStrategy,
                                     classFileBufferStrategy,
                                     installationListener,
+                                    preScreeningStrategy,
+                                    phaseTimer,
                                     ignoreMatcher,
                                     transformations,
                                     circularityLock);
@@ -10605,6 +12952,8 @@ public interface AgentBuilder {
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
                                                                InstallationListener installationListener,
+                                                               PreScreeningStrategy preScreeningStrategy,
+                                                               PhaseTimer phaseTimer,
                                                                RawMatcher ignoreMatcher,
                                                                List<Transformation> transformations,
                                                                CircularityLock circularityLock) {
@@ -10621,6 +12970,8 @@ public interface AgentBuilder {
                                 fallbackStrategy,
                                 classFileBufferStrategy,
                                 installationListener,
+                                preScreeningStrategy,
+                                phaseTimer,
                                 ignoreMatcher,
                                 transformations,
                                 circularityLock);
@@ -10866,6 +13217,20 @@ public interface AgentBuilder {
                 return materialize().with(classFileBufferStrategy);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(PreScreeningStrategy preScreeningStrategy) {
+                return materialize().with(preScreeningStrategy);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder withPhaseTimer(PhaseTimer phaseTimer) {
+                return materialize().withPhaseTimer(phaseTimer);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -11083,12 +13448,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         rawMatcher,
                         transformations);
             }
@@ -11130,6 +13498,7 @@ public interface AgentBuilder {
              * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
              * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
              * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
+             * @param redefinitionResolutionStrategy   The resolution strategy for resolving and matching loaded types prior to a redefinition.
              * @param injectionStrategy                The injection strategy to use.
              * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
              *                                         instrumentation of classes that represent lambda expressions.
@@ -11137,6 +13506,8 @@ public interface AgentBuilder {
              * @param fallbackStrategy                 The fallback strategy to apply.
              * @param classFileBufferStrategy          The class file buffer strategy to use.
              * @param installationListener             The installation listener to notify.
+             * @param preScreeningStrategy             The pre-screening strategy to apply prior to resolving a type description.
+             * @param phaseTimer                       The phase timer to notify about the duration of transformation phases.
              * @param ignoreMatcher                    Identifies types that should not be instrumented.
              * @param transformations                  The transformations to apply on non-ignored types.
              */
@@ -11154,12 +13525,15 @@ public interface AgentBuilder {
                                  RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                  RedefinitionStrategy.Listener redefinitionListener,
                                  RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
+                                 RedefinitionStrategy.ResolutionStrategy redefinitionResolutionStrategy,
                                  InjectionStrategy injectionStrategy,
                                  LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                                  DescriptionStrategy descriptionStrategy,
                                  FallbackStrategy fallbackStrategy,
                                  ClassFileBufferStrategy classFileBufferStrategy,
                                  InstallationListener installationListener,
+                                 PreScreeningStrategy preScreeningStrategy,
+                                 PhaseTimer phaseTimer,
                                  RawMatcher ignoreMatcher,
                                  List<Transformation> transformations) {
                 super(byteBuddy,
@@ -11176,12 +13550,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         transformations);
             }
@@ -11207,12 +13584,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         transformations);
             }
@@ -11245,12 +13625,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         transformations);
             }
@@ -11276,12 +13659,49 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         new RedefinitionStrategy.Listener.Compound(this.redefinitionListener, redefinitionListener),
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
+                        injectionStrategy,
+                        lambdaInstrumentationStrategy,
+                        descriptionStrategy,
+                        fallbackStrategy,
+                        classFileBufferStrategy,
+                        installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
+                        ignoreMatcher,
+                        transformations);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public RedefinitionListenable with(RedefinitionStrategy.ResolutionStrategy redefinitionResolutionStrategy) {
+                if (!redefinitionStrategy.isEnabled()) {
+                    throw new IllegalStateException("Cannot set redefinition resolution strategy when redefinition is disabled");
+                }
+                return new Redefining(byteBuddy,
+                        listener,
+                        circularityLock,
+                        poolStrategy,
+                        typeStrategy,
+                        locationStrategy,
+                        nativeMethodStrategy,
+                        transformerDecorator,
+                        initializationStrategy,
+                        redefinitionStrategy,
+                        redefinitionDiscoveryStrategy,
+                        redefinitionBatchAllocator,
+                        redefinitionListener,
+                        redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         transformations);
             }
@@ -11323,12 +13743,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, matcher, classLoaderFilter),
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         transformations);
             }
@@ -11386,12 +13809,15 @@ public interface AgentBuilder {
                         redefinitionBatchAllocator,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
+                        redefinitionResolutionStrategy,
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
                         installationListener,
+                        preScreeningStrategy,
+                        phaseTimer,
                         ignoreMatcher,
                         CompoundList.of(transformations, new Transformation(rawMatcher, transformers, terminal)));
             }
@@ -35,6 +35,7 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bytecode.*;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.collection.ArgumentViewFactory;
 import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
 import net.bytebuddy.implementation.bytecode.constant.*;
@@ -44,9 +45,11 @@ import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.ArgumentView;
 import net.bytebuddy.utility.JavaConstant;
 import net.bytebuddy.utility.JavaType;
 import net.bytebuddy.utility.OpenedClassReader;
+import net.bytebuddy.utility.PreDecodedClassReader;
 import net.bytebuddy.utility.visitor.ExceptionTableSensitiveMethodVisitor;
 import net.bytebuddy.utility.visitor.FramePaddingMethodVisitor;
 import net.bytebuddy.utility.visitor.LineNumberPrependingMethodVisitor;
@@ -247,6 +250,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      */
     private final Implementation delegate;
 
+    /**
+     * The rate at which invocations of an instrumented method are sampled where {@code 1} indicates that every invocation is advised.
+     */
+    private final int sampling;
+
     /**
      * Creates a new advice.
      *
@@ -254,7 +262,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @param methodExit  The dispatcher for instrumenting the instrumented method upon exiting.
      */
     protected Advice(Dispatcher.Resolved.ForMethodEnter methodEnter, Dispatcher.Resolved.ForMethodExit methodExit) {
-        this(methodEnter, methodExit, Assigner.DEFAULT, ExceptionHandler.Default.SUPPRESSING, SuperMethodCall.INSTANCE);
+        this(methodEnter, methodExit, Assigner.DEFAULT, ExceptionHandler.Default.SUPPRESSING, SuperMethodCall.INSTANCE, 1);
     }
 
     /**
@@ -265,17 +273,20 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @param assigner         The assigner to use.
      * @param exceptionHandler The exception handler to apply.
      * @param delegate         The delegate implementation to apply if this advice is used as an instrumentation.
+     * @param sampling         The rate at which invocations of an instrumented method are sampled where {@code 1} indicates that every invocation is advised.
      */
     private Advice(Dispatcher.Resolved.ForMethodEnter methodEnter,
                    Dispatcher.Resolved.ForMethodExit methodExit,
                    Assigner assigner,
                    ExceptionHandler exceptionHandler,
-                   Implementation delegate) {
+                   Implementation delegate,
+                   int sampling) {
         this.methodEnter = methodEnter;
         this.methodExit = methodExit;
         this.assigner = assigner;
         this.exceptionHandler = exceptionHandler;
         this.delegate = delegate;
+        this.sampling = sampling;
     }
 
     /**
@@ -320,7 +331,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @return A method visitor wrapper representing the supplied advice.
      */
     public static Advice to(TypeDescription advice, ClassFileLocator classFileLocator) {
-        return to(advice, PostProcessor.NoOp.INSTANCE, classFileLocator, Collections.<OffsetMapping.Factory<?>>emptyList(), Delegator.ForStaticInvocation.INSTANCE);
+        return to(advice, PostProcessor.NoOp.INSTANCE, classFileLocator, Collections.<OffsetMapping.Factory<?>>emptyList(), Delegator.ForStaticInvocation.INSTANCE, Decoding.ON_DEMAND);
     }
 
     /**
@@ -331,13 +342,15 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @param classFileLocator     The class file locator for locating the advisory class's class file.
      * @param userFactories        A list of custom factories for user generated offset mappings.
      * @param delegator            The delegator to use.
+     * @param decoding             The decoding to apply for reading the class file of the advice class.
      * @return A method visitor wrapper representing the supplied advice.
      */
     protected static Advice to(TypeDescription advice,
                                PostProcessor.Factory postProcessorFactory,
                                ClassFileLocator classFileLocator,
                                List<? extends OffsetMapping.Factory<?>> userFactories,
-                               Delegator delegator) {
+                               Delegator delegator,
+                               Decoding decoding) {
         Dispatcher.Unresolved methodEnter = Dispatcher.Inactive.INSTANCE, methodExit = Dispatcher.Inactive.INSTANCE;
         for (MethodDescription.InDefinedShape methodDescription : advice.getDeclaredMethods()) {
             methodEnter = locate(OnMethodEnter.class, INLINE_ENTER, methodEnter, methodDescription, delegator);
@@ -348,7 +361,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
         }
         try {
             ClassReader classReader = methodEnter.isBinary() || methodExit.isBinary()
-                    ? OpenedClassReader.of(classFileLocator.locate(advice.getName()).resolve())
+                    ? decoding.read(classFileLocator.locate(advice.getName()).resolve())
                     : UNDEFINED;
             return new Advice(methodEnter.asMethodEnter(userFactories, classReader, methodExit, postProcessorFactory), methodExit.asMethodExit(userFactories, classReader, methodEnter, postProcessorFactory));
         } catch (IOException exception) {
@@ -405,7 +418,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @return A method visitor wrapper representing the supplied advice.
      */
     public static Advice to(TypeDescription enterAdvice, TypeDescription exitAdvice, ClassFileLocator classFileLocator) {
-        return to(enterAdvice, exitAdvice, PostProcessor.NoOp.INSTANCE, classFileLocator, Collections.<OffsetMapping.Factory<?>>emptyList(), Delegator.ForStaticInvocation.INSTANCE);
+        return to(enterAdvice, exitAdvice, PostProcessor.NoOp.INSTANCE, classFileLocator, Collections.<OffsetMapping.Factory<?>>emptyList(), Delegator.ForStaticInvocation.INSTANCE, Decoding.ON_DEMAND);
     }
 
     /**
@@ -417,6 +430,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @param classFileLocator     The class file locator for locating the advisory class's class file.
      * @param userFactories        A list of custom factories for user generated offset mappings.
      * @param delegator            The delegator to use.
+     * @param decoding             The decoding to apply for reading the class files of the advice classes.
      * @return A method visitor wrapper representing the supplied advice.
      */
     protected static Advice to(TypeDescription enterAdvice,
@@ -424,7 +438,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                PostProcessor.Factory postProcessorFactory,
                                ClassFileLocator classFileLocator,
                                List<? extends OffsetMapping.Factory<?>> userFactories,
-                               Delegator delegator) {
+                               Delegator delegator,
+                               Decoding decoding) {
         Dispatcher.Unresolved methodEnter = Dispatcher.Inactive.INSTANCE, methodExit = Dispatcher.Inactive.INSTANCE;
         for (MethodDescription.InDefinedShape methodDescription : enterAdvice.getDeclaredMethods()) {
             methodEnter = locate(OnMethodEnter.class, INLINE_ENTER, methodEnter, methodDescription, delegator);
@@ -440,9 +455,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
         }
         try {
             return new Advice(methodEnter.asMethodEnter(userFactories, methodEnter.isBinary()
-                    ? OpenedClassReader.of(classFileLocator.locate(enterAdvice.getName()).resolve())
+                    ? decoding.read(classFileLocator.locate(enterAdvice.getName()).resolve())
                     : UNDEFINED, methodExit, postProcessorFactory), methodExit.asMethodExit(userFactories, methodExit.isBinary()
-                    ? OpenedClassReader.of(classFileLocator.locate(exitAdvice.getName()).resolve())
+                    ? decoding.read(classFileLocator.locate(exitAdvice.getName()).resolve())
                     : UNDEFINED, methodEnter, postProcessorFactory));
         } catch (IOException exception) {
             throw new IllegalStateException("Error reading class file of " + enterAdvice + " or " + exitAdvice, exception);
@@ -542,7 +557,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     instrumentedMethod,
                     methodEnter,
                     writerFlags,
-                    readerFlags);
+                    readerFlags,
+                    sampling);
         } else if (methodExit.getThrowable().represents(NoExceptionHandler.class)) {
             return new AdviceVisitor.WithExitAdvice.WithoutExceptionHandling(methodVisitor,
                     implementationContext,
@@ -553,7 +569,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     methodEnter,
                     methodExit,
                     writerFlags,
-                    readerFlags);
+                    readerFlags,
+                    sampling);
         } else if (instrumentedMethod.isConstructor()) {
             throw new IllegalStateException("Cannot catch exception during constructor call for " + instrumentedMethod);
         } else {
@@ -567,6 +584,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     methodExit,
                     writerFlags,
                     readerFlags,
+                    sampling,
                     methodExit.getThrowable());
         }
     }
@@ -592,7 +610,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @return A version of this advice that uses the specified assigner.
      */
     public Advice withAssigner(Assigner assigner) {
-        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, delegate);
+        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, delegate, sampling);
     }
 
     /**
@@ -623,7 +641,29 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @return A version of this advice that applies the supplied exception handler.
      */
     public Advice withExceptionHandler(ExceptionHandler exceptionHandler) {
-        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, delegate);
+        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, delegate, sampling);
+    }
+
+    /**
+     * <p>
+     * Configures this advice to only be executed for about one in {@code sampling} invocations of an instrumented method. The decision is
+     * made by a cheap check that is inlined ahead of the enter advice. If an invocation is not sampled, the enter advice is skipped as if it
+     * returned its return type's default value, but without applying {@link OnMethodEnter#skipOn()} or any post processing. If an invocation
+     * is not sampled, the exit advice is skipped consistently for this invocation, including {@link OnMethodExit#repeatOn()}.
+     * </p>
+     * <p>
+     * <b>Important</b>: The sampling decision is made using {@code java.util.concurrent.ThreadLocalRandom} and requires a Java 7 or later
+     * runtime. The decision is made within the scope of an advice method's exception suppression.
+     * </p>
+     *
+     * @param sampling The average number of invocations of which a single invocation is advised, where {@code 1} advises every invocation.
+     * @return A version of this advice that only applies its advice for a sample of invocations.
+     */
+    public Advice withSampling(int sampling) {
+        if (sampling < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + sampling);
+        }
+        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, delegate, sampling);
     }
 
     /**
@@ -633,7 +673,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * @return An implementation that applies the supplied implementation and wraps it with this advice.
      */
     public Implementation wrap(Implementation implementation) {
-        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, implementation);
+        return new Advice(methodEnter, methodExit, assigner, exceptionHandler, implementation, sampling);
     }
 
     /**
@@ -1966,7 +2006,12 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                 public OffsetMapping make(ParameterDescription.InDefinedShape target,
                                           AnnotationDescription.Loadable<AllArguments> annotation,
                                           AdviceType adviceType) {
-                    if (!target.getType().represents(Object.class) && !target.getType().isArray()) {
+                    if (target.getType().represents(ArgumentView.class)) {
+                        if (!annotation.load().readOnly()) {
+                            throw new IllegalStateException("Cannot write to an argument view for " + target);
+                        }
+                        return ForArgumentView.INSTANCE;
+                    } else if (!target.getType().represents(Object.class) && !target.getType().isArray()) {
                         throw new IllegalStateException("Cannot use AllArguments annotation on a non-array type");
                     } else if (adviceType.isDelegation() && !annotation.load().readOnly()) {
                         throw new IllegalStateException("Cannot define writable field access for " + target);
@@ -1979,6 +2024,35 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             }
         }
 
+        /**
+         * An offset mapping that maps all arguments of the instrumented method to an {@link ArgumentView} without boxing
+         * any primitive arguments. The view is acquired from the current thread's pool before the advice method's code and it
+         * is populated on every read such that it always reflects the current argument values.
+         */
+        enum ForArgumentView implements OffsetMapping {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Target resolve(TypeDescription instrumentedType,
+                                  MethodDescription instrumentedMethod,
+                                  Assigner assigner,
+                                  ArgumentHandler argumentHandler,
+                                  Sort sort) {
+                List<StackManipulation> valueReads = new ArrayList<StackManipulation>(instrumentedMethod.getParameters().size());
+                for (ParameterDescription parameterDescription : instrumentedMethod.getParameters()) {
+                    valueReads.add(MethodVariableAccess.of(parameterDescription.getType())
+                            .loadFrom(argumentHandler.argument(parameterDescription.getOffset())));
+                }
+                return new Target.ForStackManipulation(new ArgumentViewFactory.ForCurrent(instrumentedMethod.getParameters().asTypeList(), valueReads));
+            }
+        }
+
         /**
          * Maps the declaring type of the instrumented method.
          */
@@ -2059,6 +2133,69 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             protected abstract boolean isRepresentable(MethodDescription instrumentedMethod);
         }
 
+        /**
+         * Maps a constant representing the instrumented method that is only resolved once without requiring a cache field,
+         * what makes this mapping applicable to retransformed classes. For class files of at least Java 11, the constant is
+         * resolved by a dynamic constant. Otherwise, the constant is recreated for every read.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForCachedInstrumentedMethod implements OffsetMapping {
+
+            /**
+             * The offset mapping that determines what methods are representable.
+             */
+            private final ForInstrumentedMethod delegate;
+
+            /**
+             * Creates a new offset mapping for a cached constant that represents the instrumented method.
+             *
+             * @param delegate The offset mapping that determines what methods are representable.
+             */
+            public ForCachedInstrumentedMethod(ForInstrumentedMethod delegate) {
+                this.delegate = delegate;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Target resolve(TypeDescription instrumentedType,
+                                  MethodDescription instrumentedMethod,
+                                  Assigner assigner,
+                                  ArgumentHandler argumentHandler,
+                                  Sort sort) {
+                if (!delegate.isRepresentable(instrumentedMethod) || instrumentedMethod.isTypeInitializer()) {
+                    throw new IllegalStateException("Cannot represent " + instrumentedMethod + " as given cached method constant");
+                }
+                return new Target.ForStackManipulation(MethodConstant.ofDynamic(instrumentedMethod.asDefined()));
+            }
+        }
+
+        /**
+         * Maps a method handle constant representing the instrumented method. A method handle constant is resolved only once
+         * by the constant pool.
+         */
+        enum ForInstrumentedMethodHandle implements OffsetMapping {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Target resolve(TypeDescription instrumentedType,
+                                  MethodDescription instrumentedMethod,
+                                  Assigner assigner,
+                                  ArgumentHandler argumentHandler,
+                                  Sort sort) {
+                if (instrumentedMethod.isTypeInitializer()) {
+                    throw new IllegalStateException("Cannot represent " + instrumentedMethod + " as method handle constant");
+                }
+                return new Target.ForStackManipulation(new JavaConstantValue(JavaConstant.MethodHandle.of(instrumentedMethod.asDefined())));
+            }
+        }
+
         /**
          * An offset mapping for a field.
          */
@@ -2738,11 +2875,19 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     if (target.getType().asErasure().represents(Class.class)) {
                         return OffsetMapping.ForInstrumentedType.INSTANCE;
                     } else if (target.getType().asErasure().represents(Method.class)) {
-                        return OffsetMapping.ForInstrumentedMethod.METHOD;
+                        return annotation.load().cache()
+                                ? new OffsetMapping.ForCachedInstrumentedMethod(OffsetMapping.ForInstrumentedMethod.METHOD)
+                                : OffsetMapping.ForInstrumentedMethod.METHOD;
                     } else if (target.getType().asErasure().represents(Constructor.class)) {
-                        return OffsetMapping.ForInstrumentedMethod.CONSTRUCTOR;
+                        return annotation.load().cache()
+                                ? new OffsetMapping.ForCachedInstrumentedMethod(OffsetMapping.ForInstrumentedMethod.CONSTRUCTOR)
+                                : OffsetMapping.ForInstrumentedMethod.CONSTRUCTOR;
                     } else if (JavaType.EXECUTABLE.getTypeStub().equals(target.getType().asErasure())) {
-                        return OffsetMapping.ForInstrumentedMethod.EXECUTABLE;
+                        return annotation.load().cache()
+                                ? new OffsetMapping.ForCachedInstrumentedMethod(OffsetMapping.ForInstrumentedMethod.EXECUTABLE)
+                                : OffsetMapping.ForInstrumentedMethod.EXECUTABLE;
+                    } else if (JavaType.METHOD_HANDLE.getTypeStub().equals(target.getType().asErasure())) {
+                        return OffsetMapping.ForInstrumentedMethodHandle.INSTANCE;
                     } else if (target.getType().asErasure().isAssignableFrom(String.class)) {
                         return ForOrigin.parse(annotation.load().value());
                     } else {
@@ -5267,7 +5412,14 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * A stack map frame handler for an advice method.
          */
         interface ForAdvice extends StackMapFrameHandler {
-            /* marker interface */
+
+            /**
+             * Injects a frame that represents the state prior to executing the advice code, i.e. before any of the advice method's
+             * local variables are defined.
+             *
+             * @param methodVisitor The method visitor onto which to apply the stack map frame.
+             */
+            void injectStartFrame(MethodVisitor methodVisitor);
         }
 
         /**
@@ -6301,6 +6453,17 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     }
                 }
 
+                /**
+                 * {@inheritDoc}
+                 */
+                public void injectStartFrame(MethodVisitor methodVisitor) {
+                    if (!expandFrames && currentFrameDivergence == 0) {
+                        methodVisitor.visitFrame(Opcodes.F_SAME, EMPTY.length, EMPTY, EMPTY.length, EMPTY);
+                    } else {
+                        injectFullFrame(methodVisitor, initialization, startTypes, Collections.<TypeDescription>emptyList());
+                    }
+                }
+
                 /**
                  * {@inheritDoc}
                  */
@@ -6732,6 +6895,463 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             }
         }
 
+        /**
+         * An argument view handler is responsible for acquiring a pooled {@link ArgumentView} before the code of an advice method
+         * and for releasing it after this code completes, also if it completes exceptionally.
+         */
+        interface ArgumentViewHandler {
+
+            /**
+             * Binds the argument view handler for instrumenting a specific method.
+             *
+             * @param instrumentedMethod The instrumented method.
+             * @return A bound version of the argument view handler.
+             */
+            Bound bind(MethodDescription instrumentedMethod);
+
+            /**
+             * A bound version of an argument view handler that must not be reused.
+             */
+            interface Bound {
+
+                /**
+                 * Invoked to prepare the exception handler that releases the argument view. This method must be invoked after
+                 * all other exception handlers of the advice method were registered.
+                 *
+                 * @param methodVisitor The method visitor of the instrumented method.
+                 */
+                void onPrepare(MethodVisitor methodVisitor);
+
+                /**
+                 * Invoked at the start of the advice method's code where the argument view is acquired.
+                 *
+                 * @param methodVisitor         The method visitor of the instrumented method.
+                 * @param implementationContext The implementation context to use.
+                 * @param methodSizeHandler     The advice method's method size handler.
+                 */
+                void onStart(MethodVisitor methodVisitor,
+                             Implementation.Context implementationContext,
+                             MethodSizeHandler.ForAdvice methodSizeHandler);
+
+                /**
+                 * Invoked at the end of an inlined advice method's code where the argument view is released. At this point, the
+                 * advice method's return value is expected on the operand stack. As this code is reached by jumps, a frame is
+                 * expected to be injected for an advice method with a non-{@code void} return type.
+                 *
+                 * @param methodVisitor         The method visitor of the instrumented method.
+                 * @param implementationContext The implementation context to use.
+                 * @param methodSizeHandler     The advice method's method size handler.
+                 * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
+                 * @param returnType            The return type of the advice method.
+                 */
+                void onEnd(MethodVisitor methodVisitor,
+                           Implementation.Context implementationContext,
+                           MethodSizeHandler.ForAdvice methodSizeHandler,
+                           StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                           TypeDefinition returnType);
+
+                /**
+                 * Invoked at the end of a delegating advice method's code where the argument view is released. At this point, the
+                 * advice method's return value is expected on the operand stack.
+                 *
+                 * @param methodVisitor         The method visitor of the instrumented method.
+                 * @param implementationContext The implementation context to use.
+                 * @param methodSizeHandler     The advice method's method size handler.
+                 * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
+                 */
+                void onEndWithSkip(MethodVisitor methodVisitor,
+                                   Implementation.Context implementationContext,
+                                   MethodSizeHandler.ForAdvice methodSizeHandler,
+                                   StackMapFrameHandler.ForAdvice stackMapFrameHandler);
+            }
+
+            /**
+             * An argument view handler for an advice method that does not read an argument view.
+             */
+            enum NoOp implements ArgumentViewHandler, Bound {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Bound bind(MethodDescription instrumentedMethod) {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onPrepare(MethodVisitor methodVisitor) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onStart(MethodVisitor methodVisitor,
+                                    Implementation.Context implementationContext,
+                                    MethodSizeHandler.ForAdvice methodSizeHandler) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onEnd(MethodVisitor methodVisitor,
+                                  Implementation.Context implementationContext,
+                                  MethodSizeHandler.ForAdvice methodSizeHandler,
+                                  StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                                  TypeDefinition returnType) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onEndWithSkip(MethodVisitor methodVisitor,
+                                          Implementation.Context implementationContext,
+                                          MethodSizeHandler.ForAdvice methodSizeHandler,
+                                          StackMapFrameHandler.ForAdvice stackMapFrameHandler) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * An argument view handler that acquires a pooled argument view for an advice method that reads an argument view.
+             */
+            enum Pooling implements ArgumentViewHandler {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * Resolves an argument view handler for the given offset mappings.
+                 *
+                 * @param offsetMappings The offset mappings of an advice method.
+                 * @return An appropriate argument view handler.
+                 */
+                protected static ArgumentViewHandler of(Map<Integer, OffsetMapping> offsetMappings) {
+                    return offsetMappings.containsValue(OffsetMapping.ForArgumentView.INSTANCE)
+                            ? INSTANCE
+                            : NoOp.INSTANCE;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ArgumentViewHandler.Bound bind(MethodDescription instrumentedMethod) {
+                    return new Bound(instrumentedMethod.getParameters().size());
+                }
+
+                /**
+                 * A bound version of a pooling argument view handler.
+                 */
+                protected static class Bound implements ArgumentViewHandler.Bound {
+
+                    /**
+                     * The number of arguments to represent.
+                     */
+                    private final int size;
+
+                    /**
+                     * A label indicating the start of the advice method's code.
+                     */
+                    private final Label startOfMethod;
+
+                    /**
+                     * A label indicating the end of the advice method's code.
+                     */
+                    private final Label endOfMethod;
+
+                    /**
+                     * A label indicating the exception handler that releases the argument view.
+                     */
+                    private final Label exceptionHandler;
+
+                    /**
+                     * Creates a new bound pooling argument view handler.
+                     *
+                     * @param size The number of arguments to represent.
+                     */
+                    protected Bound(int size) {
+                        this.size = size;
+                        startOfMethod = new Label();
+                        endOfMethod = new Label();
+                        exceptionHandler = new Label();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onPrepare(MethodVisitor methodVisitor) {
+                        methodVisitor.visitTryCatchBlock(startOfMethod, endOfMethod, exceptionHandler, null);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onStart(MethodVisitor methodVisitor,
+                                        Implementation.Context implementationContext,
+                                        MethodSizeHandler.ForAdvice methodSizeHandler) {
+                        methodSizeHandler.requireStackSize(new StackManipulation.Compound(new ArgumentViewFactory.Acquire(size),
+                                Removal.SINGLE).apply(methodVisitor, implementationContext).getMaximalSize());
+                        methodVisitor.visitLabel(startOfMethod);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onEnd(MethodVisitor methodVisitor,
+                                      Implementation.Context implementationContext,
+                                      MethodSizeHandler.ForAdvice methodSizeHandler,
+                                      StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                                      TypeDefinition returnType) {
+                        if (returnType.represents(void.class)) {
+                            stackMapFrameHandler.injectReturnFrame(methodVisitor);
+                        }
+                        onEndWithSkip(methodVisitor, implementationContext, methodSizeHandler, stackMapFrameHandler);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onEndWithSkip(MethodVisitor methodVisitor,
+                                              Implementation.Context implementationContext,
+                                              MethodSizeHandler.ForAdvice methodSizeHandler,
+                                              StackMapFrameHandler.ForAdvice stackMapFrameHandler) {
+                        Label skipExceptionHandler = new Label();
+                        methodVisitor.visitLabel(endOfMethod);
+                        ArgumentViewFactory.Release.INSTANCE.apply(methodVisitor, implementationContext);
+                        methodVisitor.visitJumpInsn(Opcodes.GOTO, skipExceptionHandler);
+                        methodVisitor.visitLabel(exceptionHandler);
+                        stackMapFrameHandler.injectExceptionFrame(methodVisitor);
+                        ArgumentViewFactory.Release.INSTANCE.apply(methodVisitor, implementationContext);
+                        methodVisitor.visitInsn(Opcodes.ATHROW);
+                        methodVisitor.visitLabel(skipExceptionHandler);
+                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
+                        methodSizeHandler.requireStackSize(1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * A sampling handler is responsible for deciding if an advice method is executed for the current invocation of an instrumented method.
+         */
+        interface SamplingHandler {
+
+            /**
+             * The name of the local variable that stores the sampling decision of the enter advice such that the exit advice can reuse it.
+             */
+            String DECISION = "net.bytebuddy.asm.Advice$Dispatcher$SamplingHandler#decision";
+
+            /**
+             * Applies this sampling handler at the start of an advice method. If the current invocation is not sampled, the advice method's
+             * return type's default value is stored as its return value and the advice method is skipped.
+             *
+             * @param methodVisitor         The method visitor of the instrumented method.
+             * @param implementationContext The implementation context to use.
+             * @param argumentHandler       A handler for accessing values on the local variable array.
+             * @param methodSizeHandler     The advice method's method size handler.
+             * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
+             * @param returnType            The return type of the advice method.
+             * @param offset                The offset of the local variable that stores the advice method's return value.
+             * @param skipped               The label to jump to if the current invocation is not sampled.
+             */
+            void apply(MethodVisitor methodVisitor,
+                       Implementation.Context implementationContext,
+                       ArgumentHandler.ForAdvice argumentHandler,
+                       MethodSizeHandler.ForAdvice methodSizeHandler,
+                       StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                       TypeDefinition returnType,
+                       int offset,
+                       Label skipped);
+
+            /**
+             * A sampling handler that executes an advice method for every invocation.
+             */
+            enum Disabled implements SamplingHandler {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void apply(MethodVisitor methodVisitor,
+                                  Implementation.Context implementationContext,
+                                  ArgumentHandler.ForAdvice argumentHandler,
+                                  MethodSizeHandler.ForAdvice methodSizeHandler,
+                                  StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                                  TypeDefinition returnType,
+                                  int offset,
+                                  Label skipped) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A sampling handler that executes an advice method for about one in a given number of invocations.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Enabled implements SamplingHandler {
+
+                /**
+                 * The average number of invocations of which a single invocation is sampled.
+                 */
+                private final int rate;
+
+                /**
+                 * The decision to apply.
+                 */
+                private final Decision decision;
+
+                /**
+                 * Creates a new enabled sampling handler.
+                 *
+                 * @param rate     The average number of invocations of which a single invocation is sampled.
+                 * @param decision The decision to apply.
+                 */
+                protected Enabled(int rate, Decision decision) {
+                    this.rate = rate;
+                    this.decision = decision;
+                }
+
+                /**
+                 * Resolves a sampling handler for the given sampling rate.
+                 *
+                 * @param rate     The average number of invocations of which a single invocation is sampled.
+                 * @param decision The decision to apply.
+                 * @return An appropriate sampling handler.
+                 */
+                protected static SamplingHandler of(int rate, Decision decision) {
+                    return rate == 1
+                            ? Disabled.INSTANCE
+                            : new Enabled(rate, decision);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void apply(MethodVisitor methodVisitor,
+                                  Implementation.Context implementationContext,
+                                  ArgumentHandler.ForAdvice argumentHandler,
+                                  MethodSizeHandler.ForAdvice methodSizeHandler,
+                                  StackMapFrameHandler.ForAdvice stackMapFrameHandler,
+                                  TypeDefinition returnType,
+                                  int offset,
+                                  Label skipped) {
+                    Label sampled = new Label();
+                    methodSizeHandler.requireStackSize(decision.apply(methodVisitor, implementationContext, argumentHandler, rate));
+                    methodVisitor.visitJumpInsn(Opcodes.IFEQ, sampled);
+                    if (!returnType.represents(void.class)) {
+                        methodSizeHandler.requireStackSize(new StackManipulation.Compound(DefaultValue.of(returnType),
+                                MethodVariableAccess.of(returnType).storeAt(offset)).apply(methodVisitor, implementationContext).getMaximalSize());
+                    }
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, skipped);
+                    methodVisitor.visitLabel(sampled);
+                    stackMapFrameHandler.injectStartFrame(methodVisitor);
+                }
+
+                /**
+                 * A decision whether the current invocation is sampled. A decision pushes an {@code int} value onto the operand stack
+                 * that is zero if the current invocation is sampled.
+                 */
+                protected enum Decision {
+
+                    /**
+                     * A decision that is made for a single advice method only.
+                     */
+                    INDEPENDENT {
+                        @Override
+                        protected int apply(MethodVisitor methodVisitor,
+                                            Implementation.Context implementationContext,
+                                            ArgumentHandler.ForAdvice argumentHandler,
+                                            int rate) {
+                            return decide(methodVisitor, implementationContext, rate);
+                        }
+                    },
+
+                    /**
+                     * A decision that is made by enter advice and that is recorded for the exit advice.
+                     */
+                    RECORDING {
+                        @Override
+                        protected int apply(MethodVisitor methodVisitor,
+                                            Implementation.Context implementationContext,
+                                            ArgumentHandler.ForAdvice argumentHandler,
+                                            int rate) {
+                            int stackSize = decide(methodVisitor, implementationContext, rate);
+                            methodVisitor.visitInsn(Opcodes.DUP);
+                            methodVisitor.visitVarInsn(Opcodes.ISTORE, argumentHandler.named(DECISION));
+                            return Math.max(stackSize, 2);
+                        }
+                    },
+
+                    /**
+                     * A decision that was recorded by the enter advice and that is reused by exit advice.
+                     */
+                    RECORDED {
+                        @Override
+                        protected int apply(MethodVisitor methodVisitor,
+                                            Implementation.Context implementationContext,
+                                            ArgumentHandler.ForAdvice argumentHandler,
+                                            int rate) {
+                            methodVisitor.visitVarInsn(Opcodes.ILOAD, argumentHandler.named(DECISION));
+                            return 1;
+                        }
+                    };
+
+                    /**
+                     * The internal name of the {@code java.util.concurrent.ThreadLocalRandom} type.
+                     */
+                    private static final String THREAD_LOCAL_RANDOM = "java/util/concurrent/ThreadLocalRandom";
+
+                    /**
+                     * Pushes an {@code int} value onto the operand stack that is zero if the current invocation is sampled.
+                     *
+                     * @param methodVisitor         The method visitor of the instrumented method.
+                     * @param implementationContext The implementation context to use.
+                     * @param argumentHandler       A handler for accessing values on the local variable array.
+                     * @param rate                  The average number of invocations of which a single invocation is sampled.
+                     * @return The required stack size.
+                     */
+                    protected abstract int apply(MethodVisitor methodVisitor,
+                                                 Implementation.Context implementationContext,
+                                                 ArgumentHandler.ForAdvice argumentHandler,
+                                                 int rate);
+
+                    /**
+                     * Makes a new sampling decision by drawing a random number below the sampling rate from the current thread's
+                     * random number generator which does not require any synchronization.
+                     *
+                     * @param methodVisitor         The method visitor of the instrumented method.
+                     * @param implementationContext The implementation context to use.
+                     * @param rate                  The average number of invocations of which a single invocation is sampled.
+                     * @return The required stack size.
+                     */
+                    protected static int decide(MethodVisitor methodVisitor, Implementation.Context implementationContext, int rate) {
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
+                                THREAD_LOCAL_RANDOM,
+                                "current",
+                                "()L" + THREAD_LOCAL_RANDOM + ";",
+                                false);
+                        IntegerConstant.forValue(rate).apply(methodVisitor, implementationContext);
+                        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, THREAD_LOCAL_RANDOM, "nextInt", "(I)I", false);
+                        return 2;
+                    }
+                }
+            }
+        }
+
         /**
          * A relocation handler is responsible for chaining the usual control flow of an instrumented method.
          */
@@ -7145,6 +7765,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
              * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
              * @param exceptionHandler      The stack manipulation to apply within a suppression handler.
              * @param relocation            A relocation to use with a relocation handler.
+             * @param samplingHandler       The sampling handler to apply.
              * @return A dispatcher that is bound to the instrumented method.
              */
             Bound bind(TypeDescription instrumentedType,
@@ -7156,7 +7777,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                        MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                        StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                        StackManipulation exceptionHandler,
-                       RelocationHandler.Relocation relocation);
+                       RelocationHandler.Relocation relocation,
+                       SamplingHandler samplingHandler);
 
             /**
              * Represents a resolved dispatcher for entering a method.
@@ -7230,6 +7852,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  */
                 protected final RelocationHandler relocationHandler;
 
+                /**
+                 * The argument view handler to use.
+                 */
+                protected final ArgumentViewHandler argumentViewHandler;
+
                 /**
                  * Creates a new resolved version of a dispatcher.
                  *
@@ -7273,8 +7900,17 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 ? new OffsetMapping.ForArgument.Unresolved(parameterDescription)
                                 : offsetMapping);
                     }
+                    if (adviceMethod.getReturnType().represents(ArgumentView.class)) {
+                        throw new IllegalStateException("Cannot retain a pooled argument view as the return value of " + adviceMethod);
+                    }
+                    for (ParameterDescription parameterDescription : adviceMethod.getParameters().filter(isAnnotatedWith(Local.class))) {
+                        if (parameterDescription.getType().represents(ArgumentView.class)) {
+                            throw new IllegalStateException("Cannot retain a pooled argument view as a local variable: " + parameterDescription);
+                        }
+                    }
                     suppressionHandler = SuppressionHandler.Suppressing.of(throwableType);
                     relocationHandler = RelocationHandler.ForType.of(relocatableType, adviceMethod.getReturnType());
+                    argumentViewHandler = ArgumentViewHandler.Pooling.of(this.offsetMappings);
                 }
 
                 /**
@@ -7419,7 +8055,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                               MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                               StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                               StackManipulation exceptionHandler,
-                              RelocationHandler.Relocation relocation) {
+                              RelocationHandler.Relocation relocation,
+                              SamplingHandler samplingHandler) {
                 return this;
             }
         }
@@ -7570,7 +8207,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  * @param instrumentedType      A description of the instrumented type.
                  * @param instrumentedMethod    A description of the instrumented method.
                  * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                 * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                  * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                 * @param samplingHandler       The sampling handler to apply.
                  * @return A method visitor for visiting the advice method's byte code.
                  */
                 protected abstract MethodVisitor apply(MethodVisitor methodVisitor,
@@ -7582,7 +8221,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                        TypeDescription instrumentedType,
                                                        MethodDescription instrumentedMethod,
                                                        SuppressionHandler.Bound suppressionHandler,
-                                                       RelocationHandler.Bound relocationHandler);
+                                                       ArgumentViewHandler.Bound argumentViewHandler,
+                                                       RelocationHandler.Bound relocationHandler,
+                                                       SamplingHandler samplingHandler);
 
                 /**
                  * A bound advice method that copies the code by first extracting the exception table and later appending the
@@ -7635,11 +8276,21 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      */
                     protected final SuppressionHandler.Bound suppressionHandler;
 
+                    /**
+                     * A bound argument view handler that is used for acquiring and releasing a pooled argument view.
+                     */
+                    protected final ArgumentViewHandler.Bound argumentViewHandler;
+
                     /**
                      * A bound relocation handler that is responsible for considering a non-standard control flow.
                      */
                     protected final RelocationHandler.Bound relocationHandler;
 
+                    /**
+                     * The sampling handler to apply.
+                     */
+                    protected final SamplingHandler samplingHandler;
+
                     /**
                      * A class reader for parsing the class file containing the represented advice method.
                      */
@@ -7662,7 +8313,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                     * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                      * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @param classReader           A class reader for parsing the class file containing the represented advice method.
                      */
                     protected AdviceMethodInliner(TypeDescription instrumentedType,
@@ -7674,7 +8327,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                   MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                                   StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                                   SuppressionHandler.Bound suppressionHandler,
+                                                  ArgumentViewHandler.Bound argumentViewHandler,
                                                   RelocationHandler.Bound relocationHandler,
+                                                  SamplingHandler samplingHandler,
                                                   ClassReader classReader) {
                         super(OpenedClassReader.ASM_API);
                         this.instrumentedType = instrumentedType;
@@ -7686,8 +8341,10 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                         this.methodSizeHandler = methodSizeHandler;
                         this.stackMapFrameHandler = stackMapFrameHandler;
                         this.suppressionHandler = suppressionHandler;
+                        this.argumentViewHandler = argumentViewHandler;
                         this.classReader = classReader;
                         this.relocationHandler = relocationHandler;
+                        this.samplingHandler = samplingHandler;
                         labels = new ArrayList<Label>();
                     }
 
@@ -7697,6 +8354,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     public void prepare() {
                         classReader.accept(new ExceptionTableExtractor(), ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
                         suppressionHandler.onPrepare(methodVisitor);
+                        argumentViewHandler.onPrepare(methodVisitor);
                     }
 
                     /**
@@ -7747,7 +8405,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 instrumentedType,
                                 instrumentedMethod,
                                 suppressionHandler,
-                                relocationHandler)) : IGNORE_METHOD;
+                                argumentViewHandler,
+                                relocationHandler,
+                                samplingHandler)) : IGNORE_METHOD;
                     }
 
                     /**
@@ -7995,7 +8655,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                       MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                       StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                       StackManipulation exceptionHandler,
-                                      RelocationHandler.Relocation relocation) {
+                                      RelocationHandler.Relocation relocation,
+                                      SamplingHandler samplingHandler) {
                         return new AdviceMethodInliner(instrumentedType,
                                 instrumentedMethod,
                                 methodVisitor,
@@ -8005,7 +8666,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler,
                                 stackMapFrameHandler,
                                 suppressionHandler.bind(exceptionHandler),
+                                argumentViewHandler.bind(instrumentedMethod),
                                 relocationHandler.bind(instrumentedMethod, relocation),
+                                samplingHandler,
                                 classReader);
                     }
 
@@ -8033,7 +8696,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                   TypeDescription instrumentedType,
                                                   MethodDescription instrumentedMethod,
                                                   SuppressionHandler.Bound suppressionHandler,
-                                                  RelocationHandler.Bound relocationHandler) {
+                                                  ArgumentViewHandler.Bound argumentViewHandler,
+                                                  RelocationHandler.Bound relocationHandler,
+                                                  SamplingHandler samplingHandler) {
                         return doApply(methodVisitor,
                                 implementationContext,
                                 assigner,
@@ -8043,7 +8708,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 instrumentedType,
                                 instrumentedMethod,
                                 suppressionHandler,
-                                relocationHandler);
+                                argumentViewHandler,
+                                relocationHandler,
+                                samplingHandler);
                     }
 
                     /**
@@ -8058,7 +8725,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    The bound suppression handler to use.
+                     * @param argumentViewHandler   The bound argument view handler to use.
                      * @param relocationHandler     The bound relocation handler to use.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @return A method visitor for visiting the advice method's byte code.
                      */
                     protected MethodVisitor doApply(MethodVisitor methodVisitor,
@@ -8070,7 +8739,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                     TypeDescription instrumentedType,
                                                     MethodDescription instrumentedMethod,
                                                     SuppressionHandler.Bound suppressionHandler,
-                                                    RelocationHandler.Bound relocationHandler) {
+                                                    ArgumentViewHandler.Bound argumentViewHandler,
+                                                    RelocationHandler.Bound relocationHandler,
+                                                    SamplingHandler samplingHandler) {
                         Map<Integer, OffsetMapping.Target> offsetMappings = new HashMap<Integer, OffsetMapping.Target>();
                         for (Map.Entry<Integer, OffsetMapping> entry : this.offsetMappings.entrySet()) {
                             offsetMappings.put(entry.getKey(), entry.getValue().resolve(instrumentedType,
@@ -8090,7 +8761,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 adviceMethod,
                                 offsetMappings,
                                 suppressionHandler,
+                                argumentViewHandler,
                                 relocationHandler,
+                                samplingHandler,
                                 postProcessor,
                                 false);
                     }
@@ -8171,7 +8844,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                         TypeDescription instrumentedType,
                                                         MethodDescription instrumentedMethod,
                                                         SuppressionHandler.Bound suppressionHandler,
-                                                        RelocationHandler.Bound relocationHandler) {
+                                                        ArgumentViewHandler.Bound argumentViewHandler,
+                                                        RelocationHandler.Bound relocationHandler,
+                                                        SamplingHandler samplingHandler) {
                             methodSizeHandler.requireLocalVariableLengthPadding(adviceMethod.getReturnType().getStackSize().getSize());
                             return super.doApply(methodVisitor,
                                     implementationContext,
@@ -8182,7 +8857,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     instrumentedType,
                                     instrumentedMethod,
                                     suppressionHandler,
-                                    relocationHandler);
+                                    argumentViewHandler,
+                                    relocationHandler,
+                                    samplingHandler);
                         }
                     }
                 }
@@ -8278,7 +8955,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                   TypeDescription instrumentedType,
                                                   MethodDescription instrumentedMethod,
                                                   SuppressionHandler.Bound suppressionHandler,
-                                                  RelocationHandler.Bound relocationHandler) {
+                                                  ArgumentViewHandler.Bound argumentViewHandler,
+                                                  RelocationHandler.Bound relocationHandler,
+                                                  SamplingHandler samplingHandler) {
                         return doApply(methodVisitor,
                                 implementationContext,
                                 assigner,
@@ -8288,7 +8967,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 instrumentedType,
                                 instrumentedMethod,
                                 suppressionHandler,
-                                relocationHandler);
+                                argumentViewHandler,
+                                relocationHandler,
+                                samplingHandler);
                     }
 
                     /**
@@ -8303,7 +8984,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    The bound suppression handler to use.
+                     * @param argumentViewHandler   The bound argument view handler to use.
                      * @param relocationHandler     The bound relocation handler to use.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @return A method visitor for visiting the advice method's byte code.
                      */
                     private MethodVisitor doApply(MethodVisitor methodVisitor,
@@ -8315,7 +8998,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                   TypeDescription instrumentedType,
                                                   MethodDescription instrumentedMethod,
                                                   SuppressionHandler.Bound suppressionHandler,
-                                                  RelocationHandler.Bound relocationHandler) {
+                                                  ArgumentViewHandler.Bound argumentViewHandler,
+                                                  RelocationHandler.Bound relocationHandler,
+                                                  SamplingHandler samplingHandler) {
                         Map<Integer, OffsetMapping.Target> offsetMappings = new HashMap<Integer, OffsetMapping.Target>();
                         for (Map.Entry<Integer, OffsetMapping> entry : this.offsetMappings.entrySet()) {
                             offsetMappings.put(entry.getKey(), entry.getValue().resolve(instrumentedType,
@@ -8335,7 +9020,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 adviceMethod,
                                 offsetMappings,
                                 suppressionHandler,
+                                argumentViewHandler,
                                 relocationHandler,
+                                samplingHandler,
                                 postProcessor,
                                 true);
                     }
@@ -8368,7 +9055,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                       MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                       StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                       StackManipulation exceptionHandler,
-                                      RelocationHandler.Relocation relocation) {
+                                      RelocationHandler.Relocation relocation,
+                                      SamplingHandler samplingHandler) {
                         return new AdviceMethodInliner(instrumentedType,
                                 instrumentedMethod,
                                 methodVisitor,
@@ -8378,7 +9066,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler,
                                 stackMapFrameHandler,
                                 suppressionHandler.bind(exceptionHandler),
+                                argumentViewHandler.bind(instrumentedMethod),
                                 relocationHandler.bind(instrumentedMethod, relocation),
+                                samplingHandler,
                                 classReader);
                     }
 
@@ -8519,11 +9209,21 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  */
                 private final SuppressionHandler.Bound suppressionHandler;
 
+                /**
+                 * A bound argument view handler that is used for acquiring and releasing a pooled argument view.
+                 */
+                private final ArgumentViewHandler.Bound argumentViewHandler;
+
                 /**
                  * A bound relocation handler that is responsible for considering a non-standard control flow.
                  */
                 private final RelocationHandler.Bound relocationHandler;
 
+                /**
+                 * The sampling handler to apply.
+                 */
+                private final SamplingHandler samplingHandler;
+
                 /**
                  * The post processor to apply.
                  */
@@ -8539,6 +9239,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  */
                 protected final Label endOfMethod;
 
+                /**
+                 * A label indicating the completion of the advice byte code which is targeted if the current invocation is not sampled.
+                 */
+                private final Label completion;
+
                 /**
                  * Creates a new code translation visitor.
                  *
@@ -8553,7 +9258,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  * @param adviceMethod          The advice method.
                  * @param offsetMappings        A mapping of offsets to resolved target offsets in the instrumented method.
                  * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                 * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                  * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                 * @param samplingHandler       The sampling handler to apply.
                  * @param postProcessor         The post processor to apply.
                  * @param exit                  {@code true} if this visitor is for exit advice.
                  */
@@ -8568,7 +9275,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                  MethodDescription.InDefinedShape adviceMethod,
                                                  Map<Integer, OffsetMapping.Target> offsetMappings,
                                                  SuppressionHandler.Bound suppressionHandler,
+                                                 ArgumentViewHandler.Bound argumentViewHandler,
                                                  RelocationHandler.Bound relocationHandler,
+                                                 SamplingHandler samplingHandler,
                                                  PostProcessor postProcessor,
                                                  boolean exit) {
                     super(OpenedClassReader.ASM_API, new StackAwareMethodVisitor(methodVisitor, instrumentedMethod));
@@ -8583,10 +9292,13 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     this.adviceMethod = adviceMethod;
                     this.offsetMappings = offsetMappings;
                     this.suppressionHandler = suppressionHandler;
+                    this.argumentViewHandler = argumentViewHandler;
                     this.relocationHandler = relocationHandler;
+                    this.samplingHandler = samplingHandler;
                     this.postProcessor = postProcessor;
                     this.exit = exit;
                     endOfMethod = new Label();
+                    completion = new Label();
                 }
 
                 /**
@@ -8637,6 +9349,15 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                 @Override
                 public void visitCode() {
                     suppressionHandler.onStart(methodVisitor);
+                    samplingHandler.apply(methodVisitor,
+                            implementationContext,
+                            argumentHandler,
+                            methodSizeHandler,
+                            stackMapFrameHandler,
+                            adviceMethod.getReturnType(),
+                            exit ? argumentHandler.exit() : argumentHandler.enter(),
+                            completion);
+                    argumentViewHandler.onStart(methodVisitor, implementationContext, methodSizeHandler);
                 }
 
                 @Override
@@ -8721,30 +9442,30 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                 public void visitEnd() {
                     suppressionHandler.onEnd(methodVisitor, implementationContext, methodSizeHandler, stackMapFrameHandler, adviceMethod.getReturnType());
                     methodVisitor.visitLabel(endOfMethod);
+                    if (!adviceMethod.getReturnType().represents(void.class)) {
+                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
+                    }
+                    argumentViewHandler.onEnd(methodVisitor, implementationContext, methodSizeHandler, stackMapFrameHandler, adviceMethod.getReturnType());
                     if (adviceMethod.getReturnType().represents(boolean.class)
                             || adviceMethod.getReturnType().represents(byte.class)
                             || adviceMethod.getReturnType().represents(short.class)
                             || adviceMethod.getReturnType().represents(char.class)
                             || adviceMethod.getReturnType().represents(int.class)) {
-                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
                         methodVisitor.visitVarInsn(Opcodes.ISTORE, exit ? argumentHandler.exit() : argumentHandler.enter());
                     } else if (adviceMethod.getReturnType().represents(long.class)) {
-                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
                         methodVisitor.visitVarInsn(Opcodes.LSTORE, exit ? argumentHandler.exit() : argumentHandler.enter());
                     } else if (adviceMethod.getReturnType().represents(float.class)) {
-                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
                         methodVisitor.visitVarInsn(Opcodes.FSTORE, exit ? argumentHandler.exit() : argumentHandler.enter());
                     } else if (adviceMethod.getReturnType().represents(double.class)) {
-                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
                         methodVisitor.visitVarInsn(Opcodes.DSTORE, exit ? argumentHandler.exit() : argumentHandler.enter());
                     } else if (!adviceMethod.getReturnType().represents(void.class)) {
-                        stackMapFrameHandler.injectReturnFrame(methodVisitor);
                         methodVisitor.visitVarInsn(Opcodes.ASTORE, exit ? argumentHandler.exit() : argumentHandler.enter());
                     }
                     methodSizeHandler.requireStackSize(postProcessor
                             .resolve(instrumentedType, instrumentedMethod, assigner, argumentHandler)
                             .apply(methodVisitor, implementationContext).getMaximalSize());
                     methodSizeHandler.requireStackSize(relocationHandler.apply(methodVisitor, exit ? argumentHandler.exit() : argumentHandler.enter()));
+                    methodVisitor.visitLabel(completion);
                     stackMapFrameHandler.injectCompletionFrame(methodVisitor);
                 }
 
@@ -8882,7 +9603,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                   MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                   StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                   StackManipulation exceptionHandler,
-                                  RelocationHandler.Relocation relocation) {
+                                  RelocationHandler.Relocation relocation,
+                                  SamplingHandler samplingHandler) {
                     if (!adviceMethod.isVisibleTo(instrumentedType)) {
                         throw new IllegalStateException(adviceMethod + " is not visible to " + instrumentedMethod.getDeclaringType());
                     }
@@ -8895,7 +9617,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                             methodSizeHandler,
                             stackMapFrameHandler,
                             exceptionHandler,
-                            relocation);
+                            relocation,
+                            samplingHandler);
                 }
 
                 /**
@@ -8911,6 +9634,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                  * @param exceptionHandler      The stack manipulation to apply within a suppression handler.
                  * @param relocation            A relocation to use with a relocation handler.
+                 * @param samplingHandler       The sampling handler to apply.
                  * @return An appropriate bound advice dispatcher.
                  */
                 protected abstract Bound resolve(TypeDescription instrumentedType,
@@ -8922,7 +9646,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                  MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                                  StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                                  StackManipulation exceptionHandler,
-                                                 RelocationHandler.Relocation relocation);
+                                                 RelocationHandler.Relocation relocation,
+                                                 SamplingHandler samplingHandler);
 
                 /**
                  * A bound advice method that copies the code by first extracting the exception table and later appending the
@@ -8985,11 +9710,21 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      */
                     private final SuppressionHandler.Bound suppressionHandler;
 
+                    /**
+                     * A bound argument view handler that is used for acquiring and releasing a pooled argument view.
+                     */
+                    private final ArgumentViewHandler.Bound argumentViewHandler;
+
                     /**
                      * A bound relocation handler that is responsible for considering a non-standard control flow.
                      */
                     private final RelocationHandler.Bound relocationHandler;
 
+                    /**
+                     * The sampling handler to apply.
+                     */
+                    private final SamplingHandler samplingHandler;
+
                     /**
                      * The post processor to apply.
                      */
@@ -9015,7 +9750,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                     * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                      * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @param delegator             The delegator to use.
                      */
                     protected AdviceMethodWriter(MethodDescription.InDefinedShape adviceMethod,
@@ -9030,7 +9767,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                  MethodSizeHandler.ForAdvice methodSizeHandler,
                                                  StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                                  SuppressionHandler.Bound suppressionHandler,
+                                                 ArgumentViewHandler.Bound argumentViewHandler,
                                                  RelocationHandler.Bound relocationHandler,
+                                                 SamplingHandler samplingHandler,
                                                  Delegator delegator) {
                         this.adviceMethod = adviceMethod;
                         this.instrumentedType = instrumentedType;
@@ -9044,7 +9783,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                         this.methodSizeHandler = methodSizeHandler;
                         this.stackMapFrameHandler = stackMapFrameHandler;
                         this.suppressionHandler = suppressionHandler;
+                        this.argumentViewHandler = argumentViewHandler;
                         this.relocationHandler = relocationHandler;
+                        this.samplingHandler = samplingHandler;
                         this.delegator = delegator;
                     }
 
@@ -9053,6 +9794,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      */
                     public void prepare() {
                         suppressionHandler.onPrepare(methodVisitor);
+                        argumentViewHandler.onPrepare(methodVisitor);
                     }
 
                     /**
@@ -9060,6 +9802,16 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      */
                     public void apply() {
                         suppressionHandler.onStart(methodVisitor);
+                        Label completion = new Label();
+                        samplingHandler.apply(methodVisitor,
+                                implementationContext,
+                                argumentHandler,
+                                methodSizeHandler,
+                                stackMapFrameHandler,
+                                adviceMethod.getReturnType(),
+                                isExitAdvice() ? argumentHandler.exit() : argumentHandler.enter(),
+                                completion);
+                        argumentViewHandler.onStart(methodVisitor, implementationContext, methodSizeHandler);
                         int index = 0, currentStackSize = 0, maximumStackSize = 0;
                         for (OffsetMapping.Target offsetMapping : offsetMappings) {
                             currentStackSize += adviceMethod.getParameters().get(index++).getType().getStackSize().getSize();
@@ -9073,6 +9825,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler,
                                 stackMapFrameHandler,
                                 adviceMethod.getReturnType());
+                        argumentViewHandler.onEndWithSkip(methodVisitor, implementationContext, methodSizeHandler, stackMapFrameHandler);
                         if (adviceMethod.getReturnType().represents(boolean.class)
                                 || adviceMethod.getReturnType().represents(byte.class)
                                 || adviceMethod.getReturnType().represents(short.class)
@@ -9092,6 +9845,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 .resolve(instrumentedType, instrumentedMethod, assigner, argumentHandler)
                                 .apply(methodVisitor, implementationContext).getMaximalSize());
                         methodSizeHandler.requireStackSize(relocationHandler.apply(methodVisitor, isExitAdvice() ? argumentHandler.exit() : argumentHandler.enter()));
+                        methodVisitor.visitLabel(completion);
                         stackMapFrameHandler.injectCompletionFrame(methodVisitor);
                         methodSizeHandler.requireStackSize(Math.max(maximumStackSize, adviceMethod.getReturnType().getStackSize().getSize()));
                         methodSizeHandler.requireLocalVariableLength(instrumentedMethod.getStackSize() + adviceMethod.getReturnType().getStackSize().getSize());
@@ -9124,7 +9878,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                          * @param methodSizeHandler     A handler for computing the method size requirements.
                          * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                          * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                         * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                          * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                         * @param samplingHandler       The sampling handler to apply.
                          * @param delegator             The delegator to use.
                          */
                         protected ForMethodEnter(MethodDescription.InDefinedShape adviceMethod,
@@ -9139,7 +9895,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                  MethodSizeHandler.ForAdvice methodSizeHandler,
                                                  StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                                  SuppressionHandler.Bound suppressionHandler,
+                                                 ArgumentViewHandler.Bound argumentViewHandler,
                                                  RelocationHandler.Bound relocationHandler,
+                                                 SamplingHandler samplingHandler,
                                                  Delegator delegator) {
                             super(adviceMethod,
                                     instrumentedType,
@@ -9153,7 +9911,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     methodSizeHandler,
                                     stackMapFrameHandler,
                                     suppressionHandler,
+                                    argumentViewHandler,
                                     relocationHandler,
+                                    samplingHandler,
                                     delegator);
                         }
 
@@ -9190,7 +9950,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                          * @param methodSizeHandler     A handler for computing the method size requirements.
                          * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                          * @param suppressionHandler    A bound suppression handler that is used for suppressing exceptions of this advice method.
+                         * @param argumentViewHandler   A bound argument view handler that is used for acquiring and releasing a pooled argument view.
                          * @param relocationHandler     A bound relocation handler that is responsible for considering a non-standard control flow.
+                         * @param samplingHandler       The sampling handler to apply.
                          * @param delegator             The delegator to use.
                          */
                         protected ForMethodExit(MethodDescription.InDefinedShape adviceMethod,
@@ -9205,7 +9967,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                 MethodSizeHandler.ForAdvice methodSizeHandler,
                                                 StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                                 SuppressionHandler.Bound suppressionHandler,
+                                                ArgumentViewHandler.Bound argumentViewHandler,
                                                 RelocationHandler.Bound relocationHandler,
+                                                SamplingHandler samplingHandler,
                                                 Delegator delegator) {
                             super(adviceMethod,
                                     instrumentedType,
@@ -9219,7 +9983,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     methodSizeHandler,
                                     stackMapFrameHandler,
                                     suppressionHandler,
+                                    argumentViewHandler,
                                     relocationHandler,
+                                    samplingHandler,
                                     delegator);
                         }
 
@@ -9349,7 +10115,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                             MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                             StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                             StackManipulation exceptionHandler,
-                                            RelocationHandler.Relocation relocation) {
+                                            RelocationHandler.Relocation relocation,
+                                            SamplingHandler samplingHandler) {
                         return doResolve(instrumentedType,
                                 instrumentedMethod,
                                 methodVisitor,
@@ -9359,7 +10126,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler.bindEnter(adviceMethod),
                                 stackMapFrameHandler.bindEnter(adviceMethod),
                                 suppressionHandler.bind(exceptionHandler),
-                                relocationHandler.bind(instrumentedMethod, relocation));
+                                argumentViewHandler.bind(instrumentedMethod),
+                                relocationHandler.bind(instrumentedMethod, relocation),
+                                samplingHandler);
                     }
 
                     /**
@@ -9374,7 +10143,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    The bound suppression handler to use.
+                     * @param argumentViewHandler   The bound argument view handler to use.
                      * @param relocationHandler     The bound relocation handler to use.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @return An appropriate bound advice dispatcher.
                      */
                     protected Bound doResolve(TypeDescription instrumentedType,
@@ -9386,7 +10157,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                               MethodSizeHandler.ForAdvice methodSizeHandler,
                                               StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                               SuppressionHandler.Bound suppressionHandler,
-                                              RelocationHandler.Bound relocationHandler) {
+                                              ArgumentViewHandler.Bound argumentViewHandler,
+                                              RelocationHandler.Bound relocationHandler,
+                                              SamplingHandler samplingHandler) {
                         List<OffsetMapping.Target> offsetMappings = new ArrayList<OffsetMapping.Target>(this.offsetMappings.size());
                         for (OffsetMapping offsetMapping : this.offsetMappings.values()) {
                             offsetMappings.add(offsetMapping.resolve(instrumentedType,
@@ -9407,7 +10180,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler,
                                 stackMapFrameHandler,
                                 suppressionHandler,
+                                argumentViewHandler,
                                 relocationHandler,
+                                samplingHandler,
                                 delegator);
                     }
 
@@ -9483,7 +10258,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                   MethodSizeHandler.ForAdvice methodSizeHandler,
                                                   StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                                   SuppressionHandler.Bound suppressionHandler,
-                                                  RelocationHandler.Bound relocationHandler) {
+                                                  ArgumentViewHandler.Bound argumentViewHandler,
+                                                  RelocationHandler.Bound relocationHandler,
+                                                  SamplingHandler samplingHandler) {
                             methodSizeHandler.requireLocalVariableLengthPadding(adviceMethod.getReturnType().getStackSize().getSize());
                             return super.doResolve(instrumentedType,
                                     instrumentedMethod,
@@ -9494,7 +10271,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     methodSizeHandler,
                                     stackMapFrameHandler,
                                     suppressionHandler,
-                                    relocationHandler);
+                                    argumentViewHandler,
+                                    relocationHandler,
+                                    samplingHandler);
                         }
                     }
                 }
@@ -9584,7 +10363,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                             MethodSizeHandler.ForInstrumentedMethod methodSizeHandler,
                                             StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler,
                                             StackManipulation exceptionHandler,
-                                            RelocationHandler.Relocation relocation) {
+                                            RelocationHandler.Relocation relocation,
+                                            SamplingHandler samplingHandler) {
                         return doResolve(instrumentedType,
                                 instrumentedMethod,
                                 methodVisitor,
@@ -9594,7 +10374,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler.bindExit(adviceMethod),
                                 stackMapFrameHandler.bindExit(adviceMethod),
                                 suppressionHandler.bind(exceptionHandler),
-                                relocationHandler.bind(instrumentedMethod, relocation));
+                                argumentViewHandler.bind(instrumentedMethod),
+                                relocationHandler.bind(instrumentedMethod, relocation),
+                                samplingHandler);
                     }
 
                     /**
@@ -9609,7 +10391,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                      * @param methodSizeHandler     A handler for computing the method size requirements.
                      * @param stackMapFrameHandler  A handler for translating and injecting stack map frames.
                      * @param suppressionHandler    The bound suppression handler to use.
+                     * @param argumentViewHandler   The bound argument view handler to use.
                      * @param relocationHandler     The bound relocation handler to use.
+                     * @param samplingHandler       The sampling handler to apply.
                      * @return An appropriate bound advice dispatcher.
                      */
                     private Bound doResolve(TypeDescription instrumentedType,
@@ -9621,7 +10405,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                             MethodSizeHandler.ForAdvice methodSizeHandler,
                                             StackMapFrameHandler.ForAdvice stackMapFrameHandler,
                                             SuppressionHandler.Bound suppressionHandler,
-                                            RelocationHandler.Bound relocationHandler) {
+                                            ArgumentViewHandler.Bound argumentViewHandler,
+                                            RelocationHandler.Bound relocationHandler,
+                                            SamplingHandler samplingHandler) {
                         List<OffsetMapping.Target> offsetMappings = new ArrayList<OffsetMapping.Target>(this.offsetMappings.size());
                         for (OffsetMapping offsetMapping : this.offsetMappings.values()) {
                             offsetMappings.add(offsetMapping.resolve(instrumentedType,
@@ -9642,7 +10428,9 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 methodSizeHandler,
                                 stackMapFrameHandler,
                                 suppressionHandler,
+                                argumentViewHandler,
                                 relocationHandler,
+                                samplingHandler,
                                 delegator);
                     }
 
@@ -9781,6 +10569,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          */
         protected final StackMapFrameHandler.ForInstrumentedMethod stackMapFrameHandler;
 
+        /**
+         * {@code true} if the sampling decision of the enter advice is recorded for the exit advice.
+         */
+        private final boolean recordingSamplingDecision;
+
         /**
          * Creates a new advice visitor.
          *
@@ -9795,6 +10588,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @param postMethodTypes       A list of virtual method arguments that are available after the instrumented method has completed.
          * @param writerFlags           The ASM writer flags that were set.
          * @param readerFlags           The ASM reader flags that were set.
+         * @param sampling              The rate at which invocations of the instrumented method are sampled.
          */
         protected AdviceVisitor(MethodVisitor methodVisitor,
                                 Context implementationContext,
@@ -9806,14 +10600,21 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                 Dispatcher.Resolved.ForMethodExit methodExit,
                                 List<? extends TypeDescription> postMethodTypes,
                                 int writerFlags,
-                                int readerFlags) {
+                                int readerFlags,
+                                int sampling) {
             super(OpenedClassReader.ASM_API, methodVisitor);
             this.instrumentedMethod = instrumentedMethod;
             preparationStart = new Label();
+            recordingSamplingDecision = sampling > 1 && methodEnter.isAlive() && methodExit.isAlive();
+            Map<String, TypeDefinition> namedTypes = methodEnter.getNamedTypes();
+            if (recordingSamplingDecision) {
+                namedTypes = new HashMap<String, TypeDefinition>(namedTypes);
+                namedTypes.put(Dispatcher.SamplingHandler.DECISION, TypeDescription.ForLoadedType.of(int.class));
+            }
             argumentHandler = methodExit.getArgumentHandlerFactory().resolve(instrumentedMethod,
                     methodEnter.getAdviceType(),
                     methodExit.getAdviceType(),
-                    methodEnter.getNamedTypes());
+                    namedTypes);
             List<TypeDescription> initialTypes = CompoundList.of(methodExit.getAdviceType().represents(void.class)
                     ? Collections.<TypeDescription>emptyList()
                     : Collections.singletonList(methodExit.getAdviceType().asErasure()), argumentHandler.getNamedTypes());
@@ -9845,7 +10646,10 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     methodSizeHandler,
                     stackMapFrameHandler,
                     exceptionHandler,
-                    this);
+                    this,
+                    Dispatcher.SamplingHandler.Enabled.of(sampling, methodExit.isAlive()
+                            ? Dispatcher.SamplingHandler.Enabled.Decision.RECORDING
+                            : Dispatcher.SamplingHandler.Enabled.Decision.INDEPENDENT));
             this.methodExit = methodExit.bind(instrumentedType,
                     instrumentedMethod,
                     methodVisitor,
@@ -9855,7 +10659,10 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     methodSizeHandler,
                     stackMapFrameHandler,
                     exceptionHandler,
-                    new ForLabel(preparationStart));
+                    new ForLabel(preparationStart),
+                    Dispatcher.SamplingHandler.Enabled.of(sampling, methodEnter.isAlive()
+                            ? Dispatcher.SamplingHandler.Enabled.Decision.RECORDED
+                            : Dispatcher.SamplingHandler.Enabled.Decision.INDEPENDENT));
         }
 
         @Override
@@ -9865,6 +10672,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             methodExit.prepare();
             methodEnter.initialize();
             methodExit.initialize();
+            if (recordingSamplingDecision) {
+                mv.visitInsn(Opcodes.ICONST_0);
+                mv.visitVarInsn(Opcodes.ISTORE, argumentHandler.named(Dispatcher.SamplingHandler.DECISION));
+                methodSizeHandler.requireStackSize(1);
+            }
             stackMapFrameHandler.injectInitializationFrame(mv);
             methodEnter.apply();
             mv.visitLabel(preparationStart);
@@ -9946,6 +10758,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
              * @param methodEnter           The dispatcher to be used for method enter.
              * @param writerFlags           The ASM writer flags that were set.
              * @param readerFlags           The ASM reader flags that were set.
+             * @param sampling              The rate at which invocations of the instrumented method are sampled.
              */
             protected WithoutExitAdvice(MethodVisitor methodVisitor,
                                         Implementation.Context implementationContext,
@@ -9955,7 +10768,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                         MethodDescription instrumentedMethod,
                                         Dispatcher.Resolved.ForMethodEnter methodEnter,
                                         int writerFlags,
-                                        int readerFlags) {
+                                        int readerFlags,
+                                        int sampling) {
                 super(methodVisitor,
                         implementationContext,
                         assigner,
@@ -9966,7 +10780,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                         Dispatcher.Inactive.INSTANCE,
                         Collections.<TypeDescription>emptyList(),
                         writerFlags,
-                        readerFlags);
+                        readerFlags,
+                        sampling);
             }
 
             /**
@@ -10037,6 +10852,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
              * @param postMethodTypes       A list of virtual method arguments that are available after the instrumented method has completed.
              * @param writerFlags           The ASM writer flags that were set.
              * @param readerFlags           The ASM reader flags that were set.
+             * @param sampling              The rate at which invocations of the instrumented method are sampled.
              */
             protected WithExitAdvice(MethodVisitor methodVisitor,
                                      Implementation.Context implementationContext,
@@ -10048,7 +10864,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                      Dispatcher.Resolved.ForMethodExit methodExit,
                                      List<? extends TypeDescription> postMethodTypes,
                                      int writerFlags,
-                                     int readerFlags) {
+                                     int readerFlags,
+                                     int sampling) {
                 super(new StackAwareMethodVisitor(methodVisitor, instrumentedMethod),
                         implementationContext,
                         assigner,
@@ -10059,7 +10876,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                         methodExit,
                         postMethodTypes,
                         writerFlags,
-                        readerFlags);
+                        readerFlags,
+                        sampling);
                 returnHandler = new Label();
             }
 
@@ -10173,6 +10991,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  * @param methodExit            The dispatcher to be used for method exit.
                  * @param writerFlags           The ASM writer flags that were set.
                  * @param readerFlags           The ASM reader flags that were set.
+                 * @param sampling              The rate at which invocations of the instrumented method are sampled.
                  */
                 protected WithoutExceptionHandling(MethodVisitor methodVisitor,
                                                    Implementation.Context implementationContext,
@@ -10183,7 +11002,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                    Dispatcher.Resolved.ForMethodEnter methodEnter,
                                                    Dispatcher.Resolved.ForMethodExit methodExit,
                                                    int writerFlags,
-                                                   int readerFlags) {
+                                                   int readerFlags,
+                                                   int sampling) {
                     super(methodVisitor,
                             implementationContext,
                             assigner,
@@ -10196,7 +11016,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     ? Collections.<TypeDescription>emptyList()
                                     : Collections.singletonList(instrumentedMethod.getReturnType().asErasure()),
                             writerFlags,
-                            readerFlags);
+                            readerFlags,
+                            sampling);
                 }
 
                 @Override
@@ -10272,6 +11093,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                  * @param methodExit            The dispatcher to be used for method exit.
                  * @param writerFlags           The ASM writer flags that were set.
                  * @param readerFlags           The ASM reader flags that were set.
+                 * @param sampling              The rate at which invocations of the instrumented method are sampled.
                  * @param throwable             The type of the handled throwable type for which this advice is invoked.
                  */
                 protected WithExceptionHandling(MethodVisitor methodVisitor,
@@ -10284,6 +11106,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                                 Dispatcher.Resolved.ForMethodExit methodExit,
                                                 int writerFlags,
                                                 int readerFlags,
+                                                int sampling,
                                                 TypeDescription throwable) {
                     super(methodVisitor,
                             implementationContext,
@@ -10297,7 +11120,8 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                                     ? Collections.singletonList(TypeDescription.THROWABLE)
                                     : Arrays.asList(instrumentedMethod.getReturnType().asErasure(), TypeDescription.THROWABLE),
                             writerFlags,
-                            readerFlags);
+                            readerFlags,
+                            sampling);
                     this.throwable = throwable;
                     this.exceptionHandler = new Label();
                     userStart = new Label();
@@ -10755,7 +11579,11 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
     /**
      * Assigns an array containing all arguments of the instrumented method to the annotated parameter. The annotated parameter must
      * be an array type. If the annotation indicates writability, the assigned array must have at least as many values as the
-     * instrumented method or an {@link ArrayIndexOutOfBoundsException} is thrown.
+     * instrumented method or an {@link ArrayIndexOutOfBoundsException} is thrown. Alternatively, the annotated parameter can be
+     * of type {@link ArgumentView} which represents all arguments without boxing primitive values. Such a view is read-only
+     * and is pooled per thread, similarly to a view that is bound by a method delegation. The view is acquired before the advice
+     * method's code and is released after this code completes. It must therefore not be retained, neither as a {@link Local}
+     * value nor as the return value of an advice method, where doing so explicitly is rejected.
      */
     @Documented
     @Retention(RetentionPolicy.RUNTIME)
@@ -10932,12 +11760,13 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
     /**
      * <p>
      * Indicates that the annotated parameter should be mapped to a string representation of the instrumented method,
-     * a constant representing the {@link Class} declaring the adviced method or a {@link Method}, {@link Constructor}
-     * or {@code java.lang.reflect.Executable} representing this method.
+     * a constant representing the {@link Class} declaring the adviced method, a {@link Method}, {@link Constructor}
+     * or {@code java.lang.reflect.Executable} representing this method or a {@code java.lang.invoke.MethodHandle}
+     * pointing to this method.
      * </p>
      * <p>
      * <b>Note</b>: A constant representing a {@link Method} or {@link Constructor} is not cached but is recreated for
-     * every read.
+     * every read unless {@link Origin#cache()} is set.
      * </p>
      *
      * @see Advice
@@ -10970,6 +11799,16 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return The pattern the annotated parameter should be assigned.
          */
         String value() default DEFAULT;
+
+        /**
+         * Determines if a {@link Method}, {@link Constructor} or {@code java.lang.reflect.Executable} constant should be resolved
+         * only once. As no field is added to the instrumented type, this property can also be used when retransforming a class.
+         * The constant is resolved as a dynamic constant what requires the instrumented class file to be of at least version 11.
+         * For older class files, the constant is recreated for every read. This property is ignored for other parameter types.
+         *
+         * @return {@code true} if the represented constant should be resolved only once.
+         */
+        boolean cache() default false;
     }
 
     /**
@@ -10978,9 +11817,15 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * by {@link OnMethodEnter}.
      * </p>
      * <p><b>Note</b></p>: This annotation must only be used within an exit advice and is only meaningful in combination with an enter advice.
+     * <p>
+     * If more than one value should be passed from an enter advice to an exit advice, any number of {@link Local} variables can be declared
+     * instead of returning a holder object. Such variables are stored in dedicated local variable slots of the instrumented method where
+     * primitive values are neither boxed nor allocated on the heap.
+     * </p>
      *
      * @see Advice
      * @see OnMethodExit
+     * @see Local
      */
     @Documented
     @Retention(RetentionPolicy.RUNTIME)
@@ -11049,7 +11894,10 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * their name. However, if a local variable is referenced from an exit advice method, it must also be declared by an enter advice method.
      * It is possible to annotate multiple parameters of an advice method with local variables of the same name as long as all annotated parameters
      * share the same parameter type. All local variables are initialized with their default value which is {@code 0} value for primitive types and
-     * {@code null} for reference types.
+     * {@code null} for reference types. A local variable is stored in a dedicated slot of the instrumented method's local variable array using
+     * the annotated parameter's type such that several values, including primitive values, can be passed from an enter advice to an exit advice
+     * without any heap allocation. This requires the advice methods to be inlined as values that are written by a delegated advice method are
+     * not written back to the local variable.
      */
     @Documented
     @Retention(RetentionPolicy.RUNTIME)
@@ -11095,6 +11943,42 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
         /* empty */
     }
 
+    /**
+     * Determines how the class file of an advice class is decoded for inlining advice methods.
+     */
+    public enum Decoding {
+
+        /**
+         * Parses the class file of an advice class whenever an advice method is inlined into an instrumented method.
+         */
+        ON_DEMAND {
+            @Override
+            protected ClassReader read(byte[] binaryRepresentation) {
+                return OpenedClassReader.of(binaryRepresentation);
+            }
+        },
+
+        /**
+         * Decodes the class file of an advice class only once into an immutable template of its methods, including their exception
+         * tables and stack map frames, which is replayed whenever an advice method is inlined into an instrumented method. This avoids
+         * repeated parsing if an advice is applied to many methods at the cost of retaining the decoded methods in memory.
+         */
+        PRE_DECODED {
+            @Override
+            protected ClassReader read(byte[] binaryRepresentation) {
+                return PreDecodedClassReader.of(binaryRepresentation);
+            }
+        };
+
+        /**
+         * Creates a class reader for the class file of an advice class.
+         *
+         * @param binaryRepresentation The binary representation of the advice class.
+         * @return An appropriate class reader.
+         */
+        protected abstract ClassReader read(byte[] binaryRepresentation);
+    }
+
     /**
      * A builder step for creating an {@link Advice} that uses custom mappings of annotations to constant pool values.
      */
@@ -11116,11 +12000,19 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          */
         private final Map<Class<? extends Annotation>, OffsetMapping.Factory<?>> offsetMappings;
 
+        /**
+         * The decoding to apply for reading the class files of advice classes.
+         */
+        private final Decoding decoding;
+
         /**
          * Creates a new custom mapping builder step without including any custom mappings.
          */
         protected WithCustomMapping() {
-            this(PostProcessor.NoOp.INSTANCE, Collections.<Class<? extends Annotation>, OffsetMapping.Factory<?>>emptyMap(), Delegator.ForStaticInvocation.INSTANCE);
+            this(PostProcessor.NoOp.INSTANCE,
+                    Collections.<Class<? extends Annotation>, OffsetMapping.Factory<?>>emptyMap(),
+                    Delegator.ForStaticInvocation.INSTANCE,
+                    Decoding.ON_DEMAND);
         }
 
         /**
@@ -11129,13 +12021,16 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @param postProcessorFactory The post processor factory to apply.
          * @param offsetMappings       A map containing dynamically computed constant pool values that are mapped by their triggering annotation type.
          * @param delegator            The delegator to use.
+         * @param decoding             The decoding to apply for reading the class files of advice classes.
          */
         protected WithCustomMapping(PostProcessor.Factory postProcessorFactory,
                                     Map<Class<? extends Annotation>, OffsetMapping.Factory<?>> offsetMappings,
-                                    Delegator delegator) {
+                                    Delegator delegator,
+                                    Decoding decoding) {
             this.postProcessorFactory = postProcessorFactory;
             this.offsetMappings = offsetMappings;
             this.delegator = delegator;
+            this.decoding = decoding;
         }
 
         /**
@@ -11366,7 +12261,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             } else if (offsetMappings.put(offsetMapping.getAnnotationType(), offsetMapping) != null) {
                 throw new IllegalArgumentException("Annotation type already mapped: " + offsetMapping.getAnnotationType());
             }
-            return new WithCustomMapping(postProcessorFactory, offsetMappings, delegator);
+            return new WithCustomMapping(postProcessorFactory, offsetMappings, delegator, decoding);
         }
 
         /**
@@ -11429,7 +12324,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return A new builder for an advice that uses the supplied method or constructor for bootstrapping.
          */
         public WithCustomMapping bootstrap(MethodDescription.InDefinedShape bootstrap) {
-            return new WithCustomMapping(postProcessorFactory, offsetMappings, Delegator.ForDynamicInvocation.of(bootstrap));
+            return new WithCustomMapping(postProcessorFactory, offsetMappings, Delegator.ForDynamicInvocation.of(bootstrap), decoding);
         }
 
         /**
@@ -11439,7 +12334,17 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return A new builder for an advice that applies the supplied post processor factory.
          */
         public WithCustomMapping with(PostProcessor.Factory postProcessorFactory) {
-            return new WithCustomMapping(new PostProcessor.Factory.Compound(this.postProcessorFactory, postProcessorFactory), offsetMappings, delegator);
+            return new WithCustomMapping(new PostProcessor.Factory.Compound(this.postProcessorFactory, postProcessorFactory), offsetMappings, delegator, decoding);
+        }
+
+        /**
+         * Defines the decoding to apply for reading the class files of advice classes.
+         *
+         * @param decoding The decoding to apply.
+         * @return A new builder for an advice that applies the supplied decoding.
+         */
+        public WithCustomMapping with(Decoding decoding) {
+            return new WithCustomMapping(postProcessorFactory, offsetMappings, delegator, decoding);
         }
 
         /**
@@ -11472,7 +12377,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return A method visitor wrapper representing the supplied advice.
          */
         public Advice to(TypeDescription advice, ClassFileLocator classFileLocator) {
-            return Advice.to(advice, postProcessorFactory, classFileLocator, new ArrayList<OffsetMapping.Factory<?>>(offsetMappings.values()), delegator);
+            return Advice.to(advice, postProcessorFactory, classFileLocator, new ArrayList<OffsetMapping.Factory<?>>(offsetMappings.values()), delegator, decoding);
         }
 
         /**
@@ -11524,7 +12429,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return A method visitor wrapper representing the supplied advice.
          */
         public Advice to(TypeDescription enterAdvice, TypeDescription exitAdvice, ClassFileLocator classFileLocator) {
-            return Advice.to(enterAdvice, exitAdvice, postProcessorFactory, classFileLocator, new ArrayList<OffsetMapping.Factory<?>>(offsetMappings.values()), delegator);
+            return Advice.to(enterAdvice, exitAdvice, postProcessorFactory, classFileLocator, new ArrayList<OffsetMapping.Factory<?>>(offsetMappings.values()), delegator, decoding);
         }
     }
 
@@ -27,11 +27,21 @@ import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.OpenedClassReader;
+import net.bytebuddy.utility.StreamDrainer;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
 
 import java.io.*;
 import java.lang.annotation.*;
 import java.lang.reflect.*;
+import java.net.URISyntaxException;
 import java.security.AccessController;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.*;
@@ -39,6 +49,9 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 
@@ -972,996 +985,1018 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             TypePool.ClassLoading.ofPlatformLoader());
                 }
             }
-        }
-
-        /**
-         * An error handler that is used during a plugin engine application.
-         */
-        interface ErrorHandler {
-
-            /**
-             * Invoked if an error occured during a plugin's application on a given type.
-             *
-             * @param typeDescription The type being matched or transformed.
-             * @param plugin          The plugin being applied.
-             * @param throwable       The throwable that caused the error.
-             */
-            void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable);
-
-            /**
-             * Invoked after the application of all plugins was attempted if at least one error occured during handling a given type.
-             *
-             * @param typeDescription The type being transformed.
-             * @param throwables      The throwables that caused errors during the application.
-             */
-            void onError(TypeDescription typeDescription, List<Throwable> throwables);
-
-            /**
-             * Invoked at the end of the build if at least one type transformation failed.
-             *
-             * @param throwables A mapping of types that failed during transformation to the errors that were caught.
-             */
-            void onError(Map<TypeDescription, List<Throwable>> throwables);
-
-            /**
-             * Invoked at the end of the build if a plugin could not be closed.
-             *
-             * @param plugin    The plugin that could not be closed.
-             * @param throwable The error that was caused when the plugin was attempted to be closed.
-             */
-            void onError(Plugin plugin, Throwable throwable);
-
-            /**
-             * Invoked if a type transformation implied a live initializer.
-             *
-             * @param typeDescription The type that was transformed.
-             * @param definingType    The type that implies the initializer which might be the type itself or an auxiliary type.
-             */
-            void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType);
-
-            /**
-             * Invoked if a type could not be resolved.
-             *
-             * @param typeName The name of the unresolved type.
-             */
-            void onUnresolved(String typeName);
-
-            /**
-             * Invoked when a manifest was found or found missing.
-             *
-             * @param manifest The located manifest or {@code null} if no manifest was found.
-             */
-            void onManifest(Manifest manifest);
-
-            /**
-             * Invoked if a resource that is not a class file is discovered.
-             *
-             * @param name The name of the discovered resource.
-             */
-            void onResource(String name);
 
             /**
-             * An implementation of an error handler that fails the plugin engine application.
+             * A pool strategy that resolves type descriptions lazily and that uses a given cache provider for all type pools it
+             * creates. This allows for sharing resolved types between several applications of a plugin engine, for example by
+             * using a {@link TypePool.CacheProvider.Persistent} cache provider. The cache provider must not retain types that
+             * might change between applications of the engine.
              */
-            enum Failing implements ErrorHandler {
-
-                /**
-                 * An error handler that fails the build immediatly on the first error.
-                 */
-                FAIL_FAST {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        throw new IllegalStateException("Failed to transform " + typeDescription + " using " + plugin, throwable);
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-                },
-
-                /**
-                 * An error handler that fails the build after applying all plugins if at least one plugin failed.
-                 */
-                FAIL_AFTER_TYPE {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        throw new IllegalStateException("Failed to transform " + typeDescription + ": " + throwables);
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-                },
-
-                /**
-                 * An error handler that fails the build after transforming all types if at least one plugin failed.
-                 */
-                FAIL_LAST {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new IllegalStateException("Failed to transform at least one type: " + throwables);
-                    }
-                };
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithTypePoolCache implements PoolStrategy {
 
                 /**
-                 * {@inheritDoc}
+                 * This strategy's reader mode.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    throw new IllegalStateException("Failed to close plugin " + plugin, throwable);
-                }
+                private final TypePool.Default.ReaderMode readerMode;
 
                 /**
-                 * {@inheritDoc}
+                 * The cache provider to use.
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
-                }
+                private final TypePool.CacheProvider cacheProvider;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new pool strategy with a type pool cache that uses a fast reader mode.
+                 *
+                 * @param cacheProvider The cache provider to use.
                  */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
+                public WithTypePoolCache(TypePool.CacheProvider cacheProvider) {
+                    this(TypePool.Default.ReaderMode.FAST, cacheProvider);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new pool strategy with a type pool cache.
+                 *
+                 * @param readerMode    This strategy's reader mode.
+                 * @param cacheProvider The cache provider to use.
                  */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
+                public WithTypePoolCache(TypePool.Default.ReaderMode readerMode, TypePool.CacheProvider cacheProvider) {
+                    this.readerMode = readerMode;
+                    this.cacheProvider = cacheProvider;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onResource(String name) {
-                    /* do nothing */
+                public TypePool typePool(ClassFileLocator classFileLocator) {
+                    return new TypePool.Default.WithLazyResolution(cacheProvider,
+                            classFileLocator,
+                            readerMode,
+                            TypePool.ClassLoading.ofPlatformLoader());
                 }
             }
 
             /**
-             * An error handler that enforces certain properties of the transformation.
+             * <p>
+             * A pool strategy that resolves the types of a class path where jar files are opened by a {@link Registry} that shares
+             * them between all applications of a plugin engine that use the same jar files. Jar files are identified by their path,
+             * size and last modification time such that a modified jar file is reopened. Folders on the class path, such as a project's
+             * output folders, are never shared.
+             * </p>
+             * <p>
+             * Types that are located in a shared jar file are described by a type pool that the registry shares between all applications
+             * with an identical, ordered list of jar files on their class path, such that each such type is only parsed once. Any other type
+             * is described by a type pool of the current application. A type is only described by the shared type pool if the class file
+             * locator that is supplied to this strategy locates it in a shared jar file, such that a project's own types are never shadowed
+             * by types of a dependency. Types that are described by the shared type pool resolve referenced types from the shared jar files only.
+             * </p>
              */
-            enum Enforcing implements ErrorHandler {
-
-                /**
-                 * Enforces that all types could be resolved.
-                 */
-                ALL_TYPES_RESOLVED {
-                    @Override
-                    public void onUnresolved(String typeName) {
-                        throw new IllegalStateException("Failed to resolve type description for " + typeName);
-                    }
-                },
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithSharedDependencies implements PoolStrategy {
 
                 /**
-                 * Enforces that no type has a live initializer.
+                 * This strategy's reader mode.
                  */
-                NO_LIVE_INITIALIZERS {
-                    @Override
-                    public void onLiveInitializer(TypeDescription typeDescription, TypeDescription initializedType) {
-                        throw new IllegalStateException("Failed to instrument " + typeDescription + " due to live initializer for " + initializedType);
-                    }
-                },
+                private final TypePool.Default.ReaderMode readerMode;
 
                 /**
-                 * Enforces that a source only produces class files.
+                 * The registry of shared jar files.
                  */
-                CLASS_FILES_ONLY {
-                    @Override
-                    public void onResource(String name) {
-                        throw new IllegalStateException("Discovered a resource when only class files were allowed: " + name);
-                    }
-                },
+                private final Registry registry;
 
                 /**
-                 * Enforces that a manifest is written to a target.
+                 * The class path of which jar files are shared.
                  */
-                MANIFEST_REQUIRED {
-                    @Override
-                    public void onManifest(Manifest manifest) {
-                        if (manifest == null) {
-                            throw new IllegalStateException("Required a manifest but no manifest was found");
-                        }
-                    }
-                };
+                private final List<File> classPath;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new pool strategy with shared dependencies that uses the JVM-wide registry and a fast reader mode.
+                 *
+                 * @param classPath The class path of which jar files are shared.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
+                public WithSharedDependencies(List<? extends File> classPath) {
+                    this(TypePool.Default.ReaderMode.FAST, classPath);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new pool strategy with shared dependencies that uses the JVM-wide registry.
+                 *
+                 * @param readerMode This strategy's reader mode.
+                 * @param classPath  The class path of which jar files are shared.
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
+                public WithSharedDependencies(TypePool.Default.ReaderMode readerMode, List<? extends File> classPath) {
+                    this(readerMode, Registry.SHARED, classPath);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new pool strategy with shared dependencies.
+                 *
+                 * @param readerMode This strategy's reader mode.
+                 * @param registry   The registry of shared jar files.
+                 * @param classPath  The class path of which jar files are shared.
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
+                public WithSharedDependencies(TypePool.Default.ReaderMode readerMode, Registry registry, List<? extends File> classPath) {
+                    this.readerMode = readerMode;
+                    this.registry = registry;
+                    this.classPath = new ArrayList<File>(classPath);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns a class file locator for this strategy's class path in its order where jar files are located from the
+                 * registry's shared jar files. Closing the returned class file locator releases the shared jar files without closing
+                 * them. This class file locator should be registered with a plugin engine such that plugins can locate the class files
+                 * of dependencies without reopening any jar file.
+                 *
+                 * @return A class file locator for this strategy's class path.
+                 * @throws IOException If a jar file cannot be opened.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    /* do nothing */
+                public ClassFileLocator classFileLocator() throws IOException {
+                    List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+                    try {
+                        for (File file : classPath) {
+                            if (file.isFile()) {
+                                classFileLocators.add(registry.classFileLocator(file));
+                            } else if (file.isDirectory()) {
+                                classFileLocators.add(new ClassFileLocator.ForFolder(file));
+                            }
+                        }
+                    } catch (IOException exception) {
+                        for (ClassFileLocator classFileLocator : classFileLocators) {
+                            classFileLocator.close();
+                        }
+                        throw exception;
+                    }
+                    return new ClassFileLocator.Compound(classFileLocators);
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
+                public TypePool typePool(ClassFileLocator classFileLocator) {
+                    List<File> jarFiles = new ArrayList<File>(classPath.size());
+                    for (File file : classPath) {
+                        if (file.isFile()) {
+                            jarFiles.add(file);
+                        }
+                    }
+                    try {
+                        return new SharingTypePool(classFileLocator, readerMode, registry.typePool(readerMode, jarFiles));
+                    } catch (IOException exception) {
+                        throw new IllegalStateException("Cannot open jar files of class path: " + jarFiles, exception);
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A type pool that describes types that are located in a shared jar file by a type pool that is shared by a
+                 * {@link Registry}. All other types are described by this type pool.
                  */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
-                }
+                protected static class SharingTypePool extends TypePool.Default.WithLazyResolution {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
-                }
+                    /**
+                     * The shared type pool for the jar files of the class path.
+                     */
+                    private final TypePool sharedTypePool;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
-            }
-
-            /**
-             * A compound error handler.
-             */
-            class Compound implements ErrorHandler {
-
-                /**
-                 * The error handlers that are represented by this instance.
-                 */
-                private final List<ErrorHandler> errorHandlers;
-
-                /**
-                 * Creates a new compound error handler.
-                 *
-                 * @param errorHandler The error handlers that are represented by this instance.
-                 */
-                public Compound(ErrorHandler... errorHandler) {
-                    this(Arrays.asList(errorHandler));
-                }
+                    /**
+                     * Creates a new sharing type pool.
+                     *
+                     * @param classFileLocator The class file locator to use.
+                     * @param readerMode       The reader mode to use.
+                     * @param sharedTypePool   The shared type pool for the jar files of the class path.
+                     */
+                    protected SharingTypePool(ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool sharedTypePool) {
+                        super(new CacheProvider.Simple(), classFileLocator, readerMode, TypePool.ClassLoading.ofPlatformLoader());
+                        this.sharedTypePool = sharedTypePool;
+                    }
 
-                /**
-                 * Creates a new compound error handler.
-                 *
-                 * @param errorHandlers The error handlers that are represented by this instance.
-                 */
-                public Compound(List<? extends ErrorHandler> errorHandlers) {
-                    this.errorHandlers = new ArrayList<ErrorHandler>();
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        if (errorHandler instanceof Compound) {
-                            this.errorHandlers.addAll(((Compound) errorHandler).errorHandlers);
-                        } else if (!(errorHandler instanceof Listener.NoOp)) {
-                            this.errorHandlers.add(errorHandler);
+                    @Override
+                    protected Resolution doResolve(String name) {
+                        Resolution resolution = cacheProvider.find(name);
+                        if (resolution == null) {
+                            try {
+                                ClassFileLocator.Resolution located = classFileLocator.locate(name);
+                                if (located instanceof Registry.SharedResolution) {
+                                    resolution = sharedTypePool.describe(name);
+                                    if (!resolution.isResolved()) {
+                                        resolution = new Resolution.Simple(parse(located.resolve()));
+                                    }
+                                } else {
+                                    resolution = located.isResolved()
+                                            ? new Resolution.Simple(parse(located.resolve()))
+                                            : new Resolution.Illegal(name);
+                                }
+                            } catch (IOException exception) {
+                                throw new IllegalStateException("Error while reading class file", exception);
+                            }
+                            resolution = cacheProvider.register(name, resolution);
                         }
+                        return resolution;
                     }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A registry of jar files that are shared between several applications of a plugin engine. A registry retains
+                 * a bounded number of jar files that are closed once they are evicted, changed or once the registry is cleared and
+                 * once they are no longer in use. Additionally, a registry retains a bounded number of type pools, each of which
+                 * is shared by all applications with an identical, ordered list of jar files and reader mode.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(typeDescription, plugin, throwable);
-                    }
-                }
+                public static class Registry {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(typeDescription, throwables);
+                    /**
+                     * A registry that is shared within the current class loader, for example within a build session.
+                     */
+                    public static final Registry SHARED = new Registry();
+
+                    /**
+                     * The default maximum number of jar files that are retained by a registry.
+                     */
+                    public static final int DEFAULT_SIZE = 256;
+
+                    /**
+                     * The default maximum number of type pools that are retained by a registry.
+                     */
+                    public static final int DEFAULT_TYPE_POOLS = 16;
+
+                    /**
+                     * The maximum number of jar files that are retained by this registry.
+                     */
+                    private final int size;
+
+                    /**
+                     * The maximum number of type pools that are retained by this registry.
+                     */
+                    private final int typePools;
+
+                    /**
+                     * The shared jar files by their absolute path in the order of their last use.
+                     */
+                    protected final Map<String, Artifact> artifacts;
+
+                    /**
+                     * The shared type pools by their jar files and reader mode in the order of their last use.
+                     */
+                    protected final Map<TypePoolKey, SharedTypePool> sharedTypePools;
+
+                    /**
+                     * Creates a new registry with a default size.
+                     */
+                    public Registry() {
+                        this(DEFAULT_SIZE);
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(throwables);
+                    /**
+                     * Creates a new registry that retains a default number of type pools.
+                     *
+                     * @param size The maximum number of jar files that are retained by this registry.
+                     */
+                    public Registry(int size) {
+                        this(size, DEFAULT_TYPE_POOLS);
                     }
 
-                }
+                    /**
+                     * Creates a new registry.
+                     *
+                     * @param size      The maximum number of jar files that are retained by this registry.
+                     * @param typePools The maximum number of type pools that are retained by this registry.
+                     */
+                    public Registry(int size, int typePools) {
+                        if (size < 1) {
+                            throw new IllegalArgumentException("Registry size must be positive: " + size);
+                        } else if (typePools < 1) {
+                            throw new IllegalArgumentException("Number of type pools must be positive: " + typePools);
+                        }
+                        this.size = size;
+                        this.typePools = typePools;
+                        artifacts = new LinkedHashMap<String, Artifact>(16, 0.75f, true);
+                        sharedTypePools = new LinkedHashMap<TypePoolKey, SharedTypePool>(16, 0.75f, true);
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(plugin, throwable);
+                    /**
+                     * Returns a class file locator for a shared jar file. The jar file is opened if it is not yet registered or if
+                     * its size or last modification time changed since it was opened. Closing the returned class file locator
+                     * releases the jar file which remains open until it is evicted from this registry.
+                     *
+                     * @param file The jar file to locate.
+                     * @return A class file locator for the supplied jar file.
+                     * @throws IOException If the jar file cannot be opened.
+                     */
+                    public synchronized ClassFileLocator classFileLocator(File file) throws IOException {
+                        return artifact(file).acquire();
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onLiveInitializer(typeDescription, definingType);
+                    /**
+                     * Returns a type pool that is shared by all applications with the same, ordered list of jar files and reader mode.
+                     * The returned type pool only describes types of the supplied jar files and of the platform class loader. Its jar
+                     * files remain open until the type pool is evicted from this registry.
+                     *
+                     * @param readerMode The reader mode to use.
+                     * @param jarFiles   The jar files of the class path in their order.
+                     * @return A type pool that is shared for the supplied jar files.
+                     * @throws IOException If a jar file cannot be opened.
+                     */
+                    public synchronized TypePool typePool(TypePool.Default.ReaderMode readerMode, List<? extends File> jarFiles) throws IOException {
+                        List<Artifact> artifacts = new ArrayList<Artifact>(jarFiles.size());
+                        for (File jarFile : jarFiles) {
+                            artifacts.add(artifact(jarFile));
+                        }
+                        TypePoolKey key = new TypePoolKey(readerMode, artifacts);
+                        SharedTypePool sharedTypePool = sharedTypePools.get(key);
+                        if (sharedTypePool == null) {
+                            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(artifacts.size());
+                            for (Artifact artifact : artifacts) {
+                                classFileLocators.add(artifact.acquire());
+                            }
+                            sharedTypePool = new SharedTypePool(new ClassFileLocator.Compound(classFileLocators), readerMode);
+                            sharedTypePools.put(key, sharedTypePool);
+                            Iterator<SharedTypePool> iterator = sharedTypePools.values().iterator();
+                            while (sharedTypePools.size() > typePools && iterator.hasNext()) {
+                                SharedTypePool eldest = iterator.next();
+                                iterator.remove();
+                                eldest.close();
+                            }
+                        }
+                        return sharedTypePool;
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onUnresolved(typeName);
+                    /**
+                     * Resolves the current artifact of a jar file, opening the jar file if it is not yet registered or if its size
+                     * or last modification time changed since it was opened.
+                     *
+                     * @param file The jar file to resolve.
+                     * @return The current artifact of the jar file.
+                     * @throws IOException If the jar file cannot be opened.
+                     */
+                    private Artifact artifact(File file) throws IOException {
+                        String path = file.getAbsolutePath();
+                        long length = file.length(), lastModified = file.lastModified();
+                        Artifact artifact = artifacts.get(path);
+                        if (artifact == null || !artifact.isCurrent(length, lastModified)) {
+                            if (artifact != null) {
+                                artifacts.remove(path);
+                                evict(artifact);
+                            }
+                            artifact = new Artifact(new JarFile(file), length, lastModified);
+                            artifacts.put(path, artifact);
+                            Iterator<Artifact> iterator = artifacts.values().iterator();
+                            while (artifacts.size() > size && iterator.hasNext()) {
+                                Artifact eldest = iterator.next();
+                                iterator.remove();
+                                evict(eldest);
+                            }
+                        }
+                        return artifact;
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onManifest(manifest);
+                    /**
+                     * Evicts an artifact and all type pools that use it.
+                     *
+                     * @param artifact The artifact to evict.
+                     * @throws IOException If a jar file cannot be closed.
+                     */
+                    private void evict(Artifact artifact) throws IOException {
+                        try {
+                            Iterator<Map.Entry<TypePoolKey, SharedTypePool>> iterator = sharedTypePools.entrySet().iterator();
+                            while (iterator.hasNext()) {
+                                Map.Entry<TypePoolKey, SharedTypePool> entry = iterator.next();
+                                if (entry.getKey().artifacts.contains(artifact)) {
+                                    iterator.remove();
+                                    entry.getValue().close();
+                                }
+                            }
+                        } finally {
+                            artifact.evict();
+                        }
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onResource(name);
+                    /**
+                     * Removes all jar files and type pools from this registry. Jar files are closed once they are no longer in use.
+                     *
+                     * @throws IOException If a jar file cannot be closed.
+                     */
+                    public synchronized void clear() throws IOException {
+                        try {
+                            for (SharedTypePool sharedTypePool : sharedTypePools.values()) {
+                                sharedTypePool.close();
+                            }
+                        } finally {
+                            sharedTypePools.clear();
+                            try {
+                                for (Artifact artifact : artifacts.values()) {
+                                    artifact.evict();
+                                }
+                            } finally {
+                                artifacts.clear();
+                            }
+                        }
                     }
-                }
-            }
-        }
 
-        /**
-         * A listener that is invoked upon any event during a plugin engine application.
-         */
-        interface Listener extends ErrorHandler {
+                    /**
+                     * A key for a shared type pool that compares its artifacts by identity such that a changed jar file results
+                     * in a different key.
+                     */
+                    protected static class TypePoolKey {
 
-            /**
-             * Invoked upon discovering a type but prior to its resolution.
-             *
-             * @param typeName The name of the discovered type.
-             */
-            void onDiscovery(String typeName);
+                        /**
+                         * The reader mode of the type pool.
+                         */
+                        private final TypePool.Default.ReaderMode readerMode;
 
-            /**
-             * Invoked after a type was transformed using a specific plugin.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugin          The plugin that was applied.
-             */
-            void onTransformation(TypeDescription typeDescription, Plugin plugin);
+                        /**
+                         * The artifacts of the type pool in their class path order.
+                         */
+                        private final List<Artifact> artifacts;
 
-            /**
-             * Invoked after a type was transformed using at least one plugin.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugins         A list of plugins that were applied.
-             */
-            void onTransformation(TypeDescription typeDescription, List<Plugin> plugins);
+                        /**
+                         * Creates a new type pool key.
+                         *
+                         * @param readerMode The reader mode of the type pool.
+                         * @param artifacts  The artifacts of the type pool in their class path order.
+                         */
+                        protected TypePoolKey(TypePool.Default.ReaderMode readerMode, List<Artifact> artifacts) {
+                            this.readerMode = readerMode;
+                            this.artifacts = artifacts;
+                        }
 
-            /**
-             * Invoked if a type description is ignored by a given plugin. This callback is not invoked,
-             * if the ignore type matcher excluded a type from transformation.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugin          The plugin that ignored the given type.
-             */
-            void onIgnored(TypeDescription typeDescription, Plugin plugin);
+                        @Override
+                        public int hashCode() {
+                            return 31 * readerMode.hashCode() + artifacts.hashCode();
+                        }
 
-            /**
-             * Invoked if one or more plugins did not transform a type. This callback is also invoked if an
-             * ignore matcher excluded a type from transformation.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugins         the plugins that ignored the type.
-             */
-            void onIgnored(TypeDescription typeDescription, List<Plugin> plugins);
+                        @Override
+                        public boolean equals(Object other) {
+                            if (this == other) {
+                                return true;
+                            } else if (other == null || getClass() != other.getClass()) {
+                                return false;
+                            }
+                            TypePoolKey typePoolKey = (TypePoolKey) other;
+                            return readerMode == typePoolKey.readerMode && artifacts.equals(typePoolKey.artifacts);
+                        }
+                    }
 
-            /**
-             * Invoked upon completing handling a type that was either transformed or ignored.
-             *
-             * @param typeDescription The type that was transformed.
-             */
-            void onComplete(TypeDescription typeDescription);
+                    /**
+                     * A type pool that is shared for a list of jar files and that releases its jar files when it is closed.
+                     */
+                    protected static class SharedTypePool extends TypePool.Default.WithLazyResolution implements Closeable {
 
-            /**
-             * A non-operational listener.
-             */
-            enum NoOp implements Listener {
+                        /**
+                         * Creates a new shared type pool.
+                         *
+                         * @param classFileLocator The class file locator of the shared jar files.
+                         * @param readerMode       The reader mode to use.
+                         */
+                        protected SharedTypePool(ClassFileLocator classFileLocator, ReaderMode readerMode) {
+                            super(new CacheProvider.Simple(), classFileLocator, readerMode, TypePool.ClassLoading.ofPlatformLoader());
+                        }
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void close() throws IOException {
+                            classFileLocator.close();
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onDiscovery(String typeName) {
-                    /* do nothing */
-                }
+                    /**
+                     * A shared jar file that is closed once it is evicted from its registry and no longer in use.
+                     */
+                    protected static class Artifact {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                        /**
+                         * The opened jar file.
+                         */
+                        private final JarFile jarFile;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                        /**
+                         * The class file locator of the opened jar file.
+                         */
+                        private final ClassFileLocator classFileLocator;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                        /**
+                         * The size of the jar file when it was opened.
+                         */
+                        private final long length;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                        /**
+                         * The last modification time of the jar file when it was opened.
+                         */
+                        private final long lastModified;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
-                }
+                        /**
+                         * The number of class file locators that currently use this jar file.
+                         */
+                        private int references;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@code true} if this jar file was evicted from its registry.
+                         */
+                        private boolean evicted;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                        /**
+                         * Creates a new artifact.
+                         *
+                         * @param jarFile      The opened jar file.
+                         * @param length       The size of the jar file when it was opened.
+                         * @param lastModified The last modification time of the jar file when it was opened.
+                         */
+                        protected Artifact(JarFile jarFile, long length, long lastModified) {
+                            this.jarFile = jarFile;
+                            classFileLocator = new ClassFileLocator.ForJarFile(jarFile);
+                            this.length = length;
+                            this.lastModified = lastModified;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
-                }
+                        /**
+                         * Checks if this artifact still represents the jar file with the given metadata.
+                         *
+                         * @param length       The current size of the jar file.
+                         * @param lastModified The current last modification time of the jar file.
+                         * @return {@code true} if this artifact represents the current jar file.
+                         */
+                        protected boolean isCurrent(long length, long lastModified) {
+                            return this.length == length && this.lastModified == lastModified;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(TypeDescription typeDescription) {
-                    /* do nothing */
-                }
+                        /**
+                         * Acquires a class file locator for this jar file.
+                         *
+                         * @return A class file locator that releases this jar file when it is closed.
+                         */
+                        protected synchronized ClassFileLocator acquire() {
+                            references++;
+                            return new Handle(this);
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
-                }
+                        /**
+                         * Releases a class file locator of this jar file.
+                         *
+                         * @throws IOException If the jar file cannot be closed.
+                         */
+                        protected synchronized void release() throws IOException {
+                            if (--references == 0 && evicted) {
+                                classFileLocator.close();
+                            }
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
-                }
+                        /**
+                         * Marks this jar file as evicted and closes it if it is no longer in use.
+                         *
+                         * @throws IOException If the jar file cannot be closed.
+                         */
+                        protected synchronized void evict() throws IOException {
+                            evicted = true;
+                            if (references == 0) {
+                                classFileLocator.close();
+                            }
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
-            }
+                        /**
+                         * Checks if this jar file is closed.
+                         *
+                         * @return {@code true} if this jar file is closed.
+                         */
+                        protected synchronized boolean isClosed() {
+                            return evicted && references == 0;
+                        }
 
-            /**
-             * An adapter that implements all methods non-operational.
-             */
-            abstract class Adapter implements Listener {
+                        /**
+                         * Checks if this jar file contains a class file without reading it.
+                         *
+                         * @param name The name of the type to check.
+                         * @return {@code true} if this jar file contains a class file for the given type.
+                         */
+                        protected boolean contains(String name) {
+                            return jarFile.getEntry(name.replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION) != null;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onDiscovery(String typeName) {
-                    /* do nothing */
-                }
+                        /**
+                         * Locates a class file of this jar file.
+                         *
+                         * @param name The name of the type to locate.
+                         * @return A resolution of the class file.
+                         * @throws IOException If an I/O exception occurs.
+                         */
+                        protected ClassFileLocator.Resolution locate(String name) throws IOException {
+                            return classFileLocator.locate(name);
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                    /**
+                     * A class file locator that uses a shared jar file until it is closed.
+                     */
+                    protected static class Handle implements ClassFileLocator {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                        /**
+                         * The represented shared jar file.
+                         */
+                        private final Artifact artifact;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@code true} if this handle was closed.
+                         */
+                        private boolean closed;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                        /**
+                         * Creates a new handle.
+                         *
+                         * @param artifact The represented shared jar file.
+                         */
+                        protected Handle(Artifact artifact) {
+                            this.artifact = artifact;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Resolution locate(String name) {
+                            return artifact.contains(name)
+                                    ? new SharedResolution(artifact, name)
+                                    : new Resolution.Illegal(name);
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void close() throws IOException {
+                            synchronized (artifact) {
+                                if (closed) {
+                                    return;
+                                }
+                                closed = true;
+                            }
+                            artifact.release();
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
-                }
+                    /**
+                     * A resolution of a class file of a shared jar file that is only read when it is resolved such that a type
+                     * that is described by a shared type pool is not read again.
+                     */
+                    protected static class SharedResolution implements ClassFileLocator.Resolution {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                        /**
+                         * The shared jar file containing the class file.
+                         */
+                        private final Artifact artifact;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
-                }
+                        /**
+                         * The name of the located type.
+                         */
+                        private final String name;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(TypeDescription typeDescription) {
-                    /* do nothing */
-                }
+                        /**
+                         * Creates a new shared resolution.
+                         *
+                         * @param artifact The shared jar file containing the class file.
+                         * @param name     The name of the located type.
+                         */
+                        protected SharedResolution(Artifact artifact, String name) {
+                            this.artifact = artifact;
+                            this.name = name;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean isResolved() {
+                            return true;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public byte[] resolve() {
+                            try {
+                                return artifact.locate(name).resolve();
+                            } catch (IOException exception) {
+                                throw new IllegalStateException("Cannot read class file for " + name, exception);
+                            }
+                        }
+                    }
                 }
+            }
+        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
-            }
+        /**
+         * An error handler that is used during a plugin engine application.
+         */
+        interface ErrorHandler {
 
             /**
-             * A listener that forwards significant events of a plugin engine application to a {@link PrintStream}.
+             * Invoked if an error occured during a plugin's application on a given type.
+             *
+             * @param typeDescription The type being matched or transformed.
+             * @param plugin          The plugin being applied.
+             * @param throwable       The throwable that caused the error.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class StreamWriting extends Adapter {
+            void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable);
+
+            /**
+             * Invoked after the application of all plugins was attempted if at least one error occured during handling a given type.
+             *
+             * @param typeDescription The type being transformed.
+             * @param throwables      The throwables that caused errors during the application.
+             */
+            void onError(TypeDescription typeDescription, List<Throwable> throwables);
+
+            /**
+             * Invoked at the end of the build if at least one type transformation failed.
+             *
+             * @param throwables A mapping of types that failed during transformation to the errors that were caught.
+             */
+            void onError(Map<TypeDescription, List<Throwable>> throwables);
+
+            /**
+             * Invoked at the end of the build if a plugin could not be closed.
+             *
+             * @param plugin    The plugin that could not be closed.
+             * @param throwable The error that was caused when the plugin was attempted to be closed.
+             */
+            void onError(Plugin plugin, Throwable throwable);
+
+            /**
+             * Invoked if a type transformation implied a live initializer.
+             *
+             * @param typeDescription The type that was transformed.
+             * @param definingType    The type that implies the initializer which might be the type itself or an auxiliary type.
+             */
+            void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType);
+
+            /**
+             * Invoked if a type could not be resolved.
+             *
+             * @param typeName The name of the unresolved type.
+             */
+            void onUnresolved(String typeName);
+
+            /**
+             * Invoked when a manifest was found or found missing.
+             *
+             * @param manifest The located manifest or {@code null} if no manifest was found.
+             */
+            void onManifest(Manifest manifest);
+
+            /**
+             * Invoked if a resource that is not a class file is discovered.
+             *
+             * @param name The name of the discovered resource.
+             */
+            void onResource(String name);
+
+            /**
+             * An implementation of an error handler that fails the plugin engine application.
+             */
+            enum Failing implements ErrorHandler {
 
                 /**
-                 * The prefix that is appended to all written messages.
+                 * An error handler that fails the build immediatly on the first error.
                  */
-                protected static final String PREFIX = "[Byte Buddy]";
+                FAIL_FAST {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        throw new IllegalStateException("Failed to transform " + typeDescription + " using " + plugin, throwable);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+                },
 
                 /**
-                 * The print stream to delegate to.
+                 * An error handler that fails the build after applying all plugins if at least one plugin failed.
                  */
-                private final PrintStream printStream;
+                FAIL_AFTER_TYPE {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        throw new IllegalStateException("Failed to transform " + typeDescription + ": " + throwables);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+                },
 
                 /**
-                 * Creates a new stream writing listener.
-                 *
-                 * @param printStream The print stream to delegate to.
+                 * An error handler that fails the build after transforming all types if at least one plugin failed.
                  */
-                public StreamWriting(PrintStream printStream) {
-                    this.printStream = printStream;
-                }
+                FAIL_LAST {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new IllegalStateException("Failed to transform at least one type: " + throwables);
+                    }
+                };
 
                 /**
-                 * Creates a stream writing listener that prints all events on {@link System#out}.
-                 *
-                 * @return A listener that writes events to the system output stream.
+                 * {@inheritDoc}
                  */
-                public static StreamWriting toSystemOut() {
-                    return new StreamWriting(System.out);
+                public void onError(Plugin plugin, Throwable throwable) {
+                    throw new IllegalStateException("Failed to close plugin " + plugin, throwable);
                 }
 
                 /**
-                 * Creates a stream writing listener that prints all events on {@link System#err}.
-                 *
-                 * @return A listener that writes events to the system error stream.
+                 * {@inheritDoc}
                  */
-                public static StreamWriting toSystemError() {
-                    return new StreamWriting(System.err);
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
                 }
 
                 /**
-                 * Returns a new listener that only prints transformation and error events.
-                 *
-                 * @return A new listener that only prints transformation and error events.
+                 * {@inheritDoc}
                  */
-                public Listener withTransformationsOnly() {
-                    return new WithTransformationsOnly(this);
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
                 }
 
                 /**
-                 * Returns a new listener that only prints error events.
-                 *
-                 * @return A new listener that only prints error events.
+                 * {@inheritDoc}
                  */
-                public Listener withErrorsOnly() {
-                    return new WithErrorsOnly(this);
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onDiscovery(String typeName) {
-                    printStream.printf(PREFIX + " DISCOVERY %s", typeName);
+                public void onResource(String name) {
+                    /* do nothing */
                 }
+            }
+
+            /**
+             * An error handler that enforces certain properties of the transformation.
+             */
+            enum Enforcing implements ErrorHandler {
 
                 /**
-                 * {@inheritDoc}
+                 * Enforces that all types could be resolved.
                  */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    printStream.printf(PREFIX + " TRANSFORM %s for %s", typeDescription, plugin);
-                }
+                ALL_TYPES_RESOLVED {
+                    @Override
+                    public void onUnresolved(String typeName) {
+                        throw new IllegalStateException("Failed to resolve type description for " + typeName);
+                    }
+                },
 
                 /**
-                 * {@inheritDoc}
+                 * Enforces that no type has a live initializer.
                  */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    printStream.printf(PREFIX + " IGNORE %s for %s", typeDescription, plugin);
-                }
+                NO_LIVE_INITIALIZERS {
+                    @Override
+                    public void onLiveInitializer(TypeDescription typeDescription, TypeDescription initializedType) {
+                        throw new IllegalStateException("Failed to instrument " + typeDescription + " due to live initializer for " + initializedType);
+                    }
+                },
 
                 /**
-                 * {@inheritDoc}
+                 * Enforces that a source only produces class files.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    synchronized (printStream) {
-                        printStream.printf(PREFIX + " ERROR %s for %s", typeDescription, plugin);
-                        throwable.printStackTrace(printStream);
+                CLASS_FILES_ONLY {
+                    @Override
+                    public void onResource(String name) {
+                        throw new IllegalStateException("Discovered a resource when only class files were allowed: " + name);
                     }
-                }
+                },
 
                 /**
-                 * {@inheritDoc}
+                 * Enforces that a manifest is written to a target.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    synchronized (printStream) {
-                        printStream.printf(PREFIX + " ERROR %s", plugin);
-                        throwable.printStackTrace(printStream);
+                MANIFEST_REQUIRED {
+                    @Override
+                    public void onManifest(Manifest manifest) {
+                        if (manifest == null) {
+                            throw new IllegalStateException("Required a manifest but no manifest was found");
+                        }
                     }
-                }
+                };
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onUnresolved(String typeName) {
-                    printStream.printf(PREFIX + " UNRESOLVED %s", typeName);
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    printStream.printf(PREFIX + " LIVE %s on %s", typeDescription, definingType);
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onComplete(TypeDescription typeDescription) {
-                    printStream.printf(PREFIX + " COMPLETE %s", typeDescription);
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onManifest(Manifest manifest) {
-                    printStream.printf(PREFIX + " MANIFEST %b", manifest != null);
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onResource(String name) {
-                    printStream.printf(PREFIX + " RESOURCE %s", name);
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
                 }
-            }
-
-            /**
-             * A decorator for another listener to only print transformation and error events.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithTransformationsOnly extends Adapter {
-
-                /**
-                 * The delegate to forward events to.
-                 */
-                private final Listener delegate;
 
                 /**
-                 * Creates a new listener decorator that filter any event that is not related to transformation or errors.
-                 *
-                 * @param delegate The delegate to forward events to.
+                 * {@inheritDoc}
                  */
-                public WithTransformationsOnly(Listener delegate) {
-                    this.delegate = delegate;
-                }
-
-                @Override
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    delegate.onTransformation(typeDescription, plugin);
-                }
-
-                @Override
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    delegate.onTransformation(typeDescription, plugins);
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    delegate.onError(typeDescription, plugin, throwable);
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    delegate.onError(typeDescription, throwables);
-                }
-
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    delegate.onError(throwables);
-                }
-
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    delegate.onError(plugin, throwable);
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
                 }
-            }
-
-            /**
-             * A decorator for another listener to only print error events.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithErrorsOnly extends Adapter {
-
-                /**
-                 * The delegate to forward events to.
-                 */
-                private final Listener delegate;
 
                 /**
-                 * Creates a new listener decorator that filter any event that is not related to errors.
-                 *
-                 * @param delegate The delegate to forward events to.
+                 * {@inheritDoc}
                  */
-                public WithErrorsOnly(Listener delegate) {
-                    this.delegate = delegate;
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    delegate.onError(typeDescription, plugin, throwable);
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    delegate.onError(typeDescription, throwables);
-                }
-
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    delegate.onError(throwables);
-                }
-
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    delegate.onError(plugin, throwable);
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
                 }
-            }
-
-            /**
-             * A listener decorator that forwards events to an error handler if they are applicable.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForErrorHandler extends Adapter {
-
-                /**
-                 * The error handler to delegate to.
-                 */
-                private final ErrorHandler errorHandler;
 
                 /**
-                 * Creates a new listener representation for an error handler.
-                 *
-                 * @param errorHandler The error handler to delegate to.
+                 * {@inheritDoc}
                  */
-                public ForErrorHandler(ErrorHandler errorHandler) {
-                    this.errorHandler = errorHandler;
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    errorHandler.onError(typeDescription, plugin, throwable);
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    errorHandler.onError(typeDescription, throwables);
-                }
-
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    errorHandler.onError(throwables);
-                }
-
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    errorHandler.onError(plugin, throwable);
-                }
-
-                @Override
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    errorHandler.onLiveInitializer(typeDescription, definingType);
-                }
-
-                @Override
-                public void onUnresolved(String typeName) {
-                    errorHandler.onUnresolved(typeName);
-                }
-
-                @Override
-                public void onManifest(Manifest manifest) {
-                    errorHandler.onManifest(manifest);
-                }
-
-                @Override
                 public void onResource(String name) {
-                    errorHandler.onResource(name);
+                    /* do nothing */
                 }
             }
 
             /**
-             * A compound listener.
+             * A compound error handler.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Compound implements Listener {
+            class Compound implements ErrorHandler {
 
                 /**
-                 * A list of listeners that are represented by this compound instance.
+                 * The error handlers that are represented by this instance.
                  */
-                private final List<Listener> listeners;
+                private final List<ErrorHandler> errorHandlers;
 
                 /**
-                 * Creates a new compound listener.
+                 * Creates a new compound error handler.
                  *
-                 * @param listener A list of listeners that are represented by this compound instance.
+                 * @param errorHandler The error handlers that are represented by this instance.
                  */
-                public Compound(Listener... listener) {
-                    this(Arrays.asList(listener));
+                public Compound(ErrorHandler... errorHandler) {
+                    this(Arrays.asList(errorHandler));
                 }
 
                 /**
-                 * Creates a new compound listener.
+                 * Creates a new compound error handler.
                  *
-                 * @param listeners A list of listeners that are represented by this compound instance.
+                 * @param errorHandlers The error handlers that are represented by this instance.
                  */
-                public Compound(List<? extends Listener> listeners) {
-                    this.listeners = new ArrayList<Listener>();
-                    for (Listener listener : listeners) {
-                        if (listener instanceof Listener.Compound) {
-                            this.listeners.addAll(((Listener.Compound) listener).listeners);
-                        } else if (!(listener instanceof NoOp)) {
-                            this.listeners.add(listener);
+                public Compound(List<? extends ErrorHandler> errorHandlers) {
+                    this.errorHandlers = new ArrayList<ErrorHandler>();
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        if (errorHandler instanceof Compound) {
+                            this.errorHandlers.addAll(((Compound) errorHandler).errorHandlers);
+                        } else if (!(errorHandler instanceof Listener.NoOp)) {
+                            this.errorHandlers.add(errorHandler);
                         }
                     }
                 }
@@ -1969,1127 +2004,1149 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 /**
                  * {@inheritDoc}
                  */
-                public void onDiscovery(String typeName) {
-                    for (Listener listener : listeners) {
-                        listener.onDiscovery(typeName);
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(typeDescription, plugin, throwable);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    for (Listener listener : listeners) {
-                        listener.onTransformation(typeDescription, plugin);
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(typeDescription, throwables);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    for (Listener listener : listeners) {
-                        listener.onTransformation(typeDescription, plugins);
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(throwables);
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    for (Listener listener : listeners) {
-                        listener.onIgnored(typeDescription, plugin);
-                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    for (Listener listener : listeners) {
-                        listener.onIgnored(typeDescription, plugins);
+                public void onError(Plugin plugin, Throwable throwable) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(plugin, throwable);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    for (Listener listener : listeners) {
-                        listener.onError(typeDescription, plugin, throwable);
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onLiveInitializer(typeDescription, definingType);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    for (Listener listener : listeners) {
-                        listener.onError(typeDescription, throwables);
+                public void onUnresolved(String typeName) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onUnresolved(typeName);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    for (Listener listener : listeners) {
-                        listener.onError(throwables);
+                public void onManifest(Manifest manifest) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onManifest(manifest);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    for (Listener listener : listeners) {
-                        listener.onError(plugin, throwable);
+                public void onResource(String name) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onResource(name);
                     }
                 }
+            }
+        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    for (Listener listener : listeners) {
-                        listener.onLiveInitializer(typeDescription, definingType);
-                    }
+        /**
+         * A listener that is invoked upon any event during a plugin engine application.
+         */
+        interface Listener extends ErrorHandler {
+
+            /**
+             * Invoked upon discovering a type but prior to its resolution.
+             *
+             * @param typeName The name of the discovered type.
+             */
+            void onDiscovery(String typeName);
+
+            /**
+             * Invoked after a type was transformed using a specific plugin.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugin          The plugin that was applied.
+             */
+            void onTransformation(TypeDescription typeDescription, Plugin plugin);
+
+            /**
+             * Invoked after a type was transformed using at least one plugin.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugins         A list of plugins that were applied.
+             */
+            void onTransformation(TypeDescription typeDescription, List<Plugin> plugins);
+
+            /**
+             * Invoked if a type description is ignored by a given plugin. This callback is not invoked,
+             * if the ignore type matcher excluded a type from transformation.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugin          The plugin that ignored the given type.
+             */
+            void onIgnored(TypeDescription typeDescription, Plugin plugin);
+
+            /**
+             * Invoked if one or more plugins did not transform a type. This callback is also invoked if an
+             * ignore matcher excluded a type from transformation.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugins         the plugins that ignored the type.
+             */
+            void onIgnored(TypeDescription typeDescription, List<Plugin> plugins);
+
+            /**
+             * Invoked upon completing handling a type that was either transformed or ignored.
+             *
+             * @param typeDescription The type that was transformed.
+             */
+            void onComplete(TypeDescription typeDescription);
+
+            /**
+             * A non-operational listener.
+             */
+            enum NoOp implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void onComplete(TypeDescription typeDescription) {
-                    for (Listener listener : listeners) {
-                        listener.onComplete(typeDescription);
-                    }
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void onUnresolved(String typeName) {
-                    for (Listener listener : listeners) {
-                        listener.onUnresolved(typeName);
-                    }
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void onManifest(Manifest manifest) {
-                    for (Listener listener : listeners) {
-                        listener.onManifest(manifest);
-                    }
+                    /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void onResource(String name) {
-                    for (Listener listener : listeners) {
-                        listener.onResource(name);
-                    }
+                    /* do nothing */
                 }
             }
-        }
-
-        /**
-         * A source for a plugin engine provides binary elements to consider for transformation.
-         */
-        interface Source {
-
-            /**
-             * Initiates reading from a source.
-             *
-             * @return The origin to read from.
-             * @throws IOException If an I/O error occurs.
-             */
-            Origin read() throws IOException;
 
             /**
-             * An origin for elements.
+             * An adapter that implements all methods non-operational.
              */
-            interface Origin extends Iterable<Element>, Closeable {
+            abstract class Adapter implements Listener {
 
                 /**
-                 * Indicates that no manifest exists.
+                 * {@inheritDoc}
                  */
-                Manifest NO_MANIFEST = null;
+                public void onDiscovery(String typeName) {
+                    /* do nothing */
+                }
 
                 /**
-                 * Returns the manifest file of the source location or {@code null} if no manifest exists.
-                 *
-                 * @return This source's manifest or {@code null}.
-                 * @throws IOException If an I/O error occurs.
+                 * {@inheritDoc}
                  */
-                Manifest getManifest() throws IOException;
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
 
                 /**
-                 * Returns a class file locator for the represented source. If the class file locator needs to be closed, it is the responsibility
-                 * of this origin to close the locator or its underlying resources.
-                 *
-                 * @return A class file locator for locating class files of this instance..
+                 * {@inheritDoc}
                  */
-                ClassFileLocator getClassFileLocator();
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
 
                 /**
-                 * An origin implementation for a jar file.
+                 * {@inheritDoc}
                  */
-                class ForJarFile implements Origin {
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * The represented file.
-                     */
-                    private final JarFile file;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * Creates a new origin for a jar file.
-                     *
-                     * @param file The represented file.
-                     */
-                    public ForJarFile(JarFile file) {
-                        this.file = file;
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Manifest getManifest() throws IOException {
-                        return file.getManifest();
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public ClassFileLocator getClassFileLocator() {
-                        return new ClassFileLocator.ForJarFile(file);
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void close() throws IOException {
-                        file.close();
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Iterator<Element> iterator() {
-                        return new JarFileIterator(file.entries());
-                    }
-
-                    /**
-                     * An iterator for jar file entries.
-                     */
-                    protected class JarFileIterator implements Iterator<Element> {
-
-                        /**
-                         * The represented enumeration.
-                         */
-                        private final Enumeration<JarEntry> enumeration;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
+                }
 
-                        /**
-                         * Creates a new jar file iterator.
-                         *
-                         * @param enumeration The represented enumeration.
-                         */
-                        protected JarFileIterator(Enumeration<JarEntry> enumeration) {
-                            this.enumeration = enumeration;
-                        }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    /* do nothing */
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean hasNext() {
-                            return enumeration.hasMoreElements();
-                        }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Element next() {
-                            return new Element.ForJarEntry(file, enumeration.nextElement());
-                        }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
-                        }
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    /* do nothing */
                 }
             }
 
             /**
-             * Represents a binary element found in a source location.
+             * A listener that forwards significant events of a plugin engine application to a {@link PrintStream}.
              */
-            interface Element {
+            @HashCodeAndEqualsPlugin.Enhance
+            class StreamWriting extends Adapter {
 
                 /**
-                 * Returns the element's relative path and name.
+                 * The prefix that is appended to all written messages.
+                 */
+                protected static final String PREFIX = "[Byte Buddy]";
+
+                /**
+                 * The print stream to delegate to.
+                 */
+                private final PrintStream printStream;
+
+                /**
+                 * Creates a new stream writing listener.
                  *
-                 * @return The element's path and name.
+                 * @param printStream The print stream to delegate to.
                  */
-                String getName();
+                public StreamWriting(PrintStream printStream) {
+                    this.printStream = printStream;
+                }
 
                 /**
-                 * Returns an input stream to read this element's binary information.
+                 * Creates a stream writing listener that prints all events on {@link System#out}.
                  *
-                 * @return An input stream that represents this element's binary information.
-                 * @throws IOException If an I/O error occurs.
+                 * @return A listener that writes events to the system output stream.
                  */
-                InputStream getInputStream() throws IOException;
+                public static StreamWriting toSystemOut() {
+                    return new StreamWriting(System.out);
+                }
 
                 /**
-                 * Resolves this element to a more specialized form if possible. Doing so allows for performance
-                 * optimizations if more specialized formats are available.
+                 * Creates a stream writing listener that prints all events on {@link System#err}.
                  *
-                 * @param type The requested spezialized type.
-                 * @param <T>  The requested spezialized type.
-                 * @return The resolved element or {@code null} if a transformation is impossible.
+                 * @return A listener that writes events to the system error stream.
                  */
-                <T> T resolveAs(Class<T> type);
+                public static StreamWriting toSystemError() {
+                    return new StreamWriting(System.err);
+                }
 
                 /**
-                 * An element representation for a byte array.
+                 * Returns a new listener that only prints transformation and error events.
+                 *
+                 * @return A new listener that only prints transformation and error events.
                  */
-                @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Not mutating the byte array is part of the class contract.")
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForByteArray implements Element {
+                public Listener withTransformationsOnly() {
+                    return new WithTransformationsOnly(this);
+                }
 
-                    /**
-                     * The element's name.
-                     */
-                    private final String name;
+                /**
+                 * Returns a new listener that only prints error events.
+                 *
+                 * @return A new listener that only prints error events.
+                 */
+                public Listener withErrorsOnly() {
+                    return new WithErrorsOnly(this);
+                }
 
-                    /**
-                     * The element's binary representation.
-                     */
-                    private final byte[] binaryRepresentation;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    printStream.printf(PREFIX + " DISCOVERY %s", typeName);
+                }
 
-                    /**
-                     * Creates an element that is represented by a byte array.
-                     *
-                     * @param name                 The element's name.
-                     * @param binaryRepresentation The element's binary representation.
-                     */
-                    public ForByteArray(String name, byte[] binaryRepresentation) {
-                        this.name = name;
-                        this.binaryRepresentation = binaryRepresentation;
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    printStream.printf(PREFIX + " TRANSFORM %s for %s", typeDescription, plugin);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public String getName() {
-                        return name;
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    printStream.printf(PREFIX + " IGNORE %s for %s", typeDescription, plugin);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public InputStream getInputStream() {
-                        return new ByteArrayInputStream(binaryRepresentation);
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    synchronized (printStream) {
+                        printStream.printf(PREFIX + " ERROR %s for %s", typeDescription, plugin);
+                        throwable.printStackTrace(printStream);
                     }
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public <T> T resolveAs(Class<T> type) {
-                        return null;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    synchronized (printStream) {
+                        printStream.printf(PREFIX + " ERROR %s", plugin);
+                        throwable.printStackTrace(printStream);
                     }
                 }
 
                 /**
-                 * An element representation for a file.
+                 * {@inheritDoc}
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForFile implements Element {
+                public void onUnresolved(String typeName) {
+                    printStream.printf(PREFIX + " UNRESOLVED %s", typeName);
+                }
 
-                    /**
-                     * The root folder of the represented source.
-                     */
-                    private final File root;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    printStream.printf(PREFIX + " LIVE %s on %s", typeDescription, definingType);
+                }
 
-                    /**
-                     * The file location of the represented file that is located within the root directory.
-                     */
-                    private final File file;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    printStream.printf(PREFIX + " COMPLETE %s", typeDescription);
+                }
 
-                    /**
-                     * Creates an element representation for a file.
-                     *
-                     * @param root The root folder of the represented source.
-                     * @param file The file location of the represented file that is located within the root directory.
-                     */
-                    public ForFile(File root, File file) {
-                        this.root = root;
-                        this.file = file;
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    printStream.printf(PREFIX + " MANIFEST %b", manifest != null);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public String getName() {
-                        return root.getAbsoluteFile().toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    printStream.printf(PREFIX + " RESOURCE %s", name);
+                }
+            }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public InputStream getInputStream() throws IOException {
-                        return new FileInputStream(file);
-                    }
+            /**
+             * A decorator for another listener to only print transformation and error events.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithTransformationsOnly extends Adapter {
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @SuppressWarnings("unchecked")
-                    public <T> T resolveAs(Class<T> type) {
-                        return File.class.isAssignableFrom(type)
-                                ? (T) file
-                                : null;
-                    }
-                }
+                /**
+                 * The delegate to forward events to.
+                 */
+                private final Listener delegate;
 
                 /**
-                 * Represents a jar file entry as an element.
+                 * Creates a new listener decorator that filter any event that is not related to transformation or errors.
+                 *
+                 * @param delegate The delegate to forward events to.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForJarEntry implements Element {
+                public WithTransformationsOnly(Listener delegate) {
+                    this.delegate = delegate;
+                }
 
-                    /**
-                     * The source's underlying jar file.
-                     */
-                    private final JarFile file;
+                @Override
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    delegate.onTransformation(typeDescription, plugin);
+                }
 
-                    /**
-                     * The entry that is represented by this element.
-                     */
-                    private final JarEntry entry;
+                @Override
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    delegate.onTransformation(typeDescription, plugins);
+                }
 
-                    /**
-                     * Creates a new element representation for a jar file entry.
-                     *
-                     * @param file  The source's underlying jar file.
-                     * @param entry The entry that is represented by this element.
-                     */
-                    public ForJarEntry(JarFile file, JarEntry entry) {
-                        this.file = file;
-                        this.entry = entry;
-                    }
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    delegate.onError(typeDescription, plugin, throwable);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public String getName() {
-                        return entry.getName();
-                    }
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    delegate.onError(typeDescription, throwables);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public InputStream getInputStream() throws IOException {
-                        return file.getInputStream(entry);
-                    }
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    delegate.onError(throwables);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @SuppressWarnings("unchecked")
-                    public <T> T resolveAs(Class<T> type) {
-                        return JarEntry.class.isAssignableFrom(type)
-                                ? (T) entry
-                                : null;
-                    }
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    delegate.onError(plugin, throwable);
                 }
             }
 
             /**
-             * An empty source that does not contain any elements or a manifest.
+             * A decorator for another listener to only print error events.
              */
-            enum Empty implements Source, Origin {
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithErrorsOnly extends Adapter {
 
                 /**
-                 * The singleton instance.
+                 * The delegate to forward events to.
                  */
-                INSTANCE;
+                private final Listener delegate;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new listener decorator that filter any event that is not related to errors.
+                 *
+                 * @param delegate The delegate to forward events to.
                  */
-                public Origin read() {
-                    return this;
+                public WithErrorsOnly(Listener delegate) {
+                    this.delegate = delegate;
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public ClassFileLocator getClassFileLocator() {
-                    return ClassFileLocator.NoOp.INSTANCE;
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    delegate.onError(typeDescription, plugin, throwable);
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Manifest getManifest() {
-                    return NO_MANIFEST;
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    delegate.onError(typeDescription, throwables);
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterator<Element> iterator() {
-                    return Collections.<Element>emptySet().iterator();
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    delegate.onError(throwables);
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void close() {
-                    /* do nothing */
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    delegate.onError(plugin, throwable);
                 }
             }
 
             /**
-             * A source that represents a collection of in-memory resources that are represented as byte arrays.
+             * A listener decorator that forwards events to an error handler if they are applicable.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class InMemory implements Source, Origin {
+            class ForErrorHandler extends Adapter {
 
                 /**
-                 * A mapping of resource names to their binary representation.
+                 * The error handler to delegate to.
                  */
-                private final Map<String, byte[]> storage;
+                private final ErrorHandler errorHandler;
 
                 /**
-                 * Creates a new in-memory source.
+                 * Creates a new listener representation for an error handler.
                  *
-                 * @param storage A mapping of resource names to their binary representation.
+                 * @param errorHandler The error handler to delegate to.
                  */
-                public InMemory(Map<String, byte[]> storage) {
-                    this.storage = storage;
+                public ForErrorHandler(ErrorHandler errorHandler) {
+                    this.errorHandler = errorHandler;
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    errorHandler.onError(typeDescription, plugin, throwable);
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    errorHandler.onError(typeDescription, throwables);
+                }
+
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    errorHandler.onError(throwables);
+                }
+
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    errorHandler.onError(plugin, throwable);
+                }
+
+                @Override
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    errorHandler.onLiveInitializer(typeDescription, definingType);
+                }
+
+                @Override
+                public void onUnresolved(String typeName) {
+                    errorHandler.onUnresolved(typeName);
+                }
+
+                @Override
+                public void onManifest(Manifest manifest) {
+                    errorHandler.onManifest(manifest);
+                }
+
+                @Override
+                public void onResource(String name) {
+                    errorHandler.onResource(name);
                 }
+            }
+
+            /**
+             * A compound listener.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Compound implements Listener {
 
                 /**
-                 * Represents a collection of types as a in-memory source.
-                 *
-                 * @param type The types to represent.
-                 * @return A source representing the supplied types.
+                 * A list of listeners that are represented by this compound instance.
                  */
-                public static Source ofTypes(Class<?>... type) {
-                    return ofTypes(Arrays.asList(type));
-                }
+                private final List<Listener> listeners;
 
                 /**
-                 * Represents a collection of types as a in-memory source.
+                 * Creates a new compound listener.
                  *
-                 * @param types The types to represent.
-                 * @return A source representing the supplied types.
+                 * @param listener A list of listeners that are represented by this compound instance.
                  */
-                public static Source ofTypes(Collection<? extends Class<?>> types) {
-                    Map<TypeDescription, byte[]> binaryRepresentations = new HashMap<TypeDescription, byte[]>();
-                    for (Class<?> type : types) {
-                        binaryRepresentations.put(TypeDescription.ForLoadedType.of(type), ClassFileLocator.ForClassLoader.read(type));
-                    }
-                    return ofTypes(binaryRepresentations);
+                public Compound(Listener... listener) {
+                    this(Arrays.asList(listener));
                 }
 
                 /**
-                 * Represents a map of type names to their binary representation as an in-memory source.
+                 * Creates a new compound listener.
                  *
-                 * @param binaryRepresentations A mapping of type names to their binary representation.
-                 * @return A source representing the supplied types.
+                 * @param listeners A list of listeners that are represented by this compound instance.
                  */
-                public static Source ofTypes(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    Map<String, byte[]> storage = new HashMap<String, byte[]>();
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                public Compound(List<? extends Listener> listeners) {
+                    this.listeners = new ArrayList<Listener>();
+                    for (Listener listener : listeners) {
+                        if (listener instanceof Listener.Compound) {
+                            this.listeners.addAll(((Listener.Compound) listener).listeners);
+                        } else if (!(listener instanceof NoOp)) {
+                            this.listeners.add(listener);
+                        }
                     }
-                    return new InMemory(storage);
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Origin read() {
-                    return this;
+                public void onDiscovery(String typeName) {
+                    for (Listener listener : listeners) {
+                        listener.onDiscovery(typeName);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public ClassFileLocator getClassFileLocator() {
-                    return ClassFileLocator.Simple.ofResources(storage);
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Manifest getManifest() throws IOException {
-                    byte[] binaryRepresentation = storage.get(JarFile.MANIFEST_NAME);
-                    if (binaryRepresentation == null) {
-                        return NO_MANIFEST;
-                    } else {
-                        return new Manifest(new ByteArrayInputStream(binaryRepresentation));
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    for (Listener listener : listeners) {
+                        listener.onTransformation(typeDescription, plugin);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterator<Element> iterator() {
-                    return new MapEntryIterator(storage.entrySet().iterator());
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    for (Listener listener : listeners) {
+                        listener.onTransformation(typeDescription, plugins);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void close() {
-                    /* do nothing */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    for (Listener listener : listeners) {
+                        listener.onIgnored(typeDescription, plugin);
+                    }
                 }
 
                 /**
-                 * An iterator that represents map entries as sources.
+                 * {@inheritDoc}
                  */
-                protected static class MapEntryIterator implements Iterator<Element> {
-
-                    /**
-                     * The represented iterator.
-                     */
-                    private final Iterator<Map.Entry<String, byte[]>> iterator;
-
-                    /**
-                     * Creates a new map entry iterator.
-                     *
-                     * @param iterator The represented iterator.
-                     */
-                    protected MapEntryIterator(Iterator<Map.Entry<String, byte[]>> iterator) {
-                        this.iterator = iterator;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public boolean hasNext() {
-                        return iterator.hasNext();
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Element next() {
-                        Map.Entry<String, byte[]> entry = iterator.next();
-                        return new Element.ForByteArray(entry.getKey(), entry.getValue());
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    for (Listener listener : listeners) {
+                        listener.onIgnored(typeDescription, plugins);
                     }
                 }
-            }
-
-            /**
-             * Represents the contents of a folder as class files.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForFolder implements Source, Origin {
-
-                /**
-                 * The folder to represent.
-                 */
-                private final File folder;
 
                 /**
-                 * Creates a new source representation for a given folder.
-                 *
-                 * @param folder The folder to represent.
+                 * {@inheritDoc}
                  */
-                public ForFolder(File folder) {
-                    this.folder = folder;
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    for (Listener listener : listeners) {
+                        listener.onError(typeDescription, plugin, throwable);
+                    }
                 }
 
                 /**
-                 * Initializes a reading from this source.
-                 *
-                 * @return A source that represents the resource of this origin.
+                 * {@inheritDoc}
                  */
-                public Origin read() {
-                    return this;
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    for (Listener listener : listeners) {
+                        listener.onError(typeDescription, throwables);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public ClassFileLocator getClassFileLocator() {
-                    return new ClassFileLocator.ForFolder(folder);
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    for (Listener listener : listeners) {
+                        listener.onError(throwables);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Manifest getManifest() throws IOException {
-                    File file = new File(folder, JarFile.MANIFEST_NAME);
-                    if (file.exists()) {
-                        InputStream inputStream = new FileInputStream(file);
-                        try {
-                            return new Manifest(inputStream);
-                        } finally {
-                            inputStream.close();
-                        }
-                    } else {
-                        return NO_MANIFEST;
+                public void onError(Plugin plugin, Throwable throwable) {
+                    for (Listener listener : listeners) {
+                        listener.onError(plugin, throwable);
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterator<Element> iterator() {
-                    return new FolderIterator(folder);
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    for (Listener listener : listeners) {
+                        listener.onLiveInitializer(typeDescription, definingType);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void close() {
-                    /* do nothing */
+                public void onComplete(TypeDescription typeDescription) {
+                    for (Listener listener : listeners) {
+                        listener.onComplete(typeDescription);
+                    }
                 }
 
                 /**
-                 * An iterator that exposes all files within a folder structure as elements.
+                 * {@inheritDoc}
                  */
-                protected class FolderIterator implements Iterator<Element> {
-
-                    /**
-                     * A list of files and folders to process.
-                     */
-                    private final LinkedList<File> files;
-
-                    /**
-                     * Creates a new iterator representation for all files within a folder.
-                     *
-                     * @param folder The root folder.
-                     */
-                    protected FolderIterator(File folder) {
-                        files = new LinkedList<File>(Collections.singleton(folder));
-                        File candidate;
-                        do {
-                            candidate = files.removeFirst();
-                            File[] file = candidate.listFiles();
-                            if (file != null) {
-                                files.addAll(0, Arrays.asList(file));
-                            }
-                        } while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME))));
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public boolean hasNext() {
-                        return !files.isEmpty();
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @SuppressFBWarnings(value = "IT_NO_SUCH_ELEMENT", justification = "Exception is thrown by invoking removeFirst on an empty list.")
-                    public Element next() {
-                        try {
-                            return new Element.ForFile(folder, files.removeFirst());
-                        } finally {
-                            while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME)))) {
-                                File folder = files.removeFirst();
-                                File[] file = folder.listFiles();
-                                if (file != null) {
-                                    files.addAll(0, Arrays.asList(file));
-                                }
-                            }
-                        }
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
+                public void onUnresolved(String typeName) {
+                    for (Listener listener : listeners) {
+                        listener.onUnresolved(typeName);
                     }
                 }
-            }
-
-            /**
-             * Represents a jar file as a source.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForJarFile implements Source {
-
-                /**
-                 * The jar file being represented by this source.
-                 */
-                private final File file;
 
                 /**
-                 * Creates a new source for a jar file.
-                 *
-                 * @param file The jar file being represented by this source.
+                 * {@inheritDoc}
                  */
-                public ForJarFile(File file) {
-                    this.file = file;
+                public void onManifest(Manifest manifest) {
+                    for (Listener listener : listeners) {
+                        listener.onManifest(manifest);
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Origin read() throws IOException {
-                    return new Origin.ForJarFile(new JarFile(file));
+                public void onResource(String name) {
+                    for (Listener listener : listeners) {
+                        listener.onResource(name);
+                    }
                 }
             }
         }
 
         /**
-         * A target for a plugin engine represents a sink container for all elements that are supplied by a {@link Source}.
+         * A source for a plugin engine provides binary elements to consider for transformation.
          */
-        interface Target {
+        interface Source {
 
             /**
-             * Initializes this target prior to writing.
+             * Initiates reading from a source.
              *
-             * @param manifest The manifest for the target or {@code null} if no manifest was found.
-             * @return The sink to write to.
+             * @return The origin to read from.
              * @throws IOException If an I/O error occurs.
              */
-            Sink write(Manifest manifest) throws IOException;
+            Origin read() throws IOException;
 
             /**
-             * A sink represents an active writing process.
+             * An origin for elements.
              */
-            interface Sink extends Closeable {
+            interface Origin extends Iterable<Element>, Closeable {
 
                 /**
-                 * Stores the supplied binary representation of types in this sink.
+                 * Indicates that no manifest exists.
+                 */
+                Manifest NO_MANIFEST = null;
+
+                /**
+                 * Returns the manifest file of the source location or {@code null} if no manifest exists.
                  *
-                 * @param binaryRepresentations The binary representations to store.
+                 * @return This source's manifest or {@code null}.
                  * @throws IOException If an I/O error occurs.
                  */
-                void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException;
+                Manifest getManifest() throws IOException;
 
                 /**
-                 * Retains the supplied element in its original form.
+                 * Returns a class file locator for the represented source. If the class file locator needs to be closed, it is the responsibility
+                 * of this origin to close the locator or its underlying resources.
                  *
-                 * @param element The element to retain.
-                 * @throws IOException If an I/O error occurs.
+                 * @return A class file locator for locating class files of this instance..
                  */
-                void retain(Source.Element element) throws IOException;
+                ClassFileLocator getClassFileLocator();
 
                 /**
-                 * Implements a sink for a jar file.
+                 * An origin implementation for a jar file.
                  */
-                class ForJarOutputStream implements Sink {
+                class ForJarFile implements Origin {
 
                     /**
-                     * The output stream to write to.
+                     * The represented file.
                      */
-                    private final JarOutputStream outputStream;
+                    private final JarFile file;
 
                     /**
-                     * Creates a new sink for a jar file.
+                     * Creates a new origin for a jar file.
                      *
-                     * @param outputStream The output stream to write to.
+                     * @param file The represented file.
                      */
-                    public ForJarOutputStream(JarOutputStream outputStream) {
-                        this.outputStream = outputStream;
+                    public ForJarFile(JarFile file) {
+                        this.file = file;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
-                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                            outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
-                            outputStream.write(entry.getValue());
-                            outputStream.closeEntry();
-                        }
+                    public Manifest getManifest() throws IOException {
+                        return file.getManifest();
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void retain(Source.Element element) throws IOException {
-                        JarEntry entry = element.resolveAs(JarEntry.class);
-                        outputStream.putNextEntry(entry == null
-                                ? new JarEntry(element.getName())
-                                : entry);
-                        InputStream inputStream = element.getInputStream();
-                        try {
-                            byte[] buffer = new byte[1024];
-                            int length;
-                            while ((length = inputStream.read(buffer)) != -1) {
-                                outputStream.write(buffer, 0, length);
-                            }
-                        } finally {
-                            inputStream.close();
-                        }
-                        outputStream.closeEntry();
+                    public ClassFileLocator getClassFileLocator() {
+                        return new ClassFileLocator.ForJarFile(file);
                     }
 
                     /**
                      * {@inheritDoc}
                      */
                     public void close() throws IOException {
-                        outputStream.close();
+                        file.close();
                     }
-                }
-            }
 
-            /**
-             * A sink that discards any entry.
-             */
-            enum Discarding implements Target, Sink {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Element> iterator() {
+                        return new JarFileIterator(file.entries());
+                    }
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+                    /**
+                     * An iterator for jar file entries.
+                     */
+                    protected class JarFileIterator implements Iterator<Element> {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Sink write(Manifest manifest) {
-                    return this;
-                }
+                        /**
+                         * The represented enumeration.
+                         */
+                        private final Enumeration<JarEntry> enumeration;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    /* do nothing */
-                }
+                        /**
+                         * Creates a new jar file iterator.
+                         *
+                         * @param enumeration The represented enumeration.
+                         */
+                        protected JarFileIterator(Enumeration<JarEntry> enumeration) {
+                            this.enumeration = enumeration;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void retain(Source.Element element) {
-                    /* do nothing */
-                }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return enumeration.hasMoreElements();
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void close() {
-                    /* do nothing */
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Element next() {
+                            return new Element.ForJarEntry(file, enumeration.nextElement());
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
                 }
             }
 
             /**
-             * A sink that stores all elements in a memory map.
+             * Represents a binary element found in a source location.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class InMemory implements Target, Sink {
+            interface Element {
 
                 /**
-                 * The map for storing all elements being received.
+                 * Returns the element's relative path and name.
+                 *
+                 * @return The element's path and name.
                  */
-                private final Map<String, byte[]> storage;
+                String getName();
 
                 /**
-                 * Creates a new in-memory storage.
+                 * Returns an input stream to read this element's binary information.
+                 *
+                 * @return An input stream that represents this element's binary information.
+                 * @throws IOException If an I/O error occurs.
                  */
-                public InMemory() {
-                    this(new HashMap<String, byte[]>());
-                }
+                InputStream getInputStream() throws IOException;
 
                 /**
-                 * Creates a new in-memory storage.
+                 * Resolves this element to a more specialized form if possible. Doing so allows for performance
+                 * optimizations if more specialized formats are available.
                  *
-                 * @param storage The map for storing all elements being received.
+                 * @param type The requested spezialized type.
+                 * @param <T>  The requested spezialized type.
+                 * @return The resolved element or {@code null} if a transformation is impossible.
                  */
-                public InMemory(Map<String, byte[]> storage) {
-                    this.storage = storage;
-                }
+                <T> T resolveAs(Class<T> type);
 
                 /**
-                 * {@inheritDoc}
+                 * An element representation for a byte array.
                  */
-                public Sink write(Manifest manifest) throws IOException {
-                    if (manifest != null) {
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                        try {
-                            manifest.write(outputStream);
-                        } finally {
-                            outputStream.close();
-                        }
-                        storage.put(JarFile.MANIFEST_NAME, outputStream.toByteArray());
+                @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Not mutating the byte array is part of the class contract.")
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForByteArray implements Element {
+
+                    /**
+                     * The element's name.
+                     */
+                    private final String name;
+
+                    /**
+                     * The element's binary representation.
+                     */
+                    private final byte[] binaryRepresentation;
+
+                    /**
+                     * Creates an element that is represented by a byte array.
+                     *
+                     * @param name                 The element's name.
+                     * @param binaryRepresentation The element's binary representation.
+                     */
+                    public ForByteArray(String name, byte[] binaryRepresentation) {
+                        this.name = name;
+                        this.binaryRepresentation = binaryRepresentation;
                     }
-                    return this;
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return name;
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void retain(Source.Element element) throws IOException {
-                    String name = element.getName();
-                    if (!name.endsWith("/")) {
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                        try {
-                            InputStream inputStream = element.getInputStream();
-                            try {
-                                byte[] buffer = new byte[1024];
-                                int length;
-                                while ((length = inputStream.read(buffer)) != -1) {
-                                    outputStream.write(buffer, 0, length);
-                                }
-                            } finally {
-                                inputStream.close();
-                            }
-                        } finally {
-                            outputStream.close();
-                        }
-                        storage.put(element.getName(), outputStream.toByteArray());
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(binaryRepresentation);
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void close() {
-                    /* do nothing */
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public <T> T resolveAs(Class<T> type) {
+                        return null;
+                    }
                 }
 
                 /**
-                 * Returns the in-memory storage.
-                 *
-                 * @return The in-memory storage.
+                 * An element representation for a file.
                  */
-                public Map<String, byte[]> getStorage() {
-                    return storage;
-                }
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForFile implements Element {
 
-                /**
-                 * Returns the in-memory storage as a type-map where all non-class files are discarded.
-                 *
-                 * @return The in-memory storage as a type map.
-                 */
-                public Map<String, byte[]> toTypeMap() {
-                    Map<String, byte[]> binaryRepresentations = new HashMap<String, byte[]>();
-                    for (Map.Entry<String, byte[]> entry : storage.entrySet()) {
-                        if (entry.getKey().endsWith(CLASS_FILE_EXTENSION)) {
-                            binaryRepresentations.put(entry.getKey()
-                                    .substring(0, entry.getKey().length() - CLASS_FILE_EXTENSION.length())
-                                    .replace('/', '.'), entry.getValue());
-                        }
-                    }
-                    return binaryRepresentations;
+                    /**
+                     * The root folder of the represented source.
+                     */
+                    private final File root;
+
+                    /**
+                     * The file location of the represented file that is located within the root directory.
+                     */
+                    private final File file;
+
+                    /**
+                     * Creates an element representation for a file.
+                     *
+                     * @param root The root folder of the represented source.
+                     * @param file The file location of the represented file that is located within the root directory.
+                     */
+                    public ForFile(File root, File file) {
+                        this.root = root;
+                        this.file = file;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return root.getAbsoluteFile().toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() throws IOException {
+                        return new FileInputStream(file);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return File.class.isAssignableFrom(type)
+                                ? (T) file
+                                : null;
+                    }
+                }
+
+                /**
+                 * Represents a jar file entry as an element.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForJarEntry implements Element {
+
+                    /**
+                     * The source's underlying jar file.
+                     */
+                    private final JarFile file;
+
+                    /**
+                     * The entry that is represented by this element.
+                     */
+                    private final JarEntry entry;
+
+                    /**
+                     * Creates a new element representation for a jar file entry.
+                     *
+                     * @param file  The source's underlying jar file.
+                     * @param entry The entry that is represented by this element.
+                     */
+                    public ForJarEntry(JarFile file, JarEntry entry) {
+                        this.file = file;
+                        this.entry = entry;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return entry.getName();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() throws IOException {
+                        return file.getInputStream(entry);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return JarEntry.class.isAssignableFrom(type)
+                                ? (T) entry
+                                : null;
+                    }
                 }
             }
 
             /**
-             * Represents a folder as the target for a plugin engine's application.
+             * An empty source that does not contain any elements or a manifest.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForFolder implements Target, Sink {
-
-                /**
-                 * A dispatcher for using NIO2 if the current VM supports it.
-                 */
-                protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
+            enum Empty implements Source, Origin {
 
                 /**
-                 * The folder that is represented by this instance.
+                 * The singleton instance.
                  */
-                private final File folder;
+                INSTANCE;
 
                 /**
-                 * Creates a new target for a folder.
-                 *
-                 * @param folder The folder that is represented by this instance.
+                 * {@inheritDoc}
                  */
-                public ForFolder(File folder) {
-                    this.folder = folder;
+                public Origin read() {
+                    return this;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Sink write(Manifest manifest) throws IOException {
-                    if (manifest != null) {
-                        File target = new File(folder, JarFile.MANIFEST_NAME);
-                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        }
-                        OutputStream outputStream = new FileOutputStream(target);
-                        try {
-                            manifest.write(outputStream);
-                        } finally {
-                            outputStream.close();
-                        }
-                    }
-                    return this;
+                public ClassFileLocator getClassFileLocator() {
+                    return ClassFileLocator.NoOp.INSTANCE;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        File target = new File(folder, entry.getKey().getInternalName() + CLASS_FILE_EXTENSION);
-                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        }
-                        OutputStream outputStream = new FileOutputStream(target);
-                        try {
-                            outputStream.write(entry.getValue());
-                        } finally {
-                            outputStream.close();
-                        }
-                    }
+                public Manifest getManifest() {
+                    return NO_MANIFEST;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void retain(Source.Element element) throws IOException {
-                    String name = element.getName();
-                    if (!name.endsWith("/")) {
-                        File target = new File(folder, name), resolved = element.resolveAs(File.class);
-                        if (!target.getCanonicalPath().startsWith(folder.getCanonicalPath())) {
-                            throw new IllegalArgumentException(target + " is not a subdirectory of " + folder);
-                        } else if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        } else if (DISPATCHER.isAlive() && resolved != null && !resolved.equals(target)) {
-                            DISPATCHER.copy(resolved, target);
-                        } else if (!target.equals(resolved)) {
-                            InputStream inputStream = element.getInputStream();
-                            try {
-                                OutputStream outputStream = new FileOutputStream(target);
-                                try {
-                                    byte[] buffer = new byte[1024];
-                                    int length;
-                                    while ((length = inputStream.read(buffer)) != -1) {
-                                        outputStream.write(buffer, 0, length);
-                                    }
-                                } finally {
-                                    outputStream.close();
-                                }
-                            } finally {
-                                inputStream.close();
-                            }
-                        }
-                    }
+                public Iterator<Element> iterator() {
+                    return Collections.<Element>emptySet().iterator();
                 }
 
                 /**
@@ -3098,1464 +3155,4208 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 public void close() {
                     /* do nothing */
                 }
+            }
+
+            /**
+             * A source that represents a collection of in-memory resources that are represented as byte arrays.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class InMemory implements Source, Origin {
 
                 /**
-                 * A dispatcher that allows for file copy operations based on NIO2 if available.
+                 * A mapping of resource names to their binary representation.
                  */
-                protected interface Dispatcher {
+                private final Map<String, byte[]> storage;
 
-                    /**
-                     * Returns {@code true} if this dispatcher is alive.
-                     *
-                     * @return {@code true} if this dispatcher is alive.
-                     */
-                    boolean isAlive();
+                /**
+                 * Creates a new in-memory source.
+                 *
+                 * @param storage A mapping of resource names to their binary representation.
+                 */
+                public InMemory(Map<String, byte[]> storage) {
+                    this.storage = storage;
+                }
 
-                    /**
-                     * Copies the source file to the target location.
-                     *
-                     * @param source The source file.
-                     * @param target The target file.
-                     * @throws IOException If an I/O error occurs.
-                     */
-                    void copy(File source, File target) throws IOException;
+                /**
+                 * Represents a collection of types as a in-memory source.
+                 *
+                 * @param type The types to represent.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Class<?>... type) {
+                    return ofTypes(Arrays.asList(type));
+                }
 
-                    /**
-                     * An action for creating a dispatcher.
-                     */
-                    enum CreationAction implements PrivilegedAction<Dispatcher> {
+                /**
+                 * Represents a collection of types as a in-memory source.
+                 *
+                 * @param types The types to represent.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Collection<? extends Class<?>> types) {
+                    Map<TypeDescription, byte[]> binaryRepresentations = new HashMap<TypeDescription, byte[]>();
+                    for (Class<?> type : types) {
+                        binaryRepresentations.put(TypeDescription.ForLoadedType.of(type), ClassFileLocator.ForClassLoader.read(type));
+                    }
+                    return ofTypes(binaryRepresentations);
+                }
 
-                        /**
-                         * The singleton instance.
-                         */
-                        INSTANCE;
+                /**
+                 * Represents a map of type names to their binary representation as an in-memory source.
+                 *
+                 * @param binaryRepresentations A mapping of type names to their binary representation.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    Map<String, byte[]> storage = new HashMap<String, byte[]>();
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                    }
+                    return new InMemory(storage);
+                }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        @SuppressWarnings("unchecked")
-                        public Dispatcher run() {
-                            try {
-                                Class<?> path = Class.forName("java.nio.file.Path");
-                                Object[] arguments = (Object[]) Array.newInstance(Class.forName("java.nio.file.CopyOption"), 1);
-                                arguments[0] = Enum.valueOf((Class) Class.forName("java.nio.file.StandardCopyOption"), "REPLACE_EXISTING");
-                                return new ForJava7CapableVm(File.class.getMethod("toPath"),
-                                        Class.forName("java.nio.file.Files").getMethod("copy", path, path, arguments.getClass()),
-                                        arguments);
-                            } catch (Throwable ignored) {
-                                return ForLegacyVm.INSTANCE;
-                            }
-                        }
-                    }
-
-                    /**
-                     * A legacy dispatcher that is not capable of NIO.
-                     */
-                    enum ForLegacyVm implements Dispatcher {
-
-                        /**
-                         * The singleton instance.
-                         */
-                        INSTANCE;
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean isAlive() {
-                            return false;
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void copy(File source, File target) {
-                            throw new UnsupportedOperationException("Cannot use NIO2 copy on current VM");
-                        }
-                    }
-
-                    /**
-                     * A dispatcher for VMs that are capable of NIO2.
-                     */
-                    @HashCodeAndEqualsPlugin.Enhance
-                    class ForJava7CapableVm implements Dispatcher {
-
-                        /**
-                         * The {@code java.io.File#toPath()} method.
-                         */
-                        private final Method toPath;
-
-                        /**
-                         * The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
-                         */
-                        private final Method copy;
-
-                        /**
-                         * The copy options to apply.
-                         */
-                        private final Object[] copyOptions;
-
-                        /**
-                         * Creates a new NIO2 capable dispatcher.
-                         *
-                         * @param toPath      The {@code java.io.File#toPath()} method.
-                         * @param copy        The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
-                         * @param copyOptions The copy options to apply.
-                         */
-                        protected ForJava7CapableVm(Method toPath, Method copy, Object[] copyOptions) {
-                            this.toPath = toPath;
-                            this.copy = copy;
-                            this.copyOptions = copyOptions;
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean isAlive() {
-                            return true;
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void copy(File source, File target) throws IOException {
-                            try {
-                                copy.invoke(null, toPath.invoke(source), toPath.invoke(target), copyOptions);
-                            } catch (IllegalAccessException exception) {
-                                throw new IllegalStateException("Cannot access NIO file copy", exception);
-                            } catch (InvocationTargetException exception) {
-                                Throwable cause = exception.getCause();
-                                if (cause instanceof IOException) {
-                                    throw (IOException) cause;
-                                } else {
-                                    throw new IllegalStateException("Cannot execute NIO file copy", cause);
-                                }
-                            }
-                        }
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() {
+                    return this;
                 }
-            }
-
-            /**
-             * Represents a jar file as a target.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForJarFile implements Target {
 
                 /**
-                 * The jar file that is represented by this target.
+                 * {@inheritDoc}
                  */
-                private final File file;
+                public ClassFileLocator getClassFileLocator() {
+                    return ClassFileLocator.Simple.ofResources(storage);
+                }
 
                 /**
-                 * Creates a new target for a jar file.
-                 *
-                 * @param file The jar file that is represented by this target.
+                 * {@inheritDoc}
                  */
-                public ForJarFile(File file) {
-                    this.file = file;
+                public Manifest getManifest() throws IOException {
+                    byte[] binaryRepresentation = storage.get(JarFile.MANIFEST_NAME);
+                    if (binaryRepresentation == null) {
+                        return NO_MANIFEST;
+                    } else {
+                        return new Manifest(new ByteArrayInputStream(binaryRepresentation));
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Sink write(Manifest manifest) throws IOException {
-                    return manifest == null
-                            ? new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file)))
-                            : new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file), manifest));
+                public Iterator<Element> iterator() {
+                    return new MapEntryIterator(storage.entrySet().iterator());
                 }
-            }
-        }
-
-        /**
-         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
-         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
-         * will only be used once and from a single thread.
-         */
-        interface Dispatcher extends Closeable {
-
-            /**
-             * Accepts a new work assignment.
-             *
-             * @param work  The work to handle prefixed by a preprocessing step.
-             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
-             * @throws IOException If an I/O exception occurs.
-             */
-            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
-
-            /**
-             * Completes the work being handled.
-             *
-             * @throws IOException If an I/O exception occurs.
-             */
-            void complete() throws IOException;
-
-            /**
-             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
-             */
-            interface Materializable {
 
                 /**
-                 * Materializes this work result and adds any results to the corresponding collection.
-                 *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @throws IOException If an I/O exception occurs.
+                 * {@inheritDoc}
                  */
-                void materialize(Target.Sink sink,
-                                 List<TypeDescription> transformed,
-                                 Map<TypeDescription,
-                                 List<Throwable>> failed,
-                                 List<String> unresolved) throws IOException;
+                public void close() {
+                    /* do nothing */
+                }
 
                 /**
-                 * A materializable for a successfully transformed type.
+                 * An iterator that represents map entries as sources.
                  */
-                class ForTransformedElement implements Materializable {
+                protected static class MapEntryIterator implements Iterator<Element> {
 
                     /**
-                     * The type that has been transformed.
+                     * The represented iterator.
                      */
-                    private final DynamicType dynamicType;
+                    private final Iterator<Map.Entry<String, byte[]>> iterator;
 
                     /**
-                     * Creates a new materializable for a successfully transformed type.
+                     * Creates a new map entry iterator.
                      *
-                     * @param dynamicType The type that has been transformed.
+                     * @param iterator The represented iterator.
                      */
-                    protected ForTransformedElement(DynamicType dynamicType) {
-                        this.dynamicType = dynamicType;
+                    protected MapEntryIterator(Iterator<Map.Entry<String, byte[]>> iterator) {
+                        this.iterator = iterator;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.store(dynamicType.getAllTypes());
-                        transformed.add(dynamicType.getTypeDescription());
+                    public boolean hasNext() {
+                        return iterator.hasNext();
                     }
-                }
-
-                /**
-                 * A materializable for an element that is retained in its original state.
-                 */
-                class ForRetainedElement implements Materializable {
-
-                    /**
-                     * The retained element.
-                     */
-                    private final Source.Element element;
 
                     /**
-                     * Creates a new materializable for a retained element.
-                     *
-                     * @param element The retained element.
+                     * {@inheritDoc}
                      */
-                    protected ForRetainedElement(Source.Element element) {
-                        this.element = element;
+                    public Element next() {
+                        Map.Entry<String, byte[]> entry = iterator.next();
+                        return new Element.ForByteArray(entry.getKey(), entry.getValue());
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
                     }
                 }
+            }
+
+            /**
+             * Represents the contents of a folder as class files.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForFolder implements Source, Origin {
 
                 /**
-                 * A materializable for an element that failed to be transformed.
+                 * The folder to represent.
                  */
-                class ForFailedElement implements Materializable {
-
-                    /**
-                     * The element for which the transformation failed.
-                     */
-                    private final Source.Element element;
+                private final File folder;
 
-                    /**
-                     * The type description for the represented type.
-                     */
-                    private final TypeDescription typeDescription;
+                /**
+                 * Creates a new source representation for a given folder.
+                 *
+                 * @param folder The folder to represent.
+                 */
+                public ForFolder(File folder) {
+                    this.folder = folder;
+                }
 
-                    /**
-                     * A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    private final List<Throwable> errored;
+                /**
+                 * Initializes a reading from this source.
+                 *
+                 * @return A source that represents the resource of this origin.
+                 */
+                public Origin read() {
+                    return this;
+                }
 
-                    /**
-                     * Creates a new materializable for an element that failed to be transformed.
-                     *
-                     * @param element         The element for which the transformation failed.
-                     * @param typeDescription The type description for the represented type.
-                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
-                        this.element = element;
-                        this.typeDescription = typeDescription;
-                        this.errored = errored;
-                    }
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassFileLocator getClassFileLocator() {
+                    return new ClassFileLocator.ForFolder(folder);
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        failed.put(typeDescription, errored);
+                /**
+                 * {@inheritDoc}
+                 */
+                public Manifest getManifest() throws IOException {
+                    File file = new File(folder, JarFile.MANIFEST_NAME);
+                    if (file.exists()) {
+                        InputStream inputStream = new FileInputStream(file);
+                        try {
+                            return new Manifest(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                    } else {
+                        return NO_MANIFEST;
                     }
                 }
 
                 /**
-                 * A materializable for an element that could not be resolved.
+                 * {@inheritDoc}
                  */
-                class ForUnresolvedElement implements Materializable {
+                public Iterator<Element> iterator() {
+                    return new FolderIterator(folder);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * An iterator that exposes all files within a folder structure as elements.
+                 */
+                protected class FolderIterator implements Iterator<Element> {
 
                     /**
-                     * The element that could not be resolved.
+                     * A list of files and folders to process.
                      */
-                    private final Source.Element element;
+                    private final LinkedList<File> files;
 
                     /**
-                     * The name of the type that was deducted for this element.
+                     * Creates a new iterator representation for all files within a folder.
+                     *
+                     * @param folder The root folder.
                      */
-                    private final String typeName;
+                    protected FolderIterator(File folder) {
+                        files = new LinkedList<File>(Collections.singleton(folder));
+                        File candidate;
+                        do {
+                            candidate = files.removeFirst();
+                            File[] file = candidate.listFiles();
+                            if (file != null) {
+                                files.addAll(0, Arrays.asList(file));
+                            }
+                        } while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME))));
+                    }
 
                     /**
-                     * Creates a new materializable for an element that could not be resolved.
-                     *
-                     * @param element  The element that could not be resolved.
-                     * @param typeName The name of the type that was deducted for this element.
+                     * {@inheritDoc}
                      */
-                    protected ForUnresolvedElement(Source.Element element, String typeName) {
-                        this.element = element;
-                        this.typeName = typeName;
+                    public boolean hasNext() {
+                        return !files.isEmpty();
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        unresolved.add(typeName);
+                    @SuppressFBWarnings(value = "IT_NO_SUCH_ELEMENT", justification = "Exception is thrown by invoking removeFirst on an empty list.")
+                    public Element next() {
+                        try {
+                            return new Element.ForFile(folder, files.removeFirst());
+                        } finally {
+                            while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME)))) {
+                                File folder = files.removeFirst();
+                                File[] file = folder.listFiles();
+                                if (file != null) {
+                                    files.addAll(0, Arrays.asList(file));
+                                }
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
                     }
                 }
             }
 
             /**
-             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
+             * Represents a jar file as a source.
              */
-            interface Factory {
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJarFile implements Source {
 
                 /**
-                 * Creates a new dispatcher.
+                 * The jar file being represented by this source.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new source for a jar file.
                  *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @return The dispatcher to use.
+                 * @param file The jar file being represented by this source.
                  */
-                Dispatcher make(Target.Sink sink,
-                                List<TypeDescription> transformed,
-                                Map<TypeDescription,
-                                        List<Throwable>> failed,
-                                List<String> unresolved);
+                public ForJarFile(File file) {
+                    this.file = file;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() throws IOException {
+                    return new Origin.ForJarFile(new JarFile(file));
+                }
             }
 
             /**
-             * A dispatcher that applies transformation upon discovery.
+             * Represents a jar file as a source that additionally exposes the compressed representation of each entry as a
+             * {@link RawEntry}. A {@link Target.ForRawJarFile} can use this representation to copy entries that are not
+             * transformed without inflating and deflating them again. If the jar file cannot be represented in its raw form,
+             * for example if it is a Zip64 archive, the source behaves like a {@link ForJarFile}.
              */
-            class ForSerialTransformation implements Dispatcher {
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForRawJarFile implements Source {
 
                 /**
-                 * The sink to write any work to.
+                 * The signature of a zip file's end of central directory record.
                  */
-                private final Target.Sink sink;
+                protected static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
 
                 /**
-                 * A list of all types that are transformed.
+                 * The signature of a Zip64 file's end of central directory locator.
                  */
-                private final List<TypeDescription> transformed;
+                protected static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
 
                 /**
-                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * The signature of a zip file's central directory file header.
                  */
-                private final Map<TypeDescription, List<Throwable>> failed;
+                protected static final int CENTRAL_DIRECTORY = 0x02014b50;
 
                 /**
-                 * A list of type names that could not be resolved.
+                 * The signature of a zip file's local file header.
                  */
-                private final List<String> unresolved;
+                protected static final int LOCAL_FILE_HEADER = 0x04034b50;
 
                 /**
-                 * A list of deferred processings.
+                 * The signature that optionally precedes a zip file's data descriptor.
                  */
-                private final List<Callable<? extends Materializable>> preprocessings;
+                protected static final int DATA_DESCRIPTOR = 0x08074b50;
 
                 /**
-                 * Creates a dispatcher for a serial transformation.
+                 * The minimal length of an end of central directory record.
+                 */
+                protected static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+                /**
+                 * The length of the fixed part of a central directory file header.
+                 */
+                protected static final int CENTRAL_DIRECTORY_LENGTH = 46;
+
+                /**
+                 * The length of the fixed part of a local file header.
+                 */
+                protected static final int LOCAL_FILE_HEADER_LENGTH = 30;
+
+                /**
+                 * The maximum length of a zip file comment.
+                 */
+                protected static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+                /**
+                 * The jar file being represented by this source.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new source for a jar file that exposes its raw entries.
                  *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
+                 * @param file The jar file being represented by this source.
                  */
-                protected ForSerialTransformation(Target.Sink sink,
-                                                  List<TypeDescription> transformed,
-                                                  Map<TypeDescription, List<Throwable>> failed,
-                                                  List<String> unresolved) {
-                    this.sink = sink;
-                    this.transformed = transformed;
-                    this.failed = failed;
-                    this.unresolved = unresolved;
-                    preprocessings = new ArrayList<Callable<? extends Materializable>>();
+                public ForRawJarFile(File file) {
+                    this.file = file;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                public Origin read() throws IOException {
+                    JarFile jarFile = new JarFile(file);
                     try {
-                        Callable<? extends Materializable> preprocessed = work.call();
-                        if (eager) {
-                            preprocessed.call().materialize(sink, transformed, failed, unresolved);
-                        } else {
-                            preprocessings.add(preprocessed);
-                        }
-                    } catch (Exception exception) {
-                        if (exception instanceof IOException) {
-                            throw (IOException) exception;
-                        } else if (exception instanceof RuntimeException) {
-                            throw (RuntimeException) exception;
-                        } else {
-                            throw new IllegalStateException(exception);
+                        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                        try {
+                            return new RawOrigin(jarFile, randomAccessFile, index(randomAccessFile));
+                        } catch (IOException exception) {
+                            randomAccessFile.close();
+                            throw exception;
+                        } catch (RuntimeException exception) {
+                            randomAccessFile.close();
+                            throw exception;
                         }
+                    } catch (IOException exception) {
+                        jarFile.close();
+                        throw exception;
+                    } catch (RuntimeException exception) {
+                        jarFile.close();
+                        throw exception;
                     }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Indexes the central directory of a zip file. If the file's entries cannot be copied in their raw form, an empty
+                 * index is returned.
+                 *
+                 * @param randomAccessFile The zip file to index.
+                 * @return A mapping of entry names to their raw representation.
+                 * @throws IOException If an I/O error occurs.
                  */
-                public void complete() throws IOException {
-                    for (Callable<? extends Materializable> preprocessing : preprocessings) {
-                        if (Thread.interrupted()) {
-                            Thread.currentThread().interrupt();
-                            throw new IllegalStateException("Interrupted during plugin engine completion");
+                protected static Map<String, RawEntry> index(RandomAccessFile randomAccessFile) throws IOException {
+                    long length = randomAccessFile.length();
+                    if (length < END_OF_CENTRAL_DIRECTORY_LENGTH) {
+                        return Collections.emptyMap();
+                    }
+                    int tail = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_LENGTH + MAXIMUM_COMMENT_LENGTH);
+                    byte[] buffer = new byte[tail];
+                    randomAccessFile.seek(length - tail);
+                    randomAccessFile.readFully(buffer);
+                    int position = tail - END_OF_CENTRAL_DIRECTORY_LENGTH;
+                    while (position >= 0 && readInt(buffer, position) != END_OF_CENTRAL_DIRECTORY) {
+                        position--;
+                    }
+                    if (position < 0 || position >= 20 && readInt(buffer, position - 20) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+                        return Collections.emptyMap();
+                    }
+                    int entries = readShort(buffer, position + 10);
+                    long size = readUnsignedInt(buffer, position + 12), offset = readUnsignedInt(buffer, position + 16);
+                    if (entries == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL || offset + size > length) {
+                        return Collections.emptyMap();
+                    }
+                    byte[] centralDirectory = new byte[(int) size];
+                    randomAccessFile.seek(offset);
+                    randomAccessFile.readFully(centralDirectory);
+                    Map<String, RawEntry> index = new HashMap<String, RawEntry>();
+                    position = 0;
+                    for (int entry = 0; entry < entries; entry++) {
+                        if (position + CENTRAL_DIRECTORY_LENGTH > centralDirectory.length || readInt(centralDirectory, position) != CENTRAL_DIRECTORY) {
+                            return Collections.emptyMap();
                         }
-                        try {
-                            preprocessing.call().materialize(sink, transformed, failed, unresolved);
-                        } catch (Exception exception) {
-                            if (exception instanceof IOException) {
-                                throw (IOException) exception;
-                            } else if (exception instanceof RuntimeException) {
-                                throw (RuntimeException) exception;
-                            } else {
-                                throw new IllegalStateException(exception);
-                            }
+                        int recordLength = CENTRAL_DIRECTORY_LENGTH
+                                + readShort(centralDirectory, position + 28)
+                                + readShort(centralDirectory, position + 30)
+                                + readShort(centralDirectory, position + 32);
+                        if (position + recordLength > centralDirectory.length) {
+                            return Collections.emptyMap();
+                        }
+                        byte[] record = new byte[recordLength];
+                        System.arraycopy(centralDirectory, position, record, 0, recordLength);
+                        if ((readShort(record, 8) & 1) == 0) {
+                            index.put(new String(record, CENTRAL_DIRECTORY_LENGTH, readShort(record, 28), "UTF-8"), new RawEntry(randomAccessFile, record));
                         }
+                        position += recordLength;
                     }
+                    return index;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Reads an unsigned little-endian short value.
+                 *
+                 * @param buffer   The buffer to read from.
+                 * @param position The position of the value.
+                 * @return The value that was read.
                  */
-                public void close() {
-                    /* do nothing */
+                protected static int readShort(byte[] buffer, int position) {
+                    return (buffer[position] & 0xFF) | (buffer[position + 1] & 0xFF) << 8;
                 }
 
                 /**
-                 * A factory for creating a serial dispatcher.
+                 * Reads a little-endian integer value.
+                 *
+                 * @param buffer   The buffer to read from.
+                 * @param position The position of the value.
+                 * @return The value that was read.
                  */
-                public enum Factory implements Dispatcher.Factory {
-
-                    /**
-                     * The singleton instance.
-                     */
-                    INSTANCE;
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Dispatcher make(Target.Sink sink,
-                                           List<TypeDescription> transformed,
-                                           Map<TypeDescription,
-                                                   List<Throwable>> failed,
-                                           List<String> unresolved) {
-                        return new ForSerialTransformation(sink, transformed, failed, unresolved);
-                    }
+                protected static int readInt(byte[] buffer, int position) {
+                    return readShort(buffer, position) | readShort(buffer, position + 2) << 16;
                 }
-            }
-
-            /**
-             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
-             */
-            class ForParallelTransformation implements Dispatcher {
-
-                /**
-                 * The target sink.
-                 */
-                private final Target.Sink sink;
 
                 /**
-                 * A list of all types that are transformed.
+                 * Reads an unsigned little-endian integer value.
+                 *
+                 * @param buffer   The buffer to read from.
+                 * @param position The position of the value.
+                 * @return The value that was read.
                  */
-                private final List<TypeDescription> transformed;
+                protected static long readUnsignedInt(byte[] buffer, int position) {
+                    return readInt(buffer, position) & 0xFFFFFFFFL;
+                }
 
                 /**
-                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * Represents the compressed form of a zip file entry, consisting of its local file header, its compressed data and an
+                 * optional data descriptor as well as its central directory record.
                  */
-                private final Map<TypeDescription, List<Throwable>> failed;
+                public static class RawEntry {
 
-                /**
-                 * A list of type names that could not be resolved.
-                 */
-                private final List<String> unresolved;
+                    /**
+                     * The zip file that contains this entry.
+                     */
+                    private final RandomAccessFile randomAccessFile;
 
-                /**
-                 * A completion service for all preprocessings.
-                 */
-                private final CompletionService<Callable<Materializable>> preprocessings;
+                    /**
+                     * The entry's central directory record.
+                     */
+                    private final byte[] record;
 
-                /**
-                 * A completion service for all materializers.
-                 */
-                private final CompletionService<Materializable> materializers;
+                    /**
+                     * Creates a new raw entry.
+                     *
+                     * @param randomAccessFile The zip file that contains this entry.
+                     * @param record           The entry's central directory record.
+                     */
+                    protected RawEntry(RandomAccessFile randomAccessFile, byte[] record) {
+                        this.randomAccessFile = randomAccessFile;
+                        this.record = record;
+                    }
 
-                /**
-                 * A count of deferred processings.
-                 */
-                private int deferred;
+                    /**
+                     * Returns the CRC-32 checksum of this entry's uncompressed data.
+                     *
+                     * @return The CRC-32 checksum of this entry's uncompressed data.
+                     */
+                    public long getCrc() {
+                        return readUnsignedInt(record, 16);
+                    }
 
-                /**
-                 * A collection of futures that are currently scheduled.
-                 */
-                private final Set<Future<?>> futures;
+                    /**
+                     * Returns the compressed size of this entry.
+                     *
+                     * @return The compressed size of this entry.
+                     */
+                    public long getCompressedSize() {
+                        return readUnsignedInt(record, 20);
+                    }
 
-                /**
-                 * Creates a new dispatcher that applies transformations in parallel.
-                 *
-                 * @param executor    The executor to delegate any work to.
-                 * @param sink        The target sink.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 */
-                protected ForParallelTransformation(Executor executor,
-                                                    Target.Sink sink,
-                                                    List<TypeDescription> transformed,
-                                                    Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                                    List<String> unresolved) {
-                    this.sink = sink;
-                    this.transformed = transformed;
-                    this.failed = failed;
-                    this.unresolved = unresolved;
-                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
-                    materializers = new ExecutorCompletionService<Materializable>(executor);
-                    futures = new HashSet<Future<?>>();
-                }
+                    /**
+                     * Returns the uncompressed size of this entry.
+                     *
+                     * @return The uncompressed size of this entry.
+                     */
+                    public long getSize() {
+                        return readUnsignedInt(record, 24);
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                @SuppressWarnings("unchecked")
-                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
-                    if (eager) {
-                        futures.add(materializers.submit(new EagerWork(work)));
-                    } else {
-                        deferred += 1;
-                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
+                    /**
+                     * Returns this entry's central directory record where the local file header offset is adjusted to the supplied value.
+                     *
+                     * @param offset The offset of the local file header within the target file.
+                     * @return The central directory record for the supplied offset.
+                     */
+                    public byte[] getCentralDirectoryRecord(long offset) {
+                        byte[] record = this.record.clone();
+                        record[42] = (byte) offset;
+                        record[43] = (byte) (offset >>> 8);
+                        record[44] = (byte) (offset >>> 16);
+                        record[45] = (byte) (offset >>> 24);
+                        return record;
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void complete() throws IOException {
-                    try {
-                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
-                        while (deferred-- > 0) {
-                            Future<Callable<Materializable>> future = this.preprocessings.take();
-                            futures.remove(future);
-                            preprocessings.add(future.get());
-                        }
-                        for (Callable<Materializable> preprocessing : preprocessings) {
-                            futures.add(materializers.submit(preprocessing));
-                        }
-                        while (!futures.isEmpty()) {
-                            Future<Materializable> future = materializers.take();
-                            futures.remove(future);
-                            future.get().materialize(sink, transformed, failed, unresolved);
-                        }
-                    } catch (InterruptedException exception) {
-                        Thread.currentThread().interrupt();
-                        throw new IllegalStateException(exception);
-                    } catch (ExecutionException exception) {
-                        Throwable cause = exception.getCause();
-                        if (cause instanceof IOException) {
-                            throw (IOException) cause;
-                        } else if (cause instanceof RuntimeException) {
-                            throw (RuntimeException) cause;
-                        } else if (cause instanceof Error) {
-                            throw (Error) cause;
-                        } else {
-                            throw new IllegalStateException(cause);
+                    /**
+                     * Copies the local file header, the compressed data and the optional data descriptor of this entry without modification.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @return The amount of bytes that were written.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    public long writeTo(OutputStream outputStream) throws IOException {
+                        byte[] header = new byte[LOCAL_FILE_HEADER_LENGTH];
+                        long length;
+                        synchronized (randomAccessFile) {
+                            randomAccessFile.seek(readUnsignedInt(record, 42));
+                            randomAccessFile.readFully(header);
+                            if (readInt(header, 0) != LOCAL_FILE_HEADER) {
+                                throw new IOException("Expected local file header for " + new String(record,
+                                        CENTRAL_DIRECTORY_LENGTH,
+                                        readShort(record, 28),
+                                        "UTF-8"));
+                            }
+                            length = LOCAL_FILE_HEADER_LENGTH + readShort(header, 26) + readShort(header, 28) + getCompressedSize();
+                            if ((readShort(record, 8) & 8) != 0) {
+                                randomAccessFile.seek(readUnsignedInt(record, 42) + length);
+                                length += randomAccessFile.readInt() == Integer.reverseBytes(DATA_DESCRIPTOR) ? 16 : 12;
+                            }
+                            randomAccessFile.seek(readUnsignedInt(record, 42));
+                            byte[] buffer = new byte[1024 * 8];
+                            long remaining = length;
+                            while (remaining > 0) {
+                                int read = (int) Math.min(buffer.length, remaining);
+                                randomAccessFile.readFully(buffer, 0, read);
+                                outputStream.write(buffer, 0, read);
+                                remaining -= read;
+                            }
                         }
+                        return length;
                     }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * An origin for a jar file that exposes the raw representation of its entries.
                  */
-                public void close() {
-                    for (Future<?> future : futures) {
-                        future.cancel(true);
-                    }
-                }
+                protected static class RawOrigin extends Origin.ForJarFile {
 
-                /**
-                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                public static class WithThrowawayExecutorService extends ForParallelTransformation {
+                    /**
+                     * The random access file to read raw entries from.
+                     */
+                    private final RandomAccessFile randomAccessFile;
 
                     /**
-                     * The executor service to delegate any work to.
+                     * A mapping of entry names to their raw representation.
                      */
-                    private final ExecutorService executorService;
+                    private final Map<String, RawEntry> entries;
 
                     /**
-                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
+                     * Creates a new origin for a jar file that exposes its raw entries.
                      *
-                     * @param executorService The executor service to delegate any work to.
-                     * @param sink            The target sink.
-                     * @param transformed     A list of all types that are transformed.
-                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                     * @param unresolved      A list of type names that could not be resolved.
+                     * @param file             The represented file.
+                     * @param randomAccessFile The random access file to read raw entries from.
+                     * @param entries          A mapping of entry names to their raw representation.
                      */
-                    protected WithThrowawayExecutorService(ExecutorService executorService,
-                                                           Target.Sink sink,
-                                                           List<TypeDescription> transformed,
-                                                           Map<TypeDescription, List<Throwable>> failed,
-                                                           List<String> unresolved) {
-                        super(executorService, sink, transformed, failed, unresolved);
-                        this.executorService = executorService;
+                    protected RawOrigin(JarFile file, RandomAccessFile randomAccessFile, Map<String, RawEntry> entries) {
+                        super(file);
+                        this.randomAccessFile = randomAccessFile;
+                        this.entries = entries;
                     }
 
                     @Override
-                    public void close() {
+                    public Iterator<Element> iterator() {
+                        return new RawEntryIterator(super.iterator());
+                    }
+
+                    @Override
+                    public void close() throws IOException {
                         try {
-                            super.close();
+                            randomAccessFile.close();
                         } finally {
-                            executorService.shutdown();
+                            super.close();
                         }
                     }
 
                     /**
-                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
+                     * An iterator that decorates jar file elements with their raw representation.
                      */
-                    @HashCodeAndEqualsPlugin.Enhance
-                    public static class Factory implements Dispatcher.Factory {
+                    protected class RawEntryIterator implements Iterator<Element> {
 
                         /**
-                         * The amount of threads to create in the throw-away executor service.
+                         * The iterator of the jar file's elements.
                          */
-                        private final int threads;
+                        private final Iterator<Element> iterator;
 
                         /**
-                         * Creates a new factory.
+                         * Creates a new iterator for raw entries.
                          *
-                         * @param threads The amount of threads to create in the throw-away executor service.
+                         * @param iterator The iterator of the jar file's elements.
                          */
-                        public Factory(int threads) {
-                            this.threads = threads;
+                        protected RawEntryIterator(Iterator<Element> iterator) {
+                            this.iterator = iterator;
                         }
 
                         /**
                          * {@inheritDoc}
                          */
-                        public Dispatcher make(Target.Sink sink,
-                                               List<TypeDescription> transformed,
-                                               Map<TypeDescription, List<Throwable>> failed,
-                                               List<String> unresolved) {
-                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Element next() {
+                            Element element = iterator.next();
+                            return new RawElement(element, entries.get(element.getName()));
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
                         }
                     }
                 }
 
                 /**
-                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
+                 * An element that exposes its raw representation, if available.
                  */
                 @HashCodeAndEqualsPlugin.Enhance
-                public static class Factory implements Dispatcher.Factory {
+                protected static class RawElement implements Element {
 
                     /**
-                     * The executor to use.
+                     * The element being decorated.
                      */
-                    private final Executor executor;
+                    private final Element delegate;
 
                     /**
-                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
-                     *
-                     * @param executor The executor to use.
+                     * The raw representation of the element or {@code null} if no such representation is available.
                      */
-                    public Factory(Executor executor) {
-                        this.executor = executor;
-                    }
+                    private final RawEntry rawEntry;
 
                     /**
-                     * {@inheritDoc}
+                     * Creates a new element with a raw representation.
+                     *
+                     * @param delegate The element being decorated.
+                     * @param rawEntry The raw representation of the element or {@code null} if no such representation is available.
                      */
-                    public Dispatcher make(Target.Sink sink,
-                                           List<TypeDescription> transformed,
-                                           Map<TypeDescription, List<Throwable>> failed,
-                                           List<String> unresolved) {
-                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
+                    protected RawElement(Element delegate, RawEntry rawEntry) {
+                        this.delegate = delegate;
+                        this.rawEntry = rawEntry;
                     }
-                }
-
-                /**
-                 * An eager materialization that does not defer processing after preprocessing.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class EagerWork implements Callable<Materializable> {
 
                     /**
-                     * The work to apply.
+                     * {@inheritDoc}
                      */
-                    private final Callable<? extends Callable<? extends Materializable>> work;
+                    public String getName() {
+                        return delegate.getName();
+                    }
 
                     /**
-                     * Creates an eager work resolution.
-                     *
-                     * @param work The work to apply.
+                     * {@inheritDoc}
                      */
-                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
-                        this.work = work;
+                    public InputStream getInputStream() throws IOException {
+                        return delegate.getInputStream();
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public Materializable call() throws Exception {
-                        return work.call().call();
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return RawEntry.class.isAssignableFrom(type)
+                                ? (T) rawEntry
+                                : delegate.resolveAs(type);
                     }
                 }
             }
-        }
-
-        /**
-         * A summary of the application of a {@link Engine} to a source and target.
-         */
-        class Summary {
 
             /**
-             * A list of all types that were transformed.
+             * A source that only exposes the elements of another source that are matched by a given matcher.
              */
-            private final List<TypeDescription> transformed;
+            @HashCodeAndEqualsPlugin.Enhance
+            class Filtering implements Source {
 
-            /**
-             * A mapping of all types that failed during transformation to the exceptions that explain the failure.
-             */
-            private final Map<TypeDescription, List<Throwable>> failed;
+                /**
+                 * The source to filter.
+                 */
+                private final Source delegate;
 
-            /**
-             * A list of type names that could not be resolved.
-             */
-            private final List<String> unresolved;
+                /**
+                 * A matcher to determine the elements of the source to retain.
+                 */
+                private final ElementMatcher<? super Element> matcher;
 
-            /**
-             * Creates a new summary.
-             *
-             * @param transformed A list of all types that were transformed.
-             * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-             * @param unresolved  A list of type names that could not be resolved.
-             */
-            public Summary(List<TypeDescription> transformed, Map<TypeDescription, List<Throwable>> failed, List<String> unresolved) {
-                this.transformed = transformed;
-                this.failed = failed;
-                this.unresolved = unresolved;
-            }
+                /**
+                 * Creates a new filtering source.
+                 *
+                 * @param delegate The source to filter.
+                 * @param matcher  A matcher to determine the elements of the source to retain.
+                 */
+                public Filtering(Source delegate, ElementMatcher<? super Element> matcher) {
+                    this.delegate = delegate;
+                    this.matcher = matcher;
+                }
 
-            /**
-             * Returns a list of all types that were transformed.
-             *
-             * @return A list of all types that were transformed.
-             */
-            public List<TypeDescription> getTransformed() {
-                return transformed;
-            }
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() throws IOException {
+                    return new FilteringOrigin(delegate.read(), matcher);
+                }
 
-            /**
-             * Returns a mapping of all types that failed during transformation to the exceptions that explain the failure.
-             *
-             * @return A mapping of all types that failed during transformation to the exceptions that explain the failure.
-             */
-            public Map<TypeDescription, List<Throwable>> getFailed() {
-                return failed;
-            }
+                /**
+                 * An origin that filters the elements of another origin.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class FilteringOrigin implements Origin {
 
-            /**
-             * Returns a list of type names that could not be resolved.
-             *
-             * @return A list of type names that could not be resolved.
-             */
-            public List<String> getUnresolved() {
-                return unresolved;
-            }
+                    /**
+                     * The origin to filter.
+                     */
+                    private final Origin delegate;
 
-            @Override
-            public int hashCode() {
-                int result = transformed.hashCode();
-                result = 31 * result + failed.hashCode();
-                result = 31 * result + unresolved.hashCode();
-                return result;
-            }
+                    /**
+                     * A matcher to determine the elements of the origin to retain.
+                     */
+                    private final ElementMatcher<? super Element> matcher;
 
-            @Override
-            public boolean equals(Object other) {
-                if (this == other) {
-                    return true;
-                } else if (other == null || getClass() != other.getClass()) {
-                    return false;
-                }
-                Summary summary = (Summary) other;
-                return transformed.equals(summary.transformed)
-                        && failed.equals(summary.failed)
-                        && unresolved.equals(summary.unresolved);
-            }
-        }
+                    /**
+                     * Creates a new filtering origin.
+                     *
+                     * @param delegate The origin to filter.
+                     * @param matcher  A matcher to determine the elements of the origin to retain.
+                     */
+                    protected FilteringOrigin(Origin delegate, ElementMatcher<? super Element> matcher) {
+                        this.delegate = delegate;
+                        this.matcher = matcher;
+                    }
 
-        /**
-         * An abstract base implementation of a plugin engine.
-         */
-        abstract class AbstractBase implements Engine {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Manifest getManifest() throws IOException {
+                        return delegate.getManifest();
+                    }
 
-            /**
-             * {@inheritDoc}
-             */
-            public Engine withErrorHandlers(ErrorHandler... errorHandler) {
-                return withErrorHandlers(Arrays.asList(errorHandler));
-            }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public ClassFileLocator getClassFileLocator() {
+                        return delegate.getClassFileLocator();
+                    }
 
-            /**
-             * {@inheritDoc}
-             */
-            public Engine withParallelTransformation(int threads) {
-                if (threads < 1) {
-                    throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Element> iterator() {
+                        return new FilteringIterator(delegate.iterator(), matcher);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
                 }
-                return with(new Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads));
-            }
 
-            /**
-             * {@inheritDoc}
-             */
-            public Summary apply(File source, File target, Factory... factory) throws IOException {
-                return apply(source, target, Arrays.asList(factory));
-            }
+                /**
+                 * An iterator that skips all elements of another iterator that are not matched by a matcher.
+                 */
+                protected static class FilteringIterator implements Iterator<Element> {
 
-            /**
-             * {@inheritDoc}
-             */
-            public Summary apply(File source, File target, List<? extends Factory> factories) throws IOException {
-                return apply(source.isDirectory()
-                        ? new Source.ForFolder(source)
-                        : new Source.ForJarFile(source), target.isDirectory()
-                        ? new Target.ForFolder(target)
-                        : new Target.ForJarFile(target), factories);
-            }
+                    /**
+                     * The iterator to filter.
+                     */
+                    private final Iterator<Element> delegate;
 
-            /**
-             * {@inheritDoc}
-             */
-            public Summary apply(Source source, Target target, Factory... factory) throws IOException {
-                return apply(source, target, Arrays.asList(factory));
+                    /**
+                     * A matcher to determine the elements to retain.
+                     */
+                    private final ElementMatcher<? super Element> matcher;
+
+                    /**
+                     * The next element to return or {@code null} if no further element is available.
+                     */
+                    private Element current;
+
+                    /**
+                     * Creates a new filtering iterator.
+                     *
+                     * @param delegate The iterator to filter.
+                     * @param matcher  A matcher to determine the elements to retain.
+                     */
+                    protected FilteringIterator(Iterator<Element> delegate, ElementMatcher<? super Element> matcher) {
+                        this.delegate = delegate;
+                        this.matcher = matcher;
+                        current = advance();
+                    }
+
+                    /**
+                     * Advances to the next matched element.
+                     *
+                     * @return The next matched element or {@code null} if no such element exists.
+                     */
+                    private Element advance() {
+                        while (delegate.hasNext()) {
+                            Element element = delegate.next();
+                            if (matcher.matches(element)) {
+                                return element;
+                            }
+                        }
+                        return null;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        return current != null;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Element next() {
+                        if (current == null) {
+                            throw new NoSuchElementException();
+                        }
+                        try {
+                            return current;
+                        } finally {
+                            current = advance();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                }
             }
         }
 
         /**
-         * A default implementation of a plugin engine.
+         * A target for a plugin engine represents a sink container for all elements that are supplied by a {@link Source}.
          */
-        @HashCodeAndEqualsPlugin.Enhance
-        class Default extends AbstractBase {
+        interface Target {
 
             /**
-             * The Byte Buddy instance to use.
+             * Initializes this target prior to writing.
+             *
+             * @param manifest The manifest for the target or {@code null} if no manifest was found.
+             * @return The sink to write to.
+             * @throws IOException If an I/O error occurs.
              */
-            private final ByteBuddy byteBuddy;
+            Sink write(Manifest manifest) throws IOException;
 
             /**
-             * The type strategy to use.
+             * A sink represents an active writing process.
              */
-            private final TypeStrategy typeStrategy;
+            interface Sink extends Closeable {
 
-            /**
-             * The pool strategy to use.
-             */
-            private final PoolStrategy poolStrategy;
+                /**
+                 * Stores the supplied binary representation of types in this sink.
+                 *
+                 * @param binaryRepresentations The binary representations to store.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException;
 
-            /**
-             * The class file locator to use.
-             */
-            private final ClassFileLocator classFileLocator;
+                /**
+                 * Retains the supplied element in its original form.
+                 *
+                 * @param element The element to retain.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                void retain(Source.Element element) throws IOException;
 
-            /**
-             * The listener to use.
-             */
-            private final Listener listener;
+                /**
+                 * Implements a sink for a jar file.
+                 */
+                class ForJarOutputStream implements Sink {
 
-            /**
-             * The error handler to use.
-             */
+                    /**
+                     * The output stream to write to.
+                     */
+                    private final JarOutputStream outputStream;
+
+                    /**
+                     * Creates a new sink for a jar file.
+                     *
+                     * @param outputStream The output stream to write to.
+                     */
+                    public ForJarOutputStream(JarOutputStream outputStream) {
+                        this.outputStream = outputStream;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                            outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
+                            outputStream.write(entry.getValue());
+                            outputStream.closeEntry();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void retain(Source.Element element) throws IOException {
+                        JarEntry entry = element.resolveAs(JarEntry.class);
+                        outputStream.putNextEntry(entry == null
+                                ? new JarEntry(element.getName())
+                                : entry);
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            byte[] buffer = new byte[1024];
+                            int length;
+                            while ((length = inputStream.read(buffer)) != -1) {
+                                outputStream.write(buffer, 0, length);
+                            }
+                        } finally {
+                            inputStream.close();
+                        }
+                        outputStream.closeEntry();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        outputStream.close();
+                    }
+                }
+
+                /**
+                 * Implements a sink that writes a jar file without using a {@link JarOutputStream}. Elements that expose a
+                 * {@link Source.ForRawJarFile.RawEntry} are copied in their compressed form such that their checksum and sizes are
+                 * retained without inflating and deflating their content. All other entries are compressed by this sink. This sink
+                 * does not support the Zip64 format.
+                 */
+                class ForRawJarOutputStream implements Sink {
+
+                    /**
+                     * The maximum amount of entries or offset of a zip file that does not use the Zip64 format.
+                     */
+                    private static final long MAXIMUM_OFFSET = 0xFFFFFFFFL;
+
+                    /**
+                     * The maximum amount of entries of a zip file that does not use the Zip64 format.
+                     */
+                    private static final int MAXIMUM_ENTRIES = 0xFFFF;
+
+                    /**
+                     * The zip version that is required to extract an entry.
+                     */
+                    private static final int VERSION = 20;
+
+                    /**
+                     * The general purpose flag that indicates an UTF-8 encoded entry name.
+                     */
+                    private static final int UTF_8 = 0x0800;
+
+                    /**
+                     * The compression method of an entry that is stored without compression.
+                     */
+                    private static final int STORED = 0;
+
+                    /**
+                     * The compression method of an entry that is deflated.
+                     */
+                    private static final int DEFLATED = 8;
+
+                    /**
+                     * The output stream to write to.
+                     */
+                    private final OutputStream outputStream;
+
+                    /**
+                     * The central directory records of all entries that were written.
+                     */
+                    private final ByteArrayOutputStream centralDirectory;
+
+                    /**
+                     * The names of all entries that were written.
+                     */
+                    private final Set<String> names;
+
+                    /**
+                     * The last modification time of written entries in MS-DOS format.
+                     */
+                    private final int time;
+
+                    /**
+                     * The current position within the output stream.
+                     */
+                    private long position;
+
+                    /**
+                     * Creates a new sink for writing a jar file with raw entries.
+                     *
+                     * @param outputStream The output stream to write to.
+                     */
+                    public ForRawJarOutputStream(OutputStream outputStream) {
+                        this(outputStream, System.currentTimeMillis());
+                    }
+
+                    /**
+                     * Creates a new sink for writing a jar file with raw entries.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param timestamp    The timestamp to use as a last modification time of entries written by this sink.
+                     */
+                    public ForRawJarOutputStream(OutputStream outputStream, long timestamp) {
+                        this.outputStream = outputStream;
+                        centralDirectory = new ByteArrayOutputStream();
+                        names = new HashSet<String>();
+                        time = toDosTime(timestamp);
+                    }
+
+                    /**
+                     * Converts a timestamp to the MS-DOS format that is used by zip files.
+                     *
+                     * @param timestamp The timestamp to convert.
+                     * @return The timestamp in MS-DOS format where the date is represented by the upper two bytes.
+                     */
+                    private static int toDosTime(long timestamp) {
+                        Calendar calendar = Calendar.getInstance();
+                        calendar.setTimeInMillis(timestamp);
+                        int year = calendar.get(Calendar.YEAR);
+                        if (year < 1980) {
+                            return (1 << 21) | (1 << 16);
+                        }
+                        return (year - 1980) << 25
+                                | (calendar.get(Calendar.MONTH) + 1) << 21
+                                | calendar.get(Calendar.DAY_OF_MONTH) << 16
+                                | calendar.get(Calendar.HOUR_OF_DAY) << 11
+                                | calendar.get(Calendar.MINUTE) << 5
+                                | calendar.get(Calendar.SECOND) >> 1;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                            write(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void retain(Source.Element element) throws IOException {
+                        Source.ForRawJarFile.RawEntry rawEntry = element.resolveAs(Source.ForRawJarFile.RawEntry.class);
+                        if (rawEntry == null) {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                write(element.getName(), StreamDrainer.DEFAULT.drain(inputStream));
+                            } finally {
+                                inputStream.close();
+                            }
+                        } else {
+                            register(element.getName());
+                            centralDirectory.write(rawEntry.getCentralDirectoryRecord(position));
+                            position += rawEntry.writeTo(outputStream);
+                        }
+                    }
+
+                    /**
+                     * Writes an entry by compressing the supplied binary representation unless compression does not reduce its size.
+                     *
+                     * @param name                 The name of the entry.
+                     * @param binaryRepresentation The entry's uncompressed binary representation.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    protected void write(String name, byte[] binaryRepresentation) throws IOException {
+                        register(name);
+                        CRC32 crc32 = new CRC32();
+                        crc32.update(binaryRepresentation);
+                        byte[] data = deflate(binaryRepresentation);
+                        int method = DEFLATED;
+                        if (data.length >= binaryRepresentation.length) {
+                            data = binaryRepresentation;
+                            method = STORED;
+                        }
+                        byte[] encodedName = name.getBytes("UTF-8");
+                        ByteArrayOutputStream header = new ByteArrayOutputStream(Source.ForRawJarFile.CENTRAL_DIRECTORY_LENGTH + encodedName.length);
+                        writeInt(header, Source.ForRawJarFile.LOCAL_FILE_HEADER);
+                        writeShort(header, VERSION);
+                        writeShort(header, UTF_8);
+                        writeShort(header, method);
+                        writeInt(header, time);
+                        writeInt(header, (int) crc32.getValue());
+                        writeInt(header, data.length);
+                        writeInt(header, binaryRepresentation.length);
+                        writeShort(header, encodedName.length);
+                        writeShort(header, 0);
+                        header.write(encodedName);
+                        writeInt(centralDirectory, Source.ForRawJarFile.CENTRAL_DIRECTORY);
+                        writeShort(centralDirectory, VERSION);
+                        writeShort(centralDirectory, VERSION);
+                        writeShort(centralDirectory, UTF_8);
+                        writeShort(centralDirectory, method);
+                        writeInt(centralDirectory, time);
+                        writeInt(centralDirectory, (int) crc32.getValue());
+                        writeInt(centralDirectory, data.length);
+                        writeInt(centralDirectory, binaryRepresentation.length);
+                        writeShort(centralDirectory, encodedName.length);
+                        writeShort(centralDirectory, 0);
+                        writeShort(centralDirectory, 0);
+                        writeShort(centralDirectory, 0);
+                        writeShort(centralDirectory, 0);
+                        writeInt(centralDirectory, 0);
+                        writeInt(centralDirectory, (int) position);
+                        centralDirectory.write(encodedName);
+                        header.writeTo(outputStream);
+                        outputStream.write(data);
+                        position += header.size() + data.length;
+                    }
+
+                    /**
+                     * Registers the name of an entry and validates that the current position can be represented without Zip64 extensions.
+                     *
+                     * @param name The name of the entry.
+                     * @throws IOException If the entry is a duplicate or if the file exceeds the limits of the zip format.
+                     */
+                    private void register(String name) throws IOException {
+                        if (!names.add(name)) {
+                            throw new ZipException("duplicate entry: " + name);
+                        } else if (position > MAXIMUM_OFFSET || names.size() > MAXIMUM_ENTRIES) {
+                            throw new ZipException("Zip64 format is not supported when writing raw jar file with entry: " + name);
+                        }
+                    }
+
+                    /**
+                     * Compresses a binary representation.
+                     *
+                     * @param binaryRepresentation The binary representation to compress.
+                     * @return The compressed binary representation.
+                     */
+                    private static byte[] deflate(byte[] binaryRepresentation) {
+                        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                        try {
+                            deflater.setInput(binaryRepresentation);
+                            deflater.finish();
+                            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length / 2 + 16);
+                            byte[] buffer = new byte[1024];
+                            while (!deflater.finished()) {
+                                outputStream.write(buffer, 0, deflater.deflate(buffer));
+                            }
+                            return outputStream.toByteArray();
+                        } finally {
+                            deflater.end();
+                        }
+                    }
+
+                    /**
+                     * Writes a little-endian short value.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param value        The value to write.
+                     */
+                    private static void writeShort(ByteArrayOutputStream outputStream, int value) {
+                        outputStream.write(value);
+                        outputStream.write(value >>> 8);
+                    }
+
+                    /**
+                     * Writes a little-endian integer value.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param value        The value to write.
+                     */
+                    private static void writeInt(ByteArrayOutputStream outputStream, int value) {
+                        writeShort(outputStream, value);
+                        writeShort(outputStream, value >>> 16);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        try {
+                            if (position > MAXIMUM_OFFSET) {
+                                throw new ZipException("Zip64 format is not supported when writing raw jar file of size: " + position);
+                            }
+                            ByteArrayOutputStream endOfCentralDirectory = new ByteArrayOutputStream(Source.ForRawJarFile.END_OF_CENTRAL_DIRECTORY_LENGTH);
+                            writeInt(endOfCentralDirectory, Source.ForRawJarFile.END_OF_CENTRAL_DIRECTORY);
+                            writeShort(endOfCentralDirectory, 0);
+                            writeShort(endOfCentralDirectory, 0);
+                            writeShort(endOfCentralDirectory, names.size());
+                            writeShort(endOfCentralDirectory, names.size());
+                            writeInt(endOfCentralDirectory, centralDirectory.size());
+                            writeInt(endOfCentralDirectory, (int) position);
+                            writeShort(endOfCentralDirectory, 0);
+                            centralDirectory.writeTo(outputStream);
+                            endOfCentralDirectory.writeTo(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A sink that discards any entry.
+             */
+            enum Discarding implements Target, Sink {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retain(Source.Element element) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A sink that stores all elements in a memory map.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class InMemory implements Target, Sink {
+
+                /**
+                 * The map for storing all elements being received.
+                 */
+                private final Map<String, byte[]> storage;
+
+                /**
+                 * Creates a new in-memory storage.
+                 */
+                public InMemory() {
+                    this(new HashMap<String, byte[]>());
+                }
+
+                /**
+                 * Creates a new in-memory storage.
+                 *
+                 * @param storage The map for storing all elements being received.
+                 */
+                public InMemory(Map<String, byte[]> storage) {
+                    this.storage = storage;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) throws IOException {
+                    if (manifest != null) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            manifest.write(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
+                        storage.put(JarFile.MANIFEST_NAME, outputStream.toByteArray());
+                    }
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retain(Source.Element element) throws IOException {
+                    String name = element.getName();
+                    if (!name.endsWith("/")) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                byte[] buffer = new byte[1024];
+                                int length;
+                                while ((length = inputStream.read(buffer)) != -1) {
+                                    outputStream.write(buffer, 0, length);
+                                }
+                            } finally {
+                                inputStream.close();
+                            }
+                        } finally {
+                            outputStream.close();
+                        }
+                        storage.put(element.getName(), outputStream.toByteArray());
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * Returns the in-memory storage.
+                 *
+                 * @return The in-memory storage.
+                 */
+                public Map<String, byte[]> getStorage() {
+                    return storage;
+                }
+
+                /**
+                 * Returns the in-memory storage as a type-map where all non-class files are discarded.
+                 *
+                 * @return The in-memory storage as a type map.
+                 */
+                public Map<String, byte[]> toTypeMap() {
+                    Map<String, byte[]> binaryRepresentations = new HashMap<String, byte[]>();
+                    for (Map.Entry<String, byte[]> entry : storage.entrySet()) {
+                        if (entry.getKey().endsWith(CLASS_FILE_EXTENSION)) {
+                            binaryRepresentations.put(entry.getKey()
+                                    .substring(0, entry.getKey().length() - CLASS_FILE_EXTENSION.length())
+                                    .replace('/', '.'), entry.getValue());
+                        }
+                    }
+                    return binaryRepresentations;
+                }
+            }
+
+            /**
+             * Represents a folder as the target for a plugin engine's application.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForFolder implements Target, Sink {
+
+                /**
+                 * A dispatcher for using NIO2 if the current VM supports it.
+                 */
+                protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
+
+                /**
+                 * The folder that is represented by this instance.
+                 */
+                private final File folder;
+
+                /**
+                 * Creates a new target for a folder.
+                 *
+                 * @param folder The folder that is represented by this instance.
+                 */
+                public ForFolder(File folder) {
+                    this.folder = folder;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) throws IOException {
+                    if (manifest != null) {
+                        File target = new File(folder, JarFile.MANIFEST_NAME);
+                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        }
+                        OutputStream outputStream = new FileOutputStream(target);
+                        try {
+                            manifest.write(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
+                    }
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        File target = new File(folder, entry.getKey().getInternalName() + CLASS_FILE_EXTENSION);
+                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        }
+                        OutputStream outputStream = new FileOutputStream(target);
+                        try {
+                            outputStream.write(entry.getValue());
+                        } finally {
+                            outputStream.close();
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retain(Source.Element element) throws IOException {
+                    String name = element.getName();
+                    if (!name.endsWith("/")) {
+                        File target = new File(folder, name), resolved = element.resolveAs(File.class);
+                        if (!target.getCanonicalPath().startsWith(folder.getCanonicalPath())) {
+                            throw new IllegalArgumentException(target + " is not a subdirectory of " + folder);
+                        } else if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        } else if (DISPATCHER.isAlive() && resolved != null && !resolved.equals(target)) {
+                            DISPATCHER.copy(resolved, target);
+                        } else if (!target.equals(resolved)) {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                OutputStream outputStream = new FileOutputStream(target);
+                                try {
+                                    byte[] buffer = new byte[1024];
+                                    int length;
+                                    while ((length = inputStream.read(buffer)) != -1) {
+                                        outputStream.write(buffer, 0, length);
+                                    }
+                                } finally {
+                                    outputStream.close();
+                                }
+                            } finally {
+                                inputStream.close();
+                            }
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * A dispatcher that allows for file copy operations based on NIO2 if available.
+                 */
+                protected interface Dispatcher {
+
+                    /**
+                     * Returns {@code true} if this dispatcher is alive.
+                     *
+                     * @return {@code true} if this dispatcher is alive.
+                     */
+                    boolean isAlive();
+
+                    /**
+                     * Copies the source file to the target location.
+                     *
+                     * @param source The source file.
+                     * @param target The target file.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    void copy(File source, File target) throws IOException;
+
+                    /**
+                     * An action for creating a dispatcher.
+                     */
+                    enum CreationAction implements PrivilegedAction<Dispatcher> {
+
+                        /**
+                         * The singleton instance.
+                         */
+                        INSTANCE;
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @SuppressWarnings("unchecked")
+                        public Dispatcher run() {
+                            try {
+                                Class<?> path = Class.forName("java.nio.file.Path");
+                                Object[] arguments = (Object[]) Array.newInstance(Class.forName("java.nio.file.CopyOption"), 1);
+                                arguments[0] = Enum.valueOf((Class) Class.forName("java.nio.file.StandardCopyOption"), "REPLACE_EXISTING");
+                                return new ForJava7CapableVm(File.class.getMethod("toPath"),
+                                        Class.forName("java.nio.file.Files").getMethod("copy", path, path, arguments.getClass()),
+                                        arguments);
+                            } catch (Throwable ignored) {
+                                return ForLegacyVm.INSTANCE;
+                            }
+                        }
+                    }
+
+                    /**
+                     * A legacy dispatcher that is not capable of NIO.
+                     */
+                    enum ForLegacyVm implements Dispatcher {
+
+                        /**
+                         * The singleton instance.
+                         */
+                        INSTANCE;
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean isAlive() {
+                            return false;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void copy(File source, File target) {
+                            throw new UnsupportedOperationException("Cannot use NIO2 copy on current VM");
+                        }
+                    }
+
+                    /**
+                     * A dispatcher for VMs that are capable of NIO2.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    class ForJava7CapableVm implements Dispatcher {
+
+                        /**
+                         * The {@code java.io.File#toPath()} method.
+                         */
+                        private final Method toPath;
+
+                        /**
+                         * The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
+                         */
+                        private final Method copy;
+
+                        /**
+                         * The copy options to apply.
+                         */
+                        private final Object[] copyOptions;
+
+                        /**
+                         * Creates a new NIO2 capable dispatcher.
+                         *
+                         * @param toPath      The {@code java.io.File#toPath()} method.
+                         * @param copy        The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
+                         * @param copyOptions The copy options to apply.
+                         */
+                        protected ForJava7CapableVm(Method toPath, Method copy, Object[] copyOptions) {
+                            this.toPath = toPath;
+                            this.copy = copy;
+                            this.copyOptions = copyOptions;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean isAlive() {
+                            return true;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void copy(File source, File target) throws IOException {
+                            try {
+                                copy.invoke(null, toPath.invoke(source), toPath.invoke(target), copyOptions);
+                            } catch (IllegalAccessException exception) {
+                                throw new IllegalStateException("Cannot access NIO file copy", exception);
+                            } catch (InvocationTargetException exception) {
+                                Throwable cause = exception.getCause();
+                                if (cause instanceof IOException) {
+                                    throw (IOException) cause;
+                                } else {
+                                    throw new IllegalStateException("Cannot execute NIO file copy", cause);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Represents a jar file as a target.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJarFile implements Target {
+
+                /**
+                 * The jar file that is represented by this target.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new target for a jar file.
+                 *
+                 * @param file The jar file that is represented by this target.
+                 */
+                public ForJarFile(File file) {
+                    this.file = file;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) throws IOException {
+                    return manifest == null
+                            ? new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file)))
+                            : new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file), manifest));
+                }
+            }
+
+            /**
+             * Represents a jar file as a target that copies entries of a {@link Source.ForRawJarFile} in their compressed form if
+             * they are retained without modification. Only transformed classes and entries without a raw representation are
+             * compressed when writing the target file.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForRawJarFile implements Target {
+
+                /**
+                 * The jar file that is represented by this target.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new target for a jar file that retains raw entries.
+                 *
+                 * @param file The jar file that is represented by this target.
+                 */
+                public ForRawJarFile(File file) {
+                    this.file = file;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) throws IOException {
+                    Sink.ForRawJarOutputStream sink = new Sink.ForRawJarOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+                    if (manifest != null) {
+                        try {
+                            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                            manifest.write(outputStream);
+                            sink.write(JarFile.MANIFEST_NAME, outputStream.toByteArray());
+                        } catch (IOException exception) {
+                            sink.close();
+                            throw exception;
+                        }
+                    }
+                    return sink;
+                }
+            }
+        }
+
+        /**
+         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
+         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
+         * will only be used once and from a single thread.
+         */
+        interface Dispatcher extends Closeable {
+
+            /**
+             * Accepts a new work assignment.
+             *
+             * @param work  The work to handle prefixed by a preprocessing step.
+             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
+             * @throws IOException If an I/O exception occurs.
+             */
+            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
+
+            /**
+             * Completes the work being handled.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            void complete() throws IOException;
+
+            /**
+             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
+             */
+            interface Materializable {
+
+                /**
+                 * Materializes this work result and adds any results to the corresponding collection.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                void materialize(Target.Sink sink,
+                                 List<TypeDescription> transformed,
+                                 Map<TypeDescription,
+                                 List<Throwable>> failed,
+                                 List<String> unresolved) throws IOException;
+
+                /**
+                 * A materializable for a successfully transformed type.
+                 */
+                class ForTransformedElement implements Materializable {
+
+                    /**
+                     * The type that has been transformed.
+                     */
+                    private final DynamicType dynamicType;
+
+                    /**
+                     * Creates a new materializable for a successfully transformed type.
+                     *
+                     * @param dynamicType The type that has been transformed.
+                     */
+                    protected ForTransformedElement(DynamicType dynamicType) {
+                        this.dynamicType = dynamicType;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.store(dynamicType.getAllTypes());
+                        transformed.add(dynamicType.getTypeDescription());
+                    }
+                }
+
+                /**
+                 * A materializable for an element that is retained in its original state.
+                 */
+                class ForRetainedElement implements Materializable {
+
+                    /**
+                     * The retained element.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * Creates a new materializable for a retained element.
+                     *
+                     * @param element The retained element.
+                     */
+                    protected ForRetainedElement(Source.Element element) {
+                        this.element = element;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that failed to be transformed.
+                 */
+                class ForFailedElement implements Materializable {
+
+                    /**
+                     * The element for which the transformation failed.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * The type description for the represented type.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * A non-empty list of errors that occurred when attempting the transformation.
+                     */
+                    private final List<Throwable> errored;
+
+                    /**
+                     * Creates a new materializable for an element that failed to be transformed.
+                     *
+                     * @param element         The element for which the transformation failed.
+                     * @param typeDescription The type description for the represented type.
+                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
+                     */
+                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
+                        this.element = element;
+                        this.typeDescription = typeDescription;
+                        this.errored = errored;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        failed.put(typeDescription, errored);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that could not be resolved.
+                 */
+                class ForUnresolvedElement implements Materializable {
+
+                    /**
+                     * The element that could not be resolved.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * The name of the type that was deducted for this element.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * Creates a new materializable for an element that could not be resolved.
+                     *
+                     * @param element  The element that could not be resolved.
+                     * @param typeName The name of the type that was deducted for this element.
+                     */
+                    protected ForUnresolvedElement(Source.Element element, String typeName) {
+                        this.element = element;
+                        this.typeName = typeName;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        unresolved.add(typeName);
+                    }
+                }
+            }
+
+            /**
+             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
+             */
+            interface Factory {
+
+                /**
+                 * Creates a new dispatcher.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @return The dispatcher to use.
+                 */
+                Dispatcher make(Target.Sink sink,
+                                List<TypeDescription> transformed,
+                                Map<TypeDescription,
+                                        List<Throwable>> failed,
+                                List<String> unresolved);
+            }
+
+            /**
+             * A dispatcher that applies transformation upon discovery.
+             */
+            class ForSerialTransformation implements Dispatcher {
+
+                /**
+                 * The sink to write any work to.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
+                 */
+                private final List<TypeDescription> transformed;
+
+                /**
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 */
+                private final Map<TypeDescription, List<Throwable>> failed;
+
+                /**
+                 * A list of type names that could not be resolved.
+                 */
+                private final List<String> unresolved;
+
+                /**
+                 * A list of deferred processings.
+                 */
+                private final List<Callable<? extends Materializable>> preprocessings;
+
+                /**
+                 * Creates a dispatcher for a serial transformation.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForSerialTransformation(Target.Sink sink,
+                                                  List<TypeDescription> transformed,
+                                                  Map<TypeDescription, List<Throwable>> failed,
+                                                  List<String> unresolved) {
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ArrayList<Callable<? extends Materializable>>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                    try {
+                        Callable<? extends Materializable> preprocessed = work.call();
+                        if (eager) {
+                            preprocessed.call().materialize(sink, transformed, failed, unresolved);
+                        } else {
+                            preprocessings.add(preprocessed);
+                        }
+                    } catch (Exception exception) {
+                        if (exception instanceof IOException) {
+                            throw (IOException) exception;
+                        } else if (exception instanceof RuntimeException) {
+                            throw (RuntimeException) exception;
+                        } else {
+                            throw new IllegalStateException(exception);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete() throws IOException {
+                    for (Callable<? extends Materializable> preprocessing : preprocessings) {
+                        if (Thread.interrupted()) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Interrupted during plugin engine completion");
+                        }
+                        try {
+                            preprocessing.call().materialize(sink, transformed, failed, unresolved);
+                        } catch (Exception exception) {
+                            if (exception instanceof IOException) {
+                                throw (IOException) exception;
+                            } else if (exception instanceof RuntimeException) {
+                                throw (RuntimeException) exception;
+                            } else {
+                                throw new IllegalStateException(exception);
+                            }
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * A factory for creating a serial dispatcher.
+                 */
+                public enum Factory implements Dispatcher.Factory {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription,
+                                                   List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForSerialTransformation(sink, transformed, failed, unresolved);
+                    }
+                }
+            }
+
+            /**
+             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
+             */
+            class ForParallelTransformation implements Dispatcher {
+
+                /**
+                 * The target sink.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
+                 */
+                private final List<TypeDescription> transformed;
+
+                /**
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 */
+                private final Map<TypeDescription, List<Throwable>> failed;
+
+                /**
+                 * A list of type names that could not be resolved.
+                 */
+                private final List<String> unresolved;
+
+                /**
+                 * A completion service for all preprocessings.
+                 */
+                private final CompletionService<Callable<Materializable>> preprocessings;
+
+                /**
+                 * A completion service for all materializers.
+                 */
+                private final CompletionService<Materializable> materializers;
+
+                /**
+                 * A count of deferred processings.
+                 */
+                private int deferred;
+
+                /**
+                 * A collection of futures that are currently scheduled.
+                 */
+                private final Set<Future<?>> futures;
+
+                /**
+                 * Creates a new dispatcher that applies transformations in parallel.
+                 *
+                 * @param executor    The executor to delegate any work to.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForParallelTransformation(Executor executor,
+                                                    Target.Sink sink,
+                                                    List<TypeDescription> transformed,
+                                                    Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                                    List<String> unresolved) {
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
+                    materializers = new ExecutorCompletionService<Materializable>(executor);
+                    futures = new HashSet<Future<?>>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @SuppressWarnings("unchecked")
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
+                    if (eager) {
+                        futures.add(materializers.submit(new EagerWork(work)));
+                    } else {
+                        deferred += 1;
+                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete() throws IOException {
+                    try {
+                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
+                        while (deferred-- > 0) {
+                            Future<Callable<Materializable>> future = this.preprocessings.take();
+                            futures.remove(future);
+                            preprocessings.add(future.get());
+                        }
+                        for (Callable<Materializable> preprocessing : preprocessings) {
+                            futures.add(materializers.submit(preprocessing));
+                        }
+                        while (!futures.isEmpty()) {
+                            Future<Materializable> future = materializers.take();
+                            futures.remove(future);
+                            future.get().materialize(sink, transformed, failed, unresolved);
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    for (Future<?> future : futures) {
+                        future.cancel(true);
+                    }
+                }
+
+                /**
+                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForParallelTransformation {
+
+                    /**
+                     * The executor service to delegate any work to.
+                     */
+                    private final ExecutorService executorService;
+
+                    /**
+                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
+                     */
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
+
+                    @Override
+                    public void close() {
+                        try {
+                            super.close();
+                        } finally {
+                            executorService.shutdown();
+                        }
+                    }
+
+                    /**
+                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class Factory implements Dispatcher.Factory {
+
+                        /**
+                         * The amount of threads to create in the throw-away executor service.
+                         */
+                        private final int threads;
+
+                        /**
+                         * Creates a new factory.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         */
+                        public Factory(int threads) {
+                            this.threads = threads;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
+                        }
+                    }
+                }
+
+                /**
+                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
+
+                    /**
+                     * The executor to use.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
+                     *
+                     * @param executor The executor to use.
+                     */
+                    public Factory(Executor executor) {
+                        this.executor = executor;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
+                    }
+                }
+
+                /**
+                 * An eager materialization that does not defer processing after preprocessing.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class EagerWork implements Callable<Materializable> {
+
+                    /**
+                     * The work to apply.
+                     */
+                    private final Callable<? extends Callable<? extends Materializable>> work;
+
+                    /**
+                     * Creates an eager work resolution.
+                     *
+                     * @param work The work to apply.
+                     */
+                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
+                        this.work = work;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Materializable call() throws Exception {
+                        return work.call().call();
+                    }
+                }
+            }
+
+            /**
+             * <p>
+             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer while
+             * bounding the amount of work that is in flight. Any result is written to the target sink as soon as it is available,
+             * such that the memory that is retained by this dispatcher does not depend on the amount of transformed types. When the
+             * maximum amount of work is in flight, accepting new work blocks the thread that applies the plugin engine until some
+             * work completed.
+             * </p>
+             * <p>
+             * If results are ordered, they are written to the sink in the order in which the work was accepted. Otherwise, results
+             * are written in the order of their completion. Any work that is deferred until all preprocessing is complete is only
+             * dispatched upon completion of the dispatcher. To allow for work stealing, a {@code java.util.concurrent.ForkJoinPool}
+             * can be supplied as an executor.
+             * </p>
+             */
+            class ForStreamingTransformation implements Dispatcher {
+
+                /**
+                 * The executor to delegate any work to.
+                 */
+                private final Executor executor;
+
+                /**
+                 * The maximum amount of work that is in flight at the same time.
+                 */
+                private final int maximum;
+
+                /**
+                 * {@code true} if results are written to the sink in the order in which work was accepted.
+                 */
+                private final boolean ordered;
+
+                /**
+                 * The target sink.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
+                 */
+                private final List<TypeDescription> transformed;
+
+                /**
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 */
+                private final Map<TypeDescription, List<Throwable>> failed;
+
+                /**
+                 * A list of type names that could not be resolved.
+                 */
+                private final List<String> unresolved;
+
+                /**
+                 * The work that is in flight in the order of its acceptance.
+                 */
+                private final LinkedList<Work> pending;
+
+                /**
+                 * A queue of completed work if results are not ordered.
+                 */
+                private final BlockingQueue<Work> completed;
+
+                /**
+                 * A list of deferred processings.
+                 */
+                private final List<Callable<? extends Materializable>> preprocessings;
+
+                /**
+                 * Creates a new dispatcher that applies transformations in parallel while streaming results to the sink.
+                 *
+                 * @param executor    The executor to delegate any work to.
+                 * @param maximum     The maximum amount of work that is in flight at the same time.
+                 * @param ordered     {@code true} if results are written to the sink in the order in which work was accepted.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForStreamingTransformation(Executor executor,
+                                                     int maximum,
+                                                     boolean ordered,
+                                                     Target.Sink sink,
+                                                     List<TypeDescription> transformed,
+                                                     Map<TypeDescription, List<Throwable>> failed,
+                                                     List<String> unresolved) {
+                    this.executor = executor;
+                    this.maximum = maximum;
+                    this.ordered = ordered;
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    pending = new LinkedList<Work>();
+                    completed = new LinkedBlockingQueue<Work>();
+                    preprocessings = new ArrayList<Callable<? extends Materializable>>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                    drain(maximum - 1);
+                    dispatch(eager
+                            ? new ForParallelTransformation.EagerWork(work)
+                            : work, !eager);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete() throws IOException {
+                    drain(0);
+                    for (Callable<? extends Materializable> preprocessing : preprocessings) {
+                        drain(maximum - 1);
+                        dispatch(preprocessing, false);
+                    }
+                    preprocessings.clear();
+                    drain(0);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    for (Work work : pending) {
+                        work.cancel(true);
+                    }
+                }
+
+                /**
+                 * Dispatches work to the executor.
+                 *
+                 * @param callable The callable to dispatch.
+                 * @param deferred {@code true} if the callable yields a deferred processing.
+                 */
+                private void dispatch(Callable<?> callable, boolean deferred) {
+                    Work work = new Work(callable, deferred);
+                    pending.add(work);
+                    executor.execute(work);
+                }
+
+                /**
+                 * Handles completed work until no more than the given amount of work is in flight and handles any further work
+                 * that is already completed.
+                 *
+                 * @param limit The maximum amount of work that remains in flight.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                @SuppressWarnings("unchecked")
+                private void drain(int limit) throws IOException {
+                    try {
+                        Work work;
+                        while ((work = next(pending.size() > limit)) != null) {
+                            if (work.deferred) {
+                                preprocessings.add((Callable<? extends Materializable>) work.get());
+                            } else {
+                                ((Materializable) work.get()).materialize(sink, transformed, failed, unresolved);
+                            }
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                }
+
+                /**
+                 * Returns the next completed work.
+                 *
+                 * @param block {@code true} if this method should wait for work to complete.
+                 * @return The next completed work or {@code null} if no work is completed and this method should not block.
+                 * @throws InterruptedException If the thread is interrupted while waiting for work to complete.
+                 */
+                private Work next(boolean block) throws InterruptedException {
+                    if (ordered) {
+                        if (pending.isEmpty() || !block && !pending.getFirst().isDone()) {
+                            return null;
+                        }
+                        return pending.removeFirst();
+                    } else {
+                        Work work = block
+                                ? completed.take()
+                                : completed.poll();
+                        if (work != null) {
+                            pending.remove(work);
+                        }
+                        return work;
+                    }
+                }
+
+                /**
+                 * A unit of work that is executed by this dispatcher's executor.
+                 */
+                protected class Work extends FutureTask<Object> {
+
+                    /**
+                     * {@code true} if this work yields a deferred processing.
+                     */
+                    private final boolean deferred;
+
+                    /**
+                     * Creates a new unit of work.
+                     *
+                     * @param callable The callable to execute.
+                     * @param deferred {@code true} if this work yields a deferred processing.
+                     */
+                    @SuppressWarnings("unchecked")
+                    protected Work(Callable<?> callable, boolean deferred) {
+                        super((Callable<Object>) callable);
+                        this.deferred = deferred;
+                    }
+
+                    @Override
+                    protected void done() {
+                        if (!ordered) {
+                            completed.add(this);
+                        }
+                    }
+                }
+
+                /**
+                 * A streaming dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForStreamingTransformation {
+
+                    /**
+                     * The executor service to delegate any work to.
+                     */
+                    private final ExecutorService executorService;
+
+                    /**
+                     * Creates a new streaming dispatcher that closes the supplied executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param maximum         The maximum amount of work that is in flight at the same time.
+                     * @param ordered         {@code true} if results are written to the sink in the order in which work was accepted.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
+                     */
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           int maximum,
+                                                           boolean ordered,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, maximum, ordered, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
+
+                    @Override
+                    public void close() {
+                        try {
+                            super.close();
+                        } finally {
+                            executorService.shutdown();
+                        }
+                    }
+
+                    /**
+                     * A factory for a streaming dispatcher that creates a new executor service on each plugin engine application.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class Factory implements Dispatcher.Factory {
+
+                        /**
+                         * The amount of threads to create in the throw-away executor service.
+                         */
+                        private final int threads;
+
+                        /**
+                         * The maximum amount of work that is in flight at the same time.
+                         */
+                        private final int maximum;
+
+                        /**
+                         * {@code true} if results are written to the sink in the order in which work was accepted.
+                         */
+                        private final boolean ordered;
+
+                        /**
+                         * Creates a new factory that allows for twice as much work in flight as threads and that does not order results.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         */
+                        public Factory(int threads) {
+                            this(threads, threads * 2, false);
+                        }
+
+                        /**
+                         * Creates a new factory.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         * @param maximum The maximum amount of work that is in flight at the same time.
+                         * @param ordered {@code true} if results are written to the sink in the order in which work was accepted.
+                         */
+                        public Factory(int threads, int maximum, boolean ordered) {
+                            if (threads < 1) {
+                                throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                            } else if (maximum < 1) {
+                                throw new IllegalArgumentException("Maximum work in flight must be positive: " + maximum);
+                            }
+                            this.threads = threads;
+                            this.maximum = maximum;
+                            this.ordered = ordered;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads),
+                                    maximum,
+                                    ordered,
+                                    sink,
+                                    transformed,
+                                    failed,
+                                    unresolved);
+                        }
+                    }
+                }
+
+                /**
+                 * A factory for a streaming dispatcher that uses a given executor.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
+
+                    /**
+                     * The executor to use.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * The maximum amount of work that is in flight at the same time.
+                     */
+                    private final int maximum;
+
+                    /**
+                     * {@code true} if results are written to the sink in the order in which work was accepted.
+                     */
+                    private final boolean ordered;
+
+                    /**
+                     * Creates a new dispatcher factory for streaming dispatching using the supplied executor without ordering results.
+                     *
+                     * @param executor The executor to use.
+                     * @param maximum  The maximum amount of work that is in flight at the same time.
+                     */
+                    public Factory(Executor executor, int maximum) {
+                        this(executor, maximum, false);
+                    }
+
+                    /**
+                     * Creates a new dispatcher factory for streaming dispatching using the supplied executor.
+                     *
+                     * @param executor The executor to use.
+                     * @param maximum  The maximum amount of work that is in flight at the same time.
+                     * @param ordered  {@code true} if results are written to the sink in the order in which work was accepted.
+                     */
+                    public Factory(Executor executor, int maximum, boolean ordered) {
+                        if (maximum < 1) {
+                            throw new IllegalArgumentException("Maximum work in flight must be positive: " + maximum);
+                        }
+                        this.executor = executor;
+                        this.maximum = maximum;
+                        this.ordered = ordered;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForStreamingTransformation(executor, maximum, ordered, sink, transformed, failed, unresolved);
+                    }
+                }
+            }
+        }
+
+        /**
+         * A summary of the application of a {@link Engine} to a source and target.
+         */
+        class Summary {
+
+            /**
+             * A list of all types that were transformed.
+             */
+            private final List<TypeDescription> transformed;
+
+            /**
+             * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             */
+            private final Map<TypeDescription, List<Throwable>> failed;
+
+            /**
+             * A list of type names that could not be resolved.
+             */
+            private final List<String> unresolved;
+
+            /**
+             * Creates a new summary.
+             *
+             * @param transformed A list of all types that were transformed.
+             * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             * @param unresolved  A list of type names that could not be resolved.
+             */
+            public Summary(List<TypeDescription> transformed, Map<TypeDescription, List<Throwable>> failed, List<String> unresolved) {
+                this.transformed = transformed;
+                this.failed = failed;
+                this.unresolved = unresolved;
+            }
+
+            /**
+             * Returns a list of all types that were transformed.
+             *
+             * @return A list of all types that were transformed.
+             */
+            public List<TypeDescription> getTransformed() {
+                return transformed;
+            }
+
+            /**
+             * Returns a mapping of all types that failed during transformation to the exceptions that explain the failure.
+             *
+             * @return A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             */
+            public Map<TypeDescription, List<Throwable>> getFailed() {
+                return failed;
+            }
+
+            /**
+             * Returns a list of type names that could not be resolved.
+             *
+             * @return A list of type names that could not be resolved.
+             */
+            public List<String> getUnresolved() {
+                return unresolved;
+            }
+
+            @Override
+            public int hashCode() {
+                int result = transformed.hashCode();
+                result = 31 * result + failed.hashCode();
+                result = 31 * result + unresolved.hashCode();
+                return result;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) {
+                    return true;
+                } else if (other == null || getClass() != other.getClass()) {
+                    return false;
+                }
+                Summary summary = (Summary) other;
+                return transformed.equals(summary.transformed)
+                        && failed.equals(summary.failed)
+                        && unresolved.equals(summary.unresolved);
+            }
+        }
+
+        /**
+         * An abstract base implementation of a plugin engine.
+         */
+        abstract class AbstractBase implements Engine {
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withErrorHandlers(ErrorHandler... errorHandler) {
+                return withErrorHandlers(Arrays.asList(errorHandler));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withParallelTransformation(int threads) {
+                if (threads < 1) {
+                    throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                }
+                return with(new Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Summary apply(File source, File target, Factory... factory) throws IOException {
+                return apply(source, target, Arrays.asList(factory));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Summary apply(File source, File target, List<? extends Factory> factories) throws IOException {
+                return apply(source.isDirectory()
+                        ? new Source.ForFolder(source)
+                        : new Source.ForJarFile(source), target.isDirectory()
+                        ? new Target.ForFolder(target)
+                        : new Target.ForJarFile(target), factories);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Summary apply(Source source, Target target, Factory... factory) throws IOException {
+                return apply(source, target, Arrays.asList(factory));
+            }
+        }
+
+        /**
+         * A default implementation of a plugin engine.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Default extends AbstractBase {
+
+            /**
+             * The Byte Buddy instance to use.
+             */
+            private final ByteBuddy byteBuddy;
+
+            /**
+             * The type strategy to use.
+             */
+            private final TypeStrategy typeStrategy;
+
+            /**
+             * The pool strategy to use.
+             */
+            private final PoolStrategy poolStrategy;
+
+            /**
+             * The class file locator to use.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * The listener to use.
+             */
+            private final Listener listener;
+
+            /**
+             * The error handler to use.
+             */
             private final ErrorHandler errorHandler;
 
-            /**
-             * The dispatcher factory to use.
-             */
-            private final Dispatcher.Factory dispatcherFactory;
+            /**
+             * The dispatcher factory to use.
+             */
+            private final Dispatcher.Factory dispatcherFactory;
+
+            /**
+             * A matcher for types to exclude from transformation.
+             */
+            private final ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher;
+
+            /**
+             * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
+             */
+            public Default() {
+                this(new ByteBuddy());
+            }
+
+            /**
+             * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
+             *
+             * @param byteBuddy The Byte Buddy instance to use.
+             */
+            public Default(ByteBuddy byteBuddy) {
+                this(byteBuddy, TypeStrategy.Default.REBASE);
+            }
+
+            /**
+             * Creates a new default plugin engine.
+             *
+             * @param byteBuddy    The Byte Buddy instance to use.
+             * @param typeStrategy The type strategy to use.
+             */
+            protected Default(ByteBuddy byteBuddy, TypeStrategy typeStrategy) {
+                this(byteBuddy,
+                        typeStrategy,
+                        PoolStrategy.Default.FAST,
+                        ClassFileLocator.NoOp.INSTANCE,
+                        Listener.NoOp.INSTANCE,
+                        new ErrorHandler.Compound(ErrorHandler.Failing.FAIL_FAST,
+                                ErrorHandler.Enforcing.ALL_TYPES_RESOLVED,
+                                ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS),
+                        Dispatcher.ForSerialTransformation.Factory.INSTANCE,
+                        none());
+            }
+
+            /**
+             * Creates a new default plugin engine.
+             *
+             * @param byteBuddy          The Byte Buddy instance to use.
+             * @param typeStrategy       The type strategy to use.
+             * @param poolStrategy       The pool strategy to use.
+             * @param classFileLocator   The class file locator to use.
+             * @param listener           The listener to use.
+             * @param errorHandler       The error handler to use.
+             * @param dispatcherFactory  The dispatcher factory to use.
+             * @param ignoredTypeMatcher A matcher for types to exclude from transformation.
+             */
+            protected Default(ByteBuddy byteBuddy,
+                              TypeStrategy typeStrategy,
+                              PoolStrategy poolStrategy,
+                              ClassFileLocator classFileLocator,
+                              Listener listener,
+                              ErrorHandler errorHandler,
+                              Dispatcher.Factory dispatcherFactory,
+                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher) {
+                this.byteBuddy = byteBuddy;
+                this.typeStrategy = typeStrategy;
+                this.poolStrategy = poolStrategy;
+                this.classFileLocator = classFileLocator;
+                this.listener = listener;
+                this.errorHandler = errorHandler;
+                this.dispatcherFactory = dispatcherFactory;
+                this.ignoredTypeMatcher = ignoredTypeMatcher;
+            }
+
+            /**
+             * Creates a plugin engine from an {@link EntryPoint}.
+             *
+             * @param entryPoint            The entry point to resolve into a plugin engine.
+             * @param classFileVersion      The class file version to assume.
+             * @param methodNameTransformer The method name transformer to use.
+             * @return An appropriate plugin engine.
+             */
+            public static Engine of(EntryPoint entryPoint, ClassFileVersion classFileVersion, MethodNameTransformer methodNameTransformer) {
+                return new Default(entryPoint.byteBuddy(classFileVersion), new TypeStrategy.ForEntryPoint(entryPoint, methodNameTransformer));
+            }
+
+            /**
+             * Runs a plugin engine using the first and second argument as source and target file location and any additional argument as
+             * the fully qualified name of any plugin to apply.
+             *
+             * @param argument The arguments for running the plugin engine.
+             * @throws ClassNotFoundException If a plugin class cannot be found on the system class loader.
+             * @throws IOException            If an I/O exception occurs.
+             */
+            @SuppressWarnings("unchecked")
+            public static void main(String... argument) throws ClassNotFoundException, IOException {
+                if (argument.length < 2) {
+                    throw new IllegalArgumentException("Expected arguments: <source> <target> [<plugin>, ...]");
+                }
+                List<Plugin.Factory> factories = new ArrayList<Factory>(argument.length - 2);
+                for (String plugin : Arrays.asList(argument).subList(2, argument.length)) {
+                    factories.add(new Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin)));
+                }
+                new Default().apply(new File(argument[0]), new File(argument[1]), factories);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(ByteBuddy byteBuddy) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(TypeStrategy typeStrategy) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(PoolStrategy poolStrategy) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(ClassFileLocator classFileLocator) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        new ClassFileLocator.Compound(this.classFileLocator, classFileLocator),
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(Listener listener) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        new Listener.Compound(this.listener, listener),
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withoutErrorHandlers() {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        Listener.NoOp.INSTANCE,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withErrorHandlers(List<? extends ErrorHandler> errorHandlers) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        new ErrorHandler.Compound(errorHandlers),
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(Dispatcher.Factory dispatcherFactory) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine ignore(ElementMatcher<? super TypeDescription> matcher) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher.<TypeDescription>or(matcher));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Summary apply(Source source, Target target, List<? extends Plugin.Factory> factories) throws IOException {
+                Listener listener = new Listener.Compound(this.listener, new Listener.ForErrorHandler(errorHandler));
+                List<TypeDescription> transformed = new ArrayList<TypeDescription>();
+                Map<TypeDescription, List<Throwable>> failed = new LinkedHashMap<TypeDescription, List<Throwable>>();
+                List<String> unresolved = new ArrayList<String>();
+                Throwable rethrown = null;
+                List<Plugin> plugins = new ArrayList<Plugin>(factories.size());
+                List<WithPreprocessor> preprocessors = new ArrayList<WithPreprocessor>();
+                try {
+                    for (Plugin.Factory factory : factories) {
+                        Plugin plugin = factory.make();
+                        plugins.add(plugin);
+                        if (plugin instanceof WithPreprocessor) {
+                            preprocessors.add((WithPreprocessor) plugin);
+                        }
+                    }
+                    Source.Origin origin = source.read();
+                    try {
+                        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(origin.getClassFileLocator(), this.classFileLocator);
+                        TypePool typePool = poolStrategy.typePool(classFileLocator);
+                        Manifest manifest = origin.getManifest();
+                        listener.onManifest(manifest);
+                        Target.Sink sink = target.write(manifest);
+                        try {
+                            Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
+                            try {
+                                for (Source.Element element : origin) {
+                                    if (Thread.interrupted()) {
+                                        Thread.currentThread().interrupt();
+                                        throw new IllegalStateException("Thread interrupted during plugin engine application");
+                                    }
+                                    String name = element.getName();
+                                    while (name.startsWith("/")) {
+                                        name = name.substring(1);
+                                    }
+                                    if (name.endsWith(CLASS_FILE_EXTENSION)) {
+                                        dispatcher.accept(new Preprocessor(element,
+                                                name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
+                                                classFileLocator,
+                                                typePool,
+                                                listener,
+                                                plugins,
+                                                preprocessors), preprocessors.isEmpty());
+                                    } else if (!name.equals(JarFile.MANIFEST_NAME)) {
+                                        listener.onResource(name);
+                                        sink.retain(element);
+                                    }
+                                }
+                                dispatcher.complete();
+                            } finally {
+                                dispatcher.close();
+                            }
+                            if (!failed.isEmpty()) {
+                                listener.onError(failed);
+                            }
+                        } finally {
+                            sink.close();
+                        }
+                    } finally {
+                        origin.close();
+                    }
+                } finally {
+                    for (Plugin plugin : plugins) {
+                        try {
+                            plugin.close();
+                        } catch (Throwable throwable) {
+                            try {
+                                listener.onError(plugin, throwable);
+                            } catch (Throwable chained) {
+                                rethrown = rethrown == null
+                                        ? chained
+                                        : rethrown;
+                            }
+                        }
+                    }
+                }
+                if (rethrown == null) {
+                    return new Summary(transformed, failed, unresolved);
+                } else if (rethrown instanceof IOException) {
+                    throw (IOException) rethrown;
+                } else if (rethrown instanceof RuntimeException) {
+                    throw (RuntimeException) rethrown;
+                } else {
+                    throw new IllegalStateException(rethrown);
+                }
+            }
+
+            /**
+             * A preprocessor for a parallel plugin engine.
+             */
+            private class Preprocessor implements Callable<Callable<? extends Dispatcher.Materializable>> {
+
+                /**
+                 * The processed element.
+                 */
+                private final Source.Element element;
+
+                /**
+                 * The name of the processed type.
+                 */
+                private final String typeName;
+
+                /**
+                 * The class file locator to use.
+                 */
+                private final ClassFileLocator classFileLocator;
+
+                /**
+                 * The type pool to use.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * The listener to notify.
+                 */
+                private final Listener listener;
+
+                /**
+                 * The plugins to apply.
+                 */
+                private final List<Plugin> plugins;
+
+                /**
+                 * The plugins with preprocessors to preprocess.
+                 */
+                private final List<WithPreprocessor> preprocessors;
+
+                /**
+                 * Creates a new preprocessor.
+                 *
+                 * @param element          The processed element.
+                 * @param typeName         The name of the processed type.
+                 * @param classFileLocator The class file locator to use.
+                 * @param typePool         The type pool to use.
+                 * @param listener         The listener to notify.
+                 * @param plugins          The plugins to apply.
+                 * @param preprocessors    The plugins with preprocessors to preprocess.
+                 */
+                private Preprocessor(Source.Element element,
+                                     String typeName,
+                                     ClassFileLocator classFileLocator,
+                                     TypePool typePool,
+                                     Listener listener,
+                                     List<Plugin> plugins,
+                                     List<WithPreprocessor> preprocessors) {
+                    this.element = element;
+                    this.typeName = typeName;
+                    this.classFileLocator = classFileLocator;
+                    this.typePool = typePool;
+                    this.listener = listener;
+                    this.plugins = plugins;
+                    this.preprocessors = preprocessors;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Callable<Dispatcher.Materializable> call() throws Exception {
+                    listener.onDiscovery(typeName);
+                    TypePool.Resolution resolution = typePool.describe(typeName);
+                    if (resolution.isResolved()) {
+                        TypeDescription typeDescription = resolution.resolve();
+                        try {
+                            if (!ignoredTypeMatcher.matches(typeDescription)) {
+                                for (WithPreprocessor preprocessor : preprocessors) {
+                                    preprocessor.onPreprocess(typeDescription, classFileLocator);
+                                }
+                                return new Resolved(typeDescription);
+                            } else {
+                                return new Ignored(typeDescription);
+                            }
+                        } catch (Throwable throwable) {
+                            listener.onComplete(typeDescription);
+                            if (throwable instanceof Exception) {
+                                throw (Exception) throwable;
+                            } else if (throwable instanceof Error) {
+                                throw (Error) throwable;
+                            } else {
+                                throw new IllegalStateException(throwable);
+                            }
+                        }
+                    } else {
+                        return new Unresolved();
+                    }
+                }
 
-            /**
-             * A matcher for types to exclude from transformation.
-             */
-            private final ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher;
+                /**
+                 * A resolved materializable.
+                 */
+                private class Resolved implements Callable<Dispatcher.Materializable> {
 
-            /**
-             * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
-             */
-            public Default() {
-                this(new ByteBuddy());
-            }
+                    /**
+                     * A description of the resolved type.
+                     */
+                    private final TypeDescription typeDescription;
 
-            /**
-             * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
-             *
-             * @param byteBuddy The Byte Buddy instance to use.
-             */
-            public Default(ByteBuddy byteBuddy) {
-                this(byteBuddy, TypeStrategy.Default.REBASE);
+                    /**
+                     * Creates a new resolved materializable.
+                     *
+                     * @param typeDescription A description of the resolved type.
+                     */
+                    private Resolved(TypeDescription typeDescription) {
+                        this.typeDescription = typeDescription;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        List<Plugin> applied = new ArrayList<Plugin>(), ignored = new ArrayList<Plugin>();
+                        List<Throwable> errored = new ArrayList<Throwable>();
+                        try {
+                            DynamicType.Builder<?> builder = typeStrategy.builder(byteBuddy, typeDescription, classFileLocator);
+                            for (Plugin plugin : plugins) {
+                                try {
+                                    if (plugin.matches(typeDescription)) {
+                                        builder = plugin.apply(builder, typeDescription, classFileLocator);
+                                        listener.onTransformation(typeDescription, plugin);
+                                        applied.add(plugin);
+                                    } else {
+                                        listener.onIgnored(typeDescription, plugin);
+                                        ignored.add(plugin);
+                                    }
+                                } catch (Throwable throwable) {
+                                    listener.onError(typeDescription, plugin, throwable);
+                                    errored.add(throwable);
+                                }
+                            }
+                            if (!errored.isEmpty()) {
+                                listener.onError(typeDescription, errored);
+                                return new Dispatcher.Materializable.ForFailedElement(element, typeDescription, errored);
+                            } else if (!applied.isEmpty()) {
+                                DynamicType dynamicType = builder.make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
+                                listener.onTransformation(typeDescription, applied);
+                                for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                                    if (entry.getValue().isAlive()) {
+                                        listener.onLiveInitializer(typeDescription, entry.getKey());
+                                    }
+                                }
+                                return new Dispatcher.Materializable.ForTransformedElement(dynamicType);
+                            } else {
+                                listener.onIgnored(typeDescription, ignored);
+                                return new Dispatcher.Materializable.ForRetainedElement(element);
+                            }
+                        } finally {
+                            listener.onComplete(typeDescription);
+                        }
+                    }
+                }
+
+                /**
+                 * A materializable for an ignored element.
+                 */
+                private class Ignored implements Callable<Dispatcher.Materializable> {
+
+                    /**
+                     * A description of the ignored type.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * A materializable for an ignored element.
+                     *
+                     * @param typeDescription A description of the ignored type.
+                     */
+                    private Ignored(TypeDescription typeDescription) {
+                        this.typeDescription = typeDescription;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        try {
+                            listener.onIgnored(typeDescription, plugins);
+                        } finally {
+                            listener.onComplete(typeDescription);
+                        }
+                        return new Dispatcher.Materializable.ForRetainedElement(element);
+                    }
+                }
+
+                /**
+                 * A materializable that represents an unresolved type.
+                 */
+                private class Unresolved implements Callable<Dispatcher.Materializable> {
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        listener.onUnresolved(typeName);
+                        return new Dispatcher.Materializable.ForUnresolvedElement(element, typeName);
+                    }
+                }
             }
+        }
+
+        /**
+         * <p>
+         * A plugin engine that applies another plugin engine incrementally. To do so, this engine persists an index of the hashes
+         * of all class files that were found in a source, the identity of the applied plugins and the types that each class file
+         * depends upon. Upon a later application, any class file whose content is unchanged and that does not transitively
+         * depend upon a changed, added or removed class file is neither transformed nor written to the target again. Class files of types
+         * that were removed from the source since the last application are deleted from the target.
+         * </p>
+         * <p>
+         * <b>Important</b>: Skipping a class file implies that the target still contains the result of the previous application. For
+         * this reason, incremental application is only performed if the target is a {@link Target.ForFolder} and the index must be deleted
+         * whenever the target folder is cleaned. Plugins that implement {@link WithPreprocessor} are only exposed to the types that are
+         * transformed.
+         * </p>
+         * <p>
+         * The index is only reused if the applied plugins, their arguments, the class files of their code sources, the version of
+         * Byte Buddy, the supplied configuration of the engine, such as its entry point or class file version, and the supplied class
+         * path are unchanged. Otherwise, all class files are transformed anew. A build tool can use {@link Incremental#isIndexed(List)}
+         * to determine if a target must be cleaned before an application. Configuration values and plugin arguments are represented
+         * by their value if they are strings, primitive wrappers, files, enumerations, types or class file versions and by their type
+         * otherwise.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Incremental extends AbstractBase {
 
             /**
-             * Creates a new default plugin engine.
-             *
-             * @param byteBuddy    The Byte Buddy instance to use.
-             * @param typeStrategy The type strategy to use.
+             * The plugin engine to apply incrementally.
              */
-            protected Default(ByteBuddy byteBuddy, TypeStrategy typeStrategy) {
-                this(byteBuddy,
-                        typeStrategy,
-                        PoolStrategy.Default.FAST,
-                        ClassFileLocator.NoOp.INSTANCE,
-                        Listener.NoOp.INSTANCE,
-                        new ErrorHandler.Compound(ErrorHandler.Failing.FAIL_FAST,
-                                ErrorHandler.Enforcing.ALL_TYPES_RESOLVED,
-                                ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS),
-                        Dispatcher.ForSerialTransformation.Factory.INSTANCE,
-                        none());
-            }
+            private final Engine delegate;
 
             /**
-             * Creates a new default plugin engine.
-             *
-             * @param byteBuddy          The Byte Buddy instance to use.
-             * @param typeStrategy       The type strategy to use.
-             * @param poolStrategy       The pool strategy to use.
-             * @param classFileLocator   The class file locator to use.
-             * @param listener           The listener to use.
-             * @param errorHandler       The error handler to use.
-             * @param dispatcherFactory  The dispatcher factory to use.
-             * @param ignoredTypeMatcher A matcher for types to exclude from transformation.
+             * The file in which the index of the last application is persisted.
              */
-            protected Default(ByteBuddy byteBuddy,
-                              TypeStrategy typeStrategy,
-                              PoolStrategy poolStrategy,
-                              ClassFileLocator classFileLocator,
-                              Listener listener,
-                              ErrorHandler errorHandler,
-                              Dispatcher.Factory dispatcherFactory,
-                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher) {
-                this.byteBuddy = byteBuddy;
-                this.typeStrategy = typeStrategy;
-                this.poolStrategy = poolStrategy;
-                this.classFileLocator = classFileLocator;
-                this.listener = listener;
-                this.errorHandler = errorHandler;
-                this.dispatcherFactory = dispatcherFactory;
-                this.ignoredTypeMatcher = ignoredTypeMatcher;
-            }
+            private final File index;
 
             /**
-             * Creates a plugin engine from an {@link EntryPoint}.
-             *
-             * @param entryPoint            The entry point to resolve into a plugin engine.
-             * @param classFileVersion      The class file version to assume.
-             * @param methodNameTransformer The method name transformer to use.
-             * @return An appropriate plugin engine.
+             * The configuration of the plugin engine that is not otherwise visible to this engine.
              */
-            public static Engine of(EntryPoint entryPoint, ClassFileVersion classFileVersion, MethodNameTransformer methodNameTransformer) {
-                return new Default(entryPoint.byteBuddy(classFileVersion), new TypeStrategy.ForEntryPoint(entryPoint, methodNameTransformer));
-            }
+            private final List<?> configuration;
 
             /**
-             * Runs a plugin engine using the first and second argument as source and target file location and any additional argument as
-             * the fully qualified name of any plugin to apply.
-             *
-             * @param argument The arguments for running the plugin engine.
-             * @throws ClassNotFoundException If a plugin class cannot be found on the system class loader.
-             * @throws IOException            If an I/O exception occurs.
+             * The class path that is used for resolving types during the application.
              */
-            @SuppressWarnings("unchecked")
-            public static void main(String... argument) throws ClassNotFoundException, IOException {
-                if (argument.length < 2) {
-                    throw new IllegalArgumentException("Expected arguments: <source> <target> [<plugin>, ...]");
-                }
-                List<Plugin.Factory> factories = new ArrayList<Factory>(argument.length - 2);
-                for (String plugin : Arrays.asList(argument).subList(2, argument.length)) {
-                    factories.add(new Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin)));
-                }
-                new Default().apply(new File(argument[0]), new File(argument[1]), factories);
+            private final List<File> classPath;
+
+            /**
+             * Creates a new incremental plugin engine that does not consider any configuration or class path.
+             *
+             * @param delegate The plugin engine to apply incrementally.
+             * @param index    The file in which the index of the last application is persisted.
+             */
+            public Incremental(Engine delegate, File index) {
+                this(delegate, index, Collections.emptyList(), Collections.<File>emptyList());
+            }
+
+            /**
+             * Creates a new incremental plugin engine.
+             *
+             * @param delegate      The plugin engine to apply incrementally.
+             * @param index         The file in which the index of the last application is persisted.
+             * @param configuration The configuration of the plugin engine that is not otherwise visible to this engine.
+             * @param classPath     The class path that is used for resolving types during the application.
+             */
+            public Incremental(Engine delegate, File index, List<?> configuration, List<? extends File> classPath) {
+                this.delegate = delegate;
+                this.index = index;
+                this.configuration = configuration;
+                this.classPath = new ArrayList<File>(classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(ByteBuddy byteBuddy) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(byteBuddy), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(TypeStrategy typeStrategy) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(typeStrategy), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(PoolStrategy poolStrategy) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(poolStrategy), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(ClassFileLocator classFileLocator) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        new ClassFileLocator.Compound(this.classFileLocator, classFileLocator),
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(classFileLocator), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(Listener listener) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        new Listener.Compound(this.listener, listener),
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(listener), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine withoutErrorHandlers() {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        Listener.NoOp.INSTANCE,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.withoutErrorHandlers(), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine withErrorHandlers(List<? extends ErrorHandler> errorHandlers) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        new ErrorHandler.Compound(errorHandlers),
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.withErrorHandlers(errorHandlers), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine with(Dispatcher.Factory dispatcherFactory) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher);
+                return new Incremental(delegate.with(dispatcherFactory), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Engine ignore(ElementMatcher<? super TypeDescription> matcher) {
-                return new Default(byteBuddy,
-                        typeStrategy,
-                        poolStrategy,
-                        classFileLocator,
-                        listener,
-                        errorHandler,
-                        dispatcherFactory,
-                        ignoredTypeMatcher.<TypeDescription>or(matcher));
+                return new Incremental(delegate.ignore(matcher), index, configuration, classPath);
             }
 
             /**
              * {@inheritDoc}
              */
             public Summary apply(Source source, Target target, List<? extends Plugin.Factory> factories) throws IOException {
-                Listener listener = new Listener.Compound(this.listener, new Listener.ForErrorHandler(errorHandler));
-                List<TypeDescription> transformed = new ArrayList<TypeDescription>();
-                Map<TypeDescription, List<Throwable>> failed = new LinkedHashMap<TypeDescription, List<Throwable>>();
-                List<String> unresolved = new ArrayList<String>();
-                Throwable rethrown = null;
-                List<Plugin> plugins = new ArrayList<Plugin>(factories.size());
-                List<WithPreprocessor> preprocessors = new ArrayList<WithPreprocessor>();
+                if (!(target instanceof Target.ForFolder)) {
+                    return delegate.apply(source, target, factories);
+                }
+                String identity = Index.identify(factories, configuration, classPath);
+                Index previous = Index.read(index, identity);
+                if (index.exists() && !index.delete()) {
+                    throw new IOException("Could not delete incremental index: " + index);
+                }
+                Map<String, String> hashes = new HashMap<String, String>();
+                Map<String, Set<String>> dependencies = new HashMap<String, Set<String>>();
+                Set<String> changed = new HashSet<String>();
+                Source.Origin origin = source.read();
                 try {
-                    for (Plugin.Factory factory : factories) {
-                        Plugin plugin = factory.make();
-                        plugins.add(plugin);
-                        if (plugin instanceof WithPreprocessor) {
-                            preprocessors.add((WithPreprocessor) plugin);
+                    for (Source.Element element : origin) {
+                        String name = Index.toInternalName(element);
+                        if (name != null) {
+                            InputStream inputStream = element.getInputStream();
+                            byte[] binaryRepresentation;
+                            try {
+                                binaryRepresentation = StreamDrainer.DEFAULT.drain(inputStream);
+                            } finally {
+                                inputStream.close();
+                            }
+                            String hash = Index.hash(binaryRepresentation);
+                            hashes.put(name, hash);
+                            Index.Entry entry = previous == null
+                                    ? null
+                                    : previous.getEntries().get(name);
+                            if (entry != null && entry.isRepresentedBy(hash)) {
+                                dependencies.put(name, entry.getDependencies());
+                            } else {
+                                dependencies.put(name, Index.Entry.dependencies(binaryRepresentation));
+                                changed.add(name);
+                            }
                         }
                     }
-                    Source.Origin origin = source.read();
+                } finally {
+                    origin.close();
+                }
+                Set<String> unchanged = new HashSet<String>();
+                if (previous != null) {
+                    for (String name : previous.getEntries().keySet()) {
+                        if (!hashes.containsKey(name)) {
+                            File file = new File(((Target.ForFolder) target).folder, name + CLASS_FILE_EXTENSION);
+                            if (file.isFile() && !file.delete()) {
+                                throw new IOException("Could not delete class file of removed type: " + file);
+                            }
+                            changed.add(name);
+                        }
+                    }
+                    Map<String, Set<String>> dependents = new HashMap<String, Set<String>>();
+                    for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+                        for (String dependency : entry.getValue()) {
+                            Set<String> names = dependents.get(dependency);
+                            if (names == null) {
+                                names = new HashSet<String>();
+                                dependents.put(dependency, names);
+                            }
+                            names.add(entry.getKey());
+                        }
+                    }
+                    Set<String> dirty = new HashSet<String>(changed);
+                    LinkedList<String> queue = new LinkedList<String>(changed);
+                    while (!queue.isEmpty()) {
+                        Set<String> names = dependents.get(queue.removeFirst());
+                        if (names != null) {
+                            for (String name : names) {
+                                if (dirty.add(name)) {
+                                    queue.addLast(name);
+                                }
+                            }
+                        }
+                    }
+                    unchanged.addAll(hashes.keySet());
+                    unchanged.removeAll(dirty);
+                }
+                Map<String, String> stored = new ConcurrentHashMap<String, String>();
+                Summary summary = delegate.apply(unchanged.isEmpty()
+                        ? source
+                        : new Source.Filtering(source, new ExcludingMatcher(unchanged)), new RecordingTarget(target, hashes, stored), factories);
+                Set<String> excluded = new HashSet<String>();
+                for (TypeDescription typeDescription : summary.getFailed().keySet()) {
+                    excluded.add(typeDescription.getInternalName());
+                }
+                for (String typeName : summary.getUnresolved()) {
+                    excluded.add(typeName.replace('.', '/'));
+                }
+                Map<String, Index.Entry> entries = new HashMap<String, Index.Entry>();
+                for (Map.Entry<String, String> entry : hashes.entrySet()) {
+                    if (unchanged.contains(entry.getKey())) {
+                        entries.put(entry.getKey(), previous.getEntries().get(entry.getKey()));
+                    } else if (!excluded.contains(entry.getKey())) {
+                        String output = stored.get(entry.getKey());
+                        entries.put(entry.getKey(), new Index.Entry(entry.getValue(), output == null
+                                ? entry.getValue()
+                                : output, dependencies.get(entry.getKey())));
+                    }
+                }
+                new Index(identity, entries).write(index);
+                return summary;
+            }
+
+            /**
+             * Determines if a valid index of a previous application exists for the supplied plugin factories such that class files
+             * can be skipped. If this method returns {@code false}, all class files are transformed anew and a build tool should clean
+             * the target before applying this engine.
+             *
+             * @param factories The plugin factories to apply.
+             * @return {@code true} if a valid index of a previous application exists.
+             * @throws IOException If an I/O error occurs.
+             */
+            public boolean isIndexed(List<? extends Plugin.Factory> factories) throws IOException {
+                return Index.read(index, Index.identify(factories, configuration, classPath)) != null;
+            }
+
+            /**
+             * An index of a previous application of an incremental plugin engine.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Index {
+
+                /**
+                 * The version of the index format.
+                 */
+                private static final int VERSION = 2;
+
+                /**
+                 * The hash algorithm to use.
+                 */
+                private static final String ALGORITHM = "SHA-256";
+
+                /**
+                 * A prefix of type names that are not considered as dependencies as they cannot be part of a source.
+                 */
+                private static final String JAVA_PACKAGE = "java/";
+
+                /**
+                 * A hash that represents the identity of the applied plugins.
+                 */
+                private final String identity;
+
+                /**
+                 * A mapping of internal names of all indexed types to their entry.
+                 */
+                private final Map<String, Entry> entries;
+
+                /**
+                 * Creates a new index.
+                 *
+                 * @param identity A hash that represents the identity of the applied plugins.
+                 * @param entries  A mapping of internal names of all indexed types to their entry.
+                 */
+                protected Index(String identity, Map<String, Entry> entries) {
+                    this.identity = identity;
+                    this.entries = entries;
+                }
+
+                /**
+                 * Reads an index from a file.
+                 *
+                 * @param file     The file to read.
+                 * @param identity The identity of the currently applied plugins.
+                 * @return The index that is represented by the file or {@code null} if the file does not exist, cannot be read or
+                 * if it was created for a different set of plugins.
+                 */
+                protected static Index read(File file, String identity) {
+                    if (!file.isFile()) {
+                        return null;
+                    }
                     try {
-                        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(origin.getClassFileLocator(), this.classFileLocator);
-                        TypePool typePool = poolStrategy.typePool(classFileLocator);
-                        Manifest manifest = origin.getManifest();
-                        listener.onManifest(manifest);
-                        Target.Sink sink = target.write(manifest);
+                        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
                         try {
-                            Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
-                            try {
-                                for (Source.Element element : origin) {
-                                    if (Thread.interrupted()) {
-                                        Thread.currentThread().interrupt();
-                                        throw new IllegalStateException("Thread interrupted during plugin engine application");
-                                    }
-                                    String name = element.getName();
-                                    while (name.startsWith("/")) {
-                                        name = name.substring(1);
-                                    }
-                                    if (name.endsWith(CLASS_FILE_EXTENSION)) {
-                                        dispatcher.accept(new Preprocessor(element,
-                                                name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
-                                                classFileLocator,
-                                                typePool,
-                                                listener,
-                                                plugins,
-                                                preprocessors), preprocessors.isEmpty());
-                                    } else if (!name.equals(JarFile.MANIFEST_NAME)) {
-                                        listener.onResource(name);
-                                        sink.retain(element);
-                                    }
+                            if (inputStream.readInt() != VERSION || !inputStream.readUTF().equals(identity)) {
+                                return null;
+                            }
+                            int size = inputStream.readInt();
+                            Map<String, Entry> entries = new HashMap<String, Entry>();
+                            for (int index = 0; index < size; index++) {
+                                String name = inputStream.readUTF(), input = inputStream.readUTF(), output = inputStream.readUTF();
+                                int count = inputStream.readInt();
+                                Set<String> dependencies = new HashSet<String>();
+                                for (int dependency = 0; dependency < count; dependency++) {
+                                    dependencies.add(inputStream.readUTF());
                                 }
-                                dispatcher.complete();
-                            } finally {
-                                dispatcher.close();
+                                entries.put(name, new Entry(input, output, dependencies));
                             }
-                            if (!failed.isEmpty()) {
-                                listener.onError(failed);
+                            return new Index(identity, entries);
+                        } finally {
+                            inputStream.close();
+                        }
+                    } catch (IOException ignored) {
+                        return null;
+                    }
+                }
+
+                /**
+                 * Computes a hash that represents the identity of an application. The identity is derived from the version of Byte Buddy,
+                 * from the name, the class file, the arguments and the files of the code source of the represented plugin types, from the
+                 * supplied configuration and from the name, size and last modification time of all files of the class path.
+                 *
+                 * @param factories     The plugin factories to identify.
+                 * @param configuration The configuration of the plugin engine.
+                 * @param classPath     The class path that is used for resolving types.
+                 * @return A hash that represents the identity of the application.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                protected static String identify(List<? extends Plugin.Factory> factories, List<?> configuration, List<? extends File> classPath) throws IOException {
+                    MessageDigest digest = digest();
+                    String version = Plugin.class.getPackage() == null
+                            ? null
+                            : Plugin.class.getPackage().getImplementationVersion();
+                    if (version == null) {
+                        update(digest, Plugin.class);
+                    } else {
+                        update(digest, version);
+                    }
+                    for (Plugin.Factory factory : factories) {
+                        Class<?> type;
+                        if (factory instanceof Factory.UsingReflection) {
+                            type = ((Factory.UsingReflection) factory).type;
+                            for (Factory.UsingReflection.ArgumentResolver argumentResolver : ((Factory.UsingReflection) factory).argumentResolvers) {
+                                if (argumentResolver instanceof Factory.UsingReflection.ArgumentResolver.ForIndex) {
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForIndex) argumentResolver).index);
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForIndex) argumentResolver).value);
+                                } else if (argumentResolver instanceof Factory.UsingReflection.ArgumentResolver.ForIndex.WithDynamicType) {
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForIndex.WithDynamicType) argumentResolver).index);
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForIndex.WithDynamicType) argumentResolver).value);
+                                } else if (argumentResolver instanceof Factory.UsingReflection.ArgumentResolver.ForType<?>) {
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForType<?>) argumentResolver).type);
+                                    update(digest, ((Factory.UsingReflection.ArgumentResolver.ForType<?>) argumentResolver).value);
+                                } else {
+                                    update(digest, argumentResolver.getClass());
+                                }
+                            }
+                        } else if (factory instanceof Factory.Simple) {
+                            type = ((Factory.Simple) factory).plugin.getClass();
+                        } else {
+                            type = factory.getClass();
+                        }
+                        update(digest, type.getName());
+                        ClassFileLocator.Resolution resolution = ClassFileLocator.ForClassLoader.of(type.getClassLoader()).locate(type.getName());
+                        if (resolution.isResolved()) {
+                            digest.update(resolution.resolve());
+                        }
+                        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+                        if (codeSource != null && codeSource.getLocation() != null && codeSource.getLocation().getProtocol().equals("file")) {
+                            try {
+                                fingerprint(digest, new File(codeSource.getLocation().toURI()));
+                            } catch (URISyntaxException ignored) {
+                                update(digest, codeSource.getLocation().toString());
+                            }
+                        }
+                    }
+                    for (Object value : configuration) {
+                        update(digest, value);
+                    }
+                    for (File file : classPath) {
+                        fingerprint(digest, file);
+                    }
+                    return toHexString(digest.digest());
+                }
+
+                /**
+                 * Updates a message digest with a representation of a value.
+                 *
+                 * @param digest The message digest to update.
+                 * @param value  The value to represent which might be {@code null}.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                private static void update(MessageDigest digest, Object value) throws IOException {
+                    if (value instanceof File) {
+                        digest.update(((File) value).getAbsolutePath().getBytes("UTF-8"));
+                    } else if (value instanceof Class<?>) {
+                        digest.update(((Class<?>) value).getName().getBytes("UTF-8"));
+                    } else if (value instanceof Enum<?>) {
+                        digest.update((((Enum<?>) value).getDeclaringClass().getName() + "." + ((Enum<?>) value).name()).getBytes("UTF-8"));
+                    } else if (value == null
+                            || value instanceof String
+                            || value instanceof Number
+                            || value instanceof Boolean
+                            || value instanceof Character
+                            || value instanceof ClassFileVersion) {
+                        digest.update(String.valueOf(value).getBytes("UTF-8"));
+                    } else {
+                        digest.update(value.getClass().getName().getBytes("UTF-8"));
+                    }
+                    digest.update((byte) 0);
+                }
+
+                /**
+                 * Updates a message digest with the name, size and last modification time of a file or of all files within a folder.
+                 *
+                 * @param digest The message digest to update.
+                 * @param file   The file or folder to represent.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                private static void fingerprint(MessageDigest digest, File file) throws IOException {
+                    update(digest, file);
+                    if (file.isFile()) {
+                        update(digest, file.length() + ":" + file.lastModified());
+                    } else if (file.isDirectory()) {
+                        File[] files = file.listFiles();
+                        if (files == null) {
+                            throw new IOException("Could not list files of folder: " + file);
+                        }
+                        Arrays.sort(files);
+                        for (File child : files) {
+                            fingerprint(digest, child);
+                        }
+                    }
+                }
+
+                /**
+                 * Computes the hash of a binary representation.
+                 *
+                 * @param binaryRepresentation The binary representation to hash.
+                 * @return A hash of the binary representation.
+                 */
+                protected static String hash(byte[] binaryRepresentation) {
+                    return toHexString(digest().digest(binaryRepresentation));
+                }
+
+                /**
+                 * Creates a new message digest.
+                 *
+                 * @return A new message digest.
+                 */
+                private static MessageDigest digest() {
+                    try {
+                        return MessageDigest.getInstance(ALGORITHM);
+                    } catch (NoSuchAlgorithmException exception) {
+                        throw new IllegalStateException("Cannot resolve hash algorithm: " + ALGORITHM, exception);
+                    }
+                }
+
+                /**
+                 * Represents a binary hash as a hexadecimal string.
+                 *
+                 * @param hash The hash to represent.
+                 * @return A hexadecimal representation of the supplied hash.
+                 */
+                private static String toHexString(byte[] hash) {
+                    StringBuilder stringBuilder = new StringBuilder(hash.length * 2);
+                    for (byte value : hash) {
+                        stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+                    }
+                    return stringBuilder.toString();
+                }
+
+                /**
+                 * Resolves the internal name of the type that is represented by an element.
+                 *
+                 * @param element The element to resolve.
+                 * @return The internal name of the represented type or {@code null} if the element does not represent a class file.
+                 */
+                protected static String toInternalName(Source.Element element) {
+                    String name = element.getName();
+                    while (name.startsWith("/")) {
+                        name = name.substring(1);
+                    }
+                    return name.endsWith(CLASS_FILE_EXTENSION)
+                            ? name.substring(0, name.length() - CLASS_FILE_EXTENSION.length())
+                            : null;
+                }
+
+                /**
+                 * Returns a mapping of internal names of all indexed types to their entry.
+                 *
+                 * @return A mapping of internal names of all indexed types to their entry.
+                 */
+                protected Map<String, Entry> getEntries() {
+                    return entries;
+                }
+
+                /**
+                 * Writes this index to a file.
+                 *
+                 * @param file The file to write to.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                protected void write(File file) throws IOException {
+                    File folder = file.getAbsoluteFile().getParentFile();
+                    if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+                        throw new IOException("Could not create directory: " + folder);
+                    }
+                    DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+                    try {
+                        outputStream.writeInt(VERSION);
+                        outputStream.writeUTF(identity);
+                        outputStream.writeInt(entries.size());
+                        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                            outputStream.writeUTF(entry.getKey());
+                            outputStream.writeUTF(entry.getValue().getInput());
+                            outputStream.writeUTF(entry.getValue().getOutput());
+                            outputStream.writeInt(entry.getValue().getDependencies().size());
+                            for (String dependency : entry.getValue().getDependencies()) {
+                                outputStream.writeUTF(dependency);
                             }
-                        } finally {
-                            sink.close();
                         }
                     } finally {
-                        origin.close();
+                        outputStream.close();
                     }
-                } finally {
-                    for (Plugin plugin : plugins) {
-                        try {
-                            plugin.close();
-                        } catch (Throwable throwable) {
-                            try {
-                                listener.onError(plugin, throwable);
-                            } catch (Throwable chained) {
-                                rethrown = rethrown == null
-                                        ? chained
-                                        : rethrown;
-                            }
-                        }
+                }
+
+                /**
+                 * An entry of an index that represents a single class file.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Entry {
+
+                    /**
+                     * The hash of the class file as it was found in the source.
+                     */
+                    private final String input;
+
+                    /**
+                     * The hash of the class file as it was written to the target.
+                     */
+                    private final String output;
+
+                    /**
+                     * The internal names of all types that the represented type depends upon.
+                     */
+                    private final Set<String> dependencies;
+
+                    /**
+                     * Creates a new entry.
+                     *
+                     * @param input        The hash of the class file as it was found in the source.
+                     * @param output       The hash of the class file as it was written to the target.
+                     * @param dependencies The internal names of all types that the represented type depends upon.
+                     */
+                    protected Entry(String input, String output, Set<String> dependencies) {
+                        this.input = input;
+                        this.output = output;
+                        this.dependencies = dependencies;
+                    }
+
+                    /**
+                     * Resolves the internal names of all types that a class file depends upon, i.e. any type that is referenced
+                     * from the class file including its method bodies. Types of the {@code java} package are not considered as they
+                     * cannot be part of a source.
+                     *
+                     * @param binaryRepresentation The binary representation of the class file.
+                     * @return The internal names of all types that the represented type depends upon.
+                     */
+                    protected static Set<String> dependencies(byte[] binaryRepresentation) {
+                        ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+                        DependencyCollector dependencyCollector = new DependencyCollector();
+                        classReader.accept(new ClassRemapper(new ClassWriter(0), dependencyCollector), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                        Set<String> dependencies = dependencyCollector.getDependencies();
+                        dependencies.remove(classReader.getClassName());
+                        return dependencies;
+                    }
+
+                    /**
+                     * Returns the hash of the class file as it was found in the source.
+                     *
+                     * @return The hash of the class file as it was found in the source.
+                     */
+                    protected String getInput() {
+                        return input;
+                    }
+
+                    /**
+                     * Returns the hash of the class file as it was written to the target.
+                     *
+                     * @return The hash of the class file as it was written to the target.
+                     */
+                    protected String getOutput() {
+                        return output;
+                    }
+
+                    /**
+                     * Returns the internal names of all types that the represented type structurally depends upon.
+                     *
+                     * @return The internal names of all types that the represented type depends upon.
+                     */
+                    protected Set<String> getDependencies() {
+                        return dependencies;
+                    }
+
+                    /**
+                     * Determines if a class file with the supplied hash is represented by this entry. This is the case if the class file
+                     * is equal to the originally found class file or to the class file that was written, what is the case if a source is
+                     * transformed in place.
+                     *
+                     * @param hash The hash of the class file.
+                     * @return {@code true} if the supplied hash represents an unchanged class file.
+                     */
+                    protected boolean isRepresentedBy(String hash) {
+                        return input.equals(hash) || output.equals(hash);
                     }
                 }
-                if (rethrown == null) {
-                    return new Summary(transformed, failed, unresolved);
-                } else if (rethrown instanceof IOException) {
-                    throw (IOException) rethrown;
-                } else if (rethrown instanceof RuntimeException) {
-                    throw (RuntimeException) rethrown;
-                } else {
-                    throw new IllegalStateException(rethrown);
+
+                /**
+                 * A remapper that collects the internal names of all types that it is queried for.
+                 */
+                protected static class DependencyCollector extends Remapper {
+
+                    /**
+                     * The internal names of all collected types.
+                     */
+                    private final Set<String> dependencies = new HashSet<String>();
+
+                    @Override
+                    public String map(String internalName) {
+                        if (!internalName.startsWith(JAVA_PACKAGE)) {
+                            dependencies.add(internalName);
+                        }
+                        return internalName;
+                    }
+
+                    /**
+                     * Returns the internal names of all collected types.
+                     *
+                     * @return The internal names of all collected types.
+                     */
+                    protected Set<String> getDependencies() {
+                        return dependencies;
+                    }
                 }
             }
 
             /**
-             * A preprocessor for a parallel plugin engine.
+             * A matcher for elements that do not represent a class file of an unchanged type.
              */
-            private class Preprocessor implements Callable<Callable<? extends Dispatcher.Materializable>> {
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class ExcludingMatcher implements ElementMatcher<Source.Element> {
 
                 /**
-                 * The processed element.
+                 * The internal names of all unchanged types.
                  */
-                private final Source.Element element;
+                private final Set<String> unchanged;
 
                 /**
-                 * The name of the processed type.
+                 * Creates a new excluding matcher.
+                 *
+                 * @param unchanged The internal names of all unchanged types.
                  */
-                private final String typeName;
+                protected ExcludingMatcher(Set<String> unchanged) {
+                    this.unchanged = unchanged;
+                }
 
                 /**
-                 * The class file locator to use.
+                 * {@inheritDoc}
                  */
-                private final ClassFileLocator classFileLocator;
+                public boolean matches(Source.Element target) {
+                    String name = Index.toInternalName(target);
+                    return name == null || !unchanged.contains(name);
+                }
+            }
 
-                /**
-                 * The type pool to use.
-                 */
-                private final TypePool typePool;
+            /**
+             * A target that records the hashes of all class files that are written.
+             */
+            protected static class RecordingTarget implements Target {
 
                 /**
-                 * The listener to notify.
+                 * The target to delegate to.
                  */
-                private final Listener listener;
+                private final Target delegate;
 
                 /**
-                 * The plugins to apply.
+                 * A mapping of internal names of all class files in the source to their hash.
                  */
-                private final List<Plugin> plugins;
+                private final Map<String, String> hashes;
 
                 /**
-                 * The plugins with preprocessors to preprocess.
+                 * A mapping of internal names of all written class files to their hash.
                  */
-                private final List<WithPreprocessor> preprocessors;
+                private final Map<String, String> stored;
 
                 /**
-                 * Creates a new preprocessor.
+                 * Creates a new recording target.
                  *
-                 * @param element          The processed element.
-                 * @param typeName         The name of the processed type.
-                 * @param classFileLocator The class file locator to use.
-                 * @param typePool         The type pool to use.
-                 * @param listener         The listener to notify.
-                 * @param plugins          The plugins to apply.
-                 * @param preprocessors    The plugins with preprocessors to preprocess.
+                 * @param delegate The target to delegate to.
+                 * @param hashes   A mapping of internal names of all class files in the source to their hash.
+                 * @param stored   A mapping of internal names of all written class files to their hash.
                  */
-                private Preprocessor(Source.Element element,
-                                     String typeName,
-                                     ClassFileLocator classFileLocator,
-                                     TypePool typePool,
-                                     Listener listener,
-                                     List<Plugin> plugins,
-                                     List<WithPreprocessor> preprocessors) {
-                    this.element = element;
-                    this.typeName = typeName;
-                    this.classFileLocator = classFileLocator;
-                    this.typePool = typePool;
-                    this.listener = listener;
-                    this.plugins = plugins;
-                    this.preprocessors = preprocessors;
+                protected RecordingTarget(Target delegate, Map<String, String> hashes, Map<String, String> stored) {
+                    this.delegate = delegate;
+                    this.hashes = hashes;
+                    this.stored = stored;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Callable<Dispatcher.Materializable> call() throws Exception {
-                    listener.onDiscovery(typeName);
-                    TypePool.Resolution resolution = typePool.describe(typeName);
-                    if (resolution.isResolved()) {
-                        TypeDescription typeDescription = resolution.resolve();
-                        try {
-                            if (!ignoredTypeMatcher.matches(typeDescription)) {
-                                for (WithPreprocessor preprocessor : preprocessors) {
-                                    preprocessor.onPreprocess(typeDescription, classFileLocator);
-                                }
-                                return new Resolved(typeDescription);
-                            } else {
-                                return new Ignored(typeDescription);
-                            }
-                        } catch (Throwable throwable) {
-                            listener.onComplete(typeDescription);
-                            if (throwable instanceof Exception) {
-                                throw (Exception) throwable;
-                            } else if (throwable instanceof Error) {
-                                throw (Error) throwable;
-                            } else {
-                                throw new IllegalStateException(throwable);
-                            }
-                        }
-                    } else {
-                        return new Unresolved();
-                    }
+                public Sink write(Manifest manifest) throws IOException {
+                    return new RecordingSink(delegate.write(manifest), hashes, stored);
                 }
 
                 /**
-                 * A resolved materializable.
+                 * A sink that records the hashes of all class files that are written.
                  */
-                private class Resolved implements Callable<Dispatcher.Materializable> {
+                protected static class RecordingSink implements Sink {
 
                     /**
-                     * A description of the resolved type.
+                     * The sink to delegate to.
                      */
-                    private final TypeDescription typeDescription;
+                    private final Sink delegate;
 
                     /**
-                     * Creates a new resolved materializable.
-                     *
-                     * @param typeDescription A description of the resolved type.
+                     * A mapping of internal names of all class files in the source to their hash.
                      */
-                    private Resolved(TypeDescription typeDescription) {
-                        this.typeDescription = typeDescription;
-                    }
+                    private final Map<String, String> hashes;
 
                     /**
-                     * {@inheritDoc}
+                     * A mapping of internal names of all written class files to their hash.
                      */
-                    public Dispatcher.Materializable call() {
-                        List<Plugin> applied = new ArrayList<Plugin>(), ignored = new ArrayList<Plugin>();
-                        List<Throwable> errored = new ArrayList<Throwable>();
-                        try {
-                            DynamicType.Builder<?> builder = typeStrategy.builder(byteBuddy, typeDescription, classFileLocator);
-                            for (Plugin plugin : plugins) {
-                                try {
-                                    if (plugin.matches(typeDescription)) {
-                                        builder = plugin.apply(builder, typeDescription, classFileLocator);
-                                        listener.onTransformation(typeDescription, plugin);
-                                        applied.add(plugin);
-                                    } else {
-                                        listener.onIgnored(typeDescription, plugin);
-                                        ignored.add(plugin);
-                                    }
-                                } catch (Throwable throwable) {
-                                    listener.onError(typeDescription, plugin, throwable);
-                                    errored.add(throwable);
-                                }
-                            }
-                            if (!errored.isEmpty()) {
-                                listener.onError(typeDescription, errored);
-                                return new Dispatcher.Materializable.ForFailedElement(element, typeDescription, errored);
-                            } else if (!applied.isEmpty()) {
-                                DynamicType dynamicType = builder.make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
-                                listener.onTransformation(typeDescription, applied);
-                                for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
-                                    if (entry.getValue().isAlive()) {
-                                        listener.onLiveInitializer(typeDescription, entry.getKey());
-                                    }
-                                }
-                                return new Dispatcher.Materializable.ForTransformedElement(dynamicType);
-                            } else {
-                                listener.onIgnored(typeDescription, ignored);
-                                return new Dispatcher.Materializable.ForRetainedElement(element);
-                            }
-                        } finally {
-                            listener.onComplete(typeDescription);
-                        }
-                    }
-                }
-
-                /**
-                 * A materializable for an ignored element.
-                 */
-                private class Ignored implements Callable<Dispatcher.Materializable> {
+                    private final Map<String, String> stored;
 
                     /**
-                     * A description of the ignored type.
+                     * Creates a new recording sink.
+                     *
+                     * @param delegate The sink to delegate to.
+                     * @param hashes   A mapping of internal names of all class files in the source to their hash.
+                     * @param stored   A mapping of internal names of all written class files to their hash.
                      */
-                    private final TypeDescription typeDescription;
+                    protected RecordingSink(Sink delegate, Map<String, String> hashes, Map<String, String> stored) {
+                        this.delegate = delegate;
+                        this.hashes = hashes;
+                        this.stored = stored;
+                    }
 
                     /**
-                     * A materializable for an ignored element.
-                     *
-                     * @param typeDescription A description of the ignored type.
+                     * {@inheritDoc}
                      */
-                    private Ignored(TypeDescription typeDescription) {
-                        this.typeDescription = typeDescription;
+                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                        delegate.store(binaryRepresentations);
+                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                            stored.put(entry.getKey().getInternalName(), Index.hash(entry.getValue()));
+                        }
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public Dispatcher.Materializable call() {
-                        try {
-                            listener.onIgnored(typeDescription, plugins);
-                        } finally {
-                            listener.onComplete(typeDescription);
+                    public void retain(Source.Element element) throws IOException {
+                        delegate.retain(element);
+                        String name = Index.toInternalName(element);
+                        if (name != null) {
+                            String hash = hashes.get(name);
+                            if (hash != null) {
+                                stored.put(name, hash);
+                            }
                         }
-                        return new Dispatcher.Materializable.ForRetainedElement(element);
                     }
-                }
-
-                /**
-                 * A materializable that represents an unresolved type.
-                 */
-                private class Unresolved implements Callable<Dispatcher.Materializable> {
 
                     /**
                      * {@inheritDoc}
                      */
-                    public Dispatcher.Materializable call() {
-                        listener.onUnresolved(typeName);
-                        return new Dispatcher.Materializable.ForUnresolvedElement(element, typeName);
+                    public void close() throws IOException {
+                        delegate.close();
                     }
                 }
             }
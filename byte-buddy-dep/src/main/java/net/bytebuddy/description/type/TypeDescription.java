@@ -8497,6 +8497,15 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
             this.type = type;
         }
 
+        /**
+         * Returns the loaded type that is represented by this type description.
+         *
+         * @return The represented loaded type.
+         */
+        public Class<?> getLoadedType() {
+            return type;
+        }
+
         /**
          * Returns the type's actual name where it is taken into consideration that this type might be loaded anonymously.
          * In this case, the remainder of the types name is suffixed by {@code /<id>} which is removed when using this method
@@ -34,12 +34,21 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -1036,6 +1045,544 @@ public interface ClassFileLocator extends Closeable {
         }
     }
 
+    /**
+     * <p>
+     * A class file locator that memory-maps a <i>jar</i> or <i>jmod</i> file and that parses the archive's central directory once
+     * upon its creation. Other than {@link ForJarFile} and {@link ForModuleFile}, this locator does not open an input stream for
+     * every located entry. Stored entries are copied directly from the mapped file into the resulting byte array while compressed
+     * entries are inflated into an array of the entry's recorded size using a pooled {@link Inflater} and input buffer.
+     * </p>
+     * <p>
+     * <b>Important</b>: This class file locator does not support archives of the ZIP64 format or archives that exceed a size of
+     * {@link Integer#MAX_VALUE} bytes. The mapped memory is released when this locator is closed, after which no further class files
+     * can be located. If the current VM does not allow for releasing mapped memory explicitly, the memory is released by the garbage
+     * collector once this locator becomes unreachable.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class ForMappedArchive implements ClassFileLocator {
+
+        /**
+         * The signature of a zip file's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+        /**
+         * The signature of a zip file's central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+
+        /**
+         * The minimal size of a zip file's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+        /**
+         * The maximal size of a zip file's comment.
+         */
+        private static final int MAXIMUM_COMMENT_SIZE = 0xFFFF;
+
+        /**
+         * The size of a zip file's central directory file header, excluding variable fields.
+         */
+        private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+        /**
+         * The size of a zip file's local file header, excluding variable fields.
+         */
+        private static final int LOCAL_HEADER_SIZE = 30;
+
+        /**
+         * The compression method of an entry that is stored without compression.
+         */
+        private static final int STORED = 0;
+
+        /**
+         * The compression method of an entry that is compressed by the deflate algorithm.
+         */
+        private static final int DEFLATED = 8;
+
+        /**
+         * The size of a pooled input buffer for inflating compressed entries.
+         */
+        private static final int BUFFER_SIZE = 1024 * 8;
+
+        /**
+         * The maximum number of unused inflaters that are pooled.
+         */
+        private static final int POOL_SIZE = 16;
+
+        /**
+         * A pool of inflaters that are currently unused.
+         */
+        private static final Queue<Inflating> POOL = new ConcurrentLinkedQueue<Inflating>();
+
+        /**
+         * The number of inflaters that are currently pooled.
+         */
+        private static final AtomicInteger POOLED = new AtomicInteger();
+
+        /**
+         * The unmapper to use for releasing mapped memory.
+         */
+        private static final Unmapper UNMAPPER = AccessController.doPrivileged(Unmapper.CreationAction.INSTANCE);
+
+        /**
+         * The prefix of any class file entry within the mapped archive.
+         */
+        private final String prefix;
+
+        /**
+         * The mapped archive in little-endian byte order.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final ByteBuffer buffer;
+
+        /**
+         * The class file entries of the mapped archive by their entry name.
+         */
+        private final Map<String, Entry> entries;
+
+        /**
+         * A lock that prevents the release of the mapped memory while an entry is read.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final ReadWriteLock lock;
+
+        /**
+         * {@code true} if this locator was closed. This field is guarded by {@link ForMappedArchive#lock}.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private boolean closed;
+
+        /**
+         * Creates a new class file locator for a memory-mapped archive.
+         *
+         * @param prefix  The prefix of any class file entry within the mapped archive.
+         * @param buffer  The mapped archive in little-endian byte order.
+         * @param entries The class file entries of the mapped archive by their entry name.
+         */
+        protected ForMappedArchive(String prefix, ByteBuffer buffer, Map<String, Entry> entries) {
+            this.prefix = prefix;
+            this.buffer = buffer;
+            this.entries = entries;
+            lock = new ReentrantReadWriteLock();
+        }
+
+        /**
+         * Creates a class file locator for a memory-mapped jar file.
+         *
+         * @param file The jar file to map.
+         * @return A class file locator for the memory-mapped jar file.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static ClassFileLocator of(File file) throws IOException {
+            return of(file, NamedElement.EMPTY_NAME);
+        }
+
+        /**
+         * Creates a class file locator for a memory-mapped jmod file.
+         *
+         * @param file The jmod file to map.
+         * @return A class file locator for the memory-mapped jmod file.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static ClassFileLocator ofModule(File file) throws IOException {
+            return of(file, "classes/");
+        }
+
+        /**
+         * Creates a class file locator for a memory-mapped archive.
+         *
+         * @param file   The archive to map.
+         * @param prefix The prefix of any class file entry within the archive.
+         * @return A class file locator for the memory-mapped archive.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static ClassFileLocator of(File file, String prefix) throws IOException {
+            ByteBuffer buffer;
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                if (randomAccessFile.length() > Integer.MAX_VALUE) {
+                    throw new IOException("Cannot map archive that exceeds maximum size: " + file);
+                }
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+            } finally {
+                randomAccessFile.close();
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int end = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE, minimum = Math.max(0, end - MAXIMUM_COMMENT_SIZE);
+            while (end >= minimum && buffer.getInt(end) != END_OF_CENTRAL_DIRECTORY) {
+                end--;
+            }
+            if (end < minimum) {
+                throw new IOException("Cannot locate end of central directory in " + file);
+            }
+            int count = buffer.getShort(end + 10) & 0xFFFF;
+            long size = buffer.getInt(end + 12) & 0xFFFFFFFFL, offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+            if (count == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL || size > end) {
+                throw new IOException("Unsupported or corrupt archive format: " + file);
+            }
+            int position = (int) (end - size), base = (int) (position - offset);
+            Map<String, Entry> entries = new HashMap<String, Entry>();
+            for (int index = 0; index < count; index++) {
+                if (buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                    throw new IOException("Corrupt central directory in " + file);
+                }
+                int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                byte[] name = new byte[nameLength];
+                ByteBuffer duplicate = buffer.duplicate();
+                duplicate.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+                duplicate.get(name);
+                String entry = new String(name, "UTF-8");
+                if (entry.startsWith(prefix) && entry.endsWith(CLASS_FILE_EXTENSION)) {
+                    entries.put(entry, new Entry(buffer.getShort(position + 10) & 0xFFFF,
+                            buffer.getInt(position + 20),
+                            buffer.getInt(position + 24),
+                            base + buffer.getInt(position + 42)));
+                }
+                position += CENTRAL_DIRECTORY_HEADER_SIZE
+                        + nameLength
+                        + (buffer.getShort(position + 30) & 0xFFFF)
+                        + (buffer.getShort(position + 32) & 0xFFFF);
+            }
+            return new ForMappedArchive(prefix, buffer, entries);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            Entry entry = entries.get(prefix + name.replace('.', '/') + CLASS_FILE_EXTENSION);
+            if (entry == null) {
+                return new Resolution.Illegal(name);
+            }
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    throw new IOException("Class file locator for mapped archive is closed");
+                }
+                return new Resolution.Explicit(entry.read(buffer));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            lock.writeLock().lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    UNMAPPER.unmap(buffer);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * An unmapper is responsible for releasing the memory of a mapped byte buffer prior to its garbage collection.
+         */
+        public interface Unmapper {
+
+            /**
+             * Releases the memory of a mapped byte buffer. The buffer must not be accessed after calling this method.
+             *
+             * @param buffer The buffer to release.
+             */
+            void unmap(ByteBuffer buffer);
+
+            /**
+             * An action to create an {@link Unmapper}.
+             */
+            enum CreationAction implements PrivilegedAction<Unmapper> {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Exception should not be rethrown but trigger a fallback")
+                public Unmapper run() {
+                    try {
+                        Class<?> type = Class.forName("sun.misc.Unsafe");
+                        Field field = type.getDeclaredField("theUnsafe");
+                        field.setAccessible(true);
+                        return new UsingUnsafe(field.get(null), type.getMethod("invokeCleaner", ByteBuffer.class));
+                    } catch (Exception ignored) {
+                        try {
+                            return new UsingCleaner(Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner"),
+                                    Class.forName("sun.misc.Cleaner").getMethod("clean"));
+                        } catch (Exception ignoredAgain) {
+                            return Disabled.INSTANCE;
+                        }
+                    }
+                }
+            }
+
+            /**
+             * An unmapper that does not release mapped memory but leaves this to the garbage collector.
+             */
+            enum Disabled implements Unmapper {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void unmap(ByteBuffer buffer) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * An unmapper that uses {@code sun.misc.Unsafe#invokeCleaner} as it is available from Java 9 on.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class UsingUnsafe implements Unmapper {
+
+                /**
+                 * The {@code sun.misc.Unsafe} instance.
+                 */
+                private final Object unsafe;
+
+                /**
+                 * The {@code sun.misc.Unsafe#invokeCleaner} method.
+                 */
+                private final Method invokeCleaner;
+
+                /**
+                 * Creates a new unmapper that uses {@code sun.misc.Unsafe}.
+                 *
+                 * @param unsafe        The {@code sun.misc.Unsafe} instance.
+                 * @param invokeCleaner The {@code sun.misc.Unsafe#invokeCleaner} method.
+                 */
+                protected UsingUnsafe(Object unsafe, Method invokeCleaner) {
+                    this.unsafe = unsafe;
+                    this.invokeCleaner = invokeCleaner;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void unmap(ByteBuffer buffer) {
+                    try {
+                        invokeCleaner.invoke(unsafe, buffer);
+                    } catch (IllegalAccessException exception) {
+                        throw new IllegalStateException("Cannot access sun.misc.Unsafe#invokeCleaner", exception);
+                    } catch (InvocationTargetException exception) {
+                        throw new IllegalStateException("Error invoking sun.misc.Unsafe#invokeCleaner", exception.getCause());
+                    }
+                }
+            }
+
+            /**
+             * An unmapper that uses a direct buffer's {@code sun.misc.Cleaner} as it is available prior to Java 9.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class UsingCleaner implements Unmapper {
+
+                /**
+                 * The {@code sun.nio.ch.DirectBuffer#cleaner} method.
+                 */
+                private final Method cleaner;
+
+                /**
+                 * The {@code sun.misc.Cleaner#clean} method.
+                 */
+                private final Method clean;
+
+                /**
+                 * Creates a new unmapper that uses a direct buffer's cleaner.
+                 *
+                 * @param cleaner The {@code sun.nio.ch.DirectBuffer#cleaner} method.
+                 * @param clean   The {@code sun.misc.Cleaner#clean} method.
+                 */
+                protected UsingCleaner(Method cleaner, Method clean) {
+                    this.cleaner = cleaner;
+                    this.clean = clean;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void unmap(ByteBuffer buffer) {
+                    try {
+                        Object cleaner = this.cleaner.invoke(buffer);
+                        if (cleaner != null) {
+                            clean.invoke(cleaner);
+                        }
+                    } catch (IllegalAccessException exception) {
+                        throw new IllegalStateException("Cannot access sun.misc.Cleaner#clean", exception);
+                    } catch (InvocationTargetException exception) {
+                        throw new IllegalStateException("Error invoking sun.misc.Cleaner#clean", exception.getCause());
+                    }
+                }
+            }
+        }
+
+        /**
+         * A class file entry of a mapped archive.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class Entry {
+
+            /**
+             * The entry's compression method.
+             */
+            private final int method;
+
+            /**
+             * The entry's compressed size.
+             */
+            private final int compressedSize;
+
+            /**
+             * The entry's uncompressed size.
+             */
+            private final int size;
+
+            /**
+             * The position of the entry's local file header within the mapped archive.
+             */
+            private final int position;
+
+            /**
+             * Creates a new entry.
+             *
+             * @param method         The entry's compression method.
+             * @param compressedSize The entry's compressed size.
+             * @param size           The entry's uncompressed size.
+             * @param position       The position of the entry's local file header within the mapped archive.
+             */
+            protected Entry(int method, int compressedSize, int size, int position) {
+                this.method = method;
+                this.compressedSize = compressedSize;
+                this.size = size;
+                this.position = position;
+            }
+
+            /**
+             * Reads this entry's uncompressed binary representation.
+             *
+             * @param buffer The mapped archive in little-endian byte order.
+             * @return The entry's uncompressed binary representation.
+             * @throws IOException If the entry cannot be read.
+             */
+            protected byte[] read(ByteBuffer buffer) throws IOException {
+                ByteBuffer duplicate = buffer.duplicate();
+                duplicate.position(position
+                        + LOCAL_HEADER_SIZE
+                        + (buffer.getShort(position + 26) & 0xFFFF)
+                        + (buffer.getShort(position + 28) & 0xFFFF));
+                duplicate.limit(duplicate.position() + compressedSize);
+                byte[] binaryRepresentation = new byte[size];
+                switch (method) {
+                    case STORED:
+                        duplicate.get(binaryRepresentation);
+                        return binaryRepresentation;
+                    case DEFLATED:
+                        Inflating inflating = POOL.poll();
+                        if (inflating == null) {
+                            inflating = new Inflating();
+                        } else {
+                            POOLED.decrementAndGet();
+                        }
+                        try {
+                            inflating.inflate(duplicate, binaryRepresentation);
+                        } finally {
+                            inflating.reset();
+                            if (POOLED.incrementAndGet() > POOL_SIZE) {
+                                POOLED.decrementAndGet();
+                                inflating.end();
+                            } else {
+                                POOL.offer(inflating);
+                            }
+                        }
+                        return binaryRepresentation;
+                    default:
+                        throw new IOException("Unsupported compression method " + method);
+                }
+            }
+        }
+
+        /**
+         * A pooled inflater with an input buffer.
+         */
+        protected static class Inflating {
+
+            /**
+             * The represented inflater.
+             */
+            private final Inflater inflater;
+
+            /**
+             * The input buffer to transfer compressed data from the mapped archive to the inflater.
+             */
+            private final byte[] input;
+
+            /**
+             * Creates a new pooled inflater.
+             */
+            protected Inflating() {
+                inflater = new Inflater(true);
+                input = new byte[BUFFER_SIZE];
+            }
+
+            /**
+             * Inflates the remaining content of a buffer into the supplied array.
+             *
+             * @param buffer               The buffer containing the compressed data.
+             * @param binaryRepresentation The array to fill with the inflated data.
+             * @throws IOException If the compressed data cannot be inflated.
+             */
+            protected void inflate(ByteBuffer buffer, byte[] binaryRepresentation) throws IOException {
+                int offset = 0;
+                while (offset < binaryRepresentation.length) {
+                    if (inflater.needsInput()) {
+                        int length = Math.min(input.length, buffer.remaining());
+                        if (length == 0) {
+                            throw new EOFException("Unexpected end of compressed entry");
+                        }
+                        buffer.get(input, 0, length);
+                        inflater.setInput(input, 0, length);
+                    }
+                    try {
+                        offset += inflater.inflate(binaryRepresentation, offset, binaryRepresentation.length - offset);
+                    } catch (DataFormatException exception) {
+                        throw new IOException("Cannot inflate compressed entry: " + exception.getMessage());
+                    }
+                    if (inflater.finished() && offset < binaryRepresentation.length) {
+                        throw new EOFException("Unexpected end of compressed entry");
+                    }
+                }
+            }
+
+            /**
+             * Resets this pooled inflater.
+             */
+            protected void reset() {
+                inflater.reset();
+            }
+
+            /**
+             * Releases the native resources of this inflater which must not be used afterwards.
+             */
+            protected void end() {
+                inflater.end();
+            }
+        }
+    }
+
     /**
      * A class file locator that finds files from a standardized Java folder structure with
      * folders donating packages and class files being saved as {@code <classname>.class} files
@@ -1950,4 +2497,265 @@ public interface ClassFileLocator extends Closeable {
             }
         }
     }
+
+    /**
+     * <p>
+     * A compound {@link ClassFileLocator} that, other than {@link Compound}, does not query all of its locators in turn but
+     * that builds an index of the packages that are contained by each locator. A lookup is then only dispatched to those locators
+     * that contain the looked-up type's package, retaining the order in which the locators were supplied. This avoids reading the
+     * central directory of every jar file when locating a type that is contained in a late element of a long class path or that
+     * is not contained at all.
+     * </p>
+     * <p>
+     * Packages are indexed for {@link ForJarFile}, {@link ForModuleFile}, {@link ForMappedArchive} and {@link PackageDiscriminating} locators. Any
+     * other locator, for example a {@link ForFolder} locator whose content might still change, cannot be indexed and is queried
+     * for any type in the order of its registration. If a package is split between several locators, all of them are queried in order.
+     * </p>
+     * <p>
+     * <b>Important</b>: The index is built once, either explicitly by {@link PackageIndexed#index()} or lazily upon the first lookup.
+     * Entries that are added to a jar or module file after the index was built are not discovered.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class PackageIndexed implements ClassFileLocator, Closeable {
+
+        /**
+         * The {@link ClassFileLocator}s which are represented by this compound class file locator in the order of their application.
+         */
+        private final List<ClassFileLocator> classFileLocators;
+
+        /**
+         * The index of class file locators by package name or {@code null} if the index is not yet built.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private volatile Index index;
+
+        /**
+         * Creates a new package-indexed class file locator.
+         *
+         * @param classFileLocator The {@link ClassFileLocator}s to be represented by this class file locator in the order of their application.
+         */
+        public PackageIndexed(ClassFileLocator... classFileLocator) {
+            this(Arrays.asList(classFileLocator));
+        }
+
+        /**
+         * Creates a new package-indexed class file locator.
+         *
+         * @param classFileLocators The {@link ClassFileLocator}s to be represented by this class file locator in the order of their application.
+         */
+        public PackageIndexed(List<? extends ClassFileLocator> classFileLocators) {
+            this.classFileLocators = new ArrayList<ClassFileLocator>();
+            for (ClassFileLocator classFileLocator : classFileLocators) {
+                if (classFileLocator instanceof Compound) {
+                    this.classFileLocators.addAll(((Compound) classFileLocator).classFileLocators);
+                } else if (classFileLocator instanceof PackageIndexed) {
+                    this.classFileLocators.addAll(((PackageIndexed) classFileLocator).classFileLocators);
+                } else if (!(classFileLocator instanceof NoOp)) {
+                    this.classFileLocators.add(classFileLocator);
+                }
+            }
+        }
+
+        /**
+         * Resolves a package-indexed class file locator for the class path that reads class files directly from the file system.
+         * The index is built upon the first lookup.
+         *
+         * @return A package-indexed class file locator for the class path.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static PackageIndexed ofClassPath() throws IOException {
+            return new PackageIndexed(ForJarFile.ofClassPath());
+        }
+
+        /**
+         * Resolves a package-indexed class file locator for the class path that reads class files directly from the file system.
+         * The index is built upon the first lookup.
+         *
+         * @param classPath The class path to scan with the elements separated by {@code path.separator}.
+         * @return A package-indexed class file locator for the class path.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static PackageIndexed ofClassPath(String classPath) throws IOException {
+            return new PackageIndexed(ForJarFile.ofClassPath(classPath));
+        }
+
+        /**
+         * Builds the package index of this class file locator if it was not built before.
+         *
+         * @return This class file locator with a built package index.
+         * @throws IOException If an I/O exception occurs when reading the content of an indexed class file locator.
+         */
+        public PackageIndexed index() throws IOException {
+            resolveIndex();
+            return this;
+        }
+
+        /**
+         * Returns the package index of this class file locator and builds it if it was not built before.
+         *
+         * @return The package index of this class file locator.
+         * @throws IOException If an I/O exception occurs when reading the content of an indexed class file locator.
+         */
+        private Index resolveIndex() throws IOException {
+            Index index = this.index;
+            if (index == null) {
+                synchronized (this) {
+                    index = this.index;
+                    if (index == null) {
+                        index = Index.of(classFileLocators);
+                        this.index = index;
+                    }
+                }
+            }
+            return index;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            int packageIndex = name.lastIndexOf('.');
+            for (ClassFileLocator classFileLocator : resolveIndex().locate(packageIndex == -1
+                    ? NamedElement.EMPTY_NAME
+                    : name.substring(0, packageIndex))) {
+                Resolution resolution = classFileLocator.locate(name);
+                if (resolution.isResolved()) {
+                    return resolution;
+                }
+            }
+            return new Resolution.Illegal(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() throws IOException {
+            for (ClassFileLocator classFileLocator : classFileLocators) {
+                classFileLocator.close();
+            }
+        }
+
+        /**
+         * An index of class file locators by the packages they contain.
+         */
+        protected static class Index {
+
+            /**
+             * The class file locators to query for each indexed package in the order of their application.
+             */
+            private final Map<String, List<ClassFileLocator>> packages;
+
+            /**
+             * The class file locators that could not be indexed and that are queried for any package that is not indexed.
+             */
+            private final List<ClassFileLocator> unindexed;
+
+            /**
+             * Creates a new index.
+             *
+             * @param packages  The class file locators to query for each indexed package in the order of their application.
+             * @param unindexed The class file locators that could not be indexed and that are queried for any package that is not indexed.
+             */
+            protected Index(Map<String, List<ClassFileLocator>> packages, List<ClassFileLocator> unindexed) {
+                this.packages = packages;
+                this.unindexed = unindexed;
+            }
+
+            /**
+             * Creates an index of the supplied class file locators.
+             *
+             * @param classFileLocators The class file locators to index in the order of their application.
+             * @return An index of the supplied class file locators.
+             * @throws IOException If an I/O exception occurs when reading the content of a class file locator.
+             */
+            protected static Index of(List<ClassFileLocator> classFileLocators) throws IOException {
+                Map<String, List<ClassFileLocator>> packages = new HashMap<String, List<ClassFileLocator>>();
+                List<ClassFileLocator> unindexed = new ArrayList<ClassFileLocator>();
+                for (ClassFileLocator classFileLocator : classFileLocators) {
+                    Set<String> names = packagesOf(classFileLocator);
+                    if (names == null) {
+                        for (List<ClassFileLocator> locators : packages.values()) {
+                            locators.add(classFileLocator);
+                        }
+                        unindexed.add(classFileLocator);
+                    } else {
+                        for (String name : names) {
+                            List<ClassFileLocator> locators = packages.get(name);
+                            if (locators == null) {
+                                locators = new ArrayList<ClassFileLocator>(unindexed);
+                                packages.put(name, locators);
+                            }
+                            locators.add(classFileLocator);
+                        }
+                    }
+                }
+                return new Index(packages, unindexed);
+            }
+
+            /**
+             * Resolves the packages that are contained by a class file locator.
+             *
+             * @param classFileLocator The class file locator to resolve.
+             * @return The names of all packages that contain class files or {@code null} if the class file locator cannot be indexed.
+             * @throws IOException If an I/O exception occurs when reading the content of a class file locator.
+             */
+            private static Set<String> packagesOf(ClassFileLocator classFileLocator) throws IOException {
+                if (classFileLocator instanceof ForJarFile) {
+                    return packagesOf(((ForJarFile) classFileLocator).jarFile, NamedElement.EMPTY_NAME);
+                } else if (classFileLocator instanceof ForModuleFile) {
+                    return packagesOf(((ForModuleFile) classFileLocator).zipFile, "classes/");
+                } else if (classFileLocator instanceof ForMappedArchive) {
+                    ForMappedArchive forMappedArchive = (ForMappedArchive) classFileLocator;
+                    Set<String> packages = new HashSet<String>();
+                    for (String name : forMappedArchive.entries.keySet()) {
+                        int packageIndex = name.lastIndexOf('/');
+                        packages.add(packageIndex < forMappedArchive.prefix.length()
+                                ? NamedElement.EMPTY_NAME
+                                : name.substring(forMappedArchive.prefix.length(), packageIndex).replace('/', '.'));
+                    }
+                    return packages;
+                } else if (classFileLocator instanceof PackageDiscriminating) {
+                    return ((PackageDiscriminating) classFileLocator).classFileLocators.keySet();
+                } else {
+                    return null;
+                }
+            }
+
+            /**
+             * Resolves the packages that contain class files within a zip file.
+             *
+             * @param zipFile The zip file to scan.
+             * @param prefix  The prefix of any class file entry within the zip file.
+             * @return The names of all packages that contain class files.
+             */
+            private static Set<String> packagesOf(ZipFile zipFile, String prefix) {
+                Set<String> packages = new HashSet<String>();
+                Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    String name = enumeration.nextElement().getName();
+                    if (name.startsWith(prefix) && name.endsWith(CLASS_FILE_EXTENSION)) {
+                        int packageIndex = name.lastIndexOf('/');
+                        packages.add(packageIndex < prefix.length()
+                                ? NamedElement.EMPTY_NAME
+                                : name.substring(prefix.length(), packageIndex).replace('/', '.'));
+                    }
+                }
+                return packages;
+            }
+
+            /**
+             * Returns the class file locators to query for a given package.
+             *
+             * @param name The name of the package or an empty string for the default package.
+             * @return The class file locators to query in the order of their application.
+             */
+            protected List<ClassFileLocator> locate(String name) {
+                List<ClassFileLocator> classFileLocators = packages.get(name);
+                return classFileLocators == null
+                        ? unindexed
+                        : classFileLocators;
+            }
+        }
+    }
 }
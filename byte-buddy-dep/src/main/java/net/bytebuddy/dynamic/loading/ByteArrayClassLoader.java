@@ -22,6 +22,7 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.utility.JavaModule;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -37,6 +38,9 @@ import java.security.ProtectionDomain;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * <p>
@@ -90,6 +94,11 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
      */
     protected final ConcurrentMap<String, byte[]> typeDefinitions;
 
+    /**
+     * A mutable map of type names mapped to their unencoded binary representation while being defined by {@link #doDefineClasses(Map)}.
+     */
+    protected final ConcurrentMap<String, byte[]> pendingDefinitions;
+
     /**
      * The persistence handler of this class loader.
      */
@@ -233,7 +242,11 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
                                 PackageDefinitionStrategy packageDefinitionStrategy,
                                 ClassFileTransformer classFileTransformer) {
         super(parent, sealed);
-        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>();
+        pendingDefinitions = new ConcurrentHashMap<String, byte[]>();
+        for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+            this.typeDefinitions.put(entry.getKey(), persistenceHandler.encode(entry.getValue()));
+        }
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         this.packageDefinitionStrategy = packageDefinitionStrategy;
@@ -316,9 +329,14 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
 
     @Override
     protected Map<String, Class<?>> doDefineClasses(Map<String, byte[]> typeDefinitions) throws ClassNotFoundException {
-        Map<String, byte[]> previous = new HashMap<String, byte[]>();
+        Map<String, byte[]> pending = new HashMap<String, byte[]>(), previous = new HashMap<String, byte[]>();
         for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
-            previous.put(entry.getKey(), this.typeDefinitions.putIfAbsent(entry.getKey(), entry.getValue()));
+            if (!this.typeDefinitions.containsKey(entry.getKey()) && pendingDefinitions.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                pending.put(entry.getKey(), entry.getValue());
+            }
+            if (persistenceHandler.isManifest()) {
+                previous.put(entry.getKey(), this.typeDefinitions.putIfAbsent(entry.getKey(), persistenceHandler.encode(entry.getValue())));
+            }
         }
         try {
             Map<String, Class<?>> types = new LinkedHashMap<String, Class<?>>();
@@ -329,6 +347,9 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             }
             return types;
         } finally {
+            for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+                pendingDefinitions.remove(entry.getKey(), entry.getValue());
+            }
             for (Map.Entry<String, byte[]> entry : previous.entrySet()) {
                 if (entry.getValue() == null) {
                     persistenceHandler.release(entry.getKey(), this.typeDefinitions);
@@ -343,7 +364,10 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
      * {@inheritDoc}
      */
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        byte[] binaryRepresentation = persistenceHandler.lookup(name, typeDefinitions);
+        byte[] binaryRepresentation = pendingDefinitions.remove(name);
+        if (binaryRepresentation == null) {
+            binaryRepresentation = persistenceHandler.lookup(name, typeDefinitions);
+        }
         if (binaryRepresentation == null) {
             throw new ClassNotFoundException(name);
         } else {
@@ -783,6 +807,92 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             protected void release(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
                 typeDefinitions.remove(name);
             }
+        },
+
+        /**
+         * The compressed persistence handler retains all class file representations in a compressed form and makes them
+         * accessible until a class is defined. Class files are inflated on demand and released once their class is defined.
+         * This persistence handler reduces the memory that is retained by class loaders that hold many class files which
+         * are loaded late or never.
+         */
+        COMPRESSED(false) {
+            @Override
+            protected byte[] encode(byte[] binaryRepresentation) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    deflater.setInput(binaryRepresentation);
+                    deflater.finish();
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length / 2 + LENGTH_PREFIX);
+                    for (int index = LENGTH_PREFIX - 1; index >= 0; index--) {
+                        outputStream.write(binaryRepresentation.length >>> (index * 8));
+                    }
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while (!deflater.finished()) {
+                        outputStream.write(buffer, FROM_BEGINNING, deflater.deflate(buffer));
+                    }
+                    return outputStream.toByteArray();
+                } finally {
+                    deflater.end();
+                }
+            }
+
+            @Override
+            protected byte[] lookup(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                byte[] compressed = typeDefinitions.remove(name);
+                return compressed == null
+                        ? null
+                        : inflate(compressed);
+            }
+
+            @Override
+            protected URL url(String resourceName, ConcurrentMap<String, byte[]> typeDefinitions) {
+                if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
+                    return NO_URL;
+                } else if (resourceName.startsWith("/")) {
+                    resourceName = resourceName.substring(1);
+                }
+                String typeName = resourceName.replace('/', '.').substring(FROM_BEGINNING, resourceName.length() - CLASS_FILE_SUFFIX.length());
+                byte[] compressed = typeDefinitions.get(typeName);
+                return compressed == null
+                        ? NO_URL
+                        : AccessController.doPrivileged(new UrlDefinitionAction(resourceName, inflate(compressed)));
+            }
+
+            @Override
+            protected void release(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                typeDefinitions.remove(name);
+            }
+
+            /**
+             * Inflates a compressed class file representation.
+             *
+             * @param compressed The compressed class file representation, prefixed by the length of the inflated class file.
+             * @return The inflated class file representation.
+             */
+            private byte[] inflate(byte[] compressed) {
+                int length = 0;
+                for (int index = 0; index < LENGTH_PREFIX; index++) {
+                    length = length << 8 | compressed[index] & 0xFF;
+                }
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(compressed, LENGTH_PREFIX, compressed.length - LENGTH_PREFIX);
+                    byte[] binaryRepresentation = new byte[length];
+                    int offset = 0;
+                    while (offset < length) {
+                        int inflated = inflater.inflate(binaryRepresentation, offset, length - offset);
+                        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new IllegalStateException("Compressed class file is truncated");
+                        }
+                        offset += inflated;
+                    }
+                    return binaryRepresentation;
+                } catch (DataFormatException exception) {
+                    throw new IllegalStateException("Cannot inflate compressed class file", exception);
+                } finally {
+                    inflater.end();
+                }
+            }
         };
 
         /**
@@ -790,6 +900,16 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /**
+         * The number of bytes that prefix a compressed class file to describe the length of the inflated class file.
+         */
+        private static final int LENGTH_PREFIX = 4;
+
+        /**
+         * The size of the buffer that is used for compressing a class file.
+         */
+        private static final int BUFFER_SIZE = 1024;
+
         /**
          * {@code true} if this persistence handler represents manifest class file storage.
          */
@@ -813,6 +933,16 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             return manifest;
         }
 
+        /**
+         * Encodes a class file's binary representation for storage by a class loader.
+         *
+         * @param binaryRepresentation The binary representation of a class file.
+         * @return The binary representation to store.
+         */
+        protected byte[] encode(byte[] binaryRepresentation) {
+            return binaryRepresentation;
+        }
+
         /**
          * Performs a lookup of a class file by its name.
          *
@@ -1225,7 +1355,7 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             // This synchronization is required to avoid a racing condition to the actual class loading.
             synchronized (this) {
                 String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
-                if (typeDefinitions.containsKey(typeName)) {
+                if (typeDefinitions.containsKey(typeName) || pendingDefinitions.containsKey(typeName)) {
                     return true;
                 }
                 Class<?> loadedClass = findLoadedClass(typeName);
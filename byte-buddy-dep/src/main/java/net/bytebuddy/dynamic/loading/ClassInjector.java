@@ -29,7 +29,9 @@ import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.utility.JavaModule;
 import net.bytebuddy.utility.JavaType;
+import net.bytebuddy.utility.OpenedClassReader;
 import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -148,6 +150,11 @@ public interface ClassInjector {
          */
         private final boolean forbidExisting;
 
+        /**
+         * {@code true} if all types of an injection should be defined in bulk in dependency order.
+         */
+        private final boolean bulk;
+
         /**
          * Creates a new injector for the given {@link java.lang.ClassLoader} and a default {@link java.security.ProtectionDomain} and a
          * trivial {@link PackageDefinitionStrategy} which does not trigger an error when discovering existent classes.
@@ -184,6 +191,31 @@ public interface ClassInjector {
                                ProtectionDomain protectionDomain,
                                PackageDefinitionStrategy packageDefinitionStrategy,
                                boolean forbidExisting) {
+            this(classLoader, protectionDomain, packageDefinitionStrategy, forbidExisting, false);
+        }
+
+        /**
+         * <p>
+         * Creates a new injector for the given {@link java.lang.ClassLoader} and {@link java.security.ProtectionDomain}.
+         * </p>
+         * <p>
+         * When injecting in bulk, the types are defined such that any super class or interface that is part of the same injection is
+         * defined before its subtypes and the package of each type is only defined once. For a class loader that is not parallel capable,
+         * the class loader's monitor is acquired once for defining all types. For a parallel capable class loader, each type is defined
+         * while holding its own class loading lock such that no two class loading locks are held at the same time.
+         * </p>
+         *
+         * @param classLoader               The {@link java.lang.ClassLoader} into which new class definitions are to be injected. Must not be the bootstrap loader.
+         * @param protectionDomain          The protection domain to apply during class definition.
+         * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+         * @param forbidExisting            Determines if an exception should be thrown when attempting to load a type that already exists.
+         * @param bulk                      {@code true} if all types of an injection should be defined in bulk in dependency order.
+         */
+        public UsingReflection(ClassLoader classLoader,
+                               ProtectionDomain protectionDomain,
+                               PackageDefinitionStrategy packageDefinitionStrategy,
+                               boolean forbidExisting,
+                               boolean bulk) {
             if (classLoader == null) {
                 throw new IllegalArgumentException("Cannot inject classes into the bootstrap class loader");
             }
@@ -191,6 +223,7 @@ public interface ClassInjector {
             this.protectionDomain = protectionDomain;
             this.packageDefinitionStrategy = packageDefinitionStrategy;
             this.forbidExisting = forbidExisting;
+            this.bulk = bulk;
         }
 
         /**
@@ -205,6 +238,9 @@ public interface ClassInjector {
          */
         public Map<String, Class<?>> injectRaw(Map<? extends String, byte[]> types) {
             Dispatcher dispatcher = DISPATCHER.initialize();
+            if (bulk) {
+                return injectInBulk(dispatcher, types);
+            }
             Map<String, Class<?>> result = new HashMap<String, Class<?>>();
             for (Map.Entry<? extends String, byte[]> entry : types.entrySet()) {
                 synchronized (dispatcher.getClassLoadingLock(classLoader, entry.getKey())) {
@@ -212,24 +248,46 @@ public interface ClassInjector {
                     if (type == null) {
                         int packageIndex = entry.getKey().lastIndexOf('.');
                         if (packageIndex != -1) {
-                            String packageName = entry.getKey().substring(0, packageIndex);
-                            PackageDefinitionStrategy.Definition definition = packageDefinitionStrategy.define(classLoader, packageName, entry.getKey());
-                            if (definition.isDefined()) {
-                                Package definedPackage = dispatcher.getPackage(classLoader, packageName);
-                                if (definedPackage == null) {
-                                    dispatcher.definePackage(classLoader,
-                                            packageName,
-                                            definition.getSpecificationTitle(),
-                                            definition.getSpecificationVersion(),
-                                            definition.getSpecificationVendor(),
-                                            definition.getImplementationTitle(),
-                                            definition.getImplementationVersion(),
-                                            definition.getImplementationVendor(),
-                                            definition.getSealBase());
-                                } else if (!definition.isCompatibleTo(definedPackage)) {
-                                    throw new SecurityException("Sealing violation for package " + packageName);
-                                }
-                            }
+                            definePackage(dispatcher, entry.getKey().substring(0, packageIndex), entry.getKey());
+                        }
+                        type = dispatcher.defineClass(classLoader, entry.getKey(), entry.getValue(), protectionDomain);
+                    } else if (forbidExisting) {
+                        throw new IllegalStateException("Cannot inject already loaded type: " + type);
+                    }
+                    result.put(entry.getKey(), type);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Injects the given types in bulk and in dependency order. If the class loader is not parallel capable, its monitor is acquired
+         * once for all types. Otherwise, each type is defined while holding its own class loading lock.
+         *
+         * @param dispatcher The dispatcher to use.
+         * @param types      The types to load via injection.
+         * @return The loaded types that were passed as arguments.
+         */
+        private Map<String, Class<?>> injectInBulk(Dispatcher dispatcher, Map<? extends String, byte[]> types) {
+            Map<String, byte[]> undefined = inDependencyOrder(new LinkedHashMap<String, byte[]>(types));
+            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            Set<String> packageNames = new HashSet<String>();
+            Iterator<Map.Entry<String, byte[]>> iterator = undefined.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, byte[]> entry = iterator.next();
+                Object lock = dispatcher.getClassLoadingLock(classLoader, entry.getKey());
+                if (lock == classLoader) {
+                    synchronized (classLoader) {
+                        result.putAll(injectInBulk(dispatcher, undefined, packageNames));
+                    }
+                    return result;
+                }
+                synchronized (lock) {
+                    Class<?> type = dispatcher.findClass(classLoader, entry.getKey());
+                    if (type == null) {
+                        int packageIndex = entry.getKey().lastIndexOf('.');
+                        if (packageIndex != -1 && packageNames.add(entry.getKey().substring(0, packageIndex))) {
+                            definePackage(dispatcher, entry.getKey().substring(0, packageIndex), entry.getKey());
                         }
                         type = dispatcher.defineClass(classLoader, entry.getKey(), entry.getValue(), protectionDomain);
                     } else if (forbidExisting) {
@@ -237,10 +295,111 @@ public interface ClassInjector {
                     }
                     result.put(entry.getKey(), type);
                 }
+                iterator.remove();
             }
             return result;
         }
 
+        /**
+         * Injects the given types while holding the monitor of a class loader that is not parallel capable. The packages of all
+         * types are defined before any type is defined.
+         *
+         * @param dispatcher   The dispatcher to use.
+         * @param types        The types to load via injection in dependency order.
+         * @param packageNames The names of all packages that were already defined by this injection.
+         * @return The loaded types that were passed as arguments.
+         */
+        private Map<String, Class<?>> injectInBulk(Dispatcher dispatcher, Map<String, byte[]> types, Set<String> packageNames) {
+            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            Map<String, byte[]> undefined = new LinkedHashMap<String, byte[]>();
+            for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                Class<?> type = dispatcher.findClass(classLoader, entry.getKey());
+                if (type == null) {
+                    undefined.put(entry.getKey(), entry.getValue());
+                } else if (forbidExisting) {
+                    throw new IllegalStateException("Cannot inject already loaded type: " + type);
+                } else {
+                    result.put(entry.getKey(), type);
+                }
+            }
+            for (String name : undefined.keySet()) {
+                int packageIndex = name.lastIndexOf('.');
+                if (packageIndex != -1 && packageNames.add(name.substring(0, packageIndex))) {
+                    definePackage(dispatcher, name.substring(0, packageIndex), name);
+                }
+            }
+            for (Map.Entry<String, byte[]> entry : undefined.entrySet()) {
+                result.put(entry.getKey(), dispatcher.defineClass(classLoader, entry.getKey(), entry.getValue(), protectionDomain));
+            }
+            return result;
+        }
+
+        /**
+         * Defines a package for an injected type if this is required by the package definition strategy.
+         *
+         * @param dispatcher  The dispatcher to use.
+         * @param packageName The name of the package.
+         * @param typeName    The name of the injected type.
+         */
+        private void definePackage(Dispatcher dispatcher, String packageName, String typeName) {
+            PackageDefinitionStrategy.Definition definition = packageDefinitionStrategy.define(classLoader, packageName, typeName);
+            if (definition.isDefined()) {
+                Package definedPackage = dispatcher.getPackage(classLoader, packageName);
+                if (definedPackage == null) {
+                    dispatcher.definePackage(classLoader,
+                            packageName,
+                            definition.getSpecificationTitle(),
+                            definition.getSpecificationVersion(),
+                            definition.getSpecificationVendor(),
+                            definition.getImplementationTitle(),
+                            definition.getImplementationVersion(),
+                            definition.getImplementationVendor(),
+                            definition.getSealBase());
+                } else if (!definition.isCompatibleTo(definedPackage)) {
+                    throw new SecurityException("Sealing violation for package " + packageName);
+                }
+            }
+        }
+
+        /**
+         * Orders the supplied types such that any super class or interface that is contained by the supplied types is
+         * ordered before its subtypes. Otherwise, the supplied order is retained.
+         *
+         * @param types The types to order by their names.
+         * @return The supplied types in dependency order.
+         */
+        protected static Map<String, byte[]> inDependencyOrder(Map<String, byte[]> types) {
+            Map<String, byte[]> ordered = new LinkedHashMap<String, byte[]>();
+            Set<String> visited = new HashSet<String>();
+            for (String name : types.keySet()) {
+                inDependencyOrder(name, types, ordered, visited);
+            }
+            return ordered;
+        }
+
+        /**
+         * Adds a type to the supplied ordered map after adding any of its super types that are contained by the supplied types.
+         *
+         * @param name    The name of the type to add.
+         * @param types   The types to order by their names.
+         * @param ordered The types in dependency order.
+         * @param visited The names of all types that were already visited.
+         */
+        private static void inDependencyOrder(String name, Map<String, byte[]> types, Map<String, byte[]> ordered, Set<String> visited) {
+            byte[] binaryRepresentation = types.get(name);
+            if (binaryRepresentation == null || !visited.add(name)) {
+                return;
+            }
+            ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+            if (classReader.getSuperName() != null) {
+                inDependencyOrder(classReader.getSuperName().replace('/', '.'), types, ordered, visited);
+            }
+            for (String interfaceName : classReader.getInterfaces()) {
+                inDependencyOrder(interfaceName.replace('/', '.'), types, ordered, visited);
+            }
+            ordered.put(name, binaryRepresentation);
+        }
+
         /**
          * Indicates if this class injection is available on the current VM.
          *
@@ -15,11 +15,15 @@
  */
 package net.bytebuddy.dynamic.scaffold;
 
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.pool.TypePool;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
+import java.util.*;
+
 /**
  * A class writer strategy is responsible for the creation of a {@link ClassWriter} when creating a type.
  */
@@ -131,4 +135,428 @@ public interface ClassWriterStrategy {
             }
         }
     }
+
+    /**
+     * <p>
+     * A class writer strategy that computes stack map frames by resolving common super classes from a bounded cache. Any resolved
+     * common super class as well as the super type hierarchy of any resolved type are cached by their internal names. A cache is
+     * owned by the strategy and is therefore shared among all class writers that are resolved by it, also across the type pools
+     * of several {@link DynamicType.Builder#make()} invocations. Alternatively, a {@link Cache} can be supplied explicitly such
+     * that it can be shared by several strategies.
+     * </p>
+     * <p>
+     * <b>Important</b>: As an internal name can describe different types for different class loaders, cached results are scoped
+     * by the {@link TypePool.CacheProvider} of the type pool that is used for resolving types. Type pools that share a cache
+     * provider, such as the type pools of an agent builder's or a plugin engine's pool strategy, therefore also share cached
+     * results. For type pools without a cache provider, results are scoped by the type pool. Cached results are only valid for
+     * as long as the types that are described by a cache provider do not change.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class CachingFrameComputation implements ClassWriterStrategy {
+
+        /**
+         * The default maximum number of entries of each cache.
+         */
+        public static final int DEFAULT_SIZE = 1024;
+
+        /**
+         * {@code true} if the original class's constant pool should be retained if applicable.
+         */
+        private final boolean retainConstantPool;
+
+        /**
+         * The cache to use for all resolved class writers.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final Cache cache;
+
+        /**
+         * Creates a new caching frame computation strategy that retains the original class's constant pool if applicable
+         * and that uses a cache of the default size.
+         */
+        public CachingFrameComputation() {
+            this(true, DEFAULT_SIZE);
+        }
+
+        /**
+         * Creates a new caching frame computation strategy.
+         *
+         * @param retainConstantPool {@code true} if the original class's constant pool should be retained if applicable.
+         * @param size               The maximum number of entries of each cache.
+         */
+        public CachingFrameComputation(boolean retainConstantPool, int size) {
+            this(retainConstantPool, new Cache(size));
+        }
+
+        /**
+         * Creates a new caching frame computation strategy.
+         *
+         * @param retainConstantPool {@code true} if the original class's constant pool should be retained if applicable.
+         * @param cache              The cache to use for all resolved class writers.
+         */
+        public CachingFrameComputation(boolean retainConstantPool, Cache cache) {
+            this.retainConstantPool = retainConstantPool;
+            this.cache = cache;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassWriter resolve(int flags, TypePool typePool) {
+            return new CachingFrameComputingClassWriter(flags, typePool, cache);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassWriter resolve(int flags, TypePool typePool, ClassReader classReader) {
+            return retainConstantPool
+                    ? new CachingFrameComputingClassWriter(classReader, flags, typePool, cache)
+                    : resolve(flags, typePool);
+        }
+
+        /**
+         * A cache of common super classes and type hierarchies that are scoped by the cache provider of the type pool that is used for
+         * resolving types. A cache only stores internal names and references its scopes weakly such that it does not retain any type pool
+         * or cache provider.
+         */
+        public static class Cache {
+
+            /**
+             * The maximum number of entries of each scope's caches.
+             */
+            private final int size;
+
+            /**
+             * A mapping of cache providers, or of type pools without a cache provider, to their scopes.
+             */
+            private final Map<Object, Scope> scopes;
+
+            /**
+             * Creates a new cache.
+             *
+             * @param size The maximum number of entries of each scope's caches.
+             */
+            public Cache(int size) {
+                if (size < 1) {
+                    throw new IllegalArgumentException("Cache size must be positive: " + size);
+                }
+                this.size = size;
+                scopes = new WeakHashMap<Object, Scope>();
+            }
+
+            /**
+             * Resolves the common super class of two types.
+             *
+             * @param typePool      The type pool to use for describing types that are not yet cached.
+             * @param leftTypeName  The internal name of the first type.
+             * @param rightTypeName The internal name of the second type.
+             * @return The internal name of the common super class of both types.
+             */
+            protected String getCommonSuperClass(TypePool typePool, String leftTypeName, String rightTypeName) {
+                return scope(typePool).getCommonSuperClass(typePool, leftTypeName, rightTypeName);
+            }
+
+            /**
+             * Resolves the scope of a type pool.
+             *
+             * @param typePool The type pool for which to resolve a scope.
+             * @return The scope of the supplied type pool.
+             */
+            protected Scope scope(TypePool typePool) {
+                Object key = typePool instanceof TypePool.AbstractBase
+                        ? ((TypePool.AbstractBase) typePool).getCacheProvider()
+                        : typePool;
+                if (key == TypePool.CacheProvider.NoOp.INSTANCE) {
+                    key = typePool;
+                }
+                synchronized (scopes) {
+                    Scope scope = scopes.get(key);
+                    if (scope == null) {
+                        scope = new Scope(size);
+                        scopes.put(key, scope);
+                    }
+                    return scope;
+                }
+            }
+        }
+
+        /**
+         * A scope of a cache of common super classes and type hierarchies for the types that are described by a single cache provider.
+         */
+        protected static class Scope {
+
+            /**
+             * A mapping of pairs of internal names to their common super class's internal name.
+             */
+            private final Map<String, String> commonSuperClasses;
+
+            /**
+             * A mapping of internal names to the type's hierarchy.
+             */
+            private final Map<String, Hierarchy> hierarchies;
+
+            /**
+             * Creates a new scope.
+             *
+             * @param size The maximum number of entries of each cache.
+             */
+            protected Scope(int size) {
+                commonSuperClasses = new LeastRecentlyUsed<String, String>(size);
+                hierarchies = new LeastRecentlyUsed<String, Hierarchy>(size);
+            }
+
+            /**
+             * Resolves the common super class of two types.
+             *
+             * @param typePool      The type pool to use for describing types that are not yet cached.
+             * @param leftTypeName  The internal name of the first type.
+             * @param rightTypeName The internal name of the second type.
+             * @return The internal name of the common super class of both types.
+             */
+            protected String getCommonSuperClass(TypePool typePool, String leftTypeName, String rightTypeName) {
+                String key = leftTypeName + ';' + rightTypeName;
+                String commonSuperClass;
+                synchronized (commonSuperClasses) {
+                    commonSuperClass = commonSuperClasses.get(key);
+                }
+                if (commonSuperClass == null) {
+                    commonSuperClass = resolve(hierarchy(typePool, leftTypeName), hierarchy(typePool, rightTypeName));
+                    synchronized (commonSuperClasses) {
+                        commonSuperClasses.put(key, commonSuperClass);
+                    }
+                }
+                return commonSuperClass;
+            }
+
+            /**
+             * Resolves the common super class of two type hierarchies.
+             *
+             * @param left  The hierarchy of the first type.
+             * @param right The hierarchy of the second type.
+             * @return The internal name of the common super class of both types.
+             */
+            private static String resolve(Hierarchy left, Hierarchy right) {
+                if (right.isAssignableTo(left.getInternalName())) {
+                    return left.getInternalName();
+                } else if (left.isAssignableTo(right.getInternalName())) {
+                    return right.getInternalName();
+                } else if (left.isInterface() || right.isInterface()) {
+                    return TypeDescription.OBJECT.getInternalName();
+                } else {
+                    for (String superClass : left.getSuperClasses()) {
+                        if (right.isAssignableTo(superClass)) {
+                            return superClass;
+                        }
+                    }
+                    return TypeDescription.OBJECT.getInternalName();
+                }
+            }
+
+            /**
+             * Resolves the hierarchy of a type.
+             *
+             * @param typePool     The type pool to use for describing types that are not yet cached.
+             * @param internalName The internal name of the type.
+             * @return The hierarchy of the type.
+             */
+            private Hierarchy hierarchy(TypePool typePool, String internalName) {
+                Hierarchy hierarchy;
+                synchronized (hierarchies) {
+                    hierarchy = hierarchies.get(internalName);
+                }
+                if (hierarchy == null) {
+                    TypeDescription typeDescription = typePool.describe(internalName.replace('/', '.')).resolve();
+                    List<String> superClasses = new ArrayList<String>();
+                    Set<String> superTypes = new HashSet<String>();
+                    superTypes.add(internalName);
+                    TypeDescription.Generic superClass = typeDescription.getSuperClass();
+                    if (superClass != null) {
+                        Hierarchy superHierarchy = hierarchy(typePool, superClass.asErasure().getInternalName());
+                        superClasses.add(superHierarchy.getInternalName());
+                        superClasses.addAll(superHierarchy.getSuperClasses());
+                        superTypes.addAll(superHierarchy.getSuperTypes());
+                    }
+                    for (TypeDescription interfaceType : typeDescription.getInterfaces().asErasures()) {
+                        superTypes.addAll(hierarchy(typePool, interfaceType.getInternalName()).getSuperTypes());
+                    }
+                    hierarchy = new Hierarchy(internalName, typeDescription.isInterface(), superClasses, superTypes);
+                    synchronized (hierarchies) {
+                        hierarchies.put(internalName, hierarchy);
+                    }
+                }
+                return hierarchy;
+            }
+        }
+
+        /**
+         * A description of a type's hierarchy by internal names.
+         */
+        protected static class Hierarchy {
+
+            /**
+             * The internal name of the represented type.
+             */
+            private final String internalName;
+
+            /**
+             * {@code true} if the represented type is an interface.
+             */
+            private final boolean isInterface;
+
+            /**
+             * The internal names of all super classes of the represented type, starting with the direct super class.
+             */
+            private final List<String> superClasses;
+
+            /**
+             * The internal names of all types the represented type is assignable to, including itself.
+             */
+            private final Set<String> superTypes;
+
+            /**
+             * Creates a new hierarchy.
+             *
+             * @param internalName The internal name of the represented type.
+             * @param isInterface  {@code true} if the represented type is an interface.
+             * @param superClasses The internal names of all super classes of the represented type, starting with the direct super class.
+             * @param superTypes   The internal names of all types the represented type is assignable to, including itself.
+             */
+            protected Hierarchy(String internalName, boolean isInterface, List<String> superClasses, Set<String> superTypes) {
+                this.internalName = internalName;
+                this.isInterface = isInterface;
+                this.superClasses = superClasses;
+                this.superTypes = superTypes;
+            }
+
+            /**
+             * Returns the internal name of the represented type.
+             *
+             * @return The internal name of the represented type.
+             */
+            protected String getInternalName() {
+                return internalName;
+            }
+
+            /**
+             * Returns {@code true} if the represented type is an interface.
+             *
+             * @return {@code true} if the represented type is an interface.
+             */
+            protected boolean isInterface() {
+                return isInterface;
+            }
+
+            /**
+             * Returns the internal names of all super classes of the represented type, starting with the direct super class.
+             *
+             * @return The internal names of all super classes of the represented type, starting with the direct super class.
+             */
+            protected List<String> getSuperClasses() {
+                return superClasses;
+            }
+
+            /**
+             * Returns the internal names of all types the represented type is assignable to, including itself.
+             *
+             * @return The internal names of all types the represented type is assignable to, including itself.
+             */
+            protected Set<String> getSuperTypes() {
+                return superTypes;
+            }
+
+            /**
+             * Determines if the represented type is assignable to the given type.
+             *
+             * @param internalName The internal name of the type to check.
+             * @return {@code true} if the represented type is assignable to the given type.
+             */
+            protected boolean isAssignableTo(String internalName) {
+                return superTypes.contains(internalName) || internalName.equals(TypeDescription.OBJECT.getInternalName());
+            }
+        }
+
+        /**
+         * A map that evicts its least recently used entry once it exceeds its maximum size. This map is not thread-safe.
+         *
+         * @param <K> The type of the map's keys.
+         * @param <V> The type of the map's values.
+         */
+        protected static class LeastRecentlyUsed<K, V> extends LinkedHashMap<K, V> {
+
+            /**
+             * The class's serial version UID.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * The maximum number of entries.
+             */
+            private final int size;
+
+            /**
+             * Creates a new least recently used map.
+             *
+             * @param size The maximum number of entries.
+             */
+            protected LeastRecentlyUsed(int size) {
+                super(16, 0.75f, true);
+                this.size = size;
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > size;
+            }
+        }
+    }
+
+    /**
+     * A frame computing class writer that resolves common super classes from a {@link CachingFrameComputation.Cache}.
+     */
+    class CachingFrameComputingClassWriter extends FrameComputingClassWriter {
+
+        /**
+         * The type pool to use for computing stack map frames, if required.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The cache to use.
+         */
+        private final CachingFrameComputation.Cache cache;
+
+        /**
+         * Creates a new caching frame computing class writer.
+         *
+         * @param flags    The flags to be handed to the writer.
+         * @param typePool The type pool to use for computing stack map frames, if required.
+         * @param cache    The cache to use.
+         */
+        protected CachingFrameComputingClassWriter(int flags, TypePool typePool, CachingFrameComputation.Cache cache) {
+            super(flags, typePool);
+            this.typePool = typePool;
+            this.cache = cache;
+        }
+
+        /**
+         * Creates a new caching frame computing class writer.
+         *
+         * @param classReader The class reader from which the original class is read.
+         * @param flags       The flags to be handed to the writer.
+         * @param typePool    The type pool to use for computing stack map frames, if required.
+         * @param cache       The cache to use.
+         */
+        protected CachingFrameComputingClassWriter(ClassReader classReader, int flags, TypePool typePool, CachingFrameComputation.Cache cache) {
+            super(classReader, flags, typePool);
+            this.typePool = typePool;
+            this.cache = cache;
+        }
+
+        @Override
+        protected String getCommonSuperClass(String leftTypeName, String rightTypeName) {
+            return cache.getCommonSuperClass(typePool, leftTypeName, rightTypeName);
+        }
+    }
 }
@@ -20,13 +20,20 @@ import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.FilterableList;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -563,7 +570,7 @@ public interface MethodGraph {
              * {@inheritDoc}
              */
             public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
-                Map<TypeDefinition, Key.Store<T>> snapshots = new HashMap<TypeDefinition, Key.Store<T>>();
+                Map<TypeDefinition, Key.Store<T>> snapshots = snapshots(typeDefinition, viewPoint);
                 Key.Store<?> rootStore = doAnalyze(typeDefinition, snapshots, isVirtual().and(isVisibleTo(viewPoint)));
                 TypeDescription.Generic superClass = typeDefinition.getSuperClass();
                 List<TypeDescription.Generic> interfaceTypes = typeDefinition.getInterfaces();
@@ -578,6 +585,17 @@ public interface MethodGraph {
                         interfaceGraphs);
             }
 
+            /**
+             * Creates a map for storing snapshots of key stores of the super types that are analyzed when compiling a type.
+             *
+             * @param typeDefinition The type being compiled.
+             * @param viewPoint      The view point from which the type is compiled.
+             * @return A map for storing snapshots of the analyzed super types.
+             */
+            protected Map<TypeDefinition, Key.Store<T>> snapshots(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                return new HashMap<TypeDefinition, Key.Store<T>>();
+            }
+
             /**
              * Analyzes the given type description without checking if the end of the type hierarchy was reached.
              *
@@ -634,6 +652,417 @@ public interface MethodGraph {
                 return store.inject(interfaceStore).registerTopLevel(typeDefinition.getDeclaredMethods().filter(relevanceMatcher), harmonizer);
             }
 
+            /**
+             * A default method graph compiler that shares the analysis of super types between compilations. When a type is compiled
+             * from its own view point, the analysis of any of its super types only depends on the super type and the package of
+             * the compiled type. Therefore, the analysis of a super type can be reused when compiling other types of the same package
+             * that inherit from the same super type, such that only the layer of the compiled type itself is analyzed. Super types
+             * are identified by their identity, i.e. by their {@link Class} if a type is loaded and by their type description's
+             * identity otherwise, such that types of the same name that are defined by different class loaders or type pools never
+             * share an analysis. Cached analyses are held per class loader or per unloaded type description where such a key is only
+             * weakly referenced and the analyses are only softly referenced, similarly to a {@link net.bytebuddy.TypeCache} with
+             * {@link net.bytebuddy.TypeCache.Sort#SOFT} references. Per key, the cache evicts its least recently used entries.
+             *
+             * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Caching<U> extends Default<U> {
+
+                /**
+                 * The default maximum number of cached super type analyses per class loader or unloaded type.
+                 */
+                public static final int DEFAULT_SIZE = 1024;
+
+                /**
+                 * A key that represents the bootstrap class loader.
+                 */
+                private static final Object BOOTSTRAP_LOADER = new Object();
+
+                /**
+                 * The maximum number of cached super type analyses per class loader or unloaded type.
+                 */
+                private final int size;
+
+                /**
+                 * The cached analyses of super types by their class loader or unloaded type description.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ConcurrentMap<Object, Reference<Map<SnapshotKey, Key.Store<U>>>> cache;
+
+                /**
+                 * A reference queue for expunging the entries of collected class loaders and type descriptions.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ReferenceQueue<Object> referenceQueue;
+
+                /**
+                 * Creates a new caching method graph compiler.
+                 *
+                 * @param harmonizer The harmonizer to be used.
+                 * @param merger     The merger to be used.
+                 * @param visitor    A visitor to apply to all type descriptions before analyzing their methods or resolving super types.
+                 * @param size       The maximum number of cached super type analyses per class loader or unloaded type.
+                 */
+                protected Caching(Harmonizer<U> harmonizer, Merger merger, TypeDescription.Generic.Visitor<? extends TypeDescription.Generic> visitor, int size) {
+                    super(harmonizer, merger, visitor);
+                    if (size < 1) {
+                        throw new IllegalArgumentException("Cache size must be positive: " + size);
+                    }
+                    this.size = size;
+                    cache = new ConcurrentHashMap<Object, Reference<Map<SnapshotKey, Key.Store<U>>>>();
+                    referenceQueue = new ReferenceQueue<Object>();
+                }
+
+                /**
+                 * Creates a caching compiler using the given harmonizer and merger. All raw types are reified before analyzing their properties.
+                 *
+                 * @param harmonizer The harmonizer to be used for creating tokens that uniquely identify a method hierarchy.
+                 * @param merger     The merger to be used for identifying a method to represent an ambiguous method resolution.
+                 * @param size       The maximum number of cached super type analyses per class loader or unloaded type.
+                 * @param <S>        The type of the harmonizer token.
+                 * @return A caching compiler for the given harmonizer and merger.
+                 */
+                public static <S> Compiler of(Harmonizer<S> harmonizer, Merger merger, int size) {
+                    return new Caching<S>(harmonizer, merger, TypeDescription.Generic.Visitor.Reifying.INITIATING, size);
+                }
+
+                /**
+                 * Creates a caching compiler for a method hierarchy following the rules of the Java programming language.
+                 *
+                 * @param size The maximum number of cached super type analyses per class loader or unloaded type.
+                 * @return A caching compiler for resolving a method hierarchy following the rules of the Java programming language.
+                 * @see Default#forJavaHierarchy()
+                 */
+                public static Compiler forJavaHierarchy(int size) {
+                    return of(Harmonizer.ForJavaMethod.INSTANCE, Merger.Directional.LEFT, size);
+                }
+
+                /**
+                 * Creates a caching compiler for a method hierarchy following the rules of the Java virtual machine.
+                 *
+                 * @param size The maximum number of cached super type analyses per class loader or unloaded type.
+                 * @return A caching compiler for resolving a method hierarchy following the rules of the Java virtual machine.
+                 * @see Default#forJVMHierarchy()
+                 */
+                public static Compiler forJVMHierarchy(int size) {
+                    return of(Harmonizer.ForJVMMethod.INSTANCE, Merger.Directional.LEFT, size);
+                }
+
+                @Override
+                protected Map<TypeDefinition, Key.Store<U>> snapshots(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                    if (typeDefinition.asErasure().equals(viewPoint)) {
+                        PackageDescription packageDescription = viewPoint.getPackage();
+                        return new SharedSnapshots(packageDescription == null
+                                ? ""
+                                : packageDescription.getName());
+                    } else {
+                        return super.snapshots(typeDefinition, viewPoint);
+                    }
+                }
+
+                /**
+                 * Returns the number of cached super type analyses that were not yet collected.
+                 *
+                 * @return The number of cached super type analyses.
+                 */
+                protected int getCachedSize() {
+                    int size = 0;
+                    for (Reference<Map<SnapshotKey, Key.Store<U>>> reference : cache.values()) {
+                        Map<SnapshotKey, Key.Store<U>> snapshots = reference.get();
+                        if (snapshots != null) {
+                            size += snapshots.size();
+                        }
+                    }
+                    return size;
+                }
+
+                /**
+                 * Removes the entries of any class loader or type description that was garbage collected.
+                 */
+                public void expungeStaleEntries() {
+                    Reference<?> reference;
+                    while ((reference = referenceQueue.poll()) != null) {
+                        cache.remove(reference);
+                    }
+                }
+
+                /**
+                 * Resolves the cached analyses of a class loader or unloaded type description.
+                 *
+                 * @param owner  The class loader or unloaded type description or {@code null} for the bootstrap loader.
+                 * @param create {@code true} if the cached analyses should be created if they do not exist.
+                 * @return The cached analyses or {@code null} if no analyses are cached and {@code create} is {@code false}.
+                 */
+                private Map<SnapshotKey, Key.Store<U>> find(Object owner, boolean create) {
+                    Reference<Map<SnapshotKey, Key.Store<U>>> reference = cache.get(owner == null
+                            ? BOOTSTRAP_LOADER
+                            : new LookupKey(owner));
+                    Map<SnapshotKey, Key.Store<U>> snapshots = reference == null
+                            ? null
+                            : reference.get();
+                    if (snapshots == null && create) {
+                        expungeStaleEntries();
+                        snapshots = Collections.synchronizedMap(new LeastRecentlyUsed());
+                        Reference<Map<SnapshotKey, Key.Store<U>>> previous = cache.put(owner == null
+                                ? BOOTSTRAP_LOADER
+                                : new StorageKey(owner, referenceQueue), new SoftReference<Map<SnapshotKey, Key.Store<U>>>(snapshots));
+                        Map<SnapshotKey, Key.Store<U>> existing = previous == null
+                                ? null
+                                : previous.get();
+                        if (existing != null) {
+                            snapshots.putAll(existing);
+                        }
+                    }
+                    return snapshots;
+                }
+
+                /**
+                 * A key for a cached analysis of a super type.
+                 */
+                protected static class SnapshotKey {
+
+                    /**
+                     * The identity of the analyzed super type which is either a {@link Class} or a {@link TypeDescription}.
+                     */
+                    private final Object identity;
+
+                    /**
+                     * The analyzed super type, including its generic form.
+                     */
+                    private final TypeDefinition typeDefinition;
+
+                    /**
+                     * The name of the package of the compiled type.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * Creates a new snapshot key.
+                     *
+                     * @param identity       The identity of the analyzed super type which is either a {@link Class} or a {@link TypeDescription}.
+                     * @param typeDefinition The analyzed super type, including its generic form.
+                     * @param packageName    The name of the package of the compiled type.
+                     */
+                    protected SnapshotKey(Object identity, TypeDefinition typeDefinition, String packageName) {
+                        this.identity = identity;
+                        this.typeDefinition = typeDefinition;
+                        this.packageName = packageName;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return 31 * (31 * System.identityHashCode(identity) + typeDefinition.hashCode()) + packageName.hashCode();
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (!(other instanceof SnapshotKey)) {
+                            return false;
+                        }
+                        SnapshotKey snapshotKey = (SnapshotKey) other;
+                        return identity == snapshotKey.identity
+                                && typeDefinition.equals(snapshotKey.typeDefinition)
+                                && packageName.equals(snapshotKey.packageName);
+                    }
+                }
+
+                /**
+                 * A key for looking up the cached analyses of a class loader or unloaded type description by its identity.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The represented class loader or type description.
+                     */
+                    private final Object owner;
+
+                    /**
+                     * The owner's identity hash code.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param owner The represented class loader or type description.
+                     */
+                    protected LookupKey(Object owner) {
+                        this.owner = owner;
+                        hashCode = System.identityHashCode(owner);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return owner == ((LookupKey) other).owner;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && owner == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key for storing the cached analyses of a class loader or unloaded type description without strongly referencing it.
+                 */
+                protected static class StorageKey extends WeakReference<Object> {
+
+                    /**
+                     * The owner's identity hash code.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param owner          The represented class loader or type description.
+                     * @param referenceQueue The reference queue to notify upon a garbage collection.
+                     */
+                    protected StorageKey(Object owner, ReferenceQueue<? super Object> referenceQueue) {
+                        super(owner, referenceQueue);
+                        hashCode = System.identityHashCode(owner);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.hashCode && get() == lookupKey.owner;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            Object owner = get();
+                            return hashCode == storageKey.hashCode && owner != null && owner == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A map of snapshots for a single compilation that reads from and writes to the compiler's cache.
+                 */
+                @SuppressFBWarnings(value = "SE_BAD_FIELD_INNER_CLASS", justification = "Map is never serialized")
+                protected class SharedSnapshots extends HashMap<TypeDefinition, Key.Store<U>> {
+
+                    /**
+                     * The class's serial version UID.
+                     */
+                    private static final long serialVersionUID = 1L;
+
+                    /**
+                     * The name of the package of the compiled type.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * Creates a new map of shared snapshots.
+                     *
+                     * @param packageName The name of the package of the compiled type.
+                     */
+                    protected SharedSnapshots(String packageName) {
+                        this.packageName = packageName;
+                    }
+
+                    @Override
+                    public Key.Store<U> get(Object key) {
+                        Key.Store<U> store = super.get(key);
+                        if (store == null && key instanceof TypeDefinition) {
+                            TypeDefinition typeDefinition = (TypeDefinition) key;
+                            Object identity = toIdentity(typeDefinition);
+                            Map<SnapshotKey, Key.Store<U>> snapshots = find(toOwner(identity), false);
+                            store = snapshots == null
+                                    ? null
+                                    : snapshots.get(new SnapshotKey(identity, typeDefinition, packageName));
+                            if (store != null) {
+                                super.put(typeDefinition, store);
+                            }
+                        }
+                        return store;
+                    }
+
+                    @Override
+                    public Key.Store<U> put(TypeDefinition key, Key.Store<U> store) {
+                        Object identity = toIdentity(key);
+                        Map<SnapshotKey, Key.Store<U>> snapshots = find(toOwner(identity), true);
+                        if (snapshots != null) {
+                            snapshots.put(new SnapshotKey(identity, key, packageName), store);
+                        }
+                        return super.put(key, store);
+                    }
+
+                    /**
+                     * Resolves the identity of a type which is its {@link Class} if the type is loaded and its erasure's type
+                     * description otherwise.
+                     *
+                     * @param typeDefinition The type for which to resolve the identity.
+                     * @return The type's identity.
+                     */
+                    private Object toIdentity(TypeDefinition typeDefinition) {
+                        TypeDescription typeDescription = typeDefinition.asErasure();
+                        return typeDescription instanceof TypeDescription.ForLoadedType
+                                ? ((TypeDescription.ForLoadedType) typeDescription).getLoadedType()
+                                : typeDescription;
+                    }
+
+                    /**
+                     * Resolves the owner of a type's cached analyses which is the class loader of a loaded type and the type
+                     * description of an unloaded type.
+                     *
+                     * @param identity The type's identity.
+                     * @return The owner of the type's cached analyses or {@code null} for the bootstrap loader.
+                     */
+                    private Object toOwner(Object identity) {
+                        return identity instanceof Class<?>
+                                ? ((Class<?>) identity).getClassLoader()
+                                : identity;
+                    }
+                }
+
+                /**
+                 * A map that evicts its least recently used entry once it exceeds the compiler's maximum cache size.
+                 */
+                @SuppressFBWarnings(value = "SE_BAD_FIELD_INNER_CLASS", justification = "Map is never serialized")
+                protected class LeastRecentlyUsed extends LinkedHashMap<SnapshotKey, Key.Store<U>> {
+
+                    /**
+                     * The class's serial version UID.
+                     */
+                    private static final long serialVersionUID = 1L;
+
+                    /**
+                     * Creates a new least recently used map.
+                     */
+                    protected LeastRecentlyUsed() {
+                        super(16, 0.75f, true);
+                    }
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<SnapshotKey, Key.Store<U>> eldest) {
+                        return size() > size;
+                    }
+                }
+            }
+
             /**
              * A harmonizer is responsible for creating a token that identifies a method's relevant attributes for considering
              * two methods of being equal or not.
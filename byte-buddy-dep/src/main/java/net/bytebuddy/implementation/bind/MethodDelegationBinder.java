@@ -16,6 +16,7 @@
 package net.bytebuddy.implementation.bind;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -27,7 +28,10 @@ import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.utility.CompoundList;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 import java.io.PrintStream;
 import java.util.*;
@@ -258,6 +262,75 @@ public interface MethodDelegationBinder {
             }
         }
 
+        /**
+         * An anonymous binding of a target method parameter that acquires a resource which is released after the target method
+         * returned or completed exceptionally. As the release on an exceptional completion requires an exception handler with
+         * a stack map frame that is relative to the instrumented method's initial frame, such a binding must not be used for
+         * intercepting a constructor.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Releasing implements ParameterBinding<Object> {
+
+            /**
+             * A pseudo-token that is not exposed and therefore anonymous.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final Object anonymousToken;
+
+            /**
+             * The stack manipulation that represents the loading of the parameter binding onto the stack.
+             */
+            private final StackManipulation delegate;
+
+            /**
+             * The stack manipulation that releases the acquired resource without altering the operand stack.
+             */
+            private final StackManipulation release;
+
+            /**
+             * Creates a new, releasing parameter binding.
+             *
+             * @param delegate The stack manipulation that is responsible for loading the parameter value for this
+             *                 target method parameter onto the stack.
+             * @param release  The stack manipulation that releases the acquired resource without altering the operand stack.
+             */
+            public Releasing(StackManipulation delegate, StackManipulation release) {
+                this.delegate = delegate;
+                this.release = release;
+                anonymousToken = new Object();
+            }
+
+            /**
+             * Returns the stack manipulation that releases the acquired resource after the target method returned or completed exceptionally.
+             *
+             * @return The stack manipulation that releases the acquired resource without altering the operand stack.
+             */
+            public StackManipulation getRelease() {
+                return release;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Object getIdentificationToken() {
+                return anonymousToken;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isValid() {
+                return delegate.isValid() && release.isValid();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                return delegate.apply(methodVisitor, implementationContext);
+            }
+        }
+
         /**
          * A uniquely identifiable parameter binding for a target method. Such bindings are usually later processed by
          * a {@link net.bytebuddy.implementation.bind.MethodDelegationBinder.AmbiguityResolver}
@@ -418,6 +491,11 @@ public interface MethodDelegationBinder {
              */
             private final List<StackManipulation> parameterStackManipulations;
 
+            /**
+             * The stack manipulations for releasing resources that were acquired by parameter bindings in their application order.
+             */
+            private final List<StackManipulation> releaseStackManipulations;
+
             /**
              * A mapping of identification tokens to the parameter index they were bound for.
              */
@@ -438,6 +516,7 @@ public interface MethodDelegationBinder {
                 this.methodInvoker = methodInvoker;
                 this.candidate = candidate;
                 parameterStackManipulations = new ArrayList<StackManipulation>(candidate.getParameters().size());
+                releaseStackManipulations = new ArrayList<StackManipulation>();
                 registeredTargetIndices = new LinkedHashMap<Object, Integer>();
                 nextParameterIndex = 0;
             }
@@ -451,6 +530,9 @@ public interface MethodDelegationBinder {
              */
             public boolean append(ParameterBinding<?> parameterBinding) {
                 parameterStackManipulations.add(parameterBinding);
+                if (parameterBinding instanceof ParameterBinding.Releasing) {
+                    releaseStackManipulations.add(0, ((ParameterBinding.Releasing) parameterBinding).getRelease());
+                }
                 return registeredTargetIndices.put(parameterBinding.getIdentificationToken(), nextParameterIndex++) == null;
             }
 
@@ -468,6 +550,7 @@ public interface MethodDelegationBinder {
                         registeredTargetIndices,
                         methodInvoker.invoke(candidate),
                         parameterStackManipulations,
+                        releaseStackManipulations,
                         terminatingManipulation);
             }
 
@@ -478,6 +561,16 @@ public interface MethodDelegationBinder {
             @HashCodeAndEqualsPlugin.Enhance
             protected static class Build implements MethodBinding {
 
+                /**
+                 * An empty array of stack map frame values.
+                 */
+                private static final Object[] EMPTY = new Object[0];
+
+                /**
+                 * A stack map frame value that represents a caught throwable.
+                 */
+                private static final Object[] THROWABLE = new Object[]{Type.getInternalName(Throwable.class)};
+
                 /**
                  * The target method this binding represents.
                  */
@@ -498,6 +591,12 @@ public interface MethodDelegationBinder {
                  */
                 private final List<StackManipulation> parameterStackManipulations;
 
+                /**
+                 * A list of manipulations that release resources which were acquired by parameter bindings after the method invocation
+                 * or if the method invocation completes exceptionally.
+                 */
+                private final List<StackManipulation> releaseStackManipulations;
+
                 /**
                  * The stack manipulation that is applied after the method invocation.
                  */
@@ -512,17 +611,21 @@ public interface MethodDelegationBinder {
                  * @param methodInvocation             A stack manipulation that represents the actual method invocation.
                  * @param parameterStackManipulations  A list of manipulations that each represent the loading of a
                  *                                     parameter value onto the operand stack.
+                 * @param releaseStackManipulations    A list of manipulations that release resources which were acquired by
+                 *                                     parameter bindings after the method invocation.
                  * @param terminatingStackManipulation The stack manipulation that is applied after the method invocation.
                  */
                 protected Build(MethodDescription target,
                                 Map<?, Integer> registeredTargetIndices,
                                 StackManipulation methodInvocation,
                                 List<StackManipulation> parameterStackManipulations,
+                                List<StackManipulation> releaseStackManipulations,
                                 StackManipulation terminatingStackManipulation) {
                     this.target = target;
                     this.registeredTargetIndices = new HashMap<Object, Integer>(registeredTargetIndices);
                     this.methodInvocation = methodInvocation;
                     this.parameterStackManipulations = new ArrayList<StackManipulation>(parameterStackManipulations);
+                    this.releaseStackManipulations = new ArrayList<StackManipulation>(releaseStackManipulations);
                     this.terminatingStackManipulation = terminatingStackManipulation;
                 }
 
@@ -531,7 +634,7 @@ public interface MethodDelegationBinder {
                  */
                 public boolean isValid() {
                     boolean result = methodInvocation.isValid() && terminatingStackManipulation.isValid();
-                    Iterator<StackManipulation> assignment = parameterStackManipulations.iterator();
+                    Iterator<StackManipulation> assignment = CompoundList.of(parameterStackManipulations, releaseStackManipulations).iterator();
                     while (result && assignment.hasNext()) {
                         result = assignment.next().isValid();
                     }
@@ -556,9 +659,61 @@ public interface MethodDelegationBinder {
                  * {@inheritDoc}
                  */
                 public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
-                    return new Compound(
-                            CompoundList.of(parameterStackManipulations, Arrays.asList(methodInvocation, terminatingStackManipulation))
-                    ).apply(methodVisitor, implementationContext);
+                    if (releaseStackManipulations.isEmpty()) {
+                        return new Compound(
+                                new Compound(parameterStackManipulations),
+                                methodInvocation,
+                                terminatingStackManipulation
+                        ).apply(methodVisitor, implementationContext);
+                    }
+                    Label start = new Label(), end = new Label(), handler = new Label(), completion = new Label();
+                    methodVisitor.visitTryCatchBlock(start, end, handler, null);
+                    Size size = new Compound(parameterStackManipulations).apply(methodVisitor, implementationContext);
+                    methodVisitor.visitLabel(start);
+                    size = size.aggregate(methodInvocation.apply(methodVisitor, implementationContext));
+                    methodVisitor.visitLabel(end);
+                    size = size.aggregate(new Compound(releaseStackManipulations).apply(methodVisitor, implementationContext));
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, completion);
+                    methodVisitor.visitLabel(handler);
+                    boolean frames = implementationContext.getClassFileVersion().isAtLeast(ClassFileVersion.JAVA_V6);
+                    if (frames) {
+                        methodVisitor.visitFrame(Opcodes.F_SAME1, EMPTY.length, EMPTY, THROWABLE.length, THROWABLE);
+                    }
+                    Size handlerSize = new Compound(releaseStackManipulations).apply(methodVisitor, implementationContext);
+                    methodVisitor.visitInsn(Opcodes.ATHROW);
+                    methodVisitor.visitLabel(completion);
+                    if (frames) {
+                        TypeDescription result = target.isConstructor()
+                                ? target.getDeclaringType().asErasure()
+                                : target.getReturnType().asErasure();
+                        if (result.represents(void.class)) {
+                            methodVisitor.visitFrame(Opcodes.F_SAME, EMPTY.length, EMPTY, EMPTY.length, EMPTY);
+                        } else {
+                            methodVisitor.visitFrame(Opcodes.F_SAME1, EMPTY.length, EMPTY, 1, new Object[]{toVerificationType(result)});
+                        }
+                    }
+                    return new Size(size.getSizeImpact(), Math.max(size.getMaximalSize(), 1 + handlerSize.getMaximalSize()))
+                            .aggregate(terminatingStackManipulation.apply(methodVisitor, implementationContext));
+                }
+
+                /**
+                 * Resolves the verification type of a value of the given type on the operand stack.
+                 *
+                 * @param typeDescription The non-void type of the value.
+                 * @return The verification type to represent in a stack map frame.
+                 */
+                private static Object toVerificationType(TypeDescription typeDescription) {
+                    if (typeDescription.represents(long.class)) {
+                        return Opcodes.LONG;
+                    } else if (typeDescription.represents(float.class)) {
+                        return Opcodes.FLOAT;
+                    } else if (typeDescription.represents(double.class)) {
+                        return Opcodes.DOUBLE;
+                    } else if (typeDescription.isPrimitive()) {
+                        return Opcodes.INTEGER;
+                    } else {
+                        return typeDescription.getInternalName();
+                    }
                 }
             }
         }
@@ -23,8 +23,10 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bind.MethodDelegationBinder;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.collection.ArgumentViewFactory;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.ArgumentView;
 import net.bytebuddy.utility.CompoundList;
 
 import java.lang.annotation.*;
@@ -36,6 +38,9 @@ import java.util.List;
  * all arguments of the source method. Currently, this annotation supports the following collection types:
  * <ul>
  * <li>Array</li>
+ * <li>{@link ArgumentView}, which represents all arguments without boxing primitive values. Such a view is pooled per thread
+ * and released once the target method returns or completes exceptionally, it must therefore not be retained beyond the target
+ * method's invocation. For an intercepted constructor, a new view is created for each invocation.</li>
  * </ul>
  * <p>&nbsp;</p>
  * By default, this annotation applies a
@@ -146,6 +151,9 @@ public @interface AllArguments {
                                                                Implementation.Target implementationTarget,
                                                                Assigner assigner,
                                                                Assigner.Typing typing) {
+            if (target.getType().represents(ArgumentView.class)) {
+                return bindView(annotation, source, implementationTarget);
+            }
             TypeDescription.Generic componentType;
             if (target.getType().represents(Object.class)) {
                 componentType = TypeDescription.Generic.OBJECT;
@@ -173,5 +181,31 @@ public @interface AllArguments {
             }
             return new MethodDelegationBinder.ParameterBinding.Anonymous(ArrayFactory.forType(componentType).withValues(stackManipulations));
         }
+
+        /**
+         * Binds an {@link ArgumentView} that represents all arguments of the source method without boxing primitive values.
+         *
+         * @param annotation           The annotation that triggered this binding.
+         * @param source               The intercepted source method.
+         * @param implementationTarget The target of the current implementation.
+         * @return A parameter binding for an argument view.
+         */
+        private static MethodDelegationBinder.ParameterBinding<?> bindView(AnnotationDescription.Loadable<AllArguments> annotation,
+                                                                            MethodDescription source,
+                                                                            Implementation.Target implementationTarget) {
+            boolean includeThis = !source.isStatic() && annotation.load().includeSelf();
+            List<TypeDescription.Generic> types = includeThis
+                    ? CompoundList.of(implementationTarget.getInstrumentedType().asGenericType(), source.getParameters().asTypeList())
+                    : source.getParameters().asTypeList();
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(types.size());
+            int offset = source.isStatic() || includeThis ? 0 : 1;
+            for (TypeDescription.Generic type : types) {
+                stackManipulations.add(MethodVariableAccess.of(type).loadFrom(offset));
+                offset += type.getStackSize().getSize();
+            }
+            return source.isConstructor()
+                    ? new MethodDelegationBinder.ParameterBinding.Anonymous(new ArgumentViewFactory(types, stackManipulations))
+                    : new MethodDelegationBinder.ParameterBinding.Releasing(new ArgumentViewFactory(types, stackManipulations, true), ArgumentViewFactory.Release.INSTANCE);
+        }
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.bind.annotation;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodAccessorFactory;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.JavaConstantValue;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.utility.JavaConstant;
+import net.bytebuddy.utility.JavaType;
+import org.objectweb.asm.MethodVisitor;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * A parameter with this annotation is assigned an instance of {@code java.lang.invoke.MethodHandle} which invokes the super implementation
+ * of this method. The method handle is loaded from the constant pool of the instrumented type such that, unlike a {@link SuperCall} or a
+ * {@link Pipe}, no instance is allocated when the intercepted method is invoked. If the source method is not static, the first argument of
+ * the method handle is the instance on which the super method is invoked, followed by the source method's arguments. As the arguments can
+ * be altered upon invocation, this annotation can also replace the use of {@link Morph}.
+ * </p>
+ * <p>
+ * If such a method is not available, this annotation causes that this delegation target cannot be bound unless
+ * {@link SuperCallHandle#nullIfImpossible()} is set to {@code true}. Method handle constants require a class file version of at least Java 7.
+ * For types of an older class file version, {@code null} is assigned if {@link SuperCallHandle#nullIfImpossible()} is set to {@code true}.
+ * Otherwise, the creation of the type fails.
+ * </p>
+ *
+ * @see net.bytebuddy.implementation.MethodDelegation
+ * @see net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface SuperCallHandle {
+
+    /**
+     * Indicates that the assigned method handle should attempt the invocation of an unambiguous default method if no super method is available.
+     *
+     * @return {@code true} if a default method should be invoked if it is not ambiguous and no super class method is available.
+     */
+    boolean fallbackToDefault() default true;
+
+    /**
+     * Indicates that {@code null} should be assigned to this parameter if no super method is invokable.
+     *
+     * @return {@code true} if {@code null} should be assigned if no valid method can be assigned.
+     */
+    boolean nullIfImpossible() default false;
+
+    /**
+     * A binder for the {@link SuperCallHandle} annotation.
+     */
+    enum Binder implements TargetMethodAnnotationDrivenBinder.ParameterBinder<SuperCallHandle> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<SuperCallHandle> getHandledType() {
+            return SuperCallHandle.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public MethodDelegationBinder.ParameterBinding<?> bind(AnnotationDescription.Loadable<SuperCallHandle> annotation,
+                                                               MethodDescription source,
+                                                               ParameterDescription target,
+                                                               Implementation.Target implementationTarget,
+                                                               Assigner assigner,
+                                                               Assigner.Typing typing) {
+            if (!target.getType().asErasure().isAssignableFrom(JavaType.METHOD_HANDLE.getTypeStub())) {
+                throw new IllegalStateException("Cannot assign MethodHandle type to " + target);
+            } else if (source.isMethod()) {
+                Implementation.SpecialMethodInvocation specialMethodInvocation = (annotation.load().fallbackToDefault()
+                        ? implementationTarget.invokeDominant(source.asSignatureToken())
+                        : implementationTarget.invokeSuper(source.asSignatureToken())).withCheckedCompatibilityTo(source.asTypeToken());
+                if (specialMethodInvocation.isValid()) {
+                    return new MethodDelegationBinder.ParameterBinding.Anonymous(new DelegationHandle(specialMethodInvocation, annotation.load().nullIfImpossible()));
+                } else if (annotation.load().nullIfImpossible()) {
+                    return new MethodDelegationBinder.ParameterBinding.Anonymous(NullConstant.INSTANCE);
+                } else {
+                    return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+                }
+            } else if (annotation.load().nullIfImpossible()) {
+                return new MethodDelegationBinder.ParameterBinding.Anonymous(NullConstant.INSTANCE);
+            } else {
+                return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+            }
+        }
+
+        /**
+         * Loads a method handle constant for the delegation method onto the stack.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class DelegationHandle implements StackManipulation {
+
+            /**
+             * The special method invocation that represents the super method call.
+             */
+            private final Implementation.SpecialMethodInvocation specialMethodInvocation;
+
+            /**
+             * {@code true} if {@code null} should be loaded if the instrumented type's class file version does not support method handle constants.
+             */
+            private final boolean nullIfImpossible;
+
+            /**
+             * Creates a new delegation handle.
+             *
+             * @param specialMethodInvocation The special method invocation that represents the super method call.
+             * @param nullIfImpossible        {@code true} if {@code null} should be loaded if the instrumented type's class file version
+             *                                does not support method handle constants.
+             */
+            protected DelegationHandle(Implementation.SpecialMethodInvocation specialMethodInvocation, boolean nullIfImpossible) {
+                this.specialMethodInvocation = specialMethodInvocation;
+                this.nullIfImpossible = nullIfImpossible;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isValid() {
+                return specialMethodInvocation.isValid();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                if (!implementationContext.getClassFileVersion().isAtLeast(ClassFileVersion.JAVA_V7)) {
+                    if (nullIfImpossible) {
+                        return NullConstant.INSTANCE.apply(methodVisitor, implementationContext);
+                    }
+                    throw new IllegalStateException("Cannot load method handle constant for class file version " + implementationContext.getClassFileVersion());
+                }
+                return new JavaConstantValue(JavaConstant.MethodHandle.of(implementationContext.registerAccessorFor(specialMethodInvocation,
+                        MethodAccessorFactory.AccessType.PUBLIC))).apply(methodVisitor, implementationContext);
+            }
+        }
+    }
+}
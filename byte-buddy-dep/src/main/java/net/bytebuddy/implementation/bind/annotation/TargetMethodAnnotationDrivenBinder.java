@@ -171,6 +171,7 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
                 SuperCall.Binder.INSTANCE,
                 DefaultCall.Binder.INSTANCE,
                 SuperMethod.Binder.INSTANCE,
+                SuperCallHandle.Binder.INSTANCE,
                 DefaultMethod.Binder.INSTANCE,
                 FieldValue.Binder.INSTANCE,
                 StubValue.Binder.INSTANCE,
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.bytecode.collection;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.utility.ArgumentView;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * A stack manipulation that loads an {@link ArgumentView} onto the operand stack after populating it with a given list of
+ * values without boxing primitive values. The view is either created or acquired from the current thread's pool. An acquired
+ * view must be released by applying {@link ArgumentViewFactory.Release} once it is no longer used. Alternatively, a view can
+ * be acquired by {@link ArgumentViewFactory.Acquire} and be populated on demand by {@link ArgumentViewFactory.ForCurrent}.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ArgumentViewFactory implements StackManipulation {
+
+    /**
+     * The {@link ArgumentView#of(int)} method.
+     */
+    private static final MethodDescription.InDefinedShape OF;
+
+    /**
+     * The {@link ArgumentView#acquire(int)} method.
+     */
+    private static final MethodDescription.InDefinedShape ACQUIRE;
+
+    /**
+     * The {@link ArgumentView#current()} method.
+     */
+    private static final MethodDescription.InDefinedShape CURRENT;
+
+    /**
+     * The {@link ArgumentView#release()} method.
+     */
+    private static final MethodDescription.InDefinedShape RELEASE;
+
+    /**
+     * All {@code with} methods of the {@link ArgumentView} type.
+     */
+    private static final MethodList<MethodDescription.InDefinedShape> WITH;
+
+    /*
+     * Resolves all methods of the argument view type.
+     */
+    static {
+        MethodList<MethodDescription.InDefinedShape> methods = TypeDescription.ForLoadedType.of(ArgumentView.class).getDeclaredMethods();
+        OF = methods.filter(named("of")).getOnly();
+        ACQUIRE = methods.filter(named("acquire")).getOnly();
+        CURRENT = methods.filter(named("current")).getOnly();
+        RELEASE = methods.filter(named("release")).getOnly();
+        WITH = methods.filter(named("with").and(isPublic()));
+    }
+
+    /**
+     * The types of the represented values.
+     */
+    private final List<? extends TypeDefinition> types;
+
+    /**
+     * The stack manipulations that load the represented values onto the operand stack.
+     */
+    private final List<? extends StackManipulation> values;
+
+    /**
+     * {@code true} if the argument view is acquired from the current thread's pool.
+     */
+    private final boolean pooled;
+
+    /**
+     * Creates a new argument view factory that creates a new argument view.
+     *
+     * @param types  The types of the represented values.
+     * @param values The stack manipulations that load the represented values onto the operand stack.
+     */
+    public ArgumentViewFactory(List<? extends TypeDefinition> types, List<? extends StackManipulation> values) {
+        this(types, values, false);
+    }
+
+    /**
+     * Creates a new argument view factory.
+     *
+     * @param types  The types of the represented values.
+     * @param values The stack manipulations that load the represented values onto the operand stack.
+     * @param pooled {@code true} if the argument view is acquired from the current thread's pool. Such a view must be
+     *               released by applying {@link ArgumentViewFactory.Release}.
+     */
+    public ArgumentViewFactory(List<? extends TypeDefinition> types, List<? extends StackManipulation> values, boolean pooled) {
+        if (types.size() != values.size()) {
+            throw new IllegalArgumentException("Expected " + types.size() + " values but got " + values.size());
+        }
+        this.types = types;
+        this.values = values;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Populates an argument view that is already loaded onto the operand stack.
+     *
+     * @param types              The types of the represented values.
+     * @param values             The stack manipulations that load the represented values onto the operand stack.
+     * @param stackManipulations The list of stack manipulations to which the population is added.
+     * @return The supplied list of stack manipulations.
+     */
+    private static List<StackManipulation> populate(List<? extends TypeDefinition> types,
+                                                    List<? extends StackManipulation> values,
+                                                    List<StackManipulation> stackManipulations) {
+        for (int index = 0; index < values.size(); index++) {
+            TypeDefinition type = types.get(index);
+            stackManipulations.add(IntegerConstant.forValue(index));
+            stackManipulations.add(values.get(index));
+            stackManipulations.add(MethodInvocation.invoke(WITH.filter(takesArgument(1, type.isPrimitive()
+                    ? type.asErasure()
+                    : TypeDescription.OBJECT)).getOnly()));
+        }
+        return stackManipulations;
+    }
+
+    /**
+     * Checks if all stack manipulations that load a represented value are valid.
+     *
+     * @param values The stack manipulations that load the represented values onto the operand stack.
+     * @return {@code true} if all stack manipulations are valid.
+     */
+    private static boolean isValid(List<? extends StackManipulation> values) {
+        for (StackManipulation value : values) {
+            if (!value.isValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isValid() {
+        return isValid(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+        List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(2 + 3 * values.size());
+        stackManipulations.add(IntegerConstant.forValue(values.size()));
+        stackManipulations.add(MethodInvocation.invoke(pooled ? ACQUIRE : OF));
+        return new Compound(populate(types, values, stackManipulations)).apply(methodVisitor, implementationContext);
+    }
+
+    /**
+     * A stack manipulation that acquires an argument view from the current thread's pool without populating it and that loads
+     * it onto the operand stack. The view must be released by applying {@link ArgumentViewFactory.Release}.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class Acquire implements StackManipulation {
+
+        /**
+         * The number of arguments to represent.
+         */
+        private final int size;
+
+        /**
+         * Creates a new stack manipulation for acquiring an argument view.
+         *
+         * @param size The number of arguments to represent.
+         */
+        public Acquire(int size) {
+            this.size = size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            return new Compound(IntegerConstant.forValue(size), MethodInvocation.invoke(ACQUIRE)).apply(methodVisitor, implementationContext);
+        }
+    }
+
+    /**
+     * A stack manipulation that populates the argument view that was last acquired by the current thread with a given list of
+     * values and that loads it onto the operand stack. As the view is populated whenever this stack manipulation is applied,
+     * it always reflects the current values without allocating a new view.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class ForCurrent implements StackManipulation {
+
+        /**
+         * The types of the represented values.
+         */
+        private final List<? extends TypeDefinition> types;
+
+        /**
+         * The stack manipulations that load the represented values onto the operand stack.
+         */
+        private final List<? extends StackManipulation> values;
+
+        /**
+         * Creates a new stack manipulation for populating the current argument view.
+         *
+         * @param types  The types of the represented values.
+         * @param values The stack manipulations that load the represented values onto the operand stack.
+         */
+        public ForCurrent(List<? extends TypeDefinition> types, List<? extends StackManipulation> values) {
+            if (types.size() != values.size()) {
+                throw new IllegalArgumentException("Expected " + types.size() + " values but got " + values.size());
+            }
+            this.types = types;
+            this.values = values;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return ArgumentViewFactory.isValid(values);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(1 + 3 * values.size());
+            stackManipulations.add(MethodInvocation.invoke(CURRENT));
+            return new Compound(populate(types, values, stackManipulations)).apply(methodVisitor, implementationContext);
+        }
+    }
+
+    /**
+     * A stack manipulation that releases the argument view that was last acquired by the current thread.
+     */
+    public enum Release implements StackManipulation {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            return MethodInvocation.invoke(RELEASE).apply(methodVisitor, implementationContext);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package net.bytebuddy.implementation.bytecode.constant;
 
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.Implementation;
@@ -26,13 +27,18 @@ import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.utility.JavaConstant;
+import net.bytebuddy.utility.JavaType;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
@@ -90,6 +96,23 @@ public abstract class MethodConstant implements StackManipulation {
         }
     }
 
+    /**
+     * Creates a stack manipulation that loads a method constant onto the operand stack which is resolved only once by
+     * a dynamic constant if the instrumented class file version supports it. Other than {@link CanCache#cached()}, this
+     * does not require a field, what makes this stack manipulation applicable to retransformed classes. For class file
+     * versions prior to Java 11, the method constant is looked up on every execution.
+     *
+     * @param methodDescription The method to be loaded onto the stack.
+     * @return A stack manipulation that assigns a method constant for the given method description.
+     */
+    public static StackManipulation ofDynamic(MethodDescription.InDefinedShape methodDescription) {
+        if (methodDescription.isTypeInitializer()) {
+            return Illegal.INSTANCE;
+        } else {
+            return new ForDynamicConstant(methodDescription);
+        }
+    }
+
     /**
      * Returns a list of type constant load operations for the given list of parameters.
      *
@@ -537,4 +560,74 @@ public abstract class MethodConstant implements StackManipulation {
             return constructorConstant.equals(cachedConstructor.constructorConstant);
         }
     }
+
+    /**
+     * Represents a method constant that is resolved only once by a dynamic constant that reflects on a method handle constant
+     * of the represented method or constructor, if the class file version supports dynamic constants.
+     */
+    protected static class ForDynamicConstant implements StackManipulation {
+
+        /**
+         * A description of the {@code java.lang.invoke.MethodHandles#reflectAs(Class, MethodHandle)} method.
+         */
+        private static final MethodDescription.InDefinedShape REFLECT_AS = new MethodDescription.Latent(JavaType.METHOD_HANDLES.getTypeStub(),
+                new MethodDescription.Token("reflectAs",
+                        Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                        TypeDescription.ForLoadedType.of(Member.class).asGenericType(),
+                        Arrays.asList(TypeDescription.CLASS.asGenericType(), JavaType.METHOD_HANDLE.getTypeStub().asGenericType())));
+
+        /**
+         * The method or constructor to represent.
+         */
+        private final MethodDescription.InDefinedShape methodDescription;
+
+        /**
+         * Creates a new method constant that is resolved by a dynamic constant.
+         *
+         * @param methodDescription The method or constructor to represent.
+         */
+        protected ForDynamicConstant(MethodDescription.InDefinedShape methodDescription) {
+            this.methodDescription = methodDescription;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            if (implementationContext.getClassFileVersion().isAtLeast(ClassFileVersion.JAVA_V11)) {
+                TypeDescription typeDescription = TypeDescription.ForLoadedType.of(methodDescription.isConstructor()
+                        ? Constructor.class
+                        : Method.class);
+                return new Compound(
+                        new JavaConstantValue(JavaConstant.Dynamic.ofInvocation(REFLECT_AS, typeDescription, JavaConstant.MethodHandle.of(methodDescription))),
+                        TypeCasting.to(typeDescription)
+                ).apply(methodVisitor, implementationContext);
+            } else {
+                return of(methodDescription).apply(methodVisitor, implementationContext);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return methodDescription.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            } else if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            ForDynamicConstant forDynamicConstant = (ForDynamicConstant) other;
+            return methodDescription.equals(forDynamicConstant.methodDescription);
+        }
+    }
 }
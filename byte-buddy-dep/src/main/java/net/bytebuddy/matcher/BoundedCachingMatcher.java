@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A matcher that remembers the results of previously matching an equal target within a cache of bounded size. The cache
+ * is split into several stripes, each of which is guarded by its own lock and evicts its least recently used entry once
+ * its share of the maximum size is exceeded. Hits, misses and evictions are counted and can be queried at any time.
+ * </p>
+ * <p>
+ * The underlying matcher is applied without holding any lock. If two threads concurrently match an equal target that is
+ * not yet cached, the underlying matcher might therefore be applied more than once.
+ * </p>
+ *
+ * @param <T> The actual matched type of this matcher.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class BoundedCachingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T> {
+
+    /**
+     * The default maximum number of stripes if no concurrency level is specified.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * The underlying matcher to apply for non-cached targets.
+     */
+    private final ElementMatcher<? super T> matcher;
+
+    /**
+     * The maximum amount of entries this cache retains.
+     */
+    private final int maximumSize;
+
+    /**
+     * The stripes of this cache where the number of stripes is a power of two.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final Stripe[] stripes;
+
+    /**
+     * The number of cache hits.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong hits;
+
+    /**
+     * The number of cache misses.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong misses;
+
+    /**
+     * The number of evicted entries.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong evictions;
+
+    /**
+     * Creates a new bounded caching matcher with the default concurrency level.
+     *
+     * @param matcher     The underlying matcher to apply for non-cached targets.
+     * @param maximumSize The maximum amount of entries this cache retains. Must be a positive number.
+     */
+    public BoundedCachingMatcher(ElementMatcher<? super T> matcher, int maximumSize) {
+        this(matcher, maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new bounded caching matcher.
+     *
+     * @param matcher          The underlying matcher to apply for non-cached targets.
+     * @param maximumSize      The maximum amount of entries this cache retains. Must be a positive number.
+     * @param concurrencyLevel The maximum number of stripes to split this cache into. Must be a positive number. The actual
+     *                         number of stripes is the largest power of two that neither exceeds this number nor the maximum size.
+     */
+    public BoundedCachingMatcher(ElementMatcher<? super T> matcher, int maximumSize, int concurrencyLevel) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be a positive number: " + maximumSize);
+        } else if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be a positive number: " + concurrencyLevel);
+        }
+        this.matcher = matcher;
+        this.maximumSize = maximumSize;
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        evictions = new AtomicLong();
+        stripes = new Stripe[Integer.highestOneBit(Math.min(maximumSize, concurrencyLevel))];
+        for (int index = 0; index < stripes.length; index++) {
+            stripes[index] = new Stripe(maximumSize / stripes.length + (index < maximumSize % stripes.length ? 1 : 0), evictions);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean matches(T target) {
+        Stripe stripe = stripes[spread(target.hashCode()) & (stripes.length - 1)];
+        Boolean cached;
+        synchronized (stripe) {
+            cached = stripe.get(target);
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            cached = matcher.matches(target);
+            synchronized (stripe) {
+                stripe.put(target, cached);
+            }
+        } else {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Spreads the bits of a hash code to reduce collisions of stripe indices for hash codes that differ in their upper bits.
+     *
+     * @param hashCode The hash code to spread.
+     * @return The spread hash code.
+     */
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Returns the number of targets for which a cached result was found.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of targets for which the underlying matcher was applied.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries that were evicted from this cache to retain its maximum size.
+     *
+     * @return The number of evicted entries.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the number of entries that are currently cached.
+     *
+     * @return The number of cached entries.
+     */
+    public int getSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached entries from this matcher. The statistics of this matcher are retained.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "cached(" + matcher + ", " + maximumSize + ")";
+    }
+
+    /**
+     * A stripe of a bounded caching matcher that retains its entries in access order.
+     */
+    protected static class Stripe extends LinkedHashMap<Object, Boolean> {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The maximum number of entries of this stripe.
+         */
+        private final int maximumSize;
+
+        /**
+         * The counter for evicted entries.
+         */
+        private final AtomicLong evictions;
+
+        /**
+         * Creates a new stripe.
+         *
+         * @param maximumSize The maximum number of entries of this stripe.
+         * @param evictions   The counter for evicted entries.
+         */
+        protected Stripe(int maximumSize, AtomicLong evictions) {
+            super(Math.min(maximumSize, 16), 0.75f, true);
+            this.maximumSize = maximumSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Boolean> eldest) {
+            if (size() > maximumSize) {
+                evictions.incrementAndGet();
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+}
@@ -122,6 +122,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) && right.matches(target);
             }
 
+            /**
+             * Returns the first matcher of this conjunction.
+             *
+             * @return The first matcher of this conjunction.
+             */
+            ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the second matcher of this conjunction.
+             *
+             * @return The second matcher of this conjunction.
+             */
+            ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             @Override
             public String toString() {
                 return "(" + left + " and " + right + ')';
@@ -160,6 +178,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) || right.matches(target);
             }
 
+            /**
+             * Returns the first matcher of this disjunction.
+             *
+             * @return The first matcher of this disjunction.
+             */
+            ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the second matcher of this disjunction.
+             *
+             * @return The second matcher of this disjunction.
+             */
+            ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             @Override
             public String toString() {
                 return "(" + left + " or " + right + ')';
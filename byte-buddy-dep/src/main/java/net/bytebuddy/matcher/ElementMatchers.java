@@ -39,7 +39,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -95,8 +94,8 @@ public final class ElementMatchers {
      * matcher requires expensive calculations.
      * </p>
      * <p>
-     * <b>Warning</b>: The cache will hold {@code evictionSize} elements and evict a random element once the cache
-     * contains more than the specified amount of elements. Cached elements are referenced strongly and might cause
+     * <b>Warning</b>: The cache will hold {@code evictionSize} elements and evict the least recently used element once the
+     * cache contains more than the specified amount of elements. Cached elements are referenced strongly and might cause
      * a memory leak if instance are of a significant size. Using {@link ElementMatchers#cached(ElementMatcher, ConcurrentMap)}
      * allows for explicit control over cache eviction.
      * </p>
@@ -104,13 +103,35 @@ public final class ElementMatchers {
      * @param matcher      The actual matcher for which the results are cached.
      * @param evictionSize The maximum amount of elements that are stored in the cache. Must be a positive number.
      * @param <T>          The type of the matched object.
-     * @return A matcher that stores the results of a previous matching in the supplied map.
+     * @return A matcher that stores the results of a previous matching in a cache of bounded size.
      */
     public static <T> ElementMatcher.Junction<T> cached(ElementMatcher<? super T> matcher, int evictionSize) {
+        return cached(matcher, evictionSize, BoundedCachingMatcher.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * <p>
+     * Wraps another matcher but caches the result of previously matched elements. Caching can be important if a
+     * matcher requires expensive calculations. The returned matcher exposes the number of cache hits, misses and
+     * evictions.
+     * </p>
+     * <p>
+     * <b>Warning</b>: The cache will hold {@code evictionSize} elements and evict the least recently used element of
+     * a stripe once the cache contains more than the specified amount of elements. Cached elements are referenced
+     * strongly and might cause a memory leak if instance are of a significant size.
+     * </p>
+     *
+     * @param matcher          The actual matcher for which the results are cached.
+     * @param evictionSize     The maximum amount of elements that are stored in the cache. Must be a positive number.
+     * @param concurrencyLevel The maximum number of independently locked stripes of the cache. Must be a positive number.
+     * @param <T>              The type of the matched object.
+     * @return A matcher that stores the results of a previous matching in a cache of bounded size.
+     */
+    public static <T> BoundedCachingMatcher<T> cached(ElementMatcher<? super T> matcher, int evictionSize, int concurrencyLevel) {
         if (evictionSize < 1) {
             throw new IllegalArgumentException("Eviction size must be a positive number: " + evictionSize);
         }
-        return new CachingMatcher.WithInlineEviction<T>(matcher, new ConcurrentHashMap<T, Boolean>(), evictionSize);
+        return new BoundedCachingMatcher<T>(matcher, evictionSize, concurrencyLevel);
     }
 
     /**
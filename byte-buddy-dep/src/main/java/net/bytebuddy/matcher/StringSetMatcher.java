@@ -44,6 +44,15 @@ public class StringSetMatcher extends ElementMatcher.Junction.AbstractBase<Strin
         return values.contains(target);
     }
 
+    /**
+     * Returns the values to check against.
+     *
+     * @return The values to check against.
+     */
+    Set<String> getValues() {
+        return values;
+    }
+
     @Override
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder().append("in(");
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.NamedElement;
+
+import java.util.*;
+
+/**
+ * <p>
+ * An element matcher that matches a string if it is equal to any of a set of values or if it starts with any of a set
+ * of prefixes. All values and prefixes are compiled into a single prefix trie such that a string is matched by reading
+ * each of its characters at most once, independently of the number of represented values and prefixes.
+ * </p>
+ * <p>
+ * Using {@link StringTrieMatcher#compile(ElementMatcher)}, it is possible to replace disjunctions of name matchers such
+ * as {@link ElementMatchers#named(String)}, {@link ElementMatchers#namedOneOf(String...)} and
+ * {@link ElementMatchers#nameStartsWith(String)} by a single trie which avoids evaluating each such matcher in sequence.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class StringTrieMatcher extends ElementMatcher.Junction.AbstractBase<String> {
+
+    /**
+     * The values to match a string for equality.
+     */
+    private final Set<String> values;
+
+    /**
+     * The prefixes to match a string's beginning.
+     */
+    private final Set<String> prefixes;
+
+    /**
+     * The root node of the compiled trie.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final Node root;
+
+    /**
+     * Creates a new string trie matcher.
+     *
+     * @param values   The values to match a string for equality.
+     * @param prefixes The prefixes to match a string's beginning.
+     */
+    public StringTrieMatcher(Collection<String> values, Collection<String> prefixes) {
+        this.values = new LinkedHashSet<String>(values);
+        this.prefixes = new LinkedHashSet<String>(prefixes);
+        Node.Builder builder = new Node.Builder();
+        for (String value : values) {
+            builder.add(value, false);
+        }
+        for (String prefix : prefixes) {
+            builder.add(prefix, true);
+        }
+        root = builder.toNode();
+    }
+
+    /**
+     * Compiles any name-based matchers of a disjunction into a single {@link StringTrieMatcher}. This applies to any
+     * {@link NameMatcher} that matches a name for equality, for being contained in a set of names or for starting with a
+     * given prefix, as created by {@link ElementMatchers#named(String)}, {@link ElementMatchers#namedOneOf(String...)} and
+     * {@link ElementMatchers#nameStartsWith(String)}. Any other matcher of the disjunction is retained and consulted
+     * after the compiled matcher. Conjunctions are compiled by compiling both of their matchers. If no name-based
+     * matchers can be combined, the supplied matcher is returned.
+     *
+     * @param matcher The matcher to compile.
+     * @param <T>     The type of the matched element.
+     * @return A matcher that is equivalent to the supplied matcher, given that all matchers are free of side effects.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends NamedElement> ElementMatcher.Junction<T> compile(ElementMatcher<? super T> matcher) {
+        ElementMatcher<? super T> compiled = doCompile(matcher);
+        return compiled instanceof ElementMatcher.Junction
+                ? (ElementMatcher.Junction<T>) compiled
+                : new ElementMatcher.Junction.Disjunction<T>(compiled, new BooleanMatcher<T>(false));
+    }
+
+    /**
+     * Compiles the supplied matcher.
+     *
+     * @param matcher The matcher to compile.
+     * @param <T>     The type of the matched element.
+     * @return The compiled matcher.
+     */
+    private static <T extends NamedElement> ElementMatcher<? super T> doCompile(ElementMatcher<? super T> matcher) {
+        if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+            ElementMatcher<? super T> left = doCompile(((ElementMatcher.Junction.Conjunction<? super T>) matcher).getLeft());
+            ElementMatcher<? super T> right = doCompile(((ElementMatcher.Junction.Conjunction<? super T>) matcher).getRight());
+            if (left == ((ElementMatcher.Junction.Conjunction<? super T>) matcher).getLeft()
+                    && right == ((ElementMatcher.Junction.Conjunction<? super T>) matcher).getRight()) {
+                return matcher;
+            }
+            return new ElementMatcher.Junction.Conjunction<T>(left, right);
+        } else if (!(matcher instanceof ElementMatcher.Junction.Disjunction)) {
+            return matcher;
+        }
+        List<ElementMatcher<? super T>> matchers = new ArrayList<ElementMatcher<? super T>>();
+        flatten(matcher, matchers);
+        List<String> values = new ArrayList<String>(), prefixes = new ArrayList<String>();
+        List<ElementMatcher<? super T>> residuals = new ArrayList<ElementMatcher<? super T>>();
+        int extracted = 0;
+        for (ElementMatcher<? super T> element : matchers) {
+            if (element instanceof NameMatcher && extract(((NameMatcher<?>) element).getMatcher(), values, prefixes)) {
+                extracted++;
+            } else {
+                residuals.add(doCompile(element));
+            }
+        }
+        if (extracted < 2 && values.size() + prefixes.size() < 2) {
+            return matcher;
+        }
+        ElementMatcher<? super T> compiled = new NameMatcher<T>(new StringTrieMatcher(values, prefixes));
+        for (ElementMatcher<? super T> residual : residuals) {
+            compiled = new ElementMatcher.Junction.Disjunction<T>(compiled, residual);
+        }
+        return compiled;
+    }
+
+    /**
+     * Flattens a tree of disjunctions into a list of its matchers.
+     *
+     * @param matcher  The matcher to flatten.
+     * @param matchers The list to add any non-disjunction matcher to.
+     * @param <T>      The type of the matched element.
+     */
+    private static <T> void flatten(ElementMatcher<? super T> matcher, List<ElementMatcher<? super T>> matchers) {
+        if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+            flatten(((ElementMatcher.Junction.Disjunction<? super T>) matcher).getLeft(), matchers);
+            flatten(((ElementMatcher.Junction.Disjunction<? super T>) matcher).getRight(), matchers);
+        } else {
+            matchers.add(matcher);
+        }
+    }
+
+    /**
+     * Extracts the values and prefixes of a string matcher if it can be represented by a trie.
+     *
+     * @param matcher  The string matcher to extract.
+     * @param values   The list of values to add extracted values to.
+     * @param prefixes The list of prefixes to add extracted prefixes to.
+     * @return {@code true} if the matcher was extracted.
+     */
+    private static boolean extract(ElementMatcher<String> matcher, List<String> values, List<String> prefixes) {
+        List<ElementMatcher<? super String>> matchers = new ArrayList<ElementMatcher<? super String>>();
+        flatten(matcher, matchers);
+        List<String> extractedValues = new ArrayList<String>(), extractedPrefixes = new ArrayList<String>();
+        for (ElementMatcher<? super String> element : matchers) {
+            if (element instanceof StringMatcher && ((StringMatcher) element).getMode() == StringMatcher.Mode.EQUALS_FULLY) {
+                extractedValues.add(((StringMatcher) element).getValue());
+            } else if (element instanceof StringMatcher && ((StringMatcher) element).getMode() == StringMatcher.Mode.STARTS_WITH) {
+                extractedPrefixes.add(((StringMatcher) element).getValue());
+            } else if (element instanceof StringSetMatcher) {
+                extractedValues.addAll(((StringSetMatcher) element).getValues());
+            } else if (element instanceof StringTrieMatcher) {
+                extractedValues.addAll(((StringTrieMatcher) element).values);
+                extractedPrefixes.addAll(((StringTrieMatcher) element).prefixes);
+            } else {
+                return false;
+            }
+        }
+        values.addAll(extractedValues);
+        prefixes.addAll(extractedPrefixes);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean matches(String target) {
+        Node node = root;
+        for (int index = 0; !node.prefix; index++) {
+            if (index == target.length()) {
+                return node.terminal;
+            }
+            node = node.next(target.charAt(index));
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder().append("trie(");
+        boolean first = true;
+        for (String value : values) {
+            if (first) {
+                first = false;
+            } else {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(value);
+        }
+        for (String prefix : prefixes) {
+            if (first) {
+                first = false;
+            } else {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(prefix).append('*');
+        }
+        return stringBuilder.append(")").toString();
+    }
+
+    /**
+     * A node of a compiled trie.
+     */
+    protected static class Node {
+
+        /**
+         * The characters that lead to this node's children in ascending order.
+         */
+        private final char[] keys;
+
+        /**
+         * The children of this node in the order of their keys.
+         */
+        private final Node[] children;
+
+        /**
+         * {@code true} if a string that ends in this node is matched.
+         */
+        private final boolean terminal;
+
+        /**
+         * {@code true} if any string that reaches this node is matched.
+         */
+        private final boolean prefix;
+
+        /**
+         * Creates a new node.
+         *
+         * @param keys     The characters that lead to this node's children in ascending order.
+         * @param children The children of this node in the order of their keys.
+         * @param terminal {@code true} if a string that ends in this node is matched.
+         * @param prefix   {@code true} if any string that reaches this node is matched.
+         */
+        protected Node(char[] keys, Node[] children, boolean terminal, boolean prefix) {
+            this.keys = keys;
+            this.children = children;
+            this.terminal = terminal;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Returns the child node for the given character.
+         *
+         * @param key The character to resolve.
+         * @return The child node for the given character or {@code null} if no such node exists.
+         */
+        protected Node next(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0
+                    ? null
+                    : children[index];
+        }
+
+        /**
+         * A builder for a trie node.
+         */
+        protected static class Builder {
+
+            /**
+             * The child builders of this builder by their characters.
+             */
+            private final SortedMap<Character, Builder> children = new TreeMap<Character, Builder>();
+
+            /**
+             * {@code true} if a string that ends in this node is matched.
+             */
+            private boolean terminal;
+
+            /**
+             * {@code true} if any string that reaches this node is matched.
+             */
+            private boolean prefix;
+
+            /**
+             * Adds a value or prefix to this builder.
+             *
+             * @param value  The value or prefix to add.
+             * @param prefix {@code true} if the value represents a prefix.
+             */
+            protected void add(String value, boolean prefix) {
+                Builder builder = this;
+                for (int index = 0; index < value.length(); index++) {
+                    Builder child = builder.children.get(value.charAt(index));
+                    if (child == null) {
+                        child = new Builder();
+                        builder.children.put(value.charAt(index), child);
+                    }
+                    builder = child;
+                }
+                if (prefix) {
+                    builder.prefix = true;
+                } else {
+                    builder.terminal = true;
+                }
+            }
+
+            /**
+             * Creates a node of this builder's current state.
+             *
+             * @return A node representing this builder.
+             */
+            protected Node toNode() {
+                if (prefix) {
+                    return new Node(new char[0], new Node[0], true, true);
+                }
+                char[] keys = new char[children.size()];
+                Node[] nodes = new Node[children.size()];
+                int index = 0;
+                for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                    keys[index] = entry.getKey();
+                    nodes[index++] = entry.getValue().toNode();
+                }
+                return new Node(keys, nodes, terminal, false);
+            }
+        }
+    }
+}
@@ -38,12 +38,19 @@ import org.objectweb.asm.*;
 import org.objectweb.asm.signature.SignatureReader;
 import org.objectweb.asm.signature.SignatureVisitor;
 
-import java.io.IOException;
+import java.io.*;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.GenericSignatureFormatError;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.AccessController;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -295,6 +302,1519 @@ public interface TypePool {
                 return storage;
             }
         }
+
+        /**
+         * A thread-safe cache provider that retains a maximum number of resolutions. If this number is exceeded, the least recently
+         * used resolution is discarded. The cache provider counts all lookups and evictions such that its effectiveness can be monitored.
+         */
+        class Bounded implements CacheProvider {
+
+            /**
+             * The maximum number of resolutions to retain.
+             */
+            private final int maximumSize;
+
+            /**
+             * A map containing all cached resolutions by their names in their access order. All access must be synchronized on this map.
+             */
+            private final Map<String, Resolution> storage;
+
+            /**
+             * The number of lookups that found a cached resolution.
+             */
+            private final AtomicLong hits;
+
+            /**
+             * The number of lookups that did not find a cached resolution.
+             */
+            private final AtomicLong misses;
+
+            /**
+             * The number of resolutions that were discarded for exceeding the maximum size.
+             */
+            private final AtomicLong evictions;
+
+            /**
+             * Creates a new bounded cache provider.
+             *
+             * @param maximumSize The maximum number of resolutions to retain.
+             */
+            public Bounded(int maximumSize) {
+                if (maximumSize < 1) {
+                    throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                }
+                this.maximumSize = maximumSize;
+                storage = new LeastRecentlyUsedMap();
+                hits = new AtomicLong();
+                misses = new AtomicLong();
+                evictions = new AtomicLong();
+            }
+
+            /**
+             * Returns a bounded cache provider that is prepopulated with the {@link Object} type.
+             *
+             * @param maximumSize The maximum number of resolutions to retain.
+             * @return A bounded cache provider that is prepopulated with the {@link Object} type.
+             */
+            public static Bounded withObjectType(int maximumSize) {
+                Bounded cacheProvider = new Bounded(maximumSize);
+                cacheProvider.register(Object.class.getName(), new Resolution.Simple(TypeDescription.OBJECT));
+                return cacheProvider;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution find(String name) {
+                Resolution resolution;
+                synchronized (storage) {
+                    resolution = storage.get(name);
+                }
+                if (resolution == null) {
+                    misses.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                }
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                synchronized (storage) {
+                    Resolution cached = storage.get(name);
+                    if (cached != null) {
+                        return cached;
+                    }
+                    storage.put(name, resolution);
+                    return resolution;
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                synchronized (storage) {
+                    storage.clear();
+                }
+            }
+
+            /**
+             * Returns the maximum number of resolutions that this cache provider retains.
+             *
+             * @return The maximum number of resolutions that this cache provider retains.
+             */
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            /**
+             * Returns the number of resolutions that are currently cached.
+             *
+             * @return The number of resolutions that are currently cached.
+             */
+            public int getSize() {
+                synchronized (storage) {
+                    return storage.size();
+                }
+            }
+
+            /**
+             * Returns the number of lookups that found a cached resolution.
+             *
+             * @return The number of lookups that found a cached resolution.
+             */
+            public long getHits() {
+                return hits.get();
+            }
+
+            /**
+             * Returns the number of lookups that did not find a cached resolution.
+             *
+             * @return The number of lookups that did not find a cached resolution.
+             */
+            public long getMisses() {
+                return misses.get();
+            }
+
+            /**
+             * Returns the number of resolutions that were discarded for exceeding the maximum size.
+             *
+             * @return The number of resolutions that were discarded for exceeding the maximum size.
+             */
+            public long getEvictions() {
+                return evictions.get();
+            }
+
+            /**
+             * A map that retains its entries in their access order and that removes its least recently used entry
+             * when exceeding the maximum size of the enclosing cache provider.
+             */
+            @SuppressFBWarnings(value = "SE_BAD_FIELD_INNER_CLASS", justification = "Map is never serialized")
+            protected class LeastRecentlyUsedMap extends LinkedHashMap<String, Resolution> {
+
+                /**
+                 * The serial version UID.
+                 */
+                private static final long serialVersionUID = 1L;
+
+                /**
+                 * Creates a new map that retains its entries in their access order.
+                 */
+                protected LeastRecentlyUsedMap() {
+                    super(16, 0.75f, true);
+                }
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Resolution> eldest) {
+                    if (size() > maximumSize) {
+                        evictions.incrementAndGet();
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A cache provider that persists the descriptions of the types it caches to a file such that another JVM process can resolve
+         * these types without parsing their class files anew. The file is memory-mapped when the cache provider is created and persisted
+         * type descriptions are only decoded once they are requested. Class files are located from a class path of jar files and folders
+         * that can optionally be preceded by the types of the boot loader, i.e. the current VM's runtime image or runtime jar. Each persisted
+         * type is stored together with the index of the class path element it was located from and with the size and last modification time
+         * of either its class file, if located from a folder, or of its jar file. Types of the boot loader are validated by the current VM's
+         * {@code java.home} and {@code java.runtime.version} properties. A persisted type is only returned if this metadata is unchanged
+         * and if no class path element that precedes its origin might shadow the type. Otherwise, the persisted type is discarded and the
+         * type is resolved by the querying type pool. Class files are never read for validating a persisted type.
+         * </p>
+         * <p>
+         * Types are only written to the file when {@link Persistent#persist()} is invoked. Only types that can be located on this cache
+         * provider's class path, including the boot loader if requested, are persisted. The types that are decoded from the file resolve any referenced type from a type pool that
+         * is backed by this cache provider and its class path, or by the boot loader. Closing this cache provider releases the mapped file
+         * and the class path's jar files, after which persisted types can no longer be resolved.
+         * </p>
+         */
+        class Persistent implements CacheProvider, Closeable {
+
+            /**
+             * The magic number that introduces a persisted cache file.
+             */
+            private static final int MAGIC = 0xB7DE7C0C;
+
+            /**
+             * The version of the persisted format. If the format is changed, the version must be incremented.
+             */
+            private static final int VERSION = 3;
+
+            /**
+             * The suffix of the temporary file to which a cache is written before replacing the cache file.
+             */
+            private static final String TEMPORARY_SUFFIX = ".tmp";
+
+            /**
+             * Indicates that a persisted value is not present.
+             */
+            private static final int NO_VALUE = -1;
+
+            /**
+             * The annotation value tag for a constant value.
+             */
+            private static final byte CONSTANT = 0;
+
+            /**
+             * The annotation value tag for a type value.
+             */
+            private static final byte TYPE = 1;
+
+            /**
+             * The annotation value tag for an enumeration value.
+             */
+            private static final byte ENUMERATION = 2;
+
+            /**
+             * The annotation value tag for an annotation value.
+             */
+            private static final byte ANNOTATION = 3;
+
+            /**
+             * The annotation value tag for an array of non-primitive values.
+             */
+            private static final byte ARRAY = 4;
+
+            /**
+             * The type containment tag for a self-contained type.
+             */
+            private static final byte SELF_CONTAINED = 0;
+
+            /**
+             * The type containment tag for a type that is declared within another type.
+             */
+            private static final byte WITHIN_TYPE = 1;
+
+            /**
+             * The type containment tag for a type that is declared within a method.
+             */
+            private static final byte WITHIN_METHOD = 2;
+
+            /**
+             * The unmapper to use for releasing the mapped cache file.
+             */
+            private static final ClassFileLocator.ForMappedArchive.Unmapper UNMAPPER = AccessController.doPrivileged(ClassFileLocator.ForMappedArchive.Unmapper.CreationAction.INSTANCE);
+
+            /**
+             * The file to which this cache is persisted.
+             */
+            private final File file;
+
+            /**
+             * The elements of the class path from which class files are located.
+             */
+            private final List<Element> classPath;
+
+            /**
+             * The class file locator of the class path that is used for locating types that are referenced by persisted types.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * The reader mode that is used for parsing types that are persisted.
+             */
+            private final Default.ReaderMode readerMode;
+
+            /**
+             * The persisted cache file or {@code null} if no cache was persisted.
+             */
+            private final ByteBuffer buffer;
+
+            /**
+             * A mapping of persisted type names to their entries within the persisted cache file.
+             */
+            private final Map<String, Entry> index;
+
+            /**
+             * A map containing all cached resolutions by their names.
+             */
+            private final ConcurrentMap<String, Resolution> storage;
+
+            /**
+             * A map containing the names of all persisted types that were discovered as outdated.
+             */
+            private final ConcurrentMap<String, Boolean> outdated;
+
+            /**
+             * The type pool to use for resolving types that are referenced by persisted types.
+             */
+            private final Default typePool;
+
+            /**
+             * A lock that prevents the release of the mapped cache file while it is read.
+             */
+            private final ReadWriteLock lock;
+
+            /**
+             * {@code true} if this cache provider was closed. This field is guarded by {@link Persistent#lock}.
+             */
+            private boolean closed;
+
+            /**
+             * Creates a new persistent cache provider.
+             *
+             * @param file       The file to which this cache is persisted.
+             * @param classPath  The elements of the class path from which class files are located.
+             * @param readerMode The reader mode that is used for parsing types that are persisted.
+             * @param buffer     The persisted cache file or {@code null} if no cache was persisted.
+             * @param index      A mapping of persisted type names to their entries within the persisted cache file.
+             */
+            protected Persistent(File file, List<Element> classPath, Default.ReaderMode readerMode, ByteBuffer buffer, Map<String, Entry> index) {
+                this.file = file;
+                this.classPath = classPath;
+                this.readerMode = readerMode;
+                this.buffer = buffer;
+                this.index = index;
+                List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+                for (Element element : classPath) {
+                    classFileLocators.add(element.classFileLocator);
+                }
+                classFileLocator = new ClassFileLocator.Compound(classFileLocators);
+                storage = new ConcurrentHashMap<String, Resolution>();
+                outdated = new ConcurrentHashMap<String, Boolean>();
+                typePool = new Default.WithLazyResolution(this, classFileLocator, readerMode, ClassLoading.ofBootLoader());
+                lock = new ReentrantReadWriteLock();
+            }
+
+            /**
+             * Creates a persistent cache provider that uses a fast reader mode. If the supplied file does not exist or does not represent
+             * a compatible cache, the cache provider starts empty.
+             *
+             * @param file      The file to which this cache is persisted.
+             * @param classPath The jar files and folders from which class files are located.
+             * @return An appropriate persistent cache provider.
+             * @throws IOException If the supplied file or class path cannot be read.
+             */
+            public static Persistent of(File file, List<? extends File> classPath) throws IOException {
+                return of(file, classPath, Default.ReaderMode.FAST);
+            }
+
+            /**
+             * Creates a persistent cache provider. If the supplied file does not exist or does not represent a compatible cache,
+             * the cache provider starts empty.
+             *
+             * @param file       The file to which this cache is persisted.
+             * @param classPath  The jar files and folders from which class files are located.
+             * @param readerMode The reader mode that is used for parsing types that are persisted.
+             * @return An appropriate persistent cache provider.
+             * @throws IOException If the supplied file or class path cannot be read.
+             */
+            public static Persistent of(File file, List<? extends File> classPath, Default.ReaderMode readerMode) throws IOException {
+                return of(file, classPath, readerMode, false);
+            }
+
+            /**
+             * Creates a persistent cache provider for the types of the boot loader that uses a fast reader mode. If the supplied file
+             * does not exist or does not represent a compatible cache, the cache provider starts empty.
+             *
+             * @param file The file to which this cache is persisted.
+             * @return An appropriate persistent cache provider.
+             * @throws IOException If the supplied file cannot be read.
+             */
+            public static Persistent ofBootLoader(File file) throws IOException {
+                return ofBootLoader(file, Default.ReaderMode.FAST);
+            }
+
+            /**
+             * Creates a persistent cache provider for the types of the boot loader. If the supplied file does not exist or does not
+             * represent a compatible cache, the cache provider starts empty.
+             *
+             * @param file       The file to which this cache is persisted.
+             * @param readerMode The reader mode that is used for parsing types that are persisted.
+             * @return An appropriate persistent cache provider.
+             * @throws IOException If the supplied file cannot be read.
+             */
+            public static Persistent ofBootLoader(File file, Default.ReaderMode readerMode) throws IOException {
+                return of(file, Collections.<File>emptyList(), readerMode, true);
+            }
+
+            /**
+             * Creates a persistent cache provider. If the supplied file does not exist or does not represent a compatible cache,
+             * the cache provider starts empty.
+             *
+             * @param file       The file to which this cache is persisted.
+             * @param classPath  The jar files and folders from which class files are located.
+             * @param readerMode The reader mode that is used for parsing types that are persisted.
+             * @param bootLoader {@code true} if the types of the boot loader should be persisted, preceding the supplied class path.
+             * @return An appropriate persistent cache provider.
+             * @throws IOException If the supplied file or class path cannot be read.
+             */
+            public static Persistent of(File file, List<? extends File> classPath, Default.ReaderMode readerMode, boolean bootLoader) throws IOException {
+                List<Element> elements = new ArrayList<Element>(classPath.size() + 1);
+                if (bootLoader) {
+                    elements.add(new Element(new File(System.getProperty("java.home")),
+                            false,
+                            0L,
+                            0L,
+                            System.getProperty("java.runtime.version"),
+                            ClassFileLocator.ForClassLoader.ofBootLoader()));
+                }
+                try {
+                    for (File element : classPath) {
+                        elements.add(element.isDirectory()
+                                ? new Element(element, true, 0L, 0L, Element.NO_VERSION, new ClassFileLocator.ForFolder(element))
+                                : new Element(element, false, element.length(), element.lastModified(), Element.NO_VERSION, ClassFileLocator.ForJarFile.of(element)));
+                    }
+                } catch (IOException exception) {
+                    for (Element element : elements) {
+                        element.classFileLocator.close();
+                    }
+                    throw exception;
+                }
+                if (!file.isFile()) {
+                    return new Persistent(file, elements, readerMode, null, Collections.<String, Entry>emptyMap());
+                }
+                RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                ByteBuffer buffer;
+                try {
+                    FileChannel channel = randomAccessFile.getChannel();
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } finally {
+                    randomAccessFile.close();
+                }
+                Map<String, Entry> index = new HashMap<String, Entry>();
+                try {
+                    ByteBuffer header = buffer.duplicate();
+                    DataInputStream inputStream = new DataInputStream(new ByteBufferInputStream(header));
+                    if (inputStream.readInt() == MAGIC
+                            && inputStream.readInt() == VERSION
+                            && inputStream.readUTF().equals(readerMode.name())
+                            && isUnchanged(inputStream, elements)) {
+                        int size = inputStream.readInt();
+                        for (int entry = 0; entry < size; entry++) {
+                            String name = inputStream.readUTF();
+                            int origin = inputStream.readInt();
+                            long length = inputStream.readLong(), lastModified = inputStream.readLong();
+                            int payload = inputStream.readInt();
+                            index.put(name, new Entry(origin, length, lastModified, header.position(), payload));
+                            if (inputStream.skipBytes(payload) != payload) {
+                                throw new EOFException();
+                            }
+                        }
+                    }
+                } catch (IOException ignored) {
+                    index.clear();
+                }
+                return new Persistent(file, elements, readerMode, buffer, index);
+            }
+
+            /**
+             * Reads the persisted class path and determines if it is equal to the supplied class path. Additionally, any element that
+             * represents a jar file is marked as changed if its size or last modification time differs from the persisted values and
+             * an element that represents the boot loader is marked as changed if the runtime version differs from the persisted value.
+             *
+             * @param inputStream The input stream to read the persisted class path from.
+             * @param classPath   The current class path.
+             * @return {@code true} if the persisted class path is equal to the supplied class path.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static boolean isUnchanged(DataInputStream inputStream, List<Element> classPath) throws IOException {
+                if (inputStream.readInt() != classPath.size()) {
+                    return false;
+                }
+                for (Element element : classPath) {
+                    String path = inputStream.readUTF();
+                    boolean folder = inputStream.readBoolean();
+                    long length = inputStream.readLong(), lastModified = inputStream.readLong();
+                    String version = readString(inputStream);
+                    if (!path.equals(element.file.getAbsolutePath()) || folder != element.folder || (version == null) != (element.version == null)) {
+                        return false;
+                    }
+                    element.changed = !folder && (length != element.length
+                            || lastModified != element.lastModified
+                            || version != null && !version.equals(element.version));
+                }
+                return true;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution find(String name) {
+                Resolution resolution = storage.get(name);
+                if (resolution == null) {
+                    Entry entry = index.get(name);
+                    if (entry != null && !outdated.containsKey(name)) {
+                        TypeDescription typeDescription = resolve(name, entry);
+                        if (typeDescription == null) {
+                            outdated.put(name, Boolean.TRUE);
+                        } else {
+                            resolution = register(name, new Resolution.Simple(typeDescription));
+                        }
+                    }
+                }
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                Resolution cached = storage.putIfAbsent(name, resolution);
+                return cached == null
+                        ? resolution
+                        : cached;
+            }
+
+            /**
+             * Clears the resolutions that are cached in memory. Types that are persisted remain available.
+             */
+            public void clear() {
+                storage.clear();
+            }
+
+            /**
+             * Returns the class file locator of this cache provider's class path.
+             *
+             * @return The class file locator of this cache provider's class path.
+             */
+            public ClassFileLocator getClassFileLocator() {
+                return classFileLocator;
+            }
+
+            /**
+             * Writes all persisted types that are still valid and all resolved types that are cached in memory to this cache's file.
+             * The file is replaced only after all types were written successfully. A cache provider does not read types that it
+             * persisted itself but only types that were persisted when it was created.
+             *
+             * @throws IOException If the cache cannot be persisted.
+             */
+            public void persist() throws IOException {
+                lock.readLock().lock();
+                try {
+                    if (closed) {
+                        throw new IOException("Cannot persist closed cache provider for " + file);
+                    }
+                    Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+                    for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                        if (!outdated.containsKey(entry.getKey()) && isValid(entry.getKey(), entry.getValue())) {
+                            entries.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    Map<String, byte[]> payloads = new LinkedHashMap<String, byte[]>();
+                    for (Map.Entry<String, Resolution> entry : storage.entrySet()) {
+                        if (!entries.containsKey(entry.getKey()) && entry.getValue().isResolved()) {
+                            for (int origin = 0; origin < classPath.size(); origin++) {
+                                Element element = classPath.get(origin);
+                                ClassFileLocator.Resolution resolution = element.classFileLocator.locate(entry.getKey());
+                                if (resolution.isResolved()) {
+                                    byte[] payload;
+                                    try {
+                                        payload = encode((Default.LazyTypeDescription) typePool.parse(resolution.resolve()));
+                                    } catch (RuntimeException ignored) {
+                                        break; // Types with unresolvable annotation properties are not persisted.
+                                    }
+                                    File classFile = element.toClassFile(entry.getKey());
+                                    entries.put(entry.getKey(), element.folder
+                                            ? new Entry(origin, classFile.length(), classFile.lastModified(), NO_VALUE, payload.length)
+                                            : new Entry(origin, element.length, element.lastModified, NO_VALUE, payload.length));
+                                    payloads.put(entry.getKey(), payload);
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    File temporary = new File(file.getPath() + TEMPORARY_SUFFIX);
+                    DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                    try {
+                        outputStream.writeInt(MAGIC);
+                        outputStream.writeInt(VERSION);
+                        outputStream.writeUTF(readerMode.name());
+                        outputStream.writeInt(classPath.size());
+                        for (Element element : classPath) {
+                            outputStream.writeUTF(element.file.getAbsolutePath());
+                            outputStream.writeBoolean(element.folder);
+                            outputStream.writeLong(element.length);
+                            outputStream.writeLong(element.lastModified);
+                            writeString(outputStream, element.version);
+                        }
+                        outputStream.writeInt(entries.size());
+                        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                            outputStream.writeUTF(entry.getKey());
+                            outputStream.writeInt(entry.getValue().origin);
+                            outputStream.writeLong(entry.getValue().length);
+                            outputStream.writeLong(entry.getValue().lastModified);
+                            outputStream.writeInt(entry.getValue().payload);
+                            byte[] payload = payloads.get(entry.getKey());
+                            if (payload == null) {
+                                ByteBuffer buffer = this.buffer.duplicate();
+                                buffer.position(entry.getValue().position);
+                                buffer.limit(entry.getValue().position + entry.getValue().payload);
+                                payload = new byte[entry.getValue().payload];
+                                buffer.get(payload);
+                            }
+                            outputStream.write(payload);
+                        }
+                    } finally {
+                        outputStream.close();
+                    }
+                    if (!temporary.renameTo(file) && (!file.delete() || !temporary.renameTo(file))) {
+                        throw new IOException("Cannot replace " + file + " with " + temporary);
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            /**
+             * Releases the mapped cache file and closes the jar files of this cache provider's class path. Types that are cached in
+             * memory remain available but persisted types can no longer be resolved and this cache provider can no longer be persisted.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            public void close() throws IOException {
+                lock.writeLock().lock();
+                try {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    if (buffer != null) {
+                        UNMAPPER.unmap(buffer);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                classFileLocator.close();
+            }
+
+            /**
+             * Resolves a persisted type if its class file is unchanged.
+             *
+             * @param name  The name of the persisted type.
+             * @param entry The entry of the persisted type.
+             * @return A description of the persisted type or {@code null} if its class file has changed or if this provider is closed.
+             */
+            private TypeDescription resolve(String name, Entry entry) {
+                if (!isValid(name, entry)) {
+                    return null;
+                }
+                lock.readLock().lock();
+                try {
+                    if (closed) {
+                        return null;
+                    }
+                    ByteBuffer buffer = this.buffer.duplicate();
+                    buffer.position(entry.position);
+                    buffer.limit(entry.position + entry.payload);
+                    return decode(typePool, new DataInputStream(new ByteBufferInputStream(buffer)));
+                } catch (IOException exception) {
+                    throw new IllegalStateException("Error while reading persisted type " + name, exception);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            /**
+             * Determines if a persisted type is still valid by only considering file metadata. A type is valid if no folder that precedes
+             * its origin contains a class file of the type, if no jar file or runtime that precedes its origin was changed and if the size
+             * and last modification time of its origin's class file or jar file, or the version of its origin's runtime, are unchanged.
+             *
+             * @param name  The name of the persisted type.
+             * @param entry The entry of the persisted type.
+             * @return {@code true} if the persisted type is still valid.
+             */
+            private boolean isValid(String name, Entry entry) {
+                if (entry.origin >= classPath.size()) {
+                    return false;
+                }
+                for (int index = 0; index < entry.origin; index++) {
+                    Element element = classPath.get(index);
+                    if (element.folder ? element.toClassFile(name).exists() : element.changed) {
+                        return false;
+                    }
+                }
+                Element element = classPath.get(entry.origin);
+                if (element.folder) {
+                    File classFile = element.toClassFile(name);
+                    return classFile.length() == entry.length && classFile.lastModified() == entry.lastModified;
+                } else {
+                    return !element.changed && element.length == entry.length && element.lastModified == entry.lastModified;
+                }
+            }
+
+            /**
+             * Encodes a lazy type description.
+             *
+             * @param typeDescription The type description to encode.
+             * @return The encoded type description.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static byte[] encode(Default.LazyTypeDescription typeDescription) throws IOException {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                DataOutputStream output = new DataOutputStream(outputStream);
+                output.writeInt(typeDescription.actualModifiers);
+                output.writeInt(typeDescription.modifiers);
+                output.writeUTF(typeDescription.name);
+                writeString(output, typeDescription.superClassDescriptor);
+                writeStrings(output, typeDescription.interfaceTypeDescriptors);
+                writeString(output, typeDescription.genericSignature);
+                if (typeDescription.typeContainment instanceof Default.LazyTypeDescription.TypeContainment.WithinMethod) {
+                    Default.LazyTypeDescription.TypeContainment.WithinMethod typeContainment = (Default.LazyTypeDescription.TypeContainment.WithinMethod) typeDescription.typeContainment;
+                    output.writeByte(WITHIN_METHOD);
+                    output.writeUTF(typeContainment.name);
+                    output.writeUTF(typeContainment.methodName);
+                    output.writeUTF(typeContainment.methodDescriptor);
+                } else if (typeDescription.typeContainment instanceof Default.LazyTypeDescription.TypeContainment.WithinType) {
+                    Default.LazyTypeDescription.TypeContainment.WithinType typeContainment = (Default.LazyTypeDescription.TypeContainment.WithinType) typeDescription.typeContainment;
+                    output.writeByte(WITHIN_TYPE);
+                    output.writeUTF(typeContainment.name);
+                    output.writeBoolean(typeContainment.localType);
+                } else {
+                    output.writeByte(SELF_CONTAINED);
+                }
+                writeString(output, typeDescription.declaringTypeName);
+                writeStrings(output, typeDescription.declaredTypes);
+                output.writeBoolean(typeDescription.anonymousType);
+                writeString(output, typeDescription.nestHost);
+                writeStrings(output, typeDescription.nestMembers);
+                writeIndexedTypeAnnotationTokens(output, typeDescription.superTypeAnnotationTokens);
+                writeIndexedTypeAnnotationTokens(output, typeDescription.typeVariableAnnotationTokens);
+                writeDoublyIndexedTypeAnnotationTokens(output, typeDescription.typeVariableBoundsAnnotationTokens);
+                writeAnnotationTokens(output, typeDescription.annotationTokens);
+                output.writeInt(typeDescription.fieldTokens.size());
+                for (Default.LazyTypeDescription.FieldToken fieldToken : typeDescription.fieldTokens) {
+                    output.writeUTF(fieldToken.name);
+                    output.writeInt(fieldToken.modifiers);
+                    output.writeUTF(fieldToken.descriptor);
+                    writeString(output, fieldToken.genericSignature);
+                    writeTypeAnnotationTokens(output, fieldToken.typeAnnotationTokens);
+                    writeAnnotationTokens(output, fieldToken.annotationTokens);
+                }
+                output.writeInt(typeDescription.methodTokens.size());
+                for (Default.LazyTypeDescription.MethodToken methodToken : typeDescription.methodTokens) {
+                    output.writeUTF(methodToken.name);
+                    output.writeInt(methodToken.modifiers);
+                    output.writeUTF(methodToken.descriptor);
+                    writeString(output, methodToken.genericSignature);
+                    writeStrings(output, methodToken.exceptionName == null
+                            ? null
+                            : Arrays.asList(methodToken.exceptionName));
+                    writeIndexedTypeAnnotationTokens(output, methodToken.typeVariableAnnotationTokens);
+                    writeDoublyIndexedTypeAnnotationTokens(output, methodToken.typeVariableBoundAnnotationTokens);
+                    writeTypeAnnotationTokens(output, methodToken.returnTypeAnnotationTokens);
+                    writeIndexedTypeAnnotationTokens(output, methodToken.parameterTypeAnnotationTokens);
+                    writeIndexedTypeAnnotationTokens(output, methodToken.exceptionTypeAnnotationTokens);
+                    writeTypeAnnotationTokens(output, methodToken.receiverTypeAnnotationTokens);
+                    writeAnnotationTokens(output, methodToken.annotationTokens);
+                    output.writeInt(methodToken.parameterAnnotationTokens.size());
+                    for (Map.Entry<Integer, List<Default.LazyTypeDescription.AnnotationToken>> entry : methodToken.parameterAnnotationTokens.entrySet()) {
+                        output.writeInt(entry.getKey());
+                        writeAnnotationTokens(output, entry.getValue());
+                    }
+                    output.writeInt(methodToken.parameterTokens.size());
+                    for (Default.LazyTypeDescription.MethodToken.ParameterToken parameterToken : methodToken.parameterTokens) {
+                        writeString(output, parameterToken.getName());
+                        output.writeInt(parameterToken.getModifiers() == null
+                                ? NO_VALUE
+                                : parameterToken.getModifiers());
+                    }
+                    output.writeBoolean(methodToken.defaultValue != null);
+                    if (methodToken.defaultValue != null) {
+                        writeAnnotationValue(output, methodToken.defaultValue);
+                    }
+                }
+                output.writeInt(typeDescription.recordComponentTokens.size());
+                for (Default.LazyTypeDescription.RecordComponentToken recordComponentToken : typeDescription.recordComponentTokens) {
+                    output.writeUTF(recordComponentToken.name);
+                    output.writeUTF(recordComponentToken.descriptor);
+                    writeString(output, recordComponentToken.genericSignature);
+                    writeTypeAnnotationTokens(output, recordComponentToken.typeAnnotationTokens);
+                    writeAnnotationTokens(output, recordComponentToken.annotationTokens);
+                }
+                writeStrings(output, typeDescription.permittedSubclasses);
+                output.close();
+                return outputStream.toByteArray();
+            }
+
+            /**
+             * Decodes a lazy type description.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read the encoded type description from.
+             * @return The decoded type description.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static TypeDescription decode(TypePool typePool, DataInput input) throws IOException {
+                int actualModifiers = input.readInt(), modifiers = input.readInt();
+                String name = input.readUTF().replace('.', '/'), superClassDescriptor = readString(input);
+                List<String> interfaceTypeDescriptors = readStrings(input);
+                String[] interfaceInternalName = new String[interfaceTypeDescriptors.size()];
+                for (int index = 0; index < interfaceInternalName.length; index++) {
+                    interfaceInternalName[index] = Type.getType(interfaceTypeDescriptors.get(index)).getInternalName();
+                }
+                String genericSignature = readString(input);
+                Default.LazyTypeDescription.TypeContainment typeContainment;
+                switch (input.readByte()) {
+                    case WITHIN_METHOD:
+                        typeContainment = new Default.LazyTypeDescription.TypeContainment.WithinMethod(input.readUTF(), input.readUTF(), input.readUTF());
+                        break;
+                    case WITHIN_TYPE:
+                        typeContainment = new Default.LazyTypeDescription.TypeContainment.WithinType(input.readUTF(), input.readBoolean());
+                        break;
+                    case SELF_CONTAINED:
+                        typeContainment = Default.LazyTypeDescription.TypeContainment.SelfContained.INSTANCE;
+                        break;
+                    default:
+                        throw new IOException("Unexpected type containment for " + name);
+                }
+                String declaringTypeName = readString(input);
+                List<String> declaredTypes = readStrings(input);
+                boolean anonymousType = input.readBoolean();
+                String nestHost = readString(input);
+                List<String> nestMembers = readStrings(input);
+                for (int index = 0; index < nestMembers.size(); index++) {
+                    nestMembers.set(index, nestMembers.get(index).replace('.', '/'));
+                }
+                Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> superTypeAnnotationTokens = readIndexedTypeAnnotationTokens(typePool, input);
+                Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> typeVariableAnnotationTokens = readIndexedTypeAnnotationTokens(typePool, input);
+                Map<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> typeVariableBoundsAnnotationTokens = readDoublyIndexedTypeAnnotationTokens(typePool, input);
+                List<Default.LazyTypeDescription.AnnotationToken> annotationTokens = readAnnotationTokens(typePool, input);
+                int fields = input.readInt();
+                List<Default.LazyTypeDescription.FieldToken> fieldTokens = new ArrayList<Default.LazyTypeDescription.FieldToken>(fields);
+                for (int field = 0; field < fields; field++) {
+                    fieldTokens.add(new Default.LazyTypeDescription.FieldToken(input.readUTF(),
+                            input.readInt(),
+                            input.readUTF(),
+                            readString(input),
+                            readTypeAnnotationTokens(typePool, input),
+                            readAnnotationTokens(typePool, input)));
+                }
+                int methods = input.readInt();
+                List<Default.LazyTypeDescription.MethodToken> methodTokens = new ArrayList<Default.LazyTypeDescription.MethodToken>(methods);
+                for (int method = 0; method < methods; method++) {
+                    String methodName = input.readUTF();
+                    int methodModifiers = input.readInt();
+                    String descriptor = input.readUTF(), methodGenericSignature = readString(input);
+                    List<String> exceptionNames = readStrings(input);
+                    Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> methodTypeVariableAnnotationTokens = readIndexedTypeAnnotationTokens(typePool, input);
+                    Map<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> typeVariableBoundAnnotationTokens = readDoublyIndexedTypeAnnotationTokens(typePool, input);
+                    Map<String, List<Default.LazyTypeDescription.AnnotationToken>> returnTypeAnnotationTokens = readTypeAnnotationTokens(typePool, input);
+                    Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> parameterTypeAnnotationTokens = readIndexedTypeAnnotationTokens(typePool, input);
+                    Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> exceptionTypeAnnotationTokens = readIndexedTypeAnnotationTokens(typePool, input);
+                    Map<String, List<Default.LazyTypeDescription.AnnotationToken>> receiverTypeAnnotationTokens = readTypeAnnotationTokens(typePool, input);
+                    List<Default.LazyTypeDescription.AnnotationToken> methodAnnotationTokens = readAnnotationTokens(typePool, input);
+                    int parameters = input.readInt();
+                    Map<Integer, List<Default.LazyTypeDescription.AnnotationToken>> parameterAnnotationTokens = new HashMap<Integer, List<Default.LazyTypeDescription.AnnotationToken>>();
+                    for (int parameter = 0; parameter < parameters; parameter++) {
+                        parameterAnnotationTokens.put(input.readInt(), readAnnotationTokens(typePool, input));
+                    }
+                    parameters = input.readInt();
+                    List<Default.LazyTypeDescription.MethodToken.ParameterToken> parameterTokens = new ArrayList<Default.LazyTypeDescription.MethodToken.ParameterToken>(parameters);
+                    for (int parameter = 0; parameter < parameters; parameter++) {
+                        String parameterName = readString(input);
+                        int parameterModifiers = input.readInt();
+                        parameterTokens.add(new Default.LazyTypeDescription.MethodToken.ParameterToken(parameterName, parameterModifiers == NO_VALUE
+                                ? Default.LazyTypeDescription.MethodToken.ParameterToken.NO_MODIFIERS
+                                : Integer.valueOf(parameterModifiers)));
+                    }
+                    methodTokens.add(new Default.LazyTypeDescription.MethodToken(methodName,
+                            methodModifiers,
+                            descriptor,
+                            methodGenericSignature,
+                            exceptionNames == null ? null : exceptionNames.toArray(new String[exceptionNames.size()]),
+                            methodTypeVariableAnnotationTokens,
+                            typeVariableBoundAnnotationTokens,
+                            returnTypeAnnotationTokens,
+                            parameterTypeAnnotationTokens,
+                            exceptionTypeAnnotationTokens,
+                            receiverTypeAnnotationTokens,
+                            methodAnnotationTokens,
+                            parameterAnnotationTokens,
+                            parameterTokens,
+                            input.readBoolean() ? readAnnotationValue(typePool, input) : null));
+                }
+                int recordComponents = input.readInt();
+                List<Default.LazyTypeDescription.RecordComponentToken> recordComponentTokens = new ArrayList<Default.LazyTypeDescription.RecordComponentToken>(recordComponents);
+                for (int recordComponent = 0; recordComponent < recordComponents; recordComponent++) {
+                    recordComponentTokens.add(new Default.LazyTypeDescription.RecordComponentToken(input.readUTF(),
+                            input.readUTF(),
+                            readString(input),
+                            readTypeAnnotationTokens(typePool, input),
+                            readAnnotationTokens(typePool, input)));
+                }
+                List<String> permittedSubclasses = readStrings(input);
+                for (int index = 0; index < permittedSubclasses.size(); index++) {
+                    permittedSubclasses.set(index, Type.getType(permittedSubclasses.get(index)).getInternalName());
+                }
+                return new Default.LazyTypeDescription(typePool,
+                        actualModifiers,
+                        modifiers,
+                        name,
+                        superClassDescriptor == null ? null : Type.getType(superClassDescriptor).getInternalName(),
+                        interfaceInternalName,
+                        genericSignature,
+                        typeContainment,
+                        declaringTypeName,
+                        declaredTypes,
+                        anonymousType,
+                        nestHost == null ? null : nestHost.replace('.', '/'),
+                        nestMembers,
+                        superTypeAnnotationTokens,
+                        typeVariableAnnotationTokens,
+                        typeVariableBoundsAnnotationTokens,
+                        annotationTokens,
+                        fieldTokens,
+                        methodTokens,
+                        recordComponentTokens,
+                        permittedSubclasses);
+            }
+
+            /**
+             * Writes a string that might be {@code null}.
+             *
+             * @param output The output to write to.
+             * @param value  The value to write or {@code null}.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeString(DataOutput output, String value) throws IOException {
+                output.writeBoolean(value != null);
+                if (value != null) {
+                    output.writeUTF(value);
+                }
+            }
+
+            /**
+             * Reads a string that might be {@code null}.
+             *
+             * @param input The input to read from.
+             * @return The value that was read or {@code null}.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static String readString(DataInput input) throws IOException {
+                return input.readBoolean()
+                        ? input.readUTF()
+                        : null;
+            }
+
+            /**
+             * Writes a list of strings that might be {@code null}.
+             *
+             * @param output The output to write to.
+             * @param values The values to write or {@code null}.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeStrings(DataOutput output, List<String> values) throws IOException {
+                if (values == null) {
+                    output.writeInt(NO_VALUE);
+                } else {
+                    output.writeInt(values.size());
+                    for (String value : values) {
+                        output.writeUTF(value);
+                    }
+                }
+            }
+
+            /**
+             * Reads a list of strings that might be {@code null}.
+             *
+             * @param input The input to read from.
+             * @return The values that were read or {@code null}.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static List<String> readStrings(DataInput input) throws IOException {
+                int size = input.readInt();
+                if (size == NO_VALUE) {
+                    return null;
+                }
+                List<String> values = new ArrayList<String>(size);
+                for (int index = 0; index < size; index++) {
+                    values.add(input.readUTF());
+                }
+                return values;
+            }
+
+            /**
+             * Writes a list of annotation tokens.
+             *
+             * @param output           The output to write to.
+             * @param annotationTokens The annotation tokens to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeAnnotationTokens(DataOutput output, List<Default.LazyTypeDescription.AnnotationToken> annotationTokens) throws IOException {
+                output.writeInt(annotationTokens.size());
+                for (Default.LazyTypeDescription.AnnotationToken annotationToken : annotationTokens) {
+                    writeAnnotationToken(output, annotationToken);
+                }
+            }
+
+            /**
+             * Reads a list of annotation tokens.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The annotation tokens that were read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static List<Default.LazyTypeDescription.AnnotationToken> readAnnotationTokens(TypePool typePool, DataInput input) throws IOException {
+                int size = input.readInt();
+                List<Default.LazyTypeDescription.AnnotationToken> annotationTokens = new ArrayList<Default.LazyTypeDescription.AnnotationToken>(size);
+                for (int index = 0; index < size; index++) {
+                    annotationTokens.add(readAnnotationToken(typePool, input));
+                }
+                return annotationTokens;
+            }
+
+            /**
+             * Writes a mapping of type paths to type annotation tokens.
+             *
+             * @param output               The output to write to.
+             * @param typeAnnotationTokens The type annotation tokens to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeTypeAnnotationTokens(DataOutput output, Map<String, List<Default.LazyTypeDescription.AnnotationToken>> typeAnnotationTokens) throws IOException {
+                output.writeInt(typeAnnotationTokens.size());
+                for (Map.Entry<String, List<Default.LazyTypeDescription.AnnotationToken>> entry : typeAnnotationTokens.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    writeAnnotationTokens(output, entry.getValue());
+                }
+            }
+
+            /**
+             * Reads a mapping of type paths to type annotation tokens.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The type annotation tokens that were read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static Map<String, List<Default.LazyTypeDescription.AnnotationToken>> readTypeAnnotationTokens(TypePool typePool, DataInput input) throws IOException {
+                int size = input.readInt();
+                Map<String, List<Default.LazyTypeDescription.AnnotationToken>> typeAnnotationTokens = new HashMap<String, List<Default.LazyTypeDescription.AnnotationToken>>();
+                for (int index = 0; index < size; index++) {
+                    typeAnnotationTokens.put(input.readUTF(), readAnnotationTokens(typePool, input));
+                }
+                return typeAnnotationTokens;
+            }
+
+            /**
+             * Writes an indexed mapping of type paths to type annotation tokens.
+             *
+             * @param output               The output to write to.
+             * @param typeAnnotationTokens The type annotation tokens to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeIndexedTypeAnnotationTokens(DataOutput output,
+                                                                 Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> typeAnnotationTokens) throws IOException {
+                output.writeInt(typeAnnotationTokens.size());
+                for (Map.Entry<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> entry : typeAnnotationTokens.entrySet()) {
+                    output.writeInt(entry.getKey());
+                    writeTypeAnnotationTokens(output, entry.getValue());
+                }
+            }
+
+            /**
+             * Reads an indexed mapping of type paths to type annotation tokens.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The type annotation tokens that were read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> readIndexedTypeAnnotationTokens(TypePool typePool,
+                                                                                                                                   DataInput input) throws IOException {
+                int size = input.readInt();
+                Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>> typeAnnotationTokens = new HashMap<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>();
+                for (int index = 0; index < size; index++) {
+                    typeAnnotationTokens.put(input.readInt(), readTypeAnnotationTokens(typePool, input));
+                }
+                return typeAnnotationTokens;
+            }
+
+            /**
+             * Writes a doubly indexed mapping of type paths to type annotation tokens.
+             *
+             * @param output               The output to write to.
+             * @param typeAnnotationTokens The type annotation tokens to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeDoublyIndexedTypeAnnotationTokens(DataOutput output,
+                                                                       Map<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> typeAnnotationTokens) throws IOException {
+                output.writeInt(typeAnnotationTokens.size());
+                for (Map.Entry<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> entry : typeAnnotationTokens.entrySet()) {
+                    output.writeInt(entry.getKey());
+                    writeIndexedTypeAnnotationTokens(output, entry.getValue());
+                }
+            }
+
+            /**
+             * Reads a doubly indexed mapping of type paths to type annotation tokens.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The type annotation tokens that were read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static Map<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> readDoublyIndexedTypeAnnotationTokens(TypePool typePool,
+                                                                                                                                                         DataInput input) throws IOException {
+                int size = input.readInt();
+                Map<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>> typeAnnotationTokens = new HashMap<Integer, Map<Integer, Map<String, List<Default.LazyTypeDescription.AnnotationToken>>>>();
+                for (int index = 0; index < size; index++) {
+                    typeAnnotationTokens.put(input.readInt(), readIndexedTypeAnnotationTokens(typePool, input));
+                }
+                return typeAnnotationTokens;
+            }
+
+            /**
+             * Writes an annotation token.
+             *
+             * @param output          The output to write to.
+             * @param annotationToken The annotation token to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeAnnotationToken(DataOutput output, Default.LazyTypeDescription.AnnotationToken annotationToken) throws IOException {
+                output.writeUTF(annotationToken.descriptor);
+                output.writeInt(annotationToken.getValues().size());
+                for (Map.Entry<String, AnnotationValue<?, ?>> entry : annotationToken.getValues().entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    writeAnnotationValue(output, entry.getValue());
+                }
+            }
+
+            /**
+             * Reads an annotation token.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The annotation token that was read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static Default.LazyTypeDescription.AnnotationToken readAnnotationToken(TypePool typePool, DataInput input) throws IOException {
+                String descriptor = input.readUTF();
+                int size = input.readInt();
+                Map<String, AnnotationValue<?, ?>> values = new HashMap<String, AnnotationValue<?, ?>>();
+                for (int index = 0; index < size; index++) {
+                    values.put(input.readUTF(), readAnnotationValue(typePool, input));
+                }
+                return new Default.LazyTypeDescription.AnnotationToken(descriptor, values);
+            }
+
+            /**
+             * Writes an annotation value.
+             *
+             * @param output          The output to write to.
+             * @param annotationValue The annotation value to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeAnnotationValue(DataOutput output, AnnotationValue<?, ?> annotationValue) throws IOException {
+                if (annotationValue instanceof AnnotationValue.ForConstant) {
+                    output.writeByte(CONSTANT);
+                    writeConstant(output, annotationValue.resolve());
+                } else if (annotationValue instanceof Default.LazyTypeDescription.LazyAnnotationValue.ForTypeValue) {
+                    output.writeByte(TYPE);
+                    output.writeUTF(((Default.LazyTypeDescription.LazyAnnotationValue.ForTypeValue) annotationValue).typeName);
+                } else if (annotationValue instanceof Default.LazyTypeDescription.LazyAnnotationValue.ForEnumerationValue) {
+                    output.writeByte(ENUMERATION);
+                    output.writeUTF(((Default.LazyTypeDescription.LazyAnnotationValue.ForEnumerationValue) annotationValue).typeName);
+                    output.writeUTF(((Default.LazyTypeDescription.LazyAnnotationValue.ForEnumerationValue) annotationValue).value);
+                } else if (annotationValue instanceof Default.LazyTypeDescription.LazyAnnotationValue.ForAnnotationValue) {
+                    output.writeByte(ANNOTATION);
+                    writeAnnotationToken(output, ((Default.LazyTypeDescription.LazyAnnotationValue.ForAnnotationValue) annotationValue).annotationToken);
+                } else if (annotationValue instanceof Default.LazyTypeDescription.LazyAnnotationValue.ForNonPrimitiveArray) {
+                    output.writeByte(ARRAY);
+                    output.writeUTF(((Default.LazyTypeDescription.LazyAnnotationValue.ForNonPrimitiveArray) annotationValue).componentTypeReference.lookup());
+                    List<AnnotationValue<?, ?>> values = ((Default.LazyTypeDescription.LazyAnnotationValue.ForNonPrimitiveArray) annotationValue).values;
+                    output.writeInt(values.size());
+                    for (AnnotationValue<?, ?> value : values) {
+                        writeAnnotationValue(output, value);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Cannot persist annotation value: " + annotationValue);
+                }
+            }
+
+            /**
+             * Reads an annotation value.
+             *
+             * @param typePool The type pool to use for looking up referenced types.
+             * @param input    The input to read from.
+             * @return The annotation value that was read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static AnnotationValue<?, ?> readAnnotationValue(TypePool typePool, DataInput input) throws IOException {
+                switch (input.readByte()) {
+                    case CONSTANT:
+                        return AnnotationValue.ForConstant.of(readConstant(input));
+                    case TYPE:
+                        return new Default.LazyTypeDescription.LazyAnnotationValue.ForTypeValue(typePool, input.readUTF());
+                    case ENUMERATION:
+                        return new Default.LazyTypeDescription.LazyAnnotationValue.ForEnumerationValue(typePool, input.readUTF(), input.readUTF());
+                    case ANNOTATION:
+                        return new Default.LazyTypeDescription.LazyAnnotationValue.ForAnnotationValue(typePool, readAnnotationToken(typePool, input));
+                    case ARRAY:
+                        String componentType = input.readUTF();
+                        int size = input.readInt();
+                        List<AnnotationValue<?, ?>> values = new ArrayList<AnnotationValue<?, ?>>(size);
+                        for (int index = 0; index < size; index++) {
+                            values.add(readAnnotationValue(typePool, input));
+                        }
+                        return new Default.LazyTypeDescription.LazyAnnotationValue.ForNonPrimitiveArray(typePool,
+                                new Default.ComponentTypeLocator.ForArrayType("()[L" + componentType.replace('.', '/') + ";"),
+                                values);
+                    default:
+                        throw new IOException("Unexpected annotation value tag");
+                }
+            }
+
+            /**
+             * Writes a constant annotation value.
+             *
+             * @param output The output to write to.
+             * @param value  The constant value to write.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void writeConstant(DataOutput output, Object value) throws IOException {
+                if (value instanceof Boolean) {
+                    output.writeByte('Z');
+                    output.writeBoolean((Boolean) value);
+                } else if (value instanceof Byte) {
+                    output.writeByte('B');
+                    output.writeByte((Byte) value);
+                } else if (value instanceof Short) {
+                    output.writeByte('S');
+                    output.writeShort((Short) value);
+                } else if (value instanceof Character) {
+                    output.writeByte('C');
+                    output.writeChar((Character) value);
+                } else if (value instanceof Integer) {
+                    output.writeByte('I');
+                    output.writeInt((Integer) value);
+                } else if (value instanceof Long) {
+                    output.writeByte('J');
+                    output.writeLong((Long) value);
+                } else if (value instanceof Float) {
+                    output.writeByte('F');
+                    output.writeFloat((Float) value);
+                } else if (value instanceof Double) {
+                    output.writeByte('D');
+                    output.writeDouble((Double) value);
+                } else if (value instanceof String) {
+                    output.writeByte('s');
+                    output.writeUTF((String) value);
+                } else if (value != null && value.getClass().isArray()) {
+                    output.writeByte('[');
+                    output.writeUTF(Type.getDescriptor(value.getClass().getComponentType()));
+                    int length = Array.getLength(value);
+                    output.writeInt(length);
+                    for (int index = 0; index < length; index++) {
+                        writeConstant(output, Array.get(value, index));
+                    }
+                } else {
+                    throw new IllegalArgumentException("Cannot persist constant: " + value);
+                }
+            }
+
+            /**
+             * Reads a constant annotation value.
+             *
+             * @param input The input to read from.
+             * @return The constant value that was read.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static Object readConstant(DataInput input) throws IOException {
+                switch (input.readByte()) {
+                    case 'Z':
+                        return input.readBoolean();
+                    case 'B':
+                        return input.readByte();
+                    case 'S':
+                        return input.readShort();
+                    case 'C':
+                        return input.readChar();
+                    case 'I':
+                        return input.readInt();
+                    case 'J':
+                        return input.readLong();
+                    case 'F':
+                        return input.readFloat();
+                    case 'D':
+                        return input.readDouble();
+                    case 's':
+                        return input.readUTF();
+                    case '[':
+                        Object array = Array.newInstance(toComponentType(Type.getType(input.readUTF())), input.readInt());
+                        for (int index = 0; index < Array.getLength(array); index++) {
+                            Array.set(array, index, readConstant(input));
+                        }
+                        return array;
+                    default:
+                        throw new IOException("Unexpected constant tag");
+                }
+            }
+
+            /**
+             * Resolves the component type of a constant annotation array value.
+             *
+             * @param componentType The component type's representation.
+             * @return The component type's class.
+             */
+            private static Class<?> toComponentType(Type componentType) {
+                switch (componentType.getSort()) {
+                    case Type.BOOLEAN:
+                        return boolean.class;
+                    case Type.BYTE:
+                        return byte.class;
+                    case Type.SHORT:
+                        return short.class;
+                    case Type.CHAR:
+                        return char.class;
+                    case Type.INT:
+                        return int.class;
+                    case Type.LONG:
+                        return long.class;
+                    case Type.FLOAT:
+                        return float.class;
+                    case Type.DOUBLE:
+                        return double.class;
+                    default:
+                        return String.class;
+                }
+            }
+
+            /**
+             * An entry of a persisted type within a cache file.
+             */
+            protected static class Entry {
+
+                /**
+                 * The index of the class path element from which the persisted type was located.
+                 */
+                private final int origin;
+
+                /**
+                 * The size of the persisted type's class file or jar file.
+                 */
+                private final long length;
+
+                /**
+                 * The last modification time of the persisted type's class file or jar file.
+                 */
+                private final long lastModified;
+
+                /**
+                 * The position of the persisted type within the cache file.
+                 */
+                private final int position;
+
+                /**
+                 * The length of the persisted type within the cache file.
+                 */
+                private final int payload;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param origin       The index of the class path element from which the persisted type was located.
+                 * @param length       The size of the persisted type's class file or jar file.
+                 * @param lastModified The last modification time of the persisted type's class file or jar file.
+                 * @param position     The position of the persisted type within the cache file.
+                 * @param payload      The length of the persisted type within the cache file.
+                 */
+                protected Entry(int origin, long length, long lastModified, int position, int payload) {
+                    this.origin = origin;
+                    this.length = length;
+                    this.lastModified = lastModified;
+                    this.position = position;
+                    this.payload = payload;
+                }
+            }
+
+            /**
+             * An element of a persistent cache provider's class path.
+             */
+            protected static class Element {
+
+                /**
+                 * Indicates that an element does not represent a runtime and does not define a version.
+                 */
+                protected static final String NO_VERSION = null;
+
+                /**
+                 * The jar file or folder that this element represents or the home folder of the represented runtime.
+                 */
+                private final File file;
+
+                /**
+                 * {@code true} if this element represents a folder.
+                 */
+                private final boolean folder;
+
+                /**
+                 * The size of the represented jar file or {@code 0} for a folder or runtime.
+                 */
+                private final long length;
+
+                /**
+                 * The last modification time of the represented jar file or {@code 0} for a folder or runtime.
+                 */
+                private final long lastModified;
+
+                /**
+                 * The version of the represented runtime or {@code null} if this element does not represent a runtime.
+                 */
+                private final String version;
+
+                /**
+                 * The class file locator for this element.
+                 */
+                private final ClassFileLocator classFileLocator;
+
+                /**
+                 * {@code true} if the represented jar file or runtime was changed since the cache file was persisted.
+                 */
+                private boolean changed;
+
+                /**
+                 * Creates a new class path element.
+                 *
+                 * @param file             The jar file or folder that this element represents or the home folder of the represented runtime.
+                 * @param folder           {@code true} if this element represents a folder.
+                 * @param length           The size of the represented jar file or {@code 0} for a folder or runtime.
+                 * @param lastModified     The last modification time of the represented jar file or {@code 0} for a folder or runtime.
+                 * @param version          The version of the represented runtime or {@code null} if this element does not represent a runtime.
+                 * @param classFileLocator The class file locator for this element.
+                 */
+                protected Element(File file, boolean folder, long length, long lastModified, String version, ClassFileLocator classFileLocator) {
+                    this.file = file;
+                    this.folder = folder;
+                    this.length = length;
+                    this.lastModified = lastModified;
+                    this.version = version;
+                    this.classFileLocator = classFileLocator;
+                }
+
+                /**
+                 * Returns the class file of a type within the represented folder.
+                 *
+                 * @param name The name of the type.
+                 * @return The class file of the type within the represented folder.
+                 */
+                protected File toClassFile(String name) {
+                    return new File(file, name.replace('.', File.separatorChar) + ClassFileLocator.CLASS_FILE_EXTENSION);
+                }
+            }
+
+            /**
+             * An input stream that reads from a byte buffer without copying its contents.
+             */
+            protected static class ByteBufferInputStream extends InputStream {
+
+                /**
+                 * The buffer to read from.
+                 */
+                private final ByteBuffer buffer;
+
+                /**
+                 * Creates a new input stream for a byte buffer.
+                 *
+                 * @param buffer The buffer to read from.
+                 */
+                protected ByteBufferInputStream(ByteBuffer buffer) {
+                    this.buffer = buffer;
+                }
+
+                @Override
+                public int read() {
+                    return buffer.hasRemaining()
+                            ? buffer.get() & 0xFF
+                            : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if (length == 0) {
+                        return 0;
+                    } else if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    length = Math.min(length, buffer.remaining());
+                    buffer.get(bytes, offset, length);
+                    return length;
+                }
+
+                @Override
+                public long skip(long length) {
+                    int skipped = (int) Math.min(Math.max(length, 0), buffer.remaining());
+                    buffer.position(buffer.position() + skipped);
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            }
+        }
     }
 
     /**
@@ -380,6 +1900,15 @@ public interface TypePool {
             this.cacheProvider = cacheProvider;
         }
 
+        /**
+         * Returns the cache provider of this type pool.
+         *
+         * @return The cache provider of this type pool.
+         */
+        public CacheProvider getCacheProvider() {
+            return cacheProvider;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -675,7 +2204,7 @@ public interface TypePool {
          * @param binaryRepresentation The binary data to be parsed.
          * @return A type description of the binary data.
          */
-        private TypeDescription parse(byte[] binaryRepresentation) {
+        protected TypeDescription parse(byte[] binaryRepresentation) {
             ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
             TypeExtractor typeExtractor = new TypeExtractor();
             classReader.accept(typeExtractor, readerMode.getFlags());
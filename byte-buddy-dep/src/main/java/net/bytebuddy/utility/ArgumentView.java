@@ -0,0 +1,564 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.utility;
+
+/**
+ * <p>
+ * A primitive-aware view on the arguments of a method invocation. Other than an {@code Object} array, this view does not
+ * box primitive arguments unless they are read via {@link ArgumentView#getObject(int)} or {@link ArgumentView#toArray()}.
+ * </p>
+ * <p>
+ * <b>Important</b>: An argument view that is bound by a method delegation or by advice is pooled per thread. Such a view is acquired
+ * before the delegation target or the advice code is invoked and it is released after the target or the advice code returns or completes
+ * exceptionally. A view must therefore neither be retained beyond this invocation nor be shared with another thread. If the arguments
+ * need to be retained, they should be copied by {@link ArgumentView#toArray()}. For this to work, this class must be visible to any
+ * instrumented type.
+ * </p>
+ */
+public class ArgumentView {
+
+    /**
+     * The maximum number of argument views that are pooled per thread.
+     */
+    private static final int POOL_SIZE = 16;
+
+    /**
+     * The argument views of the current thread.
+     */
+    private static final ThreadLocal<Pool> POOL = new ThreadLocal<Pool>() {
+        @Override
+        protected Pool initialValue() {
+            return new Pool();
+        }
+    };
+
+    /**
+     * Indicates a reference argument.
+     */
+    private static final char REFERENCE = 'L';
+
+    /**
+     * An empty array of sorts that is shared by all views without arguments.
+     */
+    private static final char[] NO_SORTS = new char[0];
+
+    /**
+     * An empty array of primitive values that is shared by all views without arguments.
+     */
+    private static final long[] NO_VALUES = new long[0];
+
+    /**
+     * An empty array of reference values that is shared by all views without arguments.
+     */
+    private static final Object[] NO_REFERENCES = new Object[0];
+
+    /**
+     * The number of represented arguments.
+     */
+    private int size;
+
+    /**
+     * The sort of each argument, represented by the argument type's descriptor character.
+     */
+    private char[] sorts;
+
+    /**
+     * The primitive argument values, stored as their bit representation.
+     */
+    private long[] values;
+
+    /**
+     * The reference argument values.
+     */
+    private Object[] references;
+
+    /**
+     * Creates a new argument view.
+     *
+     * @param size The number of arguments to represent.
+     */
+    protected ArgumentView(int size) {
+        this.size = size;
+        if (size == 0) {
+            sorts = NO_SORTS;
+            values = NO_VALUES;
+            references = NO_REFERENCES;
+        } else {
+            sorts = new char[size];
+            values = new long[size];
+            references = new Object[size];
+        }
+    }
+
+    /**
+     * Returns a new argument view that represents the given number of arguments. This method is meant to be invoked by
+     * generated code.
+     *
+     * @param size The number of arguments to represent.
+     * @return A new argument view.
+     */
+    public static ArgumentView of(int size) {
+        return new ArgumentView(size);
+    }
+
+    /**
+     * Acquires an argument view from the current thread's pool that represents the given number of arguments. The view is
+     * not handed out again until it is released by {@link ArgumentView#release()} such that nested acquisitions, for example
+     * by a recursive invocation of an instrumented method, never overwrite it. This method is meant to be invoked by
+     * generated code.
+     *
+     * @param size The number of arguments to represent.
+     * @return An argument view that is not used by any other acquirer.
+     */
+    public static ArgumentView acquire(int size) {
+        return POOL.get().acquire(size);
+    }
+
+    /**
+     * Releases the argument view that was last acquired by the current thread. Releases must be applied in the reverse order
+     * of their acquisition, also if the code that uses the view completes exceptionally. Once all of a thread's pooled views
+     * are in use, additional views are allocated. This method is meant to be invoked by generated code.
+     */
+    public static void release() {
+        POOL.get().release();
+    }
+
+    /**
+     * Returns the argument view that was last acquired by the current thread and that was not yet released. This method is
+     * meant to be invoked by generated code.
+     *
+     * @return The argument view that was last acquired by the current thread.
+     */
+    public static ArgumentView current() {
+        return POOL.get().current();
+    }
+
+    /**
+     * Resets this view to represent the given number of arguments.
+     *
+     * @param size The number of arguments to represent.
+     */
+    protected void reset(int size) {
+        if (size > sorts.length) {
+            sorts = new char[size];
+            values = new long[size];
+            references = new Object[size];
+        } else {
+            for (int index = size; index < this.size; index++) {
+                references[index] = null;
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * Sets a {@code boolean} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, boolean value) {
+        return with(index, 'Z', value ? 1L : 0L);
+    }
+
+    /**
+     * Sets a {@code byte} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, byte value) {
+        return with(index, 'B', value);
+    }
+
+    /**
+     * Sets a {@code short} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, short value) {
+        return with(index, 'S', value);
+    }
+
+    /**
+     * Sets a {@code char} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, char value) {
+        return with(index, 'C', value);
+    }
+
+    /**
+     * Sets an {@code int} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, int value) {
+        return with(index, 'I', value);
+    }
+
+    /**
+     * Sets a {@code long} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, long value) {
+        return with(index, 'J', value);
+    }
+
+    /**
+     * Sets a {@code float} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, float value) {
+        return with(index, 'F', Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Sets a {@code double} argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, double value) {
+        return with(index, 'D', Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Sets a reference argument. This method is meant to be invoked by generated code.
+     *
+     * @param index The argument's index.
+     * @param value The argument value.
+     * @return This argument view.
+     */
+    public ArgumentView with(int index, Object value) {
+        sorts[index] = REFERENCE;
+        references[index] = value;
+        return this;
+    }
+
+    /**
+     * Sets a primitive argument.
+     *
+     * @param index The argument's index.
+     * @param sort  The argument's sort.
+     * @param value The argument's bit representation.
+     * @return This argument view.
+     */
+    private ArgumentView with(int index, char sort, long value) {
+        sorts[index] = sort;
+        values[index] = value;
+        references[index] = null;
+        return this;
+    }
+
+    /**
+     * Returns the number of represented arguments.
+     *
+     * @return The number of represented arguments.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the argument with the given index is of a primitive type.
+     *
+     * @param index The argument's index.
+     * @return {@code true} if the argument is of a primitive type.
+     */
+    public boolean isPrimitive(int index) {
+        return sort(index) != REFERENCE;
+    }
+
+    /**
+     * Returns a {@code boolean} argument.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public boolean getBoolean(int index) {
+        if (sort(index) != 'Z') {
+            throw new IllegalArgumentException("Argument " + index + " is not of type boolean");
+        }
+        return values[index] != 0L;
+    }
+
+    /**
+     * Returns a {@code byte} argument.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public byte getByte(int index) {
+        if (sort(index) != 'B') {
+            throw new IllegalArgumentException("Argument " + index + " is not assignable to byte");
+        }
+        return (byte) values[index];
+    }
+
+    /**
+     * Returns a {@code short} argument. A {@code byte} argument is widened.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public short getShort(int index) {
+        switch (sort(index)) {
+            case 'B':
+            case 'S':
+                return (short) values[index];
+            default:
+                throw new IllegalArgumentException("Argument " + index + " is not assignable to short");
+        }
+    }
+
+    /**
+     * Returns a {@code char} argument.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public char getChar(int index) {
+        if (sort(index) != 'C') {
+            throw new IllegalArgumentException("Argument " + index + " is not assignable to char");
+        }
+        return (char) values[index];
+    }
+
+    /**
+     * Returns an {@code int} argument. A {@code byte}, {@code short} or {@code char} argument is widened.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public int getInt(int index) {
+        switch (sort(index)) {
+            case 'B':
+            case 'S':
+            case 'C':
+            case 'I':
+                return (int) values[index];
+            default:
+                throw new IllegalArgumentException("Argument " + index + " is not assignable to int");
+        }
+    }
+
+    /**
+     * Returns a {@code long} argument. A {@code byte}, {@code short}, {@code char} or {@code int} argument is widened.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public long getLong(int index) {
+        switch (sort(index)) {
+            case 'B':
+            case 'S':
+            case 'C':
+            case 'I':
+            case 'J':
+                return values[index];
+            default:
+                throw new IllegalArgumentException("Argument " + index + " is not assignable to long");
+        }
+    }
+
+    /**
+     * Returns a {@code float} argument. An integral argument is widened.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public float getFloat(int index) {
+        switch (sort(index)) {
+            case 'B':
+            case 'S':
+            case 'C':
+            case 'I':
+            case 'J':
+                return (float) values[index];
+            case 'F':
+                return Float.intBitsToFloat((int) values[index]);
+            default:
+                throw new IllegalArgumentException("Argument " + index + " is not assignable to float");
+        }
+    }
+
+    /**
+     * Returns a {@code double} argument. An integral or {@code float} argument is widened.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public double getDouble(int index) {
+        switch (sort(index)) {
+            case 'B':
+            case 'S':
+            case 'C':
+            case 'I':
+            case 'J':
+                return (double) values[index];
+            case 'F':
+                return Float.intBitsToFloat((int) values[index]);
+            case 'D':
+                return Double.longBitsToDouble(values[index]);
+            default:
+                throw new IllegalArgumentException("Argument " + index + " is not assignable to double");
+        }
+    }
+
+    /**
+     * Returns an argument as an object. A primitive argument is boxed.
+     *
+     * @param index The argument's index.
+     * @return The argument value.
+     */
+    public Object getObject(int index) {
+        switch (sort(index)) {
+            case 'Z':
+                return values[index] != 0L;
+            case 'B':
+                return (byte) values[index];
+            case 'S':
+                return (short) values[index];
+            case 'C':
+                return (char) values[index];
+            case 'I':
+                return (int) values[index];
+            case 'J':
+                return values[index];
+            case 'F':
+                return Float.intBitsToFloat((int) values[index]);
+            case 'D':
+                return Double.longBitsToDouble(values[index]);
+            default:
+                return references[index];
+        }
+    }
+
+    /**
+     * Returns a copy of all arguments where primitive arguments are boxed.
+     *
+     * @return An array of all represented arguments.
+     */
+    public Object[] toArray() {
+        Object[] arguments = new Object[size];
+        for (int index = 0; index < size; index++) {
+            arguments[index] = getObject(index);
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns the sort of the argument with the given index.
+     *
+     * @param index The argument's index.
+     * @return The argument's sort.
+     */
+    private char sort(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Argument index " + index + " for " + size + " arguments");
+        }
+        return sorts[index];
+    }
+
+    /**
+     * A pool of argument views of a single thread where views are acquired and released in stack order.
+     */
+    protected static class Pool {
+
+        /**
+         * The argument views where views at an index that is at least the current depth are available. Views at an index
+         * that is at least the pool size are discarded once they are released.
+         */
+        private ArgumentView[] argumentViews;
+
+        /**
+         * The number of acquired views that were not yet released.
+         */
+        private int depth;
+
+        /**
+         * Creates a new pool.
+         */
+        protected Pool() {
+            argumentViews = new ArgumentView[POOL_SIZE];
+        }
+
+        /**
+         * Acquires an argument view.
+         *
+         * @param size The number of arguments to represent.
+         * @return An argument view that is not in use.
+         */
+        protected ArgumentView acquire(int size) {
+            if (depth == argumentViews.length) {
+                ArgumentView[] argumentViews = new ArgumentView[depth * 2];
+                System.arraycopy(this.argumentViews, 0, argumentViews, 0, depth);
+                this.argumentViews = argumentViews;
+            }
+            ArgumentView argumentView = argumentViews[depth];
+            if (argumentView == null) {
+                argumentView = new ArgumentView(size);
+                argumentViews[depth] = argumentView;
+            } else {
+                argumentView.reset(size);
+            }
+            depth++;
+            return argumentView;
+        }
+
+        /**
+         * Returns the argument view that was acquired last.
+         *
+         * @return The argument view that was acquired last.
+         */
+        protected ArgumentView current() {
+            if (depth == 0) {
+                throw new IllegalStateException("No argument view was acquired by the current thread");
+            }
+            return argumentViews[depth - 1];
+        }
+
+        /**
+         * Releases the argument view that was acquired last.
+         */
+        protected void release() {
+            if (depth > 0) {
+                if (--depth < POOL_SIZE) {
+                    argumentViews[depth].reset(0);
+                } else {
+                    argumentViews[depth] = null;
+                }
+            }
+        }
+    }
+}
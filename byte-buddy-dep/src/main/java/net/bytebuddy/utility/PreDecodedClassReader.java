@@ -0,0 +1,1212 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.utility;
+
+import net.bytebuddy.ClassFileVersion;
+import org.objectweb.asm.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A {@link ClassReader} that decodes the methods of a class file only once for any combination of parsing options and that
+ * retains them as immutable templates. Any subsequent visitation replays these templates to the supplied {@link ClassVisitor}
+ * without parsing the class file again. Labels are created anew for every visitation such that a template can be replayed
+ * into any number of method visitors.
+ * </p>
+ * <p>
+ * <b>Important</b>: Only the class file's header and its methods are replayed. Any other information such as fields, inner classes
+ * or annotations of the class are not reported. Templates are only applied if debugging information is skipped, if code is not
+ * skipped and if no attribute prototypes are supplied. In any other case, the class file is parsed as by a regular class reader.
+ * </p>
+ */
+public class PreDecodedClassReader extends ClassReader {
+
+    /**
+     * The parsing options that affect the recorded stack map frames.
+     */
+    private static final int FRAME_OPTIONS = ClassReader.SKIP_FRAMES | ClassReader.EXPAND_FRAMES;
+
+    /**
+     * The parsing options that allow for applying a template.
+     */
+    private static final int SUPPORTED_OPTIONS = ClassReader.SKIP_DEBUG | FRAME_OPTIONS;
+
+    /**
+     * The templates of the read class file by their parsing options that affect stack map frames.
+     */
+    private final ConcurrentMap<Integer, ClassTemplate> templates;
+
+    /**
+     * Creates a new pre-decoding class reader.
+     *
+     * @param binaryRepresentation The binary representation of a class file to read.
+     */
+    protected PreDecodedClassReader(byte[] binaryRepresentation) {
+        super(binaryRepresentation);
+        templates = new ConcurrentHashMap<Integer, ClassTemplate>();
+    }
+
+    /**
+     * Creates a pre-decoding class reader for the given binary representation of a class file. Similarly to
+     * {@link OpenedClassReader#of(byte[])}, no class file version check is applied in experimental mode.
+     *
+     * @param binaryRepresentation The binary representation of a class file to read.
+     * @return An appropriate class reader.
+     */
+    public static ClassReader of(byte[] binaryRepresentation) {
+        if (OpenedClassReader.EXPERIMENTAL) {
+            ClassFileVersion classFileVersion = ClassFileVersion.ofClassFile(binaryRepresentation);
+            if (classFileVersion.isGreaterThan(ClassFileVersion.JAVA_V14)) {
+                binaryRepresentation[6] = (byte) (ClassFileVersion.JAVA_V14.getMajorVersion() >>> 8);
+                binaryRepresentation[7] = (byte) ClassFileVersion.JAVA_V14.getMajorVersion();
+                ClassReader classReader = new PreDecodedClassReader(binaryRepresentation);
+                binaryRepresentation[6] = (byte) (classFileVersion.getMajorVersion() >>> 8);
+                binaryRepresentation[7] = (byte) classFileVersion.getMajorVersion();
+                return classReader;
+            } else {
+                return new PreDecodedClassReader(binaryRepresentation);
+            }
+        } else {
+            return new PreDecodedClassReader(binaryRepresentation);
+        }
+    }
+
+    @Override
+    public void accept(ClassVisitor classVisitor, Attribute[] attributePrototype, int parsingOptions) {
+        if (attributePrototype.length > 0
+                || (parsingOptions & ClassReader.SKIP_DEBUG) == 0
+                || (parsingOptions & ~SUPPORTED_OPTIONS) != 0) {
+            super.accept(classVisitor, attributePrototype, parsingOptions);
+        } else {
+            Integer key = parsingOptions & FRAME_OPTIONS;
+            ClassTemplate template = templates.get(key);
+            if (template == null) {
+                ClassTemplate.Recorder recorder = new ClassTemplate.Recorder();
+                super.accept(recorder, attributePrototype, ClassReader.SKIP_DEBUG | key);
+                template = recorder.toTemplate();
+                ClassTemplate previous = templates.putIfAbsent(key, template);
+                if (previous != null) {
+                    template = previous;
+                }
+            }
+            template.apply(classVisitor);
+        }
+    }
+
+    /**
+     * A reference to a label within a method template.
+     */
+    protected static class LabelReference {
+
+        /**
+         * The index of the referenced label.
+         */
+        private final int index;
+
+        /**
+         * Creates a new label reference.
+         *
+         * @param index The index of the referenced label.
+         */
+        protected LabelReference(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Resolves the referenced label.
+         *
+         * @param label The labels of the current replay.
+         * @return The referenced label.
+         */
+        protected Label resolve(Label[] label) {
+            return label[index];
+        }
+    }
+
+    /**
+     * An immutable template of a class file's header and methods.
+     */
+    protected static class ClassTemplate {
+
+        /**
+         * The class file version.
+         */
+        private final int version;
+
+        /**
+         * The class's modifiers.
+         */
+        private final int modifiers;
+
+        /**
+         * The class's internal name.
+         */
+        private final String internalName;
+
+        /**
+         * The class's generic signature or {@code null} if the class is not generic.
+         */
+        private final String signature;
+
+        /**
+         * The internal name of the class's super class or {@code null} if no super class is defined.
+         */
+        private final String superClassName;
+
+        /**
+         * The internal names of the class's interfaces or {@code null} if no interfaces are implemented.
+         */
+        private final String[] interfaceName;
+
+        /**
+         * The class's method templates.
+         */
+        private final List<MethodTemplate> methods;
+
+        /**
+         * Creates a new class template.
+         *
+         * @param version        The class file version.
+         * @param modifiers      The class's modifiers.
+         * @param internalName   The class's internal name.
+         * @param signature      The class's generic signature or {@code null} if the class is not generic.
+         * @param superClassName The internal name of the class's super class or {@code null} if no super class is defined.
+         * @param interfaceName  The internal names of the class's interfaces or {@code null} if no interfaces are implemented.
+         * @param methods        The class's method templates.
+         */
+        protected ClassTemplate(int version,
+                                int modifiers,
+                                String internalName,
+                                String signature,
+                                String superClassName,
+                                String[] interfaceName,
+                                List<MethodTemplate> methods) {
+            this.version = version;
+            this.modifiers = modifiers;
+            this.internalName = internalName;
+            this.signature = signature;
+            this.superClassName = superClassName;
+            this.interfaceName = interfaceName;
+            this.methods = methods;
+        }
+
+        /**
+         * Replays this template to the supplied class visitor.
+         *
+         * @param classVisitor The class visitor to replay this template to.
+         */
+        protected void apply(ClassVisitor classVisitor) {
+            classVisitor.visit(version, modifiers, internalName, signature, superClassName, interfaceName == null
+                    ? null
+                    : interfaceName.clone());
+            for (MethodTemplate method : methods) {
+                method.apply(classVisitor);
+            }
+            classVisitor.visitEnd();
+        }
+
+        /**
+         * A class visitor that records a class template.
+         */
+        protected static class Recorder extends ClassVisitor {
+
+            /**
+             * The recorded method templates.
+             */
+            private final List<MethodTemplate.Recorder> methods;
+
+            /**
+             * The class file version.
+             */
+            private int version;
+
+            /**
+             * The class's modifiers.
+             */
+            private int modifiers;
+
+            /**
+             * The class's internal name.
+             */
+            private String internalName;
+
+            /**
+             * The class's generic signature or {@code null} if the class is not generic.
+             */
+            private String signature;
+
+            /**
+             * The internal name of the class's super class or {@code null} if no super class is defined.
+             */
+            private String superClassName;
+
+            /**
+             * The internal names of the class's interfaces or {@code null} if no interfaces are implemented.
+             */
+            private String[] interfaceName;
+
+            /**
+             * Creates a new recorder for a class template.
+             */
+            protected Recorder() {
+                super(OpenedClassReader.ASM_API);
+                methods = new ArrayList<MethodTemplate.Recorder>();
+            }
+
+            @Override
+            public void visit(int version, int modifiers, String internalName, String signature, String superClassName, String[] interfaceName) {
+                this.version = version;
+                this.modifiers = modifiers;
+                this.internalName = internalName;
+                this.signature = signature;
+                this.superClassName = superClassName;
+                this.interfaceName = interfaceName;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+                MethodTemplate.Recorder recorder = new MethodTemplate.Recorder(modifiers, internalName, descriptor, signature, exception);
+                methods.add(recorder);
+                return recorder;
+            }
+
+            /**
+             * Returns the recorded class template.
+             *
+             * @return The recorded class template.
+             */
+            protected ClassTemplate toTemplate() {
+                List<MethodTemplate> methods = new ArrayList<MethodTemplate>(this.methods.size());
+                for (MethodTemplate.Recorder method : this.methods) {
+                    methods.add(method.toTemplate());
+                }
+                return new ClassTemplate(version, modifiers, internalName, signature, superClassName, interfaceName, methods);
+            }
+        }
+    }
+
+    /**
+     * An immutable template of a method including its annotations, its code, its exception table and its stack map frames.
+     */
+    protected static class MethodTemplate {
+
+        /**
+         * The method's modifiers.
+         */
+        private final int modifiers;
+
+        /**
+         * The method's internal name.
+         */
+        private final String internalName;
+
+        /**
+         * The method's descriptor.
+         */
+        private final String descriptor;
+
+        /**
+         * The method's generic signature or {@code null} if the method is not generic.
+         */
+        private final String signature;
+
+        /**
+         * The internal names of the method's declared exceptions or {@code null} if no exceptions are declared.
+         */
+        private final String[] exception;
+
+        /**
+         * The number of labels that are referenced by this method's instructions.
+         */
+        private final int labels;
+
+        /**
+         * The method's recorded events in the order of their visitation.
+         */
+        private final List<Event> events;
+
+        /**
+         * Creates a new method template.
+         *
+         * @param modifiers    The method's modifiers.
+         * @param internalName The method's internal name.
+         * @param descriptor   The method's descriptor.
+         * @param signature    The method's generic signature or {@code null} if the method is not generic.
+         * @param exception    The internal names of the method's declared exceptions or {@code null} if no exceptions are declared.
+         * @param labels       The number of labels that are referenced by this method's instructions.
+         * @param events       The method's recorded events in the order of their visitation.
+         */
+        protected MethodTemplate(int modifiers,
+                                 String internalName,
+                                 String descriptor,
+                                 String signature,
+                                 String[] exception,
+                                 int labels,
+                                 List<Event> events) {
+            this.modifiers = modifiers;
+            this.internalName = internalName;
+            this.descriptor = descriptor;
+            this.signature = signature;
+            this.exception = exception;
+            this.labels = labels;
+            this.events = events;
+        }
+
+        /**
+         * Replays this template to the supplied class visitor.
+         *
+         * @param classVisitor The class visitor to replay this template to.
+         */
+        protected void apply(ClassVisitor classVisitor) {
+            MethodVisitor methodVisitor = classVisitor.visitMethod(modifiers, internalName, descriptor, signature, exception == null
+                    ? null
+                    : exception.clone());
+            if (methodVisitor != null) {
+                Label[] label = new Label[labels];
+                for (int index = 0; index < labels; index++) {
+                    label[index] = new Label();
+                }
+                for (Event event : events) {
+                    event.apply(methodVisitor, label);
+                }
+            }
+        }
+
+        /**
+         * Resolves a recorded value by replacing label references with the labels of the current replay.
+         *
+         * @param value The recorded value.
+         * @param label The labels of the current replay.
+         * @return The resolved value.
+         */
+        private static Object resolve(Object value, Label[] label) {
+            if (value instanceof LabelReference) {
+                return ((LabelReference) value).resolve(label);
+            } else if (value instanceof Object[]) {
+                Object[] recorded = (Object[]) value, resolved = recorded instanceof LabelReference[]
+                        ? new Label[recorded.length]
+                        : new Object[recorded.length];
+                for (int index = 0; index < recorded.length; index++) {
+                    resolved[index] = resolve(recorded[index], label);
+                }
+                return resolved;
+            } else {
+                return value;
+            }
+        }
+
+        /**
+         * A recorded visitation of a method visitor.
+         */
+        protected static class Event {
+
+            /**
+             * The sort of a {@link MethodVisitor#visitAnnotationDefault()} event.
+             */
+            protected static final int ANNOTATION_DEFAULT = 0;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitAnnotation(String, boolean)} event.
+             */
+            protected static final int ANNOTATION = 1;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitTypeAnnotation(int, TypePath, String, boolean)} event.
+             */
+            protected static final int TYPE_ANNOTATION = 2;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitAnnotableParameterCount(int, boolean)} event.
+             */
+            protected static final int ANNOTABLE_PARAMETER_COUNT = 3;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitParameterAnnotation(int, String, boolean)} event.
+             */
+            protected static final int PARAMETER_ANNOTATION = 4;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitAttribute(Attribute)} event.
+             */
+            protected static final int ATTRIBUTE = 5;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitCode()} event.
+             */
+            protected static final int CODE = 6;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitFrame(int, int, Object[], int, Object[])} event.
+             */
+            protected static final int FRAME = 7;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitInsn(int)} event.
+             */
+            protected static final int INSN = 8;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitIntInsn(int, int)} event.
+             */
+            protected static final int INT_INSN = 9;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitVarInsn(int, int)} event.
+             */
+            protected static final int VAR_INSN = 10;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitTypeInsn(int, String)} event.
+             */
+            protected static final int TYPE_INSN = 11;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitFieldInsn(int, String, String, String)} event.
+             */
+            protected static final int FIELD_INSN = 12;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitMethodInsn(int, String, String, String, boolean)} event.
+             */
+            protected static final int METHOD_INSN = 13;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitInvokeDynamicInsn(String, String, Handle, Object...)} event.
+             */
+            protected static final int INVOKE_DYNAMIC_INSN = 14;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitJumpInsn(int, Label)} event.
+             */
+            protected static final int JUMP_INSN = 15;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitLabel(Label)} event.
+             */
+            protected static final int LABEL = 16;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitLdcInsn(Object)} event.
+             */
+            protected static final int LDC_INSN = 17;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitIincInsn(int, int)} event.
+             */
+            protected static final int IINC_INSN = 18;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitTableSwitchInsn(int, int, Label, Label...)} event.
+             */
+            protected static final int TABLE_SWITCH_INSN = 19;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitLookupSwitchInsn(Label, int[], Label[])} event.
+             */
+            protected static final int LOOKUP_SWITCH_INSN = 20;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitMultiANewArrayInsn(String, int)} event.
+             */
+            protected static final int MULTI_ANEW_ARRAY_INSN = 21;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitInsnAnnotation(int, TypePath, String, boolean)} event.
+             */
+            protected static final int INSN_ANNOTATION = 22;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitTryCatchBlock(Label, Label, Label, String)} event.
+             */
+            protected static final int TRY_CATCH_BLOCK = 23;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitTryCatchAnnotation(int, TypePath, String, boolean)} event.
+             */
+            protected static final int TRY_CATCH_ANNOTATION = 24;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitLocalVariableAnnotation(int, TypePath, Label[], Label[], int[], String, boolean)} event.
+             */
+            protected static final int LOCAL_VARIABLE_ANNOTATION = 25;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitMaxs(int, int)} event.
+             */
+            protected static final int MAXS = 26;
+
+            /**
+             * The sort of a {@link MethodVisitor#visitEnd()} event.
+             */
+            protected static final int END = 27;
+
+            /**
+             * The sort of this event.
+             */
+            private final int sort;
+
+            /**
+             * The first integer argument of this event.
+             */
+            private final int first;
+
+            /**
+             * The second integer argument of this event.
+             */
+            private final int second;
+
+            /**
+             * The object arguments of this event where labels are represented as {@link LabelReference}s.
+             */
+            private final Object[] argument;
+
+            /**
+             * The recorded annotation of this event or {@code null} if this event does not represent an annotation.
+             */
+            private final AnnotationTemplate annotation;
+
+            /**
+             * Creates a new event.
+             *
+             * @param sort       The sort of this event.
+             * @param first      The first integer argument of this event.
+             * @param second     The second integer argument of this event.
+             * @param argument   The object arguments of this event where labels are represented as {@link LabelReference}s.
+             * @param annotation The recorded annotation of this event or {@code null} if this event does not represent an annotation.
+             */
+            protected Event(int sort, int first, int second, Object[] argument, AnnotationTemplate annotation) {
+                this.sort = sort;
+                this.first = first;
+                this.second = second;
+                this.argument = argument;
+                this.annotation = annotation;
+            }
+
+            /**
+             * Replays this event to the supplied method visitor.
+             *
+             * @param methodVisitor The method visitor to replay this event to.
+             * @param label         The labels of the current replay.
+             */
+            protected void apply(MethodVisitor methodVisitor, Label[] label) {
+                switch (sort) {
+                    case ANNOTATION_DEFAULT:
+                        annotation.apply(methodVisitor.visitAnnotationDefault());
+                        break;
+                    case ANNOTATION:
+                        annotation.apply(methodVisitor.visitAnnotation((String) argument[0], first == 1));
+                        break;
+                    case TYPE_ANNOTATION:
+                        annotation.apply(methodVisitor.visitTypeAnnotation(second, (TypePath) argument[0], (String) argument[1], first == 1));
+                        break;
+                    case ANNOTABLE_PARAMETER_COUNT:
+                        methodVisitor.visitAnnotableParameterCount(second, first == 1);
+                        break;
+                    case PARAMETER_ANNOTATION:
+                        annotation.apply(methodVisitor.visitParameterAnnotation(second, (String) argument[0], first == 1));
+                        break;
+                    case ATTRIBUTE:
+                        methodVisitor.visitAttribute((Attribute) argument[0]);
+                        break;
+                    case CODE:
+                        methodVisitor.visitCode();
+                        break;
+                    case FRAME:
+                        methodVisitor.visitFrame(first,
+                                second,
+                                (Object[]) resolve(argument[0], label),
+                                (Integer) argument[2],
+                                (Object[]) resolve(argument[1], label));
+                        break;
+                    case INSN:
+                        methodVisitor.visitInsn(first);
+                        break;
+                    case INT_INSN:
+                        methodVisitor.visitIntInsn(first, second);
+                        break;
+                    case VAR_INSN:
+                        methodVisitor.visitVarInsn(first, second);
+                        break;
+                    case TYPE_INSN:
+                        methodVisitor.visitTypeInsn(first, (String) argument[0]);
+                        break;
+                    case FIELD_INSN:
+                        methodVisitor.visitFieldInsn(first, (String) argument[0], (String) argument[1], (String) argument[2]);
+                        break;
+                    case METHOD_INSN:
+                        methodVisitor.visitMethodInsn(first, (String) argument[0], (String) argument[1], (String) argument[2], second == 1);
+                        break;
+                    case INVOKE_DYNAMIC_INSN:
+                        methodVisitor.visitInvokeDynamicInsn((String) argument[0],
+                                (String) argument[1],
+                                (Handle) argument[2],
+                                ((Object[]) argument[3]).clone());
+                        break;
+                    case JUMP_INSN:
+                        methodVisitor.visitJumpInsn(first, ((LabelReference) argument[0]).resolve(label));
+                        break;
+                    case LABEL:
+                        methodVisitor.visitLabel(label[first]);
+                        break;
+                    case LDC_INSN:
+                        methodVisitor.visitLdcInsn(argument[0]);
+                        break;
+                    case IINC_INSN:
+                        methodVisitor.visitIincInsn(first, second);
+                        break;
+                    case TABLE_SWITCH_INSN:
+                        methodVisitor.visitTableSwitchInsn(first,
+                                second,
+                                ((LabelReference) argument[0]).resolve(label),
+                                (Label[]) resolve(argument[1], label));
+                        break;
+                    case LOOKUP_SWITCH_INSN:
+                        methodVisitor.visitLookupSwitchInsn(((LabelReference) argument[0]).resolve(label),
+                                ((int[]) argument[1]).clone(),
+                                (Label[]) resolve(argument[2], label));
+                        break;
+                    case MULTI_ANEW_ARRAY_INSN:
+                        methodVisitor.visitMultiANewArrayInsn((String) argument[0], first);
+                        break;
+                    case INSN_ANNOTATION:
+                        annotation.apply(methodVisitor.visitInsnAnnotation(second, (TypePath) argument[0], (String) argument[1], first == 1));
+                        break;
+                    case TRY_CATCH_BLOCK:
+                        methodVisitor.visitTryCatchBlock(((LabelReference) argument[0]).resolve(label),
+                                ((LabelReference) argument[1]).resolve(label),
+                                ((LabelReference) argument[2]).resolve(label),
+                                (String) argument[3]);
+                        break;
+                    case TRY_CATCH_ANNOTATION:
+                        annotation.apply(methodVisitor.visitTryCatchAnnotation(second, (TypePath) argument[0], (String) argument[1], first == 1));
+                        break;
+                    case LOCAL_VARIABLE_ANNOTATION:
+                        annotation.apply(methodVisitor.visitLocalVariableAnnotation(second,
+                                (TypePath) argument[0],
+                                (Label[]) resolve(argument[1], label),
+                                (Label[]) resolve(argument[2], label),
+                                ((int[]) argument[3]).clone(),
+                                (String) argument[4],
+                                first == 1));
+                        break;
+                    case MAXS:
+                        methodVisitor.visitMaxs(first, second);
+                        break;
+                    case END:
+                        methodVisitor.visitEnd();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected event sort: " + sort);
+                }
+            }
+        }
+
+        /**
+         * A method visitor that records a method template.
+         */
+        protected static class Recorder extends MethodVisitor {
+
+            /**
+             * The method's modifiers.
+             */
+            private final int modifiers;
+
+            /**
+             * The method's internal name.
+             */
+            private final String internalName;
+
+            /**
+             * The method's descriptor.
+             */
+            private final String descriptor;
+
+            /**
+             * The method's generic signature or {@code null} if the method is not generic.
+             */
+            private final String signature;
+
+            /**
+             * The internal names of the method's declared exceptions or {@code null} if no exceptions are declared.
+             */
+            private final String[] exception;
+
+            /**
+             * The label references by the labels that were discovered during recording.
+             */
+            private final Map<Label, LabelReference> labels;
+
+            /**
+             * The recorded events where annotations are represented by their recorders.
+             */
+            private final List<Object> events;
+
+            /**
+             * Creates a new recorder for a method template.
+             *
+             * @param modifiers    The method's modifiers.
+             * @param internalName The method's internal name.
+             * @param descriptor   The method's descriptor.
+             * @param signature    The method's generic signature or {@code null} if the method is not generic.
+             * @param exception    The internal names of the method's declared exceptions or {@code null} if no exceptions are declared.
+             */
+            protected Recorder(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+                super(OpenedClassReader.ASM_API);
+                this.modifiers = modifiers;
+                this.internalName = internalName;
+                this.descriptor = descriptor;
+                this.signature = signature;
+                this.exception = exception;
+                labels = new IdentityHashMap<Label, LabelReference>();
+                events = new ArrayList<Object>();
+            }
+
+            /**
+             * Returns a reference to the supplied label.
+             *
+             * @param label The label to reference.
+             * @return A reference to the supplied label.
+             */
+            private LabelReference reference(Label label) {
+                LabelReference reference = labels.get(label);
+                if (reference == null) {
+                    reference = new LabelReference(labels.size());
+                    labels.put(label, reference);
+                }
+                return reference;
+            }
+
+            /**
+             * Returns references to the supplied labels.
+             *
+             * @param label The labels to reference.
+             * @return References to the supplied labels.
+             */
+            private LabelReference[] reference(Label[] label) {
+                LabelReference[] reference = new LabelReference[label.length];
+                for (int index = 0; index < label.length; index++) {
+                    reference[index] = reference(label[index]);
+                }
+                return reference;
+            }
+
+            /**
+             * Replaces any label within a frame's type array with a label reference.
+             *
+             * @param length The number of used elements of the type array.
+             * @param type   The type array or {@code null}.
+             * @return A copy of the used elements of the type array where labels are replaced by label references.
+             */
+            private Object[] reference(int length, Object[] type) {
+                if (type == null) {
+                    return null;
+                }
+                Object[] reference = new Object[Math.min(length, type.length)];
+                for (int index = 0; index < reference.length; index++) {
+                    reference[index] = type[index] instanceof Label
+                            ? reference((Label) type[index])
+                            : type[index];
+                }
+                return reference;
+            }
+
+            /**
+             * Records an event.
+             *
+             * @param sort     The sort of the event.
+             * @param first    The first integer argument of the event.
+             * @param second   The second integer argument of the event.
+             * @param argument The object arguments of the event.
+             */
+            private void record(int sort, int first, int second, Object... argument) {
+                events.add(new Event(sort, first, second, argument, null));
+            }
+
+            /**
+             * Records an annotation event.
+             *
+             * @param sort     The sort of the event.
+             * @param visible  {@code true} if the annotation is visible at runtime.
+             * @param second   The second integer argument of the event.
+             * @param argument The object arguments of the event.
+             * @return An annotation visitor for recording the annotation's values.
+             */
+            private AnnotationVisitor annotation(int sort, boolean visible, int second, Object... argument) {
+                AnnotationTemplate.Recorder recorder = new AnnotationTemplate.Recorder();
+                events.add(new Object[]{sort, visible ? 1 : 0, second, argument, recorder});
+                return recorder;
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotationDefault() {
+                return annotation(Event.ANNOTATION_DEFAULT, false, 0);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                return annotation(Event.ANNOTATION, visible, 0, descriptor);
+            }
+
+            @Override
+            public AnnotationVisitor visitTypeAnnotation(int typeReference, TypePath typePath, String descriptor, boolean visible) {
+                return annotation(Event.TYPE_ANNOTATION, visible, typeReference, typePath, descriptor);
+            }
+
+            @Override
+            public void visitAnnotableParameterCount(int count, boolean visible) {
+                record(Event.ANNOTABLE_PARAMETER_COUNT, visible ? 1 : 0, count);
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int index, String descriptor, boolean visible) {
+                return annotation(Event.PARAMETER_ANNOTATION, visible, index, descriptor);
+            }
+
+            @Override
+            public void visitAttribute(Attribute attribute) {
+                record(Event.ATTRIBUTE, 0, 0, attribute);
+            }
+
+            @Override
+            public void visitCode() {
+                record(Event.CODE, 0, 0);
+            }
+
+            @Override
+            public void visitFrame(int type, int localVariableLength, Object[] localVariable, int stackSize, Object[] stack) {
+                record(Event.FRAME, type, localVariableLength, reference(localVariableLength, localVariable), reference(stackSize, stack), stackSize);
+            }
+
+            @Override
+            public void visitInsn(int opcode) {
+                record(Event.INSN, opcode, 0);
+            }
+
+            @Override
+            public void visitIntInsn(int opcode, int operand) {
+                record(Event.INT_INSN, opcode, operand);
+            }
+
+            @Override
+            public void visitVarInsn(int opcode, int offset) {
+                record(Event.VAR_INSN, opcode, offset);
+            }
+
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                record(Event.TYPE_INSN, opcode, 0, type);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                record(Event.FIELD_INSN, opcode, 0, owner, name, descriptor);
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                record(Event.METHOD_INSN, opcode, isInterface ? 1 : 0, owner, name, descriptor);
+            }
+
+            @Override
+            public void visitInvokeDynamicInsn(String name, String descriptor, Handle handle, Object... argument) {
+                record(Event.INVOKE_DYNAMIC_INSN, 0, 0, name, descriptor, handle, argument.clone());
+            }
+
+            @Override
+            public void visitJumpInsn(int opcode, Label label) {
+                record(Event.JUMP_INSN, opcode, 0, reference(label));
+            }
+
+            @Override
+            public void visitLabel(Label label) {
+                record(Event.LABEL, reference(label).index, 0);
+            }
+
+            @Override
+            public void visitLdcInsn(Object value) {
+                record(Event.LDC_INSN, 0, 0, value);
+            }
+
+            @Override
+            public void visitIincInsn(int offset, int increment) {
+                record(Event.IINC_INSN, offset, increment);
+            }
+
+            @Override
+            public void visitTableSwitchInsn(int minimum, int maximum, Label defaultOption, Label... label) {
+                record(Event.TABLE_SWITCH_INSN, minimum, maximum, reference(defaultOption), reference(label));
+            }
+
+            @Override
+            public void visitLookupSwitchInsn(Label defaultOption, int[] key, Label[] label) {
+                record(Event.LOOKUP_SWITCH_INSN, 0, 0, reference(defaultOption), key.clone(), reference(label));
+            }
+
+            @Override
+            public void visitMultiANewArrayInsn(String descriptor, int dimensions) {
+                record(Event.MULTI_ANEW_ARRAY_INSN, dimensions, 0, descriptor);
+            }
+
+            @Override
+            public AnnotationVisitor visitInsnAnnotation(int typeReference, TypePath typePath, String descriptor, boolean visible) {
+                return annotation(Event.INSN_ANNOTATION, visible, typeReference, typePath, descriptor);
+            }
+
+            @Override
+            public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                record(Event.TRY_CATCH_BLOCK, 0, 0, reference(start), reference(end), reference(handler), type);
+            }
+
+            @Override
+            public AnnotationVisitor visitTryCatchAnnotation(int typeReference, TypePath typePath, String descriptor, boolean visible) {
+                return annotation(Event.TRY_CATCH_ANNOTATION, visible, typeReference, typePath, descriptor);
+            }
+
+            @Override
+            public AnnotationVisitor visitLocalVariableAnnotation(int typeReference,
+                                                                  TypePath typePath,
+                                                                  Label[] start,
+                                                                  Label[] end,
+                                                                  int[] index,
+                                                                  String descriptor,
+                                                                  boolean visible) {
+                return annotation(Event.LOCAL_VARIABLE_ANNOTATION, visible, typeReference, typePath, reference(start), reference(end), index.clone(), descriptor);
+            }
+
+            @Override
+            public void visitMaxs(int stackSize, int localVariableLength) {
+                record(Event.MAXS, stackSize, localVariableLength);
+            }
+
+            @Override
+            public void visitEnd() {
+                record(Event.END, 0, 0);
+            }
+
+            /**
+             * Returns the recorded method template.
+             *
+             * @return The recorded method template.
+             */
+            protected MethodTemplate toTemplate() {
+                List<Event> events = new ArrayList<Event>(this.events.size());
+                for (Object event : this.events) {
+                    if (event instanceof Event) {
+                        events.add((Event) event);
+                    } else {
+                        Object[] annotation = (Object[]) event;
+                        events.add(new Event((Integer) annotation[0],
+                                (Integer) annotation[1],
+                                (Integer) annotation[2],
+                                (Object[]) annotation[3],
+                                ((AnnotationTemplate.Recorder) annotation[4]).toTemplate()));
+                    }
+                }
+                return new MethodTemplate(modifiers, internalName, descriptor, signature, exception, labels.size(), events);
+            }
+        }
+    }
+
+    /**
+     * An immutable template of an annotation's values.
+     */
+    protected static class AnnotationTemplate {
+
+        /**
+         * The sort of a {@link AnnotationVisitor#visit(String, Object)} event.
+         */
+        protected static final int VALUE = 0;
+
+        /**
+         * The sort of a {@link AnnotationVisitor#visitEnum(String, String, String)} event.
+         */
+        protected static final int ENUMERATION = 1;
+
+        /**
+         * The sort of a {@link AnnotationVisitor#visitAnnotation(String, String)} event.
+         */
+        protected static final int ANNOTATION = 2;
+
+        /**
+         * The sort of a {@link AnnotationVisitor#visitArray(String)} event.
+         */
+        protected static final int ARRAY = 3;
+
+        /**
+         * The sorts of the recorded events.
+         */
+        private final int[] sort;
+
+        /**
+         * The names of the recorded events.
+         */
+        private final String[] name;
+
+        /**
+         * The values of the recorded events which are nested templates for annotation and array events.
+         */
+        private final Object[] value;
+
+        /**
+         * The descriptors of recorded enumeration and annotation events or {@code null} for any other event.
+         */
+        private final String[] descriptor;
+
+        /**
+         * Creates a new annotation template.
+         *
+         * @param sort       The sorts of the recorded events.
+         * @param name       The names of the recorded events.
+         * @param value      The values of the recorded events which are nested templates for annotation and array events.
+         * @param descriptor The descriptors of recorded enumeration and annotation events or {@code null} for any other event.
+         */
+        protected AnnotationTemplate(int[] sort, String[] name, Object[] value, String[] descriptor) {
+            this.sort = sort;
+            this.name = name;
+            this.value = value;
+            this.descriptor = descriptor;
+        }
+
+        /**
+         * Replays this template to the supplied annotation visitor.
+         *
+         * @param annotationVisitor The annotation visitor to replay this template to or {@code null} if the annotation is ignored.
+         */
+        protected void apply(AnnotationVisitor annotationVisitor) {
+            if (annotationVisitor == null) {
+                return;
+            }
+            for (int index = 0; index < sort.length; index++) {
+                switch (sort[index]) {
+                    case VALUE:
+                        annotationVisitor.visit(name[index], value[index]);
+                        break;
+                    case ENUMERATION:
+                        annotationVisitor.visitEnum(name[index], descriptor[index], (String) value[index]);
+                        break;
+                    case ANNOTATION:
+                        ((AnnotationTemplate) value[index]).apply(annotationVisitor.visitAnnotation(name[index], descriptor[index]));
+                        break;
+                    case ARRAY:
+                        ((AnnotationTemplate) value[index]).apply(annotationVisitor.visitArray(name[index]));
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected event sort: " + sort[index]);
+                }
+            }
+            annotationVisitor.visitEnd();
+        }
+
+        /**
+         * An annotation visitor that records an annotation template.
+         */
+        protected static class Recorder extends AnnotationVisitor {
+
+            /**
+             * The sorts of the recorded events.
+             */
+            private final List<Integer> sorts;
+
+            /**
+             * The names of the recorded events.
+             */
+            private final List<String> names;
+
+            /**
+             * The values of the recorded events which are nested recorders for annotation and array events.
+             */
+            private final List<Object> values;
+
+            /**
+             * The descriptors of recorded enumeration and annotation events or {@code null} for any other event.
+             */
+            private final List<String> descriptors;
+
+            /**
+             * Creates a new recorder for an annotation template.
+             */
+            protected Recorder() {
+                super(OpenedClassReader.ASM_API);
+                sorts = new ArrayList<Integer>();
+                names = new ArrayList<String>();
+                values = new ArrayList<Object>();
+                descriptors = new ArrayList<String>();
+            }
+
+            /**
+             * Records an event.
+             *
+             * @param sort       The sort of the event.
+             * @param name       The name of the event.
+             * @param value      The value of the event.
+             * @param descriptor The descriptor of the event or {@code null}.
+             */
+            private void record(int sort, String name, Object value, String descriptor) {
+                sorts.add(sort);
+                names.add(name);
+                values.add(value);
+                descriptors.add(descriptor);
+            }
+
+            @Override
+            public void visit(String name, Object value) {
+                record(VALUE, name, value, null);
+            }
+
+            @Override
+            public void visitEnum(String name, String descriptor, String value) {
+                record(ENUMERATION, name, value, descriptor);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+                Recorder recorder = new Recorder();
+                record(ANNOTATION, name, recorder, descriptor);
+                return recorder;
+            }
+
+            @Override
+            public AnnotationVisitor visitArray(String name) {
+                Recorder recorder = new Recorder();
+                record(ARRAY, name, recorder, null);
+                return recorder;
+            }
+
+            /**
+             * Returns the recorded annotation template.
+             *
+             * @return The recorded annotation template.
+             */
+            protected AnnotationTemplate toTemplate() {
+                int[] sort = new int[sorts.size()];
+                Object[] value = new Object[values.size()];
+                for (int index = 0; index < sort.length; index++) {
+                    sort[index] = sorts.get(index);
+                    value[index] = values.get(index) instanceof Recorder
+                            ? ((Recorder) values.get(index)).toTemplate()
+                            : values.get(index);
+                }
+                return new AnnotationTemplate(sort, names.toArray(new String[0]), value, descriptors.toArray(new String[0]));
+            }
+        }
+    }
+}
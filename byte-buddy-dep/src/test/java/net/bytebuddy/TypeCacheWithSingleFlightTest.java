@@ -0,0 +1,173 @@
+package net.bytebuddy;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeCacheWithSingleFlightTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testFindOrInsert() throws Exception {
+        TypeCache.WithSingleFlight<String> typeCache = new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK);
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Constant(Void.class)), is((Object) Void.class));
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Constant(Object.class)), is((Object) Void.class));
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Constant(Object.class), new Object()), is((Object) Void.class));
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), FOO), is((Object) Void.class));
+        assertThat(typeCache.getMisses(), is(1L));
+        assertThat(typeCache.getHits(), is(2L));
+        assertThat(typeCache.getWaits(), is(0L));
+        assertThat(typeCache.creations.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreationException() throws Exception {
+        new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK).findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Callable<Class<?>>() {
+            public Class<?> call() throws Exception {
+                throw new Exception();
+            }
+        });
+    }
+
+    @Test
+    public void testCreationExceptionIsNotCached() throws Exception {
+        TypeCache.WithSingleFlight<String> typeCache = new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK);
+        try {
+            typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Callable<Class<?>>() {
+                public Class<?> call() throws Exception {
+                    throw new Exception();
+                }
+            });
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(typeCache.creations.isEmpty(), is(true));
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Constant(Void.class)), is((Object) Void.class));
+    }
+
+    @Test
+    public void testReentrantCreation() throws Exception {
+        final TypeCache.WithSingleFlight<String> typeCache = new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK);
+        assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Callable<Class<?>>() {
+            public Class<?> call() {
+                return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Constant(Void.class));
+            }
+        }), is((Object) Void.class));
+        assertThat(typeCache.getMisses(), is(2L));
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentCreationIsDeduplicated() throws Exception {
+        final TypeCache.WithSingleFlight<String> typeCache = new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK);
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            Future<Class<?>> creating = executorService.submit(new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Callable<Class<?>>() {
+                        public Class<?> call() throws Exception {
+                            invocations.incrementAndGet();
+                            started.countDown();
+                            release.await();
+                            return Void.class;
+                        }
+                    });
+                }
+            });
+            started.await();
+            Future<Class<?>> waiting = executorService.submit(new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), FOO, new Callable<Class<?>>() {
+                        public Class<?> call() {
+                            invocations.incrementAndGet();
+                            return Object.class;
+                        }
+                    });
+                }
+            });
+            while (typeCache.getWaits() == 0L) {
+                Thread.sleep(10L);
+            }
+            assertThat(typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), BAR, new Constant(Object.class)), is((Object) Object.class));
+            release.countDown();
+            assertThat(creating.get(), is((Object) Void.class));
+            assertThat(waiting.get(), is((Object) Void.class));
+            assertThat(invocations.get(), is(1));
+            assertThat(typeCache.getMisses(), is(2L));
+            assertThat(typeCache.getWaits(), is(1L));
+        } finally {
+            executorService.shutdownNow();
+            assertThat(executorService.awaitTermination(1L, TimeUnit.SECONDS), is(true));
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testCrossKeyRecursiveCreationDoesNotDeadlock() throws Exception {
+        final TypeCache.WithSingleFlight<String> typeCache = new TypeCache.WithSingleFlight<String>(TypeCache.Sort.WEAK);
+        final CountDownLatch started = new CountDownLatch(2);
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            Future<Class<?>> first = executorService.submit(new Recursion(typeCache, started, FOO, BAR, Void.class));
+            Future<Class<?>> second = executorService.submit(new Recursion(typeCache, started, BAR, FOO, Object.class));
+            assertThat(first.get(), is((Object) second.get()));
+            assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), FOO), is((Object) first.get()));
+            assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), BAR), is((Object) second.get()));
+        } finally {
+            executorService.shutdownNow();
+            assertThat(executorService.awaitTermination(1L, TimeUnit.SECONDS), is(true));
+        }
+    }
+
+    private static class Recursion implements Callable<Class<?>> {
+
+        private final TypeCache<String> typeCache;
+
+        private final CountDownLatch started;
+
+        private final String key, other;
+
+        private final Class<?> type;
+
+        private Recursion(TypeCache<String> typeCache, CountDownLatch started, String key, String other, Class<?> type) {
+            this.typeCache = typeCache;
+            this.started = started;
+            this.key = key;
+            this.other = other;
+            this.type = type;
+        }
+
+        public Class<?> call() {
+            return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), key, new Callable<Class<?>>() {
+                public Class<?> call() throws Exception {
+                    started.countDown();
+                    started.await();
+                    return typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), other, new Constant(type));
+                }
+            });
+        }
+    }
+
+    private static class Constant implements Callable<Class<?>> {
+
+        private final Class<?> type;
+
+        private Constant(Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> call() {
+            return type;
+        }
+    }
+}
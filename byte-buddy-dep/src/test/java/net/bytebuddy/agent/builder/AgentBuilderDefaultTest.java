@@ -35,6 +35,8 @@ import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
@@ -170,6 +172,107 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testPreScreened() throws Exception {
+        AgentBuilder.PreScreeningStrategy.Counting preScreeningStrategy = new AgentBuilder.PreScreeningStrategy.Counting(new AgentBuilder.PreScreeningStrategy.ForNamePrefix(REDEFINED.getName()));
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(installationListener)
+                .with(listener)
+                .with(preScreeningStrategy)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName().replace('.', '/'), null, REDEFINED.getProtectionDomain(), QUX), nullValue(byte[].class));
+        assertThat(preScreeningStrategy.getCount(), is(1L));
+        verifyZeroInteractions(listener);
+        verifyZeroInteractions(poolStrategy);
+        verifyZeroInteractions(typeMatcher);
+        verifyZeroInteractions(transformer);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testPhaseTimer() throws Exception {
+        when(dynamicType.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(TypeDescription.ForLoadedType.of(REDEFINED));
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), null, REDEFINED.getProtectionDomain()))
+                .thenReturn(true);
+        AgentBuilder.PhaseTimer phaseTimer = mock(AgentBuilder.PhaseTimer.class);
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .withPhaseTimer(phaseTimer)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), null, REDEFINED.getProtectionDomain(), QUX), is(BAZ));
+        InOrder inOrder = inOrder(phaseTimer);
+        inOrder.verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.DISCOVERY), eq(REDEFINED.getClassLoader()), anyLong());
+        inOrder.verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.DESCRIPTION), eq(REDEFINED.getClassLoader()), anyLong());
+        inOrder.verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.MATCHING), eq(REDEFINED.getClassLoader()), anyLong());
+        inOrder.verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.EMISSION), eq(REDEFINED.getClassLoader()), anyLong());
+        inOrder.verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.REGISTRATION), eq(REDEFINED.getClassLoader()), anyLong());
+        verifyNoMoreInteractions(phaseTimer);
+    }
+
+    @Test
+    public void testPhaseTimerIgnored() throws Exception {
+        when(resolution.resolve()).thenReturn(TypeDescription.ForLoadedType.of(REDEFINED));
+        AgentBuilder.PhaseTimer phaseTimer = mock(AgentBuilder.PhaseTimer.class);
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .withPhaseTimer(phaseTimer)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), null, REDEFINED.getProtectionDomain(), QUX), nullValue(byte[].class));
+        verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.DISCOVERY), eq(REDEFINED.getClassLoader()), anyLong());
+        verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.DESCRIPTION), eq(REDEFINED.getClassLoader()), anyLong());
+        verify(phaseTimer).onPhase(eq(AgentBuilder.PhaseTimer.Phase.MATCHING), eq(REDEFINED.getClassLoader()), anyLong());
+        verifyNoMoreInteractions(phaseTimer);
+    }
+
+    @Test
+    public void testPhaseTimerMetrics() throws Exception {
+        when(dynamicType.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(TypeDescription.ForLoadedType.of(REDEFINED));
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), null, REDEFINED.getProtectionDomain()))
+                .thenReturn(true);
+        AgentBuilder.PhaseTimer.Metrics.Sink sink = mock(AgentBuilder.PhaseTimer.Metrics.Sink.class);
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(sink);
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .withPhaseTimer(metrics)
+                .with(metrics)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        verify(sink).register(metrics);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), null, REDEFINED.getProtectionDomain(), QUX), is(BAZ));
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), null, REDEFINED.getProtectionDomain(), QUX), is(BAZ));
+        for (AgentBuilder.PhaseTimer.Phase phase : AgentBuilder.PhaseTimer.Phase.values()) {
+            assertThat(metrics.getHistogram(REDEFINED.getClassLoader(), phase).getCount(), is(2L));
+        }
+        assertThat(metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DISCOVERY).size(), is(1));
+        metrics.reset();
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), null, REDEFINED.getProtectionDomain(), QUX), is(BAZ));
+        assertThat(metrics.getHistogram(REDEFINED.getClassLoader(), AgentBuilder.PhaseTimer.Phase.EMISSION).getCount(), is(1L));
+        verifyNoMoreInteractions(sink);
+    }
+
     @Test
     public void testSuccessfulWithoutExistingClassConjunction() throws Exception {
         when(dynamicType.getBytes()).thenReturn(BAZ);
@@ -554,6 +657,66 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testRetransformationSequentialResolutionInterleavesListener() throws Exception {
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{REDEFINED, OTHER});
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isModifiableClass(OTHER)).thenReturn(true);
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(listener)
+                .disableNativeMethodPrefix()
+                .ignore(none())
+                .type(typeMatcher).transform(transformer)
+                .installOn(instrumentation);
+        InOrder inOrder = inOrder(typeMatcher, listener);
+        inOrder.verify(typeMatcher).matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain());
+        inOrder.verify(listener).onComplete(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        inOrder.verify(typeMatcher).matches(TypeDescription.ForLoadedType.of(OTHER), OTHER.getClassLoader(), JavaModule.ofType(OTHER), OTHER, OTHER.getProtectionDomain());
+        inOrder.verify(listener).onComplete(OTHER.getName(), OTHER.getClassLoader(), JavaModule.ofType(OTHER), true);
+    }
+
+    @Test
+    public void testSuccessfulWithRetransformationMatchedParallel() throws Exception {
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain())).thenReturn(true);
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                    .with(initializationStrategy)
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .with(new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(executorService))
+                    .with(poolStrategy)
+                    .with(typeStrategy)
+                    .with(installationListener)
+                    .with(listener)
+                    .disableNativeMethodPrefix()
+                    .ignore(none())
+                    .type(typeMatcher).transform(transformer)
+                    .installOn(instrumentation);
+            verifyZeroInteractions(listener);
+            verify(instrumentation).addTransformer(classFileTransformer, true);
+            verify(instrumentation).getAllLoadedClasses();
+            verify(instrumentation).isModifiableClass(REDEFINED);
+            verify(instrumentation).retransformClasses(REDEFINED);
+            verify(instrumentation).isRetransformClassesSupported();
+            verifyNoMoreInteractions(instrumentation);
+            verify(typeMatcher).matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain());
+            verifyNoMoreInteractions(typeMatcher);
+            verifyZeroInteractions(initializationStrategy);
+            verify(installationListener).onBeforeInstall(instrumentation, classFileTransformer);
+            verify(installationListener).onInstall(instrumentation, classFileTransformer);
+            verifyNoMoreInteractions(installationListener);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void testSuccessfulWithRetransformationMatchedFallback() throws Exception {
         when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
@@ -2298,6 +2461,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
+                AgentBuilder.PreScreeningStrategy.Disabled.INSTANCE,
+                AgentBuilder.PhaseTimer.NoOp.INSTANCE,
                 mock(AgentBuilder.RawMatcher.class),
                 mock(List.class),
                 new AgentBuilder.CircularityLock.Default())
@@ -2331,6 +2496,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
+                AgentBuilder.PreScreeningStrategy.Disabled.INSTANCE,
+                AgentBuilder.PhaseTimer.NoOp.INSTANCE,
                 mock(AgentBuilder.RawMatcher.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
                 new AgentBuilder.Default.CircularityLock.Default());
@@ -2370,6 +2537,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
                 mock(AgentBuilder.InstallationListener.class),
+                AgentBuilder.PreScreeningStrategy.Disabled.INSTANCE,
+                AgentBuilder.PhaseTimer.NoOp.INSTANCE,
                 mock(AgentBuilder.RawMatcher.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
                 new AgentBuilder.CircularityLock.Default());
@@ -2490,6 +2659,13 @@ public class AgentBuilderDefaultTest {
                 .with(mock(AgentBuilder.RedefinitionStrategy.Listener.class));
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testRetransformationDisabledNotEnabledResolution() throws Exception {
+        new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.DISABLED)
+                .with(mock(AgentBuilder.RedefinitionStrategy.ResolutionStrategy.class));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testRetransformationDisabledNotEnabledResubmission() throws Exception {
         new AgentBuilder.Default()
@@ -17,6 +17,8 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class AgentBuilderDescriptionStrategyTest {
@@ -71,6 +73,41 @@ public class AgentBuilderDescriptionStrategyTest {
                 JavaModule.ofType(Object.class)), is(typeDescription));
     }
 
+    @Test
+    public void testLazy() throws Exception {
+        assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withLazyResolution(),
+                hasPrototype((AgentBuilder.DescriptionStrategy) new AgentBuilder.DescriptionStrategy.Lazy(AgentBuilder.DescriptionStrategy.Default.HYBRID)));
+        assertThat(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withLazyResolution().isLoadedFirst(), is(false));
+        assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withLazyResolution().isLoadedFirst(), is(true));
+    }
+
+    @Test
+    public void testLazyDoesNotResolveName() throws Exception {
+        TypeDescription typeDescription = AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withLazyResolution().apply(Object.class.getName(),
+                null,
+                typePool,
+                mock(AgentBuilder.CircularityLock.class),
+                Object.class.getClassLoader(),
+                JavaModule.ofType(Object.class));
+        assertThat(typeDescription.getName(), is(Object.class.getName()));
+        assertThat(typeDescription.getActualName(), is(Object.class.getName()));
+        verifyZeroInteractions(typePool);
+    }
+
+    @Test
+    public void testLazyResolvesDelegate() throws Exception {
+        when(typePool.describe(Object.class.getName())).thenReturn(new TypePool.Resolution.Simple(TypeDescription.OBJECT));
+        TypeDescription typeDescription = AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withLazyResolution().apply(Object.class.getName(),
+                null,
+                typePool,
+                mock(AgentBuilder.CircularityLock.class),
+                Object.class.getClassLoader(),
+                JavaModule.ofType(Object.class));
+        assertThat(typeDescription.getModifiers(), is(TypeDescription.OBJECT.getModifiers()));
+        assertThat(typeDescription, is(TypeDescription.OBJECT));
+        verify(typePool).describe(Object.class.getName());
+    }
+
     @Test
     public void testSuperTypeLoading() throws Exception {
         assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withSuperTypeLoading(),
@@ -0,0 +1,171 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import javax.management.ObjectName;
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderPhaseTimerTest {
+
+    private static final String NAME = "net.bytebuddy:type=AgentBuilderPhaseTimerTest";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.PhaseTimer first, second;
+
+    @Mock
+    private AgentBuilder.PhaseTimer.Metrics.Sink sink;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.PhaseTimer.NoOp.INSTANCE.onPhase(AgentBuilder.PhaseTimer.Phase.DISCOVERY, classLoader, 1L);
+    }
+
+    @Test
+    public void testCompound() throws Exception {
+        new AgentBuilder.PhaseTimer.Compound(first, AgentBuilder.PhaseTimer.NoOp.INSTANCE, new AgentBuilder.PhaseTimer.Compound(second))
+                .onPhase(AgentBuilder.PhaseTimer.Phase.MATCHING, classLoader, 1L);
+        verify(first).onPhase(AgentBuilder.PhaseTimer.Phase.MATCHING, classLoader, 1L);
+        verifyNoMoreInteractions(first);
+        verify(second).onPhase(AgentBuilder.PhaseTimer.Phase.MATCHING, classLoader, 1L);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testHistogram() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics.Histogram histogram = new AgentBuilder.PhaseTimer.Metrics.Histogram();
+        histogram.record(0L);
+        histogram.record(1L);
+        histogram.record(5L);
+        histogram.record(7L);
+        histogram.record(-1L);
+        assertThat(histogram.getCount(), is(5L));
+        assertThat(histogram.getTotalNanos(), is(13L));
+        assertThat(histogram.getMaximumNanos(), is(7L));
+        long[] buckets = histogram.getBuckets();
+        assertThat(buckets.length, is(AgentBuilder.PhaseTimer.Metrics.Histogram.BUCKETS));
+        assertThat(buckets[0], is(3L));
+        assertThat(buckets[1], is(0L));
+        assertThat(buckets[2], is(2L));
+    }
+
+    @Test
+    public void testMetricsPerClassLoader() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(sink);
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.DESCRIPTION, classLoader, 4L);
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.DESCRIPTION, classLoader, 8L);
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.DESCRIPTION, null, 16L);
+        assertThat(metrics.getHistogram(classLoader, AgentBuilder.PhaseTimer.Phase.DESCRIPTION).getCount(), is(2L));
+        assertThat(metrics.getHistogram(classLoader, AgentBuilder.PhaseTimer.Phase.DESCRIPTION).getTotalNanos(), is(12L));
+        assertThat(metrics.getHistogram(classLoader, AgentBuilder.PhaseTimer.Phase.MATCHING).getCount(), is(0L));
+        assertThat(metrics.getHistogram(null, AgentBuilder.PhaseTimer.Phase.DESCRIPTION).getCount(), is(1L));
+        assertThat(metrics.getHistogram(mock(ClassLoader.class), AgentBuilder.PhaseTimer.Phase.DESCRIPTION), nullValue(AgentBuilder.PhaseTimer.Metrics.Histogram.class));
+        AgentBuilder.PhaseTimer.Metrics.Histogram histogram = metrics.getHistogram(AgentBuilder.PhaseTimer.Phase.DESCRIPTION);
+        assertThat(histogram.getCount(), is(3L));
+        assertThat(histogram.getTotalNanos(), is(28L));
+        assertThat(histogram.getMaximumNanos(), is(16L));
+        Map<String, AgentBuilder.PhaseTimer.Metrics.Histogram> histograms = metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DESCRIPTION);
+        assertThat(histograms.size(), is(2));
+        assertThat(histograms.get("bootstrap").getCount(), is(1L));
+        metrics.reset();
+        assertThat(metrics.getHistogram(AgentBuilder.PhaseTimer.Phase.DESCRIPTION).getCount(), is(0L));
+        assertThat(metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DESCRIPTION).size(), is(0));
+    }
+
+    @Test
+    public void testMetricsClassLoaderIsNotReferenced() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(sink);
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.DISCOVERY, classLoader, 1L);
+        assertThat(metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DISCOVERY).size(), is(1));
+        classLoader = null;
+        for (int index = 0; index < 10 && !metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DISCOVERY).isEmpty(); index++) {
+            System.gc();
+            Thread.sleep(50L);
+        }
+        metrics.expungeStaleEntries();
+        assertThat(metrics.getHistograms(AgentBuilder.PhaseTimer.Phase.DISCOVERY).size(), is(0));
+    }
+
+    @Test
+    public void testMetricsInstallation() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(sink);
+        metrics.onBeforeInstall(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        verifyZeroInteractions(sink);
+        metrics.onInstall(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        verify(sink).register(metrics);
+        metrics.onReset(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        verify(sink).unregister(metrics);
+        verifyNoMoreInteractions(sink);
+    }
+
+    @Test
+    public void testManagement() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(sink);
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.EMISSION, null, 3L);
+        AgentBuilder.PhaseTimer.Metrics.Management management = new AgentBuilder.PhaseTimer.Metrics.Management.ForMetrics(metrics);
+        assertThat(management.getClassLoaders(), is(new String[]{"bootstrap"}));
+        assertThat(management.getCount(AgentBuilder.PhaseTimer.Phase.EMISSION.name()), is(1L));
+        assertThat(management.getTotalNanos(AgentBuilder.PhaseTimer.Phase.EMISSION.name()), is(3L));
+        assertThat(management.getMaximumNanos(AgentBuilder.PhaseTimer.Phase.EMISSION.name()), is(3L));
+        assertThat(management.getBuckets(AgentBuilder.PhaseTimer.Phase.EMISSION.name())[1], is(1L));
+        assertThat(management.getBuckets("bootstrap", AgentBuilder.PhaseTimer.Phase.EMISSION.name())[1], is(1L));
+        assertThat(management.getBuckets("foo", AgentBuilder.PhaseTimer.Phase.EMISSION.name()).length, is(0));
+        management.reset();
+        assertThat(management.getCount(AgentBuilder.PhaseTimer.Phase.EMISSION.name()), is(0L));
+    }
+
+    @Test
+    public void testJmxSink() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics(new AgentBuilder.PhaseTimer.Metrics.Sink.ForJmx(NAME));
+        metrics.onPhase(AgentBuilder.PhaseTimer.Phase.REGISTRATION, null, 1L);
+        metrics.onInstall(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        try {
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(NAME)), is(true));
+            assertThat(ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(NAME),
+                    "getCount",
+                    new Object[]{AgentBuilder.PhaseTimer.Phase.REGISTRATION.name()},
+                    new String[]{String.class.getName()}), is((Object) 1L));
+        } finally {
+            metrics.onReset(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        }
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(NAME)), is(false));
+    }
+
+    @Test
+    public void testJmxSinkDefaultName() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics metrics = new AgentBuilder.PhaseTimer.Metrics();
+        ObjectName objectName = new AgentBuilder.PhaseTimer.Metrics.Sink.ForJmx().toObjectName(metrics);
+        assertThat(objectName.getKeyProperty("id"), is(Integer.toHexString(System.identityHashCode(metrics))));
+        metrics.onInstall(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        try {
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName), is(true));
+        } finally {
+            metrics.onReset(mock(Instrumentation.class), mock(ResettableClassFileTransformer.class));
+        }
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName), is(false));
+    }
+
+    @Test
+    public void testNoOpSink() throws Exception {
+        AgentBuilder.PhaseTimer.Metrics.Sink.NoOp.INSTANCE.register(mock(AgentBuilder.PhaseTimer.Metrics.class));
+        AgentBuilder.PhaseTimer.Metrics.Sink.NoOp.INSTANCE.unregister(mock(AgentBuilder.PhaseTimer.Metrics.class));
+    }
+}
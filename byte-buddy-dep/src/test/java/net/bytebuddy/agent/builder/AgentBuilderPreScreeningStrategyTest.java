@@ -0,0 +1,82 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderPreScreeningStrategyTest {
+
+    private static final String FOO = "foo/Bar", BAR = "bar/Foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.PreScreeningStrategy first, second;
+
+    @Mock
+    private ElementMatcher<? super ClassLoader> matcher;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Test
+    public void testDisabled() throws Exception {
+        assertThat(AgentBuilder.PreScreeningStrategy.Disabled.INSTANCE.isIgnored(FOO, null), is(false));
+    }
+
+    @Test
+    public void testBootstrapClassLoader() throws Exception {
+        assertThat(AgentBuilder.PreScreeningStrategy.ForBootstrapClassLoader.INSTANCE.isIgnored(FOO, null), is(true));
+        assertThat(AgentBuilder.PreScreeningStrategy.ForBootstrapClassLoader.INSTANCE.isIgnored(FOO, classLoader), is(false));
+    }
+
+    @Test
+    public void testNamePrefix() throws Exception {
+        AgentBuilder.PreScreeningStrategy preScreeningStrategy = new AgentBuilder.PreScreeningStrategy.ForNamePrefix("foo.", "qux/");
+        assertThat(preScreeningStrategy.isIgnored(FOO, classLoader), is(true));
+        assertThat(preScreeningStrategy.isIgnored(BAR, classLoader), is(false));
+        assertThat(preScreeningStrategy.isIgnored("qux/Baz", classLoader), is(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClassLoader() throws Exception {
+        when(matcher.matches(classLoader)).thenReturn(true);
+        AgentBuilder.PreScreeningStrategy preScreeningStrategy = new AgentBuilder.PreScreeningStrategy.ForClassLoader(matcher);
+        assertThat(preScreeningStrategy.isIgnored(FOO, classLoader), is(true));
+        assertThat(preScreeningStrategy.isIgnored(FOO, null), is(false));
+    }
+
+    @Test
+    public void testCounting() throws Exception {
+        when(first.isIgnored(FOO, classLoader)).thenReturn(true);
+        AgentBuilder.PreScreeningStrategy.Counting preScreeningStrategy = new AgentBuilder.PreScreeningStrategy.Counting(first);
+        assertThat(preScreeningStrategy.isIgnored(FOO, classLoader), is(true));
+        assertThat(preScreeningStrategy.isIgnored(BAR, classLoader), is(false));
+        assertThat(preScreeningStrategy.isIgnored(FOO, classLoader), is(true));
+        assertThat(preScreeningStrategy.getCount(), is(2L));
+    }
+
+    @Test
+    public void testCompound() throws Exception {
+        when(second.isIgnored(FOO, classLoader)).thenReturn(true);
+        AgentBuilder.PreScreeningStrategy preScreeningStrategy = new AgentBuilder.PreScreeningStrategy.Compound(first,
+                AgentBuilder.PreScreeningStrategy.Disabled.INSTANCE,
+                new AgentBuilder.PreScreeningStrategy.Compound(second));
+        assertThat(preScreeningStrategy.isIgnored(FOO, classLoader), is(true));
+        assertThat(preScreeningStrategy.isIgnored(BAR, classLoader), is(false));
+        verify(first).isIgnored(FOO, classLoader);
+        verify(first).isIgnored(BAR, classLoader);
+        verify(second).isIgnored(FOO, classLoader);
+        verify(second).isIgnored(BAR, classLoader);
+        verifyNoMoreInteractions(first, second);
+    }
+}
@@ -0,0 +1,152 @@
+package net.bytebuddy.agent.builder;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderRedefinitionStrategyResolutionStrategyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSequential() throws Exception {
+        assertThat(toList(AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE.resolve(Arrays.asList(new Constant(FOO), new Constant(BAR)))),
+                is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    public void testSequentialIsLazy() throws Exception {
+        Counting first = new Counting(), second = new Counting();
+        Iterator<Integer> iterator = AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE.resolve(Arrays.asList(first, second)).iterator();
+        assertThat(first.count, is(0));
+        assertThat(second.count, is(0));
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(1));
+        assertThat(second.count, is(0));
+        assertThat(iterator.next(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSequentialError() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE.resolve(Collections.singletonList(new Failing())).iterator().next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSequentialRemove() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Sequential.INSTANCE.resolve(Collections.singletonList(new Constant(FOO))).iterator().remove();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallel() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            assertThat(toList(new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(executorService).resolve(Arrays.asList(new Constant(FOO), new Constant(BAR)))),
+                    is(Arrays.asList(FOO, BAR)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelRejected() throws Exception {
+        assertThat(toList(new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(new Rejecting()).resolve(Arrays.asList(new Constant(FOO), new Constant(BAR)))),
+                is(Arrays.asList(FOO, BAR)));
+    }
+
+    @Test
+    public void testParallelIsWindowed() throws Exception {
+        Counting first = new Counting(), second = new Counting(), third = new Counting();
+        Iterator<Integer> iterator = new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(new Rejecting(), 2)
+                .resolve(Arrays.asList(first, second, third))
+                .iterator();
+        assertThat(first.count, is(0));
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(1));
+        assertThat(second.count, is(1));
+        assertThat(third.count, is(0));
+        assertThat(iterator.next(), is(1));
+        assertThat(third.count, is(1));
+        assertThat(iterator.next(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelIllegalWindow() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(new Rejecting(), 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testParallelRemove() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(new Rejecting()).resolve(Collections.singletonList(new Constant(FOO))).iterator().remove();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelError() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            new AgentBuilder.RedefinitionStrategy.ResolutionStrategy.Parallel(executorService).resolve(Collections.singletonList(new Failing())).iterator().next();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<T>();
+        for (T value : iterable) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static class Counting implements Callable<Integer> {
+
+        private int count;
+
+        public Integer call() {
+            return ++count;
+        }
+    }
+
+    private static class Constant implements Callable<String> {
+
+        private final String value;
+
+        private Constant(String value) {
+            this.value = value;
+        }
+
+        public String call() {
+            return value;
+        }
+    }
+
+    private static class Failing implements Callable<String> {
+
+        public String call() throws Exception {
+            throw new Exception();
+        }
+    }
+
+    private static class Rejecting implements Executor {
+
+        public void execute(Runnable command) {
+            throw new RejectedExecutionException();
+        }
+    }
+}
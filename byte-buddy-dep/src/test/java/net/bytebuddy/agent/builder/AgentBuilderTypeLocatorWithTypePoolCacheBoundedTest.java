@@ -0,0 +1,75 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderTypeLocatorWithTypePoolCacheBoundedTest {
+
+    @Test
+    public void testBoundedImplementation() throws Exception {
+        ClassLoader first = new URLClassLoader(new URL[0], null), second = new URLClassLoader(new URL[0], null);
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(16);
+        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(first);
+        assertThat(poolStrategy.typePool(classFileLocator, first), hasPrototype(poolStrategy.typePool(classFileLocator, first)));
+        assertThat(poolStrategy.typePool(classFileLocator, first), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
+        assertThat(poolStrategy.getClassLoaderCount(), is(2));
+    }
+
+    @Test
+    public void testBoundedImplementationBootstrap() throws Exception {
+        ClassLoader second = new URLClassLoader(new URL[0], null);
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(16);
+        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.ofBootLoader();
+        assertThat(poolStrategy.typePool(classFileLocator, null), hasPrototype(poolStrategy.typePool(classFileLocator, null)));
+        assertThat(poolStrategy.typePool(classFileLocator, null), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
+    }
+
+    @Test
+    public void testBoundedStatistics() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(1);
+        TypePool typePool = poolStrategy.typePool(ClassFileLocator.ForClassLoader.ofBootLoader(), null);
+        assertThat(typePool.describe(String.class.getName()).isResolved(), is(true));
+        assertThat(typePool.describe(String.class.getName()).isResolved(), is(true));
+        assertThat(typePool.describe(Integer.class.getName()).isResolved(), is(true));
+        assertThat(poolStrategy.getHits() > 0L, is(true));
+        assertThat(poolStrategy.getMisses() > 0L, is(true));
+        assertThat(poolStrategy.getEvictions() > 0L, is(true));
+        assertThat(poolStrategy.getSize(), is(1L));
+        poolStrategy.clear();
+        assertThat(poolStrategy.getSize(), is(0L));
+    }
+
+    @Test
+    public void testBoundedClassLoaderCollection() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(16);
+        TypePool typePool = poolStrategy.typePool(ClassFileLocator.ForClassLoader.of(classLoader), classLoader);
+        assertThat(typePool.describe(Object.class.getName()).resolve().getSuperClass(), nullValue(TypeDescription.Generic.class));
+        assertThat(poolStrategy.getClassLoaderCount(), is(1));
+        classLoader = null; // Make eligible for GC
+        typePool = null;
+        for (int index = 0; index < 10 && poolStrategy.getClassLoaderCount() > 0; index++) {
+            System.gc();
+            Thread.sleep(50L);
+            poolStrategy.expungeStaleEntries();
+        }
+        assertThat(poolStrategy.getClassLoaderCount(), is(0));
+        assertThat(poolStrategy.getMisses() > 0L, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(0);
+    }
+}
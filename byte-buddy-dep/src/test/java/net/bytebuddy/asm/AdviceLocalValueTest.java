@@ -4,15 +4,19 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 public class AdviceLocalValueTest {
 
     private static final String FOO = "foo", BAR = "bar";
 
-    private static final String ENTER = "enter", EXIT = "exit";
+    private static final String ENTER = "enter", EXIT = "exit", LOCAL = "local";
 
     @Test
     public void testAdviceWithLocalValue() throws Exception {
@@ -40,14 +44,46 @@ public class AdviceLocalValueTest {
         assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
     }
 
+    @Test
+    public void testAdviceWithPrimitiveLocalValues() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(LocalValuePrimitiveAdvice.class).on(named(BAR)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(BAR, long.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), 42L, FOO), is((Object) (FOO + 42L)));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(LOCAL).get(null), is((Object) 42L));
+        try {
+            type.getDeclaredMethod(BAR, long.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), -42L, FOO);
+            fail();
+        } catch (InvocationTargetException exception) {
+            assertThat(exception.getTargetException(), instanceOf(IllegalArgumentException.class));
+        }
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 2));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 2));
+        assertThat(type.getDeclaredField(LOCAL).get(null), is((Object) (-42L)));
+    }
+
     @SuppressWarnings("unused")
     public static class Sample {
 
         public static int enter, exit;
 
+        public static long local;
+
         public String foo() {
             return FOO;
         }
+
+        public String bar(long value, String text) {
+            if (value < 0L) {
+                throw new IllegalArgumentException();
+            }
+            return text + value;
+        }
     }
 
     @SuppressWarnings("unused")
@@ -108,4 +144,26 @@ public class AdviceLocalValueTest {
         }
     }
 
+    @SuppressWarnings("unused")
+    public static class LocalValuePrimitiveAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.Local(FOO) long foo, @Advice.Local(BAR) int bar, @Advice.Argument(0) long value) {
+            if (foo != 0L || bar != 0) {
+                throw new AssertionError();
+            }
+            foo = value;
+            bar = 1;
+            Sample.enter++;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Exception.class)
+        private static void exit(@Advice.Local(BAR) int bar, @Advice.Local(FOO) long foo, @Advice.Argument(0) long value) {
+            if (foo != value || bar != 1) {
+                throw new AssertionError();
+            }
+            Sample.exit += bar;
+            Sample.local = foo;
+        }
+    }
 }
@@ -0,0 +1,259 @@
+package net.bytebuddy.asm;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+
+import java.lang.reflect.Method;
+
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdviceSamplingTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final String ENTER = "enter", EXIT = "exit";
+
+    private static final int INVOCATIONS = 1000, RATE = 4;
+
+    @Test
+    public void testSamplingEveryInvocation() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingAdvice.class).withSampling(1).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        }
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) INVOCATIONS));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) INVOCATIONS));
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingAdvice.class).withSampling(RATE).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        }
+        int enter = (Integer) type.getDeclaredField(ENTER).get(null);
+        assertThat(enter > 0, is(true));
+        assertThat(enter < INVOCATIONS, is(true));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) enter));
+    }
+
+    @Test
+    public void testSamplingWithEnterValueAndLocalValue() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingEnterValueAdvice.class).withSampling(RATE).on(named(BAR)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        Method method = type.getDeclaredMethod(BAR, long.class, String.class);
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(method.invoke(instance, (long) index, FOO), is((Object) (FOO + index)));
+        }
+        int enter = (Integer) type.getDeclaredField(ENTER).get(null);
+        assertThat(enter > 0, is(true));
+        assertThat(enter < INVOCATIONS, is(true));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) enter));
+    }
+
+    @Test
+    public void testSamplingWithEnterValueAndLocalValueExpanded() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingEnterValueAdvice.class).withSampling(RATE).on(named(BAR)).readerFlags(ClassReader.EXPAND_FRAMES))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        Method method = type.getDeclaredMethod(BAR, long.class, String.class);
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(method.invoke(instance, (long) index, FOO), is((Object) (FOO + index)));
+        }
+        int enter = (Integer) type.getDeclaredField(ENTER).get(null);
+        assertThat(enter > 0, is(true));
+        assertThat(enter < INVOCATIONS, is(true));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) enter));
+    }
+
+    @Test
+    public void testSamplingConstructor() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingAdvice.class).withSampling(RATE).on(isConstructor()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            type.getDeclaredConstructor().newInstance();
+        }
+        int enter = (Integer) type.getDeclaredField(ENTER).get(null);
+        assertThat(enter > 0, is(true));
+        assertThat(enter < INVOCATIONS, is(true));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) enter));
+    }
+
+    @Test
+    public void testSamplingDoesNotSkipInstrumentedMethod() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingSkipAdvice.class).withSampling(Integer.MAX_VALUE).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        }
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 0));
+    }
+
+    @Test
+    public void testSamplingExitAdviceOnly() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(SamplingExitAdvice.class).withSampling(RATE).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        }
+        int exit = (Integer) type.getDeclaredField(EXIT).get(null);
+        assertThat(exit > 0, is(true));
+        assertThat(exit < INVOCATIONS, is(true));
+    }
+
+    @Test
+    public void testSamplingDelegation() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(SamplingDelegationAdvice.class)
+                .visit(Advice.to(SamplingDelegationAdvice.class).withSampling(RATE).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        for (int index = 0; index < INVOCATIONS; index++) {
+            assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        }
+        int enter = (Integer) type.getDeclaredField(ENTER).get(null);
+        assertThat(enter > 0, is(true));
+        assertThat(enter < INVOCATIONS, is(true));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) enter));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSampling() throws Exception {
+        Advice.to(SamplingAdvice.class).withSampling(0);
+    }
+
+    @SuppressWarnings("unused")
+    public static class Sample {
+
+        public static int enter, exit;
+
+        public String foo() {
+            return FOO;
+        }
+
+        public String bar(long value, String text) {
+            if (value < 0L) {
+                throw new IllegalArgumentException();
+            }
+            return text + value;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SamplingAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter() {
+            Sample.enter++;
+        }
+
+        @Advice.OnMethodExit
+        private static void exit() {
+            Sample.exit++;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SamplingEnterValueAdvice {
+
+        @Advice.OnMethodEnter
+        private static long enter(@Advice.Argument(0) long value, @Advice.Local(FOO) int foo) {
+            foo = 42;
+            Sample.enter++;
+            return value + 1L;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Exception.class)
+        private static void exit(@Advice.Argument(0) long value, @Advice.Enter long enter, @Advice.Local(FOO) int foo) {
+            if (enter != value + 1L || foo != 42) {
+                throw new AssertionError();
+            }
+            Sample.exit++;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SamplingSkipAdvice {
+
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        private static boolean enter() {
+            Sample.enter++;
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SamplingExitAdvice {
+
+        @Advice.OnMethodExit
+        private static void exit() {
+            Sample.exit++;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SamplingDelegationAdvice {
+
+        public static int enter, exit;
+
+        public String foo() {
+            return FOO;
+        }
+
+        @Advice.OnMethodEnter(inline = false)
+        private static long enter() {
+            enter++;
+            return 42L;
+        }
+
+        @Advice.OnMethodExit(inline = false, onThrowable = Exception.class)
+        private static void exit(@Advice.Enter long value) {
+            if (value != 42L) {
+                throw new AssertionError();
+            }
+            exit++;
+        }
+    }
+}
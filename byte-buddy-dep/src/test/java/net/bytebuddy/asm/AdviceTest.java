@@ -1,13 +1,16 @@
 package net.bytebuddy.asm;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.modifier.Ownership;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.StubMethod;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
@@ -16,6 +19,7 @@ import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.test.packaging.AdviceTestHelper;
 import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.utility.ArgumentView;
 import net.bytebuddy.utility.JavaType;
 import org.junit.Rule;
 import org.junit.Test;
@@ -36,6 +40,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static junit.framework.TestCase.fail;
@@ -52,6 +57,8 @@ public class AdviceTest {
 
     private static final String ENTER = "enter", EXIT = "exit", INSIDE = "inside", THROWABLE = "throwable";
 
+    private static final String ORIGIN_METHOD_HANDLE = "net.bytebuddy.test.precompiled.AdviceOriginMethodHandle";
+
     private static final int VALUE = 42, IGNORED = 1;
 
     @Rule
@@ -235,6 +242,35 @@ public class AdviceTest {
         assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
     }
 
+    @Test
+    public void testTrivialAdvicePreDecoded() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.withCustomMapping().with(Advice.Decoding.PRE_DECODED).to(TrivialAdvice.class).on(named(FOO).or(named(BAR))))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) FOO));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+        assertThat(type.getDeclaredMethod(BAR, String.class).invoke(type.getDeclaredConstructor().newInstance(), BAR), is((Object) BAR));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 2));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 2));
+    }
+
+    @Test
+    public void testAdviceWithExceptionHandlerPreDecoded() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.withCustomMapping().with(Advice.Decoding.PRE_DECODED).to(TrivialAdviceWithSuppression.class).on(named(FOO)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) FOO));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+    }
+
     @Test
     public void testTrivialAdviceWithDelegation() throws Exception {
         Class<?> type = new ByteBuddy()
@@ -989,6 +1025,128 @@ public class AdviceTest {
         assertThat(type.getDeclaredMethod(BAR, String.class).invoke(type.getDeclaredConstructor().newInstance(), FOO), is((Object) FOO));
     }
 
+    @Test
+    public void testAllArgumentsViewAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(ArgumentViewSample.class)
+                .visit(Advice.to(ArgumentViewAdvice.class).on(named(FOO)))
+                .make()
+                .load(ArgumentViewSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(FOO, int.class, long.class, String.class).invoke(type.getDeclaredConstructor().newInstance(),
+                VALUE,
+                (long) VALUE,
+                BAR), is((Object) (FOO + BAR + (VALUE * 2L))));
+    }
+
+    @Test
+    public void testAllArgumentsViewPooledAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(ArgumentViewRecursiveSample.class)
+                .visit(Advice.to(ArgumentViewPoolingAdvice.class).on(named(FOO)))
+                .make()
+                .load(ArgumentViewRecursiveSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        ArgumentViewPoolingAdvice.argumentViews.clear();
+        for (int index = 0; index < 3; index++) {
+            assertThat(type.getDeclaredMethod(FOO, int.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), 3, BAR), is((Object) 3));
+        }
+        assertThat(ArgumentViewPoolingAdvice.argumentViews.size(), is(24));
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        try {
+            for (ArgumentView observed : ArgumentViewPoolingAdvice.argumentViews) {
+                assertThat(observed, sameInstance(argumentView));
+            }
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testAllArgumentsViewPooledDelegationAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(ArgumentViewRecursiveSample.class)
+                .visit(Advice.to(ArgumentViewPoolingDelegationAdvice.class).on(named(FOO)))
+                .make()
+                .load(ArgumentViewRecursiveSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        ArgumentViewPoolingAdvice.argumentViews.clear();
+        for (int index = 0; index < 3; index++) {
+            assertThat(type.getDeclaredMethod(FOO, int.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), 3, BAR), is((Object) 3));
+        }
+        assertThat(ArgumentViewPoolingAdvice.argumentViews.size(), is(24));
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        try {
+            for (ArgumentView observed : ArgumentViewPoolingAdvice.argumentViews) {
+                assertThat(observed, sameInstance(argumentView));
+            }
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testAllArgumentsViewPooledExceptionAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(ArgumentViewRecursiveSample.class)
+                .visit(Advice.to(ArgumentViewThrowingAdvice.class).on(named(FOO)))
+                .make()
+                .load(ArgumentViewRecursiveSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        ArgumentViewPoolingAdvice.argumentViews.clear();
+        try {
+            type.getDeclaredMethod(FOO, int.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), 3, BAR);
+            fail();
+        } catch (InvocationTargetException exception) {
+            assertThat(exception.getTargetException(), instanceOf(IllegalArgumentException.class));
+        }
+        assertThat(ArgumentViewPoolingAdvice.argumentViews.size(), is(4));
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        try {
+            for (ArgumentView observed : ArgumentViewPoolingAdvice.argumentViews) {
+                assertThat(observed, sameInstance(argumentView));
+            }
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testAllArgumentsViewPooledSuppressedAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(ArgumentViewRecursiveSample.class)
+                .visit(Advice.to(ArgumentViewSuppressingAdvice.class).on(named(FOO)))
+                .make()
+                .load(ArgumentViewRecursiveSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        ArgumentViewPoolingAdvice.argumentViews.clear();
+        assertThat(type.getDeclaredMethod(FOO, int.class, String.class).invoke(type.getDeclaredConstructor().newInstance(), 3, BAR), is((Object) 3));
+        assertThat(ArgumentViewPoolingAdvice.argumentViews.size(), is(4));
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        try {
+            for (ArgumentView observed : ArgumentViewPoolingAdvice.argumentViews) {
+                assertThat(observed, sameInstance(argumentView));
+            }
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAllArgumentsViewRetainedAsEnterValue() throws Exception {
+        Advice.to(ArgumentViewRetainingAdvice.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAllArgumentsViewRetainedAsLocalValue() throws Exception {
+        Advice.to(ArgumentViewLocalAdvice.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAllArgumentsViewWritable() throws Exception {
+        Advice.to(ArgumentViewWritableAdvice.class);
+    }
+
     @Test
     public void testAllArgumentsStackSizeEmptyAdvice() throws Exception {
         Class<?> type = new ByteBuddy()
@@ -1088,6 +1246,87 @@ public class AdviceTest {
                 .make();
     }
 
+    @Test
+    public void testOriginMethodCachedAdvice() throws Exception {
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(Advice.to(OriginMethodCachedAdvice.class).wrap(StubMethod.INSTANCE))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) type.getDeclaredMethod(FOO)));
+        assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) type.getDeclaredMethod(FOO)));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testOriginMethodCachedDynamicAdvice() throws Exception {
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(Advice.to(OriginMethodCachedAdvice.class).wrap(StubMethod.INSTANCE))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        Object origin = type.getDeclaredMethod(FOO).invoke(instance);
+        assertThat(origin, is((Object) type.getDeclaredMethod(FOO)));
+        assertThat(type.getDeclaredMethod(FOO).invoke(instance), sameInstance(origin));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testOriginMethodHandleAdvice() throws Exception {
+        Class<?> advice = Class.forName(ORIGIN_METHOD_HANDLE);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Object.class)
+                .defineMethod(FOO, String.class, Visibility.PUBLIC)
+                .intercept(FixedValue.value(FOO))
+                .visit(Advice.to(advice).on(named(FOO)))
+                .make()
+                .load(advice.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(FOO).invoke(instance), is((Object) FOO));
+        Object methodHandle = advice.getDeclaredField("methodHandle").get(null);
+        assertThat(methodHandle, instanceOf(JavaType.METHOD_HANDLE.load()));
+        assertThat(JavaType.METHOD_HANDLE.load().getMethod("invokeWithArguments", Object[].class).invoke(methodHandle, (Object) new Object[]{instance}), is((Object) FOO));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @JavaVersionRule.Enforce(7)
+    public void testOriginMethodHandleLegacyClassFileVersionAdvice() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Object.class)
+                .defineMethod(FOO, String.class, Visibility.PUBLIC)
+                .intercept(FixedValue.value(FOO))
+                .visit(Advice.to(Class.forName(ORIGIN_METHOD_HANDLE)).on(named(FOO)))
+                .make();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOriginMethodCachedNonAssignableAdvice() throws Exception {
+        new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(OriginMethodCachedAdvice.class).on(isConstructor()))
+                .make();
+    }
+
+    @Test
+    public void testOriginConstructorCachedAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(OriginConstructorCachedAdvice.class).on(isConstructor()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) FOO));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+    }
+
     @Test
     public void testOriginConstructorAdvice() throws Exception {
         Class<?> type = new ByteBuddy()
@@ -2825,6 +3064,36 @@ public class AdviceTest {
         }
     }
 
+    @SuppressWarnings("unused")
+    public static class OriginMethodCachedAdvice {
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.Origin(cache = true) Method origin,
+                                 @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned) {
+            returned = origin;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class OriginConstructorCachedAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.Origin(cache = true) Constructor<?> origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredConstructor())) {
+                throw new AssertionError();
+            }
+            Sample.enter++;
+        }
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.Origin(cache = true) Constructor<?> origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredConstructor())) {
+                throw new AssertionError();
+            }
+            Sample.exit++;
+        }
+    }
+
     @SuppressWarnings("unused")
     public static class OriginConstructorAdvice {
 
@@ -3398,6 +3667,125 @@ public class AdviceTest {
         }
     }
 
+    public static class ArgumentViewSample {
+
+        public String foo(int first, long second, String third) {
+            return FOO;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewAdvice {
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.AllArguments ArgumentView arguments, @Advice.Return(readOnly = false) String returned) {
+            if (arguments.size() != 3 || !arguments.isPrimitive(0) || arguments.isPrimitive(2)) {
+                throw new AssertionError();
+            }
+            returned = returned + arguments.getObject(2) + (arguments.getInt(0) + arguments.getLong(1));
+        }
+    }
+
+    public static class ArgumentViewRecursiveSample {
+
+        public int foo(int value, String text) {
+            return value > 0
+                    ? foo(value - 1, text + value) + 1
+                    : 0;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewPoolingAdvice {
+
+        public static final List<ArgumentView> argumentViews = new ArrayList<ArgumentView>();
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.AllArguments ArgumentView arguments, @Advice.Argument(0) int value, @Advice.Argument(1) String text) {
+            if (arguments.getInt(0) != value || !arguments.getObject(1).equals(text)) {
+                throw new AssertionError();
+            }
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+        }
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.AllArguments ArgumentView arguments, @Advice.Argument(0) int value, @Advice.Argument(1) String text) {
+            if (arguments.getInt(0) != value || !arguments.getObject(1).equals(text)) {
+                throw new AssertionError();
+            }
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewPoolingDelegationAdvice {
+
+        @Advice.OnMethodEnter(inline = false)
+        public static void enter(@Advice.AllArguments ArgumentView arguments, @Advice.Argument(0) int value, @Advice.Argument(1) String text) {
+            if (arguments.getInt(0) != value || !arguments.getObject(1).equals(text)) {
+                throw new AssertionError();
+            }
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+        }
+
+        @Advice.OnMethodExit(inline = false)
+        public static void exit(@Advice.AllArguments ArgumentView arguments, @Advice.Argument(0) int value, @Advice.Argument(1) String text) {
+            if (arguments.getInt(0) != value || !arguments.getObject(1).equals(text)) {
+                throw new AssertionError();
+            }
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewThrowingAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.AllArguments ArgumentView arguments) {
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+            if (arguments.getInt(0) == 0) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewSuppressingAdvice {
+
+        @Advice.OnMethodEnter(suppress = RuntimeException.class)
+        private static void enter(@Advice.AllArguments ArgumentView arguments) {
+            ArgumentViewPoolingAdvice.argumentViews.add(arguments);
+            throw new IllegalArgumentException();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewRetainingAdvice {
+
+        @Advice.OnMethodEnter
+        private static ArgumentView enter(@Advice.AllArguments ArgumentView arguments) {
+            return arguments;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewLocalAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.Local(FOO) ArgumentView arguments) {
+            /* empty */
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ArgumentViewWritableAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.AllArguments(readOnly = false) ArgumentView arguments) {
+            /* empty */
+        }
+    }
+
     public static class BoxedArgumentsObjectTypeAdvice {
 
         @Advice.OnMethodEnter
@@ -0,0 +1,233 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static junit.framework.TestCase.fail;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PluginEngineDispatcherForStreamingTransformationTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Plugin.Engine.Target.Sink sink;
+
+    @Mock
+    private Plugin.Engine.Dispatcher.Materializable materializable, otherMaterializable;
+
+    private List<TypeDescription> transformed;
+
+    private Map<TypeDescription, List<Throwable>> failed;
+
+    private List<String> unresolved;
+
+    private List<Runnable> runnables;
+
+    private Executor executor;
+
+    private boolean preprocessingError, processingError;
+
+    @Before
+    public void setUp() throws Exception {
+        transformed = new ArrayList<TypeDescription>();
+        failed = new HashMap<TypeDescription, List<Throwable>>();
+        unresolved = new ArrayList<String>();
+        runnables = new ArrayList<Runnable>();
+        executor = new Executor() {
+            public void execute(Runnable runnable) {
+                runnables.add(runnable);
+            }
+        };
+    }
+
+    @Test
+    public void testEagerTransformationIsStreamed() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 2, false, sink, transformed, failed, unresolved);
+        dispatcher.accept(work(materializable), true);
+        runnables.get(0).run();
+        verifyZeroInteractions(materializable);
+        dispatcher.accept(work(otherMaterializable), true);
+        verify(materializable).materialize(sink, transformed, failed, unresolved);
+        verifyZeroInteractions(otherMaterializable);
+        runnables.get(1).run();
+        dispatcher.complete();
+        verify(otherMaterializable).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(materializable, otherMaterializable);
+    }
+
+    @Test
+    public void testDeferredTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(new Synchronous(), 1, false, sink, transformed, failed, unresolved);
+        dispatcher.accept(work(materializable), false);
+        dispatcher.accept(work(otherMaterializable), false);
+        verifyZeroInteractions(materializable, otherMaterializable);
+        dispatcher.complete();
+        verify(materializable).materialize(sink, transformed, failed, unresolved);
+        verify(otherMaterializable).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(materializable, otherMaterializable);
+    }
+
+    @Test
+    public void testOrderedTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 2, true, sink, transformed, failed, unresolved);
+        dispatcher.accept(work(materializable), true);
+        dispatcher.accept(work(otherMaterializable), true);
+        runnables.get(1).run();
+        runnables.get(0).run();
+        dispatcher.complete();
+        InOrder inOrder = inOrder(materializable, otherMaterializable);
+        inOrder.verify(materializable).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(otherMaterializable).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testUnorderedTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 2, false, sink, transformed, failed, unresolved);
+        dispatcher.accept(work(materializable), true);
+        dispatcher.accept(work(otherMaterializable), true);
+        runnables.get(1).run();
+        runnables.get(0).run();
+        dispatcher.complete();
+        InOrder inOrder = inOrder(materializable, otherMaterializable);
+        inOrder.verify(otherMaterializable).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(materializable).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test(timeout = 10000L)
+    public void testBoundedTransformation() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2), acceptingService = Executors.newSingleThreadExecutor();
+        try {
+            final Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executorService, 1, false, sink, transformed, failed, unresolved);
+            final CountDownLatch latch = new CountDownLatch(1);
+            dispatcher.accept(new Callable<Callable<Plugin.Engine.Dispatcher.Materializable>>() {
+                public Callable<Plugin.Engine.Dispatcher.Materializable> call() throws Exception {
+                    latch.await();
+                    return new Constant(materializable);
+                }
+            }, true);
+            Future<?> accepting = acceptingService.submit(new Callable<Void>() {
+                public Void call() throws Exception {
+                    dispatcher.accept(work(otherMaterializable), true);
+                    return null;
+                }
+            });
+            try {
+                accepting.get(100L, TimeUnit.MILLISECONDS);
+                fail();
+            } catch (TimeoutException ignored) {
+                /* expected */
+            }
+            latch.countDown();
+            accepting.get();
+            verify(materializable).materialize(sink, transformed, failed, unresolved);
+            dispatcher.complete();
+            verify(otherMaterializable).materialize(sink, transformed, failed, unresolved);
+        } finally {
+            executorService.shutdown();
+            acceptingService.shutdown();
+        }
+    }
+
+    @Test
+    public void testPreprocessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(new Synchronous(), 1, false, sink, transformed, failed, unresolved);
+        preprocessingError = true;
+        dispatcher.accept(work(materializable), false);
+        try {
+            dispatcher.complete();
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+        verifyZeroInteractions(materializable);
+    }
+
+    @Test
+    public void testProcessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(new Synchronous(), 1, false, sink, transformed, failed, unresolved);
+        processingError = true;
+        dispatcher.accept(work(materializable), false);
+        try {
+            dispatcher.complete();
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+        verifyZeroInteractions(materializable);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 1, false, sink, transformed, failed, unresolved);
+        dispatcher.accept(work(materializable), true);
+        dispatcher.close();
+        assertThat(((Future<?>) runnables.get(0)).isCancelled(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximum() throws Exception {
+        new Plugin.Engine.Dispatcher.ForStreamingTransformation.Factory(executor, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalThreads() throws Exception {
+        new Plugin.Engine.Dispatcher.ForStreamingTransformation.WithThrowawayExecutorService.Factory(0);
+    }
+
+    private Callable<Callable<Plugin.Engine.Dispatcher.Materializable>> work(final Plugin.Engine.Dispatcher.Materializable materializable) {
+        return new Callable<Callable<Plugin.Engine.Dispatcher.Materializable>>() {
+            public Callable<Plugin.Engine.Dispatcher.Materializable> call() {
+                if (preprocessingError) {
+                    throw new IllegalStateException();
+                }
+                return new Callable<Plugin.Engine.Dispatcher.Materializable>() {
+                    public Plugin.Engine.Dispatcher.Materializable call() {
+                        if (processingError) {
+                            throw new IllegalStateException();
+                        }
+                        return materializable;
+                    }
+                };
+            }
+        };
+    }
+
+    private static class Constant implements Callable<Plugin.Engine.Dispatcher.Materializable> {
+
+        private final Plugin.Engine.Dispatcher.Materializable materializable;
+
+        private Constant(Plugin.Engine.Dispatcher.Materializable materializable) {
+            this.materializable = materializable;
+        }
+
+        public Plugin.Engine.Dispatcher.Materializable call() {
+            return materializable;
+        }
+    }
+
+    private static class Synchronous implements Executor {
+
+        public void execute(Runnable runnable) {
+            runnable.run();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineIncrementalTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File source, target, index;
+
+    @Before
+    public void setUp() throws Exception {
+        source = makeFolder();
+        target = makeFolder();
+        index = File.createTempFile("index", ".bin");
+        assertThat(index.delete(), is(true));
+        write(source, Base.class, ClassFileLocator.ForClassLoader.read(Base.class));
+        write(source, Dependent.class, ClassFileLocator.ForClassLoader.read(Dependent.class));
+        write(source, Unrelated.class, ClassFileLocator.ForClassLoader.read(Unrelated.class));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(source);
+        delete(target);
+        if (index.exists()) {
+            assertThat(index.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testInitialApplication() throws Exception {
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(3));
+        assertThat(index.isFile(), is(true));
+        assertThat(load(Base.class).getDeclaredField(FOO).getType(), is((Object) Void.class));
+    }
+
+    @Test
+    public void testUnchangedApplication() throws Exception {
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        long modified = new File(target, Base.class.getName().replace('.', '/') + ".class").lastModified();
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(0));
+        assertThat(new File(target, Base.class.getName().replace('.', '/') + ".class").lastModified(), is(modified));
+        assertThat(load(Base.class).getDeclaredField(FOO).getType(), is((Object) Void.class));
+    }
+
+    @Test
+    public void testChangedDependency() throws Exception {
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        write(source, Base.class, new ByteBuddy()
+                .redefine(Base.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes());
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(2));
+        assertThat(summary.getTransformed(), hasItems(TypeDescription.ForLoadedType.of(Base.class), TypeDescription.ForLoadedType.of(Dependent.class)));
+        assertThat(summary.getTransformed(), not(hasItem(TypeDescription.ForLoadedType.of(Unrelated.class))));
+        assertThat(load(Base.class).getDeclaredField(BAR).getType(), is((Object) Void.class));
+    }
+
+    @Test
+    public void testRemovedDependency() throws Exception {
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(new File(source, Base.class.getName().replace('.', '/') + ".class").delete(), is(true));
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(summary.getTransformed(), hasItem(TypeDescription.ForLoadedType.of(Dependent.class)));
+        assertThat(new File(target, Base.class.getName().replace('.', '/') + ".class").exists(), is(false));
+    }
+
+    @Test
+    public void testChangedPlugin() throws Exception {
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new OtherPlugin()));
+        assertThat(summary.getTransformed().size(), is(3));
+    }
+
+    @Test
+    public void testChangedPluginArgument() throws Exception {
+        makeEngine().apply(source, target, new Plugin.Factory.UsingReflection(ArgumentPlugin.class)
+                .with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, FOO)));
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.UsingReflection(ArgumentPlugin.class)
+                .with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, FOO)));
+        assertThat(summary.getTransformed().size(), is(0));
+        summary = makeEngine().apply(source, target, new Plugin.Factory.UsingReflection(ArgumentPlugin.class)
+                .with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, BAR)));
+        assertThat(summary.getTransformed().size(), is(3));
+        assertThat(load(Base.class).getDeclaredField(BAR).getType(), is((Object) Void.class));
+    }
+
+    @Test
+    public void testChangedConfiguration() throws Exception {
+        makeEngine(Collections.singletonList(FOO), Collections.<File>emptyList()).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        Plugin.Engine.Summary summary = makeEngine(Collections.singletonList(FOO), Collections.<File>emptyList()).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(0));
+        summary = makeEngine(Collections.singletonList(BAR), Collections.<File>emptyList()).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(3));
+    }
+
+    @Test
+    public void testChangedClassPath() throws Exception {
+        File dependency = makeFolder();
+        try {
+            write(dependency, Unrelated.class, ClassFileLocator.ForClassLoader.read(Unrelated.class));
+            makeEngine(Collections.emptyList(), Collections.singletonList(dependency)).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+            Plugin.Engine.Summary summary = makeEngine(Collections.emptyList(), Collections.singletonList(dependency)).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+            assertThat(summary.getTransformed().size(), is(0));
+            write(dependency, Base.class, ClassFileLocator.ForClassLoader.read(Base.class));
+            summary = makeEngine(Collections.emptyList(), Collections.singletonList(dependency)).apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+            assertThat(summary.getTransformed().size(), is(3));
+        } finally {
+            delete(dependency);
+        }
+    }
+
+    @Test
+    public void testIsIndexed() throws Exception {
+        Plugin.Engine.Incremental engine = new Plugin.Engine.Incremental(new Plugin.Engine.Default(), index);
+        assertThat(engine.isIndexed(Collections.singletonList(new Plugin.Factory.Simple(new SimplePlugin()))), is(false));
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(engine.isIndexed(Collections.singletonList(new Plugin.Factory.Simple(new SimplePlugin()))), is(true));
+        assertThat(engine.isIndexed(Collections.singletonList(new Plugin.Factory.Simple(new OtherPlugin()))), is(false));
+        assertThat(new Plugin.Engine.Incremental(new Plugin.Engine.Default(), index, Collections.singletonList(FOO), Collections.<File>emptyList())
+                .isIndexed(Collections.singletonList(new Plugin.Factory.Simple(new SimplePlugin()))), is(false));
+    }
+
+    @Test
+    public void testChangedCodeDependency() throws Exception {
+        write(source, Invoking.class, ClassFileLocator.ForClassLoader.read(Invoking.class));
+        makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        write(source, Base.class, new ByteBuddy()
+                .redefine(Base.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes());
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed(), hasItem(TypeDescription.ForLoadedType.of(Invoking.class)));
+        assertThat(summary.getTransformed(), not(hasItem(TypeDescription.ForLoadedType.of(Unrelated.class))));
+    }
+
+    @Test
+    public void testInPlaceApplication() throws Exception {
+        Plugin.Engine.Summary summary = makeEngine().apply(source, source, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(3));
+        summary = makeEngine().apply(source, source, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(0));
+    }
+
+    @Test
+    public void testFailedTypeIsRetransformed() throws Exception {
+        Plugin.Engine.Summary summary = makeEngine()
+                .withoutErrorHandlers()
+                .apply(source, target, new Plugin.Factory.Simple(new FailingPlugin()));
+        assertThat(summary.getFailed().size(), is(3));
+        summary = makeEngine()
+                .withoutErrorHandlers()
+                .apply(source, target, new Plugin.Factory.Simple(new FailingPlugin()));
+        assertThat(summary.getFailed().size(), is(3));
+    }
+
+    @Test
+    public void testCorruptIndex() throws Exception {
+        OutputStream outputStream = new FileOutputStream(index);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Summary summary = makeEngine().apply(source, target, new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getTransformed().size(), is(3));
+    }
+
+    @Test
+    public void testNonFolderTargetIsNotIncremental() throws Exception {
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = makeEngine().apply(new Plugin.Engine.Source.ForFolder(source), target, Collections.singletonList(new Plugin.Factory.Simple(new SimplePlugin())));
+        assertThat(summary.getTransformed().size(), is(3));
+        assertThat(index.exists(), is(false));
+    }
+
+    private Plugin.Engine makeEngine() {
+        return new Plugin.Engine.Incremental(new Plugin.Engine.Default(), index)
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()));
+    }
+
+    private Plugin.Engine makeEngine(List<?> configuration, List<File> classPath) {
+        return new Plugin.Engine.Incremental(new Plugin.Engine.Default(), index, configuration, classPath)
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()));
+    }
+
+    private Class<?> load(Class<?> type) throws Exception {
+        return new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER, Collections.singletonMap(type.getName(),
+                new ClassFileLocator.ForFolder(target).locate(type.getName()).resolve())).loadClass(type.getName());
+    }
+
+    private static File makeFolder() throws IOException {
+        File folder = File.createTempFile("foo", "bar");
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        return folder;
+    }
+
+    private static void write(File folder, Class<?> type, byte[] binaryRepresentation) throws IOException {
+        File file = new File(folder, type.getName().replace('.', '/') + ".class");
+        assertThat(file.getParentFile().isDirectory() || file.getParentFile().mkdirs(), is(true));
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(binaryRepresentation);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static void delete(File folder) {
+        LinkedList<File> files = new LinkedList<File>(Collections.singleton(folder));
+        LinkedList<File> folders = new LinkedList<File>();
+        while (!files.isEmpty()) {
+            File file = files.removeFirst();
+            File[] children = file.listFiles();
+            if (children != null) {
+                files.addAll(Arrays.asList(children));
+                folders.addFirst(file);
+            } else {
+                assertThat(file.delete(), is(true));
+            }
+        }
+        for (File file : folders) {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    private static class Base {
+        /* empty */
+    }
+
+    private static class Dependent extends Base {
+        /* empty */
+    }
+
+    private static class Unrelated {
+        /* empty */
+    }
+
+    private static class Invoking {
+
+        public Object foo() {
+            return new Base();
+        }
+    }
+
+    private static class SimplePlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+    }
+
+    private static class OtherPlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(BAR, Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+    }
+
+    public static class ArgumentPlugin implements Plugin {
+
+        private final String name;
+
+        public ArgumentPlugin(String name) {
+            this.name = name;
+        }
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(name, Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+    }
+
+    private static class FailingPlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            throw new RuntimeException();
+        }
+
+        public void close() {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+    }
+}
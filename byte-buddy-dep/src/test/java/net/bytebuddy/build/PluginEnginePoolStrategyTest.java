@@ -54,4 +54,14 @@ public class PluginEnginePoolStrategyTest {
                         TypePool.Default.ReaderMode.EXTENDED,
                         TypePool.ClassLoading.ofPlatformLoader())));
     }
+
+    @Test
+    public void testWithTypePoolCache() {
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        assertThat(new Plugin.Engine.PoolStrategy.WithTypePoolCache(cacheProvider).typePool(classFileLocator),
+                hasPrototype((TypePool) new TypePool.Default.WithLazyResolution(cacheProvider,
+                        classFileLocator,
+                        TypePool.Default.ReaderMode.FAST,
+                        TypePool.ClassLoading.ofPlatformLoader())));
+    }
 }
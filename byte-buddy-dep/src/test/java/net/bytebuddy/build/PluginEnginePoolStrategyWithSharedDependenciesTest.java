@@ -0,0 +1,208 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEnginePoolStrategyWithSharedDependenciesTest {
+
+    private File jar, folder;
+
+    private Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        jar = File.createTempFile("foo", ".jar");
+        write(jar, Foo.class);
+        folder = File.createTempFile("foo", "bar");
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        registry = new Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        registry.clear();
+        assertThat(folder.delete(), is(true));
+        assertThat(jar.delete() || !jar.exists(), is(true));
+    }
+
+    @Test
+    public void testJarFileIsShared() throws Exception {
+        ClassFileLocator classFileLocator = registry.classFileLocator(jar);
+        assertThat(classFileLocator.locate(Foo.class.getName()).isResolved(), is(true));
+        ClassFileLocator other = registry.classFileLocator(jar);
+        assertThat(registry.artifacts.size(), is(1));
+        Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry.Artifact artifact = registry.artifacts.values().iterator().next();
+        classFileLocator.close();
+        classFileLocator.close();
+        assertThat(other.locate(Foo.class.getName()).isResolved(), is(true));
+        other.close();
+        assertThat(artifact.isClosed(), is(false));
+        registry.classFileLocator(jar).close();
+        assertThat(registry.artifacts.values().iterator().next(), sameInstance(artifact));
+    }
+
+    @Test
+    public void testJarFileIsReopenedWhenChanged() throws Exception {
+        ClassFileLocator classFileLocator = registry.classFileLocator(jar);
+        Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry.Artifact artifact = registry.artifacts.values().iterator().next();
+        write(jar, Bar.class);
+        assertThat(jar.setLastModified(jar.lastModified() + 1000), is(true));
+        ClassFileLocator changed = registry.classFileLocator(jar);
+        assertThat(changed.locate(Bar.class.getName()).isResolved(), is(true));
+        assertThat(registry.artifacts.size(), is(1));
+        assertThat(artifact.isClosed(), is(false));
+        classFileLocator.close();
+        assertThat(artifact.isClosed(), is(true));
+        changed.close();
+    }
+
+    @Test
+    public void testJarFileIsClosedWhenEvicted() throws Exception {
+        File other = File.createTempFile("bar", ".jar");
+        try {
+            write(other, Bar.class);
+            registry = new Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry(1);
+            registry.classFileLocator(jar).close();
+            Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry.Artifact artifact = registry.artifacts.values().iterator().next();
+            registry.classFileLocator(other).close();
+            assertThat(registry.artifacts.size(), is(1));
+            assertThat(artifact.isClosed(), is(true));
+            registry.clear();
+            assertThat(registry.artifacts.size(), is(0));
+        } finally {
+            assertThat(other.delete(), is(true));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalTypePools() throws Exception {
+        new Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry(1, 0);
+    }
+
+    @Test
+    public void testStrategy() throws Exception {
+        Plugin.Engine.PoolStrategy.WithSharedDependencies poolStrategy = new Plugin.Engine.PoolStrategy.WithSharedDependencies(TypePool.Default.ReaderMode.FAST,
+                registry,
+                Arrays.asList(jar, folder));
+        ClassFileLocator classFileLocator = poolStrategy.classFileLocator();
+        try {
+            TypePool typePool = poolStrategy.typePool(new ClassFileLocator.Compound(ClassFileLocator.ForClassLoader.of(Bar.class.getClassLoader()), classFileLocator));
+            assertThat(typePool.describe(Foo.class.getName()).isResolved(), is(true));
+            assertThat(typePool.describe(Bar.class.getName()).isResolved(), is(true));
+            assertThat(registry.artifacts.size(), is(1));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testTypePoolIsShared() throws Exception {
+        TypePool typePool = registry.typePool(TypePool.Default.ReaderMode.FAST, Collections.singletonList(jar));
+        assertThat(registry.typePool(TypePool.Default.ReaderMode.FAST, Collections.singletonList(jar)), sameInstance(typePool));
+        assertThat(registry.typePool(TypePool.Default.ReaderMode.EXTENDED, Collections.singletonList(jar)), not(sameInstance(typePool)));
+        assertThat(registry.sharedTypePools.size(), is(2));
+        assertThat(typePool.describe(Foo.class.getName()).resolve().getDeclaredFields().size(), is(1));
+    }
+
+    @Test
+    public void testTypePoolIsClosedWhenJarFileChanged() throws Exception {
+        TypePool typePool = registry.typePool(TypePool.Default.ReaderMode.FAST, Collections.singletonList(jar));
+        Plugin.Engine.PoolStrategy.WithSharedDependencies.Registry.Artifact artifact = registry.artifacts.values().iterator().next();
+        write(jar, Bar.class);
+        assertThat(jar.setLastModified(jar.lastModified() + 1000), is(true));
+        assertThat(registry.typePool(TypePool.Default.ReaderMode.FAST, Collections.singletonList(jar)), not(sameInstance(typePool)));
+        assertThat(registry.sharedTypePools.size(), is(1));
+        assertThat(artifact.isClosed(), is(true));
+    }
+
+    @Test
+    public void testStrategyDescribesDependenciesFromSharedTypePool() throws Exception {
+        Plugin.Engine.PoolStrategy.WithSharedDependencies poolStrategy = new Plugin.Engine.PoolStrategy.WithSharedDependencies(TypePool.Default.ReaderMode.FAST,
+                registry,
+                Arrays.asList(folder, jar));
+        ClassFileLocator classFileLocator = poolStrategy.classFileLocator();
+        try {
+            TypePool first = poolStrategy.typePool(classFileLocator), second = poolStrategy.typePool(classFileLocator);
+            assertThat(first.describe(Foo.class.getName()).resolve().getDeclaredFields().getOnly().getName(), is("foo"));
+            assertThat(second.describe(Foo.class.getName()).resolve().getDeclaredFields().getOnly().getName(), is("foo"));
+            assertThat(first.describe(Bar.class.getName()).isResolved(), is(false));
+            assertThat(registry.sharedTypePools.size(), is(1));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testSourceIsNotShadowed() throws Exception {
+        write(jar, Foo.class, new byte[]{1, 2, 3});
+        Plugin.Engine.PoolStrategy.WithSharedDependencies poolStrategy = new Plugin.Engine.PoolStrategy.WithSharedDependencies(TypePool.Default.ReaderMode.FAST,
+                registry,
+                Collections.singletonList(jar));
+        ClassFileLocator classFileLocator = poolStrategy.classFileLocator();
+        try {
+            TypePool typePool = poolStrategy.typePool(new ClassFileLocator.Compound(ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()), classFileLocator));
+            assertThat(typePool.describe(Foo.class.getName()).resolve().getDeclaredFields().size(), is(TypeDescription.ForLoadedType.of(Foo.class).getDeclaredFields().size()));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testStrategyIllegalJar() throws Exception {
+        assertThat(jar.delete(), is(true));
+        File illegal = new File(folder, "illegal.jar");
+        assertThat(illegal.createNewFile(), is(true));
+        try {
+            new Plugin.Engine.PoolStrategy.WithSharedDependencies(TypePool.Default.ReaderMode.FAST,
+                    registry,
+                    Collections.singletonList(illegal)).classFileLocator();
+        } finally {
+            assertThat(illegal.delete(), is(true));
+        }
+    }
+
+    private static void write(File file, Class<?> type) throws Exception {
+        write(file, type, ClassFileLocator.ForClassLoader.read(type));
+    }
+
+    private static void write(File file, Class<?> type, byte[] binaryRepresentation) throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry(type.getName().replace('.', '/') + ".class"));
+            outputStream.write(binaryRepresentation);
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static class Foo {
+
+        private Object foo;
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
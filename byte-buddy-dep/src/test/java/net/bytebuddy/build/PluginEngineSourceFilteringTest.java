@@ -0,0 +1,78 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.jar.Manifest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PluginEngineSourceFilteringTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Plugin.Engine.Source source;
+
+    @Mock
+    private Plugin.Engine.Source.Origin origin;
+
+    @Mock
+    private Plugin.Engine.Source.Element first, second, third;
+
+    @Mock
+    private ElementMatcher<Plugin.Engine.Source.Element> matcher;
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Mock
+    private Manifest manifest;
+
+    @Before
+    public void setUp() throws Exception {
+        when(source.read()).thenReturn(origin);
+        when(origin.iterator()).thenReturn(Arrays.asList(first, second, third).iterator());
+        when(origin.getClassFileLocator()).thenReturn(classFileLocator);
+        when(origin.getManifest()).thenReturn(manifest);
+        when(matcher.matches(first)).thenReturn(false);
+        when(matcher.matches(second)).thenReturn(true);
+        when(matcher.matches(third)).thenReturn(false);
+    }
+
+    @Test
+    public void testFiltering() throws Exception {
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.Filtering(source, matcher).read();
+        assertThat(origin.getClassFileLocator(), is(classFileLocator));
+        assertThat(origin.getManifest(), is(manifest));
+        Iterator<Plugin.Engine.Source.Element> iterator = origin.iterator();
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(second));
+        assertThat(iterator.hasNext(), is(false));
+        origin.close();
+        verify(this.origin).close();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNoSuchElement() throws Exception {
+        when(matcher.matches(second)).thenReturn(false);
+        new Plugin.Engine.Source.Filtering(source, matcher).read().iterator().next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoval() throws Exception {
+        new Plugin.Engine.Source.Filtering(source, matcher).read().iterator().remove();
+    }
+}
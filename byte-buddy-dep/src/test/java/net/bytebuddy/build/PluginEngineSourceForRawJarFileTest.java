@@ -0,0 +1,140 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.jar.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineSourceForRawJarFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry("Foo.class"));
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForRawJarFile(this.file).read();
+        try {
+            assertThat(origin.getManifest(), nullValue(Manifest.class));
+            assertThat(origin.getClassFileLocator().locate("Foo").resolve(), is(new byte[]{1, 2, 3}));
+            Iterator<Plugin.Engine.Source.Element> iterator = origin.iterator();
+            assertThat(iterator.hasNext(), is(true));
+            Plugin.Engine.Source.Element element = iterator.next();
+            assertThat(element.getName(), is("Foo.class"));
+            assertThat(element.resolveAs(Object.class), nullValue(Object.class));
+            assertThat(element.resolveAs(JarEntry.class), notNullValue(JarEntry.class));
+            Plugin.Engine.Source.ForRawJarFile.RawEntry rawEntry = element.resolveAs(Plugin.Engine.Source.ForRawJarFile.RawEntry.class);
+            assertThat(rawEntry, notNullValue(Plugin.Engine.Source.ForRawJarFile.RawEntry.class));
+            assertThat(rawEntry.getSize(), is(3L));
+            assertThat(rawEntry.getCompressedSize(), is(element.resolveAs(JarEntry.class).getCompressedSize()));
+            CRC32 crc32 = new CRC32();
+            crc32.update(new byte[]{1, 2, 3});
+            assertThat(rawEntry.getCrc(), is(crc32.getValue()));
+            InputStream inputStream = element.getInputStream();
+            try {
+                assertThat(StreamDrainer.DEFAULT.drain(inputStream), is(new byte[]{1, 2, 3}));
+            } finally {
+                inputStream.close();
+            }
+            assertThat(iterator.hasNext(), is(false));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testRawEntryIncludesDataDescriptor() throws Exception {
+        ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new ZipEntry("Foo.class"));
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForRawJarFile(this.file).read();
+        try {
+            Plugin.Engine.Source.ForRawJarFile.RawEntry rawEntry = origin.iterator().next().resolveAs(Plugin.Engine.Source.ForRawJarFile.RawEntry.class);
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            long length = rawEntry.writeTo(copy);
+            assertThat((long) copy.size(), is(length));
+            assertThat(length, is(30L + "Foo.class".length() + rawEntry.getCompressedSize() + 16L));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testStoredEntry() throws Exception {
+        CRC32 crc32 = new CRC32();
+        crc32.update(new byte[]{1, 2, 3});
+        ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(file));
+        try {
+            ZipEntry entry = new ZipEntry("Foo.class");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(3);
+            entry.setCompressedSize(3);
+            entry.setCrc(crc32.getValue());
+            outputStream.putNextEntry(entry);
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForRawJarFile(this.file).read();
+        try {
+            Plugin.Engine.Source.ForRawJarFile.RawEntry rawEntry = origin.iterator().next().resolveAs(Plugin.Engine.Source.ForRawJarFile.RawEntry.class);
+            assertThat(rawEntry.getCompressedSize(), is(3L));
+            assertThat(rawEntry.getCrc(), is(crc32.getValue()));
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            assertThat(rawEntry.writeTo(copy), is(30L + "Foo.class".length() + 3L));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testManifest() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file), manifest);
+        outputStream.close();
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForRawJarFile(this.file).read();
+        try {
+            Manifest readManifest = origin.getManifest();
+            assertThat(readManifest, notNullValue(Manifest.class));
+            assertThat(readManifest.getMainAttributes().getValue(Attributes.Name.MANIFEST_VERSION), is("1.0"));
+        } finally {
+            origin.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.jar.*;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PluginEngineTargetForRawJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File source, target;
+
+    @Before
+    public void setUp() throws Exception {
+        source = File.createTempFile("foo", "bar");
+        target = File.createTempFile("foo", "bar");
+        assertThat(target.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(source.delete(), is(true));
+        assertThat(target.delete(), is(true));
+    }
+
+    @Test
+    public void testWriteType() throws Exception {
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForRawJarFile(target).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(Collections.singletonMap(TypeDescription.OBJECT, new byte[]{1, 2, 3}));
+        } finally {
+            sink.close();
+        }
+        JarInputStream inputStream = new JarInputStream(new FileInputStream(target));
+        try {
+            assertThat(inputStream.getManifest(), nullValue(Manifest.class));
+            JarEntry entry = inputStream.getNextJarEntry();
+            assertThat(entry.getName(), is(TypeDescription.OBJECT.getInternalName() + ".class"));
+            assertThat(StreamDrainer.DEFAULT.drain(inputStream), is(new byte[]{1, 2, 3}));
+            assertThat(inputStream.getNextJarEntry(), nullValue(JarEntry.class));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void testWriteResource() throws Exception {
+        Plugin.Engine.Source.Element element = mock(Plugin.Engine.Source.Element.class);
+        when(element.getName()).thenReturn(FOO + "/" + BAR);
+        when(element.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForRawJarFile(target).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.retain(element);
+        } finally {
+            sink.close();
+        }
+        JarFile jarFile = new JarFile(target);
+        try {
+            JarEntry entry = jarFile.getJarEntry(FOO + "/" + BAR);
+            assertThat(entry.getSize(), is(1024L));
+            assertThat(entry.getCompressedSize() < 1024L, is(true));
+            assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[1024]));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testManifest() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name(FOO), BAR);
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForRawJarFile(target).write(manifest);
+        sink.close();
+        JarInputStream inputStream = new JarInputStream(new FileInputStream(target));
+        try {
+            Manifest readManifest = inputStream.getManifest();
+            assertThat(readManifest.getMainAttributes().getValue(new Attributes.Name(FOO)), is(BAR));
+            assertThat(inputStream.getNextJarEntry(), nullValue(JarEntry.class));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testDuplicateEntry() throws Exception {
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForRawJarFile(target).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(Collections.singletonMap(TypeDescription.OBJECT, new byte[]{1, 2, 3}));
+            sink.store(Collections.singletonMap(TypeDescription.OBJECT, new byte[]{1, 2, 3}));
+        } finally {
+            sink.close();
+        }
+    }
+
+    @Test
+    public void testRawCopy() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(source), manifest);
+        try {
+            outputStream.putNextEntry(new JarEntry(FOO + "/" + BAR));
+            outputStream.write(new byte[1024]);
+            outputStream.closeEntry();
+            outputStream.putNextEntry(new JarEntry(Sample.class.getName().replace('.', '/') + ".class"));
+            outputStream.write(ClassFileLocator.ForClassLoader.read(Sample.class));
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()))
+                .apply(new Plugin.Engine.Source.ForRawJarFile(source),
+                        new Plugin.Engine.Target.ForRawJarFile(target),
+                        Collections.singletonList(new Plugin.Factory.Simple(new SimplePlugin())));
+        assertThat(summary.getTransformed().size(), is(1));
+        JarFile original = new JarFile(source), transformed = new JarFile(target);
+        try {
+            assertThat(transformed.getManifest().getMainAttributes().getValue(Attributes.Name.MANIFEST_VERSION), is("1.0"));
+            JarEntry originalEntry = original.getJarEntry(FOO + "/" + BAR), transformedEntry = transformed.getJarEntry(FOO + "/" + BAR);
+            assertThat(transformedEntry.getCrc(), is(originalEntry.getCrc()));
+            assertThat(transformedEntry.getCompressedSize(), is(originalEntry.getCompressedSize()));
+            assertThat(transformedEntry.getSize(), is(originalEntry.getSize()));
+            assertThat(StreamDrainer.DEFAULT.drain(transformed.getInputStream(transformedEntry)), is(new byte[1024]));
+            JarEntry type = transformed.getJarEntry(Sample.class.getName().replace('.', '/') + ".class");
+            assertThat(type, notNullValue(JarEntry.class));
+            assertThat(StreamDrainer.DEFAULT.drain(transformed.getInputStream(type)), not(ClassFileLocator.ForClassLoader.read(Sample.class)));
+        } finally {
+            original.close();
+            transformed.close();
+        }
+        JarInputStream inputStream = new JarInputStream(new FileInputStream(target));
+        try {
+            assertThat(inputStream.getManifest(), notNullValue(Manifest.class));
+            int count = 0;
+            while (inputStream.getNextJarEntry() != null) {
+                StreamDrainer.DEFAULT.drain(inputStream);
+                count++;
+            }
+            assertThat(count, is(2));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static class Sample {
+        /* empty */
+    }
+
+    private static class SimplePlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassVisitor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForMappedArchiveTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int VALUE = 42, SIZE = 1024 * 64;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile(FOO, BAR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete(); // Mapped files cannot be deleted on some platforms before the mapping is collected.
+    }
+
+    private static byte[] content() {
+        byte[] content = new byte[SIZE];
+        for (int index = 0; index < content.length; index++) {
+            content[index] = (byte) (index % VALUE);
+        }
+        return content;
+    }
+
+    private static void write(OutputStream outputStream) throws IOException {
+        JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ".class"));
+            jarOutputStream.write(content());
+            jarOutputStream.closeEntry();
+            byte[] content = new byte[]{VALUE, VALUE * 2};
+            CRC32 crc32 = new CRC32();
+            crc32.update(content);
+            JarEntry jarEntry = new JarEntry(FOO + "/" + QUX + ".class");
+            jarEntry.setMethod(ZipEntry.STORED);
+            jarEntry.setSize(content.length);
+            jarEntry.setCompressedSize(content.length);
+            jarEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(jarEntry);
+            jarOutputStream.write(content);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @Test
+    public void testJarFile() throws Exception {
+        write(new FileOutputStream(file));
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedArchive.of(file);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(content()));
+            assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(new byte[]{VALUE, VALUE * 2}));
+            assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testModuleFile() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry("classes/" + FOO + "/" + BAR + ".class"));
+            jarOutputStream.write(content());
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        FileOutputStream fileOutputStream = new FileOutputStream(file);
+        try {
+            fileOutputStream.write(new byte[]{'J', 'M', 1, 0});
+            fileOutputStream.write(outputStream.toByteArray());
+        } finally {
+            fileOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedArchive.ofModule(file);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(content()));
+            assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testEquivalentToJarFile() throws Exception {
+        File file = new File(ClassVisitor.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedArchive.of(file);
+        JarFile jarFile = new JarFile(file);
+        try {
+            ClassFileLocator reference = new ClassFileLocator.ForJarFile(jarFile);
+            Enumeration<JarEntry> enumeration = jarFile.entries();
+            while (enumeration.hasMoreElements()) {
+                String name = enumeration.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+                    name = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                    assertThat(classFileLocator.locate(name).resolve(), is(reference.locate(name).resolve()));
+                }
+            }
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNoArchive() throws Exception {
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[SIZE]);
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator.ForMappedArchive.of(file);
+    }
+
+    @Test
+    public void testPackageIndexed() throws Exception {
+        write(new FileOutputStream(file));
+        ClassFileLocator classFileLocator = new ClassFileLocator.PackageIndexed(ClassFileLocator.ForMappedArchive.of(file)).index();
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(new byte[]{VALUE, VALUE * 2}));
+            assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testClosed() throws Exception {
+        write(new FileOutputStream(file));
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedArchive.of(file);
+        classFileLocator.close();
+        classFileLocator.close();
+        assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+        classFileLocator.locate(FOO + "." + BAR);
+    }
+
+    @Test
+    public void testUnmapper() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SIZE);
+        ClassFileLocator.ForMappedArchive.Unmapper unmapper = ClassFileLocator.ForMappedArchive.Unmapper.CreationAction.INSTANCE.run();
+        assertThat(unmapper, not(instanceOf(ClassFileLocator.ForMappedArchive.Unmapper.Disabled.class)));
+        unmapper.unmap(buffer);
+    }
+
+    @Test
+    public void testDisabledUnmapper() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        ClassFileLocator.ForMappedArchive.Unmapper.Disabled.INSTANCE.unmap(buffer);
+        assertThat(buffer.get(0), is((byte) 0));
+    }
+}
@@ -0,0 +1,147 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.ClassVisitor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorPackageIndexedTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    private static final int VALUE = 42;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Mock
+    private ClassFileLocator.Resolution legal, illegal;
+
+    private File first, second;
+
+    @Before
+    public void setUp() throws Exception {
+        when(legal.isResolved()).thenReturn(true);
+        when(legal.resolve()).thenReturn(new byte[]{VALUE * 3});
+        first = File.createTempFile(FOO, BAR);
+        second = File.createTempFile(FOO, BAR);
+        write(first, VALUE, FOO + "/" + BAR, FOO + "/" + QUX, BAZ);
+        write(second, VALUE * 2, FOO + "/" + BAR, FOO + "/" + BAZ, BAR + "/" + QUX);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(first.delete(), is(true));
+        assertThat(second.delete(), is(true));
+    }
+
+    private static void write(File file, int value, String... name) throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            for (String aName : name) {
+                jarOutputStream.putNextEntry(new JarEntry(aName + ".class"));
+                jarOutputStream.write(value);
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @Test
+    public void testIndexedLocation() throws Exception {
+        ClassFileLocator classFileLocator = new ClassFileLocator.PackageIndexed(new ClassFileLocator.ForJarFile(new JarFile(first)),
+                new ClassFileLocator.ForJarFile(new JarFile(second))).index();
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE}));
+            assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(new byte[]{VALUE}));
+            assertThat(classFileLocator.locate(FOO + "." + BAZ).resolve(), is(new byte[]{VALUE * 2}));
+            assertThat(classFileLocator.locate(BAR + "." + QUX).resolve(), is(new byte[]{VALUE * 2}));
+            assertThat(classFileLocator.locate(BAZ).resolve(), is(new byte[]{VALUE}));
+            assertThat(classFileLocator.locate(QUX).isResolved(), is(false));
+            assertThat(classFileLocator.locate(QUX + "." + BAR).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testUnindexedLocatorRetainsOrder() throws Exception {
+        when(classFileLocator.locate(FOO + "." + BAR)).thenReturn(legal);
+        when(classFileLocator.locate(QUX + "." + BAR)).thenReturn(illegal);
+        ClassFileLocator classFileLocator = new ClassFileLocator.PackageIndexed(this.classFileLocator,
+                new ClassFileLocator.ForJarFile(new JarFile(first)));
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE * 3}));
+            assertThat(classFileLocator.locate(QUX + "." + BAR).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+        verify(this.classFileLocator).locate(FOO + "." + BAR);
+        verify(this.classFileLocator).locate(QUX + "." + BAR);
+        verify(this.classFileLocator).close();
+        verifyNoMoreInteractions(this.classFileLocator);
+    }
+
+    @Test
+    public void testUnindexedLocatorAfterIndexedLocator() throws Exception {
+        when(classFileLocator.locate(FOO + "." + BAZ)).thenReturn(legal);
+        ClassFileLocator classFileLocator = new ClassFileLocator.PackageIndexed(new ClassFileLocator.ForJarFile(new JarFile(first)),
+                this.classFileLocator);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE}));
+            assertThat(classFileLocator.locate(FOO + "." + BAZ).resolve(), is(new byte[]{VALUE * 3}));
+        } finally {
+            classFileLocator.close();
+        }
+        verify(this.classFileLocator).locate(FOO + "." + BAZ);
+        verify(this.classFileLocator).close();
+        verifyNoMoreInteractions(this.classFileLocator);
+    }
+
+    @Test
+    public void testPackageDiscriminating() throws Exception {
+        when(classFileLocator.locate(QUX + "." + BAR)).thenReturn(legal);
+        ClassFileLocator classFileLocator = new ClassFileLocator.PackageIndexed(new ClassFileLocator.ForJarFile(new JarFile(first)),
+                new ClassFileLocator.PackageDiscriminating(Collections.singletonMap(QUX, this.classFileLocator)));
+        try {
+            assertThat(classFileLocator.locate(QUX + "." + BAR).resolve(), is(new byte[]{VALUE * 3}));
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(new byte[]{VALUE}));
+        } finally {
+            classFileLocator.close();
+        }
+        verify(this.classFileLocator).locate(QUX + "." + BAR);
+        verify(this.classFileLocator).close();
+        verifyNoMoreInteractions(this.classFileLocator);
+    }
+
+    @Test
+    public void testClassPath() throws Exception {
+        ClassFileLocator classFileLocator = ClassFileLocator.PackageIndexed.ofClassPath();
+        try {
+            assertThat(classFileLocator.locate(ByteBuddy.class.getName()).isResolved(), is(true)); // As file.
+            assertThat(classFileLocator.locate(ClassVisitor.class.getName()).isResolved(), is(true)); // On path.
+        } finally {
+            classFileLocator.close();
+        }
+    }
+}
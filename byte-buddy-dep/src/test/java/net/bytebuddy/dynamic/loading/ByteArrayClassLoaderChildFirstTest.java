@@ -44,7 +44,7 @@ public class ByteArrayClassLoaderChildFirstTest {
 
     private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
 
-    private final boolean expectedResourceLookup;
+    private final boolean expectedResourceLookupBeforeLoading, expectedResourceLookupAfterLoading;
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -54,16 +54,20 @@ public class ByteArrayClassLoaderChildFirstTest {
     @Mock
     private PackageDefinitionStrategy packageDefinitionStrategy;
 
-    public ByteArrayClassLoaderChildFirstTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler, boolean expectedResourceLookup) {
+    public ByteArrayClassLoaderChildFirstTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler,
+                                              boolean expectedResourceLookupBeforeLoading,
+                                              boolean expectedResourceLookupAfterLoading) {
         this.persistenceHandler = persistenceHandler;
-        this.expectedResourceLookup = expectedResourceLookup;
+        this.expectedResourceLookupBeforeLoading = expectedResourceLookupBeforeLoading;
+        this.expectedResourceLookupAfterLoading = expectedResourceLookupAfterLoading;
     }
 
     @Parameterized.Parameters
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
-                {ByteArrayClassLoader.PersistenceHandler.LATENT, false},
-                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true}
+                {ByteArrayClassLoader.PersistenceHandler.LATENT, false, false},
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true, true},
+                {ByteArrayClassLoader.PersistenceHandler.COMPRESSED, true, false}
         });
     }
 
@@ -97,7 +101,7 @@ public class ByteArrayClassLoaderChildFirstTest {
     public void testResourceStreamLookupBeforeLoading() throws Exception {
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         try {
-            assertThat(inputStream, expectedResourceLookup ? notNullValue(InputStream.class) : nullValue(InputStream.class));
+            assertThat(inputStream, expectedResourceLookupBeforeLoading ? notNullValue(InputStream.class) : nullValue(InputStream.class));
         } finally {
             if (inputStream != null) {
                 inputStream.close();
@@ -110,7 +114,7 @@ public class ByteArrayClassLoaderChildFirstTest {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         try {
-            assertThat(inputStream, expectedResourceLookup ? notNullValue(InputStream.class) : nullValue(InputStream.class));
+            assertThat(inputStream, expectedResourceLookupAfterLoading ? notNullValue(InputStream.class) : nullValue(InputStream.class));
         } finally {
             if (inputStream != null) {
                 inputStream.close();
@@ -120,7 +124,7 @@ public class ByteArrayClassLoaderChildFirstTest {
 
     @Test
     public void testResourceLookupBeforeLoading() throws Exception {
-        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupBeforeLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -128,7 +132,7 @@ public class ByteArrayClassLoaderChildFirstTest {
     @Test
     public void testResourceLookupAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
-        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupAfterLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -138,8 +142,8 @@ public class ByteArrayClassLoaderChildFirstTest {
         Enumeration<URL> enumeration = classLoader.getResources(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         assertThat(enumeration.hasMoreElements(), is(true));
         assertThat(enumeration.nextElement(), notNullValue(URL.class));
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupBeforeLoading));
+        if (expectedResourceLookupBeforeLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -151,8 +155,8 @@ public class ByteArrayClassLoaderChildFirstTest {
         Enumeration<URL> enumeration = classLoader.getResources(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         assertThat(enumeration.hasMoreElements(), is(true));
         assertThat(enumeration.nextElement(), notNullValue(URL.class));
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupAfterLoading));
+        if (expectedResourceLookupAfterLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -160,7 +164,7 @@ public class ByteArrayClassLoaderChildFirstTest {
 
     @Test
     public void testResourceLookupWithPrefixBeforeLoading() throws Exception {
-        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupBeforeLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -168,7 +172,7 @@ public class ByteArrayClassLoaderChildFirstTest {
     @Test
     public void testResourceLookupWithPrefixAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
-        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupAfterLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -176,8 +180,8 @@ public class ByteArrayClassLoaderChildFirstTest {
     @Test
     public void testResourcesLookupWithPrefixBeforeLoading() throws Exception {
         Enumeration<URL> enumeration = classLoader.getResources("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupBeforeLoading));
+        if (expectedResourceLookupBeforeLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -187,8 +191,8 @@ public class ByteArrayClassLoaderChildFirstTest {
     public void testResourcesLookupWithPrefixAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
         Enumeration<URL> enumeration = classLoader.getResources("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupAfterLoading));
+        if (expectedResourceLookupAfterLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
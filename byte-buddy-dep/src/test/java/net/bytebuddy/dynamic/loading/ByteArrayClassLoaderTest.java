@@ -3,6 +3,7 @@ package net.bytebuddy.dynamic.loading;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.test.utility.IntegrationRule;
 import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.StreamDrainer;
 import org.hamcrest.CoreMatchers;
 import org.junit.Before;
 import org.junit.Rule;
@@ -29,6 +30,8 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(Parameterized.class)
@@ -40,7 +43,7 @@ public class ByteArrayClassLoaderTest {
 
     private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
 
-    private final boolean expectedResourceLookup;
+    private final boolean expectedResourceLookupBeforeLoading, expectedResourceLookupAfterLoading;
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -58,16 +61,20 @@ public class ByteArrayClassLoaderTest {
     @Mock
     private ClassFileTransformer classFileTransformer;
 
-    public ByteArrayClassLoaderTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler, boolean expectedResourceLookup) {
+    public ByteArrayClassLoaderTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler,
+                                    boolean expectedResourceLookupBeforeLoading,
+                                    boolean expectedResourceLookupAfterLoading) {
         this.persistenceHandler = persistenceHandler;
-        this.expectedResourceLookup = expectedResourceLookup;
+        this.expectedResourceLookupBeforeLoading = expectedResourceLookupBeforeLoading;
+        this.expectedResourceLookupAfterLoading = expectedResourceLookupAfterLoading;
     }
 
     @Parameterized.Parameters
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
-                {ByteArrayClassLoader.PersistenceHandler.LATENT, false},
-                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true}
+                {ByteArrayClassLoader.PersistenceHandler.LATENT, false, false},
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true, true},
+                {ByteArrayClassLoader.PersistenceHandler.COMPRESSED, true, false}
         });
     }
 
@@ -125,7 +132,7 @@ public class ByteArrayClassLoaderTest {
     public void testResourceStreamLookupBeforeLoading() throws Exception {
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         try {
-            assertThat(inputStream, expectedResourceLookup ? notNullValue(InputStream.class) : nullValue(InputStream.class));
+            assertThat(inputStream, expectedResourceLookupBeforeLoading ? notNullValue(InputStream.class) : nullValue(InputStream.class));
         } finally {
             if (inputStream != null) {
                 inputStream.close();
@@ -133,12 +140,24 @@ public class ByteArrayClassLoaderTest {
         }
     }
 
+    @Test
+    public void testResourceStreamContentBeforeLoading() throws Exception {
+        InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
+        if (inputStream != null) {
+            try {
+                assertThat(StreamDrainer.DEFAULT.drain(inputStream), is(ClassFileLocator.ForClassLoader.read(Foo.class)));
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+
     @Test
     public void testResourceStreamLookupAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
         try {
-            assertThat(inputStream, expectedResourceLookup ? notNullValue(InputStream.class) : nullValue(InputStream.class));
+            assertThat(inputStream, expectedResourceLookupAfterLoading ? notNullValue(InputStream.class) : nullValue(InputStream.class));
         } finally {
             if (inputStream != null) {
                 inputStream.close();
@@ -148,7 +167,7 @@ public class ByteArrayClassLoaderTest {
 
     @Test
     public void testResourceLookupBeforeLoading() throws Exception {
-        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupBeforeLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -156,7 +175,7 @@ public class ByteArrayClassLoaderTest {
     @Test
     public void testResourceLookupAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
-        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupAfterLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -164,8 +183,8 @@ public class ByteArrayClassLoaderTest {
     @Test
     public void testResourcesLookupBeforeLoading() throws Exception {
         Enumeration<URL> enumeration = classLoader.getResources(Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupBeforeLoading));
+        if (expectedResourceLookupBeforeLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -175,8 +194,8 @@ public class ByteArrayClassLoaderTest {
     public void testResourcesLookupAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
         Enumeration<URL> enumeration = classLoader.getResources(Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupAfterLoading));
+        if (expectedResourceLookupAfterLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -184,7 +203,7 @@ public class ByteArrayClassLoaderTest {
 
     @Test
     public void testResourceLookupWithPrefixBeforeLoading() throws Exception {
-        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupBeforeLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -192,7 +211,7 @@ public class ByteArrayClassLoaderTest {
     @Test
     public void testResourceLookupWithPrefixAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
-        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookup
+        assertThat(classLoader.getResource("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE), expectedResourceLookupAfterLoading
                 ? notNullValue(URL.class)
                 : nullValue(URL.class));
     }
@@ -200,8 +219,8 @@ public class ByteArrayClassLoaderTest {
     @Test
     public void testResourcesLookupWithPrefixBeforeLoading() throws Exception {
         Enumeration<URL> enumeration = classLoader.getResources("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupBeforeLoading));
+        if (expectedResourceLookupBeforeLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -211,8 +230,8 @@ public class ByteArrayClassLoaderTest {
     public void testResourcesLookupWithPrefixAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
         Enumeration<URL> enumeration = classLoader.getResources("/" + Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookup));
-        if (expectedResourceLookup) {
+        assertThat(enumeration.hasMoreElements(), is(expectedResourceLookupAfterLoading));
+        if (expectedResourceLookupAfterLoading) {
             assertThat(enumeration.nextElement(), notNullValue(URL.class));
             assertThat(enumeration.hasMoreElements(), is(false));
         }
@@ -235,6 +254,19 @@ public class ByteArrayClassLoaderTest {
         assertThat(classLoader.defineClass(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)).getName(), is(Bar.class.getName()));
     }
 
+    @Test
+    public void testInjectionDefinesUnencodedBinaryRepresentation() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Bar.class);
+        assertThat(classLoader.defineClass(Bar.class.getName(), binaryRepresentation).getName(), is(Bar.class.getName()));
+        verify(classFileTransformer).transform(eq(classLoader),
+                eq(Bar.class.getName()),
+                Mockito.<Class<?>>isNull(),
+                Mockito.<ProtectionDomain>isNull(),
+                same(binaryRepresentation));
+        assertThat(classLoader.pendingDefinitions.isEmpty(), is(true));
+        assertThat(classLoader.typeDefinitions.containsKey(Bar.class.getName()), is(persistenceHandler.isManifest()));
+    }
+
     @Test
     public void testDuplicateInjection() throws Exception {
         Class<?> type = classLoader.defineClass(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class));
@@ -15,16 +15,23 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 public class ClassInjectorUsingReflectionTest {
 
@@ -56,6 +63,134 @@ public class ClassInjectorUsingReflectionTest {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
     }
 
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjection() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Baz.class.getName(), ClassFileLocator.ForClassLoader.read(Baz.class));
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        Map<String, Class<?>> loaded = new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(types);
+        assertThat(loaded.size(), is(3));
+        assertThat(classLoader.loadClass(Qux.class.getName()), is((Object) loaded.get(Qux.class.getName())));
+        assertThat(loaded.get(Qux.class.getName()).getClassLoader(), is(classLoader));
+        assertThat(loaded.get(Qux.class.getName()).getSuperclass(), is((Object) loaded.get(Foo.class.getName())));
+        assertThat(loaded.get(Qux.class.getName()).getInterfaces()[0], is((Object) loaded.get(Baz.class.getName())));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionAcquiresClassLoaderMonitorOnce() throws Exception {
+        LockRecordingClassLoader classLoader = new LockRecordingClassLoader(false);
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Baz.class.getName(), ClassFileLocator.ForClassLoader.read(Baz.class));
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(types);
+        assertThat(classLoader.lockedNames, is(Collections.singletonList(Foo.class.getName())));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionAcquiresClassLoadingLocksInDependencyOrder() throws Exception {
+        LockRecordingClassLoader classLoader = new LockRecordingClassLoader(true);
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Baz.class.getName(), ClassFileLocator.ForClassLoader.read(Baz.class));
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        Map<String, Class<?>> loaded = new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(types);
+        assertThat(classLoader.lockedNames, is(Arrays.asList(Foo.class.getName(), Baz.class.getName(), Qux.class.getName())));
+        assertThat(loaded.get(Qux.class.getName()).getSuperclass(), is((Object) loaded.get(Foo.class.getName())));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionOfManyTypes() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        for (int index = 0; index < 10000; index++) {
+            ClassWriter classWriter = new ClassWriter(0);
+            classWriter.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, "foo/Bar" + index, null, "java/lang/Object", null);
+            classWriter.visitEnd();
+            types.put("foo.Bar" + index, classWriter.toByteArray());
+        }
+        Map<String, Class<?>> loaded = new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true).injectRaw(types);
+        assertThat(loaded.size(), is(10000));
+        assertThat(classLoader.loadClass("foo.Bar9999"), is((Object) loaded.get("foo.Bar9999")));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionExisting() throws Exception {
+        ClassInjector classInjector = new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true);
+        Class<?> type = classInjector.injectRaw(Collections.singletonMap(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class))).get(Foo.class.getName());
+        assertThat(classInjector.injectRaw(Collections.singletonMap(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class))).get(Foo.class.getName()), is((Object) type));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionForbidExisting() throws Exception {
+        ClassInjector classInjector = new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                true,
+                true);
+        classInjector.injectRaw(Collections.singletonMap(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class)));
+        classInjector.injectRaw(Collections.singletonMap(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class)));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testBulkInjectionDefinesPackageOnce() throws Exception {
+        PackageDefinitionStrategy packageDefinitionStrategy = mock(PackageDefinitionStrategy.class);
+        when(packageDefinitionStrategy.define(classLoader, Foo.class.getPackage().getName(), Foo.class.getName())).thenReturn(PackageDefinitionStrategy.Definition.Trivial.INSTANCE);
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        types.put(Baz.class.getName(), ClassFileLocator.ForClassLoader.read(Baz.class));
+        new ClassInjector.UsingReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                packageDefinitionStrategy,
+                false,
+                true).injectRaw(types);
+        verify(packageDefinitionStrategy).define(classLoader, Foo.class.getPackage().getName(), Foo.class.getName());
+        verifyNoMoreInteractions(packageDefinitionStrategy);
+        assertThat(classLoader.loadClass(Foo.class.getName()).getPackage().getName(), is(Foo.class.getPackage().getName()));
+    }
+
+    @Test
+    public void testDependencyOrder() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class));
+        types.put(Baz.class.getName(), ClassFileLocator.ForClassLoader.read(Baz.class));
+        types.put(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        assertThat(new ArrayList<String>(ClassInjector.UsingReflection.inDependencyOrder(types).keySet()), is(Arrays.asList(Foo.class.getName(),
+                Baz.class.getName(),
+                Qux.class.getName(),
+                Bar.class.getName())));
+    }
+
     @Test
     @ClassReflectionInjectionAvailableRule.Enforce
     @JavaVersionRule.Enforce(atMost = 8)
@@ -220,6 +355,14 @@ public class ClassInjectorUsingReflectionTest {
         /* Note: Foo is know to the system class loader but not to the bootstrap class loader */
     }
 
+    private interface Baz {
+        /* empty */
+    }
+
+    private static class Qux extends Foo implements Baz {
+        /* empty */
+    }
+
     public static class Bar {
 
         public String bar(String value) {
@@ -237,4 +380,25 @@ public class ClassInjectorUsingReflectionTest {
             return method.invoke(zuper, args);
         }
     }
+
+    private static class LockRecordingClassLoader extends URLClassLoader {
+
+        private final List<String> lockedNames = new ArrayList<String>();
+
+        private final boolean parallelCapable;
+
+        private LockRecordingClassLoader(boolean parallelCapable) {
+            super(new URL[0], null);
+            this.parallelCapable = parallelCapable;
+        }
+
+        protected Object getClassLoadingLock(String name) {
+            if (!name.startsWith("java.")) {
+                lockedNames.add(name);
+            }
+            return parallelCapable
+                    ? new Object()
+                    : this;
+        }
+    }
 }
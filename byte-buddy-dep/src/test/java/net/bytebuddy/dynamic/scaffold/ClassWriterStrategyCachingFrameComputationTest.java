@@ -0,0 +1,164 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Type;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassWriterStrategyCachingFrameComputationTest {
+
+    @Test
+    public void testCommonSuperClass() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(16);
+        TypePool typePool = TypePool.Default.ofSystemLoader();
+        assertThat(cache.getCommonSuperClass(typePool, name(ArrayList.class), name(LinkedList.class)), is(name(AbstractList.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(String.class), name(Integer.class)), is(name(Object.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(List.class), name(ArrayList.class)), is(name(List.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(ArrayList.class), name(List.class)), is(name(List.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Runnable.class), name(Thread.class)), is(name(Runnable.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Runnable.class), name(List.class)), is(name(Object.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Object.class), name(List.class)), is(name(Object.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(List.class), name(Object.class)), is(name(Object.class)));
+    }
+
+    @Test
+    public void testCommonSuperClassIsCached() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(16);
+        TypePool typePool = spy(TypePool.Default.ofSystemLoader());
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Double.class)), is(name(Number.class)));
+        verify(typePool, times(1)).describe(Integer.class.getName());
+        verify(typePool, times(1)).describe(Long.class.getName());
+        verify(typePool, times(1)).describe(Double.class.getName());
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(1);
+        TypePool typePool = spy(TypePool.Default.ofSystemLoader());
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Double.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        verify(typePool, times(3)).describe(Integer.class.getName());
+    }
+
+    @Test
+    public void testResolution() throws Exception {
+        ClassWriterStrategy classWriterStrategy = new ClassWriterStrategy.CachingFrameComputation();
+        TypePool typePool = mock(TypePool.class);
+        ClassWriter classWriter = classWriterStrategy.resolve(ClassWriter.COMPUTE_FRAMES, typePool);
+        assertThat(classWriter, instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+        classWriter = classWriterStrategy.resolve(ClassWriter.COMPUTE_FRAMES, typePool, mock(ClassReader.class));
+        assertThat(classWriter, instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+        classWriter = new ClassWriterStrategy.CachingFrameComputation(false, 1).resolve(ClassWriter.COMPUTE_FRAMES, typePool, mock(ClassReader.class));
+        assertThat(classWriter, instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+    }
+
+    @Test
+    public void testCacheIsSharedAmongTypePoolsOfCacheProvider() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation classWriterStrategy = new ClassWriterStrategy.CachingFrameComputation();
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        TypePool typePool = spy(systemTypePool(cacheProvider)), otherTypePool = spy(systemTypePool(cacheProvider));
+        assertThat(((ClassWriterStrategy.CachingFrameComputingClassWriter) classWriterStrategy.resolve(ClassWriter.COMPUTE_FRAMES, typePool)).getCommonSuperClass(name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(((ClassWriterStrategy.CachingFrameComputingClassWriter) classWriterStrategy.resolve(ClassWriter.COMPUTE_FRAMES, otherTypePool)).getCommonSuperClass(name(Integer.class), name(Long.class)), is(name(Number.class)));
+        verify(typePool, times(1)).describe(Integer.class.getName());
+        verify(otherTypePool, never()).describe(anyString());
+    }
+
+    @Test
+    public void testCacheIsNotSharedAmongCacheProviders() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(16);
+        TypePool typePool = spy(TypePool.Default.ofSystemLoader()), otherTypePool = spy(TypePool.Default.ofSystemLoader());
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(otherTypePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        verify(typePool, times(1)).describe(Integer.class.getName());
+        verify(otherTypePool, times(1)).describe(Integer.class.getName());
+    }
+
+    @Test
+    public void testCacheIsScopedByTypePoolWithoutCacheProvider() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(16);
+        TypePool typePool = spy(systemTypePool(TypePool.CacheProvider.NoOp.INSTANCE)), otherTypePool = spy(systemTypePool(TypePool.CacheProvider.NoOp.INSTANCE));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        assertThat(cache.getCommonSuperClass(otherTypePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        verify(typePool, times(1)).describe(Integer.class.getName());
+        verify(otherTypePool, times(1)).describe(Integer.class.getName());
+    }
+
+    @Test
+    public void testDifferentTypesOfSameNameAreNotConfused() throws Exception {
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = new ClassWriterStrategy.CachingFrameComputation.Cache(16);
+        TypePool typePool = TypePool.Default.ofSystemLoader();
+        assertThat(cache.getCommonSuperClass(typePool, name(Integer.class), name(Long.class)), is(name(Number.class)));
+        TypePool otherTypePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), new ClassFileLocator.Compound(
+                ClassFileLocator.Simple.of(Integer.class.getName(), new ByteBuddy().subclass(Object.class).name(Integer.class.getName()).make().getBytes()),
+                ClassFileLocator.ForClassLoader.ofSystemLoader()), TypePool.Default.ReaderMode.FAST);
+        assertThat(cache.getCommonSuperClass(otherTypePool, name(Integer.class), name(Long.class)), is(name(Object.class)));
+    }
+
+    @Test
+    public void testCacheIsSharedAcrossCreations() throws Exception {
+        ByteBuddy byteBuddy = new ByteBuddy().with(new ClassWriterStrategy.CachingFrameComputation());
+        AsmVisitorWrapper asmVisitorWrapper = new AsmVisitorWrapper.ForDeclaredMethods()
+                .writerFlags(ClassWriter.COMPUTE_FRAMES)
+                .readerFlags(ClassReader.SKIP_FRAMES);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        TypePool typePool = spy(systemTypePool(cacheProvider)), otherTypePool = spy(systemTypePool(cacheProvider));
+        byteBuddy.redefine(Merging.class).visit(asmVisitorWrapper).make(typePool);
+        verify(typePool, atLeastOnce()).describe(Integer.class.getName());
+        verify(typePool, atLeastOnce()).describe(Long.class.getName());
+        Class<?> type = byteBuddy.redefine(Merging.class)
+                .visit(asmVisitorWrapper)
+                .make(otherTypePool)
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        verify(otherTypePool, never()).describe(Integer.class.getName());
+        verify(otherTypePool, never()).describe(Long.class.getName());
+        assertThat(type.getDeclaredMethod("merge", boolean.class).invoke(type.getDeclaredConstructor().newInstance(), true), is((Object) 0));
+    }
+
+    @Test
+    public void testClassWriterDelegatesToCache() throws Exception {
+        TypePool typePool = mock(TypePool.class);
+        ClassWriterStrategy.CachingFrameComputation.Cache cache = mock(ClassWriterStrategy.CachingFrameComputation.Cache.class);
+        when(cache.getCommonSuperClass(typePool, "foo", "bar")).thenReturn("qux");
+        assertThat(new ClassWriterStrategy.CachingFrameComputingClassWriter(0, typePool, cache).getCommonSuperClass("foo", "bar"), is("qux"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new ClassWriterStrategy.CachingFrameComputation(true, 0);
+    }
+
+    private static TypePool systemTypePool(TypePool.CacheProvider cacheProvider) {
+        return new TypePool.Default(cacheProvider, ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST);
+    }
+
+    private static String name(Class<?> type) {
+        return Type.getInternalName(type);
+    }
+
+    public static class Merging {
+
+        public Number merge(boolean flag) {
+            return flag ? (Number) Integer.valueOf(0) : (Number) Long.valueOf(0L);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodGraphCompilerDefaultCachingTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testEquivalentToDefault() throws Exception {
+        MethodGraph.Compiler compiler = MethodGraph.Compiler.Default.Caching.forJavaHierarchy(MethodGraph.Compiler.Default.Caching.DEFAULT_SIZE);
+        for (Class<?> type : new Class<?>[]{Object.class, ArrayList.class, LinkedList.class, HashMap.class, Sample.class, ArrayList.class}) {
+            assertEquivalent(compiler.compile(TypeDescription.ForLoadedType.of(type)),
+                    MethodGraph.Compiler.Default.forJavaHierarchy().compile(TypeDescription.ForLoadedType.of(type)));
+        }
+    }
+
+    @Test
+    public void testSuperTypesAreCached() throws Exception {
+        MethodGraph.Compiler.Default.Caching<?> compiler = (MethodGraph.Compiler.Default.Caching<?>) MethodGraph.Compiler.Default.Caching.forJVMHierarchy(MethodGraph.Compiler.Default.Caching.DEFAULT_SIZE);
+        compiler.compile(TypeDescription.ForLoadedType.of(ArrayList.class));
+        int size = compiler.getCachedSize();
+        assertThat(size > 0, is(true));
+        compiler.compile(TypeDescription.ForLoadedType.of(ArrayList.class));
+        assertThat(compiler.getCachedSize(), is(size));
+        compiler.compile(TypeDescription.ForLoadedType.of(Sample.class));
+        size = compiler.getCachedSize();
+        compiler.compile(TypeDescription.ForLoadedType.of(OtherSample.class));
+        assertThat(compiler.getCachedSize(), is(size));
+    }
+
+    @Test
+    public void testForeignViewPointIsNotCached() throws Exception {
+        MethodGraph.Compiler.Default.Caching<?> compiler = (MethodGraph.Compiler.Default.Caching<?>) MethodGraph.Compiler.Default.Caching.forJavaHierarchy(MethodGraph.Compiler.Default.Caching.DEFAULT_SIZE);
+        compiler.compile(TypeDescription.ForLoadedType.of(ArrayList.class), TypeDescription.OBJECT);
+        assertThat(compiler.getCachedSize(), is(0));
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        MethodGraph.Compiler.Default.Caching<?> compiler = (MethodGraph.Compiler.Default.Caching<?>) MethodGraph.Compiler.Default.Caching.forJavaHierarchy(1);
+        compiler.compile(TypeDescription.ForLoadedType.of(ArrayList.class));
+        assertThat(compiler.getCachedSize(), is(1));
+        assertEquivalent(compiler.compile(TypeDescription.ForLoadedType.of(AbstractList.class)),
+                MethodGraph.Compiler.Default.forJavaHierarchy().compile(TypeDescription.ForLoadedType.of(AbstractList.class)));
+    }
+
+    @Test
+    public void testSameNamedTypesOfDifferentClassLoadersAreNotShared() throws Exception {
+        MethodGraph.Compiler.Default.Caching<?> compiler = (MethodGraph.Compiler.Default.Caching<?>) MethodGraph.Compiler.Default.Caching.forJavaHierarchy(MethodGraph.Compiler.Default.Caching.DEFAULT_SIZE);
+        ClassLoader classLoader = new ByteArrayClassLoader.ChildFirst(getClass().getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(Base.class, Derived.class),
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        Class<?> base = classLoader.loadClass(Base.class.getName()), derived = classLoader.loadClass(Derived.class.getName());
+        assertThat(base == Base.class, is(false));
+        MethodDescription.SignatureToken token = TypeDescription.ForLoadedType.of(Base.class).getDeclaredMethods().filter(named(FOO)).getOnly().asSignatureToken();
+        MethodGraph.Node node = compiler.compile(TypeDescription.ForLoadedType.of(Derived.class)).getSuperClassGraph().locate(token);
+        assertThat(((TypeDescription.ForLoadedType) node.getRepresentative().getDeclaringType().asErasure()).getLoadedType(), is((Object) Base.class));
+        int size = compiler.getCachedSize();
+        MethodGraph.Node other = compiler.compile(TypeDescription.ForLoadedType.of(derived)).getSuperClassGraph().locate(token);
+        assertThat(((TypeDescription.ForLoadedType) other.getRepresentative().getDeclaringType().asErasure()).getLoadedType(), is((Object) base));
+        assertThat(compiler.getCachedSize() > size, is(true));
+    }
+
+    @Test
+    public void testPackagePrivateVisibilityIsRespected() throws Exception {
+        MethodGraph.Compiler compiler = MethodGraph.Compiler.Default.Caching.forJavaHierarchy(MethodGraph.Compiler.Default.Caching.DEFAULT_SIZE);
+        MethodDescription.SignatureToken token = TypeDescription.ForLoadedType.of(PackagePrivate.class).getDeclaredMethods().filter(named(FOO)).getOnly().asSignatureToken();
+        TypeDescription samePackage = InstrumentedType.Factory.Default.MODIFIABLE.subclass(Sample.class.getPackage().getName() + "." + BAR,
+                Opcodes.ACC_PUBLIC,
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(PackagePrivate.class));
+        TypeDescription otherPackage = InstrumentedType.Factory.Default.MODIFIABLE.subclass(FOO + "." + BAR,
+                Opcodes.ACC_PUBLIC,
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(PackagePrivate.class));
+        assertThat(compiler.compile(samePackage).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(compiler.compile(otherPackage).locate(token).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(compiler.compile(samePackage).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        MethodGraph.Compiler.Default.Caching.forJavaHierarchy(0);
+    }
+
+    private static void assertEquivalent(MethodGraph.Linked actual, MethodGraph.Linked expected) {
+        assertThat(actual.listNodes().size(), is(expected.listNodes().size()));
+        for (MethodGraph.Node node : expected.listNodes()) {
+            MethodGraph.Node other = actual.locate(node.getRepresentative().asSignatureToken());
+            assertThat(other.getSort(), is(node.getSort()));
+            assertThat(other.getRepresentative(), is(node.getRepresentative()));
+            assertThat(other.getMethodTypes(), is(node.getMethodTypes()));
+            assertThat(other.getVisibility(), is(node.getVisibility()));
+        }
+        assertThat(actual.getSuperClassGraph().listNodes().size(), is(expected.getSuperClassGraph().listNodes().size()));
+    }
+
+    public static class PackagePrivate {
+
+        void foo() {
+            /* empty */
+        }
+    }
+
+    public static class Sample extends ArrayList<String> {
+
+        @Override
+        public boolean add(String value) {
+            return super.add(value);
+        }
+    }
+
+    public static class OtherSample extends ArrayList<String> {
+        /* empty */
+    }
+
+    public static class Base {
+
+        public void foo() {
+            /* empty */
+        }
+    }
+
+    public static class Derived extends Base {
+        /* empty */
+    }
+}
@@ -4,10 +4,13 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.This;
+import net.bytebuddy.utility.ArgumentView;
 import org.junit.Test;
 
 import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class MethodDelegationAllArgumentsTest {
@@ -72,6 +75,66 @@ public class MethodDelegationAllArgumentsTest {
         assertThat(instance.foo(QUX, BAZ), is((Object) instance));
     }
 
+    @Test
+    public void testArgumentView() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(View.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO, BAR), is((Object) (QUX + FOO + BAR)));
+    }
+
+    @Test
+    public void testArgumentViewIncludeSelf() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(ViewIncludeSelf.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Qux instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(QUX, BAZ), is((Object) instance));
+    }
+
+    @Test
+    public void testArgumentViewReentrant() throws Exception {
+        DynamicType.Loaded<Recursive> loaded = new ByteBuddy()
+                .subclass(Recursive.class)
+                .method(isDeclaredBy(Recursive.class))
+                .intercept(MethodDelegation.to(RecursiveView.class))
+                .make()
+                .load(Recursive.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Recursive instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(2, FOOBAR), is(QUX + 0 + BAZ + 1 + 1 + BAZ + 2 + 2 + FOOBAR));
+        assertThat(instance.foo(0, QUX), is(QUX + 0 + QUX));
+    }
+
+    @Test
+    public void testArgumentViewReleasedOnException() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(ThrowingView.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO, BAR), is((Object) (QUX + FOO + BAR)));
+        ArgumentView argumentView = ThrowingView.argumentView;
+        for (int index = 0; index < 32; index++) {
+            try {
+                instance.foo(-1, BAR);
+                throw new AssertionError();
+            } catch (IllegalStateException ignored) {
+                /* expected */
+            }
+        }
+        assertThat(instance.foo(BAR, FOO), is((Object) (QUX + BAR + FOO)));
+        assertThat(ThrowingView.argumentView, sameInstance(argumentView));
+    }
+
     public static class Foo {
 
         public Object foo(int i1, Integer i2) {
@@ -93,6 +156,13 @@ public class MethodDelegationAllArgumentsTest {
         }
     }
 
+    public static class Recursive {
+
+        public String foo(int depth, String value) {
+            return null;
+        }
+    }
+
     public static class Qux {
 
         public Object foo(Object o, String s) {
@@ -125,4 +195,60 @@ public class MethodDelegationAllArgumentsTest {
             return args[0];
         }
     }
+
+    public static class View {
+
+        public static String qux(@AllArguments ArgumentView args) {
+            assertThat(args.size(), is(2));
+            assertThat(args.isPrimitive(0), is(true));
+            assertThat(args.isPrimitive(1), is(false));
+            return QUX + args.getInt(0) + args.getObject(1);
+        }
+    }
+
+    public static class ViewIncludeSelf {
+
+        public static Object intercept(@AllArguments(includeSelf = true) ArgumentView args) {
+            assertThat(args.size(), is(3));
+            assertThat(args.getObject(1), is((Object) QUX));
+            assertThat(args.getObject(2), is((Object) BAZ));
+            return args.getObject(0);
+        }
+    }
+
+    public static class ThrowingView {
+
+        private static ArgumentView argumentView;
+
+        public static String qux(@AllArguments ArgumentView args) {
+            argumentView = args;
+            if (args.getInt(0) < 0) {
+                throw new IllegalStateException();
+            }
+            return QUX + args.getInt(0) + args.getObject(1);
+        }
+    }
+
+    public static class RecursiveView {
+
+        public static String intercept(@AllArguments ArgumentView args, @This Recursive self) {
+            int depth = args.getInt(0);
+            Object value = args.getObject(1);
+            String result = QUX;
+            if (depth > 0) {
+                result = self.foo(depth - 1, BAZ + depth);
+                try {
+                    self.foo(-1, FOOBAR);
+                    throw new AssertionError();
+                } catch (IllegalStateException ignored) {
+                    /* expected */
+                }
+            } else if (depth < 0) {
+                throw new IllegalStateException();
+            }
+            assertThat(args.getInt(0), is(depth));
+            assertThat(args.getObject(1), is(value));
+            return result + depth + value;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCallHandle;
+import net.bytebuddy.implementation.bind.annotation.This;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.reflect.Method;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationSuperCallHandleTest {
+
+    private static final String SINGLE_DEFAULT_METHOD = "net.bytebuddy.test.precompiled.SingleDefaultMethodInterface";
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testSuperCallHandle() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(SampleClass.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.getAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(0));
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO), is(FOO + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testSuperCallHandleWithChangedArgument() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(MorphingClass.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO), is(BAR + BAR));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testDefaultMethodFallback() throws Exception {
+        DynamicType.Loaded<?> loaded = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Class.forName(SINGLE_DEFAULT_METHOD))
+                .intercept(MethodDelegation.to(SampleClass.class))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Object instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        Method method = loaded.getLoaded().getMethod(FOO);
+        assertThat(method.invoke(instance), is((Object) FOO));
+    }
+
+    @Test
+    public void testAbstractMethodNullIfImpossible() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(NullableClass.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.getLoaded().getDeclaredConstructor().newInstance().bar(), nullValue(String.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAbstractMethodNonBindable() throws Exception {
+        new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(SampleClass.class))
+                .make();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWrongTypeThrowsException() throws Exception {
+        new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(IllegalAnnotation.class))
+                .make();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLegacyClassFileVersion() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(SampleClass.class))
+                .make();
+    }
+
+    @Test
+    public void testLegacyClassFileVersionNullIfImpossible() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(NullableClass.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.getLoaded().getDeclaredConstructor().newInstance().foo(FOO), nullValue(String.class));
+    }
+
+    private static Object invoke(Object handle, Object... argument) throws Exception {
+        return Class.forName("java.lang.invoke.MethodHandle").getMethod("invokeWithArguments", Object[].class).invoke(handle, (Object) argument);
+    }
+
+    private static Object[] prepend(Object target, Object[] argument) {
+        Object[] prepended = new Object[argument.length + 1];
+        prepended[0] = target;
+        System.arraycopy(argument, 0, prepended, 1, argument.length);
+        return prepended;
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return value + BAR;
+        }
+    }
+
+    public abstract static class Qux {
+
+        public abstract String bar();
+    }
+
+    public static class SampleClass {
+
+        @RuntimeType
+        public static Object intercept(@SuperCallHandle Object handle, @This Object target, @AllArguments Object[] argument) throws Exception {
+            return invoke(handle, prepend(target, argument));
+        }
+    }
+
+    public static class MorphingClass {
+
+        @RuntimeType
+        public static Object intercept(@SuperCallHandle Object handle, @This Object target) throws Exception {
+            return invoke(handle, target, BAR);
+        }
+    }
+
+    public static class NullableClass {
+
+        public static String intercept(@SuperCallHandle(nullIfImpossible = true) Object handle) {
+            return handle == null ? null : FOO;
+        }
+    }
+
+    public static class IllegalAnnotation {
+
+        public static String intercept(@SuperCallHandle String value) {
+            return value;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.bytebuddy.implementation.bind;
 
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.ParameterList;
 import net.bytebuddy.description.type.TypeDescription;
@@ -14,8 +15,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -124,6 +129,55 @@ public class MethodBindingBuilderTest {
         verifyZeroInteractions(methodVisitor);
     }
 
+    @Test
+    public void testReleasingParameterBinding() throws Exception {
+        StackManipulation invocation = mock(StackManipulation.class, Answers.RETURNS_MOCKS);
+        StackManipulation first = mock(StackManipulation.class, Answers.RETURNS_MOCKS), second = mock(StackManipulation.class, Answers.RETURNS_MOCKS);
+        StackManipulation termination = mock(StackManipulation.class, Answers.RETURNS_MOCKS);
+        Implementation.Context implementationContext = mock(Implementation.Context.class);
+        when(implementationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        when(returnType.asErasure()).thenReturn(TypeDescription.VOID);
+        when(invocation.isValid()).thenReturn(true);
+        when(first.isValid()).thenReturn(true);
+        when(second.isValid()).thenReturn(true);
+        when(termination.isValid()).thenReturn(true);
+        when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(invocation);
+        when(methodParameterList.size()).thenReturn(2);
+        MethodDelegationBinder.MethodBinding.Builder builder = new MethodDelegationBinder.MethodBinding.Builder(methodInvoker, methodDescription);
+        assertThat(builder.append(new MethodDelegationBinder.ParameterBinding.Releasing(legalStackManipulation, first)), is(true));
+        assertThat(builder.append(new MethodDelegationBinder.ParameterBinding.Releasing(legalStackManipulation, second)), is(true));
+        MethodDelegationBinder.MethodBinding methodBinding = builder.build(termination);
+        assertThat(methodBinding.isValid(), is(true));
+        methodBinding.apply(methodVisitor, implementationContext);
+        InOrder inOrder = inOrder(methodVisitor, legalStackManipulation, invocation, first, second, termination);
+        inOrder.verify(methodVisitor).visitTryCatchBlock(any(Label.class), any(Label.class), any(Label.class), Mockito.<String>isNull());
+        inOrder.verify(legalStackManipulation, times(2)).apply(methodVisitor, implementationContext);
+        inOrder.verify(methodVisitor).visitLabel(any(Label.class));
+        inOrder.verify(invocation).apply(methodVisitor, implementationContext);
+        inOrder.verify(methodVisitor).visitLabel(any(Label.class));
+        inOrder.verify(second).apply(methodVisitor, implementationContext);
+        inOrder.verify(first).apply(methodVisitor, implementationContext);
+        inOrder.verify(methodVisitor).visitJumpInsn(eq(Opcodes.GOTO), any(Label.class));
+        inOrder.verify(methodVisitor).visitLabel(any(Label.class));
+        inOrder.verify(methodVisitor).visitFrame(eq(Opcodes.F_SAME1), eq(0), any(Object[].class), eq(1), any(Object[].class));
+        inOrder.verify(second).apply(methodVisitor, implementationContext);
+        inOrder.verify(first).apply(methodVisitor, implementationContext);
+        inOrder.verify(methodVisitor).visitInsn(Opcodes.ATHROW);
+        inOrder.verify(methodVisitor).visitLabel(any(Label.class));
+        inOrder.verify(methodVisitor).visitFrame(eq(Opcodes.F_SAME), eq(0), any(Object[].class), eq(0), any(Object[].class));
+        inOrder.verify(termination).apply(methodVisitor, implementationContext);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testIllegalReleasingParameterBinding() throws Exception {
+        when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(legalStackManipulation);
+        when(methodParameterList.size()).thenReturn(1);
+        MethodDelegationBinder.MethodBinding.Builder builder = new MethodDelegationBinder.MethodBinding.Builder(methodInvoker, methodDescription);
+        assertThat(builder.append(new MethodDelegationBinder.ParameterBinding.Releasing(legalStackManipulation, illegalStackManipulation)), is(true));
+        assertThat(builder.build(legalStackManipulation).isValid(), is(false));
+    }
+
     @Test
     public void testUniqueIdentification() throws Exception {
         when(methodInvoker.invoke(any(MethodDescription.class))).thenReturn(legalStackManipulation);
@@ -79,4 +79,22 @@ public class MethodDelegationBindingParameterBindingTest {
         verifyZeroInteractions(methodVisitor);
         verifyZeroInteractions(implementationContext);
     }
+
+    @Test
+    public void testReleasingToken() throws Exception {
+        StackManipulation release = mock(StackManipulation.class);
+        when(release.isValid()).thenReturn(true);
+        MethodDelegationBinder.ParameterBinding.Releasing parameterBinding = new MethodDelegationBinder.ParameterBinding.Releasing(stackManipulation, release);
+        assertThat(parameterBinding.isValid(), is(true));
+        assertThat(parameterBinding.getIdentificationToken(), notNullValue());
+        assertThat(parameterBinding.getRelease(), is(release));
+        assertThat(parameterBinding.apply(methodVisitor, implementationContext), is(size));
+        verify(stackManipulation).isValid();
+        verify(stackManipulation).apply(methodVisitor, implementationContext);
+        verifyNoMoreInteractions(stackManipulation);
+        verify(release).isValid();
+        verifyNoMoreInteractions(release);
+        verifyZeroInteractions(methodVisitor);
+        verifyZeroInteractions(implementationContext);
+    }
 }
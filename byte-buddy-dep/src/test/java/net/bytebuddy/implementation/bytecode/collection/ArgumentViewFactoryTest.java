@@ -0,0 +1,125 @@
+package net.bytebuddy.implementation.bytecode.collection;
+
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.ArgumentView;
+import org.junit.Test;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ArgumentViewFactoryTest {
+
+    @Test
+    public void testApplication() throws Exception {
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        StackManipulation stackManipulation = new ArgumentViewFactory(Arrays.<TypeDefinition>asList(TypeDescription.ForLoadedType.of(long.class), TypeDescription.STRING),
+                Arrays.asList(MethodVariableAccess.LONG.loadFrom(1), MethodVariableAccess.REFERENCE.loadFrom(3)));
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, mock(Implementation.Context.class));
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(4));
+        String owner = Type.getInternalName(ArgumentView.class), descriptor = Type.getDescriptor(ArgumentView.class);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_2);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, owner, "of", "(I)" + descriptor, false);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.LLOAD, 1);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, "with", "(IJ)" + descriptor, false);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_1);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 3);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, "with", "(ILjava/lang/Object;)" + descriptor, false);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testPooledApplication() throws Exception {
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        StackManipulation stackManipulation = new ArgumentViewFactory(Collections.singletonList(TypeDescription.OBJECT),
+                Collections.singletonList(MethodVariableAccess.REFERENCE.loadFrom(1)),
+                true);
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, mock(Implementation.Context.class));
+        assertThat(size.getSizeImpact(), is(1));
+        String owner = Type.getInternalName(ArgumentView.class), descriptor = Type.getDescriptor(ArgumentView.class);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_1);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, owner, "acquire", "(I)" + descriptor, false);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ALOAD, 1);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, "with", "(ILjava/lang/Object;)" + descriptor, false);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testAcquire() throws Exception {
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        StackManipulation stackManipulation = new ArgumentViewFactory.Acquire(2);
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, mock(Implementation.Context.class));
+        assertThat(size.getSizeImpact(), is(1));
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_2);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC,
+                Type.getInternalName(ArgumentView.class),
+                "acquire",
+                "(I)" + Type.getDescriptor(ArgumentView.class),
+                false);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testCurrent() throws Exception {
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        StackManipulation stackManipulation = new ArgumentViewFactory.ForCurrent(Collections.singletonList(TypeDescription.ForLoadedType.of(int.class)),
+                Collections.singletonList(MethodVariableAccess.INTEGER.loadFrom(1)));
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, mock(Implementation.Context.class));
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(3));
+        String owner = Type.getInternalName(ArgumentView.class), descriptor = Type.getDescriptor(ArgumentView.class);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, owner, "current", "()" + descriptor, false);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_0);
+        verify(methodVisitor).visitVarInsn(Opcodes.ILOAD, 1);
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, "with", "(II)" + descriptor, false);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testCurrentInvalidValue() throws Exception {
+        assertThat(new ArgumentViewFactory.ForCurrent(Collections.singletonList(TypeDescription.OBJECT),
+                Collections.singletonList(StackManipulation.Illegal.INSTANCE)).isValid(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCurrentIllegalSize() throws Exception {
+        new ArgumentViewFactory.ForCurrent(Collections.singletonList(TypeDescription.OBJECT), Collections.<StackManipulation>emptyList());
+    }
+
+    @Test
+    public void testRelease() throws Exception {
+        MethodVisitor methodVisitor = mock(MethodVisitor.class);
+        assertThat(ArgumentViewFactory.Release.INSTANCE.isValid(), is(true));
+        StackManipulation.Size size = ArgumentViewFactory.Release.INSTANCE.apply(methodVisitor, mock(Implementation.Context.class));
+        assertThat(size.getSizeImpact(), is(0));
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ArgumentView.class), "release", "()V", false);
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testInvalidValue() throws Exception {
+        assertThat(new ArgumentViewFactory(Collections.singletonList(TypeDescription.OBJECT),
+                Collections.singletonList(StackManipulation.Illegal.INSTANCE)).isValid(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new ArgumentViewFactory(Collections.singletonList(TypeDescription.OBJECT), Collections.<StackManipulation>emptyList());
+    }
+}
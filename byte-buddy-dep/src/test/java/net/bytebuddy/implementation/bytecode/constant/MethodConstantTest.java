@@ -17,6 +17,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
+import org.objectweb.asm.ConstantDynamic;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -229,6 +230,50 @@ public class MethodConstantTest {
         verifyNoMoreInteractions(implementationContext);
     }
 
+    @Test
+    public void testMethodDynamic() throws Exception {
+        when(classFileVersion.isAtLeast(ClassFileVersion.JAVA_V11)).thenReturn(true);
+        StackManipulation.Size size = MethodConstant.ofDynamic(new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString")))
+                .apply(methodVisitor, implementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(1));
+        verify(methodVisitor).visitLdcInsn(any(ConstantDynamic.class));
+        verify(methodVisitor).visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Method.class));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testConstructorDynamic() throws Exception {
+        when(classFileVersion.isAtLeast(ClassFileVersion.JAVA_V11)).thenReturn(true);
+        StackManipulation.Size size = MethodConstant.ofDynamic(new MethodDescription.ForLoadedConstructor(Object.class.getDeclaredConstructor()))
+                .apply(methodVisitor, implementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(1));
+        verify(methodVisitor).visitLdcInsn(any(ConstantDynamic.class));
+        verify(methodVisitor).visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Constructor.class));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testMethodDynamicLegacy() throws Exception {
+        StackManipulation.Size size = MethodConstant.ofDynamic(methodDescription).apply(methodVisitor, implementationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(6));
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(Class.class),
+                "getDeclaredMethod",
+                "(Ljava/lang/String;[Ljava/lang/Class;)Ljava/lang/reflect/Method;",
+                false);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTypeInitializerDynamic() throws Exception {
+        when(methodDescription.isTypeInitializer()).thenReturn(true);
+        StackManipulation methodConstant = MethodConstant.ofDynamic(methodDescription);
+        assertThat(methodConstant.isValid(), is(false));
+        methodConstant.apply(methodVisitor, implementationContext);
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testTypeInitializer() throws Exception {
         when(methodDescription.isTypeInitializer()).thenReturn(true);
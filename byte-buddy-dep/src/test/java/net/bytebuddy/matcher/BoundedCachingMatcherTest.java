@@ -0,0 +1,111 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class BoundedCachingMatcherTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ElementMatcher<? super Object> matcher;
+
+    private Object first, second, third;
+
+    @Before
+    public void setUp() throws Exception {
+        first = new Object();
+        second = new Object();
+        third = new Object();
+        when(matcher.matches(first)).thenReturn(true);
+    }
+
+    @Test
+    public void testMatchCaches() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 10);
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(second), is(false));
+        assertThat(matcher.matches(second), is(false));
+        verify(this.matcher).matches(first);
+        verify(this.matcher).matches(second);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHits(), is(2L));
+        assertThat(matcher.getMisses(), is(2L));
+        assertThat(matcher.getEvictions(), is(0L));
+        assertThat(matcher.getSize(), is(2));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 2, 1);
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(second), is(false));
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(third), is(false));
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(second), is(false));
+        verify(this.matcher).matches(first);
+        verify(this.matcher, times(2)).matches(second);
+        verify(this.matcher).matches(third);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHits(), is(2L));
+        assertThat(matcher.getMisses(), is(4L));
+        assertThat(matcher.getEvictions(), is(2L));
+        assertThat(matcher.getSize(), is(2));
+    }
+
+    @Test
+    public void testStripedSizeIsBounded() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 5, 4);
+        for (int index = 0; index < 100; index++) {
+            matcher.matches(new Object());
+        }
+        assertThat(matcher.getSize() <= 5, is(true));
+        assertThat(matcher.getMisses(), is(100L));
+        assertThat(matcher.getEvictions(), is(100L - matcher.getSize()));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 10);
+        assertThat(matcher.matches(first), is(true));
+        matcher.clear();
+        assertThat(matcher.getSize(), is(0));
+        assertThat(matcher.matches(first), is(true));
+        verify(this.matcher, times(2)).matches(first);
+        assertThat(matcher.getMisses(), is(2L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new BoundedCachingMatcher<Object>(matcher, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalConcurrencyLevel() throws Exception {
+        new BoundedCachingMatcher<Object>(matcher, 1, 0);
+    }
+
+    @Test
+    public void testElementMatchersFactory() throws Exception {
+        BoundedCachingMatcher<Object> matcher = ElementMatchers.cached(this.matcher, 1, 1);
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.matches(first), is(true));
+        assertThat(matcher.getHits(), is(1L));
+    }
+
+    @Test
+    public void testStringRepresentation() throws Exception {
+        assertThat(new BoundedCachingMatcher<Object>(new BooleanMatcher<Object>(true), 10).toString(), is("cached(true, 10)"));
+    }
+}
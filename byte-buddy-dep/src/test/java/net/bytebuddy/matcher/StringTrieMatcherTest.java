@@ -0,0 +1,139 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.NamedElement;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StringTrieMatcherTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Test
+    public void testValue() throws Exception {
+        StringTrieMatcher matcher = new StringTrieMatcher(Arrays.asList(FOO, BAR), Collections.<String>emptySet());
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(true));
+        assertThat(matcher.matches(FOO + BAR), is(false));
+        assertThat(matcher.matches(FOO.substring(1)), is(false));
+        assertThat(matcher.matches(QUX), is(false));
+        assertThat(matcher.matches(""), is(false));
+    }
+
+    @Test
+    public void testPrefix() throws Exception {
+        StringTrieMatcher matcher = new StringTrieMatcher(Collections.<String>emptySet(), Arrays.asList(FOO, FOO + BAR, BAR));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO + QUX), is(true));
+        assertThat(matcher.matches(BAR + QUX), is(true));
+        assertThat(matcher.matches(QUX + FOO), is(false));
+        assertThat(matcher.matches(FOO.substring(0, 1)), is(false));
+    }
+
+    @Test
+    public void testValueAndPrefix() throws Exception {
+        StringTrieMatcher matcher = new StringTrieMatcher(Arrays.asList(FOO, QUX + BAR), Collections.singleton(QUX + FOO));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(QUX + BAR), is(true));
+        assertThat(matcher.matches(QUX + BAR + FOO), is(false));
+        assertThat(matcher.matches(QUX + FOO + BAR), is(true));
+        assertThat(matcher.matches(QUX), is(false));
+    }
+
+    @Test
+    public void testEmptyPrefix() throws Exception {
+        StringTrieMatcher matcher = new StringTrieMatcher(Collections.<String>emptySet(), Collections.singleton(""));
+        assertThat(matcher.matches(""), is(true));
+        assertThat(matcher.matches(FOO), is(true));
+    }
+
+    @Test
+    public void testCompileDisjunction() throws Exception {
+        ElementMatcher.Junction<NamedElement> matcher = StringTrieMatcher.compile(ElementMatchers.<NamedElement>named(FOO)
+                .or(ElementMatchers.<NamedElement>nameStartsWith(BAR))
+                .or(ElementMatchers.<NamedElement>namedOneOf(QUX, QUX + FOO)));
+        assertThat(matcher, instanceOf(NameMatcher.class));
+        assertThat(matcher.matches(TypeDescription.OBJECT), is(false));
+        assertThat(matcher.matches(new NamedElementStub(FOO)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(FOO + BAR)), is(false));
+        assertThat(matcher.matches(new NamedElementStub(BAR + FOO)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(QUX + FOO)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(QUX + BAR)), is(false));
+    }
+
+    @Test
+    public void testCompileDisjunctionWithResidual() throws Exception {
+        ElementMatcher.Junction<NamedElement> matcher = StringTrieMatcher.compile(ElementMatchers.<NamedElement>named(FOO)
+                .or(ElementMatchers.<NamedElement>nameEndsWith(QUX))
+                .or(ElementMatchers.<NamedElement>nameStartsWith(BAR)));
+        assertThat(matcher, instanceOf(ElementMatcher.Junction.Disjunction.class));
+        assertThat(matcher.matches(new NamedElementStub(FOO)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(BAR + FOO)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(FOO + QUX)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(FOO + BAR)), is(false));
+    }
+
+    @Test
+    public void testCompileConjunction() throws Exception {
+        ElementMatcher.Junction<NamedElement> matcher = StringTrieMatcher.compile(ElementMatchers.<NamedElement>nameEndsWith(QUX)
+                .and(ElementMatchers.<NamedElement>nameStartsWith(FOO).or(ElementMatchers.<NamedElement>nameStartsWith(BAR))));
+        assertThat(matcher, instanceOf(ElementMatcher.Junction.Conjunction.class));
+        assertThat(matcher.matches(new NamedElementStub(FOO + QUX)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(BAR + QUX)), is(true));
+        assertThat(matcher.matches(new NamedElementStub(QUX + QUX)), is(false));
+        assertThat(matcher.matches(new NamedElementStub(FOO + BAR)), is(false));
+    }
+
+    @Test
+    public void testCompileNotApplicable() throws Exception {
+        ElementMatcher.Junction<NamedElement> original = ElementMatchers.<NamedElement>named(FOO).or(ElementMatchers.<NamedElement>nameEndsWith(BAR));
+        assertThat(StringTrieMatcher.compile(original), sameInstance(original));
+        ElementMatcher.Junction<NamedElement> single = ElementMatchers.named(FOO);
+        assertThat(StringTrieMatcher.compile(single), sameInstance(single));
+    }
+
+    @Test
+    public void testCompileNonJunction() throws Exception {
+        ElementMatcher.Junction<NamedElement> matcher = StringTrieMatcher.compile(new ElementMatcher<NamedElement>() {
+            public boolean matches(NamedElement target) {
+                return true;
+            }
+        });
+        assertThat(matcher.matches(new NamedElementStub(FOO)), is(true));
+    }
+
+    @Test
+    public void testEquality() throws Exception {
+        assertThat(new StringTrieMatcher(Collections.singleton(FOO), Collections.singleton(BAR)),
+                is(new StringTrieMatcher(Collections.singleton(FOO), Collections.singleton(BAR))));
+        assertThat(new StringTrieMatcher(Collections.singleton(FOO), Collections.singleton(BAR)),
+                not(new StringTrieMatcher(Collections.singleton(BAR), Collections.singleton(FOO))));
+    }
+
+    @Test
+    public void testStringRepresentation() throws Exception {
+        assertThat(new StringTrieMatcher(Collections.singleton(FOO), Collections.singleton(BAR)).toString(), is("trie(foo, bar*)"));
+    }
+
+    private static class NamedElementStub implements NamedElement {
+
+        private final String name;
+
+        private NamedElementStub(String name) {
+            this.name = name;
+        }
+
+        public String getActualName() {
+            return name;
+        }
+    }
+}
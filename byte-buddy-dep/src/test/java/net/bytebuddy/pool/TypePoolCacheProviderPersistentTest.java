@@ -0,0 +1,386 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolCacheProviderPersistentTest {
+
+    private File file, folder, other, jar;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        assertThat(file.delete(), is(true));
+        folder = File.createTempFile("foo", "bar");
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        other = File.createTempFile("foo", "bar");
+        assertThat(other.delete(), is(true));
+        assertThat(other.mkdir(), is(true));
+        jar = File.createTempFile("foo", ".jar");
+        write(folder, Foo.class.getName(), Foo.class);
+        write(folder, Bar.class.getName(), Bar.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(!file.exists() || file.delete(), is(true));
+        delete(folder);
+        delete(other);
+        assertThat(!jar.exists() || jar.delete(), is(true));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testPersisted() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        TypePool.Resolution resolution = describe(cacheProvider, Foo.class);
+        assertThat(cacheProvider.find(Foo.class.getName()), sameInstance(resolution));
+        cacheProvider.persist();
+        cacheProvider.close();
+        assertThat(file.isFile(), is(true));
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            TypePool.Resolution persisted = cacheProvider.find(Foo.class.getName());
+            assertThat(persisted, notNullValue(TypePool.Resolution.class));
+            assertThat(persisted.isResolved(), is(true));
+            assertThat(persisted.resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Foo.class)));
+            assertThat(persisted.resolve().getDeclaredFields().getOnly().getName(), is("bar"));
+            assertThat(persisted.resolve().getDeclaredFields().getOnly().getType().asErasure().getName(), is(Bar.class.getName()));
+            assertThat(persisted.resolve().getSuperClass().asErasure(), is(TypeDescription.OBJECT));
+            assertThat(cacheProvider.find(Foo.class.getName()), sameInstance(persisted));
+            cacheProvider.clear();
+            assertThat(cacheProvider.find(Foo.class.getName()), notNullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testPersistedRetained() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Bar.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Foo.class)));
+            assertThat(cacheProvider.find(Bar.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Bar.class)));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testChangedClassFile() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        File classFile = write(folder, Foo.class.getName(), Bar.class);
+        assertThat(classFile.setLastModified(classFile.lastModified() + 1000), is(true));
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testChangedModificationTime() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        File classFile = new File(folder, Foo.class.getName().replace('.', File.separatorChar) + ClassFileLocator.CLASS_FILE_EXTENSION);
+        assertThat(classFile.setLastModified(classFile.lastModified() + 1000), is(true));
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testShadowedByPrecedingFolder() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(other, folder));
+        describe(cacheProvider, Foo.class);
+        describe(cacheProvider, Bar.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        write(other, Foo.class.getName(), Foo.class);
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(other, folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+            assertThat(cacheProvider.find(Bar.class.getName()), notNullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testJarFile() throws Exception {
+        write(jar, Foo.class);
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(jar, folder));
+        describe(cacheProvider, Foo.class);
+        describe(cacheProvider, Bar.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(jar, folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Foo.class)));
+            assertThat(cacheProvider.find(Bar.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Bar.class)));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testChangedJarFile() throws Exception {
+        write(jar, Foo.class);
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(jar, folder));
+        describe(cacheProvider, Foo.class);
+        describe(cacheProvider, Bar.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        write(jar, Foo.class, Bar.class);
+        assertThat(jar.setLastModified(jar.lastModified() + 1000), is(true));
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(jar, folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+            assertThat(cacheProvider.find(Bar.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testClassPathMismatch() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Arrays.asList(other, folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testNotLocatableNotPersisted() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(other));
+        assertThat(new TypePool.Default(cacheProvider,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST).describe(Foo.class.getName()).isResolved(), is(true));
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(other));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testBootLoader() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.ofBootLoader(file);
+        describe(cacheProvider, String.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.ofBootLoader(file);
+        try {
+            TypePool.Resolution persisted = cacheProvider.find(String.class.getName());
+            assertThat(persisted, notNullValue(TypePool.Resolution.class));
+            assertThat(persisted.resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(String.class)));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testBootLoaderPrecedingClassPath() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.FAST, true);
+        describe(cacheProvider, String.class);
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.FAST, true);
+        try {
+            assertThat(cacheProvider.find(String.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(String.class)));
+            assertThat(cacheProvider.find(Foo.class.getName()).resolve(), is((TypeDescription) TypeDescription.ForLoadedType.of(Foo.class)));
+        } finally {
+            cacheProvider.close();
+        }
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testBootLoaderChangedRuntimeVersion() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.FAST, true);
+        describe(cacheProvider, String.class);
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        String version = System.getProperty("java.runtime.version");
+        System.setProperty("java.runtime.version", version + "-changed");
+        try {
+            cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.FAST, true);
+        } finally {
+            System.setProperty("java.runtime.version", version);
+        }
+        try {
+            assertThat(cacheProvider.find(String.class.getName()), nullValue(TypePool.Resolution.class));
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testReaderModeMismatch() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.FAST);
+        describe(cacheProvider, Foo.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder), TypePool.Default.ReaderMode.EXTENDED);
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testCorruptFile() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        try {
+            assertThat(cacheProvider.find(Foo.class.getName()), nullValue(TypePool.Resolution.class));
+        } finally {
+            cacheProvider.close();
+        }
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        describe(cacheProvider, Foo.class);
+        describe(cacheProvider, Bar.class);
+        cacheProvider.persist();
+        cacheProvider.close();
+        cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        TypePool.Resolution resolution = cacheProvider.find(Foo.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        cacheProvider.close();
+        cacheProvider.close();
+        assertThat(cacheProvider.find(Foo.class.getName()), sameInstance(resolution));
+        assertThat(cacheProvider.find(Bar.class.getName()), nullValue(TypePool.Resolution.class));
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testClosedCannotPersist() throws Exception {
+        TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, Collections.singletonList(folder));
+        cacheProvider.close();
+        cacheProvider.persist();
+    }
+
+    private static TypePool.Resolution describe(TypePool.CacheProvider.Persistent cacheProvider, Class<?> type) {
+        TypePool.Resolution resolution = new TypePool.Default(cacheProvider,
+                cacheProvider.getClassFileLocator(),
+                TypePool.Default.ReaderMode.FAST).describe(type.getName());
+        assertThat(resolution.isResolved(), is(true));
+        return resolution;
+    }
+
+    private static File write(File folder, String name, Class<?> type) throws IOException {
+        File classFile = new File(folder, name.replace('.', File.separatorChar) + ClassFileLocator.CLASS_FILE_EXTENSION);
+        assertThat(classFile.getParentFile().isDirectory() || classFile.getParentFile().mkdirs(), is(true));
+        OutputStream outputStream = new FileOutputStream(classFile);
+        try {
+            outputStream.write(ClassFileLocator.ForClassLoader.read(type));
+        } finally {
+            outputStream.close();
+        }
+        return classFile;
+    }
+
+    private static void write(File jar, Class<?>... types) throws IOException {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (Class<?> type : types) {
+                outputStream.putNextEntry(new JarEntry(type.getName().replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION));
+                outputStream.write(ClassFileLocator.ForClassLoader.read(type));
+                outputStream.closeEntry();
+            }
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    private static class Foo {
+
+        private Bar bar;
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
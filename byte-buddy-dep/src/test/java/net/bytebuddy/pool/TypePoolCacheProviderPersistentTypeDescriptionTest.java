@@ -0,0 +1,120 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.AbstractTypeDescriptionTest;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.is;
+
+public class TypePoolCacheProviderPersistentTypeDescriptionTest extends AbstractTypeDescriptionTest {
+
+    protected TypeDescription describe(Class<?> type) {
+        try {
+            File file = File.createTempFile("foo", "bar"), folder = null;
+            try {
+                Class<?> componentType = type;
+                while (componentType.isArray()) {
+                    componentType = componentType.getComponentType();
+                }
+                List<File> classPath;
+                if (componentType.isPrimitive()) {
+                    classPath = Collections.emptyList();
+                } else if (componentType.getProtectionDomain().getCodeSource() != null
+                        && componentType.getProtectionDomain().getCodeSource().getLocation() != null
+                        && componentType.getProtectionDomain().getCodeSource().getLocation().getProtocol().equals("file")) {
+                    classPath = Collections.singletonList(new File(componentType.getProtectionDomain().getCodeSource().getLocation().toURI()));
+                } else {
+                    folder = File.createTempFile("foo", "bar");
+                    if (!folder.delete() || !folder.mkdir()) {
+                        throw new AssertionError("Cannot create " + folder);
+                    }
+                    write(folder, componentType);
+                    classPath = Collections.singletonList(folder);
+                }
+                TypePool.CacheProvider.Persistent cacheProvider = TypePool.CacheProvider.Persistent.of(file, classPath, TypePool.Default.ReaderMode.EXTENDED);
+                try {
+                    if (!new TypePool.Default(cacheProvider, cacheProvider.getClassFileLocator(), TypePool.Default.ReaderMode.EXTENDED).describe(type.getName()).isResolved()) {
+                        throw new AssertionError("Cannot resolve " + type);
+                    }
+                    cacheProvider.persist();
+                } finally {
+                    cacheProvider.close();
+                }
+                TypePool.Resolution resolution = new TypePool.Default(TypePool.CacheProvider.Persistent.of(file, classPath, TypePool.Default.ReaderMode.EXTENDED),
+                        ClassFileLocator.NoOp.INSTANCE,
+                        TypePool.Default.ReaderMode.EXTENDED).describe(type.getName());
+                if (!resolution.isResolved()) {
+                    throw new AssertionError("Cannot find persisted " + type);
+                }
+                return resolution.resolve();
+            } finally {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+                if (folder != null) {
+                    delete(folder);
+                }
+            }
+        } catch (Exception exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private static void write(File folder, Class<?> type) throws IOException {
+        File classFile = new File(folder, type.getName().replace('.', File.separatorChar) + ClassFileLocator.CLASS_FILE_EXTENSION);
+        if (!classFile.getParentFile().isDirectory() && !classFile.getParentFile().mkdirs()) {
+            throw new AssertionError("Cannot create " + classFile.getParentFile());
+        }
+        OutputStream outputStream = new FileOutputStream(classFile);
+        try {
+            outputStream.write(ClassFileLocator.ForClassLoader.read(type));
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    protected TypeDescription.Generic describeType(Field field) {
+        return describe(field.getDeclaringClass()).getDeclaredFields().filter(is(field)).getOnly().getType();
+    }
+
+    protected TypeDescription.Generic describeReturnType(Method method) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getReturnType();
+    }
+
+    protected TypeDescription.Generic describeParameterType(Method method, int index) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getParameters().get(index).getType();
+    }
+
+    protected TypeDescription.Generic describeExceptionType(Method method, int index) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getExceptionTypes().get(index);
+    }
+
+    protected TypeDescription.Generic describeSuperClass(Class<?> type) {
+        return describe(type).getSuperClass();
+    }
+
+    protected TypeDescription.Generic describeInterfaceType(Class<?> type, int index) {
+        return describe(type).getInterfaces().get(index);
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -17,7 +18,7 @@ import static org.mockito.Mockito.mock;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -54,4 +55,50 @@ public class TypePoolCacheProviderTest {
         TypePool.CacheProvider.Simple cacheProvider = new TypePool.CacheProvider.Simple(storage);
         assertThat(cacheProvider.getStorage(), sameInstance(storage));
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2);
+        assertThat(bounded.getMaximumSize(), is(2));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.getSize(), is(1));
+        assertThat(bounded.getHits(), is(2L));
+        assertThat(bounded.getMisses(), is(1L));
+        assertThat(bounded.getEvictions(), is(0L));
+        bounded.clear();
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getSize(), is(0));
+    }
+
+    @Test
+    public void testBoundedEvictsLeastRecentlyUsed() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2);
+        TypePool.Resolution bar = mock(TypePool.Resolution.class), qux = mock(TypePool.Resolution.class);
+        bounded.register(FOO, resolution);
+        bounded.register(BAR, bar);
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        bounded.register(QUX, qux);
+        assertThat(bounded.getSize(), is(2));
+        assertThat(bounded.getEvictions(), is(1L));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        assertThat(bounded.find(QUX), sameInstance(qux));
+    }
+
+    @Test
+    public void testBoundedWithObjectType() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = TypePool.CacheProvider.Bounded.withObjectType(1);
+        assertThat(bounded.find(Object.class.getName()).isResolved(), is(true));
+        assertThat(bounded.getSize(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
 }
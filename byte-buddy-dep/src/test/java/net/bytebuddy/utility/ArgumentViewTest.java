@@ -0,0 +1,236 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ArgumentViewTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testPrimitiveValues() throws Exception {
+        ArgumentView argumentView = ArgumentView.of(8)
+                .with(0, true)
+                .with(1, (byte) 1)
+                .with(2, (short) 2)
+                .with(3, (char) 3)
+                .with(4, 4)
+                .with(5, 5L)
+                .with(6, 6f)
+                .with(7, 7d);
+        assertThat(argumentView.size(), is(8));
+        assertThat(argumentView.getBoolean(0), is(true));
+        assertThat(argumentView.getByte(1), is((byte) 1));
+        assertThat(argumentView.getShort(2), is((short) 2));
+        assertThat(argumentView.getChar(3), is((char) 3));
+        assertThat(argumentView.getInt(4), is(4));
+        assertThat(argumentView.getLong(5), is(5L));
+        assertThat(argumentView.getFloat(6), is(6f));
+        assertThat(argumentView.getDouble(7), is(7d));
+        for (int index = 0; index < argumentView.size(); index++) {
+            assertThat(argumentView.isPrimitive(index), is(true));
+        }
+        assertThat(argumentView.toArray(), is(new Object[]{true, (byte) 1, (short) 2, (char) 3, 4, 5L, 6f, 7d}));
+    }
+
+    @Test
+    public void testNegativeValues() throws Exception {
+        ArgumentView argumentView = ArgumentView.of(4).with(0, (byte) -1).with(1, -2).with(2, -3f).with(3, -4d);
+        assertThat(argumentView.getByte(0), is((byte) -1));
+        assertThat(argumentView.getInt(1), is(-2));
+        assertThat(argumentView.getFloat(2), is(-3f));
+        assertThat(argumentView.getDouble(3), is(-4d));
+        assertThat(argumentView.getObject(2), is((Object) (-3f)));
+    }
+
+    @Test
+    public void testWidening() throws Exception {
+        ArgumentView argumentView = ArgumentView.of(3).with(0, (byte) 1).with(1, (char) 2).with(2, 3f);
+        assertThat(argumentView.getShort(0), is((short) 1));
+        assertThat(argumentView.getInt(0), is(1));
+        assertThat(argumentView.getLong(1), is(2L));
+        assertThat(argumentView.getFloat(1), is(2f));
+        assertThat(argumentView.getDouble(2), is(3d));
+    }
+
+    @Test
+    public void testReference() throws Exception {
+        ArgumentView argumentView = ArgumentView.of(1).with(0, (Object) FOO);
+        assertThat(argumentView.isPrimitive(0), is(false));
+        assertThat(argumentView.getObject(0), is((Object) FOO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalNarrowing() throws Exception {
+        ArgumentView.of(1).with(0, 1L).getInt(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalPrimitiveOfReference() throws Exception {
+        ArgumentView.of(1).with(0, (Object) FOO).getInt(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBoolean() throws Exception {
+        ArgumentView.of(1).with(0, 1).getBoolean(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() throws Exception {
+        ArgumentView.of(1).with(0, 1).getInt(1);
+    }
+
+    @Test
+    public void testEmptyView() throws Exception {
+        ArgumentView argumentView = ArgumentView.of(0);
+        assertThat(argumentView.size(), is(0));
+        assertThat(argumentView.toArray().length, is(0));
+    }
+
+    @Test
+    public void testPooledViewGrows() throws Exception {
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        ArgumentView.release();
+        assertThat(ArgumentView.acquire(2).with(0, 1).with(1, (Object) FOO), sameInstance(argumentView));
+        try {
+            assertThat(argumentView.toArray(), is(new Object[]{1, FOO}));
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testOfCreatesNewView() throws Exception {
+        assertThat(ArgumentView.of(1), not(sameInstance(ArgumentView.of(1))));
+    }
+
+    @Test
+    public void testPooledPerThread() throws Exception {
+        ArgumentView argumentView = ArgumentView.acquire(2).with(0, (Object) FOO).with(1, (Object) FOO);
+        try {
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+            try {
+                assertThat(executorService.submit(new Callable<ArgumentView>() {
+                    public ArgumentView call() {
+                        try {
+                            return ArgumentView.acquire(0);
+                        } finally {
+                            ArgumentView.release();
+                        }
+                    }
+                }).get(), not(sameInstance(argumentView)));
+            } finally {
+                executorService.shutdown();
+            }
+        } finally {
+            ArgumentView.release();
+        }
+        ArgumentView reacquired = ArgumentView.acquire(1);
+        try {
+            assertThat(reacquired, sameInstance(argumentView));
+            assertThat(reacquired.size(), is(1));
+            assertThat(reacquired.with(0, 1).toArray(), is(new Object[]{1}));
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testNestedAcquisition() throws Exception {
+        ArgumentView outer = ArgumentView.acquire(1).with(0, (Object) FOO);
+        try {
+            ArgumentView inner = ArgumentView.acquire(1).with(0, 1);
+            try {
+                assertThat(inner, not(sameInstance(outer)));
+            } finally {
+                ArgumentView.release();
+            }
+            assertThat(outer.getObject(0), is((Object) FOO));
+            assertThat(ArgumentView.acquire(0), sameInstance(inner));
+            ArgumentView.release();
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testPoolExhaustion() throws Exception {
+        List<ArgumentView> argumentViews = new ArrayList<ArgumentView>();
+        try {
+            for (int index = 0; index < 32; index++) {
+                ArgumentView argumentView = ArgumentView.acquire(1).with(0, index);
+                for (ArgumentView previous : argumentViews) {
+                    assertThat(argumentView, not(sameInstance(previous)));
+                }
+                argumentViews.add(argumentView);
+            }
+            for (int index = 0; index < argumentViews.size(); index++) {
+                assertThat(argumentViews.get(index).getInt(0), is(index));
+            }
+        } finally {
+            for (int index = 0; index < argumentViews.size(); index++) {
+                ArgumentView.release();
+            }
+        }
+        assertThat(ArgumentView.acquire(0), sameInstance(argumentViews.get(0)));
+        ArgumentView.release();
+    }
+
+    @Test
+    public void testCurrent() throws Exception {
+        ArgumentView outer = ArgumentView.acquire(1);
+        try {
+            assertThat(ArgumentView.current(), sameInstance(outer));
+            ArgumentView inner = ArgumentView.acquire(1);
+            try {
+                assertThat(ArgumentView.current(), sameInstance(inner));
+            } finally {
+                ArgumentView.release();
+            }
+            assertThat(ArgumentView.current(), sameInstance(outer));
+        } finally {
+            ArgumentView.release();
+        }
+    }
+
+    @Test
+    public void testCurrentOnPoolExhaustion() throws Exception {
+        List<ArgumentView> argumentViews = new ArrayList<ArgumentView>();
+        try {
+            for (int index = 0; index < 32; index++) {
+                argumentViews.add(ArgumentView.acquire(0));
+                assertThat(ArgumentView.current(), sameInstance(argumentViews.get(index)));
+            }
+        } finally {
+            for (int index = argumentViews.size() - 1; index >= 0; index--) {
+                assertThat(ArgumentView.current(), sameInstance(argumentViews.get(index)));
+                ArgumentView.release();
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCurrentWithoutAcquisition() throws Exception {
+        ArgumentView.current();
+    }
+
+    @Test
+    public void testReleaseWithoutAcquisition() throws Exception {
+        ArgumentView.release();
+        ArgumentView argumentView = ArgumentView.acquire(0);
+        try {
+            ArgumentView.release();
+            assertThat(ArgumentView.acquire(0), sameInstance(argumentView));
+        } finally {
+            ArgumentView.release();
+        }
+    }
+}
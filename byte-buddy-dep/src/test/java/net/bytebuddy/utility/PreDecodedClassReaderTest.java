@@ -0,0 +1,101 @@
+package net.bytebuddy.utility;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class PreDecodedClassReaderTest {
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {Advice.class, ClassReader.SKIP_DEBUG},
+                {Advice.class, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES},
+                {Advice.class, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES},
+                {TypePool.Default.class, ClassReader.SKIP_DEBUG | ClassReader.EXPAND_FRAMES},
+                {PreDecodedClassReaderTest.class, ClassReader.SKIP_DEBUG},
+                {PreDecodedClassReaderTest.class, 0}
+        });
+    }
+
+    private final Class<?> type;
+
+    private final int parsingOptions;
+
+    public PreDecodedClassReaderTest(Class<?> type, int parsingOptions) {
+        this.type = type;
+        this.parsingOptions = parsingOptions;
+    }
+
+    @Test
+    public void testReplayIsEquivalent() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(type);
+        ClassReader classReader = PreDecodedClassReader.of(binaryRepresentation);
+        byte[] expected = write(OpenedClassReader.of(binaryRepresentation));
+        assertThat(write(classReader), is(expected));
+        assertThat(write(classReader), is(expected));
+    }
+
+    private byte[] write(ClassReader classReader) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classReader.accept(new MethodOnlyClassVisitor(classWriter), parsingOptions);
+        return classWriter.toByteArray();
+    }
+
+    private static class MethodOnlyClassVisitor extends ClassVisitor {
+
+        private MethodOnlyClassVisitor(ClassVisitor classVisitor) {
+            super(OpenedClassReader.ASM_API, classVisitor);
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            /* skipped */
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int modifiers) {
+            /* skipped */
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+            /* skipped */
+        }
+
+        @Override
+        public void visitNestHost(String nestHost) {
+            /* skipped */
+        }
+
+        @Override
+        public void visitNestMember(String nestMember) {
+            /* skipped */
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(int modifiers, String name, String descriptor, String signature, Object value) {
+            return null;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import net.bytebuddy.build.gradle.api.Internal;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
+import net.bytebuddy.pool.TypePool;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.plugins.JavaPluginConvention;
@@ -34,6 +35,7 @@ import org.gradle.util.ConfigureUtil;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -77,11 +79,22 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
      */
     private boolean extendedParsing;
 
+    /**
+     * {@code true} if the types of jar files on the class path should be resolved from a type pool that is shared between tasks.
+     */
+    private boolean sharedTypePool;
+
     /**
      * The number of threads to use for transforming or {@code 0} if the transformation should be applied in the main thread.
      */
     private int threads;
 
+    /**
+     * The file in which the index of an incremental build is persisted or {@code null} if class files should not be transformed
+     * incrementally based on their content.
+     */
+    private File incrementalIndex;
+
     /**
      * Creates a new abstract Byte Buddy task.
      */
@@ -222,6 +235,29 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
         this.extendedParsing = extendedParsing;
     }
 
+    /**
+     * Returns {@code true} if the types of jar files on the class path should be resolved from a type pool that is shared between
+     * all tasks within the same Gradle process that use the same jar files in the same order. Jar files are identified by their path, size
+     * and last modification time whereas folders are always resolved anew.
+     *
+     * @return {@code true} if the types of jar files on the class path should be resolved from a shared type pool.
+     */
+    @Internal
+    public boolean isSharedTypePool() {
+        return sharedTypePool;
+    }
+
+    /**
+     * Determines if the types of jar files on the class path should be resolved from a type pool that is shared between all
+     * tasks within the same Gradle process that use the same jar files in the same order. Shared jar files remain open until they are
+     * evicted from the shared registry.
+     *
+     * @param sharedTypePool {@code true} if the types of jar files on the class path should be resolved from a shared type pool.
+     */
+    public void setSharedTypePool(boolean sharedTypePool) {
+        this.sharedTypePool = sharedTypePool;
+    }
+
     /**
      * Returns the number of threads to use for transforming or {@code 0} if the transformation should be applied in the main thread.
      *
@@ -241,6 +277,32 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
         this.threads = threads;
     }
 
+    /**
+     * Returns the file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content.
+     *
+     * @return The file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content.
+     */
+    @Internal
+    public File getIncrementalIndex() {
+        return incrementalIndex;
+    }
+
+    /**
+     * Sets the file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content. If set, a class file is only transformed if its content or the content
+     * of a type it depends upon changed since the last transformation. If the plugins, their arguments, the Byte Buddy version,
+     * the entry point, the class file version, the suffix or the class path changed, the target is cleaned and all class files
+     * are transformed anew. This is only applied for folder targets.
+     *
+     * @param incrementalIndex The file in which the index of an incremental build is persisted or {@code null} if class files
+     *                         should not be transformed incrementally based on their content.
+     */
+    public void setIncrementalIndex(File incrementalIndex) {
+        this.incrementalIndex = incrementalIndex;
+    }
+
     /**
      * Returns the source file or folder.
      *
@@ -286,13 +348,31 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
                 throw new IllegalStateException("Cannot resolve plugin: " + transformation.getPlugin().getName(), throwable);
             }
         }
-        List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>();
+        List<File> artifacts = new ArrayList<File>();
         for (File artifact : classPath()) {
-            classFileLocators.add(artifact.isFile()
-                    ? ClassFileLocator.ForJarFile.of(artifact)
-                    : new ClassFileLocator.ForFolder(artifact));
+            artifacts.add(artifact);
+        }
+        ClassFileLocator classFileLocator;
+        Plugin.Engine.PoolStrategy poolStrategy;
+        if (isSharedTypePool()) {
+            getLogger().debug("Resolving jar files of the class path from shared registry");
+            Plugin.Engine.PoolStrategy.WithSharedDependencies withSharedDependencies = new Plugin.Engine.PoolStrategy.WithSharedDependencies(isExtendedParsing()
+                    ? TypePool.Default.ReaderMode.EXTENDED
+                    : TypePool.Default.ReaderMode.FAST, artifacts);
+            classFileLocator = withSharedDependencies.classFileLocator();
+            poolStrategy = withSharedDependencies;
+        } else {
+            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(artifacts.size());
+            for (File artifact : artifacts) {
+                classFileLocators.add(artifact.isFile()
+                        ? ClassFileLocator.ForJarFile.of(artifact)
+                        : new ClassFileLocator.ForFolder(artifact));
+            }
+            classFileLocator = new ClassFileLocator.Compound(classFileLocators);
+            poolStrategy = isExtendedParsing()
+                    ? Plugin.Engine.PoolStrategy.Default.EXTENDED
+                    : Plugin.Engine.PoolStrategy.Default.FAST;
         }
-        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
         Plugin.Engine.Summary summary;
         try {
             getLogger().info("Processing class files located in in: {}", source());
@@ -310,14 +390,33 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
                 pluginEngine = Plugin.Engine.Default.of(getEntryPoint(), classFileVersion, getSuffix().length() == 0
                         ? MethodNameTransformer.Suffixing.withRandomSuffix()
                         : new MethodNameTransformer.Suffixing(getSuffix()));
+                if (getIncrementalIndex() != null) {
+                    List<File> dependencies = new ArrayList<File>(artifacts.size());
+                    for (File artifact : artifacts) {
+                        if (!artifact.getAbsoluteFile().equals(source().getAbsoluteFile()) && !artifact.getAbsoluteFile().equals(target().getAbsoluteFile())) {
+                            dependencies.add(artifact);
+                        }
+                    }
+                    Plugin.Engine.Incremental incremental = new Plugin.Engine.Incremental(pluginEngine,
+                            getIncrementalIndex(),
+                            Arrays.<Object>asList(getEntryPoint(), classFileVersion, getSuffix()),
+                            dependencies);
+                    if (incremental.isIndexed(factories)) {
+                        getLogger().debug("Applying incremental build using index: {}", getIncrementalIndex());
+                    } else {
+                        getLogger().debug("Incremental index {} does not match current configuration, applying full build", getIncrementalIndex());
+                        if (target().isDirectory() && getProject().delete(getProject().fileTree(target()))) {
+                            getLogger().debug("Deleted all target files in {}", target());
+                        }
+                    }
+                    pluginEngine = incremental;
+                }
             } catch (Throwable throwable) {
                 throw new IllegalStateException("Cannot create plugin engine", throwable);
             }
             try {
                 summary = pluginEngine
-                        .with(isExtendedParsing()
-                                ? Plugin.Engine.PoolStrategy.Default.EXTENDED
-                                : Plugin.Engine.PoolStrategy.Default.FAST)
+                        .with(poolStrategy)
                         .with(classFileLocator)
                         .with(new TransformationLogger(getLogger()))
                         .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, isFailOnLiveInitializer()
@@ -337,7 +436,7 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
         }
         if (!summary.getFailed().isEmpty()) {
             throw new IllegalStateException(summary.getFailed() + " type transformations have failed");
-        } else if (isWarnOnEmptyTypeSet() && summary.getTransformed().isEmpty()) {
+        } else if (isWarnOnEmptyTypeSet() && getIncrementalIndex() == null && summary.getTransformed().isEmpty()) {
             getLogger().warn("No types were transformed during plugin execution");
         } else {
             getLogger().info("Transformed {} types", summary.getTransformed().size());
@@ -19,6 +19,7 @@ import groovy.lang.Closure;
 import net.bytebuddy.build.EntryPoint;
 import org.gradle.util.ConfigureUtil;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -64,11 +65,22 @@ public abstract class AbstractByteBuddyTaskExtension<T extends AbstractByteBuddy
      */
     private boolean extendedParsing;
 
+    /**
+     * {@code true} if the types of jar files on the class path should be resolved from a type pool that is shared between tasks.
+     */
+    private boolean sharedTypePool;
+
     /**
      * The number of threads to use for transforming or {@code 0} if the transformation should be applied in the main thread.
      */
     private int threads;
 
+    /**
+     * The file in which the index of an incremental build is persisted or {@code null} if class files should not be transformed
+     * incrementally based on their content.
+     */
+    private File incrementalIndex;
+
     /**
      * Creates a new abstract Byte Buddy task extension.
      */
@@ -206,6 +218,28 @@ public abstract class AbstractByteBuddyTaskExtension<T extends AbstractByteBuddy
         this.extendedParsing = extendedParsing;
     }
 
+    /**
+     * Returns {@code true} if the types of jar files on the class path should be resolved from a type pool that is shared between
+     * all tasks within the same Gradle process that use the same jar files in the same order. Jar files are identified by their path, size
+     * and last modification time whereas folders are always resolved anew.
+     *
+     * @return {@code true} if the types of jar files on the class path should be resolved from a shared type pool.
+     */
+    public boolean isSharedTypePool() {
+        return sharedTypePool;
+    }
+
+    /**
+     * Determines if the types of jar files on the class path should be resolved from a type pool that is shared between all
+     * tasks within the same Gradle process that use the same jar files in the same order. Shared jar files remain open until they are
+     * evicted from the shared registry.
+     *
+     * @param sharedTypePool {@code true} if the types of jar files on the class path should be resolved from a shared type pool.
+     */
+    public void setSharedTypePool(boolean sharedTypePool) {
+        this.sharedTypePool = sharedTypePool;
+    }
+
     /**
      * Returns the number of threads to use for transforming or {@code 0} if the transformation should be applied in the main thread.
      *
@@ -224,6 +258,31 @@ public abstract class AbstractByteBuddyTaskExtension<T extends AbstractByteBuddy
         this.threads = threads;
     }
 
+    /**
+     * Returns the file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content.
+     *
+     * @return The file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content.
+     */
+    public File getIncrementalIndex() {
+        return incrementalIndex;
+    }
+
+    /**
+     * Sets the file in which the index of an incremental build is persisted or {@code null} if class files should not be
+     * transformed incrementally based on their content. If set, a class file is only transformed if its content or the content
+     * of a type it depends upon changed since the last transformation. If the plugins, their arguments, the Byte Buddy version,
+     * the entry point, the class file version, the suffix or the class path changed, the target is cleaned and all class files
+     * are transformed anew. This is only applied for folder targets.
+     *
+     * @param incrementalIndex The file in which the index of an incremental build is persisted or {@code null} if class files
+     *                         should not be transformed incrementally based on their content.
+     */
+    public void setIncrementalIndex(File incrementalIndex) {
+        this.incrementalIndex = incrementalIndex;
+    }
+
     /**
      * Applies any extension-specific properties.
      *
@@ -244,7 +303,9 @@ public abstract class AbstractByteBuddyTaskExtension<T extends AbstractByteBuddy
         task.setWarnOnEmptyTypeSet(isWarnOnEmptyTypeSet());
         task.setFailFast(isFailFast());
         task.setExtendedParsing(isExtendedParsing());
+        task.setSharedTypePool(isSharedTypePool());
         task.setThreads(getThreads());
+        task.setIncrementalIndex(getIncrementalIndex());
         doConfigure(task);
     }
 }
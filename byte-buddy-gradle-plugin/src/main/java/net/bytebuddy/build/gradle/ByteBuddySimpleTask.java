@@ -130,7 +130,9 @@ public class ByteBuddySimpleTask extends AbstractByteBuddyTask {
      */
     @TaskAction
     public void apply() throws IOException {
-        if (!getSource().equals(getTarget()) && getProject().delete(getProject().fileTree(getTarget()))) {
+        if (getIncrementalIndex() != null) {
+            getLogger().debug("Validating incremental index {} before cleaning target", getIncrementalIndex());
+        } else if (!getSource().equals(getTarget()) && getProject().delete(getProject().fileTree(getTarget()))) {
             getLogger().debug("Deleted all target files in {}", getTarget());
         }
         doApply(new Plugin.Engine.Source.ForFolder(getSource()), new Plugin.Engine.Target.ForFolder(getTarget()));
@@ -116,7 +116,10 @@ public abstract class ByteBuddyTask extends AbstractByteBuddyTask {
     @TaskAction
     public void apply(InputChanges inputChanges) throws IOException {
         Plugin.Engine.Source source;
-        if (inputChanges.isIncremental() && getIncrementalResolver() != null) {
+        if (inputChanges.isIncremental() && getIncrementalIndex() != null) {
+            getLogger().debug("Applying incremental build based on index {} if it is valid", getIncrementalIndex());
+            source = new Plugin.Engine.Source.ForFolder(source());
+        } else if (inputChanges.isIncremental() && getIncrementalResolver() != null) {
             getLogger().debug("Applying incremental build");
             source = new IncrementalSource(source(), getIncrementalResolver().apply(getProject(),
                     inputChanges.getFileChanges(getSource()),
@@ -128,6 +131,9 @@ public abstract class ByteBuddyTask extends AbstractByteBuddyTask {
             if (getProject().delete(getTarget().getAsFileTree())) {
                 getLogger().debug("Deleted all target files in {}", getTarget());
             }
+            if (getIncrementalIndex() != null && getProject().delete(getIncrementalIndex())) {
+                getLogger().debug("Deleted incremental index {}", getIncrementalIndex());
+            }
             source = new Plugin.Engine.Source.ForFolder(getSource().getAsFile().get());
         }
         doApply(source, new Plugin.Engine.Target.ForFolder(getTarget().getAsFile().get()));
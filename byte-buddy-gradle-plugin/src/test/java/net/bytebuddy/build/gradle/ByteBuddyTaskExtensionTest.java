@@ -5,10 +5,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @RunWith(Parameterized.class)
@@ -35,9 +37,11 @@ public class ByteBuddyTaskExtensionTest {
         assertThat(extension.getSuffix(), is(""));
         assertThat(extension.getThreads(), is(0));
         assertThat(extension.isExtendedParsing(), is(false));
+        assertThat(extension.isSharedTypePool(), is(false));
         assertThat(extension.isFailFast(), is(false));
         assertThat(extension.isFailOnLiveInitializer(), is(true));
         assertThat(extension.isWarnOnEmptyTypeSet(), is(true));
+        assertThat(extension.getIncrementalIndex(), nullValue(File.class));
         if (extension instanceof ByteBuddyTaskExtension) {
             assertThat(((ByteBuddyTaskExtension) extension).getIncrementalResolver(), is((IncrementalResolver) IncrementalResolver.ForChangedFiles.INSTANCE));
         }
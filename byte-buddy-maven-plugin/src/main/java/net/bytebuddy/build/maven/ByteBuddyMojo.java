@@ -22,6 +22,7 @@ import net.bytebuddy.build.Plugin;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
+import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -37,6 +38,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -168,12 +170,30 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", required = true)
     public boolean extendedParsing;
 
+    /**
+     * When set to {@code true}, the types of jar files on the class path are described by a type pool that is shared between all
+     * executions of this plugin within the same build that use the same jar files in the same order. Jar files are identified by their path, size and
+     * last modification time whereas output directories are always resolved anew. Shared jar files remain open until they are evicted
+     * from the shared registry.
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean sharedTypePool;
+
     /**
      * Indicates the amount of threads used for parallel type processing or {@code 0} for serial processing.
      */
     @Parameter(defaultValue = "0", required = true)
     public int threads;
 
+    /**
+     * When set to {@code true}, class files are only transformed if their content or the content of a type they depend upon
+     * changed since the last application of this plugin. To determine changes, an index of the previous application is persisted.
+     * If the plugins, their arguments, the Byte Buddy version, the entry point, the class file version, the suffix or the class path
+     * changed, all class files are transformed anew.
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean incremental;
+
     /**
      * The currently used repository system.
      */
@@ -224,6 +244,13 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
      */
     protected abstract List<String> getClassPathElements();
 
+    /**
+     * Returns the file in which the index of an incremental build is persisted.
+     *
+     * @return The file in which the index of an incremental build is persisted.
+     */
+    protected abstract String getIncrementalIndex();
+
     /**
      * Applies the instrumentation.
      *
@@ -266,14 +293,31 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
                     ? Initialization.makeDefault()
                     : initialization).getEntryPoint(classLoaderResolver, groupId, artifactId, version, packaging);
             getLog().info("Resolved entry point: " + entryPoint);
-            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+            List<File> artifacts = new ArrayList<File>(classPath.size());
             for (String target : classPath) {
-                File artifact = new File(target);
-                classFileLocators.add(artifact.isFile()
-                        ? ClassFileLocator.ForJarFile.of(artifact)
-                        : new ClassFileLocator.ForFolder(artifact));
+                artifacts.add(new File(target));
+            }
+            ClassFileLocator classFileLocator;
+            Plugin.Engine.PoolStrategy poolStrategy;
+            if (sharedTypePool) {
+                getLog().debug("Resolving jar files of the class path from shared registry");
+                Plugin.Engine.PoolStrategy.WithSharedDependencies withSharedDependencies = new Plugin.Engine.PoolStrategy.WithSharedDependencies(extendedParsing
+                        ? TypePool.Default.ReaderMode.EXTENDED
+                        : TypePool.Default.ReaderMode.FAST, artifacts);
+                classFileLocator = withSharedDependencies.classFileLocator();
+                poolStrategy = withSharedDependencies;
+            } else {
+                List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(artifacts.size());
+                for (File artifact : artifacts) {
+                    classFileLocators.add(artifact.isFile()
+                            ? ClassFileLocator.ForJarFile.of(artifact)
+                            : new ClassFileLocator.ForFolder(artifact));
+                }
+                classFileLocator = new ClassFileLocator.Compound(classFileLocators);
+                poolStrategy = extendedParsing
+                        ? Plugin.Engine.PoolStrategy.Default.EXTENDED
+                        : Plugin.Engine.PoolStrategy.Default.FAST;
             }
-            ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
             Plugin.Engine.Summary summary;
             try {
                 getLog().info("Processing class files located in in: " + root);
@@ -291,14 +335,25 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
                     pluginEngine = Plugin.Engine.Default.of(entryPoint, classFileVersion, suffix == null || suffix.length() == 0
                             ? MethodNameTransformer.Suffixing.withRandomSuffix()
                             : new MethodNameTransformer.Suffixing(suffix));
+                    if (incremental) {
+                        getLog().debug("Applying incremental build using index: " + getIncrementalIndex());
+                        List<File> dependencies = new ArrayList<File>(artifacts.size());
+                        for (File artifact : artifacts) {
+                            if (!artifact.getAbsoluteFile().equals(root.getAbsoluteFile())) {
+                                dependencies.add(artifact);
+                            }
+                        }
+                        pluginEngine = new Plugin.Engine.Incremental(pluginEngine,
+                                new File(getIncrementalIndex()),
+                                Arrays.<Object>asList(entryPoint, classFileVersion, suffix),
+                                dependencies);
+                    }
                 } catch (Throwable throwable) {
                     throw new MojoExecutionException("Cannot create plugin engine", throwable);
                 }
                 try {
                     summary = pluginEngine
-                            .with(extendedParsing
-                                    ? Plugin.Engine.PoolStrategy.Default.EXTENDED
-                                    : Plugin.Engine.PoolStrategy.Default.FAST)
+                            .with(poolStrategy)
                             .with(classFileLocator)
                             .with(new TransformationLogger(getLog()))
                             .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, failOnLiveInitializer
@@ -318,7 +373,7 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
             }
             if (!summary.getFailed().isEmpty()) {
                 throw new MojoExecutionException(summary.getFailed() + " type transformations have failed");
-            } else if (warnOnEmptyTypeSet && summary.getTransformed().isEmpty()) {
+            } else if (warnOnEmptyTypeSet && !incremental && summary.getTransformed().isEmpty()) {
                 getLog().warn("No types were transformed during plugin execution");
             } else {
                 getLog().info("Transformed " + summary.getTransformed().size() + " types");
@@ -376,6 +431,12 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         @Parameter(defaultValue = "${project.compileClasspathElements}", required = true, readonly = true)
         public List<String> compileClasspathElements;
 
+        /**
+         * The file in which the index of an incremental build of production types is persisted.
+         */
+        @Parameter(defaultValue = "${project.build.directory}/byte-buddy/transform.index", required = true)
+        public String incrementalIndex;
+
         @Override
         protected String getOutputDirectory() {
             return outputDirectory;
@@ -385,6 +446,11 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         protected List<String> getClassPathElements() {
             return compileClasspathElements;
         }
+
+        @Override
+        protected String getIncrementalIndex() {
+            return incrementalIndex;
+        }
     }
 
     /**
@@ -408,6 +474,12 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         @Parameter(defaultValue = "${project.testClasspathElements}", required = true, readonly = true)
         public List<String> testClasspathElements;
 
+        /**
+         * The file in which the index of an incremental build of test types is persisted.
+         */
+        @Parameter(defaultValue = "${project.build.directory}/byte-buddy/transform-test.index", required = true)
+        public String testIncrementalIndex;
+
         @Override
         protected String getOutputDirectory() {
             return testOutputDirectory;
@@ -417,6 +489,11 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         protected List<String> getClassPathElements() {
             return testClasspathElements;
         }
+
+        @Override
+        protected String getIncrementalIndex() {
+            return testIncrementalIndex;
+        }
     }
 
     /**
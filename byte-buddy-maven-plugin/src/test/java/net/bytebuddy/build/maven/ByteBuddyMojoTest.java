@@ -4,6 +4,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.StreamDrainer;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.testing.MojoRule;
@@ -214,6 +215,33 @@ public class ByteBuddyMojoTest {
         }
     }
 
+    @Test
+    public void testIncrementalTransformation() throws Exception {
+        Set<File> files = new HashSet<File>();
+        files.addAll(addClass("foo.Bar"));
+        files.addAll(addClass("foo.Qux"));
+        File index = File.createTempFile(FOO, TEMP);
+        assertThat(index.delete(), is(true));
+        try {
+            execute("transform", "simple", index);
+            assertThat(index.isFile(), is(true));
+            byte[] binaryRepresentation = StreamDrainer.DEFAULT.drain(new FileInputStream(new File(project, "foo/Bar.class")));
+            execute("transform", "simple", index);
+            assertThat(StreamDrainer.DEFAULT.drain(new FileInputStream(new File(project, "foo/Bar.class"))), is(binaryRepresentation));
+            ClassLoader classLoader = new URLClassLoader(new URL[]{project.toURI().toURL()});
+            assertMethod(classLoader.loadClass("foo.Bar"), FOO, QUX);
+            assertMethod(classLoader.loadClass("foo.Bar"), BAR, BAR);
+            assertMethod(classLoader.loadClass("foo.Qux"), FOO, FOO);
+            assertMethod(classLoader.loadClass("foo.Qux"), BAR, BAR);
+        } finally {
+            for (File file : files) {
+                assertThat(file.delete(), is(true));
+            }
+            assertThat(new File(project, FOO).delete(), is(true));
+            assertThat(index.delete(), is(true));
+        }
+    }
+
     @Test
     public void testSimpleEntry() throws Exception {
         Set<File> files = new HashSet<File>();
@@ -275,6 +303,10 @@ public class ByteBuddyMojoTest {
     }
 
     private void execute(String goal, String target) throws Exception {
+        execute(goal, target, null);
+    }
+
+    private void execute(String goal, String target, File index) throws Exception {
         InputStream in = ByteBuddyMojoTest.class.getResourceAsStream("/net/bytebuddy/test/" + target + ".pom.xml");
         if (in == null) {
             throw new AssertionError("Cannot find resource for: " + target);
@@ -306,6 +338,12 @@ public class ByteBuddyMojoTest {
             mojoRule.setVariableValueToObject(mojo, "artifactId", BAR);
             mojoRule.setVariableValueToObject(mojo, "version", QUX);
             mojoRule.setVariableValueToObject(mojo, "packaging", JAR);
+            if (index != null) {
+                mojoRule.setVariableValueToObject(mojo, "incremental", true);
+                mojoRule.setVariableValueToObject(mojo, goal.equals("transform")
+                        ? "incrementalIndex"
+                        : "testIncrementalIndex", index.getAbsolutePath());
+            }
             mojo.setLog(new SilentLog());
             mojo.execute();
         } finally {